@@ -18,11 +18,13 @@ package de.adorsys.psd2.aspsp.profile.service;
 
 import de.adorsys.psd2.aspsp.profile.config.BankProfileSetting;
 import de.adorsys.psd2.aspsp.profile.config.ProfileConfigurations;
+import de.adorsys.psd2.aspsp.profile.domain.AspspProfileChangedEvent;
 import de.adorsys.psd2.aspsp.profile.domain.AspspSettings;
 import de.adorsys.psd2.aspsp.profile.mapper.AspspSettingsToBankProfileSettingMapper;
 import de.adorsys.psd2.xs2a.core.profile.ScaApproach;
 import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -33,6 +35,7 @@ public class AspspProfileUpdateServiceImpl implements AspspProfileUpdateService
 
     private final ProfileConfigurations profileConfigurations;
     private final AspspSettingsToBankProfileSettingMapper profileSettingMapper;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     /**
      * Update sca approach
@@ -44,6 +47,7 @@ public class AspspProfileUpdateServiceImpl implements AspspProfileUpdateService
         profileConfigurations.getSetting(instanceId)
             .getCommon()
             .setScaApproachesSupported(scaApproaches);
+        applicationEventPublisher.publishEvent(new AspspProfileChangedEvent(instanceId));
     }
 
     /**
@@ -59,10 +63,12 @@ public class AspspProfileUpdateServiceImpl implements AspspProfileUpdateService
     public void updateAspspSettings(@NotNull AspspSettings aspspSettings, String instanceId) {
         BankProfileSetting setting = profileConfigurations.getSetting(instanceId);
         profileSettingMapper.updateBankProfileSetting(aspspSettings, setting);
+        applicationEventPublisher.publishEvent(new AspspProfileChangedEvent(instanceId));
     }
 
     @Override
     public void enableMultitenancy(Boolean multitenancyEnabled) {
         profileConfigurations.setMultitenancyEnabled(multitenancyEnabled);
+        applicationEventPublisher.publishEvent(new AspspProfileChangedEvent(null));
     }
 }
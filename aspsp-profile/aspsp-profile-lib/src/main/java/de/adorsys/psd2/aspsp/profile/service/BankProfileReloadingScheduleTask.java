@@ -1,7 +1,9 @@
 package de.adorsys.psd2.aspsp.profile.service;
 
 import de.adorsys.psd2.aspsp.profile.config.ProfileConfigurations;
+import de.adorsys.psd2.aspsp.profile.domain.AspspProfileChangedEvent;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
@@ -10,11 +12,13 @@ import org.springframework.stereotype.Component;
 public class BankProfileReloadingScheduleTask {
     private final BankProfileReadingService bankProfileReadingService;
     private final ProfileConfigurations profileConfigurations;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     @Scheduled(cron = "${aspsp-profile-reload.cron.expression:-}")
     public void updateProfileConfiguration() {
         ProfileConfigurations newProfileConfiguration = bankProfileReadingService.getProfileConfigurations();
         profileConfigurations.updateSettings(newProfileConfiguration);
         profileConfigurations.setDefaultProperties();
+        applicationEventPublisher.publishEvent(new AspspProfileChangedEvent(null));
     }
 }
@@ -3,6 +3,7 @@ package de.adorsys.psd2.aspsp.profile.service;
 import de.adorsys.psd2.aspsp.profile.config.BankProfileSetting;
 import de.adorsys.psd2.aspsp.profile.config.ProfileConfiguration;
 import de.adorsys.psd2.aspsp.profile.config.ProfileConfigurations;
+import de.adorsys.psd2.aspsp.profile.domain.AspspProfileChangedEvent;
 import de.adorsys.psd2.aspsp.profile.domain.ais.*;
 import de.adorsys.psd2.aspsp.profile.domain.common.CommonAspspProfileBankSetting;
 import de.adorsys.psd2.aspsp.profile.domain.piis.PiisAspspProfileBankSetting;
@@ -15,6 +16,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Collections;
 
@@ -27,6 +29,8 @@ class BankProfileReloadingScheduleTaskTest {
     private BankProfileReadingService bankProfileReadingService;
     @Mock
     private ProfileConfigurations profileConfigurations;
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
 
     @InjectMocks
     private BankProfileReloadingScheduleTask bankProfileReloadingScheduleTask;
@@ -47,6 +51,7 @@ class BankProfileReloadingScheduleTaskTest {
         ArgumentCaptor<ProfileConfigurations> profileConfigurationsArgumentCaptor = ArgumentCaptor.forClass(ProfileConfigurations.class);
         verify(profileConfigurations, times(1)).updateSettings(profileConfigurationsArgumentCaptor.capture());
         verify(profileConfigurations, times(1)).setDefaultProperties();
+        verify(applicationEventPublisher, times(1)).publishEvent(new AspspProfileChangedEvent(null));
 
         assertEquals(bankProfileReadingService.getProfileConfigurations().getSingleConfiguration(), newProfileConfiguration);
         assertEquals(profileConfigurationsArgumentCaptor.getValue().getSingleConfiguration().getSetting(), newProfileConfiguration.getSetting());
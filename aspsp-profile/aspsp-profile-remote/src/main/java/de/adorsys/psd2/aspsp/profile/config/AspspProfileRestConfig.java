@@ -15,13 +15,16 @@
  */
 package de.adorsys.psd2.aspsp.profile.config;
 
+import de.adorsys.psd2.logger.web.BooleanPropertyCondition;
+import de.adorsys.psd2.logger.web.ClientHttpRequestFactories;
 import de.adorsys.psd2.logger.web.LoggingContextInterceptor;
 import lombok.RequiredArgsConstructor;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.ClientHttpRequestFactory;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.http.converter.xml.MappingJackson2XmlHttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
 
@@ -34,6 +37,16 @@ public class AspspProfileRestConfig {
     private int readTimeout;
     @Value("${http-client.connection-timeout.ms:10000}")
     private int connectionTimeout;
+    @Value("${http-client.pooled:true}")
+    private boolean pooledHttpClient;
+    @Value("${http-client.max-connections-total:20}")
+    private int maxConnectionsTotal;
+    @Value("${http-client.max-connections-per-route:20}")
+    private int maxConnectionsPerRoute;
+    @Value("${http-client.keep-alive.ms:30000}")
+    private long keepAlive;
+    @Value("${http-client.compression-enabled:true}")
+    private boolean compressionEnabled;
 
     @Bean(name = "aspspProfileRestTemplate")
     public RestTemplate aspspProfileRestTemplate() {
@@ -44,10 +57,26 @@ public class AspspProfileRestConfig {
         return rest;
     }
 
+    /**
+     * Pool of connections to ASPSP profile, used by ASPSP profile REST template, if pooled client is enabled.
+     * Pool statistics are available via {@link PoolingHttpClientConnectionManager#getTotalStats()}.
+     */
+    @Bean(destroyMethod = "close")
+    @Conditional(PooledHttpClientCondition.class)
+    public PoolingHttpClientConnectionManager aspspProfileConnectionManager() {
+        return ClientHttpRequestFactories.connectionManager(maxConnectionsTotal, maxConnectionsPerRoute);
+    }
+
     private ClientHttpRequestFactory clientHttpRequestFactory() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setReadTimeout(readTimeout);
-        factory.setConnectTimeout(connectionTimeout);
-        return factory;
+        if (!pooledHttpClient) {
+            return ClientHttpRequestFactories.simple(connectionTimeout, readTimeout);
+        }
+        return ClientHttpRequestFactories.pooled(aspspProfileConnectionManager(), connectionTimeout, readTimeout, keepAlive, compressionEnabled);
+    }
+
+    static class PooledHttpClientCondition extends BooleanPropertyCondition {
+        PooledHttpClientCondition() {
+            super("http-client.pooled", true);
+        }
     }
 }
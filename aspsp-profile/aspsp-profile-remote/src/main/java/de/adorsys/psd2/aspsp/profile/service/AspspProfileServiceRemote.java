@@ -24,13 +24,19 @@ import org.apache.commons.lang3.BooleanUtils;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 @RequiredArgsConstructor
@@ -38,13 +44,30 @@ public class AspspProfileServiceRemote implements AspspProfileService {
     @Qualifier("aspspProfileRestTemplate")
     private final RestTemplate aspspProfileRestTemplate;
     private final AspspProfileRemoteUrls aspspProfileRemoteUrls;
+    private final Map<String, ResponseEntity<AspspSettings>> lastAspspSettingsResponses = new ConcurrentHashMap<>();
 
     @Override
     public AspspSettings getAspspSettings(String instanceId) {
+        String cacheKey = Objects.toString(instanceId, "");
+        ResponseEntity<AspspSettings> lastResponse = lastAspspSettingsResponses.get(cacheKey);
+
         MultiValueMap<String, String> headers = new LinkedMultiValueMap<>();
         headers.add("Instance-ID", instanceId);
-        return aspspProfileRestTemplate.exchange(
-            aspspProfileRemoteUrls.getAspspSettings(), HttpMethod.GET, new HttpEntity<>(headers), AspspSettings.class).getBody();
+        if (lastResponse != null) {
+            headers.add(HttpHeaders.IF_NONE_MATCH, lastResponse.getHeaders().getETag());
+        }
+
+        ResponseEntity<AspspSettings> response = aspspProfileRestTemplate.exchange(
+            aspspProfileRemoteUrls.getAspspSettings(), HttpMethod.GET, new HttpEntity<>(headers), AspspSettings.class);
+
+        if (lastResponse != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            return lastResponse.getBody();
+        }
+
+        if (response.getHeaders().getETag() != null) {
+            lastAspspSettingsResponses.put(cacheKey, response);
+        }
+        return response.getBody();
     }
 
     @Override
@@ -26,11 +26,13 @@ import io.swagger.annotations.ApiResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
@@ -48,7 +50,10 @@ public class AspspProfileController {
     public ResponseEntity<AspspSettings> getAspspSettings(
         @RequestHeader(value = "Instance-ID", required = false, defaultValue = DEFAULT_SERVICE_INSTANCE_ID) String instanceId
     ) {
-        return new ResponseEntity<>(aspspProfileService.getAspspSettings(instanceId), HttpStatus.OK);
+        AspspSettings aspspSettings = aspspProfileService.getAspspSettings(instanceId);
+        return ResponseEntity.status(HttpStatus.OK)
+                   .eTag(calculateETag(aspspSettings))
+                   .body(aspspSettings);
     }
 
     @GetMapping(path = "/sca-approaches")
@@ -57,7 +62,10 @@ public class AspspProfileController {
     public ResponseEntity<List<ScaApproach>> getScaApproaches(
         @RequestHeader(value = "Instance-ID", required = false, defaultValue = DEFAULT_SERVICE_INSTANCE_ID) String instanceId
     ) {
-        return new ResponseEntity<>(aspspProfileService.getScaApproaches(instanceId), HttpStatus.OK);
+        List<ScaApproach> scaApproaches = aspspProfileService.getScaApproaches(instanceId);
+        return ResponseEntity.status(HttpStatus.OK)
+                   .eTag(calculateETag(scaApproaches))
+                   .body(scaApproaches);
     }
 
     @GetMapping(path = "/multitenancy/enabled")
@@ -66,4 +74,8 @@ public class AspspProfileController {
     public ResponseEntity<Boolean> isMultitenancyEnabled() {
         return new ResponseEntity<>(aspspProfileService.isMultitenancyEnabled(), HttpStatus.OK);
     }
+
+    private String calculateETag(Object body) {
+        return "\"" + DigestUtils.md5DigestAsHex(String.valueOf(body).getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
 }
@@ -57,6 +57,7 @@ class AspspProfileControllerTest {
 
         AspspSettings expectedSettings = AspspSettingsBuilder.buildAspspSettings();
         assertThat(actualResponse.getBody()).isEqualTo(expectedSettings);
+        assertThat(actualResponse.getHeaders().getETag()).isNotBlank();
     }
 
     @Test
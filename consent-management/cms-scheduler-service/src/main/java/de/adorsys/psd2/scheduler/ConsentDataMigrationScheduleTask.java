@@ -0,0 +1,99 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.scheduler;
+
+import de.adorsys.psd2.consent.service.migration.ConsentDataMigrationService;
+import de.adorsys.psd2.consent.service.migration.ConsentDataMigrationState;
+import de.adorsys.psd2.consent.service.migration.ConsentDataMigrationType;
+import de.adorsys.psd2.scheduler.lock.SchedulerTaskLockService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class ConsentDataMigrationScheduleTask {
+    private static final String TASK_NAME = "consent-data-migration";
+
+    private final ConsentDataMigrationService consentDataMigrationService;
+    private final ConsentDataMigrationState consentDataMigrationState;
+    private final SchedulerTaskLockService schedulerTaskLockService;
+
+    @Value("${xs2a.cms.consent-data-migration.enabled:true}")
+    private boolean enabled;
+
+    @Value("${xs2a.cms.consent-data-migration.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${xs2a.cms.consent-data-migration.chunk-delay.ms:100}")
+    private long chunkDelayMs;
+
+    @Value("${xs2a.cms.consent-data-migration.max-run-time.ms:300000}")
+    private long maxRunTimeMs;
+
+    @Scheduled(cron = "${xs2a.cms.consent-data-migration.cron.expression:0 */5 * * * *}")
+    public void migrateObsoleteConsents() {
+        if (!enabled) {
+            return;
+        }
+
+        schedulerTaskLockService.runWithLockWithoutTransaction(TASK_NAME, () -> {
+            long start = System.currentTimeMillis();
+            long deadline = start + maxRunTimeMs;
+            for (ConsentDataMigrationType migrationType : ConsentDataMigrationType.values()) {
+                if (!migrate(migrationType, deadline)) {
+                    break;
+                }
+            }
+            log.debug("Consent data migration task completed in {}ms!", System.currentTimeMillis() - start);
+        });
+    }
+
+    /**
+     * @return <code>true</code> if migration of given type is completed within the run time
+     */
+    private boolean migrate(ConsentDataMigrationType migrationType, long deadline) {
+        while (consentDataMigrationService.migrateNextChunk(migrationType, chunkSize)) {
+            if (System.currentTimeMillis() >= deadline) {
+                log.info("Consent data migration of {} consents is paused, it will be continued by the next run", migrationType);
+                return false;
+            }
+            if (!pause()) {
+                return false;
+            }
+        }
+        consentDataMigrationState.markCompleted(migrationType);
+        return true;
+    }
+
+    private boolean pause() {
+        if (chunkDelayMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(chunkDelayMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -17,11 +17,11 @@
 package de.adorsys.psd2.scheduler;
 
 import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
+import de.adorsys.psd2.scheduler.lock.SchedulerTaskLockService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.EnumSet;
 
@@ -33,14 +33,18 @@ import static de.adorsys.psd2.xs2a.core.consent.ConsentStatus.VALID;
 @Component
 @RequiredArgsConstructor
 public class ConsentScheduleTask {
+    private static final String TASK_NAME = "consent-expiration";
+
     private final ConsentJpaRepository consentJpaRepository;
+    private final SchedulerTaskLockService schedulerTaskLockService;
 
     @Scheduled(cron = "${xs2a.cms.consent.cron.expression}")
-    @Transactional
     public void checkConsentStatus() {
-        long start = System.currentTimeMillis();
-        log.info("Consent schedule task is run!");
-        consentJpaRepository.expireByConsentStatusIn(EnumSet.of(RECEIVED, VALID));
-        log.info("Consent schedule task completed in {}ms!", System.currentTimeMillis() - start);
+        schedulerTaskLockService.runWithLock(TASK_NAME, () -> {
+            long start = System.currentTimeMillis();
+            log.info("Consent schedule task is run!");
+            consentJpaRepository.expireByConsentStatusIn(EnumSet.of(RECEIVED, VALID));
+            log.info("Consent schedule task completed in {}ms!", System.currentTimeMillis() - start);
+        });
     }
 }
@@ -17,11 +17,11 @@
 package de.adorsys.psd2.scheduler;
 
 import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
+import de.adorsys.psd2.scheduler.lock.SchedulerTaskLockService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.EnumSet;
 
@@ -32,14 +32,18 @@ import static de.adorsys.psd2.xs2a.core.consent.ConsentStatus.VALID;
 @Component
 @RequiredArgsConstructor
 public class NonRecurringConsentExpirationScheduleTask {
+    private static final String TASK_NAME = "used-non-recurring-consent-expiration";
+
     private final ConsentJpaRepository consentJpaRepository;
+    private final SchedulerTaskLockService schedulerTaskLockService;
 
     @Scheduled(cron = "${xs2a.cms.used-non-recurring-consent-expiration.cron.expression}")
-    @Transactional
     public void expireUsedNonRecurringConsent() {
-        long start = System.currentTimeMillis();
-        log.info("Non-recurring consent expiration task has started!");
-        consentJpaRepository.expireUsedNonRecurringConsents(EnumSet.of(RECEIVED, VALID));
-        log.info("Non-recurring consent expiration task completed in {}ms!", System.currentTimeMillis() - start);
+        schedulerTaskLockService.runWithLock(TASK_NAME, () -> {
+            long start = System.currentTimeMillis();
+            log.info("Non-recurring consent expiration task has started!");
+            consentJpaRepository.expireUsedNonRecurringConsents(EnumSet.of(RECEIVED, VALID));
+            log.info("Non-recurring consent expiration task completed in {}ms!", System.currentTimeMillis() - start);
+        });
     }
 }
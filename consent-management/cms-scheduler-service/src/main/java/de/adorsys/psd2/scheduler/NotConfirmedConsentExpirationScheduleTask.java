@@ -14,53 +14,53 @@
  * limitations under the License.
  */
 
+
 package de.adorsys.psd2.scheduler;
 
-import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
 import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
 import de.adorsys.psd2.consent.service.AisConsentConfirmationExpirationService;
+import de.adorsys.psd2.scheduler.lock.SchedulerTaskLockService;
+import de.adorsys.psd2.scheduler.lock.TaskPartition;
 import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections4.CollectionUtils;
-import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
 import java.util.EnumSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @Slf4j
 @RequiredArgsConstructor
 @Component
 public class NotConfirmedConsentExpirationScheduleTask extends PageableSchedulerTask {
+    private static final String TASK_NAME = "not-confirmed-consent-expiration";
+    private static final Set<ConsentStatus> NOT_CONFIRMED_STATUSES = EnumSet.of(ConsentStatus.RECEIVED, ConsentStatus.PARTIALLY_AUTHORISED);
+
     private final AisConsentConfirmationExpirationService aisConsentConfirmationExpirationService;
     private final ConsentJpaRepository consentJpaRepository;
+    private final SchedulerTaskLockService schedulerTaskLockService;
 
     @Scheduled(cron = "${xs2a.cms.not-confirmed-consent-expiration.cron.expression}")
-    @Transactional
     public void obsoleteNotConfirmedConsentIfExpired() {
-        long start = System.currentTimeMillis();
-        log.info("Not confirmed consent expiration schedule task is run!");
-
-        Long totalItems = consentJpaRepository.countByConsentStatusIn(EnumSet.of(ConsentStatus.RECEIVED, ConsentStatus.PARTIALLY_AUTHORISED));
-        log.debug("Found {} non confirmed consent items for expiration checking", totalItems);
-
-        execute(totalItems);
-        log.info("Not confirmed consent expiration schedule task completed in {}ms!", System.currentTimeMillis() - start);
+        schedulerTaskLockService.runPartitionedWithoutTransaction(TASK_NAME, this::obsoleteNotConfirmedConsentIfExpired);
     }
 
-    @Override
-    protected void executePageable(Pageable pageable) {
-        List<ConsentEntity> expiredNotConfirmedConsents = consentJpaRepository.findByConsentStatusIn(EnumSet.of(ConsentStatus.RECEIVED, ConsentStatus.PARTIALLY_AUTHORISED), pageable)
-                                                              .stream()
-                                                              .filter(aisConsentConfirmationExpirationService::isConfirmationExpired)
-                                                              .collect(Collectors.toList());
+    private void obsoleteNotConfirmedConsentIfExpired(TaskPartition partition) {
+        long start = System.currentTimeMillis();
+        log.info("Not confirmed consent expiration schedule task is run for partition {}!", partition);
 
-        if (CollectionUtils.isNotEmpty(expiredNotConfirmedConsents)) {
-            aisConsentConfirmationExpirationService.updateConsentListOnConfirmationExpiration(expiredNotConfirmedConsents);
+        List<String> instanceIds = consentJpaRepository.findInstanceIdsByConsentStatusIn(NOT_CONFIRMED_STATUSES);
+        int expiredCount = 0;
+        for (String instanceId : instanceIds) {
+            OffsetDateTime createdBefore = aisConsentConfirmationExpirationService.getConfirmationExpirationThreshold(instanceId);
+            expiredCount += executeChunked((lastId, page) -> consentJpaRepository.findNextIdsByConsentStatusInAndCreationTimestampBefore(NOT_CONFIRMED_STATUSES, instanceId, createdBefore,
+                                                                                                                                          lastId, partition.getIndex(), partition.getCount(), page),
+                                           chunk -> aisConsentConfirmationExpirationService.updateConsentsOnConfirmationExpiration(chunk, createdBefore));
         }
+
+        log.info("Not confirmed consent expiration schedule task completed in {}ms, {} consents rejected!", System.currentTimeMillis() - start, expiredCount);
     }
 }
@@ -14,53 +14,53 @@
  * limitations under the License.
  */
 
+
 package de.adorsys.psd2.scheduler;
 
-import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentData;
 import de.adorsys.psd2.consent.repository.PisCommonPaymentDataRepository;
 import de.adorsys.psd2.consent.service.PisCommonPaymentConfirmationExpirationService;
+import de.adorsys.psd2.scheduler.lock.SchedulerTaskLockService;
+import de.adorsys.psd2.scheduler.lock.TaskPartition;
 import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections4.CollectionUtils;
-import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
 import java.util.EnumSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 @Slf4j
 @RequiredArgsConstructor
 @Component
 public class NotConfirmedPaymentExpirationScheduleTask extends PageableSchedulerTask {
+    private static final String TASK_NAME = "not-confirmed-payment-expiration";
+    private static final Set<TransactionStatus> NOT_CONFIRMED_STATUSES = EnumSet.of(TransactionStatus.RCVD, TransactionStatus.PATC);
+
     private final PisCommonPaymentConfirmationExpirationService pisCommonPaymentConfirmationExpirationService;
     private final PisCommonPaymentDataRepository paymentDataRepository;
+    private final SchedulerTaskLockService schedulerTaskLockService;
 
     @Scheduled(cron = "${xs2a.cms.not-confirmed-payment-expiration.cron.expression}")
-    @Transactional
     public void obsoleteNotConfirmedPaymentIfExpired() {
-        long start = System.currentTimeMillis();
-        log.info("Not confirmed payment expiration schedule task is run!");
-
-        Long totalItems = paymentDataRepository.countByTransactionStatusIn(EnumSet.of(TransactionStatus.RCVD, TransactionStatus.PATC));
-        log.debug("Found {} non confirmed payment items for expiration checking", totalItems);
-
-        execute(totalItems);
-        log.info("Not confirmed payment expiration schedule task completed in {}ms!", System.currentTimeMillis() - start);
+        schedulerTaskLockService.runPartitionedWithoutTransaction(TASK_NAME, this::obsoleteNotConfirmedPaymentIfExpired);
     }
 
-    @Override
-    protected void executePageable(Pageable pageable) {
-        List<PisCommonPaymentData> expiredNotConfirmedPayments = paymentDataRepository.findByTransactionStatusIn(EnumSet.of(TransactionStatus.RCVD, TransactionStatus.PATC), pageable)
-                                                                         .stream()
-                                                                         .filter(pisCommonPaymentConfirmationExpirationService::isConfirmationExpired)
-                                                                         .collect(Collectors.toList());
+    private void obsoleteNotConfirmedPaymentIfExpired(TaskPartition partition) {
+        long start = System.currentTimeMillis();
+        log.info("Not confirmed payment expiration schedule task is run for partition {}!", partition);
 
-        if (CollectionUtils.isNotEmpty(expiredNotConfirmedPayments)) {
-            pisCommonPaymentConfirmationExpirationService.updatePaymentDataListOnConfirmationExpiration(expiredNotConfirmedPayments);
+        List<String> instanceIds = paymentDataRepository.findInstanceIdsByTransactionStatusIn(NOT_CONFIRMED_STATUSES);
+        int expiredCount = 0;
+        for (String instanceId : instanceIds) {
+            OffsetDateTime createdBefore = pisCommonPaymentConfirmationExpirationService.getConfirmationExpirationThreshold(instanceId);
+            expiredCount += executeChunked((lastId, page) -> paymentDataRepository.findNextIdsByTransactionStatusInAndCreationTimestampBefore(NOT_CONFIRMED_STATUSES, instanceId, createdBefore,
+                                                                                                                                                lastId, partition.getIndex(), partition.getCount(), page),
+                                           chunk -> pisCommonPaymentConfirmationExpirationService.updatePaymentsOnConfirmationExpiration(chunk, createdBefore));
         }
+
+        log.info("Not confirmed payment expiration schedule task completed in {}ms, {} payments rejected!", System.currentTimeMillis() - start, expiredCount);
     }
 }
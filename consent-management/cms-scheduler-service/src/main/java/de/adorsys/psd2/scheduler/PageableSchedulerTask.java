@@ -14,22 +14,42 @@
  * limitations under the License.
  */
 
+
 package de.adorsys.psd2.scheduler;
 
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
-public abstract class PageableSchedulerTask {
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+
+public abstract class PageableSchedulerTask implements DisposableBean {
+    private static final AtomicInteger WORKER_COUNTER = new AtomicInteger();
 
     @Value("${xs2a.cms.scheduler.processing.page-size:100}")
     protected int pageSize;
 
+    @Value("${xs2a.cms.scheduler.processing.workers:1}")
+    protected int workers;
+
+    private ExecutorService workerPool;
+
     /**
      * Based on amount of items calculates page count and executes `runPageable` method with {@link Pageable} parameter
      *
      * @param totalItems total items
+     * @deprecated since 11.1, OFFSET paging skips items, which are changed by processing of previous pages,
+     * use {@link #executeChunked(ChunkLoader, ToIntFunction)} instead
      */
+    @Deprecated(since = "11.1", forRemoval = true)
     protected void execute(long totalItems) {
         int totalPages = (int) ((totalItems + pageSize - 1) / pageSize);
         for (int page = 0; page < totalPages; page++) {
@@ -39,5 +59,77 @@ public abstract class PageableSchedulerTask {
         }
     }
 
-    protected abstract void executePageable(Pageable pageable);
+    /**
+     * @deprecated since 11.1, use {@link #executeChunked(ChunkLoader, ToIntFunction)} instead
+     */
+    @Deprecated(since = "11.1", forRemoval = true)
+    protected void executePageable(Pageable pageable) {
+    }
+
+    /**
+     * Walks through item IDs in chunks of page size ordered by ID and passes every chunk to the processor.
+     * Next chunk is loaded by the last ID of the previous one, so changes made by the processor don't affect iteration.
+     * With more than one worker configured, chunks are processed by the worker pool in parallel.
+     *
+     * @param chunkLoader    loader of IDs following the given one, limited by given page
+     * @param chunkProcessor processor of a single chunk, returning the number of processed items
+     * @return total number of processed items
+     */
+    protected int executeChunked(ChunkLoader chunkLoader, ToIntFunction<List<Long>> chunkProcessor) {
+        Pageable chunkPage = PageRequest.of(0, pageSize);
+        ExecutorService pool = workers > 1 ? getWorkerPool() : null;
+        Semaphore chunksInProgress = new Semaphore(workers * 2);
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+        int processed = 0;
+
+        long lastId = Long.MIN_VALUE;
+        List<Long> chunk;
+        do {
+            chunk = chunkLoader.loadNextIds(lastId, chunkPage);
+            if (chunk.isEmpty()) {
+                break;
+            }
+            lastId = chunk.get(chunk.size() - 1);
+
+            if (pool == null) {
+                processed += chunkProcessor.applyAsInt(chunk);
+            } else {
+                List<Long> ids = chunk;
+                chunksInProgress.acquireUninterruptibly();
+                results.add(CompletableFuture.supplyAsync(() -> chunkProcessor.applyAsInt(ids), pool)
+                                .whenComplete((result, error) -> chunksInProgress.release()));
+            }
+        } while (chunk.size() >= pageSize);
+
+        CompletableFuture.allOf(results.toArray(new CompletableFuture[0])).join();
+        return processed + results.stream().mapToInt(CompletableFuture::join).sum();
+    }
+
+    @Override
+    public void destroy() {
+        if (workerPool != null) {
+            workerPool.shutdown();
+        }
+    }
+
+    private synchronized ExecutorService getWorkerPool() {
+        if (workerPool == null) {
+            workerPool = Executors.newFixedThreadPool(workers, runnable -> {
+                Thread thread = new Thread(runnable, "consent-scheduler-worker-" + WORKER_COUNTER.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return workerPool;
+    }
+
+    @FunctionalInterface
+    protected interface ChunkLoader {
+        /**
+         * @param lastId ID of the last item of the previous chunk
+         * @param page   page defining the chunk size
+         * @return IDs following the given one in ascending order
+         */
+        List<Long> loadNextIds(long lastId, Pageable page);
+    }
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.scheduler;
+
+import de.adorsys.psd2.consent.service.notification.TppNotificationDispatcher;
+import de.adorsys.psd2.scheduler.lock.SchedulerTaskLockService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class TppNotificationScheduleTask {
+    private static final String TASK_NAME = "tpp-notification-dispatching";
+
+    private final TppNotificationDispatcher tppNotificationDispatcher;
+    private final SchedulerTaskLockService schedulerTaskLockService;
+
+    @Value("${xs2a.cms.tpp-notification.enabled:false}")
+    private boolean enabled;
+
+    @Value("${xs2a.cms.tpp-notification.batch-size:100}")
+    private int batchSize;
+
+    @Value("${xs2a.cms.tpp-notification.max-run-time.ms:25000}")
+    private long maxRunTimeMs;
+
+    @Scheduled(cron = "${xs2a.cms.tpp-notification.cron.expression:*/30 * * * * *}")
+    public void dispatchTppNotifications() {
+        if (!enabled) {
+            return;
+        }
+
+        // Dispatcher opens its own short transactions, so that no connection is held while TPPs are called
+        schedulerTaskLockService.runWithLockWithoutTransaction(TASK_NAME, () -> {
+            long start = System.currentTimeMillis();
+            long deadline = start + maxRunTimeMs;
+            boolean moreDue = true;
+            while (moreDue && System.currentTimeMillis() < deadline) {
+                moreDue = tppNotificationDispatcher.dispatchNextBatch(batchSize, deadline);
+            }
+            if (moreDue) {
+                log.info("TPP notification dispatching is paused, it will be continued by the next run");
+            }
+            log.debug("TPP notification schedule task completed in {}ms!", System.currentTimeMillis() - start);
+        });
+    }
+}
@@ -17,24 +17,33 @@
 package de.adorsys.psd2.scheduler;
 
 import de.adorsys.psd2.consent.repository.TppStopListRepository;
+import de.adorsys.psd2.consent.service.TppStopListChangePublisher;
+import de.adorsys.psd2.scheduler.lock.SchedulerTaskLockService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 @Slf4j
 @RequiredArgsConstructor
 @Component
 public class TppStopListScheduleTask {
+    private static final String TASK_NAME = "tpp-stop-list-unblocking";
+
     private final TppStopListRepository tppStopListRepository;
+    private final TppStopListChangePublisher tppStopListChangePublisher;
+    private final SchedulerTaskLockService schedulerTaskLockService;
 
     @Scheduled(cron = "${xs2a.cms.stoplist.cron.expression}")
-    @Transactional
     public void unblockTppIfBlockingExpired() {
-        long start = System.currentTimeMillis();
-        log.info("Tpp Stop List schedule task is run!");
-        tppStopListRepository.unblockExpiredBlockedTpp();
-        log.info("Tpp Stop List schedule task completed in {}ms!", System.currentTimeMillis() - start);
+        schedulerTaskLockService.runWithLock(TASK_NAME, () -> {
+            long start = System.currentTimeMillis();
+            log.info("Tpp Stop List schedule task is run!");
+            int unblockedCount = tppStopListRepository.unblockExpiredBlockedTpp();
+            if (unblockedCount > 0) {
+                tppStopListChangePublisher.publishStopListChanged(null);
+            }
+            log.info("Tpp Stop List schedule task completed in {}ms!", System.currentTimeMillis() - start);
+        });
     }
 }
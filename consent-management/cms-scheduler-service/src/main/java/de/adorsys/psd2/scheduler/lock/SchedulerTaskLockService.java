@@ -0,0 +1,278 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.scheduler.lock;
+
+import de.adorsys.psd2.consent.repository.SchedulerTaskLockRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Coordinates execution of scheduler tasks between CMS nodes sharing the same database.
+ * <p>
+ * Before running a task (or one of its partitions) the node acquires a lease in <code>scheduler_task_lock</code> table,
+ * so that at any moment only one node works on it. The lease is released when the work is done, but is kept for
+ * at least the minimal lease time, so that other nodes triggered by the same cron tick skip it. If the node dies,
+ * the lease expires after the lease time and the task may be taken over by another node. Leases are based on the clock
+ * of the database, so that clock skew between the nodes can't give the same lease to several nodes.
+ */
+@Slf4j
+@Service
+public class SchedulerTaskLockService implements InitializingBean {
+    private static final String PARTITION_SEPARATOR = "#";
+
+    private final SchedulerTaskLockRepository schedulerTaskLockRepository;
+    private final TransactionTemplate lockTransactionTemplate;
+    private final TransactionTemplate taskTransactionTemplate;
+    private final Map<String, SchedulerTaskMetrics> metrics = new ConcurrentHashMap<>();
+    private final List<Consumer<SchedulerTaskMetrics>> metricsListeners = new CopyOnWriteArrayList<>();
+
+    @Value("${xs2a.cms.scheduler.lock.enabled:true}")
+    private boolean lockEnabled;
+    @Value("${xs2a.cms.scheduler.lock.lease-time.ms:600000}")
+    private long leaseTimeMs;
+    @Value("${xs2a.cms.scheduler.lock.min-lease-time.ms:30000}")
+    private long minLeaseTimeMs;
+    @Value("${xs2a.cms.scheduler.lock.partitions:1}")
+    private int partitionCount;
+    @Value("${xs2a.cms.scheduler.lock.node-id:}")
+    private String nodeId;
+
+    public SchedulerTaskLockService(SchedulerTaskLockRepository schedulerTaskLockRepository, PlatformTransactionManager transactionManager) {
+        this.schedulerTaskLockRepository = schedulerTaskLockRepository;
+        this.lockTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.lockTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.taskTransactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (partitionCount < 1) {
+            throw new IllegalArgumentException("Scheduler task partition count must be positive");
+        }
+        if (StringUtils.isBlank(nodeId)) {
+            nodeId = getHostName() + ":" + UUID.randomUUID();
+        }
+        log.info("Scheduler task lock enabled: {}, node ID: {}, partitions: {}", lockEnabled, nodeId, partitionCount);
+    }
+
+    /**
+     * Executes the task in a new transaction, if no other CMS node is currently executing it
+     *
+     * @param taskName name of the task, used as a lease name
+     * @param task     task to be executed
+     */
+    public void runWithLock(String taskName, Runnable task) {
+        runLocked(taskName, taskName, task, true);
+    }
+
+    /**
+     * Executes the task without surrounding transaction, if no other CMS node is currently executing it. Should be used
+     * for tasks, which wait for external systems and manage their own short transactions, so that no database connection
+     * is held while waiting.
+     *
+     * @param taskName name of the task, used as a lease name
+     * @param task     task to be executed
+     */
+    public void runWithLockWithoutTransaction(String taskName, Runnable task) {
+        runLocked(taskName, taskName, task, false);
+    }
+
+    /**
+     * Executes every partition of the task, which is not currently executed by other CMS node, in a separate transaction.
+     * With several nodes running the task at the same time, partitions are spread between them. Failure of a partition
+     * is logged and recorded in the task metrics, remaining partitions are executed anyway.
+     *
+     * @param taskName name of the task, used as a prefix for partition lease names
+     * @param task     task to be executed for a single partition
+     */
+    public void runPartitioned(String taskName, Consumer<TaskPartition> task) {
+        runPartitioned(taskName, task, true);
+    }
+
+    /**
+     * Executes every partition of the task without surrounding transaction, if it is not currently executed by other
+     * CMS node. Should be used for tasks, which process partitions in chunks with their own short transactions, so that
+     * no database connection is held for the whole partition.
+     *
+     * @param taskName name of the task, used as a prefix for partition lease names
+     * @param task     task to be executed for a single partition
+     * @see #runPartitioned(String, Consumer)
+     */
+    public void runPartitionedWithoutTransaction(String taskName, Consumer<TaskPartition> task) {
+        runPartitioned(taskName, task, false);
+    }
+
+    private void runPartitioned(String taskName, Consumer<TaskPartition> task, boolean transactional) {
+        if (partitionCount == 1) {
+            runLocked(taskName, taskName, () -> task.accept(TaskPartition.SINGLE), transactional);
+            return;
+        }
+
+        for (int index = 0; index < partitionCount; index++) {
+            TaskPartition partition = new TaskPartition(index, partitionCount);
+            String lockName = taskName + PARTITION_SEPARATOR + index;
+            try {
+                runLocked(taskName, lockName, () -> task.accept(partition), transactional);
+            } catch (RuntimeException e) {
+                log.error("Partition {} of scheduler task failed", lockName, e);
+            }
+        }
+    }
+
+    public Collection<SchedulerTaskMetrics> getMetrics() {
+        return Collections.unmodifiableCollection(metrics.values());
+    }
+
+    public SchedulerTaskMetrics getMetrics(String taskName) {
+        SchedulerTaskMetrics taskMetrics = metrics.get(taskName);
+        if (taskMetrics != null) {
+            return taskMetrics;
+        }
+
+        SchedulerTaskMetrics newMetrics = new SchedulerTaskMetrics(taskName);
+        taskMetrics = metrics.putIfAbsent(taskName, newMetrics);
+        if (taskMetrics != null) {
+            return taskMetrics;
+        }
+        metricsListeners.forEach(listener -> listener.accept(newMetrics));
+        return newMetrics;
+    }
+
+    /**
+     * Registers listener, that is notified about metrics of every scheduler task executed on this node, e.g. to expose
+     * them in a metrics registry. The listener is called for already known tasks immediately and for new tasks on
+     * their first execution.
+     *
+     * @param listener listener to be notified about metrics of the task
+     */
+    public void addMetricsListener(Consumer<SchedulerTaskMetrics> listener) {
+        metricsListeners.add(listener);
+        metrics.values().forEach(listener);
+    }
+
+    private void runLocked(String taskName, String lockName, Runnable task, boolean transactional) {
+        SchedulerTaskMetrics taskMetrics = getMetrics(taskName);
+        OffsetDateTime lockedAt = null;
+
+        if (lockEnabled) {
+            lockedAt = acquireLock(lockName);
+            if (lockedAt == null) {
+                taskMetrics.recordSkip();
+                log.info("Scheduler task {} is skipped, as it is locked by another node", lockName);
+                return;
+            }
+        }
+
+        long start = System.currentTimeMillis();
+        boolean failed = true;
+        try {
+            if (transactional) {
+                taskTransactionTemplate.executeWithoutResult(status -> task.run());
+            } else {
+                task.run();
+            }
+            failed = false;
+        } finally {
+            taskMetrics.recordRun(System.currentTimeMillis() - start, failed);
+            if (lockEnabled) {
+                releaseLock(lockName, lockedAt);
+            }
+            log.debug("Scheduler task {} finished: {}", lockName, taskMetrics);
+        }
+    }
+
+    /**
+     * Acquires the lease on the task
+     *
+     * @param lockName name of the task lease
+     * @return start of the lease according to the database clock or <code>null</code> if the lease wasn't acquired
+     */
+    private OffsetDateTime acquireLock(String lockName) {
+        try {
+            return lockTransactionTemplate.execute(status -> {
+                Optional<Timestamp> databaseTime = schedulerTaskLockRepository.findDatabaseTime(lockName);
+                if (databaseTime.isEmpty()) {
+                    // Fails, if another node has created the lease at the same time
+                    schedulerTaskLockRepository.insertLock(lockName);
+                    databaseTime = schedulerTaskLockRepository.findDatabaseTime(lockName);
+                }
+
+                OffsetDateTime now = databaseTime.map(this::toOffsetDateTime)
+                                         .orElseThrow(() -> new IllegalStateException("Scheduler task lock " + lockName + " wasn't created"));
+                OffsetDateTime lockedUntil = now.plus(Duration.ofMillis(leaseTimeMs));
+                return schedulerTaskLockRepository.acquireLock(lockName, nodeId, now, lockedUntil) > 0
+                           ? now
+                           : null;
+            });
+        } catch (DataAccessException | TransactionException e) {
+            log.info("Couldn't acquire lock for scheduler task {}: {}", lockName, e.getMessage());
+            return null;
+        }
+    }
+
+    private void releaseLock(String lockName, OffsetDateTime lockedAt) {
+        OffsetDateTime minLockedUntil = lockedAt.plus(Duration.ofMillis(minLeaseTimeMs));
+        try {
+            lockTransactionTemplate.executeWithoutResult(status -> {
+                OffsetDateTime lockedUntil = schedulerTaskLockRepository.findDatabaseTime(lockName)
+                                                 .map(this::toOffsetDateTime)
+                                                 .filter(now -> now.isAfter(minLockedUntil))
+                                                 .orElse(minLockedUntil);
+                schedulerTaskLockRepository.releaseLock(lockName, nodeId, lockedUntil);
+            });
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Couldn't release lock for scheduler task {}, it will expire at the end of the lease: {}", lockName, e.getMessage());
+        }
+    }
+
+    private OffsetDateTime toOffsetDateTime(Timestamp timestamp) {
+        return OffsetDateTime.ofInstant(timestamp.toInstant(), ZoneId.systemDefault());
+    }
+
+    private String getHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown-host";
+        }
+    }
+}
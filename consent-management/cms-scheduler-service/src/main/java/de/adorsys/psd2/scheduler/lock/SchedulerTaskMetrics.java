@@ -0,0 +1,88 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.scheduler.lock;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Run-time statistics of a scheduler task on the current CMS node
+ */
+public class SchedulerTaskMetrics {
+    private final String taskName;
+
+    private final LongAdder runCount = new LongAdder();
+    private final LongAdder skipCount = new LongAdder();
+    private final LongAdder failureCount = new LongAdder();
+    private final LongAdder totalDurationMs = new LongAdder();
+    private final AtomicLong lastDurationMs = new AtomicLong();
+    private final AtomicLong maxDurationMs = new AtomicLong();
+
+    public SchedulerTaskMetrics(String taskName) {
+        this.taskName = taskName;
+    }
+
+    void recordRun(long durationMs, boolean failed) {
+        runCount.increment();
+        if (failed) {
+            failureCount.increment();
+        }
+        totalDurationMs.add(durationMs);
+        lastDurationMs.set(durationMs);
+        maxDurationMs.accumulateAndGet(durationMs, Math::max);
+    }
+
+    void recordSkip() {
+        skipCount.increment();
+    }
+
+    public String getTaskName() {
+        return taskName;
+    }
+
+    public long getRunCount() {
+        return runCount.sum();
+    }
+
+    public long getSkipCount() {
+        return skipCount.sum();
+    }
+
+    public long getFailureCount() {
+        return failureCount.sum();
+    }
+
+    public long getTotalDurationMs() {
+        return totalDurationMs.sum();
+    }
+
+    public long getLastDurationMs() {
+        return lastDurationMs.get();
+    }
+
+    public long getMaxDurationMs() {
+        return maxDurationMs.get();
+    }
+
+    @Override
+    public String toString() {
+        return "SchedulerTaskMetrics{task=" + taskName + ", runs=" + getRunCount() + ", skipped=" + getSkipCount()
+                   + ", failures=" + getFailureCount() + ", lastMs=" + getLastDurationMs() + ", maxMs=" + getMaxDurationMs()
+                   + ", totalMs=" + getTotalDurationMs() + "}";
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.scheduler.lock;
+
+import lombok.Value;
+
+/**
+ * Part of the scheduler task work, consisting of items with <code>id % count == index</code>
+ */
+@Value
+public class TaskPartition {
+    public static final TaskPartition SINGLE = new TaskPartition(0, 1);
+
+    private final int index;
+    private final int count;
+
+    public boolean isSingle() {
+        return count == 1;
+    }
+
+    @Override
+    public String toString() {
+        return index + "/" + count;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.scheduler;
+
+import de.adorsys.psd2.consent.service.migration.ConsentDataMigrationService;
+import de.adorsys.psd2.consent.service.migration.ConsentDataMigrationState;
+import de.adorsys.psd2.consent.service.migration.ConsentDataMigrationType;
+import de.adorsys.psd2.scheduler.lock.SchedulerTaskLockService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConsentDataMigrationScheduleTaskTest {
+    private static final int CHUNK_SIZE = 10;
+
+    @InjectMocks
+    private ConsentDataMigrationScheduleTask scheduleTask;
+
+    @Mock
+    private ConsentDataMigrationService consentDataMigrationService;
+    @Mock
+    private ConsentDataMigrationState consentDataMigrationState;
+    @Mock
+    private SchedulerTaskLockService schedulerTaskLockService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(scheduleTask, "enabled", true);
+        ReflectionTestUtils.setField(scheduleTask, "chunkSize", CHUNK_SIZE);
+        ReflectionTestUtils.setField(scheduleTask, "chunkDelayMs", 0L);
+        ReflectionTestUtils.setField(scheduleTask, "maxRunTimeMs", 60000L);
+    }
+
+    @Test
+    void migrateObsoleteConsents_allChunksMigrated_migrationMarkedCompleted() {
+        // Given
+        runTaskWithLock();
+        when(consentDataMigrationService.migrateNextChunk(ConsentDataMigrationType.AIS, CHUNK_SIZE)).thenReturn(true, true, false);
+        when(consentDataMigrationService.migrateNextChunk(ConsentDataMigrationType.PIIS, CHUNK_SIZE)).thenReturn(false);
+
+        // When
+        scheduleTask.migrateObsoleteConsents();
+
+        // Then
+        verify(consentDataMigrationService, times(3)).migrateNextChunk(ConsentDataMigrationType.AIS, CHUNK_SIZE);
+        verify(consentDataMigrationState).markCompleted(ConsentDataMigrationType.AIS);
+        verify(consentDataMigrationState).markCompleted(ConsentDataMigrationType.PIIS);
+    }
+
+    @Test
+    void migrateObsoleteConsents_runTimeExceeded_pausedUntilNextRun() {
+        // Given
+        runTaskWithLock();
+        ReflectionTestUtils.setField(scheduleTask, "maxRunTimeMs", 0L);
+        when(consentDataMigrationService.migrateNextChunk(ConsentDataMigrationType.AIS, CHUNK_SIZE)).thenReturn(true);
+
+        // When
+        scheduleTask.migrateObsoleteConsents();
+
+        // Then
+        verify(consentDataMigrationService, times(1)).migrateNextChunk(ConsentDataMigrationType.AIS, CHUNK_SIZE);
+        verify(consentDataMigrationService, never()).migrateNextChunk(ConsentDataMigrationType.PIIS, CHUNK_SIZE);
+        verify(consentDataMigrationState, never()).markCompleted(any());
+    }
+
+    @Test
+    void migrateObsoleteConsents_disabled() {
+        // Given
+        ReflectionTestUtils.setField(scheduleTask, "enabled", false);
+
+        // When
+        scheduleTask.migrateObsoleteConsents();
+
+        // Then
+        verifyNoInteractions(schedulerTaskLockService, consentDataMigrationService);
+    }
+
+    private void runTaskWithLock() {
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return null;
+        }).when(schedulerTaskLockService).runWithLockWithoutTransaction(anyString(), any(Runnable.class));
+    }
+}
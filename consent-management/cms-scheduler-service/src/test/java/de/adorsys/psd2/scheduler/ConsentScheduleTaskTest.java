@@ -17,6 +17,8 @@
 package de.adorsys.psd2.scheduler;
 
 import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
+import de.adorsys.psd2.scheduler.lock.SchedulerTaskLockService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -27,8 +29,9 @@ import java.util.EnumSet;
 
 import static de.adorsys.psd2.xs2a.core.consent.ConsentStatus.RECEIVED;
 import static de.adorsys.psd2.xs2a.core.consent.ConsentStatus.VALID;
-import static org.mockito.Mockito.times;
-import static org.mockito.Mockito.verify;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class ConsentScheduleTaskTest {
@@ -38,6 +41,16 @@ class ConsentScheduleTaskTest {
 
     @Mock
     private ConsentJpaRepository consentJpaRepository;
+    @Mock
+    private SchedulerTaskLockService schedulerTaskLockService;
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return null;
+        }).when(schedulerTaskLockService).runWithLock(anyString(), any(Runnable.class));
+    }
 
     @Test
     void checkConsentStatus_allConsentsExpired() {
@@ -14,35 +14,37 @@
  * limitations under the License.
  */
 
+
 package de.adorsys.psd2.scheduler;
 
-import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
 import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
 import de.adorsys.psd2.consent.service.AisConsentConfirmationExpirationService;
+import de.adorsys.psd2.scheduler.lock.SchedulerTaskLockService;
+import de.adorsys.psd2.scheduler.lock.TaskPartition;
 import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
-import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.test.util.ReflectionTestUtils;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.EnumSet;
-import java.util.List;
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.function.Consumer;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class NotConfirmedConsentExpirationScheduleTaskTest {
+    private static final Set<ConsentStatus> NOT_CONFIRMED_STATUSES = EnumSet.of(ConsentStatus.RECEIVED, ConsentStatus.PARTIALLY_AUTHORISED);
+    private static final String INSTANCE_ID = "UNDEFINED";
+    private static final OffsetDateTime CREATED_BEFORE = OffsetDateTime.now().minusHours(1);
+    private static final int PAGE_SIZE = 2;
 
     @InjectMocks
     private NotConfirmedConsentExpirationScheduleTask scheduleTask;
@@ -51,58 +53,82 @@ class NotConfirmedConsentExpirationScheduleTaskTest {
     private AisConsentConfirmationExpirationService aisConsentConfirmationExpirationService;
     @Mock
     private ConsentJpaRepository consentJpaRepository;
-
-    @Captor
-    private ArgumentCaptor<ArrayList<ConsentEntity>> consentsCaptor;
+    @Mock
+    private SchedulerTaskLockService schedulerTaskLockService;
 
     @BeforeEach
     void setUp() {
-        ReflectionTestUtils.setField(scheduleTask, "pageSize", 100);
+        ReflectionTestUtils.setField(scheduleTask, "pageSize", PAGE_SIZE);
+        ReflectionTestUtils.setField(scheduleTask, "workers", 1);
     }
 
     @Test
     void obsoleteNotConfirmedConsentIfExpired() {
         // Given
-        List<ConsentEntity> aisConsents = new ArrayList<>();
-        aisConsents.add(new ConsentEntity());
-        aisConsents.add(new ConsentEntity());
-
-        when(consentJpaRepository.countByConsentStatusIn(EnumSet.of(ConsentStatus.RECEIVED, ConsentStatus.PARTIALLY_AUTHORISED)))
-            .thenReturn(10L);
-        when(consentJpaRepository.findByConsentStatusIn(EnumSet.of(ConsentStatus.RECEIVED, ConsentStatus.PARTIALLY_AUTHORISED), PageRequest.of(0, 100)))
-            .thenReturn(aisConsents);
-        when(aisConsentConfirmationExpirationService.isConfirmationExpired(any(ConsentEntity.class)))
-            .thenReturn(true, false);
-        when(aisConsentConfirmationExpirationService.updateConsentListOnConfirmationExpiration(consentsCaptor.capture()))
-            .thenReturn(Collections.emptyList());
+        runPartitions(TaskPartition.SINGLE);
+        when(consentJpaRepository.findInstanceIdsByConsentStatusIn(NOT_CONFIRMED_STATUSES))
+            .thenReturn(Collections.singletonList(INSTANCE_ID));
+        when(aisConsentConfirmationExpirationService.getConfirmationExpirationThreshold(INSTANCE_ID))
+            .thenReturn(CREATED_BEFORE);
+        when(consentJpaRepository.findNextIdsByConsentStatusInAndCreationTimestampBefore(NOT_CONFIRMED_STATUSES, INSTANCE_ID, CREATED_BEFORE, Long.MIN_VALUE, 0, 1, PageRequest.of(0, PAGE_SIZE)))
+            .thenReturn(Arrays.asList(1L, 2L));
+        when(consentJpaRepository.findNextIdsByConsentStatusInAndCreationTimestampBefore(NOT_CONFIRMED_STATUSES, INSTANCE_ID, CREATED_BEFORE, 2L, 0, 1, PageRequest.of(0, PAGE_SIZE)))
+            .thenReturn(Collections.singletonList(5L));
+        when(aisConsentConfirmationExpirationService.updateConsentsOnConfirmationExpiration(anyList(), eq(CREATED_BEFORE)))
+            .thenReturn(2, 1);
 
         // When
         scheduleTask.obsoleteNotConfirmedConsentIfExpired();
 
         // Then
-        verify(consentJpaRepository, times(1))
-            .countByConsentStatusIn(EnumSet.of(ConsentStatus.RECEIVED, ConsentStatus.PARTIALLY_AUTHORISED));
-        verify(consentJpaRepository, times(1))
-            .findByConsentStatusIn(EnumSet.of(ConsentStatus.RECEIVED, ConsentStatus.PARTIALLY_AUTHORISED), PageRequest.of(0, 100));
-        verify(aisConsentConfirmationExpirationService, times(2)).isConfirmationExpired(any(ConsentEntity.class));
-        verify(aisConsentConfirmationExpirationService, times(1)).updateConsentListOnConfirmationExpiration(anyList());
-
-        assertEquals(1, consentsCaptor.getValue().size());
+        verify(aisConsentConfirmationExpirationService).updateConsentsOnConfirmationExpiration(Arrays.asList(1L, 2L), CREATED_BEFORE);
+        verify(aisConsentConfirmationExpirationService).updateConsentsOnConfirmationExpiration(Collections.singletonList(5L), CREATED_BEFORE);
+        verify(consentJpaRepository, times(2))
+            .findNextIdsByConsentStatusInAndCreationTimestampBefore(anySet(), anyString(), any(), anyLong(), anyInt(), anyInt(), any());
     }
 
     @Test
     void obsoleteNotConfirmedConsentIfExpired_emptyList() {
         // Given
-        when(consentJpaRepository.countByConsentStatusIn(EnumSet.of(ConsentStatus.RECEIVED, ConsentStatus.PARTIALLY_AUTHORISED)))
-            .thenReturn(0L);
+        runPartitions(TaskPartition.SINGLE);
+        when(consentJpaRepository.findInstanceIdsByConsentStatusIn(NOT_CONFIRMED_STATUSES))
+            .thenReturn(Collections.emptyList());
 
         // When
         scheduleTask.obsoleteNotConfirmedConsentIfExpired();
 
         // Then
-        verify(consentJpaRepository, times(1)).countByConsentStatusIn(EnumSet.of(ConsentStatus.RECEIVED, ConsentStatus.PARTIALLY_AUTHORISED));
-        verify(consentJpaRepository, never()).findByConsentStatusIn(anySet(), any(Pageable.class));
-        verify(aisConsentConfirmationExpirationService, never()).isConfirmationExpired(any(ConsentEntity.class));
-        verify(aisConsentConfirmationExpirationService, never()).updateConsentListOnConfirmationExpiration(anyList());
+        verify(consentJpaRepository, never())
+            .findNextIdsByConsentStatusInAndCreationTimestampBefore(anySet(), anyString(), any(), anyLong(), anyInt(), anyInt(), any());
+        verify(aisConsentConfirmationExpirationService, never()).updateConsentsOnConfirmationExpiration(anyList(), any());
+    }
+
+    @Test
+    void obsoleteNotConfirmedConsentIfExpired_partitioned() {
+        // Given
+        runPartitions(new TaskPartition(0, 2), new TaskPartition(1, 2));
+        when(consentJpaRepository.findInstanceIdsByConsentStatusIn(NOT_CONFIRMED_STATUSES))
+            .thenReturn(Collections.singletonList(INSTANCE_ID));
+        when(aisConsentConfirmationExpirationService.getConfirmationExpirationThreshold(INSTANCE_ID))
+            .thenReturn(CREATED_BEFORE);
+        when(consentJpaRepository.findNextIdsByConsentStatusInAndCreationTimestampBefore(NOT_CONFIRMED_STATUSES, INSTANCE_ID, CREATED_BEFORE, Long.MIN_VALUE, 0, 2, PageRequest.of(0, PAGE_SIZE)))
+            .thenReturn(Collections.singletonList(4L));
+        when(consentJpaRepository.findNextIdsByConsentStatusInAndCreationTimestampBefore(NOT_CONFIRMED_STATUSES, INSTANCE_ID, CREATED_BEFORE, Long.MIN_VALUE, 1, 2, PageRequest.of(0, PAGE_SIZE)))
+            .thenReturn(Collections.emptyList());
+
+        // When
+        scheduleTask.obsoleteNotConfirmedConsentIfExpired();
+
+        // Then
+        verify(aisConsentConfirmationExpirationService, times(1)).updateConsentsOnConfirmationExpiration(anyList(), eq(CREATED_BEFORE));
+        verify(aisConsentConfirmationExpirationService).updateConsentsOnConfirmationExpiration(Collections.singletonList(4L), CREATED_BEFORE);
+    }
+
+    private void runPartitions(TaskPartition... partitions) {
+        doAnswer(invocation -> {
+            Consumer<TaskPartition> task = invocation.getArgument(1);
+            Arrays.stream(partitions).forEach(task);
+            return null;
+        }).when(schedulerTaskLockService).runPartitionedWithoutTransaction(anyString(), any());
     }
 }
@@ -14,36 +14,37 @@
  * limitations under the License.
  */
 
+
 package de.adorsys.psd2.scheduler;
 
-import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentData;
 import de.adorsys.psd2.consent.repository.PisCommonPaymentDataRepository;
 import de.adorsys.psd2.consent.service.PisCommonPaymentConfirmationExpirationService;
+import de.adorsys.psd2.scheduler.lock.SchedulerTaskLockService;
+import de.adorsys.psd2.scheduler.lock.TaskPartition;
 import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
-import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.test.util.ReflectionTestUtils;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.EnumSet;
-import java.util.List;
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.function.Consumer;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class NotConfirmedPaymentExpirationScheduleTaskTest {
+    private static final Set<TransactionStatus> NOT_CONFIRMED_STATUSES = EnumSet.of(TransactionStatus.RCVD, TransactionStatus.PATC);
+    private static final String INSTANCE_ID = "UNDEFINED";
+    private static final OffsetDateTime CREATED_BEFORE = OffsetDateTime.now().minusHours(1);
+    private static final int PAGE_SIZE = 2;
 
     @InjectMocks
     private NotConfirmedPaymentExpirationScheduleTask scheduleTask;
@@ -52,58 +53,82 @@ class NotConfirmedPaymentExpirationScheduleTaskTest {
     private PisCommonPaymentConfirmationExpirationService pisCommonPaymentConfirmationExpirationService;
     @Mock
     private PisCommonPaymentDataRepository paymentDataRepository;
-
-    @Captor
-    private ArgumentCaptor<ArrayList<PisCommonPaymentData>> commonPaymentDataCaptor;
+    @Mock
+    private SchedulerTaskLockService schedulerTaskLockService;
 
     @BeforeEach
     void setUp() {
-        ReflectionTestUtils.setField(scheduleTask, "pageSize", 100);
+        ReflectionTestUtils.setField(scheduleTask, "pageSize", PAGE_SIZE);
+        ReflectionTestUtils.setField(scheduleTask, "workers", 1);
     }
 
     @Test
     void obsoleteNotConfirmedPaymentIfExpired() {
         // Given
-        List<PisCommonPaymentData> pisCommonPaymentDataList = new ArrayList<>();
-        pisCommonPaymentDataList.add(new PisCommonPaymentData());
-        pisCommonPaymentDataList.add(new PisCommonPaymentData());
-
-        when(paymentDataRepository.countByTransactionStatusIn(EnumSet.of(TransactionStatus.RCVD, TransactionStatus.PATC)))
-            .thenReturn(10L);
-        when(paymentDataRepository.findByTransactionStatusIn(EnumSet.of(TransactionStatus.RCVD, TransactionStatus.PATC), PageRequest.of(0, 100)))
-            .thenReturn(pisCommonPaymentDataList);
-        when(pisCommonPaymentConfirmationExpirationService.isConfirmationExpired(any(PisCommonPaymentData.class)))
-            .thenReturn(true, false);
-        when(pisCommonPaymentConfirmationExpirationService.updatePaymentDataListOnConfirmationExpiration(commonPaymentDataCaptor.capture()))
-            .thenReturn(Collections.emptyList());
+        runPartitions(TaskPartition.SINGLE);
+        when(paymentDataRepository.findInstanceIdsByTransactionStatusIn(NOT_CONFIRMED_STATUSES))
+            .thenReturn(Collections.singletonList(INSTANCE_ID));
+        when(pisCommonPaymentConfirmationExpirationService.getConfirmationExpirationThreshold(INSTANCE_ID))
+            .thenReturn(CREATED_BEFORE);
+        when(paymentDataRepository.findNextIdsByTransactionStatusInAndCreationTimestampBefore(NOT_CONFIRMED_STATUSES, INSTANCE_ID, CREATED_BEFORE, Long.MIN_VALUE, 0, 1, PageRequest.of(0, PAGE_SIZE)))
+            .thenReturn(Arrays.asList(1L, 2L));
+        when(paymentDataRepository.findNextIdsByTransactionStatusInAndCreationTimestampBefore(NOT_CONFIRMED_STATUSES, INSTANCE_ID, CREATED_BEFORE, 2L, 0, 1, PageRequest.of(0, PAGE_SIZE)))
+            .thenReturn(Collections.singletonList(5L));
+        when(pisCommonPaymentConfirmationExpirationService.updatePaymentsOnConfirmationExpiration(anyList(), eq(CREATED_BEFORE)))
+            .thenReturn(2, 1);
 
         // When
         scheduleTask.obsoleteNotConfirmedPaymentIfExpired();
 
         // Then
-        verify(paymentDataRepository, times(1))
-            .countByTransactionStatusIn(EnumSet.of(TransactionStatus.RCVD, TransactionStatus.PATC));
-        verify(paymentDataRepository, times(1))
-            .findByTransactionStatusIn(EnumSet.of(TransactionStatus.RCVD, TransactionStatus.PATC), PageRequest.of(0, 100));
-        verify(pisCommonPaymentConfirmationExpirationService, times(2)).isConfirmationExpired(any(PisCommonPaymentData.class));
-        verify(pisCommonPaymentConfirmationExpirationService, times(1)).updatePaymentDataListOnConfirmationExpiration(anyList());
-
-        assertEquals(1, commonPaymentDataCaptor.getValue().size());
+        verify(pisCommonPaymentConfirmationExpirationService).updatePaymentsOnConfirmationExpiration(Arrays.asList(1L, 2L), CREATED_BEFORE);
+        verify(pisCommonPaymentConfirmationExpirationService).updatePaymentsOnConfirmationExpiration(Collections.singletonList(5L), CREATED_BEFORE);
+        verify(paymentDataRepository, times(2))
+            .findNextIdsByTransactionStatusInAndCreationTimestampBefore(anySet(), anyString(), any(), anyLong(), anyInt(), anyInt(), any());
     }
 
     @Test
     void obsoleteNotConfirmedPaymentIfExpired_emptyList() {
         // Given
-        when(paymentDataRepository.countByTransactionStatusIn(EnumSet.of(TransactionStatus.RCVD, TransactionStatus.PATC)))
-            .thenReturn(0L);
+        runPartitions(TaskPartition.SINGLE);
+        when(paymentDataRepository.findInstanceIdsByTransactionStatusIn(NOT_CONFIRMED_STATUSES))
+            .thenReturn(Collections.emptyList());
 
         // When
         scheduleTask.obsoleteNotConfirmedPaymentIfExpired();
 
         // Then
-        verify(paymentDataRepository, times(1)).countByTransactionStatusIn(EnumSet.of(TransactionStatus.RCVD, TransactionStatus.PATC));
-        verify(paymentDataRepository, never()).findByTransactionStatusIn(anySet(), any(Pageable.class));
-        verify(pisCommonPaymentConfirmationExpirationService, never()).isConfirmationExpired(any(PisCommonPaymentData.class));
-        verify(pisCommonPaymentConfirmationExpirationService, never()).updatePaymentDataListOnConfirmationExpiration(anyList());
+        verify(paymentDataRepository, never())
+            .findNextIdsByTransactionStatusInAndCreationTimestampBefore(anySet(), anyString(), any(), anyLong(), anyInt(), anyInt(), any());
+        verify(pisCommonPaymentConfirmationExpirationService, never()).updatePaymentsOnConfirmationExpiration(anyList(), any());
+    }
+
+    @Test
+    void obsoleteNotConfirmedPaymentIfExpired_partitioned() {
+        // Given
+        runPartitions(new TaskPartition(0, 2), new TaskPartition(1, 2));
+        when(paymentDataRepository.findInstanceIdsByTransactionStatusIn(NOT_CONFIRMED_STATUSES))
+            .thenReturn(Collections.singletonList(INSTANCE_ID));
+        when(pisCommonPaymentConfirmationExpirationService.getConfirmationExpirationThreshold(INSTANCE_ID))
+            .thenReturn(CREATED_BEFORE);
+        when(paymentDataRepository.findNextIdsByTransactionStatusInAndCreationTimestampBefore(NOT_CONFIRMED_STATUSES, INSTANCE_ID, CREATED_BEFORE, Long.MIN_VALUE, 0, 2, PageRequest.of(0, PAGE_SIZE)))
+            .thenReturn(Collections.singletonList(4L));
+        when(paymentDataRepository.findNextIdsByTransactionStatusInAndCreationTimestampBefore(NOT_CONFIRMED_STATUSES, INSTANCE_ID, CREATED_BEFORE, Long.MIN_VALUE, 1, 2, PageRequest.of(0, PAGE_SIZE)))
+            .thenReturn(Collections.emptyList());
+
+        // When
+        scheduleTask.obsoleteNotConfirmedPaymentIfExpired();
+
+        // Then
+        verify(pisCommonPaymentConfirmationExpirationService, times(1)).updatePaymentsOnConfirmationExpiration(anyList(), eq(CREATED_BEFORE));
+        verify(pisCommonPaymentConfirmationExpirationService).updatePaymentsOnConfirmationExpiration(Collections.singletonList(4L), CREATED_BEFORE);
+    }
+
+    private void runPartitions(TaskPartition... partitions) {
+        doAnswer(invocation -> {
+            Consumer<TaskPartition> task = invocation.getArgument(1);
+            Arrays.stream(partitions).forEach(task);
+            return null;
+        }).when(schedulerTaskLockService).runPartitionedWithoutTransaction(anyString(), any());
     }
 }
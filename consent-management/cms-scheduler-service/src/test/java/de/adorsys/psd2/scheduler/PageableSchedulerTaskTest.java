@@ -21,6 +21,13 @@ import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 class PageableSchedulerTaskTest {
@@ -49,6 +56,64 @@ class PageableSchedulerTaskTest {
         validateRunPageableMethodCountExecution(2, 101);
     }
 
+    @Test
+    void executeChunked_singleWorker() {
+        // Given
+        ReflectionTestUtils.setField(pageableSchedulerTask, "workers", 1);
+        List<Long> ids = LongStream.rangeClosed(1, 250).boxed().collect(Collectors.toList());
+        Set<Long> processedIds = ConcurrentHashMap.newKeySet();
+
+        // When
+        int processed = pageableSchedulerTask.executeChunked((lastId, page) -> loadNextIds(ids, lastId, page.getPageSize()),
+                                                             chunk -> {
+                                                                 processedIds.addAll(chunk);
+                                                                 return chunk.size();
+                                                             });
+
+        // Then
+        assertEquals(250, processed);
+        assertEquals(250, processedIds.size());
+    }
+
+    @Test
+    void executeChunked_severalWorkers() {
+        // Given
+        ReflectionTestUtils.setField(pageableSchedulerTask, "workers", 4);
+        List<Long> ids = LongStream.rangeClosed(1, 1000).boxed().collect(Collectors.toList());
+        Set<Long> processedIds = ConcurrentHashMap.newKeySet();
+        Set<String> workerThreads = ConcurrentHashMap.newKeySet();
+
+        // When
+        int processed = pageableSchedulerTask.executeChunked((lastId, page) -> loadNextIds(ids, lastId, page.getPageSize()),
+                                                             chunk -> {
+                                                                 workerThreads.add(Thread.currentThread().getName());
+                                                                 processedIds.addAll(chunk);
+                                                                 return chunk.size() / 2;
+                                                             });
+        pageableSchedulerTask.destroy();
+
+        // Then
+        assertEquals(500, processed);
+        assertEquals(1000, processedIds.size());
+        assertEquals(Collections.emptySet(), workerThreads.stream().filter(name -> !name.startsWith("consent-scheduler-worker-")).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void executeChunked_noItems() {
+        // When
+        int processed = pageableSchedulerTask.executeChunked((lastId, page) -> Collections.emptyList(), List::size);
+
+        // Then
+        assertEquals(0, processed);
+    }
+
+    private List<Long> loadNextIds(List<Long> ids, long lastId, int limit) {
+        return ids.stream()
+                   .filter(id -> id > lastId)
+                   .limit(limit)
+                   .collect(Collectors.toList());
+    }
+
     private void validateRunPageableMethodCountExecution(int expectedCount, int totalItems) {
         pageableSchedulerTask.execute(totalItems);
         assertEquals(expectedCount, COUNT);
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.scheduler;
+
+import de.adorsys.psd2.consent.service.notification.TppNotificationDispatcher;
+import de.adorsys.psd2.scheduler.lock.SchedulerTaskLockService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TppNotificationScheduleTaskTest {
+    private static final int BATCH_SIZE = 10;
+
+    @InjectMocks
+    private TppNotificationScheduleTask scheduleTask;
+
+    @Mock
+    private TppNotificationDispatcher tppNotificationDispatcher;
+    @Mock
+    private SchedulerTaskLockService schedulerTaskLockService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(scheduleTask, "enabled", true);
+        ReflectionTestUtils.setField(scheduleTask, "batchSize", BATCH_SIZE);
+        ReflectionTestUtils.setField(scheduleTask, "maxRunTimeMs", 60000L);
+    }
+
+    @Test
+    void dispatchTppNotifications_allBatchesDispatched() {
+        // Given
+        runTaskWithLock();
+        when(tppNotificationDispatcher.dispatchNextBatch(eq(BATCH_SIZE), anyLong())).thenReturn(true, true, false);
+
+        // When
+        scheduleTask.dispatchTppNotifications();
+
+        // Then
+        verify(tppNotificationDispatcher, times(3)).dispatchNextBatch(eq(BATCH_SIZE), anyLong());
+    }
+
+    @Test
+    void dispatchTppNotifications_runTimeExceeded_pausedUntilNextRun() {
+        // Given
+        runTaskWithLock();
+        ReflectionTestUtils.setField(scheduleTask, "maxRunTimeMs", 0L);
+
+        // When
+        scheduleTask.dispatchTppNotifications();
+
+        // Then
+        verify(tppNotificationDispatcher, never()).dispatchNextBatch(anyInt(), anyLong());
+    }
+
+    @Test
+    void dispatchTppNotifications_disabled() {
+        // Given
+        ReflectionTestUtils.setField(scheduleTask, "enabled", false);
+
+        // When
+        scheduleTask.dispatchTppNotifications();
+
+        // Then
+        verifyNoInteractions(schedulerTaskLockService, tppNotificationDispatcher);
+    }
+
+    private void runTaskWithLock() {
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return null;
+        }).when(schedulerTaskLockService).runWithLockWithoutTransaction(anyString(), any(Runnable.class));
+    }
+}
@@ -17,14 +17,18 @@
 package de.adorsys.psd2.scheduler;
 
 import de.adorsys.psd2.consent.repository.TppStopListRepository;
+import de.adorsys.psd2.consent.service.TppStopListChangePublisher;
+import de.adorsys.psd2.scheduler.lock.SchedulerTaskLockService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import static org.mockito.Mockito.times;
-import static org.mockito.Mockito.verify;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class TppStopListScheduleTaskTest {
@@ -34,10 +38,32 @@ class TppStopListScheduleTaskTest {
 
     @Mock
     private TppStopListRepository tppStopListRepository;
+    @Mock
+    private TppStopListChangePublisher tppStopListChangePublisher;
+    @Mock
+    private SchedulerTaskLockService schedulerTaskLockService;
+
+    @BeforeEach
+    void setUp() {
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return null;
+        }).when(schedulerTaskLockService).runWithLock(anyString(), any(Runnable.class));
+    }
 
     @Test
     void unblockTppIfBlockingExpired() {
         scheduleTask.unblockTppIfBlockingExpired();
         verify(tppStopListRepository, times(1)).unblockExpiredBlockedTpp();
+        verify(tppStopListChangePublisher, never()).publishStopListChanged(any());
+    }
+
+    @Test
+    void unblockTppIfBlockingExpired_tppUnblocked_changePublished() {
+        when(tppStopListRepository.unblockExpiredBlockedTpp()).thenReturn(2);
+
+        scheduleTask.unblockTppIfBlockingExpired();
+
+        verify(tppStopListChangePublisher, times(1)).publishStopListChanged(null);
     }
 }
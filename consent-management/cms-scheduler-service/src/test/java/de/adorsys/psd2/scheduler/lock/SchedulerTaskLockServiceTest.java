@@ -0,0 +1,297 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.scheduler.lock;
+
+import de.adorsys.psd2.consent.repository.SchedulerTaskLockRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SchedulerTaskLockServiceTest {
+    private static final String TASK_NAME = "test-task";
+    private static final String NODE_ID = "node-1";
+    private static final long LEASE_TIME_MS = 600_000;
+    private static final long MIN_LEASE_TIME_MS = 30_000;
+    // Clock of the database differs from the clock of the node
+    private static final OffsetDateTime DATABASE_TIME = OffsetDateTime.now().minusHours(1);
+
+    @Mock
+    private SchedulerTaskLockRepository schedulerTaskLockRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SchedulerTaskLockService schedulerTaskLockService;
+
+    @BeforeEach
+    void setUp() {
+        schedulerTaskLockService = new SchedulerTaskLockService(schedulerTaskLockRepository, transactionManager);
+        ReflectionTestUtils.setField(schedulerTaskLockService, "lockEnabled", true);
+        ReflectionTestUtils.setField(schedulerTaskLockService, "leaseTimeMs", LEASE_TIME_MS);
+        ReflectionTestUtils.setField(schedulerTaskLockService, "minLeaseTimeMs", MIN_LEASE_TIME_MS);
+        ReflectionTestUtils.setField(schedulerTaskLockService, "partitionCount", 1);
+        ReflectionTestUtils.setField(schedulerTaskLockService, "nodeId", NODE_ID);
+        schedulerTaskLockService.afterPropertiesSet();
+    }
+
+    @Test
+    void runWithLock_lockAcquired_taskExecutedAndLockReleased() {
+        // Given
+        givenDatabaseTime();
+        when(schedulerTaskLockRepository.acquireLock(eq(TASK_NAME), eq(NODE_ID), any(), any())).thenReturn(1);
+        List<String> executed = new ArrayList<>();
+
+        // When
+        schedulerTaskLockService.runWithLock(TASK_NAME, () -> executed.add(TASK_NAME));
+
+        // Then
+        assertEquals(List.of(TASK_NAME), executed);
+        ArgumentCaptor<OffsetDateTime> lockedAtCaptor = ArgumentCaptor.forClass(OffsetDateTime.class);
+        ArgumentCaptor<OffsetDateTime> lockedUntilCaptor = ArgumentCaptor.forClass(OffsetDateTime.class);
+        verify(schedulerTaskLockRepository).acquireLock(eq(TASK_NAME), eq(NODE_ID), lockedAtCaptor.capture(), lockedUntilCaptor.capture());
+        assertTrue(DATABASE_TIME.isEqual(lockedAtCaptor.getValue()));
+        assertTrue(DATABASE_TIME.plus(Duration.ofMillis(LEASE_TIME_MS)).isEqual(lockedUntilCaptor.getValue()));
+        ArgumentCaptor<OffsetDateTime> releasedUntilCaptor = ArgumentCaptor.forClass(OffsetDateTime.class);
+        verify(schedulerTaskLockRepository).releaseLock(eq(TASK_NAME), eq(NODE_ID), releasedUntilCaptor.capture());
+        assertTrue(DATABASE_TIME.plus(Duration.ofMillis(MIN_LEASE_TIME_MS)).isEqual(releasedUntilCaptor.getValue()));
+        verify(transactionManager, times(3)).commit(any());
+
+        SchedulerTaskMetrics metrics = schedulerTaskLockService.getMetrics(TASK_NAME);
+        assertEquals(1, metrics.getRunCount());
+        assertEquals(0, metrics.getSkipCount());
+        assertEquals(0, metrics.getFailureCount());
+    }
+
+    @Test
+    void runWithLockWithoutTransaction_lockAcquired_taskExecutedOutsideTransaction() {
+        // Given
+        givenDatabaseTime();
+        when(schedulerTaskLockRepository.acquireLock(eq(TASK_NAME), eq(NODE_ID), any(), any())).thenReturn(1);
+        List<String> executed = new ArrayList<>();
+
+        // When
+        schedulerTaskLockService.runWithLockWithoutTransaction(TASK_NAME, () -> executed.add(TASK_NAME));
+
+        // Then
+        assertEquals(List.of(TASK_NAME), executed);
+        verify(schedulerTaskLockRepository).releaseLock(eq(TASK_NAME), eq(NODE_ID), any());
+        // only acquiring and releasing the lock are executed in transactions
+        verify(transactionManager, times(2)).commit(any());
+        assertEquals(1, schedulerTaskLockService.getMetrics(TASK_NAME).getRunCount());
+    }
+
+    @Test
+    void runWithLock_lockedByAnotherNode_taskSkipped() {
+        // Given
+        givenDatabaseTime();
+        when(schedulerTaskLockRepository.acquireLock(eq(TASK_NAME), eq(NODE_ID), any(), any())).thenReturn(0);
+        List<String> executed = new ArrayList<>();
+
+        // When
+        schedulerTaskLockService.runWithLock(TASK_NAME, () -> executed.add(TASK_NAME));
+
+        // Then
+        assertTrue(executed.isEmpty());
+        verify(schedulerTaskLockRepository, never()).insertLock(anyString());
+        verify(schedulerTaskLockRepository, never()).releaseLock(anyString(), anyString(), any());
+        assertEquals(1, schedulerTaskLockService.getMetrics(TASK_NAME).getSkipCount());
+        assertEquals(0, schedulerTaskLockService.getMetrics(TASK_NAME).getRunCount());
+    }
+
+    @Test
+    void runWithLock_noLockRow_lockCreatedAndAcquired() {
+        // Given
+        when(schedulerTaskLockRepository.findDatabaseTime(TASK_NAME))
+            .thenReturn(Optional.empty())
+            .thenReturn(Optional.of(Timestamp.from(DATABASE_TIME.toInstant())));
+        when(schedulerTaskLockRepository.insertLock(TASK_NAME)).thenReturn(1);
+        when(schedulerTaskLockRepository.acquireLock(eq(TASK_NAME), eq(NODE_ID), any(), any())).thenReturn(1);
+        List<String> executed = new ArrayList<>();
+
+        // When
+        schedulerTaskLockService.runWithLock(TASK_NAME, () -> executed.add(TASK_NAME));
+
+        // Then
+        assertEquals(List.of(TASK_NAME), executed);
+        verify(schedulerTaskLockRepository).insertLock(TASK_NAME);
+        verify(schedulerTaskLockRepository).releaseLock(eq(TASK_NAME), eq(NODE_ID), any());
+    }
+
+    @Test
+    void runWithLock_lockCreatedConcurrently_taskSkipped() {
+        // Given
+        when(schedulerTaskLockRepository.findDatabaseTime(TASK_NAME)).thenReturn(Optional.empty());
+        when(schedulerTaskLockRepository.insertLock(TASK_NAME)).thenThrow(new DataIntegrityViolationException("duplicate key"));
+        List<String> executed = new ArrayList<>();
+
+        // When
+        schedulerTaskLockService.runWithLock(TASK_NAME, () -> executed.add(TASK_NAME));
+
+        // Then
+        assertTrue(executed.isEmpty());
+        verify(schedulerTaskLockRepository, never()).acquireLock(anyString(), anyString(), any(), any());
+        verify(schedulerTaskLockRepository, never()).releaseLock(anyString(), anyString(), any());
+        assertEquals(1, schedulerTaskLockService.getMetrics(TASK_NAME).getSkipCount());
+    }
+
+    @Test
+    void runWithLock_taskFailed_lockReleasedAndFailureRecorded() {
+        // Given
+        givenDatabaseTime();
+        when(schedulerTaskLockRepository.acquireLock(eq(TASK_NAME), eq(NODE_ID), any(), any())).thenReturn(1);
+        Runnable failingTask = () -> {
+            throw new IllegalStateException("task failed");
+        };
+
+        // When
+        assertThrows(IllegalStateException.class, () -> schedulerTaskLockService.runWithLock(TASK_NAME, failingTask));
+
+        // Then
+        verify(schedulerTaskLockRepository).releaseLock(eq(TASK_NAME), eq(NODE_ID), any());
+        verify(transactionManager).rollback(any());
+        assertEquals(1, schedulerTaskLockService.getMetrics(TASK_NAME).getFailureCount());
+    }
+
+    @Test
+    void runWithLock_lockDisabled_taskExecutedWithoutLock() {
+        // Given
+        ReflectionTestUtils.setField(schedulerTaskLockService, "lockEnabled", false);
+        List<String> executed = new ArrayList<>();
+
+        // When
+        schedulerTaskLockService.runWithLock(TASK_NAME, () -> executed.add(TASK_NAME));
+
+        // Then
+        assertEquals(List.of(TASK_NAME), executed);
+        verifyNoInteractions(schedulerTaskLockRepository);
+    }
+
+    @Test
+    void runPartitioned_partitionLockedByAnotherNode_otherPartitionsExecuted() {
+        // Given
+        ReflectionTestUtils.setField(schedulerTaskLockService, "partitionCount", 3);
+        givenDatabaseTime();
+        when(schedulerTaskLockRepository.acquireLock(anyString(), eq(NODE_ID), any(), any()))
+            .thenAnswer(invocation -> (TASK_NAME + "#1").equals(invocation.getArgument(0)) ? 0 : 1);
+        List<TaskPartition> executed = new ArrayList<>();
+
+        // When
+        schedulerTaskLockService.runPartitioned(TASK_NAME, executed::add);
+
+        // Then
+        assertEquals(Arrays.asList(new TaskPartition(0, 3), new TaskPartition(2, 3)), executed);
+        verify(schedulerTaskLockRepository).releaseLock(eq(TASK_NAME + "#0"), eq(NODE_ID), any());
+        verify(schedulerTaskLockRepository).releaseLock(eq(TASK_NAME + "#2"), eq(NODE_ID), any());
+        assertEquals(2, schedulerTaskLockService.getMetrics(TASK_NAME).getRunCount());
+        assertEquals(1, schedulerTaskLockService.getMetrics(TASK_NAME).getSkipCount());
+    }
+
+    @Test
+    void runPartitioned_partitionFailed_remainingPartitionsExecuted() {
+        // Given
+        ReflectionTestUtils.setField(schedulerTaskLockService, "partitionCount", 3);
+        givenDatabaseTime();
+        when(schedulerTaskLockRepository.acquireLock(anyString(), eq(NODE_ID), any(), any())).thenReturn(1);
+        List<TaskPartition> executed = new ArrayList<>();
+
+        // When
+        schedulerTaskLockService.runPartitioned(TASK_NAME, partition -> {
+            if (partition.getIndex() == 0) {
+                throw new IllegalStateException("partition failed");
+            }
+            executed.add(partition);
+        });
+
+        // Then
+        assertEquals(Arrays.asList(new TaskPartition(1, 3), new TaskPartition(2, 3)), executed);
+        verify(schedulerTaskLockRepository).releaseLock(eq(TASK_NAME + "#0"), eq(NODE_ID), any());
+        assertEquals(3, schedulerTaskLockService.getMetrics(TASK_NAME).getRunCount());
+        assertEquals(1, schedulerTaskLockService.getMetrics(TASK_NAME).getFailureCount());
+    }
+
+    @Test
+    void addMetricsListener_knownAndNewTasks_listenerNotifiedOnce() {
+        // Given
+        SchedulerTaskMetrics knownTaskMetrics = schedulerTaskLockService.getMetrics(TASK_NAME);
+        List<SchedulerTaskMetrics> notified = new ArrayList<>();
+
+        // When
+        schedulerTaskLockService.addMetricsListener(notified::add);
+        SchedulerTaskMetrics newTaskMetrics = schedulerTaskLockService.getMetrics("another-task");
+        schedulerTaskLockService.getMetrics("another-task");
+
+        // Then
+        assertEquals(Arrays.asList(knownTaskMetrics, newTaskMetrics), notified);
+    }
+
+    @Test
+    void runPartitioned_singlePartition_taskLockNameUsed() {
+        // Given
+        givenDatabaseTime();
+        when(schedulerTaskLockRepository.acquireLock(eq(TASK_NAME), eq(NODE_ID), any(), any())).thenReturn(1);
+        List<TaskPartition> executed = new ArrayList<>();
+
+        // When
+        schedulerTaskLockService.runPartitioned(TASK_NAME, executed::add);
+
+        // Then
+        assertEquals(List.of(TaskPartition.SINGLE), executed);
+    }
+
+    @Test
+    void runPartitionedWithoutTransaction_partitionsExecutedOutsideTransaction() {
+        // Given
+        ReflectionTestUtils.setField(schedulerTaskLockService, "partitionCount", 2);
+        givenDatabaseTime();
+        when(schedulerTaskLockRepository.acquireLock(anyString(), eq(NODE_ID), any(), any())).thenReturn(1);
+        List<TaskPartition> executed = new ArrayList<>();
+
+        // When
+        schedulerTaskLockService.runPartitionedWithoutTransaction(TASK_NAME, executed::add);
+
+        // Then
+        assertEquals(Arrays.asList(new TaskPartition(0, 2), new TaskPartition(1, 2)), executed);
+        // only acquiring and releasing the locks are executed in transactions
+        verify(transactionManager, times(4)).commit(any());
+    }
+
+    private void givenDatabaseTime() {
+        when(schedulerTaskLockRepository.findDatabaseTime(anyString()))
+            .thenReturn(Optional.of(Timestamp.from(DATABASE_TIME.toInstant())));
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.config;
+
+import de.adorsys.psd2.scheduler.lock.SchedulerTaskLockService;
+import de.adorsys.psd2.scheduler.lock.SchedulerTaskMetrics;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exposes run-time statistics of CMS scheduler tasks on this node via Micrometer, tagged with the name of the task
+ */
+@Component
+@RequiredArgsConstructor
+public class SchedulerTaskMetricsBinder implements MeterBinder {
+    private static final String METRIC_PREFIX = "cms.scheduler.task.";
+    private static final String TASK_TAG = "task";
+
+    private final SchedulerTaskLockService schedulerTaskLockService;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        schedulerTaskLockService.addMetricsListener(taskMetrics -> bindTaskMetrics(registry, taskMetrics));
+    }
+
+    private void bindTaskMetrics(MeterRegistry registry, SchedulerTaskMetrics taskMetrics) {
+        String taskName = taskMetrics.getTaskName();
+
+        FunctionTimer.builder(METRIC_PREFIX + "runs", taskMetrics, SchedulerTaskMetrics::getRunCount,
+                              SchedulerTaskMetrics::getTotalDurationMs, TimeUnit.MILLISECONDS)
+            .tag(TASK_TAG, taskName)
+            .description("Executions of the scheduler task on this node")
+            .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + "skips", taskMetrics, SchedulerTaskMetrics::getSkipCount)
+            .tag(TASK_TAG, taskName)
+            .description("Executions of the scheduler task skipped, as it was locked by another node")
+            .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + "failures", taskMetrics, SchedulerTaskMetrics::getFailureCount)
+            .tag(TASK_TAG, taskName)
+            .description("Failed executions of the scheduler task on this node")
+            .register(registry);
+        TimeGauge.builder(METRIC_PREFIX + "duration.last", taskMetrics, TimeUnit.MILLISECONDS, SchedulerTaskMetrics::getLastDurationMs)
+            .tag(TASK_TAG, taskName)
+            .description("Duration of the last execution of the scheduler task on this node")
+            .register(registry);
+        TimeGauge.builder(METRIC_PREFIX + "duration.max", taskMetrics, TimeUnit.MILLISECONDS, SchedulerTaskMetrics::getMaxDurationMs)
+            .tag(TASK_TAG, taskName)
+            .description("Maximum duration of the scheduler task execution on this node")
+            .register(registry);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.config;
+
+import de.adorsys.psd2.scheduler.lock.SchedulerTaskLockService;
+import de.adorsys.psd2.scheduler.lock.SchedulerTaskMetrics;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class SchedulerTaskMetricsBinderTest {
+    private static final String TASK_NAME = "test-task";
+
+    @Mock
+    private SchedulerTaskLockService schedulerTaskLockService;
+
+    @InjectMocks
+    private SchedulerTaskMetricsBinder schedulerTaskMetricsBinder;
+
+    @Test
+    void bindTo_taskMetricsReported_metersRegisteredWithTaskTag() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ArgumentCaptor<Consumer<SchedulerTaskMetrics>> listenerCaptor = ArgumentCaptor.forClass(Consumer.class);
+
+        // When
+        schedulerTaskMetricsBinder.bindTo(registry);
+        verify(schedulerTaskLockService).addMetricsListener(listenerCaptor.capture());
+        listenerCaptor.getValue().accept(new SchedulerTaskMetrics(TASK_NAME));
+
+        // Then
+        FunctionTimer runs = registry.get("cms.scheduler.task.runs").tag("task", TASK_NAME).functionTimer();
+        assertEquals(0, runs.count());
+        assertNotNull(registry.get("cms.scheduler.task.skips").tag("task", TASK_NAME).functionCounter());
+        assertNotNull(registry.get("cms.scheduler.task.failures").tag("task", TASK_NAME).functionCounter());
+        assertNotNull(registry.get("cms.scheduler.task.duration.last").tag("task", TASK_NAME).timeGauge());
+        assertNotNull(registry.get("cms.scheduler.task.duration.max").tag("task", TASK_NAME).timeGauge());
+    }
+}
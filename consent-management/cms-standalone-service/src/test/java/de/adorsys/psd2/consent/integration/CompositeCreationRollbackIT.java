@@ -0,0 +1,210 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.integration;
+
+import de.adorsys.psd2.aspsp.profile.domain.AspspSettings;
+import de.adorsys.psd2.aspsp.profile.service.AspspProfileService;
+import de.adorsys.psd2.consent.api.AspspDataService;
+import de.adorsys.psd2.consent.api.CmsError;
+import de.adorsys.psd2.consent.api.CmsResponse;
+import de.adorsys.psd2.consent.api.WrongChecksumException;
+import de.adorsys.psd2.consent.api.ais.CmsConsent;
+import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationRequest;
+import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationResponse;
+import de.adorsys.psd2.consent.api.consent.CompleteConsentCreationRequest;
+import de.adorsys.psd2.consent.api.consent.CompleteConsentCreationResponse;
+import de.adorsys.psd2.consent.api.pis.InitiatePisCommonPaymentRequest;
+import de.adorsys.psd2.consent.api.pis.InitiatePisCommonPaymentResponse;
+import de.adorsys.psd2.consent.api.pis.proto.PisPaymentInfo;
+import de.adorsys.psd2.consent.api.service.AuthorisationService;
+import de.adorsys.psd2.consent.api.service.ConsentServiceEncrypted;
+import de.adorsys.psd2.consent.api.service.PisCommonPaymentServiceEncrypted;
+import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
+import de.adorsys.psd2.consent.integration.config.IntegrationTestConfiguration;
+import de.adorsys.psd2.consent.repository.AspspConsentDataRepository;
+import de.adorsys.psd2.consent.repository.AuthorisationRepository;
+import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
+import de.adorsys.psd2.consent.repository.PisCommonPaymentDataRepository;
+import de.adorsys.psd2.consent.service.security.SecurityDataService;
+import de.adorsys.psd2.core.data.AccountAccess;
+import de.adorsys.psd2.xs2a.core.authorisation.AuthorisationType;
+import de.adorsys.psd2.xs2a.core.pis.InternalPaymentStatus;
+import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
+import de.adorsys.psd2.xs2a.core.profile.PaymentType;
+import de.adorsys.psd2.xs2a.core.profile.ScaApproach;
+import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
+import de.adorsys.psd2.xs2a.core.tpp.TppInfo;
+import de.adorsys.psd2.xs2a.core.tpp.TppRedirectUri;
+import de.adorsys.xs2a.reader.JsonReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks, that composite creation calls don't commit anything, if one of their steps fails after the first write.
+ * Test methods run without surrounding test transaction, so that every call to CMS commits or rolls back its own transaction.
+ */
+@ActiveProfiles("integration-test")
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = IntegrationTestConfiguration.class)
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class CompositeCreationRollbackIT {
+    private static final String DEFAULT_SERVICE_INSTANCE_ID = "UNDEFINED";
+    private static final String TPP_ID = "Test TppId";
+    private static final String AUTHORITY_ID = "test authority ID";
+    private static final PsuIdData PSU_DATA = new PsuIdData("psu", null, null, null, null);
+    private static final byte[] ASPSP_CONSENT_DATA = "aspsp consent data".getBytes();
+
+    @Autowired
+    private PisCommonPaymentServiceEncrypted pisCommonPaymentServiceEncrypted;
+    @Autowired
+    private ConsentServiceEncrypted consentServiceEncrypted;
+    @Autowired
+    private SecurityDataService securityDataService;
+    @Autowired
+    private PisCommonPaymentDataRepository pisCommonPaymentDataRepository;
+    @Autowired
+    private ConsentJpaRepository consentJpaRepository;
+    @Autowired
+    private AspspConsentDataRepository aspspConsentDataRepository;
+    @Autowired
+    private AuthorisationRepository authorisationRepository;
+    @SpyBean
+    private AspspDataService aspspDataService;
+    @SpyBean
+    private AuthorisationService authorisationService;
+    @MockBean
+    private AspspProfileService aspspProfileService;
+
+    private final JsonReader jsonReader = new JsonReader();
+
+    @BeforeEach
+    void setUp() {
+        AspspSettings aspspSettings = jsonReader.getObjectFromFile("json/aspect/aspsp-settings.json", AspspSettings.class);
+        when(aspspProfileService.getAspspSettings(DEFAULT_SERVICE_INSTANCE_ID)).thenReturn(aspspSettings);
+    }
+
+    @Test
+    void initiateCommonPayment_aspspConsentDataNotStored_paymentNotCommitted() {
+        // Given
+        doReturn(false).when(aspspDataService).updateAspspConsentData(any());
+        PisPaymentInfo pisPaymentInfo = buildPisPaymentInfo();
+
+        // When
+        CmsResponse<InitiatePisCommonPaymentResponse> response = pisCommonPaymentServiceEncrypted.initiateCommonPayment(buildInitiatePisCommonPaymentRequest(pisPaymentInfo));
+
+        // Then
+        assertEquals(CmsError.TECHNICAL_ERROR, response.getError());
+        assertTrue(pisCommonPaymentDataRepository.findByPaymentId(pisPaymentInfo.getPaymentId()).isEmpty());
+    }
+
+    @Test
+    void initiateCommonPayment_authorisationNotCreated_paymentAndAspspConsentDataNotCommitted() {
+        // Given
+        doReturn(CmsResponse.<CreateAuthorisationResponse>builder().error(CmsError.TECHNICAL_ERROR).build())
+            .when(authorisationService).createAuthorisation(any(), any());
+        PisPaymentInfo pisPaymentInfo = buildPisPaymentInfo();
+
+        // When
+        CmsResponse<InitiatePisCommonPaymentResponse> response = pisCommonPaymentServiceEncrypted.initiateCommonPayment(buildInitiatePisCommonPaymentRequest(pisPaymentInfo));
+
+        // Then
+        assertEquals(CmsError.TECHNICAL_ERROR, response.getError());
+        String paymentId = pisPaymentInfo.getPaymentId();
+        assertTrue(pisCommonPaymentDataRepository.findByPaymentId(paymentId).isEmpty());
+        assertTrue(aspspConsentDataRepository.findByConsentId(paymentId).isEmpty());
+        assertTrue(authorisationRepository.findAllByParentExternalIdAndType(paymentId, AuthorisationType.PIS_CREATION).isEmpty());
+    }
+
+    @Test
+    void completeConsentCreation_authorisationNotCreated_aspspConsentDataAndMultilevelScaNotCommitted() throws WrongChecksumException {
+        // Given
+        String encryptedConsentId = consentServiceEncrypted.createConsent(buildCmsConsent()).getPayload().getConsentId();
+        String consentId = securityDataService.decryptId(encryptedConsentId).orElseThrow();
+        doReturn(CmsResponse.<CreateAuthorisationResponse>builder().error(CmsError.TECHNICAL_ERROR).build())
+            .when(authorisationService).createAuthorisation(any(), any());
+        CompleteConsentCreationRequest request = new CompleteConsentCreationRequest(ASPSP_CONSENT_DATA, true, buildCreateAuthorisationRequest());
+
+        // When
+        CmsResponse<CompleteConsentCreationResponse> response = consentServiceEncrypted.completeConsentCreation(encryptedConsentId, request);
+
+        // Then
+        assertEquals(CmsError.TECHNICAL_ERROR, response.getError());
+        ConsentEntity consentEntity = consentJpaRepository.findByExternalId(consentId).orElseThrow();
+        assertFalse(consentEntity.isMultilevelScaRequired());
+        assertTrue(aspspConsentDataRepository.findByConsentId(consentId).isEmpty());
+        assertTrue(authorisationRepository.findAllByParentExternalIdAndType(consentId, AuthorisationType.CONSENT).isEmpty());
+    }
+
+    private InitiatePisCommonPaymentRequest buildInitiatePisCommonPaymentRequest(PisPaymentInfo pisPaymentInfo) {
+        return new InitiatePisCommonPaymentRequest(pisPaymentInfo, ASPSP_CONSENT_DATA, buildCreateAuthorisationRequest());
+    }
+
+    private CreateAuthorisationRequest buildCreateAuthorisationRequest() {
+        return new CreateAuthorisationRequest(PSU_DATA, ScaApproach.REDIRECT, new TppRedirectUri("ok.uri", "nok.uri"));
+    }
+
+    private PisPaymentInfo buildPisPaymentInfo() {
+        PisPaymentInfo pisPaymentInfo = new PisPaymentInfo();
+        pisPaymentInfo.setPaymentProduct("sepa-credit-transfers");
+        pisPaymentInfo.setPaymentType(PaymentType.SINGLE);
+        pisPaymentInfo.setTppInfo(buildTppInfo());
+        pisPaymentInfo.setPsuDataList(Collections.singletonList(PSU_DATA));
+        pisPaymentInfo.setPaymentId(UUID.randomUUID().toString());
+        pisPaymentInfo.setTransactionStatus(TransactionStatus.RCVD);
+        pisPaymentInfo.setInternalPaymentStatus(InternalPaymentStatus.INITIATED);
+        pisPaymentInfo.setInstanceId(DEFAULT_SERVICE_INSTANCE_ID);
+        return pisPaymentInfo;
+    }
+
+    private TppInfo buildTppInfo() {
+        TppInfo tppInfo = new TppInfo();
+        tppInfo.setAuthorisationNumber(TPP_ID);
+        tppInfo.setAuthorityId(AUTHORITY_ID);
+        return tppInfo;
+    }
+
+    private CmsConsent buildCmsConsent() {
+        CmsConsent cmsConsent = jsonReader.getObjectFromFile("json/consent/integration/ais/cms-consent.json", CmsConsent.class);
+        cmsConsent.setAspspAccountAccesses(AccountAccess.EMPTY_ACCESS);
+        cmsConsent.setTppAccountAccesses(AccountAccess.EMPTY_ACCESS);
+        cmsConsent.setConsentData(jsonReader.getBytesFromFile("json/consent/integration/ais/ais-consent-data.json"));
+        cmsConsent.setInstanceId(DEFAULT_SERVICE_INSTANCE_ID);
+        return cmsConsent;
+    }
+}
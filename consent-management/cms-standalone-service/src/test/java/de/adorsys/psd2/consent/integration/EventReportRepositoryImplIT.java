@@ -37,6 +37,7 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -79,6 +80,27 @@ class EventReportRepositoryImplIT {
         assertEquals(expectedEvent, updateToUTC(eventsForPeriod.get(0)));
     }
 
+    @Test
+    void streamEventsForPeriod() {
+        List<ReportEvent> streamedEvents = new ArrayList<>();
+
+        repository.streamEventsForPeriod(START, END, INSTANCE_ID, null, null, 0, streamedEvents::add);
+
+        assertEquals(1, streamedEvents.size());
+        assertEquals(expectedEvent, updateToUTC(streamedEvents.get(0)));
+    }
+
+    @Test
+    void streamEventsForPeriod_afterLastEvent() {
+        List<ReportEvent> streamedEvents = new ArrayList<>();
+        repository.streamEventsForPeriod(START, END, INSTANCE_ID, null, null, 1, streamedEvents::add);
+        ReportEvent lastEvent = streamedEvents.get(0);
+
+        repository.streamEventsForPeriod(START, END, INSTANCE_ID, lastEvent.getTimestamp(), lastEvent.getId(), 0, streamedEvents::add);
+
+        assertEquals(1, streamedEvents.size());
+    }
+
     @Test
     void getEventsForPeriodAndConsentId() {
         List<ReportEvent> eventsForPeriod = repository.getEventsForPeriodAndConsentId(START, END, CONSENT_ID, INSTANCE_ID);
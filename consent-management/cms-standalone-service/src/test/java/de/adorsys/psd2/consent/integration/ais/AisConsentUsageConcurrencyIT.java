@@ -0,0 +1,219 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.integration.ais;
+
+import de.adorsys.psd2.aspsp.profile.service.AspspProfileService;
+import de.adorsys.psd2.consent.api.ActionStatus;
+import de.adorsys.psd2.consent.api.ais.AisConsentActionRequest;
+import de.adorsys.psd2.consent.domain.account.AisConsentUsage;
+import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
+import de.adorsys.psd2.consent.integration.config.IntegrationTestConfiguration;
+import de.adorsys.psd2.consent.repository.AisConsentUsageRepository;
+import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
+import de.adorsys.psd2.consent.service.AisConsentUsageService;
+import de.adorsys.xs2a.reader.JsonReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ActiveProfiles("integration-test")
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = IntegrationTestConfiguration.class)
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AisConsentUsageConcurrencyIT {
+    private static final String ACCOUNTS_URI = "/v1/accounts";
+    private static final String BALANCES_URI = "/v1/accounts/account-id/balances";
+    private static final int FREQUENCY_PER_DAY = 1000;
+    private static final int READ_COUNT = 300;
+    private static final int LIMITED_FREQUENCY_PER_DAY = 20;
+    private static final int LIMITED_READ_COUNT = 100;
+    private static final int THREAD_COUNT = 8;
+
+    @Autowired
+    private AisConsentUsageService aisConsentUsageService;
+    @Autowired
+    private AisConsentUsageRepository aisConsentUsageRepository;
+    @Autowired
+    private ConsentJpaRepository consentJpaRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @MockBean
+    private AspspProfileService aspspProfileService;
+
+    private final JsonReader jsonReader = new JsonReader();
+    private TransactionTemplate transactionTemplate;
+    private Long consentId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        ConsentEntity consentEntity = jsonReader.getObjectFromFile("json/consent/integration/aspsp/consent-entity.json", ConsentEntity.class);
+        consentEntity.setId(null);
+        consentEntity.setExternalId(UUID.randomUUID().toString());
+        consentEntity.setFrequencyPerDay(FREQUENCY_PER_DAY);
+        consentId = transactionTemplate.execute(status -> consentJpaRepository.save(consentEntity).getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Usages are removed together with the consent
+        transactionTemplate.executeWithoutResult(status -> consentJpaRepository.deleteById(consentId));
+    }
+
+    @Test
+    void incrementUsage_parallelReads_allCounted() throws Exception {
+        // Given
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+        List<Callable<Void>> reads = new ArrayList<>();
+        for (int i = 0; i < READ_COUNT; i++) {
+            String requestUri = i % 2 == 0 ? ACCOUNTS_URI : BALANCES_URI;
+            reads.add(() -> {
+                incrementUsage(requestUri);
+                return null;
+            });
+        }
+
+        // When
+        try {
+            for (Future<Void> future : executorService.invokeAll(reads)) {
+                future.get();
+            }
+        } finally {
+            executorService.shutdown();
+        }
+
+        // Then
+        assertEquals(2, aisConsentUsageRepository.count());
+        Map<String, Integer> usageCounterMap = transactionTemplate.execute(status -> aisConsentUsageService.getUsageCounterMap(consentJpaRepository.findById(consentId).orElseThrow()));
+        assertEquals(FREQUENCY_PER_DAY - READ_COUNT / 2, usageCounterMap.get(ACCOUNTS_URI));
+        assertEquals(FREQUENCY_PER_DAY - READ_COUNT / 2, usageCounterMap.get(BALANCES_URI));
+    }
+
+    @Test
+    void reserveUsage_moreParallelReadsThanFrequencyPerDay_extraReadsRejected() throws Exception {
+        // Given
+        transactionTemplate.executeWithoutResult(status -> consentJpaRepository.findById(consentId).orElseThrow().setFrequencyPerDay(LIMITED_FREQUENCY_PER_DAY));
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+        List<Callable<Boolean>> reads = new ArrayList<>();
+        for (int i = 0; i < LIMITED_READ_COUNT; i++) {
+            reads.add(() -> incrementUsage(ACCOUNTS_URI));
+        }
+
+        // When
+        int reservedReads = 0;
+        int rejectedReads = 0;
+        try {
+            for (Future<Boolean> future : executorService.invokeAll(reads)) {
+                if (future.get()) {
+                    reservedReads++;
+                } else {
+                    rejectedReads++;
+                }
+            }
+        } finally {
+            executorService.shutdown();
+        }
+
+        // Then
+        assertEquals(LIMITED_FREQUENCY_PER_DAY, reservedReads);
+        assertEquals(LIMITED_READ_COUNT - LIMITED_FREQUENCY_PER_DAY, rejectedReads);
+        AisConsentUsage usage = aisConsentUsageRepository.findAll().iterator().next();
+        assertEquals(LIMITED_FREQUENCY_PER_DAY, usage.getUsage());
+        Map<String, Integer> usageCounterMap = transactionTemplate.execute(status -> aisConsentUsageService.getUsageCounterMap(consentJpaRepository.findById(consentId).orElseThrow()));
+        assertEquals(0, usageCounterMap.get(ACCOUNTS_URI));
+        assertFalse(incrementUsage(ACCOUNTS_URI));
+    }
+
+    @Test
+    void decrementUsage_releasedUsage_canBeReservedAgain() {
+        // Given
+        transactionTemplate.executeWithoutResult(status -> consentJpaRepository.findById(consentId).orElseThrow().setFrequencyPerDay(1));
+        Optional<LocalDate> usageDate = reserveUsage(ACCOUNTS_URI);
+        assertTrue(usageDate.isPresent());
+        assertFalse(incrementUsage(ACCOUNTS_URI));
+
+        // When
+        decrementUsage(ACCOUNTS_URI, usageDate.get());
+
+        // Then
+        assertTrue(incrementUsage(ACCOUNTS_URI));
+        assertFalse(incrementUsage(ACCOUNTS_URI));
+    }
+
+    @Test
+    void decrementUsage_otherUsageDate_usageOfReservationDateNotReleased() {
+        // Given
+        transactionTemplate.executeWithoutResult(status -> consentJpaRepository.findById(consentId).orElseThrow().setFrequencyPerDay(1));
+        Optional<LocalDate> usageDate = reserveUsage(ACCOUNTS_URI);
+        assertTrue(usageDate.isPresent());
+
+        // When
+        decrementUsage(ACCOUNTS_URI, usageDate.get().minusDays(1));
+
+        // Then
+        assertFalse(incrementUsage(ACCOUNTS_URI));
+    }
+
+    private boolean incrementUsage(String requestUri) {
+        AisConsentActionRequest request = new AisConsentActionRequest("tpp id", "consent id", ActionStatus.SUCCESS, requestUri, true, null, null);
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> aisConsentUsageService.incrementUsage(consentJpaRepository.findById(consentId).orElseThrow(), request)));
+    }
+
+    private Optional<LocalDate> reserveUsage(String requestUri) {
+        AisConsentActionRequest request = new AisConsentActionRequest("tpp id", "consent id", ActionStatus.SUCCESS, requestUri, true, null, null);
+        return transactionTemplate.execute(status -> aisConsentUsageService.reserveUsage(consentJpaRepository.findById(consentId).orElseThrow(), request));
+    }
+
+    private void decrementUsage(String requestUri, LocalDate usageDate) {
+        AisConsentActionRequest request = AisConsentActionRequest.builder()
+                                              .consentId("consent id")
+                                              .requestUri(requestUri)
+                                              .updateUsage(true)
+                                              .usageReserved(true)
+                                              .usageDate(usageDate)
+                                              .build();
+        transactionTemplate.executeWithoutResult(status -> aisConsentUsageService.decrementUsage(consentJpaRepository.findById(consentId).orElseThrow(), request));
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.integration.persistence;
+
+import de.adorsys.psd2.aspsp.profile.domain.AspspSettings;
+import de.adorsys.psd2.aspsp.profile.service.AspspProfileService;
+import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentResponse;
+import de.adorsys.psd2.consent.api.pis.PisCommonPaymentResponse;
+import de.adorsys.psd2.consent.api.pis.proto.PisPaymentInfo;
+import de.adorsys.psd2.consent.api.service.PisCommonPaymentService;
+import de.adorsys.psd2.consent.domain.blob.BlobCodec;
+import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentData;
+import de.adorsys.psd2.consent.integration.config.IntegrationTestConfiguration;
+import de.adorsys.psd2.consent.repository.PisCommonPaymentDataRepository;
+import de.adorsys.psd2.xs2a.core.pis.InternalPaymentStatus;
+import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
+import de.adorsys.psd2.xs2a.core.profile.PaymentType;
+import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
+import de.adorsys.psd2.xs2a.core.tpp.TppInfo;
+import de.adorsys.xs2a.reader.JsonReader;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.persistence.EntityManager;
+import java.nio.charset.StandardCharsets;
+import java.sql.Blob;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@Slf4j
+@ActiveProfiles("integration-test")
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = IntegrationTestConfiguration.class)
+@DataJpaTest(properties = {"xs2a.cms.blob.compression=DEFLATE", "logging.level.de.adorsys.psd2.consent.integration=INFO"})
+class BlobCompressionIT {
+    private static final String DEFAULT_SERVICE_INSTANCE_ID = "UNDEFINED";
+    private static final String PAYMENT_ID = "bulk payment id";
+    private static final int BULK_PAYMENT_SIZE = 500;
+
+    @Autowired
+    private PisCommonPaymentService pisCommonPaymentService;
+    @Autowired
+    private PisCommonPaymentDataRepository pisCommonPaymentDataRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @MockBean
+    private AspspProfileService aspspProfileService;
+    @SpyBean
+    private BlobCodec blobCodec;
+
+    private final JsonReader jsonReader = new JsonReader();
+
+    @BeforeEach
+    void setUp() {
+        AspspSettings aspspSettings = jsonReader.getObjectFromFile("json/aspect/aspsp-settings.json", AspspSettings.class);
+        when(aspspProfileService.getAspspSettings(DEFAULT_SERVICE_INSTANCE_ID)).thenReturn(aspspSettings);
+    }
+
+    @Test
+    void createCommonPayment_bulkPayment_storedCompressed() throws SQLException {
+        // Given
+        byte[] payment = buildBulkPayment();
+
+        // When
+        String paymentId = createCommonPayment(payment);
+        flushAndClearPersistenceContext();
+
+        // Then
+        byte[] storedPayment = readStoredPayment();
+        log.info("Bulk payment of {} payments: {} bytes, stored {} bytes", BULK_PAYMENT_SIZE, payment.length, storedPayment.length);
+        assertTrue(storedPayment.length < payment.length / 4);
+        assertArrayEquals(payment, getPaymentData(paymentId));
+    }
+
+    @Test
+    void findByPaymentId_compressedPayment_notEncodedOnLoad() {
+        // Given
+        createCommonPayment(buildBulkPayment());
+        flushAndClearPersistenceContext();
+        clearInvocations(blobCodec);
+
+        // When
+        PisCommonPaymentData paymentData = pisCommonPaymentDataRepository.findByPaymentId(PAYMENT_ID).orElseThrow();
+        entityManager.flush();
+
+        // Then
+        assertNotNull(paymentData.getPayment());
+        verify(blobCodec, never()).encode(any());
+        verify(blobCodec, never()).decode(any());
+    }
+
+    @Test
+    void findByPaymentId_legacyPayment_readable() throws SQLException {
+        // Given
+        String paymentId = createCommonPayment(null);
+        flushAndClearPersistenceContext();
+        byte[] legacyPayment = buildBulkPayment();
+        entityManager.createNativeQuery("update pis_common_payment set payment = :payment where payment_id = :paymentId")
+            .setParameter("payment", legacyPayment)
+            .setParameter("paymentId", PAYMENT_ID)
+            .executeUpdate();
+
+        // When
+        byte[] paymentData = getPaymentData(paymentId);
+
+        // Then
+        assertArrayEquals(legacyPayment, readStoredPayment());
+        assertArrayEquals(legacyPayment, paymentData);
+    }
+
+    private String createCommonPayment(byte[] payment) {
+        CreatePisCommonPaymentResponse response = pisCommonPaymentService.createCommonPayment(buildPisPaymentInfo(payment)).getPayload();
+        return response.getPaymentId();
+    }
+
+    private byte[] getPaymentData(String paymentId) {
+        PisCommonPaymentResponse response = pisCommonPaymentService.getCommonPaymentById(paymentId).getPayload();
+        return response.getPaymentData();
+    }
+
+    private byte[] readStoredPayment() throws SQLException {
+        Object storedPayment = entityManager.createNativeQuery("select payment from pis_common_payment where payment_id = :paymentId")
+                                   .setParameter("paymentId", PAYMENT_ID)
+                                   .getSingleResult();
+        if (storedPayment instanceof Blob) {
+            Blob blob = (Blob) storedPayment;
+            return blob.getBytes(1, (int) blob.length());
+        }
+        return (byte[]) storedPayment;
+    }
+
+    private PisPaymentInfo buildPisPaymentInfo(byte[] payment) {
+        TppInfo tppInfo = new TppInfo();
+        tppInfo.setAuthorisationNumber("Test TppId");
+        tppInfo.setAuthorityId("test authority ID");
+
+        PisPaymentInfo pisPaymentInfo = new PisPaymentInfo();
+        pisPaymentInfo.setPaymentProduct("sepa-credit-transfers");
+        pisPaymentInfo.setPaymentType(PaymentType.BULK);
+        pisPaymentInfo.setTppInfo(tppInfo);
+        pisPaymentInfo.setPsuDataList(Collections.singletonList(new PsuIdData("psu", null, null, null, null)));
+        pisPaymentInfo.setPaymentId(PAYMENT_ID);
+        pisPaymentInfo.setTransactionStatus(TransactionStatus.RCVD);
+        pisPaymentInfo.setInternalPaymentStatus(InternalPaymentStatus.INITIATED);
+        pisPaymentInfo.setInstanceId(DEFAULT_SERVICE_INSTANCE_ID);
+        pisPaymentInfo.setPaymentData(payment);
+        return pisPaymentInfo;
+    }
+
+    private byte[] buildBulkPayment() {
+        String payments = IntStream.range(0, BULK_PAYMENT_SIZE)
+                              .mapToObj(i -> String.format("{\"endToEndIdentification\":\"RI-%09d\",\"creditorAccount\":{\"iban\":\"DE%020d\",\"currency\":\"EUR\"},"
+                                                               + "\"creditorName\":\"Creditor %d\",\"instructedAmount\":{\"currency\":\"EUR\",\"amount\":\"%d.%02d\"},"
+                                                               + "\"remittanceInformationUnstructured\":\"Ref. Number %d\"}",
+                                                           i, 500105173911841934L + i, i, 10 + i * 7, i % 100, i * 31))
+                              .collect(Collectors.joining(","));
+        return ("{\"batchBookingPreferred\":false,\"debtorAccount\":{\"iban\":\"DE52500105173911841934\",\"currency\":\"EUR\"},"
+                    + "\"payments\":[" + payments + "]}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void flushAndClearPersistenceContext() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.integration.persistence;
+
+import liquibase.Contexts;
+import liquibase.LabelExpression;
+import liquibase.Liquibase;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Applies the production Liquibase changelog of CMS to an empty database, as other integration tests create the schema
+ * with Hibernate
+ */
+class CmsDbSchemaChangelogIT {
+    private static final String CHANGELOG = "master.xml";
+
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:cms-db-schema;DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("DROP ALL OBJECTS")) {
+            statement.execute();
+        }
+        connection.close();
+    }
+
+    @Test
+    void update_emptyDatabase_allChangeSetsApplied() throws Exception {
+        // Given
+        Liquibase liquibase = new Liquibase(CHANGELOG, new ClassLoaderResourceAccessor(), new JdbcConnection(connection));
+
+        // When
+        liquibase.update(new Contexts(), new LabelExpression());
+
+        // Then
+        assertTrue(liquibase.listUnrunChangeSets(new Contexts(), new LabelExpression()).isEmpty());
+        assertEquals(50, getSequenceIncrement("CONSENT_ID_SEQ"));
+        assertEquals(50, getSequenceIncrement("PIS_COMMON_PAYMENT_ID_SEQ"));
+        assertEquals(50, getSequenceIncrement("TPP_NOTIFICATION_ID_SEQ"));
+        assertTrue(tableExists("CONSENT_DATA_MIGRATION_CHECKPOINT"));
+        assertTrue(tableExists("TPP_NOTIFICATION"));
+        assertTrue(explain("SELECT DISTINCT consent_id FROM aspsp_account_access WHERE account_identifier = 'DE1' AND currency = 'EUR'")
+                       .contains("IX_ASPSP_ACC_ACCESS_IDENTIFIER"));
+    }
+
+    private long getSequenceIncrement(String sequenceName) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT INCREMENT FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = ?")) {
+            statement.setString(1, sequenceName);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                assertTrue(resultSet.next(), "Sequence " + sequenceName + " doesn't exist");
+                return resultSet.getLong(1);
+            }
+        }
+    }
+
+    private String explain(String query) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + query);
+             ResultSet resultSet = statement.executeQuery()) {
+            assertTrue(resultSet.next());
+            return resultSet.getString(1).toUpperCase();
+        }
+    }
+
+    private boolean tableExists(String tableName) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = ?")) {
+            statement.setString(1, tableName);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getInt(1) == 1;
+            }
+        }
+    }
+}
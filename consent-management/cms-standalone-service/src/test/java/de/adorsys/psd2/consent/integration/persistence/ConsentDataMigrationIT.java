@@ -0,0 +1,88 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.integration.persistence;
+
+import de.adorsys.psd2.aspsp.profile.service.AspspProfileService;
+import de.adorsys.psd2.consent.domain.ConsentDataMigrationCheckpointEntity;
+import de.adorsys.psd2.consent.integration.config.IntegrationTestConfiguration;
+import de.adorsys.psd2.consent.repository.migration.ConsentDataMigrationCheckpointRepository;
+import de.adorsys.psd2.consent.service.migration.ConsentDataMigrationService;
+import de.adorsys.psd2.consent.service.migration.ConsentDataMigrationState;
+import de.adorsys.psd2.consent.service.migration.ConsentDataMigrationType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("integration-test")
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = IntegrationTestConfiguration.class)
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ConsentDataMigrationIT {
+    @Autowired
+    private ConsentDataMigrationService consentDataMigrationService;
+    @Autowired
+    private ConsentDataMigrationState consentDataMigrationState;
+    @Autowired
+    private ConsentDataMigrationCheckpointRepository consentDataMigrationCheckpointRepository;
+    @MockBean
+    private AspspProfileService aspspProfileService;
+
+    @Test
+    void migrateNextChunk_noObsoleteConsents_checkpointCompleted() {
+        try {
+            // Given
+            assertTrue(consentDataMigrationState.isLazyMigrationRequired(ConsentDataMigrationType.PIIS));
+
+            // When
+            boolean hasMore = consentDataMigrationService.migrateNextChunk(ConsentDataMigrationType.PIIS, 100);
+
+            // Then
+            assertFalse(hasMore);
+            ConsentDataMigrationCheckpointEntity checkpoint = consentDataMigrationCheckpointRepository.findById("PIIS").orElseThrow(AssertionError::new);
+            assertTrue(checkpoint.isCompleted());
+            assertEquals(0L, checkpoint.getMigratedCount());
+            assertFalse(consentDataMigrationService.migrateNextChunk(ConsentDataMigrationType.PIIS, 100));
+        } finally {
+            consentDataMigrationCheckpointRepository.deleteAll();
+        }
+    }
+
+    @Test
+    void migrateNextChunk_ais_obsoleteTableQueried() {
+        try {
+            // When
+            boolean hasMore = consentDataMigrationService.migrateNextChunk(ConsentDataMigrationType.AIS, 100);
+
+            // Then
+            assertFalse(hasMore);
+            assertTrue(consentDataMigrationCheckpointRepository.findById("AIS").isPresent());
+        } finally {
+            consentDataMigrationCheckpointRepository.deleteAll();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.integration.persistence;
+
+import de.adorsys.psd2.aspsp.profile.domain.AspspSettings;
+import de.adorsys.psd2.aspsp.profile.service.AspspProfileService;
+import de.adorsys.psd2.consent.api.pis.proto.PisPaymentInfo;
+import de.adorsys.psd2.consent.api.service.PisCommonPaymentService;
+import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentData;
+import de.adorsys.psd2.consent.integration.config.IntegrationTestConfiguration;
+import de.adorsys.psd2.consent.repository.specification.PisCommonPaymentDataSpecification;
+import de.adorsys.psd2.consent.service.aspsp.CmsAspspExportStreamer;
+import de.adorsys.psd2.xs2a.core.pis.InternalPaymentStatus;
+import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
+import de.adorsys.psd2.xs2a.core.profile.PaymentType;
+import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
+import de.adorsys.psd2.xs2a.core.tpp.TppInfo;
+import de.adorsys.xs2a.reader.JsonReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@ActiveProfiles("integration-test")
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = IntegrationTestConfiguration.class)
+@DataJpaTest(properties = "xs2a.cms.aspsp.export.chunk-size=2")
+class KeysetChunkExportIT {
+    private static final String DEFAULT_SERVICE_INSTANCE_ID = "UNDEFINED";
+    private static final String TPP_AUTHORISATION_NUMBER = "Test TppId";
+    private static final int PAYMENT_COUNT = 5;
+
+    @Autowired
+    private PisCommonPaymentService pisCommonPaymentService;
+    @Autowired
+    private PisCommonPaymentDataSpecification pisCommonPaymentDataSpecification;
+    @Autowired
+    private CmsAspspExportStreamer cmsAspspExportStreamer;
+    @Autowired
+    private EntityManager entityManager;
+    @MockBean
+    private AspspProfileService aspspProfileService;
+
+    private final JsonReader jsonReader = new JsonReader();
+    private Specification<PisCommonPaymentData> specification;
+
+    @BeforeEach
+    void setUp() {
+        AspspSettings aspspSettings = jsonReader.getObjectFromFile("json/aspect/aspsp-settings.json", AspspSettings.class);
+        when(aspspProfileService.getAspspSettings(DEFAULT_SERVICE_INSTANCE_ID)).thenReturn(aspspSettings);
+
+        IntStream.range(0, PAYMENT_COUNT)
+            .mapToObj(this::buildPisPaymentInfo)
+            .forEach(pisCommonPaymentService::createCommonPayment);
+        entityManager.flush();
+        entityManager.clear();
+
+        PsuIdData psuIdData = new PsuIdData("psu", null, null, null, null);
+        specification = pisCommonPaymentDataSpecification.byTppIdAndCreationPeriodAndPsuIdDataAndInstanceId(TPP_AUTHORISATION_NUMBER, null, null,
+                                                                                                             psuIdData, DEFAULT_SERVICE_INSTANCE_ID);
+    }
+
+    @Test
+    void stream_allPaymentsInCreationOrder() {
+        // When
+        List<String> paymentIds = streamPaymentIds(null, 0);
+
+        // Then
+        List<String> expected = IntStream.range(0, PAYMENT_COUNT)
+                                    .mapToObj(i -> "payment id " + i)
+                                    .collect(Collectors.toList());
+        assertEquals(expected, paymentIds);
+    }
+
+    @Test
+    void stream_afterIdAndLimit_continuesAfterGivenPayment() {
+        // Given
+        List<Long> ids = new ArrayList<>();
+        cmsAspspExportStreamer.stream(PisCommonPaymentData.class, specification, PisCommonPaymentData::getId, null, 2, true,
+                                      payments -> payments.stream().map(PisCommonPaymentData::getId).collect(Collectors.toList()),
+                                      ids::add);
+
+        // When
+        List<String> paymentIds = streamPaymentIds(ids.get(1), 2);
+
+        // Then
+        assertEquals(Arrays.asList("payment id 2", "payment id 3"), paymentIds);
+    }
+
+    private List<String> streamPaymentIds(Long afterId, int limit) {
+        List<String> paymentIds = new ArrayList<>();
+        cmsAspspExportStreamer.stream(PisCommonPaymentData.class, specification, PisCommonPaymentData::getId, afterId, limit, true,
+                                      payments -> payments.stream().map(PisCommonPaymentData::getPaymentId).collect(Collectors.toList()),
+                                      paymentIds::add);
+        return paymentIds;
+    }
+
+    private PisPaymentInfo buildPisPaymentInfo(int index) {
+        TppInfo tppInfo = new TppInfo();
+        tppInfo.setAuthorisationNumber(TPP_AUTHORISATION_NUMBER);
+        tppInfo.setAuthorityId("test authority ID");
+
+        PisPaymentInfo pisPaymentInfo = new PisPaymentInfo();
+        pisPaymentInfo.setPaymentProduct("sepa-credit-transfers");
+        pisPaymentInfo.setPaymentType(PaymentType.SINGLE);
+        pisPaymentInfo.setTppInfo(tppInfo);
+        pisPaymentInfo.setPsuDataList(Collections.singletonList(new PsuIdData("psu", null, null, null, null)));
+        pisPaymentInfo.setPaymentId("payment id " + index);
+        pisPaymentInfo.setTransactionStatus(TransactionStatus.RCVD);
+        pisPaymentInfo.setInternalPaymentStatus(InternalPaymentStatus.INITIATED);
+        pisPaymentInfo.setInstanceId(DEFAULT_SERVICE_INSTANCE_ID);
+        return pisPaymentInfo;
+    }
+}
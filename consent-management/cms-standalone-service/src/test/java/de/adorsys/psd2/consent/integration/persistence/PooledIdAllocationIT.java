@@ -0,0 +1,156 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.integration.persistence;
+
+import de.adorsys.psd2.aspsp.profile.domain.AspspSettings;
+import de.adorsys.psd2.aspsp.profile.service.AspspProfileService;
+import de.adorsys.psd2.consent.api.pis.proto.PisPaymentInfo;
+import de.adorsys.psd2.consent.api.service.PisCommonPaymentService;
+import de.adorsys.psd2.consent.domain.PsuData;
+import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentData;
+import de.adorsys.psd2.consent.integration.config.IntegrationTestConfiguration;
+import de.adorsys.psd2.consent.repository.PisCommonPaymentDataRepository;
+import de.adorsys.psd2.consent.repository.PsuDataRepository;
+import de.adorsys.psd2.xs2a.core.pis.InternalPaymentStatus;
+import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
+import de.adorsys.psd2.xs2a.core.profile.PaymentType;
+import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
+import de.adorsys.psd2.xs2a.core.tpp.TppInfo;
+import de.adorsys.xs2a.reader.JsonReader;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.persistence.EntityManager;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ActiveProfiles("integration-test")
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = IntegrationTestConfiguration.class)
+@DataJpaTest
+class PooledIdAllocationIT {
+    private static final String DEFAULT_SERVICE_INSTANCE_ID = "UNDEFINED";
+    private static final int ALLOCATION_SIZE = 50;
+    private static final int ENTITY_COUNT = 120;
+
+    @Autowired
+    private PisCommonPaymentService pisCommonPaymentService;
+    @Autowired
+    private PisCommonPaymentDataRepository pisCommonPaymentDataRepository;
+    @Autowired
+    private PsuDataRepository psuDataRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @MockBean
+    private AspspProfileService aspspProfileService;
+
+    private final JsonReader jsonReader = new JsonReader();
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        AspspSettings aspspSettings = jsonReader.getObjectFromFile("json/aspect/aspsp-settings.json", AspspSettings.class);
+        when(aspspProfileService.getAspspSettings(DEFAULT_SERVICE_INSTANCE_ID)).thenReturn(aspspSettings);
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @Test
+    void saveAll_psuData_insertsBatchedAndIdsAllocatedInBlocks() {
+        // Given
+        List<PsuData> psuDataList = IntStream.range(0, ENTITY_COUNT)
+                                        .mapToObj(i -> new PsuData("psu-" + i, null, null, null, null))
+                                        .collect(Collectors.toList());
+
+        // When
+        psuDataRepository.saveAll(psuDataList);
+        flushAndClearPersistenceContext();
+
+        // Then
+        List<Long> ids = psuDataList.stream()
+                             .map(PsuData::getId)
+                             .sorted()
+                             .collect(Collectors.toList());
+        assertEquals(ENTITY_COUNT, ids.stream().distinct().count());
+        // one sequence call and one batched insert statement per allocated block instead of two statements per row
+        long maxStatements = 2L * (ENTITY_COUNT / ALLOCATION_SIZE + 2);
+        assertTrue(statistics.getPrepareStatementCount() <= maxStatements,
+                   "Prepared statements: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void createCommonPayment_idsAllocatedFromOneBlock() {
+        // Given
+        int paymentCount = ALLOCATION_SIZE / 2;
+
+        // When
+        IntStream.range(0, paymentCount)
+            .mapToObj(this::buildPisPaymentInfo)
+            .forEach(pisCommonPaymentService::createCommonPayment);
+        flushAndClearPersistenceContext();
+
+        // Then
+        List<Long> ids = StreamSupport.stream(pisCommonPaymentDataRepository.findAll().spliterator(), false)
+                             .map(PisCommonPaymentData::getId)
+                             .sorted()
+                             .collect(Collectors.toList());
+        assertEquals(paymentCount, ids.size());
+        assertTrue(ids.get(paymentCount - 1) - ids.get(0) < ALLOCATION_SIZE * 2L,
+                   "Payment IDs should come from at most two consecutive blocks: " + ids);
+    }
+
+    private PisPaymentInfo buildPisPaymentInfo(int index) {
+        TppInfo tppInfo = new TppInfo();
+        tppInfo.setAuthorisationNumber("Test TppId");
+        tppInfo.setAuthorityId("test authority ID");
+
+        PisPaymentInfo pisPaymentInfo = new PisPaymentInfo();
+        pisPaymentInfo.setPaymentProduct("sepa-credit-transfers");
+        pisPaymentInfo.setPaymentType(PaymentType.BULK);
+        pisPaymentInfo.setTppInfo(tppInfo);
+        pisPaymentInfo.setPsuDataList(Collections.singletonList(new PsuIdData("psu-" + index, null, null, null, null)));
+        pisPaymentInfo.setPaymentId("payment id " + index);
+        pisPaymentInfo.setTransactionStatus(TransactionStatus.RCVD);
+        pisPaymentInfo.setInternalPaymentStatus(InternalPaymentStatus.INITIATED);
+        pisPaymentInfo.setInstanceId(DEFAULT_SERVICE_INSTANCE_ID);
+        return pisPaymentInfo;
+    }
+
+    private void flushAndClearPersistenceContext() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.integration.persistence;
+
+import de.adorsys.psd2.consent.domain.notification.TppNotificationDeliveryStatus;
+import de.adorsys.psd2.consent.domain.notification.TppNotificationEntity;
+import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentData;
+import de.adorsys.psd2.consent.integration.config.IntegrationTestConfiguration;
+import de.adorsys.psd2.consent.repository.TppNotificationRepository;
+import de.adorsys.psd2.consent.service.notification.TppNotificationService;
+import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
+import de.adorsys.psd2.xs2a.core.profile.NotificationSupportedMode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.persistence.EntityManager;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ActiveProfiles("integration-test")
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = IntegrationTestConfiguration.class)
+@DataJpaTest
+class TppNotificationOutboxIT {
+    private static final String DEFAULT_SERVICE_INSTANCE_ID = "UNDEFINED";
+    private static final String NOTIFICATION_URI = "https://tpp.example.com/notifications/";
+
+    @Autowired
+    private TppNotificationService tppNotificationService;
+    @Autowired
+    private TppNotificationRepository tppNotificationRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void findDue_onlyPendingDueNotificationsInCreationOrder() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            tppNotificationService.notifyPaymentStatusChanged(buildPayment("payment " + i), TransactionStatus.RCVD);
+        }
+        tppNotificationService.notifyPaymentStatusChanged(buildPayment("postponed"), TransactionStatus.RCVD);
+        tppNotificationService.notifyPaymentStatusChanged(buildPayment("failed"), TransactionStatus.RCVD);
+        entityManager.flush();
+
+        List<TppNotificationEntity> stored = (List<TppNotificationEntity>) tppNotificationRepository.findAll();
+        stored.stream()
+            .filter(n -> n.getResourceId().equals("postponed"))
+            .forEach(n -> n.setNextAttemptAt(OffsetDateTime.now().plusHours(1)));
+        stored.stream()
+            .filter(n -> n.getResourceId().equals("failed"))
+            .forEach(n -> n.setDeliveryStatus(TppNotificationDeliveryStatus.FAILED));
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<TppNotificationEntity> due = tppNotificationRepository.findDue(TppNotificationDeliveryStatus.PENDING, OffsetDateTime.now(),
+                                                                            PageRequest.of(0, 2));
+
+        // Then
+        assertEquals(List.of("payment 0", "payment 1"), due.stream()
+                                                            .map(TppNotificationEntity::getResourceId)
+                                                            .collect(Collectors.toList()));
+        assertEquals("tpp.example.com", due.get(0).getTppHost());
+        assertEquals(NotificationSupportedMode.PROCESS, due.get(0).getNotificationMode());
+        assertEquals("ACTC", due.get(0).getStatus());
+    }
+
+    private PisCommonPaymentData buildPayment(String paymentId) {
+        PisCommonPaymentData payment = new PisCommonPaymentData();
+        payment.setPaymentId(paymentId);
+        payment.setTransactionStatus(TransactionStatus.ACTC);
+        payment.setTppNotificationUri(NOTIFICATION_URI + paymentId.replace(' ', '-'));
+        payment.setTppNotificationContentPreferred(List.of(NotificationSupportedMode.PROCESS));
+        payment.setInstanceId(DEFAULT_SERVICE_INSTANCE_ID);
+        return payment;
+    }
+}
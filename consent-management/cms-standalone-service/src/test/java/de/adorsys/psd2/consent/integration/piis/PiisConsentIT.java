@@ -157,6 +157,43 @@ class PiisConsentIT {
         });
     }
 
+    @Test
+    void getPiisConsentListByAccountIdentifier_onlyUsableConsentsReturned() {
+        // Given
+        AccountReferenceSelector selector = createConsentAndGetSelector(AccountReferenceType.IBAN, "DE2310010010123456789");
+        createConsentAndGetSelector(AccountReferenceType.IBAN, "DE2310010010123456789");
+        flushAndClearPersistenceContext();
+        ConsentEntity terminatedConsent = consentJpaRepository.findAll().iterator().next();
+        cmsAspspPiisServiceInternal.terminateConsent(terminatedConsent.getExternalId(), DEFAULT_SERVICE_INSTANCE_ID);
+        flushAndClearPersistenceContext();
+
+        // When
+        CmsResponse<List<CmsConsent>> cmsResponse = piisConsentService.getPiisConsentListByAccountIdentifier(EUR_CURRENCY, selector);
+
+        // Then
+        List<CmsConsent> payload = cmsResponse.getPayload();
+        assertEquals(1, payload.size());
+        assertNotEquals(terminatedConsent.getExternalId(), payload.get(0).getId());
+    }
+
+    @Test
+    void getPiisConsentListByAccountIdentifier_noUsableConsents_invalidConsentsReturned() {
+        // Given
+        AccountReferenceSelector selector = createConsentAndGetSelector(AccountReferenceType.IBAN, "DE2310010010123456789");
+        flushAndClearPersistenceContext();
+        ConsentEntity terminatedConsent = consentJpaRepository.findAll().iterator().next();
+        cmsAspspPiisServiceInternal.terminateConsent(terminatedConsent.getExternalId(), DEFAULT_SERVICE_INSTANCE_ID);
+        flushAndClearPersistenceContext();
+
+        // When
+        CmsResponse<List<CmsConsent>> cmsResponse = piisConsentService.getPiisConsentListByAccountIdentifier(null, selector);
+
+        // Then
+        List<CmsConsent> payload = cmsResponse.getPayload();
+        assertEquals(1, payload.size());
+        assertEquals(ConsentStatus.TERMINATED_BY_ASPSP, payload.get(0).getConsentStatus());
+    }
+
     private AccountReferenceSelector createConsentAndGetSelector(AccountReferenceType accountReferenceType, String accountReferenceValue) {
         AccountReference accountReference = new AccountReference(accountReferenceType, accountReferenceValue, EUR_CURRENCY);
         CreatePiisConsentRequest request = buildCreatePiisConsentRequest(accountReference);
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.integration.piis;
+
+import de.adorsys.psd2.consent.api.CmsResponse;
+import de.adorsys.psd2.consent.api.ais.CmsConsent;
+import de.adorsys.psd2.consent.api.service.PiisConsentService;
+import de.adorsys.psd2.consent.aspsp.api.piis.CmsAspspPiisService;
+import de.adorsys.psd2.consent.aspsp.api.piis.CreatePiisConsentRequest;
+import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
+import de.adorsys.psd2.consent.integration.config.IntegrationTestConfiguration;
+import de.adorsys.psd2.xs2a.core.profile.AccountReference;
+import de.adorsys.psd2.xs2a.core.profile.AccountReferenceSelector;
+import de.adorsys.psd2.xs2a.core.profile.AccountReferenceType;
+import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ActiveProfiles("integration-test")
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = IntegrationTestConfiguration.class)
+@DataJpaTest
+class PiisConsentLookupQueryIT {
+    private static final String DEFAULT_SERVICE_INSTANCE_ID = "UNDEFINED";
+    private static final String TPP_AUTHORISATION_NUMBER = "authorisation number";
+    private static final PsuIdData PSU_ID_DATA = new PsuIdData("psu", null, null, null, null);
+    private static final Currency EUR_CURRENCY = Currency.getInstance("EUR");
+    private static final String IBAN_PREFIX = "DE231001001012";
+    private static final int ACCOUNT_COUNT = 50;
+    private static final int LOOKUP_COUNT = 20;
+
+    @Autowired
+    private CmsAspspPiisService cmsAspspPiisService;
+    @Autowired
+    private PiisConsentService piisConsentService;
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < ACCOUNT_COUNT; i++) {
+            cmsAspspPiisService.createConsent(PSU_ID_DATA, buildCreatePiisConsentRequest(buildIban(i)), DEFAULT_SERVICE_INSTANCE_ID);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @Test
+    void getPiisConsentListByAccountIdentifier_oneIdQueryPerLookup() {
+        for (int i = 0; i < LOOKUP_COUNT; i++) {
+            // When
+            List<CmsConsent> consents = lookup(i).getPayload();
+
+            // Then
+            assertEquals(1, consents.size());
+        }
+
+        // Only usable consent IDs are selected by account identifier, found consents are loaded by ID
+        List<String> executedQueries = Arrays.stream(statistics.getQueries())
+                                           .filter(query -> statistics.getQueryStatistics(query).getExecutionCount() > 0)
+                                           .collect(Collectors.toList());
+        assertEquals(2, executedQueries.size(), "Executed queries: " + executedQueries);
+        String idQuery = executedQueries.stream()
+                             .filter(query -> query.contains("accountIdentifier"))
+                             .findFirst()
+                             .orElseThrow(() -> new AssertionError("Lookup by account identifier wasn't executed: " + executedQueries));
+        QueryStatistics idQueryStatistics = statistics.getQueryStatistics(idQuery);
+        assertEquals(LOOKUP_COUNT, idQueryStatistics.getExecutionCount());
+        assertEquals(LOOKUP_COUNT, idQueryStatistics.getExecutionRowCount());
+        assertEquals(2L * LOOKUP_COUNT, statistics.getQueryExecutionCount());
+        assertEquals(LOOKUP_COUNT, statistics.getEntityStatistics(ConsentEntity.class.getName()).getLoadCount());
+    }
+
+    private CmsResponse<List<CmsConsent>> lookup(int index) {
+        AccountReferenceSelector selector = new AccountReferenceSelector(AccountReferenceType.IBAN, buildIban(index % ACCOUNT_COUNT));
+        CmsResponse<List<CmsConsent>> response = piisConsentService.getPiisConsentListByAccountIdentifier(EUR_CURRENCY, selector);
+        entityManager.clear();
+        return response;
+    }
+
+    private String buildIban(int index) {
+        return IBAN_PREFIX + String.format("%08d", index);
+    }
+
+    private CreatePiisConsentRequest buildCreatePiisConsentRequest(String iban) {
+        CreatePiisConsentRequest request = new CreatePiisConsentRequest();
+        request.setTppAuthorisationNumber(TPP_AUTHORISATION_NUMBER);
+        request.setAccount(new AccountReference(AccountReferenceType.IBAN, iban, EUR_CURRENCY));
+        request.setValidUntil(LocalDate.now().plusDays(1));
+        return request;
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.integration.pis;
+
+import de.adorsys.psd2.aspsp.profile.domain.AspspSettings;
+import de.adorsys.psd2.aspsp.profile.service.AspspProfileService;
+import de.adorsys.psd2.consent.api.AspspDataService;
+import de.adorsys.psd2.consent.api.CmsResponse;
+import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationRequest;
+import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationResponse;
+import de.adorsys.psd2.consent.api.pis.InitiatePisCommonPaymentRequest;
+import de.adorsys.psd2.consent.api.pis.InitiatePisCommonPaymentResponse;
+import de.adorsys.psd2.consent.api.pis.proto.PisPaymentInfo;
+import de.adorsys.psd2.consent.api.service.AuthorisationServiceEncrypted;
+import de.adorsys.psd2.consent.api.service.PisCommonPaymentServiceEncrypted;
+import de.adorsys.psd2.consent.integration.config.IntegrationTestConfiguration;
+import de.adorsys.psd2.xs2a.core.consent.AspspConsentData;
+import de.adorsys.psd2.xs2a.core.pis.InternalPaymentStatus;
+import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
+import de.adorsys.psd2.xs2a.core.profile.PaymentType;
+import de.adorsys.psd2.xs2a.core.profile.ScaApproach;
+import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
+import de.adorsys.psd2.xs2a.core.tpp.TppInfo;
+import de.adorsys.psd2.xs2a.core.tpp.TppRedirectUri;
+import de.adorsys.xs2a.reader.JsonReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.persistence.EntityManager;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks the composite initiation call, that stores payment, ASPSP consent data and authorisation in one request and one transaction.
+ */
+@ActiveProfiles("integration-test")
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = IntegrationTestConfiguration.class)
+@DataJpaTest
+class PisCommonPaymentInitiationIT {
+    private static final String DEFAULT_SERVICE_INSTANCE_ID = "UNDEFINED";
+    private static final String TPP_ID = "Test TppId";
+    private static final String AUTHORITY_ID = "test authority ID";
+    private static final PsuIdData PSU_DATA = new PsuIdData("psu", null, null, null, null);
+    private static final byte[] ASPSP_CONSENT_DATA = "aspsp consent data".getBytes();
+
+    @Autowired
+    private PisCommonPaymentServiceEncrypted pisCommonPaymentServiceEncrypted;
+    @Autowired
+    private AspspDataService aspspDataService;
+    @Autowired
+    private AuthorisationServiceEncrypted authorisationServiceEncrypted;
+    @Autowired
+    private EntityManager entityManager;
+    @MockBean
+    private AspspProfileService aspspProfileService;
+
+    private final JsonReader jsonReader = new JsonReader();
+
+    @BeforeEach
+    void setUp() {
+        AspspSettings aspspSettings = jsonReader.getObjectFromFile("json/aspect/aspsp-settings.json", AspspSettings.class);
+        when(aspspProfileService.getAspspSettings(DEFAULT_SERVICE_INSTANCE_ID)).thenReturn(aspspSettings);
+    }
+
+    @Test
+    void initiateCommonPayment_storesPaymentConsentDataAndAuthorisation() {
+        // When
+        CmsResponse<InitiatePisCommonPaymentResponse> response = pisCommonPaymentServiceEncrypted.initiateCommonPayment(buildInitiatePisCommonPaymentRequest());
+        flushAndClearPersistenceContext();
+
+        // Then
+        assertTrue(response.isSuccessful());
+        String encryptedPaymentId = response.getPayload().getPayment().getPaymentId();
+        CreateAuthorisationResponse authorisation = response.getPayload().getAuthorisation();
+        assertNotNull(authorisation);
+
+        Optional<AspspConsentData> aspspConsentData = aspspDataService.readAspspConsentData(encryptedPaymentId);
+        assertTrue(aspspConsentData.isPresent());
+        assertArrayEquals(ASPSP_CONSENT_DATA, aspspConsentData.get().getAspspConsentDataBytes());
+        assertTrue(authorisationServiceEncrypted.getAuthorisationById(authorisation.getAuthorizationId()).isSuccessful());
+    }
+
+    private InitiatePisCommonPaymentRequest buildInitiatePisCommonPaymentRequest() {
+        return new InitiatePisCommonPaymentRequest(buildPisPaymentInfo(), ASPSP_CONSENT_DATA, buildCreateAuthorisationRequest());
+    }
+
+    private CreateAuthorisationRequest buildCreateAuthorisationRequest() {
+        return new CreateAuthorisationRequest(PSU_DATA, ScaApproach.REDIRECT, new TppRedirectUri("ok.uri", "nok.uri"));
+    }
+
+    private PisPaymentInfo buildPisPaymentInfo() {
+        PisPaymentInfo pisPaymentInfo = new PisPaymentInfo();
+        pisPaymentInfo.setPaymentProduct("sepa-credit-transfers");
+        pisPaymentInfo.setPaymentType(PaymentType.SINGLE);
+        pisPaymentInfo.setTppInfo(buildTppInfo());
+        pisPaymentInfo.setPsuDataList(Collections.singletonList(PSU_DATA));
+        pisPaymentInfo.setPaymentId(UUID.randomUUID().toString());
+        pisPaymentInfo.setTransactionStatus(TransactionStatus.RCVD);
+        pisPaymentInfo.setInternalPaymentStatus(InternalPaymentStatus.INITIATED);
+        pisPaymentInfo.setInstanceId(DEFAULT_SERVICE_INSTANCE_ID);
+        return pisPaymentInfo;
+    }
+
+    private TppInfo buildTppInfo() {
+        TppInfo tppInfo = new TppInfo();
+        tppInfo.setAuthorisationNumber(TPP_ID);
+        tppInfo.setAuthorityId(AUTHORITY_ID);
+        return tppInfo;
+    }
+
+    /**
+     * Flush and clear the persistence context to force the call to the database
+     */
+    private void flushAndClearPersistenceContext() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
@@ -19,7 +19,6 @@ package de.adorsys.psd2.consent.integration.psu;
 import de.adorsys.psd2.consent.ConsentManagementStandaloneApp;
 import de.adorsys.psd2.consent.config.WebConfig;
 import de.adorsys.psd2.consent.domain.AuthorisationEntity;
-import de.adorsys.psd2.consent.domain.account.AisConsentUsage;
 import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
 import de.adorsys.psd2.consent.integration.UrlBuilder;
 import de.adorsys.psd2.consent.psu.api.CmsPsuAuthorisation;
@@ -314,11 +313,6 @@ class CmsPsuAisControllerIT {
         given(consentJpaRepository.findOne(any())).willReturn(Optional.of(consentEntity));
         given(aisConsentRepository.verifyAndSave(consentEntity)).willReturn(consentEntity);
 
-        AisConsentUsage aisConsentUsage = new AisConsentUsage();
-        aisConsentUsage.setUsage(10);
-        given(aisConsentUsageRepository.findReadByConsentAndUsageDate(any(ConsentEntity.class), any(LocalDate.class)))
-            .willReturn(Collections.singletonList(aisConsentUsage));
-
         given(aisConsentRepository.verifyAndSave(consentEntity)).willReturn(consentEntity);
 
         MockHttpServletRequestBuilder requestBuilder = put(UrlBuilder.putAccountAccessInConsentUrl(CONSENT_ID))
@@ -330,8 +324,7 @@ class CmsPsuAisControllerIT {
             .andExpect(content().string(""));
 
         verify(aisConsentSpecification).byConsentIdAndInstanceId(CONSENT_ID, INSTANCE_ID);
-        verify(aisConsentUsageRepository).saveAll(Collections.singletonList(aisConsentUsage));
-        assertEquals(0, aisConsentUsage.getUsage());
+        verify(aisConsentUsageRepository).resetUsage(eq(consentEntity), any(LocalDate.class));
     }
 
     @Test
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.integration.scheduler;
+
+import de.adorsys.psd2.aspsp.profile.service.AspspProfileService;
+import de.adorsys.psd2.consent.domain.SchedulerTaskLockEntity;
+import de.adorsys.psd2.consent.integration.config.IntegrationTestConfiguration;
+import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
+import de.adorsys.psd2.consent.repository.PisCommonPaymentDataRepository;
+import de.adorsys.psd2.consent.repository.SchedulerTaskLockRepository;
+import de.adorsys.psd2.scheduler.lock.SchedulerTaskLockService;
+import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
+import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ActiveProfiles("integration-test")
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = IntegrationTestConfiguration.class)
+@DataJpaTest
+class SchedulerTaskLockIT {
+    private static final String TASK_NAME = "test-task";
+    private static final String NODE_1 = "node-1";
+    private static final String NODE_2 = "node-2";
+    private static final String INSTANCE_ID = "UNDEFINED";
+    private static final int NODE_COUNT = 8;
+    private static final int ROUND_COUNT = 20;
+
+    @Autowired
+    private SchedulerTaskLockRepository schedulerTaskLockRepository;
+    @Autowired
+    private ConsentJpaRepository consentJpaRepository;
+    @Autowired
+    private PisCommonPaymentDataRepository pisCommonPaymentDataRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @MockBean
+    private AspspProfileService aspspProfileService;
+
+    @Test
+    void acquireLock_leaseHeldByAnotherNode_notAcquired() {
+        // Given
+        OffsetDateTime now = OffsetDateTime.now();
+        schedulerTaskLockRepository.save(new SchedulerTaskLockEntity(TASK_NAME, null, null, now.minusMinutes(1)));
+        flushAndClearPersistenceContext();
+
+        // When
+        int acquiredByFirstNode = schedulerTaskLockRepository.acquireLock(TASK_NAME, NODE_1, now, now.plusMinutes(10));
+        int acquiredBySecondNode = schedulerTaskLockRepository.acquireLock(TASK_NAME, NODE_2, now, now.plusMinutes(10));
+
+        // Then
+        assertEquals(1, acquiredByFirstNode);
+        assertEquals(0, acquiredBySecondNode);
+        flushAndClearPersistenceContext();
+        assertEquals(NODE_1, schedulerTaskLockRepository.findById(TASK_NAME).map(SchedulerTaskLockEntity::getLockedBy).orElse(null));
+    }
+
+    @Test
+    void releaseLock_onlyOwnerReleasesLease() {
+        // Given
+        OffsetDateTime now = OffsetDateTime.now();
+        schedulerTaskLockRepository.save(new SchedulerTaskLockEntity(TASK_NAME, NODE_1, now, now.plusMinutes(10)));
+        flushAndClearPersistenceContext();
+
+        // When
+        int releasedBySecondNode = schedulerTaskLockRepository.releaseLock(TASK_NAME, NODE_2, now);
+        int releasedByFirstNode = schedulerTaskLockRepository.releaseLock(TASK_NAME, NODE_1, now);
+        int acquiredBySecondNode = schedulerTaskLockRepository.acquireLock(TASK_NAME, NODE_2, now.plusSeconds(1), now.plusMinutes(10));
+
+        // Then
+        assertEquals(0, releasedBySecondNode);
+        assertEquals(1, releasedByFirstNode);
+        assertEquals(1, acquiredBySecondNode);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void runWithLock_noLockRowAndNodesStartTogether_taskExecutedByOneNode() throws Exception {
+        // Given
+        List<SchedulerTaskLockService> nodes = new ArrayList<>();
+        for (int i = 0; i < NODE_COUNT; i++) {
+            nodes.add(buildSchedulerTaskLockService("node-" + i));
+        }
+        ExecutorService executorService = Executors.newFixedThreadPool(NODE_COUNT);
+
+        try {
+            for (int round = 0; round < ROUND_COUNT; round++) {
+                // When
+                int executionCount = runTogether(executorService, nodes, TASK_NAME + "-" + round);
+
+                // Then
+                assertEquals(1, executionCount, "Task was executed by several nodes in round " + round);
+            }
+            // Scheduled tasks of the context create their own leases, so only leases of this test are counted
+            long leaseCount = StreamSupport.stream(schedulerTaskLockRepository.findAll().spliterator(), false)
+                                  .filter(lock -> lock.getTaskName().startsWith(TASK_NAME + "-"))
+                                  .count();
+            assertEquals(ROUND_COUNT, leaseCount);
+        } finally {
+            executorService.shutdown();
+            schedulerTaskLockRepository.deleteAll();
+        }
+    }
+
+    @Test
+    void partitionedChunkQueries_executedOnDatabase() {
+        // Given
+        OffsetDateTime now = OffsetDateTime.now();
+
+        // When
+        List<Long> consentIds = consentJpaRepository.findNextIdsByConsentStatusInAndCreationTimestampBefore(EnumSet.of(ConsentStatus.RECEIVED), INSTANCE_ID, now,
+                                                                                                           Long.MIN_VALUE, 1, 2, PageRequest.of(0, 10));
+        List<Long> paymentIds = pisCommonPaymentDataRepository.findNextIdsByTransactionStatusInAndCreationTimestampBefore(EnumSet.of(TransactionStatus.RCVD), INSTANCE_ID, now,
+                                                                                                                         Long.MIN_VALUE, 1, 2, PageRequest.of(0, 10));
+
+        // Then
+        assertTrue(consentIds.isEmpty());
+        assertTrue(paymentIds.isEmpty());
+        assertTrue(consentJpaRepository.findInstanceIdsByConsentStatusIn(EnumSet.of(ConsentStatus.RECEIVED)).isEmpty());
+        assertTrue(pisCommonPaymentDataRepository.findInstanceIdsByTransactionStatusIn(EnumSet.of(TransactionStatus.RCVD)).isEmpty());
+    }
+
+    @Test
+    void confirmationExpirationChunkQueries_executedOnDatabase() {
+        // Given
+        OffsetDateTime now = OffsetDateTime.now();
+
+        // When
+        List<String> consentIds = consentJpaRepository.findExternalIdsByIdInAndConsentStatusInAndCreationTimestampBefore(List.of(1L, 2L), EnumSet.of(ConsentStatus.RECEIVED), now);
+        int rejectedConsents = consentJpaRepository.updateConsentStatusByExternalIdInAndConsentStatusIn(List.of("consent ID"), EnumSet.of(ConsentStatus.RECEIVED), ConsentStatus.REJECTED,
+                                                                                                      now.toLocalDate(), now);
+        List<String> paymentIds = pisCommonPaymentDataRepository.findPaymentIdsByIdInAndTransactionStatusInAndCreationTimestampBefore(List.of(1L, 2L), EnumSet.of(TransactionStatus.RCVD), now);
+        int rejectedPayments = pisCommonPaymentDataRepository.updateTransactionStatusByPaymentIdInAndTransactionStatusIn(List.of("payment ID"), EnumSet.of(TransactionStatus.RCVD),
+                                                                                                                        TransactionStatus.RJCT, now);
+
+        // Then
+        assertTrue(consentIds.isEmpty());
+        assertEquals(0, rejectedConsents);
+        assertTrue(paymentIds.isEmpty());
+        assertEquals(0, rejectedPayments);
+    }
+
+    private void flushAndClearPersistenceContext() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private int runTogether(ExecutorService executorService, List<SchedulerTaskLockService> nodes, String taskName) throws Exception {
+        AtomicInteger executionCount = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (SchedulerTaskLockService node : nodes) {
+            futures.add(executorService.submit(() -> {
+                start.await();
+                node.runWithLockWithoutTransaction(taskName, () -> {
+                    executionCount.incrementAndGet();
+                    sleep();
+                });
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        return executionCount.get();
+    }
+
+    private SchedulerTaskLockService buildSchedulerTaskLockService(String nodeId) {
+        SchedulerTaskLockService schedulerTaskLockService = new SchedulerTaskLockService(schedulerTaskLockRepository, transactionManager);
+        ReflectionTestUtils.setField(schedulerTaskLockService, "lockEnabled", true);
+        ReflectionTestUtils.setField(schedulerTaskLockService, "leaseTimeMs", 600_000L);
+        ReflectionTestUtils.setField(schedulerTaskLockService, "minLeaseTimeMs", 30_000L);
+        ReflectionTestUtils.setField(schedulerTaskLockService, "partitionCount", 1);
+        ReflectionTestUtils.setField(schedulerTaskLockService, "nodeId", nodeId);
+        schedulerTaskLockService.afterPropertiesSet();
+        return schedulerTaskLockService;
+    }
+
+    private void sleep() {
+        try {
+            // Keeps the task running, while other nodes try to acquire the lease
+            Thread.sleep(100);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.integration.tpp;
+
+import de.adorsys.psd2.consent.api.CmsResponse;
+import de.adorsys.psd2.consent.api.service.TppService;
+import de.adorsys.psd2.consent.domain.TppInfoEntity;
+import de.adorsys.psd2.consent.integration.config.IntegrationTestConfiguration;
+import de.adorsys.psd2.consent.repository.TppInfoRepository;
+import de.adorsys.psd2.xs2a.core.tpp.TppInfo;
+import de.adorsys.psd2.xs2a.core.tpp.TppRole;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Authorisation number of <code>tpp_info</code> is unique in CMS schema, so that consents and payments of the TPP share
+ * the same row. The constraint is dropped in this test to check, that the update still loads only one row per TPP
+ * in databases with several rows per TPP. The context is closed afterwards, so that other tests get the full schema.
+ */
+@ActiveProfiles("integration-test")
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = IntegrationTestConfiguration.class)
+@DataJpaTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class TppInfoUpdateIT {
+    private static final String AUTHORISATION_NUMBER_PREFIX = "authorisation number ";
+    private static final int TPP_COUNT = 3;
+    private static final int ROWS_PER_TPP = 5;
+
+    @Autowired
+    private TppService tppService;
+    @Autowired
+    private TppInfoRepository tppInfoRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        dropAuthorisationNumberUniqueConstraints();
+        for (int row = 0; row < ROWS_PER_TPP; row++) {
+            for (int tpp = 0; tpp < TPP_COUNT; tpp++) {
+                tppInfoRepository.save(buildTppInfoEntity(buildAuthorisationNumber(tpp)));
+            }
+            // Every row of the TPP has the same natural ID, so each one is saved with an empty persistence context
+            entityManager.flush();
+            entityManager.clear();
+        }
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @Test
+    void updateTppInfos_severalRowsPerTpp_firstRowLoadedAndUpdated() {
+        // Given
+        List<TppInfo> tppInfos = IntStream.range(0, TPP_COUNT)
+                                     .mapToObj(this::buildTppInfo)
+                                     .collect(Collectors.toList());
+
+        // When
+        CmsResponse<Set<String>> response = tppService.updateTppInfos(tppInfos);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        Set<String> expectedAuthorisationNumbers = tppInfos.stream()
+                                                       .map(TppInfo::getAuthorisationNumber)
+                                                       .collect(Collectors.toSet());
+        assertEquals(expectedAuthorisationNumbers, response.getPayload());
+        assertEquals(TPP_COUNT, statistics.getEntityStatistics(TppInfoEntity.class.getName()).getLoadCount());
+
+        for (int tpp = 0; tpp < TPP_COUNT; tpp++) {
+            List<TppInfoEntity> rows = findRows(buildAuthorisationNumber(tpp));
+            assertEquals(ROWS_PER_TPP, rows.size());
+            assertEquals(Collections.singletonList(TppRole.AISP), rows.get(0).getTppRoles());
+            for (TppInfoEntity row : rows.subList(1, rows.size())) {
+                assertEquals(Collections.singletonList(TppRole.PISP), row.getTppRoles());
+            }
+        }
+    }
+
+    private void dropAuthorisationNumberUniqueConstraints() {
+        List<?> constraintNames = entityManager.createNativeQuery("SELECT c.constraint_name FROM information_schema.constraints c " +
+                                                                      "WHERE c.table_name = 'TPP_INFO' AND c.constraint_type = 'UNIQUE' " +
+                                                                      "AND c.column_list = 'AUTHORISATION_NUMBER'")
+                                           .getResultList();
+        constraintNames.forEach(name -> entityManager.createNativeQuery("ALTER TABLE tpp_info DROP CONSTRAINT " + name)
+                                            .executeUpdate());
+    }
+
+    private List<TppInfoEntity> findRows(String authorisationNumber) {
+        return entityManager.createQuery("SELECT t FROM tpp_info t WHERE t.authorisationNumber = :authorisationNumber ORDER BY t.id",
+                                         TppInfoEntity.class)
+                   .setParameter("authorisationNumber", authorisationNumber)
+                   .getResultList();
+    }
+
+    private TppInfoEntity buildTppInfoEntity(String authorisationNumber) {
+        TppInfoEntity tppInfoEntity = new TppInfoEntity();
+        tppInfoEntity.setAuthorisationNumber(authorisationNumber);
+        tppInfoEntity.setTppRoles(new ArrayList<>(Collections.singletonList(TppRole.PISP)));
+        return tppInfoEntity;
+    }
+
+    private TppInfo buildTppInfo(int tpp) {
+        TppInfo tppInfo = new TppInfo();
+        tppInfo.setAuthorisationNumber(buildAuthorisationNumber(tpp));
+        tppInfo.setTppRoles(Collections.singletonList(TppRole.AISP));
+        return tppInfo;
+    }
+
+    private String buildAuthorisationNumber(int tpp) {
+        return AUTHORISATION_NUMBER_PREFIX + tpp;
+    }
+}
@@ -24,6 +24,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.OffsetDateTime;
 import java.util.List;
@@ -33,6 +34,7 @@ import static de.adorsys.psd2.consent.aspsp.api.config.CmsPsuApiDefaultValue.DEF
 @RequestMapping(path = "aspsp-api/v1/events")
 @Api(value = "aspsp-api/v1/events", tags = CmsAspspApiTagName.ASPSP_EVENTS)
 public interface CmsAspspEventApi {
+    String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
 
     @GetMapping(path = "/")
     @ApiOperation(value = "Returns a list of Event objects between two dates")
@@ -47,4 +49,26 @@ public interface CmsAspspEventApi {
         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime end,
         @ApiParam(value = "Bank instance ID")
         @RequestHeader(value = "instance-id", required = false, defaultValue = DEFAULT_SERVICE_INSTANCE_ID) String instanceId);
+
+    @GetMapping(path = "/stream", produces = APPLICATION_NDJSON_VALUE)
+    @ApiOperation(value = "Streams Event objects between two dates as newline delimited JSON ordered by timestamp and ID",
+        notes = "Timestamp and ID of the last received event can be passed to continue reading after this event")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "OK")})
+    ResponseEntity<StreamingResponseBody> streamEventsForDates(
+        @ApiParam(value = "Start date", example = "2010-01-01T00:00:00Z", required = true)
+        @RequestHeader(value = "start-date")
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime start,
+        @ApiParam(value = "End date", example = "2030-01-01T00:00:00Z", required = true)
+        @RequestHeader(value = "end-date")
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime end,
+        @ApiParam(value = "Bank instance ID")
+        @RequestHeader(value = "instance-id", required = false, defaultValue = DEFAULT_SERVICE_INSTANCE_ID) String instanceId,
+        @ApiParam(value = "Timestamp of the last received event", example = "2020-01-01T00:00:00Z")
+        @RequestHeader(value = "after-timestamp", required = false)
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime afterTimestamp,
+        @ApiParam(value = "ID of the last received event")
+        @RequestHeader(value = "after-id", required = false) Long afterId,
+        @ApiParam(value = "Maximum number of events, 0 means no limit")
+        @RequestHeader(value = "limit", required = false, defaultValue = "0") int limit);
 }
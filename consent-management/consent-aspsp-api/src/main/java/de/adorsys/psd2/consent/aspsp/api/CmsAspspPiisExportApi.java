@@ -22,11 +22,15 @@ import de.adorsys.psd2.consent.api.piis.v1.CmsPiisConsent;
 import de.adorsys.psd2.consent.aspsp.api.config.CmsAspspApiTagName;
 import io.swagger.annotations.*;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.Collection;
 
+import static de.adorsys.psd2.consent.aspsp.api.CmsAspspEventApi.APPLICATION_NDJSON_VALUE;
+
 @RequestMapping(path = "aspsp-api/v1/piis/consents")
 @Api(value = "aspsp-api/v1/piis/consents", tags = CmsAspspApiTagName.ASPSP_PIIS_CONSENTS_EXPORT)
 public interface CmsAspspPiisExportApi {
@@ -105,4 +109,82 @@ public interface CmsAspspPiisExportApi {
         @RequestParam(value = CmsConstant.QUERY.PAGE_INDEX, defaultValue = "0") Integer pageIndex,
         @ApiParam(value = "Quantity of consents on one page", example = "20")
         @RequestParam(value = CmsConstant.QUERY.ITEMS_PER_PAGE, defaultValue = "20") Integer itemsPerPage);
+
+    @GetMapping(path = "/tpp/{tpp-id}/stream", produces = APPLICATION_NDJSON_VALUE)
+    @ApiOperation(value = "Streams consents by given mandatory TPP ID, optional creation date, PSU ID Data and instance ID as newline delimited JSON ordered by creation",
+        notes = "ID of the last received consent can be passed to continue reading after this consent")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "OK")})
+    ResponseEntity<StreamingResponseBody> streamConsentsByTpp(
+        @ApiParam(value = "TPP ID", required = true, example = "12345987")
+        @PathVariable("tpp-id") String tppId,
+        @ApiParam(value = "Creation start date", example = "2010-01-01")
+        @RequestHeader(value = "start-date", required = false)
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+        @ApiParam(value = "Creation end date", example = "2030-01-01")
+        @RequestHeader(value = "end-date", required = false)
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+        @ApiParam(value = "Client ID of the PSU in the ASPSP client interface. Might be mandated in the ASPSP's" +
+            " documentation. Is not contained if an OAuth2 based authentication was performed in a pre-step or an OAuth2 based SCA was performed in an preceding AIS service in the same session. ")
+        @RequestHeader(value = "psu-id", required = false) String psuId,
+        @ApiParam(value = "Type of the PSU-ID, needed in scenarios where PSUs have several PSU-IDs as access possibility. ")
+        @RequestHeader(value = "psu-id-type", required = false) String psuIdType,
+        @ApiParam(value = "Might be mandated in the ASPSP's documentation. Only used in a corporate context. ")
+        @RequestHeader(value = "psu-corporate-id", required = false) String psuCorporateId,
+        @ApiParam(value = "Might be mandated in the ASPSP's documentation. Only used in a corporate context. ")
+        @RequestHeader(value = "psu-corporate-id-type", required = false) String psuCorporateIdType,
+        @ApiParam(value = "ID of the particular service instance")
+        @RequestHeader(value = "instance-id", required = false) String instanceId,
+        @ApiParam(value = "ID of the last received consent")
+        @RequestHeader(value = "after-consent-id", required = false) String afterConsentId,
+        @ApiParam(value = "Maximum number of consents, 0 means no limit")
+        @RequestHeader(value = "limit", required = false, defaultValue = "0") int limit);
+
+    @GetMapping(path = "/psu/stream", produces = APPLICATION_NDJSON_VALUE)
+    @ApiOperation(value = "Streams consents by given mandatory PSU ID Data, optional creation date and instance ID as newline delimited JSON ordered by creation",
+        notes = "ID of the last received consent can be passed to continue reading after this consent")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "OK")})
+    ResponseEntity<StreamingResponseBody> streamConsentsByPsu(
+        @ApiParam(value = "Creation start date", example = "2010-01-01")
+        @RequestHeader(value = "start-date", required = false)
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+        @ApiParam(value = "Creation end date", example = "2030-01-01")
+        @RequestHeader(value = "end-date", required = false)
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+        @ApiParam(value = "Client ID of the PSU in the ASPSP client interface. Might be mandated in the ASPSP's documentation. Is not contained if an OAuth2 based authentication was performed in a pre-step or an OAuth2 based SCA was performed in an preceding AIS service in the same session. ")
+        @RequestHeader(value = "psu-id", required = false) String psuId,
+        @ApiParam(value = "Type of the PSU-ID, needed in scenarios where PSUs have several PSU-IDs as access possibility. ")
+        @RequestHeader(value = "psu-id-type", required = false) String psuIdType,
+        @ApiParam(value = "Might be mandated in the ASPSP's documentation. Only used in a corporate context. ")
+        @RequestHeader(value = "psu-corporate-id", required = false) String psuCorporateId,
+        @ApiParam(value = "Might be mandated in the ASPSP's documentation. Only used in a corporate context. ")
+        @RequestHeader(value = "psu-corporate-id-type", required = false) String psuCorporateIdType,
+        @ApiParam(value = "ID of the particular service instance")
+        @RequestHeader(value = "instance-id", required = false) String instanceId,
+        @ApiParam(value = "ID of the last received consent")
+        @RequestHeader(value = "after-consent-id", required = false) String afterConsentId,
+        @ApiParam(value = "Maximum number of consents, 0 means no limit")
+        @RequestHeader(value = "limit", required = false, defaultValue = "0") int limit);
+
+    @GetMapping(path = "/account/{account-id}/stream", produces = APPLICATION_NDJSON_VALUE)
+    @ApiOperation(value = "Streams consents by given mandatory aspsp account id, optional creation date and instance ID as newline delimited JSON ordered by creation",
+        notes = "ID of the last received consent can be passed to continue reading after this consent")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "OK")})
+    ResponseEntity<StreamingResponseBody> streamConsentsByAccountId(
+        @ApiParam(value = "Bank specific account identifier.", required = true, example = "11111-99999")
+        @PathVariable("account-id") String aspspAccountId,
+        @ApiParam(value = "Creation start date", example = "2010-01-01")
+        @RequestHeader(value = "start-date", required = false)
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+        @ApiParam(value = "Creation end date", example = "2030-01-01")
+        @RequestHeader(value = "end-date", required = false)
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+        @ApiParam(value = "ID of the particular service instance")
+        @RequestHeader(value = "instance-id", required = false) String instanceId,
+        @ApiParam(value = "ID of the last received consent")
+        @RequestHeader(value = "after-consent-id", required = false) String afterConsentId,
+        @ApiParam(value = "Maximum number of consents, 0 means no limit")
+        @RequestHeader(value = "limit", required = false, defaultValue = "0") int limit);
 }
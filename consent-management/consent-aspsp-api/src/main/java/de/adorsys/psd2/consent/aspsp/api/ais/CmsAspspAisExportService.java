@@ -26,6 +26,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.time.LocalDate;
 import java.util.Collection;
+import java.util.function.Consumer;
 
 
 @NotNull
@@ -90,4 +91,62 @@ public interface CmsAspspAisExportService {
                                                                                              @NotNull String instanceId,
                                                                                              Integer pageIndex, Integer itemsPerPage,
                                                                                              @Nullable String additionalTppInfo);
+
+    /**
+     * Passes consents matching given criteria to the consumer one by one ordered by creation,
+     * without loading all consents into memory.
+     *
+     * @param tppAuthorisationNumber Mandatory TPP ID
+     * @param createDateFrom         Optional starting creation date criteria
+     * @param createDateTo           Optional ending creation date criteria
+     * @param psuIdData              Optional Psu information criteria
+     * @param instanceId             Mandatory id of particular service instance
+     * @param additionalTppInfo      Optional additional TPP information criteria
+     * @param afterConsentId         ID of the last received consent, <code>null</code> to start from the beginning
+     * @param limit                  Maximum number of consents to be passed, non-positive value means no limit
+     * @param consumer               Consumer of the consents
+     */
+    void streamConsentsByTpp(String tppAuthorisationNumber,
+                             @Nullable LocalDate createDateFrom, @Nullable LocalDate createDateTo,
+                             @Nullable PsuIdData psuIdData, @NotNull String instanceId,
+                             @Nullable String additionalTppInfo, @Nullable String afterConsentId, int limit,
+                             @NotNull Consumer<CmsAisAccountConsent> consumer);
+
+    /**
+     * Passes consents matching given criteria to the consumer one by one ordered by creation,
+     * without loading all consents into memory.
+     *
+     * @param psuIdData         Mandatory Psu information criteria
+     * @param createDateFrom    Optional starting creation date criteria
+     * @param createDateTo      Optional ending creation date criteria
+     * @param instanceId        Mandatory id of particular service instance
+     * @param additionalTppInfo Optional additional TPP information criteria
+     * @param afterConsentId    ID of the last received consent, <code>null</code> to start from the beginning
+     * @param limit             Maximum number of consents to be passed, non-positive value means no limit
+     * @param consumer          Consumer of the consents
+     */
+    void streamConsentsByPsuAndAdditionalTppInfo(PsuIdData psuIdData,
+                                                 @Nullable LocalDate createDateFrom, @Nullable LocalDate createDateTo,
+                                                 @NotNull String instanceId,
+                                                 @Nullable String additionalTppInfo, @Nullable String afterConsentId, int limit,
+                                                 @NotNull Consumer<CmsAisAccountConsent> consumer);
+
+    /**
+     * Passes consents matching given criteria to the consumer one by one ordered by creation,
+     * without loading all consents into memory.
+     *
+     * @param aspspAccountId    Bank specific account identifier
+     * @param createDateFrom    Optional starting creation date criteria
+     * @param createDateTo      Optional ending creation date criteria
+     * @param instanceId        Mandatory id of particular service instance
+     * @param additionalTppInfo Optional additional TPP information criteria
+     * @param afterConsentId    ID of the last received consent, <code>null</code> to start from the beginning
+     * @param limit             Maximum number of consents to be passed, non-positive value means no limit
+     * @param consumer          Consumer of the consents
+     */
+    void streamConsentsByAccountIdAndAdditionalTppInfo(@NotNull String aspspAccountId,
+                                                       @Nullable LocalDate createDateFrom, @Nullable LocalDate createDateTo,
+                                                       @NotNull String instanceId,
+                                                       @Nullable String additionalTppInfo, @Nullable String afterConsentId, int limit,
+                                                       @NotNull Consumer<CmsAisAccountConsent> consumer);
 }
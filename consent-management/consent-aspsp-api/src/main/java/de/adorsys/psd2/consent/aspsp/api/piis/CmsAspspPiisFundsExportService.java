@@ -26,6 +26,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.time.LocalDate;
 import java.util.Collection;
+import java.util.function.Consumer;
 
 
 @NotNull
@@ -99,4 +100,61 @@ public interface CmsAspspPiisFundsExportService {
                                                                    Integer pageIndex, Integer itemsPerPage
     );
 
+    /**
+     * Passes consents matching given criteria to the consumer one by one ordered by creation,
+     * without loading all consents into memory.
+     *
+     * @param tppAuthorisationNumber Mandatory TPP ID
+     * @param createDateFrom         Optional starting creation date criteria
+     * @param createDateTo           Optional ending creation date criteria
+     * @param psuIdData              Optional Psu information criteria
+     * @param instanceId             Optional id of particular service instance.
+     *                               If it's not provided, default value will be used instead.
+     * @param afterConsentId         ID of the last received consent, <code>null</code> to start from the beginning
+     * @param limit                  Maximum number of consents to be passed, non-positive value means no limit
+     * @param consumer               Consumer of the consents
+     */
+    void streamConsentsByTpp(String tppAuthorisationNumber,
+                             @Nullable LocalDate createDateFrom, @Nullable LocalDate createDateTo,
+                             @Nullable PsuIdData psuIdData, @Nullable String instanceId,
+                             @Nullable String afterConsentId, int limit,
+                             @NotNull Consumer<CmsPiisConsent> consumer);
+
+    /**
+     * Passes consents matching given criteria to the consumer one by one ordered by creation,
+     * without loading all consents into memory.
+     *
+     * @param psuIdData      Mandatory Psu information criteria
+     * @param createDateFrom Optional starting creation date criteria
+     * @param createDateTo   Optional ending creation date criteria
+     * @param instanceId     Optional id of particular service instance.
+     *                       If it's not provided, default value will be used instead.
+     * @param afterConsentId ID of the last received consent, <code>null</code> to start from the beginning
+     * @param limit          Maximum number of consents to be passed, non-positive value means no limit
+     * @param consumer       Consumer of the consents
+     */
+    void streamConsentsByPsu(PsuIdData psuIdData,
+                             @Nullable LocalDate createDateFrom, @Nullable LocalDate createDateTo,
+                             @Nullable String instanceId,
+                             @Nullable String afterConsentId, int limit,
+                             @NotNull Consumer<CmsPiisConsent> consumer);
+
+    /**
+     * Passes consents matching given criteria to the consumer one by one ordered by creation,
+     * without loading all consents into memory.
+     *
+     * @param aspspAccountId Bank specific account identifier
+     * @param createDateFrom Optional starting creation date criteria
+     * @param createDateTo   Optional ending creation date criteria
+     * @param instanceId     Optional id of particular service instance.
+     *                       If it's not provided, default value will be used instead.
+     * @param afterConsentId ID of the last received consent, <code>null</code> to start from the beginning
+     * @param limit          Maximum number of consents to be passed, non-positive value means no limit
+     * @param consumer       Consumer of the consents
+     */
+    void streamConsentsByAccountId(@NotNull String aspspAccountId,
+                                   @Nullable LocalDate createDateFrom, @Nullable LocalDate createDateTo,
+                                   @Nullable String instanceId,
+                                   @Nullable String afterConsentId, int limit,
+                                   @NotNull Consumer<CmsPiisConsent> consumer);
 }
@@ -26,6 +26,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.time.LocalDate;
 import java.util.Collection;
+import java.util.function.Consumer;
 
 
 @NotNull
@@ -88,4 +89,58 @@ public interface CmsAspspPisExportService {
                                                      @NotNull String instanceId,
                                                      Integer pageIndex, Integer itemsPerPage);
 
+    /**
+     * Passes payments matching given criteria to the consumer one by one ordered by creation,
+     * without loading all payments into memory.
+     *
+     * @param tppAuthorisationNumber Mandatory TPP ID
+     * @param createDateFrom         Optional starting creation date criteria
+     * @param createDateTo           Optional ending creation date criteria
+     * @param psuIdData              Optional Psu information criteria
+     * @param instanceId             Mandatory id of particular service instance
+     * @param afterPaymentId         ID of the last received payment, <code>null</code> to start from the beginning
+     * @param limit                  Maximum number of payments to be passed, non-positive value means no limit
+     * @param consumer               Consumer of the payments
+     */
+    void streamPaymentsByTpp(String tppAuthorisationNumber,
+                             @Nullable LocalDate createDateFrom, @Nullable LocalDate createDateTo,
+                             @Nullable PsuIdData psuIdData, @NotNull String instanceId,
+                             @Nullable String afterPaymentId, int limit,
+                             @NotNull Consumer<CmsBasePaymentResponse> consumer);
+
+    /**
+     * Passes payments matching given criteria to the consumer one by one ordered by creation,
+     * without loading all payments into memory.
+     *
+     * @param psuIdData      Mandatory Psu information criteria
+     * @param createDateFrom Optional starting creation date criteria
+     * @param createDateTo   Optional ending creation date criteria
+     * @param instanceId     Mandatory id of particular service instance
+     * @param afterPaymentId ID of the last received payment, <code>null</code> to start from the beginning
+     * @param limit          Maximum number of payments to be passed, non-positive value means no limit
+     * @param consumer       Consumer of the payments
+     */
+    void streamPaymentsByPsu(PsuIdData psuIdData,
+                             @Nullable LocalDate createDateFrom, @Nullable LocalDate createDateTo,
+                             @NotNull String instanceId,
+                             @Nullable String afterPaymentId, int limit,
+                             @NotNull Consumer<CmsBasePaymentResponse> consumer);
+
+    /**
+     * Passes payments matching given criteria to the consumer one by one ordered by creation,
+     * without loading all payments into memory.
+     *
+     * @param aspspAccountId Bank specific account identifier
+     * @param createDateFrom Optional starting creation date criteria
+     * @param createDateTo   Optional ending creation date criteria
+     * @param instanceId     Mandatory id of particular service instance
+     * @param afterPaymentId ID of the last received payment, <code>null</code> to start from the beginning
+     * @param limit          Maximum number of payments to be passed, non-positive value means no limit
+     * @param consumer       Consumer of the payments
+     */
+    void streamPaymentsByAccountId(@NotNull String aspspAccountId,
+                                   @Nullable LocalDate createDateFrom, @Nullable LocalDate createDateTo,
+                                   @NotNull String instanceId,
+                                   @Nullable String afterPaymentId, int limit,
+                                   @NotNull Consumer<CmsBasePaymentResponse> consumer);
 }
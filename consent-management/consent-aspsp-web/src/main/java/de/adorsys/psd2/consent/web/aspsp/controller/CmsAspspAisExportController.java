@@ -25,7 +25,9 @@ import de.adorsys.psd2.consent.aspsp.api.ais.CmsAspspAisExportService;
 import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.Collection;
@@ -34,6 +36,7 @@ import java.util.Collection;
 @RequiredArgsConstructor
 public class CmsAspspAisExportController implements CmsAspspAisExportApi {
     private final CmsAspspAisExportService cmsAspspAisExportService;
+    private final NdjsonResponseBuilder ndjsonResponseBuilder;
 
     @Override
     public ResponseData<Collection<CmsAisAccountConsent>> getConsentsByTpp(String tppId, LocalDate start,
@@ -83,4 +86,35 @@ public class CmsAspspAisExportController implements CmsAspspAisExportApi {
             new CmsPageInfo(consents.getPage(), consents.getPageSize(), consents.getTotal()),
             HttpStatus.OK);
     }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> streamConsentsByTpp(String tppId, LocalDate start, LocalDate end,
+                                                                     String psuId, String psuIdType, String psuCorporateId,
+                                                                     String psuCorporateIdType, String instanceId,
+                                                                     String additionalTppInfo, String afterConsentId, int limit) {
+        PsuIdData psuIdData = new PsuIdData(psuId, psuIdType, psuCorporateId, psuCorporateIdType, null);
+        return ndjsonResponseBuilder.<CmsAisAccountConsent>build(
+            consumer -> cmsAspspAisExportService.streamConsentsByTpp(tppId, start, end, psuIdData, instanceId,
+                                                                     additionalTppInfo, afterConsentId, limit, consumer));
+    }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> streamConsentsByPsu(LocalDate start, LocalDate end,
+                                                                     String psuId, String psuIdType, String psuCorporateId,
+                                                                     String psuCorporateIdType, String instanceId,
+                                                                     String additionalTppInfo, String afterConsentId, int limit) {
+        PsuIdData psuIdData = new PsuIdData(psuId, psuIdType, psuCorporateId, psuCorporateIdType, null);
+        return ndjsonResponseBuilder.<CmsAisAccountConsent>build(
+            consumer -> cmsAspspAisExportService.streamConsentsByPsuAndAdditionalTppInfo(psuIdData, start, end, instanceId,
+                                                                                         additionalTppInfo, afterConsentId, limit, consumer));
+    }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> streamConsentsByAccount(String aspspAccountId, LocalDate start,
+                                                                         LocalDate end, String instanceId,
+                                                                         String additionalTppInfo, String afterConsentId, int limit) {
+        return ndjsonResponseBuilder.<CmsAisAccountConsent>build(
+            consumer -> cmsAspspAisExportService.streamConsentsByAccountIdAndAdditionalTppInfo(aspspAccountId, start, end, instanceId,
+                                                                                               additionalTppInfo, afterConsentId, limit, consumer));
+    }
 }
@@ -23,6 +23,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.OffsetDateTime;
 import java.util.List;
@@ -31,10 +32,18 @@ import java.util.List;
 @RequiredArgsConstructor
 public class CmsAspspEventController implements CmsAspspEventApi {
     private final AspspEventService aspspEventService;
+    private final NdjsonResponseBuilder ndjsonResponseBuilder;
 
     @Override
     public ResponseEntity<List<AspspEvent>> getEventsForDates(OffsetDateTime start, OffsetDateTime end, String instanceId) {
         List<AspspEvent> events = aspspEventService.getEventsForPeriod(start, end, instanceId);
         return new ResponseEntity<>(events, HttpStatus.OK);
     }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> streamEventsForDates(OffsetDateTime start, OffsetDateTime end, String instanceId,
+                                                                      OffsetDateTime afterTimestamp, Long afterId, int limit) {
+        return ndjsonResponseBuilder.<AspspEvent>build(consumer -> aspspEventService.streamEventsForPeriod(start, end, instanceId, afterTimestamp,
+                                                                                                           afterId, limit, consumer));
+    }
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.web.aspsp.controller;
+
+import de.adorsys.psd2.mapper.Xs2aObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+import static de.adorsys.psd2.consent.aspsp.api.CmsAspspEventApi.APPLICATION_NDJSON_VALUE;
+
+/**
+ * Builds responses, that write objects passed by the producer as newline delimited JSON directly to the response body
+ */
+@Component
+@RequiredArgsConstructor
+public class NdjsonResponseBuilder {
+    private static final int LINE_SEPARATOR = '\n';
+
+    private final Xs2aObjectMapper xs2aObjectMapper;
+
+    /**
+     * @param producer function passing streamed objects to the given consumer, invoked when the response body is written
+     * @param <T>      type of streamed objects
+     * @return response with streaming body of <code>application/x-ndjson</code> content type
+     */
+    public <T> ResponseEntity<StreamingResponseBody> build(Consumer<Consumer<T>> producer) {
+        StreamingResponseBody responseBody = outputStream -> producer.accept(item -> writeLine(outputStream, item));
+        return ResponseEntity.ok()
+                   .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                   .body(responseBody);
+    }
+
+    private void writeLine(OutputStream outputStream, Object item) {
+        try {
+            outputStream.write(xs2aObjectMapper.writeValueAsBytes(item));
+            outputStream.write(LINE_SEPARATOR);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -27,22 +27,27 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.skyscreamer.jsonassert.JSONAssert;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @ExtendWith(MockitoExtension.class)
 class CmsAspspAisExportControllerTest {
@@ -64,6 +69,8 @@ class CmsAspspAisExportControllerTest {
 
     @Mock
     private CmsAspspAisExportService cmsAspspAisExportService;
+    @Spy
+    private NdjsonResponseBuilder ndjsonResponseBuilder = new NdjsonResponseBuilder(new ObjectMapperTestConfig().getXs2aObjectMapper());
 
     @BeforeEach
     void setUp() {
@@ -134,4 +141,34 @@ class CmsAspspAisExportControllerTest {
         verify(cmsAspspAisExportService, times(1)).exportConsentsByAccountIdAndAdditionalTppInfo(accountId, START_DATE, END_DATE, INSTANCE_ID, PAGE_INDEX, ITEMS_PER_PAGE,
                                                                                                  null);
     }
+
+    @Test
+    void streamConsentsByTpp_Success() throws Exception {
+        String TPP_ID = "PSDDE-FAKENCA-87B2AC";
+        String afterConsentId = "after consent id";
+        CmsAisAccountConsent consent = consents.iterator().next();
+        doAnswer(invocation -> {
+            Consumer<CmsAisAccountConsent> consumer = invocation.getArgument(8);
+            consumer.accept(consent);
+            return null;
+        }).when(cmsAspspAisExportService).streamConsentsByTpp(eq(TPP_ID), eq(START_DATE), eq(END_DATE), eq(psuIdData), eq(INSTANCE_ID),
+                                                              isNull(), eq(afterConsentId), eq(0), any());
+
+        MvcResult mvcResult = mockMvc.perform(get("/aspsp-api/v1/ais/consents/tpp/PSDDE-FAKENCA-87B2AC/stream")
+                                                  .headers(httpHeaders)
+                                                  .header("after-consent-id", afterConsentId))
+                                  .andExpect(request().asyncStarted())
+                                  .andReturn();
+
+        String[] lines = mockMvc.perform(asyncDispatch(mvcResult))
+                             .andExpect(status().is(HttpStatus.OK.value()))
+                             .andExpect(content().contentType("application/x-ndjson"))
+                             .andReturn()
+                             .getResponse()
+                             .getContentAsString()
+                             .split("\n");
+
+        assertEquals(1, lines.length);
+        JSONAssert.assertEquals("{\"data\":[" + lines[0] + "]}", jsonReader.getStringFromFile(LIST_OF_AIS_ACCOUNT_CONSENT_PATH), false);
+    }
 }
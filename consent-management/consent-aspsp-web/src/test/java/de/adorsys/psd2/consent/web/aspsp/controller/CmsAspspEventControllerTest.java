@@ -28,17 +28,23 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.skyscreamer.jsonassert.JSONAssert;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.time.OffsetDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 class CmsAspspEventControllerTest {
 
@@ -47,6 +53,10 @@ class CmsAspspEventControllerTest {
     private static final String INSTANCE_ID = "UNDEFINED";
     private static final String EVENT_LIST_PATH = "json/list-aspsp-event.json";
     private static final String GET_ASPSP_EVENT_LIST_URL = "/aspsp-api/v1/events/";
+    private static final String STREAM_ASPSP_EVENTS_URL = "/aspsp-api/v1/events/stream";
+    private static final String AFTER_TIMESTAMP = "2019-07-11T12:00:00Z";
+    private static final Long AFTER_ID = 42L;
+    private static final int LIMIT = 100;
 
     @Mock
     private AspspEventService aspspEventService;
@@ -68,7 +78,7 @@ class CmsAspspEventControllerTest {
 
         MockitoAnnotations.initMocks(this);
         mockMvc = MockMvcBuilders
-                      .standaloneSetup(new CmsAspspEventController(aspspEventService))
+                      .standaloneSetup(new CmsAspspEventController(aspspEventService, new NdjsonResponseBuilder(objectMapperTestConfig.getXs2aObjectMapper())))
                       .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapperTestConfig.getXs2aObjectMapper()))
                       .build();
     }
@@ -103,4 +113,36 @@ class CmsAspspEventControllerTest {
 
         verify(aspspEventService, times(1)).getEventsForPeriod(OffsetDateTime.parse(START), OffsetDateTime.parse(END), INSTANCE_ID);
     }
+
+    @Test
+    void streamEventsForDates_success() throws Exception {
+        AspspEvent event = events.get(0);
+        doAnswer(invocation -> {
+            Consumer<AspspEvent> consumer = invocation.getArgument(6);
+            consumer.accept(event);
+            consumer.accept(event);
+            return null;
+        }).when(aspspEventService).streamEventsForPeriod(eq(OffsetDateTime.parse(START)), eq(OffsetDateTime.parse(END)), eq(INSTANCE_ID),
+                                                         eq(OffsetDateTime.parse(AFTER_TIMESTAMP)), eq(AFTER_ID), eq(LIMIT), any());
+
+        MvcResult mvcResult = mockMvc.perform(get(STREAM_ASPSP_EVENTS_URL)
+                                                  .headers(httpHeaders)
+                                                  .header("after-timestamp", AFTER_TIMESTAMP)
+                                                  .header("after-id", AFTER_ID)
+                                                  .header("limit", LIMIT))
+                                  .andExpect(request().asyncStarted())
+                                  .andReturn();
+
+        String[] lines = mockMvc.perform(asyncDispatch(mvcResult))
+                             .andExpect(status().is(HttpStatus.OK.value()))
+                             .andExpect(content().contentType("application/x-ndjson"))
+                             .andReturn()
+                             .getResponse()
+                             .getContentAsString()
+                             .split("\n");
+
+        assertEquals(2, lines.length);
+        JSONAssert.assertEquals(jsonReader.getStringFromFile("json/aspsp-event.json"), lines[0], false);
+        JSONAssert.assertEquals(jsonReader.getStringFromFile("json/aspsp-event.json"), lines[1], false);
+    }
 }
@@ -27,21 +27,26 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.skyscreamer.jsonassert.JSONAssert;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @ExtendWith(MockitoExtension.class)
 class CmsAspspPiisExportControllerTest {
@@ -69,6 +74,8 @@ class CmsAspspPiisExportControllerTest {
 
     @Mock
     private CmsAspspPiisFundsExportService cmsAspspPiisExportService;
+    @Spy
+    private NdjsonResponseBuilder ndjsonResponseBuilder = new NdjsonResponseBuilder(new ObjectMapperTestConfig().getXs2aObjectMapper());
 
     @BeforeEach
     void setUp() {
@@ -131,4 +138,31 @@ class CmsAspspPiisExportControllerTest {
 
         verify(cmsAspspPiisExportService, times(1)).exportConsentsByAccountId(ACCOUNT_ID, START_DATE, END_DATE, INSTANCE_ID, PAGE_INDEX, ITEMS_PER_PAGE);
     }
+
+    @Test
+    void streamConsentsByPsu() throws Exception {
+        CmsPiisConsent cmsPiisConsent = cmsPiisConsents.iterator().next();
+        doAnswer(invocation -> {
+            Consumer<CmsPiisConsent> consumer = invocation.getArgument(6);
+            consumer.accept(cmsPiisConsent);
+            return null;
+        }).when(cmsAspspPiisExportService).streamConsentsByPsu(eq(psuIdData), eq(START_DATE), eq(END_DATE), eq(INSTANCE_ID),
+                                                               isNull(), eq(1), any());
+
+        MvcResult mvcResult = mockMvc.perform(get(EXPORT_PIIS_CONSENT_BY_PSU + "/stream")
+                                                  .headers(httpHeaders)
+                                                  .header("limit", 1))
+                                  .andExpect(request().asyncStarted())
+                                  .andReturn();
+
+        String content = mockMvc.perform(asyncDispatch(mvcResult))
+                             .andExpect(status().isOk())
+                             .andExpect(content().contentType("application/x-ndjson"))
+                             .andReturn()
+                             .getResponse()
+                             .getContentAsString();
+
+        assertEquals(1, content.split("\n").length);
+        JSONAssert.assertEquals("{\"data\":[" + content.trim() + "]}", jsonReader.getStringFromFile(LIST_OF_PIIS_CONSENTS_PATH), false);
+    }
 }
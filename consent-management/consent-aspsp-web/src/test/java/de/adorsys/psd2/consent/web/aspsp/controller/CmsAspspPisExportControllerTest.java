@@ -30,12 +30,15 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.skyscreamer.jsonassert.JSONAssert;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.math.BigDecimal;
@@ -43,11 +46,13 @@ import java.time.LocalDate;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Currency;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @ExtendWith(MockitoExtension.class)
 class CmsAspspPisExportControllerTest {
@@ -69,6 +74,8 @@ class CmsAspspPisExportControllerTest {
 
     @Mock
     private CmsAspspPisExportService cmsAspspPisExportService;
+    @Spy
+    private NdjsonResponseBuilder ndjsonResponseBuilder = new NdjsonResponseBuilder(new ObjectMapperTestConfig().getXs2aObjectMapper());
 
     @BeforeEach
     void setUp() {
@@ -135,6 +142,39 @@ class CmsAspspPisExportControllerTest {
         verify(cmsAspspPisExportService, times(1)).exportPaymentsByAccountId(accountId, START_DATE, END_DATE, INSTANCE_ID, PAGE_INDEX, ITEMS_PER_PAGE);
     }
 
+    @Test
+    void streamPaymentsByAccountId() throws Exception {
+        String afterPaymentId = "after payment id";
+        CmsBasePaymentResponse cmsPayment = cmsPayments.iterator().next();
+        doAnswer(invocation -> {
+            Consumer<CmsBasePaymentResponse> consumer = invocation.getArgument(6);
+            consumer.accept(cmsPayment);
+            consumer.accept(cmsPayment);
+            return null;
+        }).when(cmsAspspPisExportService).streamPaymentsByAccountId(eq("account_id"), eq(START_DATE), eq(END_DATE), eq(INSTANCE_ID),
+                                                                    eq(afterPaymentId), eq(10), any());
+
+        MvcResult mvcResult = mockMvc.perform(get("/aspsp-api/v1/pis/payments/account/account_id/stream")
+                                                  .headers(httpHeaders)
+                                                  .header("after-payment-id", afterPaymentId)
+                                                  .header("limit", 10))
+                                  .andExpect(request().asyncStarted())
+                                  .andReturn();
+
+        String[] lines = mockMvc.perform(asyncDispatch(mvcResult))
+                             .andExpect(status().is(HttpStatus.OK.value()))
+                             .andExpect(content().contentType("application/x-ndjson"))
+                             .andReturn()
+                             .getResponse()
+                             .getContentAsString()
+                             .split("\n");
+
+        assertEquals(2, lines.length);
+        String expectedLine = new ObjectMapperTestConfig().getXs2aObjectMapper().writeValueAsString(cmsPayment);
+        JSONAssert.assertEquals(expectedLine, lines[0], true);
+        JSONAssert.assertEquals(expectedLine, lines[1], true);
+    }
+
     private CmsBasePaymentResponse getCmsPayment() {
         String paymentProduct = "paymentProduct";
         CmsSinglePayment result = new CmsSinglePayment(paymentProduct);
@@ -17,9 +17,11 @@
 package de.adorsys.psd2.consent.config;
 
 import de.adorsys.psd2.consent.repository.CryptoAlgorithmRepository;
+import de.adorsys.psd2.consent.service.security.provider.AbstractCryptoProvider;
 import de.adorsys.psd2.consent.service.security.provider.CryptoInstanceFactory;
 import de.adorsys.psd2.consent.service.security.provider.CryptoProvider;
 import de.adorsys.psd2.consent.service.security.provider.CryptoProviderHolder;
+import de.adorsys.psd2.consent.service.security.provider.DerivedKeyCache;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Value;
@@ -40,9 +42,34 @@ public class CryptoConfig {
     @Value("${xs2a.cms.encryption.defaultProvider.idProvider:psGLvQpt9Q}")
     private String defaultIdProviderId;
 
+    @Value("${xs2a.cms.encryption.key-cache.enabled:true}")
+    private boolean keyCacheEnabled;
+
+    @Value("${xs2a.cms.encryption.key-cache.max-size:10000}")
+    private int keyCacheMaxSize;
+
+    @Value("${xs2a.cms.encryption.key-cache.ttl-millis:3600000}")
+    private long keyCacheTtlMillis;
+
+    @Value("${xs2a.cms.encryption.key-cache.off-heap:false}")
+    private boolean keyCacheOffHeap;
+
+    @Bean
+    public DerivedKeyCache derivedKeyCache() {
+        return new DerivedKeyCache(keyCacheMaxSize, keyCacheTtlMillis, keyCacheOffHeap);
+    }
+
     @Bean
     public CryptoProviderHolder initCryptoProviders(CryptoAlgorithmRepository cryptoAlgorithmRepository) {
         Map<String, CryptoProvider> providerMap = getInitializedProviderMap(cryptoAlgorithmRepository);
+        if (keyCacheEnabled) {
+            DerivedKeyCache derivedKeyCache = derivedKeyCache();
+            providerMap.values().stream()
+                .filter(AbstractCryptoProvider.class::isInstance)
+                .map(AbstractCryptoProvider.class::cast)
+                .forEach(provider -> provider.setDerivedKeyCache(derivedKeyCache));
+            log.info("Derived key cache is enabled: {}", derivedKeyCache);
+        }
         CryptoProviderHolder cryptoProviderHolder = new CryptoProviderHolder(providerMap, defaultDataProviderId, defaultIdProviderId);
 
         validateDefaultProviders(cryptoProviderHolder.getDefaultDataProvider(), cryptoProviderHolder.getDefaultIdProvider());
@@ -36,7 +36,7 @@ public class AuthorisationEntity extends InstanceDependableEntity {
     @Id
     @Column(name = "authorisation_id")
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "authorisation_generator")
-    @SequenceGenerator(name = "authorisation_generator", sequenceName = "authorisation_id_seq", allocationSize = 1)
+    @SequenceGenerator(name = "authorisation_generator", sequenceName = "authorisation_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "external_id", nullable = false)
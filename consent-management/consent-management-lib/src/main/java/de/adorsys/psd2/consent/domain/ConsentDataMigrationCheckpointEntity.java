@@ -0,0 +1,56 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.domain;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import java.time.OffsetDateTime;
+
+/**
+ * Progress of the background migration of obsolete consent tables into <code>consent.data</code>.
+ * Migration continues from the row following <code>lastId</code> of the obsolete table.
+ */
+@Data
+@NoArgsConstructor
+@Entity(name = "consent_data_migration_checkpoint")
+public class ConsentDataMigrationCheckpointEntity {
+
+    @Id
+    @Column(name = "migration_name", nullable = false)
+    private String migrationName;
+
+    @Column(name = "last_id", nullable = false)
+    private long lastId;
+
+    @Column(name = "migrated_count", nullable = false)
+    private long migratedCount;
+
+    @Column(name = "completed", nullable = false)
+    private boolean completed;
+
+    @Column(name = "updated_at")
+    private OffsetDateTime updatedAt;
+
+    public ConsentDataMigrationCheckpointEntity(String migrationName) {
+        this.migrationName = migrationName;
+    }
+}
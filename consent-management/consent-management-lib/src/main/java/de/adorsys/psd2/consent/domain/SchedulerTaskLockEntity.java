@@ -0,0 +1,51 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import java.time.OffsetDateTime;
+
+/**
+ * Lease on a CMS scheduler task (or on one of its partitions), shared by all CMS nodes using the same database.
+ * The task may be executed only by the node, which managed to move <code>lockedUntil</code> into the future.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity(name = "scheduler_task_lock")
+public class SchedulerTaskLockEntity {
+
+    @Id
+    @Column(name = "task_name", nullable = false)
+    private String taskName;
+
+    @Column(name = "locked_by")
+    private String lockedBy;
+
+    @Column(name = "locked_at")
+    private OffsetDateTime lockedAt;
+
+    @Column(name = "locked_until", nullable = false)
+    private OffsetDateTime lockedUntil;
+}
@@ -34,7 +34,7 @@ public class TppStopListEntity extends InstanceDependableEntity {
     @Id
     @Column(name = "id")
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tpp_stop_list_generator")
-    @SequenceGenerator(name = "tpp_stop_list_generator", sequenceName = "tpp_stop_list_id_seq", allocationSize = 1)
+    @SequenceGenerator(name = "tpp_stop_list_generator", sequenceName = "tpp_stop_list_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "tpp_authorisation_number", nullable = false)
@@ -49,16 +49,30 @@ public class TppStopListEntity extends InstanceDependableEntity {
     @Column(name = "expiration_timestamp")
     private OffsetDateTime blockingExpirationTimestamp;
 
+    @Setter(AccessLevel.NONE)
+    @Column(name = "last_change_timestamp")
+    private OffsetDateTime lastChangeTimestamp;
+
     public void block(@Nullable Duration lockPeriod) {
+        OffsetDateTime now = OffsetDateTime.now();
         this.status = TppStatus.BLOCKED;
         this.blockingExpirationTimestamp = lockPeriod != null
-                                               ? OffsetDateTime.now().plus(lockPeriod)
+                                               ? now.plus(lockPeriod)
                                                : null;
+        this.lastChangeTimestamp = now;
     }
 
     public void unblock() {
         this.status = TppStatus.ENABLED;
         this.blockingExpirationTimestamp = null;
+        this.lastChangeTimestamp = OffsetDateTime.now();
+    }
+
+    @PrePersist
+    public void tppStopListPrePersist() {
+        if (lastChangeTimestamp == null) {
+            lastChangeTimestamp = OffsetDateTime.now();
+        }
     }
 
     public boolean isBlocked() {
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.domain.blob;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.zip.DataFormatException;
+
+/**
+ * Encodes binary large objects, stored by CMS (consent data and payment bodies), with configured compression.
+ * <p>
+ * Encoded blob starts with a header, that consists of magic bytes, version of the format and ID of the compression.
+ * Blobs without the header are legacy ones (e.g. plain JSON or XML) and are returned as they are, so rows written
+ * before the compression was enabled, or with compression disabled, stay readable. Blobs, that are smaller than
+ * configured minimal size or can't be compressed, are also stored without the header.
+ * <p>
+ * Entities keep blobs in encoded form, so mappers and services encode blobs before setting them to the entity and
+ * decode them after reading. Hibernate snapshots and dirty checks of the loaded entities work with encoded bytes and
+ * don't compress anything.
+ */
+@Slf4j
+@Component
+public class BlobCodec {
+    private static final byte[] MAGIC = {0x00, 'C', 'B'};
+    private static final byte FORMAT_VERSION = 1;
+    private static final int HEADER_LENGTH = MAGIC.length + 2;
+
+    @Value("${xs2a.cms.blob.compression:NONE}")
+    private BlobCompression compression = BlobCompression.NONE;
+    @Value("${xs2a.cms.blob.compression.level:1}")
+    private int compressionLevel = 1;
+    @Value("${xs2a.cms.blob.compression.min-size:1024}")
+    private int compressionMinSize = 1024;
+
+    public byte[] encode(byte[] data) {
+        if (data == null || compression == BlobCompression.NONE || data.length < compressionMinSize) {
+            return data;
+        }
+
+        byte[] compressed = compression.compress(data, compressionLevel);
+        if (compressed.length + HEADER_LENGTH >= data.length) {
+            return data;
+        }
+
+        byte[] encoded = new byte[HEADER_LENGTH + compressed.length];
+        System.arraycopy(MAGIC, 0, encoded, 0, MAGIC.length);
+        encoded[MAGIC.length] = FORMAT_VERSION;
+        encoded[MAGIC.length + 1] = compression.getId();
+        System.arraycopy(compressed, 0, encoded, HEADER_LENGTH, compressed.length);
+        return encoded;
+    }
+
+    public byte[] decode(byte[] blob) {
+        if (!hasHeader(blob)) {
+            return blob;
+        }
+
+        if (blob[MAGIC.length] != FORMAT_VERSION) {
+            throw new IllegalStateException("Unsupported version of CMS blob format: " + blob[MAGIC.length]);
+        }
+
+        byte compressionId = blob[MAGIC.length + 1];
+        BlobCompression blobCompression = BlobCompression.getById(compressionId)
+                                              .orElseThrow(() -> new IllegalStateException("Unknown compression of CMS blob: " + compressionId));
+        try {
+            return blobCompression.decompress(blob, HEADER_LENGTH);
+        } catch (DataFormatException e) {
+            log.error("Can't decompress CMS blob with {} compression: {}", blobCompression, e.getMessage());
+            throw new IllegalStateException("Corrupted CMS blob", e);
+        }
+    }
+
+    private boolean hasHeader(byte[] blob) {
+        if (blob == null || blob.length < HEADER_LENGTH) {
+            return false;
+        }
+
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (blob[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.domain.blob;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compression of binary large objects, stored by CMS.
+ * <p>
+ * ID of the compression is written into the header of encoded blob, so it must never be changed or reused.
+ */
+public enum BlobCompression {
+    NONE(0) {
+        @Override
+        byte[] compress(byte[] data, int level) {
+            return data;
+        }
+
+        @Override
+        byte[] decompress(byte[] data, int offset) throws DataFormatException {
+            return Arrays.copyOfRange(data, offset, data.length);
+        }
+    },
+    DEFLATE(1) {
+        @Override
+        byte[] compress(byte[] data, int level) {
+            Deflater deflater = new Deflater(level, true);
+            try {
+                deflater.setInput(data);
+                deflater.finish();
+                ByteArrayOutputStream output = new ByteArrayOutputStream(data.length / 4 + BUFFER_SIZE);
+                byte[] buffer = new byte[BUFFER_SIZE];
+                while (!deflater.finished()) {
+                    int length = deflater.deflate(buffer);
+                    output.write(buffer, 0, length);
+                }
+                return output.toByteArray();
+            } finally {
+                deflater.end();
+            }
+        }
+
+        @Override
+        byte[] decompress(byte[] data, int offset) throws DataFormatException {
+            Inflater inflater = new Inflater(true);
+            try {
+                inflater.setInput(data, offset, data.length - offset);
+                ByteArrayOutputStream output = new ByteArrayOutputStream(data.length * 4);
+                byte[] buffer = new byte[BUFFER_SIZE];
+                while (!inflater.finished()) {
+                    int length = inflater.inflate(buffer);
+                    if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        throw new DataFormatException("Unexpected end of compressed data");
+                    }
+                    output.write(buffer, 0, length);
+                }
+                return output.toByteArray();
+            } finally {
+                inflater.end();
+            }
+        }
+    };
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final byte id;
+
+    BlobCompression(int id) {
+        this.id = (byte) id;
+    }
+
+    public byte getId() {
+        return id;
+    }
+
+    public static Optional<BlobCompression> getById(byte id) {
+        return Arrays.stream(values())
+                   .filter(compression -> compression.id == id)
+                   .findFirst();
+    }
+
+    abstract byte[] compress(byte[] data, int level);
+
+    abstract byte[] decompress(byte[] data, int offset) throws DataFormatException;
+}
@@ -29,6 +29,7 @@ import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
 import de.adorsys.psd2.xs2a.core.consent.ConsentType;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.ToString;
 import org.apache.commons.collections4.CollectionUtils;
 
 import javax.persistence.*;
@@ -49,7 +50,7 @@ public class ConsentEntity extends InstanceDependableEntity implements Authorisa
     @Column(name = "consent_id")
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "consent_generator")
     @SequenceGenerator(name = "consent_generator", sequenceName = "consent_id_seq",
-        allocationSize = 1)
+        allocationSize = 50)
     private Long id;
 
     @Column(name = "external_id", nullable = false)
@@ -142,6 +143,11 @@ public class ConsentEntity extends InstanceDependableEntity implements Authorisa
     @Transient
     private ConsentStatus previousConsentStatus;
 
+    @Transient
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private byte[] verifiedChecksumFingerprint;
+
     @PostLoad
     public void consentPostLoad() {
         previousConsentStatus = consentStatus;
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.domain.notification;
+
+import de.adorsys.psd2.consent.domain.InstanceDependableEntity;
+import de.adorsys.psd2.xs2a.core.profile.NotificationSupportedMode;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.OffsetDateTime;
+
+/**
+ * Notification about status change of a payment, consent or authorisation, waiting for delivery to the TPP.
+ * Notifications are stored in the same transaction as the status change and are delivered by the scheduler later on,
+ * delivered notifications are removed from the table.
+ */
+@Data
+@NoArgsConstructor
+@Entity(name = "tpp_notification")
+public class TppNotificationEntity extends InstanceDependableEntity {
+
+    @Id
+    @Column(name = "id")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tpp_notification_generator")
+    @SequenceGenerator(name = "tpp_notification_generator", sequenceName = "tpp_notification_id_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "external_id", nullable = false, updatable = false)
+    private String externalId;
+
+    @Column(name = "notification_uri", nullable = false)
+    private String notificationUri;
+
+    @Column(name = "tpp_host", nullable = false)
+    private String tppHost;
+
+    @Column(name = "resource_type", nullable = false)
+    @Enumerated(value = EnumType.STRING)
+    private TppNotificationResourceType resourceType;
+
+    @Column(name = "resource_id", nullable = false)
+    private String resourceId;
+
+    @Column(name = "authorisation_id")
+    private String authorisationId;
+
+    @Column(name = "notification_mode", nullable = false)
+    @Enumerated(value = EnumType.STRING)
+    private NotificationSupportedMode notificationMode;
+
+    @Column(name = "status", nullable = false)
+    private String status;
+
+    @Column(name = "delivery_status", nullable = false)
+    @Enumerated(value = EnumType.STRING)
+    private TppNotificationDeliveryStatus deliveryStatus = TppNotificationDeliveryStatus.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private OffsetDateTime nextAttemptAt;
+
+    @Column(name = "creation_timestamp", nullable = false, updatable = false)
+    private OffsetDateTime creationTimestamp;
+}
@@ -39,7 +39,7 @@ import java.util.Objects;
 public class PisCommonPaymentData extends InstanceDependableEntity implements Authorisable {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pis_common_payment_generator")
-    @SequenceGenerator(name = "pis_common_payment_generator", sequenceName = "pis_common_payment_id_seq", allocationSize = 1)
+    @SequenceGenerator(name = "pis_common_payment_generator", sequenceName = "pis_common_payment_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "payment_id", nullable = false)
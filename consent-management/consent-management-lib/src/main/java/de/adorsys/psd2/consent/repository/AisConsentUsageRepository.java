@@ -17,21 +17,86 @@
 package de.adorsys.psd2.consent.repository;
 
 import de.adorsys.psd2.consent.domain.account.AisConsentUsage;
+import de.adorsys.psd2.consent.domain.account.AisConsentUsageCounter;
 import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
-import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
-import javax.persistence.LockModeType;
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Optional;
 
 public interface AisConsentUsageRepository extends CrudRepository<AisConsentUsage, Long> {
-    @Lock(value = LockModeType.OPTIMISTIC_FORCE_INCREMENT)
-    Optional<AisConsentUsage> findWriteByConsentAndUsageDateAndRequestUri(ConsentEntity aisConsent, LocalDate usageDate, String requestUri);
 
-    @Lock(value = LockModeType.OPTIMISTIC)
-    List<AisConsentUsage> findReadByConsentAndUsageDate(ConsentEntity aisConsent, LocalDate usageDate);
+    /**
+     * Atomically increments usage of the consent for the request URI at the given date, unless the usage has already
+     * reached the given limit
+     *
+     * @param consent         AIS consent
+     * @param usageDate       date of the usage
+     * @param requestUri      URI of the request
+     * @param resourceId      ID of the requested resource
+     * @param transactionId   ID of the requested transaction
+     * @param frequencyPerDay maximum usage of the consent per day
+     * @return <code>1</code> if the usage was incremented, <code>0</code> if there is no usage for the request URI at
+     * the given date yet or the limit is already reached
+     */
+    @Query(
+        "UPDATE consent_usage " +
+            "SET usage = usage + 1, resourceId = :resourceId, transactionId = :transactionId, version = version + 1 " +
+            "WHERE consent = :consent AND usageDate = :usageDate AND requestUri = :requestUri AND usage < :frequencyPerDay"
+    )
+    @Modifying
+    int incrementUsage(@Param("consent") ConsentEntity consent,
+                       @Param("usageDate") LocalDate usageDate,
+                       @Param("requestUri") String requestUri,
+                       @Param("resourceId") String resourceId,
+                       @Param("transactionId") String transactionId,
+                       @Param("frequencyPerDay") int frequencyPerDay);
+
+    /**
+     * Decrements usage of the consent for the request URI at the given date, if it's positive
+     *
+     * @param consent    AIS consent
+     * @param usageDate  date of the usage
+     * @param requestUri URI of the request
+     * @return <code>1</code> if the usage was decremented, <code>0</code> otherwise
+     */
+    @Query(
+        "UPDATE consent_usage " +
+            "SET usage = usage - 1, version = version + 1 " +
+            "WHERE consent = :consent AND usageDate = :usageDate AND requestUri = :requestUri AND usage > 0"
+    )
+    @Modifying
+    int decrementUsage(@Param("consent") ConsentEntity consent,
+                       @Param("usageDate") LocalDate usageDate,
+                       @Param("requestUri") String requestUri);
+
+    boolean existsByConsentAndUsageDateAndRequestUri(ConsentEntity consent, LocalDate usageDate, String requestUri);
+
+    /**
+     * Resets all usages of the consent at the given date
+     *
+     * @param consent   AIS consent
+     * @param usageDate date of the usage
+     * @return number of reset usages
+     */
+    @Query(
+        "UPDATE consent_usage " +
+            "SET usage = 0, version = version + 1 " +
+            "WHERE consent = :consent AND usageDate = :usageDate"
+    )
+    @Modifying
+    int resetUsage(@Param("consent") ConsentEntity consent,
+                   @Param("usageDate") LocalDate usageDate);
+
+    @Query(
+        "SELECT u.requestUri AS requestUri, u.usage AS usage FROM consent_usage u " +
+            "WHERE u.consent = :consent AND u.usageDate = :usageDate"
+    )
+    List<AisConsentUsageCounter> findUsageCountersByConsentAndUsageDate(@Param("consent") ConsentEntity consent,
+                                                                        @Param("usageDate") LocalDate usageDate);
 
     int countByConsentIdAndResourceId(Long consentId, String resourceId);
 
@@ -22,6 +22,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.repository.CrudRepository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -43,6 +44,12 @@ public interface AuthorisationRepository extends CrudRepository<AuthorisationEnt
     List<AuthorisationEntity> findAllByParentExternalIdAndTypeIn(String parentExternalId,
                                                                  Set<AuthorisationType> authorisationTypes);
 
+    List<AuthorisationEntity> findAllByParentExternalIdInAndType(Collection<String> parentExternalIds,
+                                                                 AuthorisationType authorisationType);
+
+    List<AuthorisationEntity> findAllByParentExternalIdInAndTypeIn(Collection<String> parentExternalIds,
+                                                                   Set<AuthorisationType> authorisationTypes);
+
     List<AuthorisationEntity> findAllByParentExternalIdAndTypeIn(String parentExternalId,
                                                                  Set<AuthorisationType> authorisationTypes,
                                                                  Pageable pageable);
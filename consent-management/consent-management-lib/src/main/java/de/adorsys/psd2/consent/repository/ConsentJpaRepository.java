@@ -21,12 +21,17 @@ import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
 
+import javax.persistence.LockModeType;
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.Currency;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -37,10 +42,141 @@ public interface ConsentJpaRepository extends CrudRepository<ConsentEntity, Long
 
     Long countByConsentStatusIn(Set<ConsentStatus> statuses);
 
+    @Query("SELECT DISTINCT c.instanceId FROM consent c WHERE c.consentStatus IN :statuses")
+    List<String> findInstanceIdsByConsentStatusIn(@Param("statuses") Set<ConsentStatus> statuses);
+
+    /**
+     * Gets next chunk of IDs of consents with given statuses created before the given moment, ordered by ID
+     *
+     * @param statuses       consent statuses
+     * @param instanceId     ID of the instance
+     * @param createdBefore  upper bound of consent creation timestamp
+     * @param lastId         last ID of the previous chunk
+     * @param partition      index of the partition of consent IDs
+     * @param partitionCount number of partitions
+     * @param pageable       size of the chunk
+     * @return IDs of consents
+     */
+    @Query(
+        "SELECT c.id FROM consent c " +
+            "WHERE c.consentStatus IN :statuses AND c.instanceId = :instanceId AND c.creationTimestamp < :createdBefore " +
+            "AND c.id > :lastId AND MOD(c.id, :partitionCount) = :partition " +
+            "ORDER BY c.id"
+    )
+    List<Long> findNextIdsByConsentStatusInAndCreationTimestampBefore(@Param("statuses") Set<ConsentStatus> statuses,
+                                                                      @Param("instanceId") String instanceId,
+                                                                      @Param("createdBefore") OffsetDateTime createdBefore,
+                                                                      @Param("lastId") long lastId,
+                                                                      @Param("partition") int partition,
+                                                                      @Param("partitionCount") int partitionCount,
+                                                                      Pageable pageable);
+
+    /**
+     * Gets external IDs of consents with given IDs, which are in one of given statuses and were created before the given moment
+     *
+     * @param ids           IDs of consents
+     * @param statuses      consent statuses
+     * @param createdBefore upper bound of consent creation timestamp
+     * @return external IDs of consents
+     */
+    @Query(
+        "SELECT c.externalId FROM consent c " +
+            "WHERE c.id IN :ids AND c.consentStatus IN :statuses AND c.creationTimestamp < :createdBefore"
+    )
+    List<String> findExternalIdsByIdInAndConsentStatusInAndCreationTimestampBefore(@Param("ids") Collection<Long> ids,
+                                                                                  @Param("statuses") Set<ConsentStatus> statuses,
+                                                                                  @Param("createdBefore") OffsetDateTime createdBefore);
+
+    /**
+     * Changes status of consents with given external IDs, which are still in one of given statuses.
+     * As entity callbacks are not called for bulk updates, status change timestamp is set explicitly.
+     *
+     * @param externalIds     external IDs of consents
+     * @param statuses        current consent statuses
+     * @param newStatus       new consent status
+     * @param lastActionDate  date of the last action with consents
+     * @param statusChangedAt moment of the status change
+     * @return number of updated consents
+     */
+    @Query(
+        "UPDATE consent " +
+            "SET consentStatus = :newStatus, lastActionDate = :lastActionDate, statusChangeTimestamp = :statusChangedAt " +
+            "WHERE externalId IN :externalIds AND consentStatus IN :statuses"
+    )
+    @Modifying
+    int updateConsentStatusByExternalIdInAndConsentStatusIn(@Param("externalIds") Collection<String> externalIds,
+                                                            @Param("statuses") Set<ConsentStatus> statuses,
+                                                            @Param("newStatus") ConsentStatus newStatus,
+                                                            @Param("lastActionDate") LocalDate lastActionDate,
+                                                            @Param("statusChangedAt") OffsetDateTime statusChangedAt);
+
+    /**
+     * Sets date of the last action with the consent, if it differs from the given one, so that the consent row is
+     * updated only once per day by concurrent reads
+     *
+     * @param id             ID of the consent
+     * @param lastActionDate date of the last action with the consent
+     * @return number of updated consents
+     */
+    @Query(
+        "UPDATE consent " +
+            "SET lastActionDate = :lastActionDate " +
+            "WHERE id = :id AND (lastActionDate IS NULL OR lastActionDate <> :lastActionDate)"
+    )
+    @Modifying
+    int updateLastActionDate(@Param("id") Long id, @Param("lastActionDate") LocalDate lastActionDate);
+
+    /**
+     * Gets IDs of consents of given types with access to the account, which are in one of given statuses and not expired at the given date.
+     * Uses the index on account identifier in aspsp_account_access.
+     *
+     * @param accountIdentifier identifier of the account
+     * @param consentTypes      names of consent types
+     * @param statuses          consent statuses
+     * @param date              date, at which consents should be valid
+     * @return IDs of consents
+     */
+    @Query(
+        "SELECT DISTINCT c.id FROM consent c JOIN c.aspspAccountAccesses a " +
+            "WHERE a.accountIdentifier = :accountIdentifier AND c.consentType IN :consentTypes " +
+            "AND c.consentStatus IN :statuses AND (c.validUntil IS NULL OR c.validUntil >= :date)"
+    )
+    List<Long> findUsableIdsByAccountIdentifier(@Param("accountIdentifier") String accountIdentifier,
+                                                @Param("consentTypes") Collection<String> consentTypes,
+                                                @Param("statuses") Set<ConsentStatus> statuses,
+                                                @Param("date") LocalDate date);
+
+    /**
+     * Gets IDs of consents of given types with access to the account in given currency, which are in one of given statuses and not expired at the given date.
+     * Uses the index on account identifier and currency in aspsp_account_access.
+     *
+     * @param accountIdentifier identifier of the account
+     * @param currency          currency of the account
+     * @param consentTypes      names of consent types
+     * @param statuses          consent statuses
+     * @param date              date, at which consents should be valid
+     * @return IDs of consents
+     */
+    @Query(
+        "SELECT DISTINCT c.id FROM consent c JOIN c.aspspAccountAccesses a " +
+            "WHERE a.accountIdentifier = :accountIdentifier AND a.currency = :currency AND c.consentType IN :consentTypes " +
+            "AND c.consentStatus IN :statuses AND (c.validUntil IS NULL OR c.validUntil >= :date)"
+    )
+    List<Long> findUsableIdsByAccountIdentifierAndCurrency(@Param("accountIdentifier") String accountIdentifier,
+                                                           @Param("currency") Currency currency,
+                                                           @Param("consentTypes") Collection<String> consentTypes,
+                                                           @Param("statuses") Set<ConsentStatus> statuses,
+                                                           @Param("date") LocalDate date);
+
     Optional<ConsentEntity> findByExternalId(String externalId);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<ConsentEntity> findWriteById(Long id);
+
     List<ConsentEntity> findAllByExternalIdIn(List<String> externalIds);
 
+    List<ConsentEntity> findAllByExternalIdInAndDataIsNull(Collection<String> externalIds);
+
     @Query(
         "UPDATE consent " +
             "SET consentStatus = 'EXPIRED', expireDate = CURRENT_TIMESTAMP " +
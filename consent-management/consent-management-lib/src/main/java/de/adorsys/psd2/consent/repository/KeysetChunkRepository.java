@@ -0,0 +1,90 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.repository;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads entities matching given specification in chunks ordered by ID, each chunk starting after the last ID of the previous one.
+ * Unlike paging with {@link org.springframework.data.domain.Pageable} neither OFFSET nor separate count query is used.
+ */
+@Repository
+public class KeysetChunkRepository {
+    private static final String ID_ATTRIBUTE = "id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Returns next chunk of entities ordered by ID
+     *
+     * @param entityClass   class of the entity, that must have numeric <code>id</code> attribute
+     * @param specification optional specification limiting selected entities
+     * @param lastId        ID of the last entity of the previous chunk, <code>null</code> for the first chunk
+     * @param chunkSize     maximum number of rows in the chunk
+     * @param <T>           type of the entity
+     * @return entities with ID greater than given one. The same entity may be returned several times,
+     * if specification joins collections of the entity.
+     */
+    public <T> List<T> findNextChunk(@NotNull Class<T> entityClass, @Nullable Specification<T> specification,
+                                     @Nullable Long lastId, int chunkSize) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = criteriaBuilder.createQuery(entityClass);
+        Root<T> root = query.from(entityClass);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, criteriaBuilder);
+            if (predicate != null) {
+                predicates.add(predicate);
+            }
+        }
+        if (lastId != null) {
+            predicates.add(criteriaBuilder.greaterThan(root.get(ID_ATTRIBUTE), lastId));
+        }
+
+        query.select(root)
+            .where(predicates.toArray(new Predicate[0]))
+            .orderBy(criteriaBuilder.asc(root.get(ID_ATTRIBUTE)));
+
+        return entityManager.createQuery(query)
+                   .setMaxResults(chunkSize)
+                   .getResultList();
+    }
+
+    /**
+     * Writes pending changes of already read chunks to the database and detaches their entities,
+     * so that memory consumption doesn't grow with the number of read chunks
+     */
+    public void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
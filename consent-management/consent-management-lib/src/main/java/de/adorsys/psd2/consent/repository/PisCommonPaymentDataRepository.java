@@ -20,8 +20,13 @@ import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentData;
 import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -42,4 +47,70 @@ public interface PisCommonPaymentDataRepository extends CrudRepository<PisCommon
     Long countByTransactionStatusIn(Set<TransactionStatus> statuses);
 
     List<PisCommonPaymentData> findByTransactionStatusIn(Set<TransactionStatus> statuses, Pageable pageable);
+
+    @Query("SELECT DISTINCT p.instanceId FROM pis_common_payment p WHERE p.transactionStatus IN :statuses")
+    List<String> findInstanceIdsByTransactionStatusIn(@Param("statuses") Set<TransactionStatus> statuses);
+
+    /**
+     * Gets next chunk of IDs of payments with given statuses created before the given moment, ordered by ID
+     *
+     * @param statuses       transaction statuses
+     * @param instanceId     ID of the instance
+     * @param createdBefore  upper bound of payment creation timestamp
+     * @param lastId         last ID of the previous chunk
+     * @param partition      index of the partition of payment IDs
+     * @param partitionCount number of partitions
+     * @param pageable       size of the chunk
+     * @return IDs of payments
+     */
+    @Query(
+        "SELECT p.id FROM pis_common_payment p " +
+            "WHERE p.transactionStatus IN :statuses AND p.instanceId = :instanceId AND p.creationTimestamp < :createdBefore " +
+            "AND p.id > :lastId AND MOD(p.id, :partitionCount) = :partition " +
+            "ORDER BY p.id"
+    )
+    List<Long> findNextIdsByTransactionStatusInAndCreationTimestampBefore(@Param("statuses") Set<TransactionStatus> statuses,
+                                                                         @Param("instanceId") String instanceId,
+                                                                         @Param("createdBefore") OffsetDateTime createdBefore,
+                                                                         @Param("lastId") long lastId,
+                                                                         @Param("partition") int partition,
+                                                                         @Param("partitionCount") int partitionCount,
+                                                                         Pageable pageable);
+
+    /**
+     * Gets external IDs of payments with given IDs, which are in one of given statuses and were created before the given moment
+     *
+     * @param ids           IDs of payments
+     * @param statuses      transaction statuses
+     * @param createdBefore upper bound of payment creation timestamp
+     * @return external IDs of payments
+     */
+    @Query(
+        "SELECT p.paymentId FROM pis_common_payment p " +
+            "WHERE p.id IN :ids AND p.transactionStatus IN :statuses AND p.creationTimestamp < :createdBefore"
+    )
+    List<String> findPaymentIdsByIdInAndTransactionStatusInAndCreationTimestampBefore(@Param("ids") Collection<Long> ids,
+                                                                                     @Param("statuses") Set<TransactionStatus> statuses,
+                                                                                     @Param("createdBefore") OffsetDateTime createdBefore);
+
+    /**
+     * Changes status of payments with given external IDs, which are still in one of given statuses.
+     * As entity callbacks are not called for bulk updates, status change timestamp is set explicitly.
+     *
+     * @param paymentIds      external IDs of payments
+     * @param statuses        current transaction statuses
+     * @param newStatus       new transaction status
+     * @param statusChangedAt moment of the status change
+     * @return number of updated payments
+     */
+    @Query(
+        "UPDATE pis_common_payment " +
+            "SET transactionStatus = :newStatus, statusChangeTimestamp = :statusChangedAt " +
+            "WHERE paymentId IN :paymentIds AND transactionStatus IN :statuses"
+    )
+    @Modifying
+    int updateTransactionStatusByPaymentIdInAndTransactionStatusIn(@Param("paymentIds") Collection<String> paymentIds,
+                                                                   @Param("statuses") Set<TransactionStatus> statuses,
+                                                                   @Param("newStatus") TransactionStatus newStatus,
+                                                                   @Param("statusChangedAt") OffsetDateTime statusChangedAt);
 }
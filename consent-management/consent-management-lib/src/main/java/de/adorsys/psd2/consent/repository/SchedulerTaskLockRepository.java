@@ -0,0 +1,93 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.repository;
+
+import de.adorsys.psd2.consent.domain.SchedulerTaskLockEntity;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+public interface SchedulerTaskLockRepository extends CrudRepository<SchedulerTaskLockEntity, String> {
+
+    /**
+     * Returns current time of the database, so that leases of all nodes are based on the same clock
+     *
+     * @param taskName name of the task lease
+     * @return current time of the database or empty value if there is no lease with the given name yet
+     */
+    @Query("SELECT CURRENT_TIMESTAMP FROM scheduler_task_lock WHERE taskName = :taskName")
+    Optional<Timestamp> findDatabaseTime(@Param("taskName") String taskName);
+
+    /**
+     * Creates the lease on the task, that isn't held by any node. Fails with
+     * {@link org.springframework.dao.DataIntegrityViolationException} if the lease already exists, unlike
+     * {@link #save(Object)}, which would merge the existing lease.
+     *
+     * @param taskName name of the task lease
+     * @return <code>1</code> if the lease was created
+     */
+    @Query(
+        value = "INSERT INTO scheduler_task_lock (task_name, locked_until) VALUES (:taskName, CURRENT_TIMESTAMP)",
+        nativeQuery = true
+    )
+    @Modifying
+    int insertLock(@Param("taskName") String taskName);
+
+    /**
+     * Takes over the lease on the task, if it is not held by any node at the current time of the database
+     *
+     * @param taskName    name of the task lease
+     * @param lockedBy    ID of the node acquiring the lease
+     * @param now         current time of the database
+     * @param lockedUntil end of the lease
+     * @return <code>1</code> if the lease was acquired, <code>0</code> otherwise
+     */
+    @Query(
+        "UPDATE scheduler_task_lock " +
+            "SET lockedBy = :lockedBy, lockedAt = :now, lockedUntil = :lockedUntil " +
+            "WHERE taskName = :taskName AND lockedUntil <= CURRENT_TIMESTAMP"
+    )
+    @Modifying
+    int acquireLock(@Param("taskName") String taskName,
+                    @Param("lockedBy") String lockedBy,
+                    @Param("now") OffsetDateTime now,
+                    @Param("lockedUntil") OffsetDateTime lockedUntil);
+
+    /**
+     * Shortens the lease on the task, if it is still held by the given node
+     *
+     * @param taskName    name of the task lease
+     * @param lockedBy    ID of the node holding the lease
+     * @param lockedUntil new end of the lease
+     * @return <code>1</code> if the lease was released, <code>0</code> otherwise
+     */
+    @Query(
+        "UPDATE scheduler_task_lock " +
+            "SET lockedUntil = :lockedUntil " +
+            "WHERE taskName = :taskName AND lockedBy = :lockedBy"
+    )
+    @Modifying
+    int releaseLock(@Param("taskName") String taskName,
+                    @Param("lockedBy") String lockedBy,
+                    @Param("lockedUntil") OffsetDateTime lockedUntil);
+}
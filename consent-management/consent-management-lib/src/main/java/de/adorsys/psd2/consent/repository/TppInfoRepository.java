@@ -18,8 +18,12 @@ package de.adorsys.psd2.consent.repository;
 
 import de.adorsys.psd2.consent.domain.TppInfoEntity;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface TppInfoRepository extends CrudRepository<TppInfoEntity, Long> {
@@ -28,4 +32,22 @@ public interface TppInfoRepository extends CrudRepository<TppInfoEntity, Long> {
 
     Optional<TppInfoEntity> findFirstByAuthorisationNumberAndInstanceId(@NotNull String tppAuthorisationNumber, @NotNull String instanceId);
 
+    /**
+     * Finds the first TPP info row of every given TPP. A row is stored for every consent and payment of the TPP, so
+     * only the row with the lowest ID is loaded per authorisation number, same as in
+     * {@link #findFirstByAuthorisationNumberAndInstanceId(String, String)}.
+     *
+     * @param tppAuthorisationNumbers authorisation numbers of the TPPs
+     * @param instanceId              ID of the service instance
+     * @return at most one row per authorisation number
+     */
+    @Query(
+        "SELECT t FROM tpp_info t WHERE t.id IN (" +
+            "SELECT MIN(f.id) FROM tpp_info f " +
+            "WHERE f.authorisationNumber IN :authorisationNumbers AND f.instanceId = :instanceId " +
+            "GROUP BY f.authorisationNumber)"
+    )
+    List<TppInfoEntity> findFirstByAuthorisationNumberInAndInstanceId(@NotNull @Param("authorisationNumbers") Collection<String> tppAuthorisationNumbers,
+                                                                      @NotNull @Param("instanceId") String instanceId);
+
 }
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.repository;
+
+import de.adorsys.psd2.consent.domain.notification.TppNotificationDeliveryStatus;
+import de.adorsys.psd2.consent.domain.notification.TppNotificationEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public interface TppNotificationRepository extends CrudRepository<TppNotificationEntity, Long> {
+
+    /**
+     * Loads notifications with given delivery status, which are due for the delivery attempt, in the order of their creation
+     *
+     * @param deliveryStatus delivery status of notifications
+     * @param now            current time
+     * @param page           page defining the maximum number of loaded notifications
+     * @return due notifications ordered by ID
+     */
+    @Query(
+        "SELECT n FROM tpp_notification n " +
+            "WHERE n.deliveryStatus = :deliveryStatus AND n.nextAttemptAt <= :now " +
+            "ORDER BY n.id"
+    )
+    List<TppNotificationEntity> findDue(@Param("deliveryStatus") TppNotificationDeliveryStatus deliveryStatus,
+                                        @Param("now") OffsetDateTime now,
+                                        Pageable page);
+}
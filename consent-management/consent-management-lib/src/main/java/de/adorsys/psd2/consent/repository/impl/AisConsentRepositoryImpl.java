@@ -23,6 +23,7 @@ import de.adorsys.psd2.consent.repository.AisConsentVerifyingRepository;
 import de.adorsys.psd2.consent.repository.AuthorisationRepository;
 import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
 import de.adorsys.psd2.consent.service.mapper.AisConsentMapper;
+import de.adorsys.psd2.consent.service.sha.AisConsentChecksumMemo;
 import de.adorsys.psd2.consent.service.sha.ChecksumCalculatingFactory;
 import de.adorsys.psd2.consent.service.sha.ChecksumCalculatingService;
 import de.adorsys.psd2.core.data.ais.AisConsent;
@@ -49,6 +50,7 @@ public class AisConsentRepositoryImpl implements AisConsentVerifyingRepository {
     private final ChecksumCalculatingFactory calculatingFactory;
     private final AisConsentMapper aisConsentMapper;
     private final AuthorisationRepository authorisationRepository;
+    private final AisConsentChecksumMemo checksumMemo;
 
     @Override
     @Transactional(rollbackFor = WrongChecksumException.class)
@@ -94,6 +96,7 @@ public class AisConsentRepositoryImpl implements AisConsentVerifyingRepository {
             if (wasStatusSwitchedToValid(consentEntity)) {
                 byte[] newChecksum = calculatingService.calculateChecksumForConsent(mapToAisConsent(consentEntity));
                 consentEntity.setChecksum(newChecksum);
+                checksumMemo.markVerified(consentEntity);
             }
         }
 
@@ -113,6 +116,7 @@ public class AisConsentRepositoryImpl implements AisConsentVerifyingRepository {
             if (entity.getConsentStatus() == VALID) {
                 byte[] newChecksum = calculatingService.calculateChecksumForConsent(mapToAisConsent(entity));
                 entity.setChecksum(newChecksum);
+                checksumMemo.markVerified(entity);
             }
         }
 
@@ -124,13 +128,25 @@ public class AisConsentRepositoryImpl implements AisConsentVerifyingRepository {
 
         if (checksumFromDb != null
                 && wasStatusHoldBefore(entity)
-                && !calculatingService.verifyConsentWithChecksum(mapToAisConsent(entity), checksumFromDb)) {
+                && !isChecksumVerified(entity, calculatingService)) {
             log.warn("AIS consent checksum verification failed! AIS consent ID: [{}]. Contact ASPSP for details.", entity.getExternalId());
             return false;
         }
         return true;
     }
 
+    private boolean isChecksumVerified(ConsentEntity entity, ChecksumCalculatingService calculatingService) {
+        if (checksumMemo.isVerified(entity)) {
+            return true;
+        }
+
+        boolean verified = calculatingService.verifyConsentWithChecksum(mapToAisConsent(entity), entity.getChecksum());
+        if (verified) {
+            checksumMemo.markVerified(entity);
+        }
+        return verified;
+    }
+
     private boolean wasStatusSwitchedToValid(ConsentEntity entity) {
         return entity.getConsentStatus() == VALID
                    && EnumSet.of(RECEIVED, PARTIALLY_AUTHORISED).contains(getPreviousConsentStatus(entity));
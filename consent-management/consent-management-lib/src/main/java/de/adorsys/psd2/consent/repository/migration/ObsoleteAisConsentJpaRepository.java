@@ -17,11 +17,22 @@
 package de.adorsys.psd2.consent.repository.migration;
 
 import de.adorsys.psd2.consent.domain.account.AisConsent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface ObsoleteAisConsentJpaRepository extends Repository<AisConsent, Long> {
 
     Optional<AisConsent> findByExternalId(String externalId);
+
+    @Query(
+        "SELECT c FROM ais_consent c " +
+            "WHERE c.id > :lastId " +
+            "ORDER BY c.id"
+    )
+    List<AisConsent> findNextChunk(@Param("lastId") long lastId, Pageable pageable);
 }
@@ -17,11 +17,24 @@
 package de.adorsys.psd2.consent.repository.migration;
 
 import de.adorsys.psd2.consent.domain.piis.PiisConsentEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface ObsoletePiisConsentJpaRepository extends Repository<PiisConsentEntity, Long> {
 
     Optional<PiisConsentEntity> findByExternalId(String externalId);
+
+    @Query(
+        "SELECT c FROM piis_consent c " +
+            "LEFT JOIN FETCH c.psuData " +
+            "LEFT JOIN FETCH c.account " +
+            "WHERE c.id > :lastId " +
+            "ORDER BY c.id"
+    )
+    List<PiisConsentEntity> findNextChunk(@Param("lastId") long lastId, Pageable pageable);
 }
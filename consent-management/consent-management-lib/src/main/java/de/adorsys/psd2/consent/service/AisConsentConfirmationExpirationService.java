@@ -18,10 +18,29 @@ package de.adorsys.psd2.consent.service;
 
 import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 
 public interface AisConsentConfirmationExpirationService extends ConfirmationExpirationService<ConsentEntity> {
     ConsentEntity expireConsent(ConsentEntity consent);
 
     List<ConsentEntity> updateConsentListOnConfirmationExpiration(List<ConsentEntity> consents);
+
+    /**
+     * Calculates the moment, before which not confirmed consents of the instance had to be confirmed
+     *
+     * @param instanceId ID of the instance
+     * @return latest creation timestamp of not confirmed consents with expired confirmation
+     */
+    OffsetDateTime getConfirmationExpirationThreshold(String instanceId);
+
+    /**
+     * Rejects consents with given IDs, which are still not confirmed and were created before the given threshold,
+     * in a separate transaction
+     *
+     * @param consentIds    IDs of consents
+     * @param createdBefore confirmation expiration threshold, calculated by {@link #getConfirmationExpirationThreshold(String)}
+     * @return number of rejected consents
+     */
+    int updateConsentsOnConfirmationExpiration(List<Long> consentIds, OffsetDateTime createdBefore);
 }
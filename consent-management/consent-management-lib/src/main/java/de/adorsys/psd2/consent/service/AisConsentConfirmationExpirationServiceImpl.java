@@ -28,16 +28,23 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.IterableUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class AisConsentConfirmationExpirationServiceImpl implements AisConsentConfirmationExpirationService {
+    private static final Set<ConsentStatus> NOT_CONFIRMED_STATUSES = EnumSet.of(ConsentStatus.RECEIVED, ConsentStatus.PARTIALLY_AUTHORISED);
+
     private final ConsentJpaRepository consentJpaRepository;
     private final AuthorisationRepository authorisationRepository;
     private final AspspProfileService aspspProfileService;
@@ -57,8 +64,12 @@ public class AisConsentConfirmationExpirationServiceImpl implements AisConsentCo
         if (consent == null) {
             return false;
         }
-        long expirationPeriodMs = aspspProfileService.getAspspSettings(consent.getInstanceId()).getAis().getConsentTypes().getNotConfirmedConsentExpirationTimeMs();
-        return consent.isConfirmationExpired(expirationPeriodMs);
+        return consent.isConfirmationExpired(getExpirationPeriodMs(consent.getInstanceId()));
+    }
+
+    @Override
+    public OffsetDateTime getConfirmationExpirationThreshold(String instanceId) {
+        return OffsetDateTime.now().minus(getExpirationPeriodMs(instanceId), ChronoUnit.MILLIS);
     }
 
     @Transactional
@@ -83,6 +94,28 @@ public class AisConsentConfirmationExpirationServiceImpl implements AisConsentCo
         return IterableUtils.toList(consentJpaRepository.saveAll(obsoleteConsentList(consents)));
     }
 
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Override
+    public int updateConsentsOnConfirmationExpiration(List<Long> consentIds, OffsetDateTime createdBefore) {
+        List<String> externalIds = consentJpaRepository.findExternalIdsByIdInAndConsentStatusInAndCreationTimestampBefore(consentIds, NOT_CONFIRMED_STATUSES, createdBefore);
+        if (externalIds.isEmpty()) {
+            return 0;
+        }
+
+        // Status is checked again by the update, so that consents confirmed in the meantime are not rejected
+        int rejectedCount = consentJpaRepository.updateConsentStatusByExternalIdInAndConsentStatusIn(externalIds, NOT_CONFIRMED_STATUSES, ConsentStatus.REJECTED,
+                                                                                                    LocalDate.now(), OffsetDateTime.now());
+
+        List<AuthorisationEntity> authorisations = authorisationRepository.findAllByParentExternalIdInAndType(externalIds, AuthorisationType.CONSENT);
+        authorisations.forEach(auth -> auth.setScaStatus(ScaStatus.FAILED));
+        authorisationRepository.saveAll(authorisations);
+        return rejectedCount;
+    }
+
+    private long getExpirationPeriodMs(String instanceId) {
+        return aspspProfileService.getAspspSettings(instanceId).getAis().getConsentTypes().getNotConfirmedConsentExpirationTimeMs();
+    }
+
     private List<ConsentEntity> obsoleteConsentList(List<ConsentEntity> consents) {
         return consents.stream()
                    .map(this::obsoleteConsent)
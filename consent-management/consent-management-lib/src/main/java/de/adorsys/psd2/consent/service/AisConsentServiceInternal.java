@@ -20,6 +20,7 @@ import de.adorsys.psd2.consent.api.ActionStatus;
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.WrongChecksumException;
 import de.adorsys.psd2.consent.api.ais.AisConsentActionRequest;
+import de.adorsys.psd2.consent.api.ais.AisConsentUsageReservation;
 import de.adorsys.psd2.consent.api.ais.CmsConsent;
 import de.adorsys.psd2.consent.api.service.AisConsentService;
 import de.adorsys.psd2.consent.domain.AuthorisationEntity;
@@ -29,11 +30,14 @@ import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
 import de.adorsys.psd2.consent.repository.AisConsentActionRepository;
 import de.adorsys.psd2.consent.repository.AisConsentVerifyingRepository;
 import de.adorsys.psd2.consent.repository.AuthorisationRepository;
+import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
 import de.adorsys.psd2.consent.service.account.AccountAccessUpdater;
 import de.adorsys.psd2.consent.service.mapper.AccessMapper;
 import de.adorsys.psd2.consent.service.mapper.CmsConsentMapper;
+import de.adorsys.psd2.consent.service.notification.TppNotificationService;
 import de.adorsys.psd2.core.data.AccountAccess;
 import de.adorsys.psd2.xs2a.core.authorisation.AuthorisationType;
+import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
 import de.adorsys.psd2.xs2a.core.profile.AccountReference;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -59,12 +63,14 @@ public class AisConsentServiceInternal implements AisConsentService {
     private final AisConsentVerifyingRepository aisConsentRepository;
     private final AisConsentActionRepository aisConsentActionRepository;
     private final AuthorisationRepository authorisationRepository;
+    private final ConsentJpaRepository consentJpaRepository;
     private final AisConsentConfirmationExpirationService aisConsentConfirmationExpirationService;
     private final AisConsentUsageService aisConsentUsageService;
     private final OneOffConsentExpirationService oneOffConsentExpirationService;
     private final CmsConsentMapper cmsConsentMapper;
     private final AccessMapper accessMapper;
     private final AccountAccessUpdater accountAccessUpdater;
+    private final TppNotificationService tppNotificationService;
 
     /**
      * Saves information about consent usage and consent's sub-resources usage.
@@ -79,10 +85,75 @@ public class AisConsentServiceInternal implements AisConsentService {
             ConsentEntity consent = consentOpt.get();
             aisConsentConfirmationExpirationService.checkAndUpdateOnConfirmationExpiration(consent);
             checkAndUpdateOnExpiration(consent);
-            updateAisConsentUsage(consent, request);
+            boolean usageCounted = updateAisConsentUsage(consent, request);
             logConsentAction(consent.getExternalId(), request.getActionStatus(), request.getTppId());
+
+            if (!usageCounted) {
+                log.info("Consent ID [{}], Request URI [{}]. Check consent and save action log failed, because frequency per day of the consent is exceeded",
+                         request.getConsentId(), request.getRequestUri());
+                return CmsResponse.<CmsResponse.VoidResponse>builder()
+                           .error(LOGICAL_ERROR)
+                           .build();
+            }
+        }
+
+        return CmsResponse.<CmsResponse.VoidResponse>builder()
+                   .payload(CmsResponse.voidResponse())
+                   .build();
+    }
+
+    @Override
+    @Transactional
+    public CmsResponse<AisConsentUsageReservation> reserveConsentUsage(AisConsentActionRequest request) {
+        Optional<ConsentEntity> consentOpt = aisConsentRepository.getActualAisConsent(request.getConsentId());
+        if (consentOpt.isEmpty()) {
+            log.info("Consent ID [{}]. Reserve consent usage failed, because consent not found", request.getConsentId());
+            return CmsResponse.<AisConsentUsageReservation>builder()
+                       .error(LOGICAL_ERROR)
+                       .build();
+        }
+
+        ConsentEntity consent = consentOpt.get();
+        Optional<LocalDate> usageDate = aisConsentUsageService.reserveUsage(consent, request);
+        if (usageDate.isEmpty()) {
+            log.info("Consent ID [{}], Request URI [{}]. Reserve consent usage failed, because frequency per day of the consent is exceeded",
+                     request.getConsentId(), request.getRequestUri());
+            return CmsResponse.<AisConsentUsageReservation>builder()
+                       .payload(AisConsentUsageReservation.notReserved())
+                       .build();
+        }
+
+        // Expiration of one-off consent depends on the read data, so its action has to be logged after the read
+        boolean logAction = request.getActionStatus() != null && !isOneOffConsent(consent);
+        if (logAction) {
+            consentJpaRepository.updateLastActionDate(consent.getId(), usageDate.get());
+            logConsentAction(consent.getExternalId(), request.getActionStatus(), request.getTppId());
+        }
+
+        return CmsResponse.<AisConsentUsageReservation>builder()
+                   .payload(new AisConsentUsageReservation(true, usageDate.get(), logAction))
+                   .build();
+    }
+
+    @Override
+    @Transactional
+    public CmsResponse<CmsResponse.VoidResponse> releaseConsentUsage(AisConsentActionRequest request) {
+        if (request.getUsageDate() == null) {
+            log.info("Consent ID [{}]. Release consent usage failed, because usage date of the reservation is not given", request.getConsentId());
+            return CmsResponse.<CmsResponse.VoidResponse>builder()
+                       .error(LOGICAL_ERROR)
+                       .build();
         }
 
+        Optional<ConsentEntity> consentOpt = aisConsentRepository.getActualAisConsent(request.getConsentId());
+        if (consentOpt.isEmpty()) {
+            log.info("Consent ID [{}]. Release consent usage failed, because consent not found", request.getConsentId());
+            return CmsResponse.<CmsResponse.VoidResponse>builder()
+                       .error(LOGICAL_ERROR)
+                       .build();
+        }
+
+        aisConsentUsageService.decrementUsage(consentOpt.get(), request);
         return CmsResponse.<CmsResponse.VoidResponse>builder()
                    .payload(CmsResponse.voidResponse())
                    .build();
@@ -142,22 +213,30 @@ public class AisConsentServiceInternal implements AisConsentService {
         return consent;
     }
 
-    private void updateAisConsentUsage(ConsentEntity consent, AisConsentActionRequest request) throws WrongChecksumException {
+    private boolean updateAisConsentUsage(ConsentEntity consent, AisConsentActionRequest request) throws WrongChecksumException {
         if (!request.isUpdateUsage()) {
-            return;
+            return true;
+        }
+        if (!request.isUsageReserved() && !aisConsentUsageService.incrementUsage(consent, request)) {
+            return false;
         }
-        aisConsentUsageService.incrementUsage(consent, request);
 
         CmsConsent cmsConsent = mapToCmsConsent(consent);
 
-        if (!consent.isRecurringIndicator() && consent.getFrequencyPerDay() == 1
-                && oneOffConsentExpirationService.isConsentExpired(cmsConsent, consent.getId())) {
+        ConsentStatus previousStatus = consent.getConsentStatus();
+        if (isOneOffConsent(consent) && oneOffConsentExpirationService.isConsentExpired(cmsConsent, consent.getId())) {
             consent.setConsentStatus(EXPIRED);
         }
 
         consent.setLastActionDate(LocalDate.now());
 
         aisConsentRepository.verifyAndSave(consent);
+        tppNotificationService.notifyConsentStatusChanged(consent, previousStatus);
+        return true;
+    }
+
+    private boolean isOneOffConsent(ConsentEntity consent) {
+        return !consent.isRecurringIndicator() && consent.getFrequencyPerDay() == 1;
     }
 
     private CmsConsent mapToCmsConsent(ConsentEntity consent) {
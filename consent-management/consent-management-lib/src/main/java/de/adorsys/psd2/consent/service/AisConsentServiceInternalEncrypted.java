@@ -19,6 +19,7 @@ package de.adorsys.psd2.consent.service;
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.WrongChecksumException;
 import de.adorsys.psd2.consent.api.ais.AisConsentActionRequest;
+import de.adorsys.psd2.consent.api.ais.AisConsentUsageReservation;
 import de.adorsys.psd2.consent.api.ais.CmsConsent;
 import de.adorsys.psd2.consent.api.service.AisConsentService;
 import de.adorsys.psd2.consent.api.service.AisConsentServiceEncrypted;
@@ -54,14 +55,37 @@ public class AisConsentServiceInternalEncrypted implements AisConsentServiceEncr
                        .build();
         }
 
-        AisConsentActionRequest decryptedRequest = new AisConsentActionRequest(encryptedRequest.getTppId(),
-                                                                               decryptedConsentId.get(),
-                                                                               encryptedRequest.getActionStatus(),
-                                                                               encryptedRequest.getRequestUri(),
-                                                                               encryptedRequest.isUpdateUsage(),
-                                                                               encryptedRequest.getResourceId(),
-                                                                               encryptedRequest.getTransactionId());
-        return aisConsentService.checkConsentAndSaveActionLog(decryptedRequest);
+        return aisConsentService.checkConsentAndSaveActionLog(decryptRequest(encryptedRequest, decryptedConsentId.get()));
+    }
+
+    @Override
+    @Transactional
+    public CmsResponse<AisConsentUsageReservation> reserveConsentUsage(AisConsentActionRequest encryptedRequest) {
+        String consentId = encryptedRequest.getConsentId();
+        Optional<String> decryptedConsentId = securityDataService.decryptId(consentId);
+        if (decryptedConsentId.isEmpty()) {
+            log.info("Encrypted Consent ID: [{}]. Reserve consent usage failed, couldn't decrypt consent id", consentId);
+            return CmsResponse.<AisConsentUsageReservation>builder()
+                       .error(TECHNICAL_ERROR)
+                       .build();
+        }
+
+        return aisConsentService.reserveConsentUsage(decryptRequest(encryptedRequest, decryptedConsentId.get()));
+    }
+
+    @Override
+    @Transactional
+    public CmsResponse<CmsResponse.VoidResponse> releaseConsentUsage(AisConsentActionRequest encryptedRequest) {
+        String consentId = encryptedRequest.getConsentId();
+        Optional<String> decryptedConsentId = securityDataService.decryptId(consentId);
+        if (decryptedConsentId.isEmpty()) {
+            log.info("Encrypted Consent ID: [{}]. Release consent usage failed, couldn't decrypt consent id", consentId);
+            return CmsResponse.<CmsResponse.VoidResponse>builder()
+                       .error(TECHNICAL_ERROR)
+                       .build();
+        }
+
+        return aisConsentService.releaseConsentUsage(decryptRequest(encryptedRequest, decryptedConsentId.get()));
     }
 
     @Override
@@ -79,4 +103,10 @@ public class AisConsentServiceInternalEncrypted implements AisConsentServiceEncr
 
         return aisConsentService.updateAspspAccountAccess(decryptIdOptional.get(), request);
     }
+
+    private AisConsentActionRequest decryptRequest(AisConsentActionRequest encryptedRequest, String decryptedConsentId) {
+        return encryptedRequest.toBuilder()
+                   .consentId(decryptedConsentId)
+                   .build();
+    }
 }
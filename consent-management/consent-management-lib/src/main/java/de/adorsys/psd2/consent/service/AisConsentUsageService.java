@@ -18,53 +18,115 @@ package de.adorsys.psd2.consent.service;
 
 import de.adorsys.psd2.consent.api.ais.AisConsentActionRequest;
 import de.adorsys.psd2.consent.domain.account.AisConsentUsage;
+import de.adorsys.psd2.consent.domain.account.AisConsentUsageCounter;
 import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
 import de.adorsys.psd2.consent.repository.AisConsentUsageRepository;
+import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
+/**
+ * Counts usages of AIS consents per request URI and day.
+ * <p>
+ * Usage is incremented by a single update statement, that also checks the frequency per day of the consent, so
+ * concurrent requests on the same consent neither lose updates, nor exceed the limit, nor fail with optimistic lock
+ * conflicts. Only the first usage of the day for the request URI locks the consent row, so that concurrent requests
+ * don't create the same usage row twice.
+ */
 @Service
 @RequiredArgsConstructor
 public class AisConsentUsageService {
     private final AisConsentUsageRepository aisConsentUsageRepository;
+    private final ConsentJpaRepository consentJpaRepository;
 
+    /**
+     * Increments usage of the consent for the request URI at the current date
+     *
+     * @param consent AIS consent
+     * @param request action request with the request URI
+     * @return <code>true</code> if the usage was counted, <code>false</code> if frequency per day of the consent is already exceeded
+     */
     @Transactional
-    public void incrementUsage(ConsentEntity consent, AisConsentActionRequest request) {
-        AisConsentUsage aisConsentUsage = getUsage(consent, request.getRequestUri());
-        int usage = aisConsentUsage.getUsage();
-        aisConsentUsage.setUsage(++usage);
-        aisConsentUsage.setResourceId(request.getResourceId());
-        aisConsentUsage.setTransactionId(request.getTransactionId());
-        aisConsentUsageRepository.save(aisConsentUsage);
+    public boolean incrementUsage(ConsentEntity consent, AisConsentActionRequest request) {
+        return incrementUsage(consent, LocalDate.now(), request);
+    }
+
+    /**
+     * Reserves usage of the consent for the request URI at the current date before the data is read from ASPSP
+     *
+     * @param consent AIS consent
+     * @param request action request with the request URI
+     * @return date of the reserved usage, that has to be given on release, or empty value if frequency per day of the
+     * consent is already exceeded
+     */
+    @Transactional
+    public Optional<LocalDate> reserveUsage(ConsentEntity consent, AisConsentActionRequest request) {
+        LocalDate usageDate = LocalDate.now();
+        return incrementUsage(consent, usageDate, request)
+                   ? Optional.of(usageDate)
+                   : Optional.empty();
+    }
+
+    /**
+     * Decrements usage of the consent for the request URI at the date of the reservation, e.g. if the usage has been
+     * reserved, but the data couldn't be read
+     *
+     * @param consent AIS consent
+     * @param request action request with the request URI and the usage date returned by {@link #reserveUsage(ConsentEntity, AisConsentActionRequest)}
+     */
+    @Transactional
+    public void decrementUsage(ConsentEntity consent, AisConsentActionRequest request) {
+        aisConsentUsageRepository.decrementUsage(consent, request.getUsageDate(), request.getRequestUri());
     }
 
     @Transactional
     public void resetUsage(ConsentEntity consent) {
-        List<AisConsentUsage> aisConsentUsageList = aisConsentUsageRepository.findReadByConsentAndUsageDate(consent, LocalDate.now());
-        aisConsentUsageList.forEach(acu -> acu.setUsage(0));
-        aisConsentUsageRepository.saveAll(aisConsentUsageList);
+        aisConsentUsageRepository.resetUsage(consent, LocalDate.now());
     }
 
     @Transactional
     public Map<String, Integer> getUsageCounterMap(ConsentEntity consent) {
-        return aisConsentUsageRepository.findReadByConsentAndUsageDate(consent, LocalDate.now())
+        return aisConsentUsageRepository.findUsageCountersByConsentAndUsageDate(consent, LocalDate.now())
                    .stream()
-                   .collect(Collectors.toMap(AisConsentUsage::getRequestUri,
+                   .collect(Collectors.toMap(AisConsentUsageCounter::getRequestUri,
                                              u -> Math.max(consent.getFrequencyPerDay() - u.getUsage(), 0)));
     }
 
-    private AisConsentUsage getUsage(ConsentEntity consent, String requestUri) {
-        return aisConsentUsageRepository.findWriteByConsentAndUsageDateAndRequestUri(consent, LocalDate.now(), requestUri)
-                   .orElseGet(() -> {
-                       AisConsentUsage usage = new AisConsentUsage(consent, requestUri);
-                       consent.addUsage(usage);
-                       return usage;
-                   });
+    private boolean incrementUsage(ConsentEntity consent, LocalDate usageDate, AisConsentActionRequest request) {
+        if (increment(consent, usageDate, request)) {
+            return true;
+        }
+
+        consentJpaRepository.findWriteById(consent.getId());
+
+        // The usage may have been created by another request, while this one was waiting for the lock
+        if (increment(consent, usageDate, request)) {
+            return true;
+        }
+
+        if (aisConsentUsageRepository.existsByConsentAndUsageDateAndRequestUri(consent, usageDate, request.getRequestUri())) {
+            return false;
+        }
+
+        AisConsentUsage aisConsentUsage = new AisConsentUsage(consent, request.getRequestUri());
+        aisConsentUsage.setUsageDate(usageDate);
+        aisConsentUsage.setUsage(1);
+        aisConsentUsage.setResourceId(request.getResourceId());
+        aisConsentUsage.setTransactionId(request.getTransactionId());
+        consent.addUsage(aisConsentUsage);
+        aisConsentUsageRepository.save(aisConsentUsage);
+        return true;
+    }
+
+    private boolean increment(ConsentEntity consent, LocalDate usageDate, AisConsentActionRequest request) {
+        return aisConsentUsageRepository.incrementUsage(consent, usageDate, request.getRequestUri(),
+                                                        request.getResourceId(), request.getTransactionId(),
+                                                        consent.getFrequencyPerDay()) > 0;
     }
 }
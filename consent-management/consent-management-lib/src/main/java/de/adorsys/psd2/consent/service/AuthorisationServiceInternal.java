@@ -32,6 +32,7 @@ import de.adorsys.psd2.consent.service.authorisation.AuthServiceResolver;
 import de.adorsys.psd2.consent.service.authorisation.AuthorisationClosingService;
 import de.adorsys.psd2.consent.service.mapper.AuthorisationMapper;
 import de.adorsys.psd2.consent.service.mapper.ScaMethodMapper;
+import de.adorsys.psd2.consent.service.notification.TppNotificationService;
 import de.adorsys.psd2.xs2a.core.authorisation.Authorisation;
 import de.adorsys.psd2.xs2a.core.authorisation.AuthorisationType;
 import de.adorsys.psd2.xs2a.core.profile.ScaApproach;
@@ -60,6 +61,7 @@ public class AuthorisationServiceInternal implements AuthorisationService {
     private final AuthorisationMapper authorisationMapper;
     private final AuthServiceResolver authServiceResolver;
     private final AuthorisationClosingService authorisationClosingService;
+    private final TppNotificationService tppNotificationService;
 
     @Transactional
     @Override
@@ -134,7 +136,9 @@ public class AuthorisationServiceInternal implements AuthorisationService {
                        .build();
         }
 
+        ScaStatus previousStatus = authorisation.getScaStatus();
         AuthorisationEntity updatedAuthorisation = authServiceResolver.getAuthService(request.getAuthorisationType()).doUpdateAuthorisation(authorisation, request);
+        tppNotificationService.notifyScaStatusChanged(updatedAuthorisation, previousStatus);
 
         return CmsResponse.<Authorisation>builder()
                    .payload(authorisationMapper.mapToAuthorisation(updatedAuthorisation))
@@ -155,7 +159,9 @@ public class AuthorisationServiceInternal implements AuthorisationService {
         }
 
         AuthorisationEntity authorisationEntity = authorisationOptional.get();
+        ScaStatus previousStatus = authorisationEntity.getScaStatus();
         authorisationEntity.setScaStatus(scaStatus);
+        tppNotificationService.notifyScaStatusChanged(authorisationEntity, previousStatus);
 
         return CmsResponse.<Boolean>builder()
                    .payload(true)
@@ -19,6 +19,7 @@ package de.adorsys.psd2.consent.service;
 import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentData;
 import de.adorsys.psd2.consent.repository.PisCommonPaymentDataRepository;
 import de.adorsys.psd2.consent.repository.specification.PisCommonPaymentDataSpecification;
+import de.adorsys.psd2.consent.service.notification.TppNotificationService;
 import de.adorsys.psd2.xs2a.core.pis.InternalPaymentStatus;
 import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
 import de.adorsys.psd2.xs2a.core.tpp.TppRedirectUri;
@@ -37,6 +38,7 @@ import java.util.Optional;
 public class CommonPaymentDataService {
     private final PisCommonPaymentDataRepository pisCommonPaymentDataRepository;
     private final PisCommonPaymentDataSpecification pisCommonPaymentDataSpecification;
+    private final TppNotificationService tppNotificationService;
 
     public Optional<PisCommonPaymentData> getPisCommonPaymentData(String paymentId, @Nullable String instanceId) {
         Specification<PisCommonPaymentData> specification = Optional.ofNullable(instanceId)
@@ -48,11 +50,13 @@ public class CommonPaymentDataService {
 
     @Transactional
     public boolean updateStatusInPaymentData(PisCommonPaymentData paymentData, TransactionStatus status) {
+        TransactionStatus previousStatus = paymentData.getTransactionStatus();
         paymentData.setTransactionStatus(status);
         if (status == TransactionStatus.PATC) {
             paymentData.setMultilevelScaRequired(true);
         }
         PisCommonPaymentData saved = pisCommonPaymentDataRepository.save(paymentData);
+        tppNotificationService.notifyPaymentStatusChanged(saved, previousStatus);
         return saved.getPaymentId() != null;
     }
 
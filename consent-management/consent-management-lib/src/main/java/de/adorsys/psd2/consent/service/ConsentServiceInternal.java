@@ -33,6 +33,7 @@ import de.adorsys.psd2.consent.repository.TppInfoRepository;
 import de.adorsys.psd2.consent.service.mapper.CmsConsentMapper;
 import de.adorsys.psd2.consent.service.mapper.PsuDataMapper;
 import de.adorsys.psd2.consent.service.migration.AisConsentLazyMigrationService;
+import de.adorsys.psd2.consent.service.notification.TppNotificationService;
 import de.adorsys.psd2.consent.service.psu.CmsPsuService;
 import de.adorsys.psd2.xs2a.core.authorisation.AuthorisationType;
 import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
@@ -67,6 +68,7 @@ public class ConsentServiceInternal implements ConsentService {
     private final CmsConsentMapper cmsConsentMapper;
     private final AisConsentLazyMigrationService aisConsentLazyMigrationService;
     private final AspspProfileService aspspProfileService;
+    private final TppNotificationService tppNotificationService;
 
     /**
      * Creates consent.
@@ -302,19 +304,24 @@ public class ConsentServiceInternal implements ConsentService {
     }
 
     private boolean setStatusAndSaveConsent(ConsentEntity consent, ConsentStatus status) throws WrongChecksumException {
+        ConsentStatus previousStatus = consent.getConsentStatus();
         consent.setLastActionDate(LocalDate.now());
         consent.setConsentStatus(status);
 
         ConsentEntity aisConsent = aisConsentRepository.verifyAndSave(consent);
+        Optional.ofNullable(aisConsent)
+            .ifPresent(c -> tppNotificationService.notifyConsentStatusChanged(c, previousStatus));
 
         return Optional.ofNullable(aisConsent)
                    .isPresent();
     }
 
     private void updateStatus(ConsentEntity aisConsent) {
-        aisConsent.setConsentStatus(aisConsent.getConsentStatus() == RECEIVED || aisConsent.getConsentStatus() == PARTIALLY_AUTHORISED
+        ConsentStatus previousStatus = aisConsent.getConsentStatus();
+        aisConsent.setConsentStatus(previousStatus == RECEIVED || previousStatus == PARTIALLY_AUTHORISED
                                         ? REJECTED
                                         : TERMINATED_BY_TPP);
+        tppNotificationService.notifyConsentStatusChanged(aisConsent, previousStatus);
     }
 
     private ConsentEntity adjustConsentEntity(ConsentEntity consentEntity, ConsentType consentType) {
@@ -16,19 +16,29 @@
 
 package de.adorsys.psd2.consent.service;
 
+import de.adorsys.psd2.consent.api.AspspDataService;
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.WrongChecksumException;
 import de.adorsys.psd2.consent.api.ais.CmsConsent;
+import de.adorsys.psd2.consent.api.authorisation.AisAuthorisationParentHolder;
+import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationResponse;
 import de.adorsys.psd2.consent.api.consent.CmsCreateConsentResponse;
+import de.adorsys.psd2.consent.api.consent.CompleteConsentCreationRequest;
+import de.adorsys.psd2.consent.api.consent.CompleteConsentCreationResponse;
+import de.adorsys.psd2.consent.api.service.AuthorisationService;
 import de.adorsys.psd2.consent.api.service.ConsentService;
 import de.adorsys.psd2.consent.api.service.ConsentServiceEncrypted;
 import de.adorsys.psd2.consent.service.security.SecurityDataService;
+import de.adorsys.psd2.xs2a.core.consent.AspspConsentData;
 import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
 import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.BooleanUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
 import java.util.List;
 import java.util.Optional;
@@ -42,6 +52,8 @@ import static de.adorsys.psd2.consent.api.CmsError.TECHNICAL_ERROR;
 public class ConsentServiceInternalEncrypted implements ConsentServiceEncrypted {
     private final SecurityDataService securityDataService;
     private final ConsentService consentService;
+    private final AspspDataService aspspDataService;
+    private final AuthorisationService authorisationService;
 
     @Override
     @Transactional(rollbackFor = WrongChecksumException.class)
@@ -157,4 +169,59 @@ public class ConsentServiceInternalEncrypted implements ConsentServiceEncrypted
 
         return consentService.updateMultilevelScaRequired(decryptIdOptional.get(), multilevelScaRequired);
     }
+
+    @Override
+    @Transactional(rollbackFor = WrongChecksumException.class)
+    public CmsResponse<CompleteConsentCreationResponse> completeConsentCreation(String encryptedConsentId, CompleteConsentCreationRequest request) throws WrongChecksumException {
+        Optional<String> decryptIdOptional = securityDataService.decryptId(encryptedConsentId);
+
+        if (decryptIdOptional.isEmpty()) {
+            log.info("Encrypted Consent ID: [{}]. Complete consent creation failed, couldn't decrypt consent id",
+                     encryptedConsentId);
+            return CmsResponse.<CompleteConsentCreationResponse>builder()
+                       .error(TECHNICAL_ERROR)
+                       .build();
+        }
+
+        String consentId = decryptIdOptional.get();
+        byte[] aspspConsentData = request.getAspspConsentData();
+        if (ArrayUtils.isNotEmpty(aspspConsentData)
+                && !aspspDataService.updateAspspConsentData(new AspspConsentData(aspspConsentData, encryptedConsentId))) {
+            log.info("Consent ID: [{}]. Complete consent creation failed, couldn't store ASPSP consent data", consentId);
+            return rollbackWithTechnicalError();
+        }
+
+        // default value is false, so the consent is updated only for non-default (true) case
+        if (request.isMultilevelScaRequired()) {
+            CmsResponse<Boolean> multilevelScaResponse = consentService.updateMultilevelScaRequired(consentId, true);
+
+            if (multilevelScaResponse.hasError() || BooleanUtils.isNotTrue(multilevelScaResponse.getPayload())) {
+                log.info("Consent ID: [{}]. Complete consent creation failed, couldn't update multilevel SCA requirement", consentId);
+                return rollbackWithTechnicalError();
+            }
+        }
+
+        CreateAuthorisationResponse authorisation = null;
+        if (request.getAuthorisationRequest() != null) {
+            CmsResponse<CreateAuthorisationResponse> authorisationResponse = authorisationService.createAuthorisation(new AisAuthorisationParentHolder(consentId), request.getAuthorisationRequest());
+
+            if (authorisationResponse.hasError()) {
+                log.info("Consent ID: [{}]. Complete consent creation failed, couldn't create authorisation", consentId);
+                return rollbackWithTechnicalError();
+            }
+            authorisation = authorisationResponse.getPayload();
+        }
+
+        return CmsResponse.<CompleteConsentCreationResponse>builder()
+                   .payload(new CompleteConsentCreationResponse(authorisation))
+                   .build();
+    }
+
+    private <T> CmsResponse<T> rollbackWithTechnicalError() {
+        // Already written parts of the consent mustn't be committed without the rest
+        TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+        return CmsResponse.<T>builder()
+                   .error(TECHNICAL_ERROR)
+                   .build();
+    }
 }
@@ -25,7 +25,9 @@ import org.jetbrains.annotations.NotNull;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -36,10 +38,23 @@ public class EventServiceEncryptedImpl implements Xs2aEventServiceEncrypted {
     @Override
     @Transactional
     public boolean recordEvent(@NotNull EventBO event) {
+        return eventService.recordEvent(decryptEvent(event));
+    }
+
+    @Override
+    @Transactional
+    public boolean recordEvents(@NotNull List<EventBO> events) {
+        List<EventBO> decryptedEvents = events.stream()
+                                            .map(this::decryptEvent)
+                                            .collect(Collectors.toList());
+        return eventService.recordEvents(decryptedEvents);
+    }
+
+    private EventBO decryptEvent(EventBO event) {
         String decryptedConsentId = decryptId(event.getConsentId());
         String decryptedPaymentId = decryptId(event.getPaymentId());
 
-        EventBO decryptedEvent = EventBO.builder()
+        return EventBO.builder()
                                      .timestamp(event.getTimestamp())
                                      .consentId(decryptedConsentId)
                                      .paymentId(decryptedPaymentId)
@@ -52,7 +67,6 @@ public class EventServiceEncryptedImpl implements Xs2aEventServiceEncrypted {
                                      .internalRequestId(event.getInternalRequestId())
                                      .instanceId(event.getInstanceId())
                                      .build();
-        return eventService.recordEvent(decryptedEvent);
     }
 
     private String decryptId(String id) {
@@ -24,6 +24,8 @@ import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
 import de.adorsys.psd2.consent.repository.specification.PiisConsentEntitySpecification;
 import de.adorsys.psd2.consent.service.mapper.CmsConsentMapper;
 import de.adorsys.psd2.consent.service.migration.PiisConsentLazyMigrationService;
+import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
+import de.adorsys.psd2.xs2a.core.consent.ConsentType;
 import de.adorsys.psd2.xs2a.core.profile.AccountReferenceSelector;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -32,9 +34,13 @@ import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Currency;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 
@@ -43,6 +49,8 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class PiisConsentServiceInternal implements PiisConsentService {
+    private static final Set<ConsentStatus> USABLE_CONSENT_STATUSES = EnumSet.of(ConsentStatus.VALID, ConsentStatus.RECEIVED);
+
     private final ConsentJpaRepository consentJpaRepository;
     private final CmsConsentMapper cmsConsentMapper;
     private final PiisConsentEntitySpecification piisConsentEntitySpecification;
@@ -51,13 +59,17 @@ public class PiisConsentServiceInternal implements PiisConsentService {
     @Override
     @Transactional
     public CmsResponse<List<CmsConsent>> getPiisConsentListByAccountIdentifier(@Nullable Currency currency, AccountReferenceSelector accountReferenceSelector) {
-        Specification<ConsentEntity> specification;
+        List<ConsentEntity> consentEntities = findUsableConsents(currency, accountReferenceSelector);
 
-        specification = currency == null
-                            ? piisConsentEntitySpecification.byAccountReferenceSelector(accountReferenceSelector)
-                            : piisConsentEntitySpecification.byCurrencyAndAccountReferenceSelector(currency, accountReferenceSelector);
+        if (consentEntities.isEmpty()) {
+            // Consents, that can't be used anymore, are still needed for XS2A to distinguish between missing and invalid consent
+            Specification<ConsentEntity> specification = currency == null
+                                                              ? piisConsentEntitySpecification.byAccountReferenceSelector(accountReferenceSelector)
+                                                              : piisConsentEntitySpecification.byCurrencyAndAccountReferenceSelector(currency, accountReferenceSelector);
+            consentEntities = consentJpaRepository.findAll(specification);
+        }
 
-        List<CmsConsent> consents = consentJpaRepository.findAll(specification).stream()
+        List<CmsConsent> consents = consentEntities.stream()
             .map( piisConsentLazyMigrationService::migrateIfNeeded )
             .map( consentEntity -> cmsConsentMapper.mapToCmsConsent(consentEntity, Collections.emptyList(), Collections.emptyMap()) )
             .collect(Collectors.toList());
@@ -66,4 +78,24 @@ public class PiisConsentServiceInternal implements PiisConsentService {
                    .payload(consents)
                    .build();
     }
+
+    private List<ConsentEntity> findUsableConsents(@Nullable Currency currency, AccountReferenceSelector accountReferenceSelector) {
+        String accountIdentifier = accountReferenceSelector.getAccountValue();
+        List<String> consentTypes = piisConsentEntitySpecification.getTypes().stream()
+                                        .map(ConsentType::name)
+                                        .collect(Collectors.toList());
+        LocalDate today = LocalDate.now();
+
+        List<Long> consentIds = currency == null
+                                    ? consentJpaRepository.findUsableIdsByAccountIdentifier(accountIdentifier, consentTypes, USABLE_CONSENT_STATUSES, today)
+                                    : consentJpaRepository.findUsableIdsByAccountIdentifierAndCurrency(accountIdentifier, currency, consentTypes, USABLE_CONSENT_STATUSES, today);
+
+        if (consentIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<ConsentEntity> consentEntities = new ArrayList<>();
+        consentJpaRepository.findAllById(consentIds).forEach(consentEntities::add);
+        return consentEntities;
+    }
 }
@@ -18,8 +18,27 @@ package de.adorsys.psd2.consent.service;
 
 import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentData;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 
 public interface PisCommonPaymentConfirmationExpirationService extends ConfirmationExpirationService<PisCommonPaymentData> {
     List<PisCommonPaymentData> updatePaymentDataListOnConfirmationExpiration(List<PisCommonPaymentData> pisCommonPaymentDataList);
+
+    /**
+     * Calculates the moment, before which not confirmed payments of the instance had to be confirmed
+     *
+     * @param instanceId ID of the instance
+     * @return latest creation timestamp of not confirmed payments with expired confirmation
+     */
+    OffsetDateTime getConfirmationExpirationThreshold(String instanceId);
+
+    /**
+     * Rejects payments with given IDs, which are still not confirmed and were created before the given threshold,
+     * in a separate transaction
+     *
+     * @param paymentIds    IDs of payments
+     * @param createdBefore confirmation expiration threshold, calculated by {@link #getConfirmationExpirationThreshold(String)}
+     * @return number of rejected payments
+     */
+    int updatePaymentsOnConfirmationExpiration(List<Long> paymentIds, OffsetDateTime createdBefore);
 }
@@ -27,16 +27,21 @@ import de.adorsys.psd2.xs2a.core.sca.ScaStatus;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.collections4.IterableUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class PisCommonPaymentConfirmationExpirationServiceImpl implements PisCommonPaymentConfirmationExpirationService {
+    private static final Set<TransactionStatus> NOT_CONFIRMED_STATUSES = EnumSet.of(TransactionStatus.RCVD, TransactionStatus.PATC);
+
     private final PisCommonPaymentDataRepository pisCommonPaymentDataRepository;
     private final AuthorisationRepository authorisationRepository;
     private final AspspProfileService aspspProfileService;
@@ -83,8 +88,35 @@ public class PisCommonPaymentConfirmationExpirationServiceImpl implements PisCom
         if (pisCommonPaymentData == null) {
             return false;
         }
-        long expirationPeriodMs = aspspProfileService.getAspspSettings(pisCommonPaymentData.getInstanceId()).getPis().getNotConfirmedPaymentExpirationTimeMs();
-        return pisCommonPaymentData.isConfirmationExpired(expirationPeriodMs);
+        return pisCommonPaymentData.isConfirmationExpired(getExpirationPeriodMs(pisCommonPaymentData.getInstanceId()));
+    }
+
+    @Override
+    public OffsetDateTime getConfirmationExpirationThreshold(String instanceId) {
+        return OffsetDateTime.now().minus(getExpirationPeriodMs(instanceId), ChronoUnit.MILLIS);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Override
+    public int updatePaymentsOnConfirmationExpiration(List<Long> paymentIds, OffsetDateTime createdBefore) {
+        List<String> paymentExternalIds = pisCommonPaymentDataRepository.findPaymentIdsByIdInAndTransactionStatusInAndCreationTimestampBefore(paymentIds, NOT_CONFIRMED_STATUSES, createdBefore);
+        if (paymentExternalIds.isEmpty()) {
+            return 0;
+        }
+
+        // Status is checked again by the update, so that payments confirmed in the meantime are not rejected
+        int rejectedCount = pisCommonPaymentDataRepository.updateTransactionStatusByPaymentIdInAndTransactionStatusIn(paymentExternalIds, NOT_CONFIRMED_STATUSES, TransactionStatus.RJCT,
+                                                                                                                      OffsetDateTime.now());
+
+        List<AuthorisationEntity> authorisations =
+            authorisationRepository.findAllByParentExternalIdInAndTypeIn(paymentExternalIds, EnumSet.of(AuthorisationType.PIS_CREATION, AuthorisationType.PIS_CANCELLATION));
+        authorisations.forEach(auth -> auth.setScaStatus(ScaStatus.FAILED));
+        authorisationRepository.saveAll(authorisations);
+        return rejectedCount;
+    }
+
+    private long getExpirationPeriodMs(String instanceId) {
+        return aspspProfileService.getAspspSettings(instanceId).getPis().getNotConfirmedPaymentExpirationTimeMs();
     }
 
     @Transactional
@@ -23,6 +23,7 @@ import de.adorsys.psd2.consent.api.pis.PisPayment;
 import de.adorsys.psd2.consent.api.pis.proto.PisPaymentInfo;
 import de.adorsys.psd2.consent.api.service.PisCommonPaymentService;
 import de.adorsys.psd2.consent.domain.AuthorisationEntity;
+import de.adorsys.psd2.consent.domain.blob.BlobCodec;
 import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentData;
 import de.adorsys.psd2.consent.repository.AuthorisationRepository;
 import de.adorsys.psd2.consent.repository.PisCommonPaymentDataRepository;
@@ -30,6 +31,7 @@ import de.adorsys.psd2.consent.repository.PisPaymentDataRepository;
 import de.adorsys.psd2.consent.repository.TppInfoRepository;
 import de.adorsys.psd2.consent.service.mapper.PisCommonPaymentMapper;
 import de.adorsys.psd2.consent.service.mapper.PsuDataMapper;
+import de.adorsys.psd2.consent.service.notification.TppNotificationService;
 import de.adorsys.psd2.xs2a.core.authorisation.AuthorisationType;
 import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
 import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
@@ -60,6 +62,8 @@ public class PisCommonPaymentServiceInternal implements PisCommonPaymentService
     private final PisCommonPaymentConfirmationExpirationService pisCommonPaymentConfirmationExpirationService;
     private final CorePaymentsConvertService corePaymentsConvertService;
     private final AuthorisationRepository authorisationRepository;
+    private final TppNotificationService tppNotificationService;
+    private final BlobCodec blobCodec;
 
     /**
      * Creates new pis common payment with full information about payment
@@ -159,7 +163,7 @@ public class PisCommonPaymentServiceInternal implements PisCommonPaymentService
                                            .collect(Collectors.toList());
         byte[] paymentData = corePaymentsConvertService.buildPaymentData(pisPayments, pisCommonPaymentData.getPaymentType());
         if (paymentData != null) {
-            pisCommonPaymentData.setPayment(paymentData);
+            pisCommonPaymentData.setPayment(blobCodec.encode(paymentData));
             pisCommonPaymentResponse.setPaymentData(paymentData);
         }
     }
@@ -242,8 +246,11 @@ public class PisCommonPaymentServiceInternal implements PisCommonPaymentService
     }
 
     private PisCommonPaymentData setStatusAndSaveCommonPaymentData(PisCommonPaymentData commonPaymentData, TransactionStatus status) {
+        TransactionStatus previousStatus = commonPaymentData.getTransactionStatus();
         commonPaymentData.setTransactionStatus(status);
-        return pisCommonPaymentDataRepository.save(commonPaymentData);
+        PisCommonPaymentData saved = pisCommonPaymentDataRepository.save(commonPaymentData);
+        tppNotificationService.notifyPaymentStatusChanged(saved, previousStatus);
+        return saved;
     }
 
     private Optional<PisCommonPaymentData> readPisCommonPaymentDataByPaymentId(String paymentId) {
@@ -16,19 +16,28 @@
 
 package de.adorsys.psd2.consent.service;
 
+import de.adorsys.psd2.consent.api.AspspDataService;
 import de.adorsys.psd2.consent.api.CmsResponse;
+import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationResponse;
+import de.adorsys.psd2.consent.api.authorisation.PisAuthorisationParentHolder;
 import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentResponse;
+import de.adorsys.psd2.consent.api.pis.InitiatePisCommonPaymentRequest;
+import de.adorsys.psd2.consent.api.pis.InitiatePisCommonPaymentResponse;
 import de.adorsys.psd2.consent.api.pis.PisCommonPaymentResponse;
 import de.adorsys.psd2.consent.api.pis.proto.PisPaymentInfo;
+import de.adorsys.psd2.consent.api.service.AuthorisationService;
 import de.adorsys.psd2.consent.api.service.PisCommonPaymentService;
 import de.adorsys.psd2.consent.api.service.PisCommonPaymentServiceEncrypted;
 import de.adorsys.psd2.consent.service.security.SecurityDataService;
+import de.adorsys.psd2.xs2a.core.consent.AspspConsentData;
 import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
 import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.ArrayUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
 import java.util.List;
 import java.util.Optional;
@@ -42,6 +51,8 @@ import static de.adorsys.psd2.consent.api.CmsError.TECHNICAL_ERROR;
 public class PisCommonPaymentServiceInternalEncrypted implements PisCommonPaymentServiceEncrypted {
     private final SecurityDataService securityDataService;
     private final PisCommonPaymentService pisCommonPaymentService;
+    private final AspspDataService aspspDataService;
+    private final AuthorisationService authorisationService;
 
     @Override
     @Transactional
@@ -67,6 +78,50 @@ public class PisCommonPaymentServiceInternalEncrypted implements PisCommonPaymen
                    .build();
     }
 
+    @Override
+    @Transactional
+    public CmsResponse<InitiatePisCommonPaymentResponse> initiateCommonPayment(InitiatePisCommonPaymentRequest request) {
+        CmsResponse<CreatePisCommonPaymentResponse> paymentResponse = pisCommonPaymentService.createCommonPayment(request.getPaymentInfo());
+
+        if (paymentResponse.hasError()) {
+            return CmsResponse.<InitiatePisCommonPaymentResponse>builder()
+                       .error(paymentResponse.getError())
+                       .build();
+        }
+
+        CreatePisCommonPaymentResponse payment = paymentResponse.getPayload();
+        String paymentId = payment.getPaymentId();
+        Optional<String> encryptIdOptional = securityDataService.encryptId(paymentId);
+
+        if (encryptIdOptional.isEmpty()) {
+            log.info("Payment ID: [{}]. Initiate common payment failed, couldn't encrypt payment id", paymentId);
+            return rollbackWithTechnicalError();
+        }
+
+        String encryptedPaymentId = encryptIdOptional.get();
+        byte[] aspspConsentData = request.getAspspConsentData();
+        if (ArrayUtils.isNotEmpty(aspspConsentData)
+                && !aspspDataService.updateAspspConsentData(new AspspConsentData(aspspConsentData, encryptedPaymentId))) {
+            log.info("Payment ID: [{}]. Initiate common payment failed, couldn't store ASPSP consent data", paymentId);
+            return rollbackWithTechnicalError();
+        }
+
+        CreateAuthorisationResponse authorisation = null;
+        if (request.getAuthorisationRequest() != null) {
+            CmsResponse<CreateAuthorisationResponse> authorisationResponse = authorisationService.createAuthorisation(new PisAuthorisationParentHolder(paymentId), request.getAuthorisationRequest());
+
+            if (authorisationResponse.hasError()) {
+                log.info("Payment ID: [{}]. Initiate common payment failed, couldn't create authorisation", paymentId);
+                return rollbackWithTechnicalError();
+            }
+            authorisation = authorisationResponse.getPayload();
+        }
+
+        return CmsResponse.<InitiatePisCommonPaymentResponse>builder()
+                   .payload(new InitiatePisCommonPaymentResponse(new CreatePisCommonPaymentResponse(encryptedPaymentId, payment.getTppNotificationContentPreferred()), authorisation))
+                   .build();
+    }
+
     @Override
     @Transactional
     public CmsResponse<TransactionStatus> getPisCommonPaymentStatusById(String encryptedPaymentId) {
@@ -160,4 +215,12 @@ public class PisCommonPaymentServiceInternalEncrypted implements PisCommonPaymen
 
         return pisCommonPaymentService.getPsuDataListByPaymentId(decryptIdOptional.get());
     }
+
+    private <T> CmsResponse<T> rollbackWithTechnicalError() {
+        // Already written parts of the payment mustn't be committed without the rest
+        TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+        return CmsResponse.<T>builder()
+                   .error(TECHNICAL_ERROR)
+                   .build();
+    }
 }
@@ -30,8 +30,13 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -61,6 +66,32 @@ public class TppServiceInternal implements TppService {
                    .build();
     }
 
+    @Override
+    @Transactional
+    public CmsResponse<Set<String>> updateTppInfos(@NotNull List<TppInfo> tppInfos) {
+        Set<String> authorisationNumbers = tppInfos.stream()
+                                               .map(TppInfo::getAuthorisationNumber)
+                                               .collect(Collectors.toSet());
+        Map<String, TppInfoEntity> tppInfoEntities = tppInfoRepository.findFirstByAuthorisationNumberInAndInstanceId(authorisationNumbers, serviceInstanceId).stream()
+                                                         .collect(Collectors.toMap(TppInfoEntity::getAuthorisationNumber, Function.identity()));
+
+        Set<String> updatedTpps = new HashSet<>();
+        for (TppInfo tppInfo : tppInfos) {
+            TppInfoEntity tppInfoEntity = tppInfoEntities.get(tppInfo.getAuthorisationNumber());
+            if (tppInfoEntity == null) {
+                continue;
+            }
+            if (isRolesChanged(tppInfoEntity.getTppRoles(), tppInfo.getTppRoles())) {
+                tppInfoEntity.setTppRoles(tppInfo.getTppRoles());
+            }
+            updatedTpps.add(tppInfo.getAuthorisationNumber());
+        }
+
+        return CmsResponse.<Set<String>>builder()
+                   .payload(updatedTpps)
+                   .build();
+    }
+
     private boolean isRolesChanged(List<TppRole> savedTppRoles, List<TppRole> tppRoles) {
         return CollectionUtils.isNotEmpty(savedTppRoles) && CollectionUtils.isEmpty(tppRoles)
                    || CollectionUtils.isEmpty(savedTppRoles) && CollectionUtils.isNotEmpty(tppRoles)
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service;
+
+import de.adorsys.psd2.consent.api.tpp.TppStopListChangedEvent;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Publishes {@link TppStopListChangedEvent} after the current transaction is committed, so that listeners reading
+ * the stop list see the changes
+ */
+@Component
+@RequiredArgsConstructor
+public class TppStopListChangePublisher {
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    /**
+     * Publishes the event after commit of the current transaction or immediately if there is no active transaction
+     *
+     * @param instanceId ID of the changed instance or <code>null</code> if stop lists of all instances could have been changed
+     */
+    public void publishStopListChanged(@Nullable String instanceId) {
+        TppStopListChangedEvent event = new TppStopListChangedEvent(instanceId);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            applicationEventPublisher.publishEvent(event);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                applicationEventPublisher.publishEvent(event);
+            }
+        });
+    }
+}
@@ -18,20 +18,37 @@ package de.adorsys.psd2.consent.service;
 
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.service.TppStopListService;
+import de.adorsys.psd2.consent.api.tpp.TppStopListChanges;
 import de.adorsys.psd2.consent.domain.TppStopListEntity;
 import de.adorsys.psd2.consent.repository.TppStopListRepository;
+import de.adorsys.psd2.xs2a.core.tpp.TppStatus;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.Nullable;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class TppStopListServiceInternal implements TppStopListService {
+    /**
+     * Changes are returned with this overlap to cover transactions that were committed after the previous call,
+     * but changed the stop list before it, as well as clock differences between CMS instances
+     */
+    private static final long CHANGES_OVERLAP_MS = 60_000;
+
     private final TppStopListRepository tppStopListRepository;
 
     @Value("${xs2a.cms.service.instance-id:UNDEFINED}")
@@ -39,7 +56,7 @@ public class TppStopListServiceInternal implements TppStopListService {
 
     @Override
     public CmsResponse<Boolean> checkIfTppBlocked(String tppAuthorisationNumber, String instanceId) {
-        String requestedInstanceId = StringUtils.isBlank(instanceId) ? serviceInstanceId : instanceId;
+        String requestedInstanceId = getRequestedInstanceId(instanceId);
         Optional<TppStopListEntity> stopListEntityOptional = tppStopListRepository.findByTppAuthorisationNumberAndInstanceId(tppAuthorisationNumber,
                                                                                                                              requestedInstanceId);
 
@@ -56,4 +73,39 @@ public class TppStopListServiceInternal implements TppStopListService {
                    .payload(blocked)
                    .build();
     }
+
+    @Override
+    public CmsResponse<TppStopListChanges> getStopListChanges(String instanceId, @Nullable Long sinceVersion) {
+        String requestedInstanceId = getRequestedInstanceId(instanceId);
+        long version = System.currentTimeMillis();
+
+        TppStopListChanges changes = sinceVersion == null
+                                         ? getFullStopList(requestedInstanceId, version)
+                                         : getChangedStopList(requestedInstanceId, sinceVersion, version);
+
+        return CmsResponse.<TppStopListChanges>builder()
+                   .payload(changes)
+                   .build();
+    }
+
+    private TppStopListChanges getFullStopList(String instanceId, long version) {
+        Set<String> blocked = tppStopListRepository.findAllByInstanceIdAndStatus(instanceId, TppStatus.BLOCKED).stream()
+                                  .map(TppStopListEntity::getTppAuthorisationNumber)
+                                  .collect(Collectors.toSet());
+        return new TppStopListChanges(version, true, blocked, new HashSet<>());
+    }
+
+    private TppStopListChanges getChangedStopList(String instanceId, long sinceVersion, long version) {
+        OffsetDateTime changedSince = OffsetDateTime.ofInstant(Instant.ofEpochMilli(sinceVersion - CHANGES_OVERLAP_MS), ZoneId.systemDefault());
+        List<TppStopListEntity> changedEntities = tppStopListRepository.findAllByInstanceIdAndLastChangeTimestampGreaterThanEqual(instanceId, changedSince);
+
+        Map<Boolean, Set<String>> changedByBlocked = changedEntities.stream()
+                                                         .collect(Collectors.partitioningBy(TppStopListEntity::isBlocked,
+                                                                                            Collectors.mapping(TppStopListEntity::getTppAuthorisationNumber, Collectors.toSet())));
+        return new TppStopListChanges(version, false, changedByBlocked.get(true), changedByBlocked.get(false));
+    }
+
+    private String getRequestedInstanceId(String instanceId) {
+        return StringUtils.isBlank(instanceId) ? serviceInstanceId : instanceId;
+    }
 }
@@ -26,6 +26,8 @@ import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
 import de.adorsys.psd2.consent.repository.specification.AisConsentSpecification;
 import de.adorsys.psd2.consent.service.mapper.AisConsentMapper;
 import de.adorsys.psd2.consent.service.migration.AisConsentLazyMigrationService;
+import de.adorsys.psd2.consent.service.migration.ConsentDataMigrationState;
+import de.adorsys.psd2.consent.service.migration.ConsentDataMigrationType;
 import de.adorsys.psd2.consent.service.psu.util.PageRequestBuilder;
 import de.adorsys.psd2.xs2a.core.authorisation.AuthorisationType;
 import de.adorsys.psd2.xs2a.core.consent.ConsentType;
@@ -37,7 +39,9 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
@@ -47,7 +51,10 @@ import java.time.ZoneOffset;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -61,6 +68,8 @@ public class CmsAspspAisExportServiceInternal implements CmsAspspAisExportServic
     private final AuthorisationRepository authorisationRepository;
     private final AisConsentLazyMigrationService aisConsentLazyMigrationService;
     private final PageRequestBuilder pageRequestBuilder;
+    private final CmsAspspExportStreamer cmsAspspExportStreamer;
+    private final ConsentDataMigrationState consentDataMigrationState;
 
     @Override
     @Transactional
@@ -132,20 +141,98 @@ public class CmsAspspAisExportServiceInternal implements CmsAspspAisExportServic
         return mapToPageData(consentEntityPage);
     }
 
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamConsentsByTpp(String tppAuthorisationNumber, @Nullable LocalDate createDateFrom,
+                                    @Nullable LocalDate createDateTo, @Nullable PsuIdData psuIdData,
+                                    @NotNull String instanceId, @Nullable String additionalTppInfo,
+                                    @Nullable String afterConsentId, int limit,
+                                    @NotNull Consumer<CmsAisAccountConsent> consumer) {
+        if (StringUtils.isBlank(tppAuthorisationNumber) || StringUtils.isBlank(instanceId)) {
+            log.info("TPP ID: [{}], InstanceId: [{}]. Stream Consents by TPP: Some of these two values are empty", tppAuthorisationNumber, instanceId);
+            return;
+        }
+
+        stream(aisConsentSpecification.byTppIdAndCreationPeriodAndPsuIdDataAndInstanceId(tppAuthorisationNumber, createDateFrom, createDateTo, psuIdData, instanceId, additionalTppInfo),
+               afterConsentId, limit, consumer);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamConsentsByPsuAndAdditionalTppInfo(PsuIdData psuIdData, @Nullable LocalDate createDateFrom,
+                                                        @Nullable LocalDate createDateTo, @NotNull String instanceId,
+                                                        @Nullable String additionalTppInfo,
+                                                        @Nullable String afterConsentId, int limit,
+                                                        @NotNull Consumer<CmsAisAccountConsent> consumer) {
+        if (psuIdData == null || psuIdData.isEmpty() || StringUtils.isBlank(instanceId)) {
+            log.info("InstanceId: [{}]. Stream consents by Psu failed, psuIdData or instanceId is empty or null.",
+                     instanceId);
+            return;
+        }
+
+        stream(aisConsentSpecification.byPsuIdDataAndCreationPeriodAndInstanceIdAndAdditionalTppInfo(psuIdData, createDateFrom, createDateTo, instanceId, additionalTppInfo),
+               afterConsentId, limit, consumer);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamConsentsByAccountIdAndAdditionalTppInfo(@NotNull String aspspAccountId, @Nullable LocalDate createDateFrom,
+                                                              @Nullable LocalDate createDateTo, @NotNull String instanceId,
+                                                              @Nullable String additionalTppInfo,
+                                                              @Nullable String afterConsentId, int limit,
+                                                              @NotNull Consumer<CmsAisAccountConsent> consumer) {
+        if (StringUtils.isBlank(aspspAccountId) || StringUtils.isBlank(instanceId)) {
+            log.info("InstanceId: [{}], aspspAccountId: [{}]. Stream consents by accountId failed, aspspAccountId or instanceId is empty or null.",
+                     instanceId, aspspAccountId);
+            return;
+        }
+
+        stream(aisConsentSpecification.byAspspAccountIdAndCreationPeriodAndInstanceIdAndAdditionalTppInfo(aspspAccountId, createDateFrom, createDateTo, instanceId, additionalTppInfo),
+               afterConsentId, limit, consumer);
+    }
+
+    private void stream(Specification<ConsentEntity> specification, @Nullable String afterConsentId, int limit,
+                        Consumer<CmsAisAccountConsent> consumer) {
+        Long afterId = null;
+        if (afterConsentId != null) {
+            Optional<ConsentEntity> afterConsent = consentJpaRepository.findByExternalId(afterConsentId);
+            if (!afterConsent.isPresent()) {
+                log.info("Consent ID: [{}]. Stream consents failed, consent to continue after is not found.", afterConsentId);
+                return;
+            }
+            afterId = afterConsent.get().getId();
+        }
+
+        boolean readOnly = !consentDataMigrationState.isLazyMigrationRequired(ConsentDataMigrationType.AIS);
+        cmsAspspExportStreamer.stream(ConsentEntity.class, specification, ConsentEntity::getId, afterId, limit, readOnly,
+                                      this::mapToCmsAisAccountConsents, consumer);
+    }
+
     private PageData<Collection<CmsAisAccountConsent>> mapToPageData(Page<ConsentEntity> entities) {
-        return new PageData<>(entities
-                                  .stream()
-                                  .map(aisConsentLazyMigrationService::migrateIfNeeded)
-                                  .map(this::mapToCmsAisAccountConsentWithAuthorisations)
-                                  .collect(Collectors.toList()),
+        return new PageData<>(mapToCmsAisAccountConsents(entities.getContent()),
                               entities.getPageable().getPageNumber(),
                               entities.getPageable().getPageSize(),
                               entities.getTotalElements());
     }
 
-    private CmsAisAccountConsent mapToCmsAisAccountConsentWithAuthorisations(ConsentEntity aisConsentEntity) {
-        List<AuthorisationEntity> authorisations =
-            authorisationRepository.findAllByParentExternalIdAndType(aisConsentEntity.getExternalId(), AuthorisationType.CONSENT);
-        return aisConsentMapper.mapToCmsAisAccountConsent(aisConsentEntity, authorisations);
+    private List<CmsAisAccountConsent> mapToCmsAisAccountConsents(List<ConsentEntity> consentEntities) {
+        if (consentEntities.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<ConsentEntity> migratedConsents = consentEntities.stream()
+                                                   .map(aisConsentLazyMigrationService::migrateIfNeeded)
+                                                   .collect(Collectors.toList());
+        Set<String> consentIds = migratedConsents.stream()
+                                     .map(ConsentEntity::getExternalId)
+                                     .collect(Collectors.toSet());
+        Map<String, List<AuthorisationEntity>> authorisationsByConsentId =
+            authorisationRepository.findAllByParentExternalIdInAndType(consentIds, AuthorisationType.CONSENT).stream()
+                .collect(Collectors.groupingBy(AuthorisationEntity::getParentExternalId));
+
+        return migratedConsents.stream()
+                   .map(consent -> aisConsentMapper.mapToCmsAisAccountConsent(consent,
+                                                                              authorisationsByConsentId.getOrDefault(consent.getExternalId(), Collections.emptyList())))
+                   .collect(Collectors.toList());
     }
 }
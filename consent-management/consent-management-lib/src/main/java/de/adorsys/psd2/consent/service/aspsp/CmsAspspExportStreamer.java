@@ -0,0 +1,130 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.service.aspsp;
+
+import de.adorsys.psd2.consent.repository.KeysetChunkRepository;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Passes exported entities to the consumer chunk by chunk without loading the whole export into memory.
+ * <p>
+ * Every chunk is read and mapped in its own short transaction, mapped objects are passed to the consumer after
+ * the transaction is completed. Thus no database connection is held, while the consumer writes to a slow client.
+ */
+@Component
+public class CmsAspspExportStreamer {
+    private final KeysetChunkRepository keysetChunkRepository;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${xs2a.cms.aspsp.export.chunk-size:100}")
+    private int chunkSize;
+
+    public CmsAspspExportStreamer(KeysetChunkRepository keysetChunkRepository, PlatformTransactionManager transactionManager) {
+        this.keysetChunkRepository = keysetChunkRepository;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Reads entities matching given specification in chunks ordered by ID and passes mapped entities to the consumer
+     *
+     * @param entityClass   class of exported entity
+     * @param specification specification of exported entities, <code>null</code> value means empty export
+     * @param idExtractor   function returning ID of the entity
+     * @param afterId       ID of the last already exported entity, <code>null</code> to start from the beginning
+     * @param limit         maximum number of exported entities, non-positive value means no limit
+     * @param readOnly      whether chunks are read in read-only transactions, <code>false</code> if the chunk mapper
+     *                      may write to the database, e.g. during lazy migration of consent data
+     * @param chunkMapper   function mapping the whole chunk of entities, so that related data can be loaded for the chunk at once
+     * @param consumer      consumer of mapped entities
+     * @param <T>           type of the entity
+     * @param <R>           type of exported object
+     */
+    public <T, R> void stream(@NotNull Class<T> entityClass, @Nullable Specification<T> specification,
+                              @NotNull ToLongFunction<T> idExtractor, @Nullable Long afterId, int limit, boolean readOnly,
+                              @NotNull Function<List<T>, List<R>> chunkMapper, @NotNull Consumer<R> consumer) {
+        if (specification == null) {
+            return;
+        }
+
+        TransactionTemplate chunkTransactionTemplate = readOnly ? readOnlyTransactionTemplate : transactionTemplate;
+        long remaining = limit > 0 ? limit : Long.MAX_VALUE;
+        Long lastId = afterId;
+        while (remaining > 0) {
+            int currentChunkSize = (int) Math.min(chunkSize, remaining);
+            Long chunkAfterId = lastId;
+            ExportedChunk<R> chunk = chunkTransactionTemplate.execute(status -> readChunk(entityClass, specification, idExtractor, chunkAfterId,
+                                                                                          currentChunkSize, chunkMapper));
+            if (chunk == null || chunk.size == 0) {
+                return;
+            }
+            lastId = chunk.lastId;
+
+            chunk.exported.forEach(consumer);
+            remaining -= chunk.exported.size();
+
+            if (chunk.size < currentChunkSize) {
+                return;
+            }
+        }
+    }
+
+    private <T, R> ExportedChunk<R> readChunk(Class<T> entityClass, Specification<T> specification, ToLongFunction<T> idExtractor,
+                                              @Nullable Long afterId, int chunkSize, Function<List<T>, List<R>> chunkMapper) {
+        List<T> chunk = keysetChunkRepository.findNextChunk(entityClass, specification, afterId, chunkSize);
+        if (chunk.isEmpty()) {
+            return new ExportedChunk<>(0, afterId, Collections.emptyList());
+        }
+
+        Map<Long, T> uniqueEntities = new LinkedHashMap<>();
+        chunk.forEach(entity -> uniqueEntities.putIfAbsent(idExtractor.applyAsLong(entity), entity));
+        List<R> exported = chunkMapper.apply(new ArrayList<>(uniqueEntities.values()));
+        // Detaches entities, if the caller has its own transaction spanning several chunks
+        keysetChunkRepository.flushAndClear();
+        return new ExportedChunk<>(chunk.size(), idExtractor.applyAsLong(chunk.get(chunk.size() - 1)), exported);
+    }
+
+    private static final class ExportedChunk<R> {
+        private final int size;
+        private final Long lastId;
+        private final List<R> exported;
+
+        private ExportedChunk(int size, Long lastId, List<R> exported) {
+            this.size = size;
+            this.lastId = lastId;
+            this.exported = exported;
+        }
+    }
+}
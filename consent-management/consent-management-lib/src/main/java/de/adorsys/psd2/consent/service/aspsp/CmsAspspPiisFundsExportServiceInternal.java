@@ -23,6 +23,8 @@ import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
 import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
 import de.adorsys.psd2.consent.repository.specification.PiisConsentEntitySpecification;
 import de.adorsys.psd2.consent.service.mapper.PiisConsentMapper;
+import de.adorsys.psd2.consent.service.migration.ConsentDataMigrationState;
+import de.adorsys.psd2.consent.service.migration.ConsentDataMigrationType;
 import de.adorsys.psd2.consent.service.migration.PiisConsentLazyMigrationService;
 import de.adorsys.psd2.consent.service.psu.util.PageRequestBuilder;
 import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
@@ -32,12 +34,17 @@ import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -52,6 +59,8 @@ public class CmsAspspPiisFundsExportServiceInternal implements CmsAspspPiisFunds
     private final PiisConsentMapper piisConsentMapper;
     private final PiisConsentLazyMigrationService piisConsentLazyMigrationService;
     private final PageRequestBuilder pageRequestBuilder;
+    private final CmsAspspExportStreamer cmsAspspExportStreamer;
+    private final ConsentDataMigrationState consentDataMigrationState;
 
     @Override
     @Transactional
@@ -106,14 +115,84 @@ public class CmsAspspPiisFundsExportServiceInternal implements CmsAspspPiisFunds
             pageRequestBuilder.getPageable(pageIndex, itemsPerPage)));
     }
 
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamConsentsByTpp(String tppAuthorisationNumber, @Nullable LocalDate createDateFrom,
+                                    @Nullable LocalDate createDateTo, @Nullable PsuIdData psuIdData,
+                                    @Nullable String instanceId, @Nullable String afterConsentId, int limit,
+                                    @NotNull Consumer<CmsPiisConsent> consumer) {
+        if (StringUtils.isBlank(tppAuthorisationNumber)) {
+            log.info("TPP ID: [{}], instanceId: [{}]. Stream consents by TPP failed, TPP ID is empty or null.",
+                     tppAuthorisationNumber, instanceId);
+            return;
+        }
+
+        String actualInstanceId = StringUtils.defaultIfEmpty(instanceId, DEFAULT_SERVICE_INSTANCE_ID);
+        stream(piisConsentEntitySpecification.byTppIdAndCreationPeriodAndPsuIdDataAndInstanceId(tppAuthorisationNumber, createDateFrom, createDateTo, psuIdData, actualInstanceId, null),
+               afterConsentId, limit, consumer);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamConsentsByPsu(PsuIdData psuIdData, @Nullable LocalDate createDateFrom,
+                                    @Nullable LocalDate createDateTo, @Nullable String instanceId,
+                                    @Nullable String afterConsentId, int limit,
+                                    @NotNull Consumer<CmsPiisConsent> consumer) {
+        if (psuIdData == null || psuIdData.isEmpty()) {
+            log.info("InstanceId: [{}]. Stream consents by psu failed, psuIdData is empty or null.", instanceId);
+            return;
+        }
+
+        String actualInstanceId = StringUtils.defaultIfEmpty(instanceId, DEFAULT_SERVICE_INSTANCE_ID);
+        stream(piisConsentEntitySpecification.byPsuIdDataAndCreationPeriodAndInstanceIdAndAdditionalTppInfo(psuIdData, createDateFrom, createDateTo, actualInstanceId, null),
+               afterConsentId, limit, consumer);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamConsentsByAccountId(@NotNull String aspspAccountId, @Nullable LocalDate createDateFrom,
+                                          @Nullable LocalDate createDateTo, @Nullable String instanceId,
+                                          @Nullable String afterConsentId, int limit,
+                                          @NotNull Consumer<CmsPiisConsent> consumer) {
+        if (StringUtils.isBlank(aspspAccountId)) {
+            log.info("InstanceId: [{}]. Stream consents by accountId failed, aspspAccountId is empty or null.", instanceId);
+            return;
+        }
+
+        String actualInstanceId = StringUtils.defaultIfEmpty(instanceId, DEFAULT_SERVICE_INSTANCE_ID);
+        stream(piisConsentEntitySpecification.byAspspAccountIdAndCreationPeriodAndInstanceIdAndAdditionalTppInfo(aspspAccountId, createDateFrom, createDateTo, actualInstanceId, null),
+               afterConsentId, limit, consumer);
+    }
+
+    private void stream(Specification<ConsentEntity> specification, @Nullable String afterConsentId, int limit,
+                        Consumer<CmsPiisConsent> consumer) {
+        Long afterId = null;
+        if (afterConsentId != null) {
+            Optional<ConsentEntity> afterConsent = consentJpaRepository.findByExternalId(afterConsentId);
+            if (!afterConsent.isPresent()) {
+                log.info("Consent ID: [{}]. Stream consents failed, consent to continue after is not found.", afterConsentId);
+                return;
+            }
+            afterId = afterConsent.get().getId();
+        }
+
+        boolean readOnly = !consentDataMigrationState.isLazyMigrationRequired(ConsentDataMigrationType.PIIS);
+        cmsAspspExportStreamer.stream(ConsentEntity.class, specification, ConsentEntity::getId, afterId, limit, readOnly,
+                                      this::mapToCmsPiisConsents,
+                                      consumer);
+    }
+
     private PageData<Collection<CmsPiisConsent>> mapToPageData(Page<ConsentEntity> entities) {
-        return new PageData<>(entities
-                                  .stream()
-                                  .map(piisConsentLazyMigrationService::migrateIfNeeded)
-                                  .map(piisConsentMapper::mapToCmsPiisConsent)
-                                  .collect(Collectors.toList()),
+        return new PageData<>(mapToCmsPiisConsents(entities.getContent()),
                               entities.getPageable().getPageNumber(),
                               entities.getPageable().getPageSize(),
                               entities.getTotalElements());
     }
+
+    private List<CmsPiisConsent> mapToCmsPiisConsents(List<ConsentEntity> consents) {
+        return consents.stream()
+                   .map(piisConsentLazyMigrationService::migrateIfNeeded)
+                   .map(piisConsentMapper::mapToCmsPiisConsent)
+                   .collect(Collectors.toList());
+    }
 }
@@ -27,6 +27,7 @@ import de.adorsys.psd2.consent.repository.TppInfoRepository;
 import de.adorsys.psd2.consent.repository.specification.PiisConsentEntitySpecification;
 import de.adorsys.psd2.consent.service.mapper.PiisConsentMapper;
 import de.adorsys.psd2.consent.service.migration.PiisConsentLazyMigrationService;
+import de.adorsys.psd2.consent.service.notification.TppNotificationService;
 import de.adorsys.psd2.consent.service.psu.util.PageRequestBuilder;
 import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
 import de.adorsys.psd2.xs2a.core.profile.AccountReference;
@@ -60,6 +61,7 @@ public class CmsAspspPiisServiceInternal implements CmsAspspPiisService {
     private final PiisConsentMapper piisConsentMapper;
     private final PiisConsentLazyMigrationService piisConsentLazyMigrationService;
     private final PageRequestBuilder pageRequestBuilder;
+    private final TppNotificationService tppNotificationService;
 
     @Override
     @Transactional
@@ -134,8 +136,10 @@ public class CmsAspspPiisServiceInternal implements CmsAspspPiisService {
     }
 
     private void changeStatusAndLastActionDate(ConsentEntity consentEntity, ConsentStatus consentStatus) {
+        ConsentStatus previousStatus = consentEntity.getConsentStatus();
         consentEntity.setLastActionDate(LocalDate.now());
         consentEntity.setConsentStatus(consentStatus);
+        tppNotificationService.notifyConsentStatusChanged(consentEntity, previousStatus);
     }
 
     private TppInfoEntity getTppInfoEntity(String tppAuthorisationNumber) {
@@ -31,12 +31,17 @@ import org.apache.commons.lang3.StringUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -48,7 +53,7 @@ public class CmsAspspPisExportServiceInternal implements CmsAspspPisExportServic
     private final PisCommonPaymentDataRepository pisCommonPaymentDataRepository;
     private final CmsPsuPisMapper cmsPsuPisMapper;
     private final PageRequestBuilder pageRequestBuilder;
-
+    private final CmsAspspExportStreamer cmsAspspExportStreamer;
 
     @Override
     public PageData<Collection<CmsBasePaymentResponse>> exportPaymentsByTpp(String tppAuthorisationNumber, @Nullable LocalDate createDateFrom,
@@ -95,11 +100,78 @@ public class CmsAspspPisExportServiceInternal implements CmsAspspPisExportServic
             pageRequestBuilder.getPageable(pageIndex, itemsPerPage)));
     }
 
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamPaymentsByTpp(String tppAuthorisationNumber, @Nullable LocalDate createDateFrom,
+                                    @Nullable LocalDate createDateTo, @Nullable PsuIdData psuIdData,
+                                    @NotNull String instanceId, @Nullable String afterPaymentId, int limit,
+                                    @NotNull Consumer<CmsBasePaymentResponse> consumer) {
+        if (StringUtils.isBlank(tppAuthorisationNumber) || StringUtils.isBlank(instanceId)) {
+            log.info("InstanceId: [{}], TPP ID: [{}]. Stream payments by TPP failed, TPP ID or instanceId is empty or null.", instanceId,
+                     tppAuthorisationNumber);
+            return;
+        }
+
+        stream(pisCommonPaymentDataSpecification.byTppIdAndCreationPeriodAndPsuIdDataAndInstanceId(tppAuthorisationNumber, createDateFrom, createDateTo, psuIdData, instanceId),
+               afterPaymentId, limit, consumer);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamPaymentsByPsu(PsuIdData psuIdData, @Nullable LocalDate createDateFrom,
+                                    @Nullable LocalDate createDateTo, @NotNull String instanceId,
+                                    @Nullable String afterPaymentId, int limit,
+                                    @NotNull Consumer<CmsBasePaymentResponse> consumer) {
+        if (psuIdData == null || psuIdData.isEmpty() || StringUtils.isBlank(instanceId)) {
+            log.info("InstanceId: [{}]. Stream payments by psu failed, psuIdData or instanceId is empty or null.",
+                     instanceId);
+            return;
+        }
+
+        stream(pisCommonPaymentDataSpecification.byPsuIdDataAndCreationPeriodAndInstanceId(psuIdData, createDateFrom, createDateTo, instanceId),
+               afterPaymentId, limit, consumer);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamPaymentsByAccountId(@NotNull String aspspAccountId, @Nullable LocalDate createDateFrom,
+                                          @Nullable LocalDate createDateTo, @NotNull String instanceId,
+                                          @Nullable String afterPaymentId, int limit,
+                                          @NotNull Consumer<CmsBasePaymentResponse> consumer) {
+        if (StringUtils.isBlank(aspspAccountId) || StringUtils.isBlank(instanceId)) {
+            log.info("InstanceId: [{}], aspspAccountId: [{}]. Stream payments by accountId failed, aspspAccountId or instanceId is empty or null.",
+                     instanceId, aspspAccountId);
+            return;
+        }
+
+        stream(pisCommonPaymentDataSpecification.byAspspAccountIdAndCreationPeriodAndInstanceId(aspspAccountId, createDateFrom, createDateTo, instanceId),
+               afterPaymentId, limit, consumer);
+    }
+
+    private void stream(Specification<PisCommonPaymentData> specification, @Nullable String afterPaymentId, int limit,
+                        Consumer<CmsBasePaymentResponse> consumer) {
+        Long afterId = null;
+        if (afterPaymentId != null) {
+            Optional<PisCommonPaymentData> afterPayment = pisCommonPaymentDataRepository.findByPaymentId(afterPaymentId);
+            if (!afterPayment.isPresent()) {
+                log.info("Payment ID: [{}]. Stream payments failed, payment to continue after is not found.", afterPaymentId);
+                return;
+            }
+            afterId = afterPayment.get().getId();
+        }
+
+        cmsAspspExportStreamer.stream(PisCommonPaymentData.class, specification, PisCommonPaymentData::getId, afterId, limit, true,
+                                      this::mapToCmsPayments, consumer);
+    }
+
+    private List<CmsBasePaymentResponse> mapToCmsPayments(List<PisCommonPaymentData> entities) {
+        return entities.stream()
+                   .map(cmsPsuPisMapper::mapPaymentDataToCmsPayment)
+                   .collect(Collectors.toList());
+    }
+
     private PageData<Collection<CmsBasePaymentResponse>> mapToPageData(Page<PisCommonPaymentData> entities) {
-        return new PageData<>(entities
-                                  .stream()
-                                  .map(cmsPsuPisMapper::mapPaymentDataToCmsPayment)
-                                  .collect(Collectors.toList()),
+        return new PageData<>(mapToCmsPayments(entities.getContent()),
                               entities.getPageable().getPageNumber(),
                               entities.getPageable().getPageSize(),
                               entities.getTotalElements());
@@ -20,6 +20,7 @@ import de.adorsys.psd2.consent.aspsp.api.psu.CmsAspspPsuAccountService;
 import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
 import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
 import de.adorsys.psd2.consent.repository.specification.ConsentSpecification;
+import de.adorsys.psd2.consent.service.notification.TppNotificationService;
 import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
 import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
 import lombok.RequiredArgsConstructor;
@@ -38,6 +39,7 @@ import java.util.stream.Collectors;
 public class CmsAspspPsuAccountServiceInternal implements CmsAspspPsuAccountService {
     private final ConsentSpecification consentSpecification;
     private final ConsentJpaRepository consentJpaRepository;
+    private final TppNotificationService tppNotificationService;
 
     @Override
     @Transactional
@@ -57,8 +59,10 @@ public class CmsAspspPsuAccountServiceInternal implements CmsAspspPsuAccountServ
         }
 
         filteredConsents.forEach(cst -> {
+            ConsentStatus previousStatus = cst.getConsentStatus();
             cst.setLastActionDate(LocalDate.now());
             cst.setConsentStatus(ConsentStatus.REVOKED_BY_PSU);
+            tppNotificationService.notifyConsentStatusChanged(cst, previousStatus);
         });
 
         return true;
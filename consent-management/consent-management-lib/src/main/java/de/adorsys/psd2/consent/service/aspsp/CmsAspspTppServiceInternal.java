@@ -21,6 +21,7 @@ import de.adorsys.psd2.consent.domain.TppInfoEntity;
 import de.adorsys.psd2.consent.domain.TppStopListEntity;
 import de.adorsys.psd2.consent.repository.TppInfoRepository;
 import de.adorsys.psd2.consent.repository.TppStopListRepository;
+import de.adorsys.psd2.consent.service.TppStopListChangePublisher;
 import de.adorsys.psd2.consent.service.mapper.TppInfoMapper;
 import de.adorsys.psd2.consent.service.mapper.TppStopListMapper;
 import de.adorsys.psd2.xs2a.core.tpp.TppInfo;
@@ -42,6 +43,7 @@ public class CmsAspspTppServiceInternal implements CmsAspspTppService {
     private final TppStopListMapper tppStopListMapper;
     private final TppInfoRepository tppInfoRepository;
     private final TppInfoMapper tppInfoMapper;
+    private final TppStopListChangePublisher tppStopListChangePublisher;
 
     @NotNull
     @Override
@@ -66,6 +68,7 @@ public class CmsAspspTppServiceInternal implements CmsAspspTppService {
         if (stopListEntityOptional.isEmpty()) {
             stopListRepository.save(entityToBeBlocked);
         }
+        tppStopListChangePublisher.publishStopListChanged(instanceId);
         return true;
     }
 
@@ -77,6 +80,7 @@ public class CmsAspspTppServiceInternal implements CmsAspspTppService {
         if (stopListEntityOptional.isPresent()) {
             TppStopListEntity entityToBeUnblocked = stopListEntityOptional.get();
             entityToBeUnblocked.unblock();
+            tppStopListChangePublisher.publishStopListChanged(instanceId);
         }
         return true;
     }
@@ -19,6 +19,7 @@ package de.adorsys.psd2.consent.service.authorisation;
 import de.adorsys.psd2.consent.domain.AuthorisationEntity;
 import de.adorsys.psd2.consent.repository.AuthorisationRepository;
 import de.adorsys.psd2.consent.repository.specification.AuthorisationSpecification;
+import de.adorsys.psd2.consent.service.notification.TppNotificationService;
 import de.adorsys.psd2.xs2a.core.authorisation.AuthorisationType;
 import de.adorsys.psd2.xs2a.core.exception.AuthorisationIsExpiredException;
 import de.adorsys.psd2.xs2a.core.exception.RedirectUrlIsExpiredException;
@@ -38,6 +39,7 @@ import java.util.Optional;
 public class CmsConsentAuthorisationServiceInternal {
     private final AuthorisationRepository authorisationRepository;
     private final AuthorisationSpecification authorisationSpecification;
+    private final TppNotificationService tppNotificationService;
 
     public Optional<AuthorisationEntity> getAuthorisationByAuthorisationId(@NotNull String authorisationId, @NotNull String instanceId) throws AuthorisationIsExpiredException {
         Optional<AuthorisationEntity> authorisation = authorisationRepository.findOne(authorisationSpecification.byExternalIdAndInstanceId(authorisationId, instanceId));
@@ -67,7 +69,9 @@ public class CmsConsentAuthorisationServiceInternal {
                      authorisation.getScaStatus().getValue());
             return false;
         }
+        ScaStatus previousStatus = authorisation.getScaStatus();
         authorisation.setScaStatus(status);
+        tppNotificationService.notifyScaStatusChanged(authorisation, previousStatus);
 
         if (authenticationDataHolder != null) {
             enrichAuthorisationWithAuthenticationData(authorisation, authenticationDataHolder);
@@ -17,6 +17,7 @@
 package de.adorsys.psd2.consent.service.authorisation;
 
 import de.adorsys.psd2.consent.api.pis.PisPayment;
+import de.adorsys.psd2.consent.domain.blob.BlobCodec;
 import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentData;
 import de.adorsys.psd2.consent.domain.payment.PisPaymentData;
 import de.adorsys.psd2.consent.repository.PisCommonPaymentDataRepository;
@@ -41,6 +42,7 @@ public class CommonPaymentService {
 
     private final PisPaymentDataRepository pisPaymentDataRepository;
     private final PisCommonPaymentConfirmationExpirationService pisCommonPaymentConfirmationExpirationService;
+    private final BlobCodec blobCodec;
 
     public PisCommonPaymentData save(PisCommonPaymentData pisCommonPaymentData) {
         return pisCommonPaymentDataRepository.save(pisCommonPaymentData);
@@ -54,6 +56,10 @@ public class CommonPaymentService {
         return corePaymentsConvertService.buildPaymentData(pisPayments, paymentType);
     }
 
+    public byte[] encodePaymentData(byte[] paymentData) {
+        return blobCodec.encode(paymentData);
+    }
+
     public Optional<List<PisPaymentData>> findByPaymentIdAndPaymentDataTransactionStatusIn(String parentId, List<TransactionStatus> transactionStatuses) {
         return pisPaymentDataRepository.findByPaymentIdAndPaymentDataTransactionStatusIn(parentId, transactionStatuses);
     }
@@ -51,7 +51,7 @@ public abstract class PisAbstractAuthService extends CmsAuthorisationService<Pis
                                            .collect(Collectors.toList());
         byte[] paymentData = commonPaymentService.buildPaymentData(pisPayments, pisCommonPaymentData.getPaymentType());
         if (paymentData != null) {
-            pisCommonPaymentData.setPayment(paymentData);
+            pisCommonPaymentData.setPayment(commonPaymentService.encodePaymentData(paymentData));
             return commonPaymentService.save(pisCommonPaymentData);
         }
 
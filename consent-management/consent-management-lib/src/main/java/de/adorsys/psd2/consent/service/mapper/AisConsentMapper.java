@@ -20,6 +20,7 @@ import de.adorsys.psd2.consent.api.ais.AisAccountAccess;
 import de.adorsys.psd2.consent.api.ais.AisAccountConsentAuthorisation;
 import de.adorsys.psd2.consent.api.ais.CmsAisAccountConsent;
 import de.adorsys.psd2.consent.domain.AuthorisationEntity;
+import de.adorsys.psd2.consent.domain.blob.BlobCodec;
 import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
 import de.adorsys.psd2.consent.domain.consent.ConsentTppInformationEntity;
 import de.adorsys.psd2.consent.service.AisConsentUsageService;
@@ -51,6 +52,7 @@ public class AisConsentMapper {
     private final ConsentDataMapper consentDataMapper;
     private final ConsentTppInformationMapper consentTppInformationMapper;
     private final AccessMapper accessMapper;
+    private final BlobCodec blobCodec;
 
     private AisAccountAccess getAvailableAccess(AisConsent aisConsent) {
         AisAccountAccess tppAccountAccess = mapToAisAccountAccess(aisConsent);
@@ -94,7 +96,7 @@ public class AisConsentMapper {
     }
 
     public AisConsent mapToAisConsent(ConsentEntity entity, List<AuthorisationEntity> authorisations) {
-        AisConsentData aisConsentData = consentDataMapper.mapToAisConsentData(entity.getData());
+        AisConsentData aisConsentData = consentDataMapper.mapToAisConsentData(blobCodec.decode(entity.getData()));
 
         Map<String, Integer> usageCounterMap = aisConsentUsageService.getUsageCounterMap(entity);
 
@@ -20,6 +20,7 @@ import de.adorsys.psd2.consent.api.piis.v2.CmsConfirmationOfFundsAuthorisation;
 import de.adorsys.psd2.consent.api.piis.v2.CmsConfirmationOfFundsConsent;
 import de.adorsys.psd2.consent.domain.AuthorisationEntity;
 import de.adorsys.psd2.consent.domain.account.TppAccountAccess;
+import de.adorsys.psd2.consent.domain.blob.BlobCodec;
 import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
 import de.adorsys.psd2.consent.domain.consent.ConsentTppInformationEntity;
 import de.adorsys.psd2.core.data.piis.PiisConsentData;
@@ -40,10 +41,11 @@ public class CmsConfirmationOfFundsMapper {
     private final TppInfoMapper tppInfoMapper;
     private final AuthorisationTemplateMapper authorisationTemplateMapper;
     private final ConsentDataMapper consentDataMapper;
+    private final BlobCodec blobCodec;
 
     public CmsConfirmationOfFundsConsent mapToCmsConfirmationOfFundsConsent(ConsentEntity consent, List<AuthorisationEntity> authorisations) {
         ConsentTppInformationEntity tppInformation = consent.getTppInformation();
-        PiisConsentData piisConsentData = consentDataMapper.mapToPiisConsentData(consent.getData());
+        PiisConsentData piisConsentData = consentDataMapper.mapToPiisConsentData(blobCodec.decode(consent.getData()));
 
         return new CmsConfirmationOfFundsConsent(
             consent.getExternalId(),
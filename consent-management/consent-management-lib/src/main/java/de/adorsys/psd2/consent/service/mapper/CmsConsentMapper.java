@@ -19,6 +19,7 @@ package de.adorsys.psd2.consent.service.mapper;
 import de.adorsys.psd2.consent.api.ais.AdditionalAccountInformationType;
 import de.adorsys.psd2.consent.api.ais.CmsConsent;
 import de.adorsys.psd2.consent.domain.AuthorisationEntity;
+import de.adorsys.psd2.consent.domain.blob.BlobCodec;
 import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
 import de.adorsys.psd2.core.data.AccountAccess;
 import de.adorsys.psd2.xs2a.core.consent.ConsentType;
@@ -42,6 +43,7 @@ public class CmsConsentMapper {
     private final PsuDataMapper psuDataMapper;
     private final AuthorisationMapper authorisationMapper;
     private final AccessMapper accessMapper;
+    private final BlobCodec blobCodec;
 
     public List<CmsConsent> mapToCmsConsents(List<ConsentEntity> entities, Map<String, List<AuthorisationEntity>> authorisation, Map<String, Map<String, Integer>> usages) {
         return entities.stream()
@@ -52,7 +54,7 @@ public class CmsConsentMapper {
     public CmsConsent mapToCmsConsent(ConsentEntity entity, List<AuthorisationEntity> authorisations, Map<String, Integer> usages) {
         CmsConsent cmsConsent = new CmsConsent();
         cmsConsent.setId(entity.getExternalId());
-        cmsConsent.setConsentData(entity.getData());
+        cmsConsent.setConsentData(blobCodec.decode(entity.getData()));
         cmsConsent.setChecksum(entity.getChecksum());
         cmsConsent.setConsentStatus(entity.getConsentStatus());
         cmsConsent.setConsentType(ConsentType.getByValue(entity.getConsentType()));
@@ -82,7 +84,7 @@ public class CmsConsentMapper {
 
     public ConsentEntity mapToNewConsentEntity(CmsConsent cmsConsent) {
         ConsentEntity entity = new ConsentEntity();
-        entity.setData(cmsConsent.getConsentData());
+        entity.setData(blobCodec.encode(cmsConsent.getConsentData()));
         entity.setChecksum(cmsConsent.getChecksum());
         entity.setExternalId(UUID.randomUUID().toString());
         entity.setConsentStatus(cmsConsent.getConsentStatus());
@@ -18,6 +18,7 @@ package de.adorsys.psd2.consent.service.mapper;
 
 import de.adorsys.psd2.consent.api.pis.*;
 import de.adorsys.psd2.consent.domain.AccountReferenceEntity;
+import de.adorsys.psd2.consent.domain.blob.BlobCodec;
 import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentData;
 import de.adorsys.psd2.consent.domain.payment.PisPaymentData;
 import de.adorsys.psd2.consent.service.CorePaymentsConvertService;
@@ -41,6 +42,7 @@ public class CmsPsuPisMapper {
     private final CmsRemittanceMapper cmsRemittanceMapper;
     private final CorePaymentsConvertService corePaymentsConvertService;
     private final CmsAddressMapper cmsAddressMapper;
+    private final BlobCodec blobCodec;
 
     public CmsBasePaymentResponse mapToCmsPayment(@NotNull PisCommonPaymentData paymentData) {
         CmsCommonPayment cmsCommonPayment = new CmsCommonPayment(paymentData.getPaymentProduct());
@@ -48,7 +50,7 @@ public class CmsPsuPisMapper {
         cmsCommonPayment.setPaymentProduct(paymentData.getPaymentProduct());
         cmsCommonPayment.setPaymentType(paymentData.getPaymentType());
         cmsCommonPayment.setTransactionStatus(paymentData.getTransactionStatus());
-        cmsCommonPayment.setPaymentData(paymentData.getPayment());
+        cmsCommonPayment.setPaymentData(blobCodec.decode(paymentData.getPayment()));
 
         cmsCommonPayment.setTppInfo(tppInfoMapper.mapToTppInfo(paymentData.getTppInfo()));
         cmsCommonPayment.setPsuIdDatas(psuDataMapper.mapToPsuIdDataList(paymentData.getPsuDataList()));
@@ -20,6 +20,7 @@ import de.adorsys.psd2.consent.api.ais.AdditionalTppInfo;
 import de.adorsys.psd2.consent.api.piis.v1.CmsPiisConsent;
 import de.adorsys.psd2.consent.aspsp.api.piis.CreatePiisConsentRequest;
 import de.adorsys.psd2.consent.domain.TppInfoEntity;
+import de.adorsys.psd2.consent.domain.blob.BlobCodec;
 import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
 import de.adorsys.psd2.core.data.piis.PiisConsentData;
 import de.adorsys.psd2.core.mapper.ConsentDataMapper;
@@ -43,6 +44,7 @@ public class PiisConsentMapper {
     private final PsuDataMapper psuDataMapper;
     private final ConsentDataMapper consentDataMapper;
     private final AccessMapper accessMapper;
+    private final BlobCodec blobCodec;
 
     public List<CmsPiisConsent> mapToCmsPiisConsentList(List<ConsentEntity> consentEntities) {
         return consentEntities.stream()
@@ -51,7 +53,7 @@ public class PiisConsentMapper {
     }
 
     public CmsPiisConsent mapToCmsPiisConsent(ConsentEntity consentEntity) {
-        PiisConsentData piisConsentData = consentDataMapper.mapToPiisConsentData(consentEntity.getData());
+        PiisConsentData piisConsentData = consentDataMapper.mapToPiisConsentData(blobCodec.decode(consentEntity.getData()));
         AccountReference accountReference = accessMapper.mapToAccountReference(consentEntity.getAspspAccountAccesses().get(0));
         return new CmsPiisConsent(consentEntity.getExternalId(),
                                   consentEntity.isRecurringIndicator(),
@@ -85,7 +87,7 @@ public class PiisConsentMapper {
         consent.getTppInformation().setAdditionalInfo(AdditionalTppInfo.NONE);
         PiisConsentData consentData = new PiisConsentData(request.getCardNumber(), request.getCardExpiryDate(),
                                                           request.getCardInformation(), request.getRegistrationInformation());
-        consent.setData(consentDataMapper.getBytesFromConsentData(consentData));
+        consent.setData(blobCodec.encode(consentDataMapper.getBytesFromConsentData(consentData)));
         consent.setConsentType(ConsentType.PIIS_ASPSP.toString());
         consent.setInstanceId(instanceId);
         return consent;
@@ -22,6 +22,7 @@ import de.adorsys.psd2.consent.api.pis.PisPayment;
 import de.adorsys.psd2.consent.api.pis.proto.PisPaymentInfo;
 import de.adorsys.psd2.consent.domain.AuthorisationEntity;
 import de.adorsys.psd2.consent.domain.AuthorisationTemplateEntity;
+import de.adorsys.psd2.consent.domain.blob.BlobCodec;
 import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentData;
 import de.adorsys.psd2.consent.domain.payment.PisPaymentData;
 import de.adorsys.psd2.consent.domain.payment.PisRemittance;
@@ -43,6 +44,7 @@ public class PisCommonPaymentMapper {
     private final AccountReferenceMapper accountReferenceMapper;
     private final AuthorisationMapper authorisationMapper;
     private final CmsAddressMapper cmsAddressMapper;
+    private final BlobCodec blobCodec;
 
     public PisCommonPaymentData mapToPisCommonPaymentData(PisPaymentInfo paymentInfo) {
         PisCommonPaymentData commonPaymentData = new PisCommonPaymentData();
@@ -51,7 +53,7 @@ public class PisCommonPaymentMapper {
         commonPaymentData.setPaymentProduct(paymentInfo.getPaymentProduct());
         commonPaymentData.setTransactionStatus(paymentInfo.getTransactionStatus());
         commonPaymentData.setInternalPaymentStatus(paymentInfo.getInternalPaymentStatus());
-        commonPaymentData.setPayment(paymentInfo.getPaymentData());
+        commonPaymentData.setPayment(blobCodec.encode(paymentInfo.getPaymentData()));
         commonPaymentData.setTppInfo(tppInfoMapper.mapToTppInfoEntity(paymentInfo.getTppInfo()));
         commonPaymentData.setPsuDataList(psuDataMapper.mapToPsuDataList(paymentInfo.getPsuDataList(), paymentInfo.getInstanceId()));
         commonPaymentData.getPsuDataList().forEach(p -> p.setInstanceId(paymentInfo.getInstanceId()));
@@ -92,7 +94,7 @@ public class PisCommonPaymentMapper {
                        response.setPaymentProduct(cmd.getPaymentProduct());
                        response.setTppInfo(tppInfoMapper.mapToTppInfo(cmd.getTppInfo()));
                        response.setPsuData(psuDataMapper.mapToPsuIdDataList(cmd.getPsuDataList()));
-                       response.setPaymentData(cmd.getPayment());
+                       response.setPaymentData(blobCodec.decode(cmd.getPayment()));
                        response.setTransactionStatus(cmd.getTransactionStatus());
                        response.setInternalPaymentStatus(cmd.getInternalPaymentStatus());
                        response.setStatusChangeTimestamp(cmd.getStatusChangeTimestamp());
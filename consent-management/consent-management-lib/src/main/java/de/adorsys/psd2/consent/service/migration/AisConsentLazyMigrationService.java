@@ -17,6 +17,7 @@
 package de.adorsys.psd2.consent.service.migration;
 
 import de.adorsys.psd2.consent.domain.account.AisConsent;
+import de.adorsys.psd2.consent.domain.blob.BlobCodec;
 import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
 import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
 import de.adorsys.psd2.consent.repository.migration.ObsoleteAisConsentJpaRepository;
@@ -36,10 +37,12 @@ public class AisConsentLazyMigrationService {
     private final ObsoleteAisConsentJpaRepository obsoleteAisConsentJpaRepository;
     private final ConsentJpaRepository consentJpaRepository;
     private final ConsentDataMapper consentDataMapper;
+    private final ConsentDataMigrationState consentDataMigrationState;
+    private final BlobCodec blobCodec;
 
 
     public ConsentEntity migrateIfNeeded(ConsentEntity consentEntity) {
-        if (consentEntity.getData() == null) {
+        if (consentEntity.getData() == null && consentDataMigrationState.isLazyMigrationRequired(ConsentDataMigrationType.AIS)) {
             Optional<AisConsent> obsoleteAisConsentOptional = obsoleteAisConsentJpaRepository.findByExternalId(consentEntity.getExternalId());
             if (obsoleteAisConsentOptional.isPresent()) {
                 byte[] consentData = getConsentData(obsoleteAisConsentOptional.get());
@@ -50,11 +53,11 @@ public class AisConsentLazyMigrationService {
         return consentEntity;
     }
 
-    private byte[] getConsentData(AisConsent aisConsent) {
+    byte[] getConsentData(AisConsent aisConsent) {
         AisConsentData aisConsentData = new AisConsentData(aisConsent.getAvailableAccounts(), aisConsent.getAllPsd2(), aisConsent.getAvailableAccountsWithBalance(),
                                                            aisConsent.isCombinedServiceIndicator());
 
 
-        return consentDataMapper.getBytesFromConsentData(aisConsentData);
+        return blobCodec.encode(consentDataMapper.getBytesFromConsentData(aisConsentData));
     }
 }
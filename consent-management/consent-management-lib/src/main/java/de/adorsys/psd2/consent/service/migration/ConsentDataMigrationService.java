@@ -0,0 +1,113 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.service.migration;
+
+import de.adorsys.psd2.consent.domain.ConsentDataMigrationCheckpointEntity;
+import de.adorsys.psd2.consent.domain.account.AisConsent;
+import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
+import de.adorsys.psd2.consent.domain.piis.PiisConsentEntity;
+import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
+import de.adorsys.psd2.consent.repository.migration.ConsentDataMigrationCheckpointRepository;
+import de.adorsys.psd2.consent.repository.migration.ObsoleteAisConsentJpaRepository;
+import de.adorsys.psd2.consent.repository.migration.ObsoletePiisConsentJpaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Migrates data of obsolete consent tables into <code>consent.data</code> ahead of time, chunk by chunk.
+ * Progress is stored in <code>consent_data_migration_checkpoint</code> table, so that migration can be continued
+ * by any CMS node after restart.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ConsentDataMigrationService {
+    private final ConsentDataMigrationCheckpointRepository consentDataMigrationCheckpointRepository;
+    private final ObsoleteAisConsentJpaRepository obsoleteAisConsentJpaRepository;
+    private final ObsoletePiisConsentJpaRepository obsoletePiisConsentJpaRepository;
+    private final ConsentJpaRepository consentJpaRepository;
+    private final AisConsentLazyMigrationService aisConsentLazyMigrationService;
+    private final PiisConsentLazyMigrationService piisConsentLazyMigrationService;
+
+    /**
+     * Migrates the next chunk of rows of the obsolete table following the last checkpoint in a new transaction
+     *
+     * @param migrationType type of migrated consents
+     * @param chunkSize     maximum number of obsolete rows migrated at once
+     * @return <code>true</code> if there are rows left to migrate, <code>false</code> if migration is completed
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean migrateNextChunk(ConsentDataMigrationType migrationType, int chunkSize) {
+        ConsentDataMigrationCheckpointEntity checkpoint = consentDataMigrationCheckpointRepository.findById(migrationType.name())
+                                                              .orElseGet(() -> new ConsentDataMigrationCheckpointEntity(migrationType.name()));
+        if (checkpoint.isCompleted()) {
+            return false;
+        }
+
+        PageRequest chunkPage = PageRequest.of(0, chunkSize);
+        int chunkRows;
+        if (migrationType == ConsentDataMigrationType.AIS) {
+            List<AisConsent> chunk = obsoleteAisConsentJpaRepository.findNextChunk(checkpoint.getLastId(), chunkPage);
+            chunkRows = migrateChunk(chunk, checkpoint, AisConsent::getId, AisConsent::getExternalId,
+                                     aisConsentLazyMigrationService::getConsentData);
+        } else {
+            List<PiisConsentEntity> chunk = obsoletePiisConsentJpaRepository.findNextChunk(checkpoint.getLastId(), chunkPage);
+            chunkRows = migrateChunk(chunk, checkpoint, PiisConsentEntity::getId, PiisConsentEntity::getExternalId,
+                                     piisConsentLazyMigrationService::getConsentData);
+        }
+
+        checkpoint.setCompleted(chunkRows < chunkSize);
+        checkpoint.setUpdatedAt(OffsetDateTime.now());
+        consentDataMigrationCheckpointRepository.save(checkpoint);
+
+        if (checkpoint.isCompleted()) {
+            log.info("Migration of obsolete {} consents is completed, {} consents migrated", migrationType, checkpoint.getMigratedCount());
+        }
+        return !checkpoint.isCompleted();
+    }
+
+    private <T> int migrateChunk(List<T> obsoleteConsents, ConsentDataMigrationCheckpointEntity checkpoint,
+                                 ToLongFunction<T> idExtractor, Function<T, String> externalIdExtractor,
+                                 Function<T, byte[]> dataMapper) {
+        if (obsoleteConsents.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, T> obsoleteConsentsByExternalId = new HashMap<>();
+        obsoleteConsents.forEach(c -> obsoleteConsentsByExternalId.put(externalIdExtractor.apply(c), c));
+
+        List<ConsentEntity> consents = consentJpaRepository.findAllByExternalIdInAndDataIsNull(obsoleteConsentsByExternalId.keySet());
+        consents.forEach(consent -> consent.setData(dataMapper.apply(obsoleteConsentsByExternalId.get(consent.getExternalId()))));
+        consentJpaRepository.saveAll(consents);
+
+        checkpoint.setLastId(idExtractor.applyAsLong(obsoleteConsents.get(obsoleteConsents.size() - 1)));
+        checkpoint.setMigratedCount(checkpoint.getMigratedCount() + consents.size());
+        return obsoleteConsents.size();
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.service.migration;
+
+import de.adorsys.psd2.consent.domain.ConsentDataMigrationCheckpointEntity;
+import de.adorsys.psd2.consent.repository.migration.ConsentDataMigrationCheckpointRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tells lazy migration services, whether consents still have to be checked against obsolete tables on read.
+ * <p>
+ * Once the background migration of the obsolete table is completed, consents of this type are no longer checked.
+ * Completion recorded by other CMS nodes is picked up from the checkpoint table at most once per refresh interval.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConsentDataMigrationState {
+    private final ConsentDataMigrationCheckpointRepository consentDataMigrationCheckpointRepository;
+
+    private final Set<ConsentDataMigrationType> completedMigrations = ConcurrentHashMap.newKeySet();
+    private final Map<ConsentDataMigrationType, Long> nextChecks = new ConcurrentHashMap<>();
+
+    @Value("${xs2a.cms.consent-data-migration.lazy-migration.enabled:true}")
+    private boolean lazyMigrationEnabled;
+
+    @Value("${xs2a.cms.consent-data-migration.state-refresh.ms:60000}")
+    private long stateRefreshMs;
+
+    /**
+     * Checks whether consents of given type may still have their data in the obsolete table
+     *
+     * @param migrationType type of migrated consents
+     * @return <code>true</code> if consents without data have to be looked up in the obsolete table
+     */
+    public boolean isLazyMigrationRequired(ConsentDataMigrationType migrationType) {
+        if (!lazyMigrationEnabled || completedMigrations.contains(migrationType)) {
+            return false;
+        }
+
+        long now = System.currentTimeMillis();
+        Long nextCheck = nextChecks.get(migrationType);
+        if (nextCheck == null || now >= nextCheck) {
+            nextChecks.put(migrationType, now + stateRefreshMs);
+            boolean completed = consentDataMigrationCheckpointRepository.findById(migrationType.name())
+                                    .map(ConsentDataMigrationCheckpointEntity::isCompleted)
+                                    .orElse(false);
+            if (completed) {
+                markCompleted(migrationType);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void markCompleted(ConsentDataMigrationType migrationType) {
+        completedMigrations.add(migrationType);
+    }
+}
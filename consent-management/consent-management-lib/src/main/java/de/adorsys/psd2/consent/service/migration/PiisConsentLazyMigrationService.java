@@ -16,6 +16,7 @@
 
 package de.adorsys.psd2.consent.service.migration;
 
+import de.adorsys.psd2.consent.domain.blob.BlobCodec;
 import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
 import de.adorsys.psd2.consent.domain.piis.PiisConsentEntity;
 import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
@@ -36,9 +37,11 @@ public class PiisConsentLazyMigrationService {
     private final ObsoletePiisConsentJpaRepository obsoletePiisConsentJpaRepository;
     private final ConsentJpaRepository consentJpaRepository;
     private final ConsentDataMapper consentDataMapper;
+    private final ConsentDataMigrationState consentDataMigrationState;
+    private final BlobCodec blobCodec;
 
     public ConsentEntity migrateIfNeeded(ConsentEntity consentEntity) {
-        if (consentEntity.getData() == null) {
+        if (consentEntity.getData() == null && consentDataMigrationState.isLazyMigrationRequired(ConsentDataMigrationType.PIIS)) {
             Optional<PiisConsentEntity> obsoletePiisConsentOptional = obsoletePiisConsentJpaRepository.findByExternalId(consentEntity.getExternalId());
             if (obsoletePiisConsentOptional.isPresent()) {
                 byte[] consentData = getConsentData(obsoletePiisConsentOptional.get());
@@ -54,11 +57,11 @@ public class PiisConsentLazyMigrationService {
         return consentEntities;
     }
 
-    private byte[] getConsentData(PiisConsentEntity piisConsent) {
+    byte[] getConsentData(PiisConsentEntity piisConsent) {
         PiisConsentData piisConsentData = new PiisConsentData(piisConsent.getCardNumber(), piisConsent.getCardExpiryDate(),
                                                               piisConsent.getCardInformation(), piisConsent.getRegistrationInformation());
 
 
-        return consentDataMapper.getBytesFromConsentData(piisConsentData);
+        return blobCodec.encode(consentDataMapper.getBytesFromConsentData(piisConsentData));
     }
 }
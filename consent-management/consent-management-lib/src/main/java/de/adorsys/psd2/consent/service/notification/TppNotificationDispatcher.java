@@ -0,0 +1,240 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.service.notification;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import de.adorsys.psd2.consent.domain.notification.TppNotificationDeliveryStatus;
+import de.adorsys.psd2.consent.domain.notification.TppNotificationEntity;
+import de.adorsys.psd2.consent.domain.notification.TppNotificationResourceType;
+import de.adorsys.psd2.consent.repository.TppNotificationRepository;
+import de.adorsys.psd2.mapper.Xs2aObjectMapper;
+import de.adorsys.psd2.xs2a.core.profile.NotificationSupportedMode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers notifications stored by {@link TppNotificationService} to TPPs in batches.
+ * <p>
+ * Notifications of one batch are grouped by TPP host and sent in the order of their creation. Every TPP host gets
+ * at most the configured number of notifications per second, the rest is postponed. If delivery to the host fails,
+ * the notification is retried with exponential backoff and other notifications to this host are postponed as well,
+ * so that an unavailable TPP neither blocks notifications of other TPPs nor receives notifications out of order.
+ * Notifications, which couldn't be delivered within the maximum number of attempts, are kept with FAILED status, as
+ * well as notifications to URIs rejected by {@link TppNotificationUriValidator}.
+ * <p>
+ * No transaction is open while the notifications are sent: the batch is claimed in a short transaction by moving next
+ * attempt of its notifications by the claim time, and results of the delivery are stored in another short transaction.
+ * If the node stops before storing the results, the claimed notifications are sent again after the claim time.
+ * If the dispatching thread is interrupted, the rest of the batch is released for the next run without sending.
+ */
+@Slf4j
+@Service
+public class TppNotificationDispatcher {
+    private static final long RATE_LIMIT_WINDOW_MS = 1000;
+
+    private final TppNotificationRepository tppNotificationRepository;
+    private final TppNotificationSender tppNotificationSender;
+    private final TppNotificationUriValidator tppNotificationUriValidator;
+    private final Xs2aObjectMapper xs2aObjectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, RateLimitWindow> rateLimitWindows = new ConcurrentHashMap<>();
+
+    @Value("${xs2a.cms.tpp-notification.max-attempts:10}")
+    private int maxAttempts;
+    @Value("${xs2a.cms.tpp-notification.retry.initial-delay.ms:10000}")
+    private long initialRetryDelayMs;
+    @Value("${xs2a.cms.tpp-notification.retry.max-delay.ms:3600000}")
+    private long maxRetryDelayMs;
+    @Value("${xs2a.cms.tpp-notification.rate-limit.per-host:20}")
+    private int rateLimitPerHost;
+    @Value("${xs2a.cms.tpp-notification.claim-time.ms:300000}")
+    private long claimTimeMs;
+
+    public TppNotificationDispatcher(TppNotificationRepository tppNotificationRepository, TppNotificationSender tppNotificationSender,
+                                     TppNotificationUriValidator tppNotificationUriValidator, Xs2aObjectMapper xs2aObjectMapper,
+                                     PlatformTransactionManager transactionManager) {
+        this.tppNotificationRepository = tppNotificationRepository;
+        this.tppNotificationSender = tppNotificationSender;
+        this.tppNotificationUriValidator = tppNotificationUriValidator;
+        this.xs2aObjectMapper = xs2aObjectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Delivers the next batch of due notifications. Notifications, which weren't sent before the deadline, stay due
+     * for the next run.
+     *
+     * @param batchSize maximum number of notifications processed at once
+     * @param deadline  time in milliseconds, after which no more notifications are sent
+     * @return <code>true</code> if there may be more due notifications, <code>false</code> otherwise or if the thread
+     * was interrupted
+     */
+    public boolean dispatchNextBatch(int batchSize, long deadline) {
+        List<TppNotificationEntity> batch = transactionTemplate.execute(status -> claimNextBatch(batchSize));
+        if (batch == null || batch.isEmpty()) {
+            return false;
+        }
+
+        List<TppNotificationEntity> delivered = new ArrayList<>();
+        batch.stream()
+            .collect(Collectors.groupingBy(TppNotificationEntity::getTppHost, LinkedHashMap::new, Collectors.toList()))
+            .forEach((tppHost, notifications) -> dispatchToHost(tppHost, notifications, deadline, delivered));
+
+        // Results are stored even if the thread was interrupted, so that delivered notifications aren't sent again
+        boolean interrupted = Thread.interrupted();
+        try {
+            transactionTemplate.executeWithoutResult(status -> storeResults(batch, delivered));
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        return !interrupted && batch.size() >= batchSize;
+    }
+
+    private List<TppNotificationEntity> claimNextBatch(int batchSize) {
+        OffsetDateTime now = OffsetDateTime.now();
+        List<TppNotificationEntity> batch = tppNotificationRepository.findDue(TppNotificationDeliveryStatus.PENDING, now,
+                                                                              PageRequest.of(0, batchSize));
+        OffsetDateTime claimedUntil = now.plus(claimTimeMs, ChronoUnit.MILLIS);
+        batch.forEach(notification -> notification.setNextAttemptAt(claimedUntil));
+        return batch;
+    }
+
+    private void storeResults(List<TppNotificationEntity> batch, List<TppNotificationEntity> delivered) {
+        delivered.forEach(tppNotificationRepository::delete);
+        tppNotificationRepository.saveAll(batch.stream()
+                                              .filter(notification -> !delivered.contains(notification))
+                                              .collect(Collectors.toList()));
+    }
+
+    private void dispatchToHost(String tppHost, List<TppNotificationEntity> notifications, long deadline,
+                                List<TppNotificationEntity> delivered) {
+        OffsetDateTime postponedUntil = null;
+
+        for (TppNotificationEntity notification : notifications) {
+            if (System.currentTimeMillis() >= deadline || Thread.currentThread().isInterrupted()) {
+                // Run time is over or the run is aborted, the notification is released for the next run
+                notification.setNextAttemptAt(OffsetDateTime.now());
+                continue;
+            }
+            if (!tppNotificationUriValidator.isAllowed(notification.getNotificationUri())) {
+                notification.setDeliveryStatus(TppNotificationDeliveryStatus.FAILED);
+                log.info("Notification ID: [{}], TPP host: [{}]. TPP notification is not sent, because notification URI is not allowed",
+                         notification.getExternalId(), tppHost);
+                continue;
+            }
+            if (postponedUntil == null) {
+                postponedUntil = acquireRateLimitPermit(tppHost);
+            }
+            if (postponedUntil != null) {
+                notification.setNextAttemptAt(postponedUntil);
+                continue;
+            }
+
+            if (deliver(notification)) {
+                delivered.add(notification);
+            } else if (Thread.currentThread().isInterrupted()) {
+                // Sending was aborted by the interruption, so it doesn't count as a failed attempt
+                notification.setNextAttemptAt(OffsetDateTime.now());
+            } else {
+                scheduleRetry(notification);
+                postponedUntil = notification.getNextAttemptAt();
+            }
+        }
+    }
+
+    private boolean deliver(TppNotificationEntity notification) {
+        byte[] content;
+        try {
+            content = xs2aObjectMapper.writeValueAsBytes(buildContent(notification));
+        } catch (JsonProcessingException e) {
+            log.info("Notification ID: [{}]. Content of TPP notification couldn't be serialised", notification.getExternalId());
+            return false;
+        }
+
+        return tppNotificationSender.send(notification.getNotificationUri(), notification.getExternalId(), content);
+    }
+
+    private Map<String, String> buildContent(TppNotificationEntity notification) {
+        // Notification URI is given by the TPP for the particular resource, so resource ID is not a part of the content
+        Map<String, String> content = new LinkedHashMap<>();
+        if (notification.getNotificationMode() == NotificationSupportedMode.SCA) {
+            content.put("authorisationId", notification.getAuthorisationId());
+            content.put("scaStatus", notification.getStatus());
+        } else if (notification.getResourceType() == TppNotificationResourceType.PAYMENT) {
+            content.put("transactionStatus", notification.getStatus());
+        } else {
+            content.put("consentStatus", notification.getStatus());
+        }
+        return content;
+    }
+
+    private void scheduleRetry(TppNotificationEntity notification) {
+        int attempts = notification.getAttempts() + 1;
+        long retryDelayMs = initialRetryDelayMs << Math.min(attempts - 1, 30);
+        notification.setAttempts(attempts);
+        notification.setNextAttemptAt(OffsetDateTime.now().plus(Math.min(retryDelayMs, maxRetryDelayMs), ChronoUnit.MILLIS));
+
+        if (attempts >= maxAttempts) {
+            notification.setDeliveryStatus(TppNotificationDeliveryStatus.FAILED);
+            log.info("Notification ID: [{}], TPP host: [{}]. TPP notification couldn't be delivered within {} attempts",
+                     notification.getExternalId(), notification.getTppHost(), attempts);
+        }
+    }
+
+    /**
+     * @return <code>null</code> if the notification may be sent to the host now, or the time it should be postponed to
+     */
+    private OffsetDateTime acquireRateLimitPermit(String tppHost) {
+        long now = System.currentTimeMillis();
+        RateLimitWindow window = rateLimitWindows.compute(tppHost, (host, current) -> current == null || now - current.start >= RATE_LIMIT_WINDOW_MS
+                                                                                          ? new RateLimitWindow(now)
+                                                                                          : current);
+        if (window.permits < rateLimitPerHost) {
+            window.permits++;
+            return null;
+        }
+        return OffsetDateTime.now().plus(window.start + RATE_LIMIT_WINDOW_MS - now, ChronoUnit.MILLIS);
+    }
+
+    private static class RateLimitWindow {
+        private final long start;
+        private int permits;
+
+        private RateLimitWindow(long start) {
+            this.start = start;
+        }
+    }
+}
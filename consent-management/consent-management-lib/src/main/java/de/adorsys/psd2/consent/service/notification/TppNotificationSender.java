@@ -0,0 +1,99 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.service.notification;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.util.EntityUtils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Sends notifications to TPP notification URIs via HTTP POST.
+ * Connections to TPP hosts are kept alive and reused by the underlying HTTP client between notifications.
+ * <p>
+ * TPP hosts are resolved by {@link TppNotificationUriValidator#resolve(String)}, so the client connects only to the
+ * addresses, that passed the check. Otherwise the DNS record of the TPP host could be changed to an internal address
+ * between the check of the notification URI and the connection.
+ */
+@Slf4j
+@Component
+public class TppNotificationSender implements DisposableBean {
+    private static final String REQUEST_ID_HEADER = "X-Request-ID";
+    private static final ContentType JSON_CONTENT_TYPE = ContentType.create("application/json");
+
+    private final CloseableHttpClient httpClient;
+
+    public TppNotificationSender(TppNotificationUriValidator tppNotificationUriValidator,
+                                 @Value("${xs2a.cms.tpp-notification.connect-timeout.ms:2000}") int connectTimeoutMs,
+                                 @Value("${xs2a.cms.tpp-notification.request-timeout.ms:5000}") int requestTimeoutMs) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                                          .setConnectTimeout(connectTimeoutMs)
+                                          .setSocketTimeout(requestTimeoutMs)
+                                          .setRedirectsEnabled(false)
+                                          .build();
+        this.httpClient = HttpClients.custom()
+                              .setDnsResolver(tppNotificationUriValidator::resolve)
+                              .setDefaultRequestConfig(requestConfig)
+                              .disableRedirectHandling()
+                              .disableAutomaticRetries()
+                              .build();
+    }
+
+    /**
+     * Posts the notification content to the TPP
+     *
+     * @param notificationUri notification URI provided by the TPP
+     * @param requestId       ID of the notification, the same for all delivery attempts
+     * @param content         JSON content of the notification
+     * @return <code>true</code> if the TPP accepted the notification with successful HTTP status, <code>false</code> otherwise
+     */
+    public boolean send(String notificationUri, String requestId, byte[] content) {
+        try {
+            HttpPost request = new HttpPost(notificationUri);
+            request.setHeader(REQUEST_ID_HEADER, requestId);
+            request.setEntity(new ByteArrayEntity(content, JSON_CONTENT_TYPE));
+            try (CloseableHttpResponse response = httpClient.execute(request)) {
+                // Response body is consumed, so that the connection can be reused
+                EntityUtils.consume(response.getEntity());
+                int statusCode = response.getStatusLine().getStatusCode();
+                if (statusCode >= 200 && statusCode < 300) {
+                    return true;
+                }
+                log.info("Notification ID: [{}]. TPP notification was rejected by TPP with HTTP status {}", requestId, statusCode);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            log.info("Notification ID: [{}]. TPP notification couldn't be sent: {}", requestId, e.getMessage());
+        }
+        return false;
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        httpClient.close();
+    }
+}
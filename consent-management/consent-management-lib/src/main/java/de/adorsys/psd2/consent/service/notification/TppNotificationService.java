@@ -0,0 +1,168 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.service.notification;
+
+import de.adorsys.psd2.consent.domain.AuthorisationEntity;
+import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
+import de.adorsys.psd2.consent.domain.consent.ConsentTppInformationEntity;
+import de.adorsys.psd2.consent.domain.notification.TppNotificationEntity;
+import de.adorsys.psd2.consent.domain.notification.TppNotificationResourceType;
+import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentData;
+import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
+import de.adorsys.psd2.consent.repository.PisCommonPaymentDataRepository;
+import de.adorsys.psd2.consent.repository.TppNotificationRepository;
+import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
+import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
+import de.adorsys.psd2.xs2a.core.profile.NotificationSupportedMode;
+import de.adorsys.psd2.xs2a.core.sca.ScaStatus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.CollectionUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Stores notifications about status changes of payments, consents and their authorisations into the outbox table,
+ * according to the notification modes preferred by the TPP for the particular resource.
+ * Notifications are stored within the transaction of the status change and are delivered by {@link TppNotificationDispatcher}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TppNotificationService {
+    private final TppNotificationRepository tppNotificationRepository;
+    private final PisCommonPaymentDataRepository pisCommonPaymentDataRepository;
+    private final ConsentJpaRepository consentJpaRepository;
+    private final TppNotificationUriValidator tppNotificationUriValidator;
+
+    @Value("${xs2a.cms.tpp-notification.enabled:false}")
+    private boolean enabled;
+
+    /**
+     * Stores PROCESS or LAST notification about changed transaction status of the payment, if TPP asked for it
+     *
+     * @param payment        payment with the new transaction status
+     * @param previousStatus transaction status before the change
+     */
+    public void notifyPaymentStatusChanged(@NotNull PisCommonPaymentData payment, @Nullable TransactionStatus previousStatus) {
+        TransactionStatus status = payment.getTransactionStatus();
+        if (!enabled || status == null || status == previousStatus) {
+            return;
+        }
+
+        resolveStatusNotificationMode(payment.getTppNotificationContentPreferred(), status.isFinalisedStatus())
+            .ifPresent(mode -> store(payment.getTppNotificationUri(), TppNotificationResourceType.PAYMENT, payment.getPaymentId(),
+                                     null, mode, status.name(), payment.getInstanceId()));
+    }
+
+    /**
+     * Stores PROCESS or LAST notification about changed status of the consent, if TPP asked for it
+     *
+     * @param consent        consent with the new status
+     * @param previousStatus consent status before the change
+     */
+    public void notifyConsentStatusChanged(@NotNull ConsentEntity consent, @Nullable ConsentStatus previousStatus) {
+        ConsentStatus status = consent.getConsentStatus();
+        ConsentTppInformationEntity tppInformation = consent.getTppInformation();
+        if (!enabled || status == null || status == previousStatus || tppInformation == null) {
+            return;
+        }
+
+        resolveStatusNotificationMode(tppInformation.getTppNotificationContentPreferred(), status.isFinalisedStatus())
+            .ifPresent(mode -> store(tppInformation.getTppNotificationUri(), TppNotificationResourceType.CONSENT, consent.getExternalId(),
+                                     null, mode, status.getValue(), consent.getInstanceId()));
+    }
+
+    /**
+     * Stores SCA notification about changed SCA status of the authorisation, if TPP asked for it for the authorisation parent
+     *
+     * @param authorisation  authorisation with the new SCA status
+     * @param previousStatus SCA status before the change
+     */
+    public void notifyScaStatusChanged(@NotNull AuthorisationEntity authorisation, @Nullable ScaStatus previousStatus) {
+        ScaStatus status = authorisation.getScaStatus();
+        if (!enabled || status == null || status == previousStatus || authorisation.getType() == null) {
+            return;
+        }
+
+        switch (authorisation.getType()) {
+            case PIS_CREATION:
+            case PIS_CANCELLATION:
+                pisCommonPaymentDataRepository.findByPaymentId(authorisation.getParentExternalId())
+                    .filter(payment -> isModeRequested(payment.getTppNotificationContentPreferred(), NotificationSupportedMode.SCA))
+                    .ifPresent(payment -> store(payment.getTppNotificationUri(), TppNotificationResourceType.PAYMENT, payment.getPaymentId(),
+                                                authorisation.getExternalId(), NotificationSupportedMode.SCA, status.getValue(), payment.getInstanceId()));
+                break;
+            case CONSENT:
+                consentJpaRepository.findByExternalId(authorisation.getParentExternalId())
+                    .filter(consent -> consent.getTppInformation() != null)
+                    .filter(consent -> isModeRequested(consent.getTppInformation().getTppNotificationContentPreferred(), NotificationSupportedMode.SCA))
+                    .ifPresent(consent -> store(consent.getTppInformation().getTppNotificationUri(), TppNotificationResourceType.CONSENT, consent.getExternalId(),
+                                                authorisation.getExternalId(), NotificationSupportedMode.SCA, status.getValue(), consent.getInstanceId()));
+                break;
+            default:
+                // Notifications for signing baskets are not supported
+        }
+    }
+
+    private Optional<NotificationSupportedMode> resolveStatusNotificationMode(List<NotificationSupportedMode> preferredModes, boolean finalisedStatus) {
+        if (finalisedStatus && isModeRequested(preferredModes, NotificationSupportedMode.LAST)) {
+            return Optional.of(NotificationSupportedMode.LAST);
+        }
+        if (isModeRequested(preferredModes, NotificationSupportedMode.PROCESS)) {
+            return Optional.of(NotificationSupportedMode.PROCESS);
+        }
+        return Optional.empty();
+    }
+
+    private boolean isModeRequested(List<NotificationSupportedMode> preferredModes, NotificationSupportedMode mode) {
+        return CollectionUtils.isNotEmpty(preferredModes) && preferredModes.contains(mode);
+    }
+
+    private void store(String notificationUri, TppNotificationResourceType resourceType, String resourceId, String authorisationId,
+                       NotificationSupportedMode mode, String status, String instanceId) {
+        Optional<String> tppHost = tppNotificationUriValidator.getTppHost(notificationUri);
+        if (tppHost.isEmpty()) {
+            log.info("Resource ID: [{}]. TPP notification is skipped, because notification URI [{}] is not a valid HTTPS URI",
+                     resourceId, notificationUri);
+            return;
+        }
+
+        OffsetDateTime now = OffsetDateTime.now();
+        TppNotificationEntity notification = new TppNotificationEntity();
+        notification.setExternalId(UUID.randomUUID().toString());
+        notification.setNotificationUri(notificationUri);
+        notification.setTppHost(tppHost.get());
+        notification.setResourceType(resourceType);
+        notification.setResourceId(resourceId);
+        notification.setAuthorisationId(authorisationId);
+        notification.setNotificationMode(mode);
+        notification.setStatus(status);
+        notification.setNextAttemptAt(now);
+        notification.setCreationTimestamp(now);
+        notification.setInstanceId(instanceId);
+        tppNotificationRepository.save(notification);
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service.notification;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Checks notification URIs provided by TPPs before CMS sends notifications to them.
+ * <p>
+ * Only HTTPS URIs are accepted. If allowed hosts are configured, the host of the URI has to be one of them. Otherwise
+ * the host must not resolve to loopback, link-local, site-local or other private address, so that TPPs can't make CMS
+ * send requests into the internal network of the ASPSP. The address check is repeated by {@link TppNotificationSender}
+ * for the addresses it connects to, so that the host can't be switched to an internal address after the check.
+ */
+@Slf4j
+@Component
+public class TppNotificationUriValidator {
+    private static final String HTTPS_SCHEME = "https";
+
+    private final Set<String> allowedHosts;
+
+    public TppNotificationUriValidator(@Value("${xs2a.cms.tpp-notification.allowed-hosts:}") String allowedHosts) {
+        this.allowedHosts = Arrays.stream(StringUtils.split(StringUtils.defaultString(allowedHosts), ','))
+                                .map(String::trim)
+                                .filter(StringUtils::isNotEmpty)
+                                .map(host -> host.toLowerCase(Locale.ROOT))
+                                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Returns host and port of the notification URI, if it has HTTPS scheme
+     *
+     * @param notificationUri notification URI provided by the TPP
+     * @return host with the port, if it's given in the URI, or empty value if the URI is not a valid HTTPS URI
+     */
+    public Optional<String> getTppHost(String notificationUri) {
+        return parseHttpsUri(notificationUri)
+                   .map(uri -> uri.getPort() == -1 ? uri.getHost() : uri.getHost() + ":" + uri.getPort());
+    }
+
+    /**
+     * Checks whether notification may be sent to the URI. Host of the URI is resolved, so the check should be done
+     * right before sending the notification.
+     *
+     * @param notificationUri notification URI provided by the TPP
+     * @return <code>true</code> if the notification may be sent to the URI, <code>false</code> otherwise
+     */
+    public boolean isAllowed(String notificationUri) {
+        Optional<URI> uri = parseHttpsUri(notificationUri);
+        if (uri.isEmpty()) {
+            return false;
+        }
+
+        String host = uri.get().getHost();
+        if (!allowedHosts.isEmpty()) {
+            return allowedHosts.contains(host.toLowerCase(Locale.ROOT));
+        }
+
+        try {
+            resolve(host);
+            return true;
+        } catch (UnknownHostException e) {
+            log.info("TPP host [{}] couldn't be resolved: {}", host, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Resolves the TPP host. Unless allowed hosts are configured, fails if any of the resolved addresses is internal.
+     *
+     * @param host host of the notification URI
+     * @return addresses of the host
+     * @throws UnknownHostException if the host couldn't be resolved or resolves to an internal address
+     */
+    public InetAddress[] resolve(String host) throws UnknownHostException {
+        InetAddress[] addresses = InetAddress.getAllByName(host);
+        if (allowedHosts.isEmpty() && Arrays.stream(addresses).anyMatch(this::isInternalAddress)) {
+            throw new UnknownHostException(host + " resolves to an internal address");
+        }
+        return addresses;
+    }
+
+    private Optional<URI> parseHttpsUri(String notificationUri) {
+        if (StringUtils.isBlank(notificationUri)) {
+            return Optional.empty();
+        }
+
+        try {
+            URI uri = URI.create(notificationUri);
+            if (uri.getHost() == null || !HTTPS_SCHEME.equalsIgnoreCase(uri.getScheme())) {
+                return Optional.empty();
+            }
+            return Optional.of(uri);
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private boolean isInternalAddress(InetAddress address) {
+        return address.isLoopbackAddress()
+                   || address.isLinkLocalAddress()
+                   || address.isSiteLocalAddress()
+                   || address.isAnyLocalAddress()
+                   || address.isMulticastAddress()
+                   || isUniqueLocalAddress(address);
+    }
+
+    /**
+     * @return <code>true</code> for private IPv6 addresses (fc00::/7), which aren't covered by {@link InetAddress#isSiteLocalAddress()}
+     */
+    private boolean isUniqueLocalAddress(InetAddress address) {
+        return address instanceof Inet6Address && (address.getAddress()[0] & 0xFE) == 0xFC;
+    }
+}
@@ -25,6 +25,7 @@ import de.adorsys.psd2.consent.api.ais.CmsAisConsentResponse;
 import de.adorsys.psd2.consent.api.service.ConsentService;
 import de.adorsys.psd2.consent.domain.AuthorisationEntity;
 import de.adorsys.psd2.consent.domain.account.AspspAccountAccess;
+import de.adorsys.psd2.consent.domain.blob.BlobCodec;
 import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
 import de.adorsys.psd2.consent.psu.api.CmsPsuAisService;
 import de.adorsys.psd2.consent.psu.api.CmsPsuAuthorisation;
@@ -43,6 +44,7 @@ import de.adorsys.psd2.consent.service.mapper.AisConsentMapper;
 import de.adorsys.psd2.consent.service.mapper.CmsPsuAuthorisationMapper;
 import de.adorsys.psd2.consent.service.mapper.PsuDataMapper;
 import de.adorsys.psd2.consent.service.migration.AisConsentLazyMigrationService;
+import de.adorsys.psd2.consent.service.notification.TppNotificationService;
 import de.adorsys.psd2.consent.service.psu.util.PageRequestBuilder;
 import de.adorsys.psd2.consent.service.psu.util.PsuDataUpdater;
 import de.adorsys.psd2.core.data.AccountAccess;
@@ -101,6 +103,8 @@ public class CmsPsuAisServiceInternal implements CmsPsuAisService {
     private final CmsConsentAuthorisationServiceInternal consentAuthorisationService;
     private final CmsPsuConsentServiceInternal cmsPsuConsentServiceInternal;
     private final PageRequestBuilder pageRequestBuilder;
+    private final TppNotificationService tppNotificationService;
+    private final BlobCodec blobCodec;
 
     @Override
     @Transactional
@@ -316,7 +320,7 @@ public class CmsPsuAisServiceInternal implements CmsPsuAisService {
         AccountAccess requestedAccountAccess = consentMapper.mapToAccountAccess(requestedAisAccountAccess);
         List<AspspAccountAccess> aspspAccountAccesses = accessMapper.mapToAspspAccountAccess(requestedAccountAccess);
 
-        consent.setData(data);
+        consent.setData(blobCodec.encode(data));
         consent.setAspspAccountAccesses(aspspAccountAccesses);
         consent.setValidUntil(request.getValidUntil());
         consent.setFrequencyPerDay(request.getFrequencyPerDay());
@@ -377,10 +381,16 @@ public class CmsPsuAisServiceInternal implements CmsPsuAisService {
         if (status == PARTIALLY_AUTHORISED) {
             consent.setMultilevelScaRequired(true);
         }
+        ConsentStatus previousStatus = consent.getConsentStatus();
         consent.setLastActionDate(LocalDate.now());
         consent.setConsentStatus(status);
 
-        return aisConsentRepository.verifyAndSave(consent) != null;
+        ConsentEntity savedConsent = aisConsentRepository.verifyAndSave(consent);
+        if (savedConsent == null) {
+            return false;
+        }
+        tppNotificationService.notifyConsentStatusChanged(savedConsent, previousStatus);
+        return true;
     }
 
     private Optional<CmsAisConsentResponse> createCmsAisConsentResponseFromAuthorisation(AuthorisationEntity authorisation, String redirectId) {
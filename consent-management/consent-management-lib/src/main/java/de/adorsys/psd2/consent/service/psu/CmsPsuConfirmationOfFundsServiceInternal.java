@@ -27,6 +27,7 @@ import de.adorsys.psd2.consent.repository.specification.ConfirmationOfFundsConse
 import de.adorsys.psd2.consent.service.authorisation.CmsConsentAuthorisationServiceInternal;
 import de.adorsys.psd2.consent.service.mapper.CmsConfirmationOfFundsMapper;
 import de.adorsys.psd2.consent.service.mapper.CmsPsuAuthorisationMapper;
+import de.adorsys.psd2.consent.service.notification.TppNotificationService;
 import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
 import de.adorsys.psd2.xs2a.core.consent.ConsentType;
 import de.adorsys.psd2.xs2a.core.exception.AuthorisationIsExpiredException;
@@ -54,6 +55,7 @@ public class CmsPsuConfirmationOfFundsServiceInternal implements CmsPsuConfirmat
     private final CmsConfirmationOfFundsMapper consentMapper;
     private final CmsPsuConsentServiceInternal cmsPsuConsentServiceInternal;
     private final CmsPsuAuthorisationMapper cmsPsuAuthorisationMapper;
+    private final TppNotificationService tppNotificationService;
 
     @Override
     @Transactional
@@ -134,7 +136,9 @@ public class CmsPsuConfirmationOfFundsServiceInternal implements CmsPsuConfirmat
         }
 
         ConsentEntity consentEntity = consentEntityOptional.get();
+        ConsentStatus previousStatus = consentEntity.getConsentStatus();
         consentEntity.setConsentStatus(status);
+        tppNotificationService.notifyConsentStatusChanged(consentEntity, previousStatus);
         return true;
     }
 
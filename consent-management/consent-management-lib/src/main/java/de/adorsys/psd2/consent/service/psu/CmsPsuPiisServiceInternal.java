@@ -24,6 +24,7 @@ import de.adorsys.psd2.consent.repository.specification.PiisConsentEntitySpecifi
 import de.adorsys.psd2.consent.service.mapper.PiisConsentMapper;
 import de.adorsys.psd2.consent.service.mapper.PsuDataMapper;
 import de.adorsys.psd2.consent.service.migration.PiisConsentLazyMigrationService;
+import de.adorsys.psd2.consent.service.notification.TppNotificationService;
 import de.adorsys.psd2.consent.service.psu.util.PageRequestBuilder;
 import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
 import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
@@ -51,6 +52,7 @@ public class CmsPsuPiisServiceInternal implements CmsPsuPiisService {
     private final PiisConsentEntitySpecification piisConsentEntitySpecification;
     private final PiisConsentLazyMigrationService piisConsentLazyMigrationService;
     private final PageRequestBuilder pageRequestBuilder;
+    private final TppNotificationService tppNotificationService;
 
     @Override
     public @NotNull Optional<CmsPiisConsent> getConsent(@NotNull PsuIdData psuIdData, @NotNull String consentId, @NotNull String instanceId) {
@@ -108,7 +110,9 @@ public class CmsPsuPiisServiceInternal implements CmsPsuPiisService {
     }
 
     private void revokeConsent(ConsentEntity consent) {
+        ConsentStatus previousStatus = consent.getConsentStatus();
         consent.setLastActionDate(LocalDate.now());
         consent.setConsentStatus(ConsentStatus.REVOKED_BY_PSU);
+        tppNotificationService.notifyConsentStatusChanged(consent, previousStatus);
     }
 }
@@ -38,6 +38,7 @@ import de.adorsys.psd2.consent.service.CorePaymentsConvertService;
 import de.adorsys.psd2.consent.service.mapper.CmsPsuAuthorisationMapper;
 import de.adorsys.psd2.consent.service.mapper.CmsPsuPisMapper;
 import de.adorsys.psd2.consent.service.mapper.PsuDataMapper;
+import de.adorsys.psd2.consent.service.notification.TppNotificationService;
 import de.adorsys.psd2.consent.service.psu.util.PageRequestBuilder;
 import de.adorsys.psd2.consent.service.psu.util.PsuDataUpdater;
 import de.adorsys.psd2.xs2a.core.authorisation.AuthorisationType;
@@ -80,6 +81,7 @@ public class CmsPsuPisServiceInternal implements CmsPsuPisService {
     private final CorePaymentsConvertService corePaymentsConvertService;
     private final PsuDataUpdater psuDataUpdater;
     private final PageRequestBuilder pageRequestBuilder;
+    private final TppNotificationService tppNotificationService;
 
     @Override
     @Transactional
@@ -307,7 +309,9 @@ public class CmsPsuPisServiceInternal implements CmsPsuPisService {
                          "because authorisation has finalised status", pisAuthorisation.getExternalId(), pisAuthorisation.getScaStatus().getValue());
             return false;
         }
+        ScaStatus previousStatus = pisAuthorisation.getScaStatus();
         pisAuthorisation.setScaStatus(status);
+        tppNotificationService.notifyScaStatusChanged(pisAuthorisation, previousStatus);
 
         if (authenticationDataHolder != null) {
             enrichAuthorisationWithAuthenticationData(pisAuthorisation, authenticationDataHolder);
@@ -27,8 +27,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Service;
 
+import java.security.GeneralSecurityException;
 import java.security.SecureRandom;
 import java.util.Base64;
+import java.util.Map;
 import java.util.Optional;
 
 @Slf4j
@@ -49,6 +51,7 @@ public class SecurityDataService {
             log.info("The 'server_key' missing - must be specified at CMS start");
             throw new IllegalArgumentException("CMS_SERVER_KEY_MISSING");
         }
+        precomputeServerKey();
     }
 
     /**
@@ -133,6 +136,21 @@ public class SecurityDataService {
         return consentId.contains(SEPARATOR);
     }
 
+    private void precomputeServerKey() {
+        Map<String, CryptoProvider> providers = cryptoProviderHolder.getInitializedProviders();
+        if (providers == null) {
+            return;
+        }
+
+        for (CryptoProvider provider : providers.values()) {
+            try {
+                provider.precomputeSecretKey(serverKey);
+            } catch (GeneralSecurityException e) {
+                log.info("Couldn't precompute server key for crypto provider [{}]", provider.getCryptoProviderId(), e);
+            }
+        }
+    }
+
     private Optional<DecryptedData> getDecryptedData(DecryptedIdSet decryptedIdSet, byte[] aspspConsentData) {
         return cryptoProviderHolder.getProviderById(decryptedIdSet.getDataEncryptionProviderId())
                    .flatMap(provider -> provider.decryptData(aspspConsentData, decryptedIdSet.getRandomSecretKey()));
@@ -16,7 +16,8 @@
 
 package de.adorsys.psd2.consent.service.security.provider;
 
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 
 import javax.crypto.SecretKey;
 import javax.crypto.SecretKeyFactory;
@@ -25,14 +26,44 @@ import javax.crypto.spec.SecretKeySpec;
 import java.security.NoSuchAlgorithmException;
 import java.security.spec.InvalidKeySpecException;
 
-@AllArgsConstructor
+@RequiredArgsConstructor
 public abstract class AbstractCryptoProvider {
     private final int keyLength;
     private final int hashIterations;
     private final String skfAlgorithm;
     private final String cryptoProviderId;
 
+    @Setter
+    private DerivedKeyCache derivedKeyCache;
+
+    /**
+     * Derives secret key for given password and keeps it in the cache, so that it will never be derived again
+     *
+     * @param password password to derive the key from
+     */
+    public void precomputeSecretKey(String password) throws InvalidKeySpecException, NoSuchAlgorithmException {
+        SecretKey secretKey = deriveSecretKey(password);
+        if (derivedKeyCache != null) {
+            derivedKeyCache.putPinned(cryptoProviderId, password, secretKey.getEncoded());
+        }
+    }
+
     protected SecretKey getSecretKey(String password) throws InvalidKeySpecException, NoSuchAlgorithmException {
+        if (derivedKeyCache == null) {
+            return deriveSecretKey(password);
+        }
+
+        byte[] cachedKey = derivedKeyCache.get(cryptoProviderId, password);
+        if (cachedKey != null) {
+            return new SecretKeySpec(cachedKey, "AES");
+        }
+
+        SecretKey secretKey = deriveSecretKey(password);
+        derivedKeyCache.put(cryptoProviderId, password, secretKey.getEncoded());
+        return secretKey;
+    }
+
+    private SecretKey deriveSecretKey(String password) throws InvalidKeySpecException, NoSuchAlgorithmException {
         byte[] salt = new byte[16];
         PBEKeySpec keySpec = new PBEKeySpec(password.toCharArray(), salt, hashIterations, keyLength);
         try {
@@ -19,6 +19,7 @@ package de.adorsys.psd2.consent.service.security.provider;
 import de.adorsys.psd2.consent.service.security.DecryptedData;
 import de.adorsys.psd2.consent.service.security.EncryptedData;
 
+import java.security.GeneralSecurityException;
 import java.util.Optional;
 
 public interface CryptoProvider {
@@ -46,4 +47,13 @@ public interface CryptoProvider {
      * @return Id of crypto provider
      */
     String getCryptoProviderId();
+
+    /**
+     * Prepares everything needed for encryption with given password in advance, e.g. derives the secret key
+     *
+     * @param password Secret key, that will be used for encryption
+     * @throws GeneralSecurityException if password can't be prepared by this provider
+     */
+    default void precomputeSecretKey(String password) throws GeneralSecurityException {
+    }
 }
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service.security.provider;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache for secret keys derived from passwords by crypto providers.
+ * <p>
+ * Entries are keyed by crypto provider ID and SHA-256 hash of the password, so the password itself is never stored.
+ * Regular entries expire after configured TTL and the least recently used one is evicted when the cache reaches its
+ * maximum size, pinned entries (e.g. the key derived from the server key) are kept for the whole lifetime of the cache.
+ */
+public class DerivedKeyCache {
+    private static final String KEY_SEPARATOR = ":";
+
+    private final Map<String, CachedKey> pinnedEntries = new ConcurrentHashMap<>();
+    // Access-ordered, so that the eldest entry is the least recently used one; guarded by itself
+    private final LinkedHashMap<String, CachedKey> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final int maxSize;
+    private final long ttlNanos;
+    private final boolean offHeap;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * @param maxSize   maximum number of non-pinned entries
+     * @param ttlMillis time to live of non-pinned entries in milliseconds, non-positive value disables expiration
+     * @param offHeap   whether derived key bytes should be stored in direct memory
+     */
+    public DerivedKeyCache(int maxSize, long ttlMillis, boolean offHeap) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Derived key cache size must be positive");
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = ttlMillis > 0 ? ttlMillis * 1_000_000 : Long.MAX_VALUE;
+        this.offHeap = offHeap;
+    }
+
+    /**
+     * Returns previously derived key bytes for given crypto provider and password
+     *
+     * @param cryptoProviderId ID of crypto provider, which derived the key
+     * @param password         password the key was derived from
+     * @return copy of the key bytes or <code>null</code> if there is no valid entry in the cache
+     */
+    public byte[] get(String cryptoProviderId, String password) {
+        String cacheKey = buildCacheKey(cryptoProviderId, password);
+        CachedKey cachedKey = pinnedEntries.get(cacheKey);
+
+        if (cachedKey == null) {
+            synchronized (entries) {
+                cachedKey = entries.get(cacheKey);
+                if (cachedKey != null && cachedKey.isExpired(System.nanoTime(), ttlNanos)) {
+                    entries.remove(cacheKey);
+                    evictionCount.increment();
+                    cachedKey = null;
+                }
+            }
+        }
+
+        if (cachedKey == null) {
+            missCount.increment();
+            return null;
+        }
+
+        hitCount.increment();
+        return cachedKey.getKeyBytes();
+    }
+
+    /**
+     * Stores derived key bytes for given crypto provider and password
+     *
+     * @param cryptoProviderId ID of crypto provider, which derived the key
+     * @param password         password the key was derived from
+     * @param keyBytes         derived key
+     */
+    public void put(String cryptoProviderId, String password, byte[] keyBytes) {
+        String cacheKey = buildCacheKey(cryptoProviderId, password);
+        CachedKey cachedKey = new CachedKey(keyBytes, offHeap, false, System.nanoTime());
+
+        synchronized (entries) {
+            entries.put(cacheKey, cachedKey);
+            evictIfNeeded();
+        }
+    }
+
+    /**
+     * Stores derived key bytes, that will be neither expired nor evicted from the cache
+     *
+     * @param cryptoProviderId ID of crypto provider, which derived the key
+     * @param password         password the key was derived from
+     * @param keyBytes         derived key
+     */
+    public void putPinned(String cryptoProviderId, String password, byte[] keyBytes) {
+        pinnedEntries.put(buildCacheKey(cryptoProviderId, password), new CachedKey(keyBytes, offHeap, true, System.nanoTime()));
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return pinnedEntries.size() + entries.size();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DerivedKeyCache{size=" + size() + ", maxSize=" + maxSize + ", offHeap=" + offHeap
+                   + ", hits=" + getHitCount() + ", misses=" + getMissCount() + ", evictions=" + getEvictionCount() + "}";
+    }
+
+    /**
+     * Removes the least recently used entries until the cache fits its maximum size. Expired entries are removed on read.
+     * Has to be called while holding the lock on the entries.
+     */
+    private void evictIfNeeded() {
+        Iterator<CachedKey> iterator = entries.values().iterator();
+        while (entries.size() > maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictionCount.increment();
+        }
+    }
+
+    private String buildCacheKey(String cryptoProviderId, String password) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] passwordHash = digest.digest(password.getBytes(StandardCharsets.UTF_8));
+            return cryptoProviderId + KEY_SEPARATOR + Base64.getEncoder().encodeToString(passwordHash);
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is required to be supported by every Java platform
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class CachedKey {
+        private final ByteBuffer keyBuffer;
+        private final boolean pinned;
+        private final long createdAt;
+
+        private CachedKey(byte[] keyBytes, boolean offHeap, boolean pinned, long createdAt) {
+            this.keyBuffer = offHeap
+                                 ? ByteBuffer.allocateDirect(keyBytes.length)
+                                 : ByteBuffer.allocate(keyBytes.length);
+            this.keyBuffer.put(keyBytes).flip();
+            this.pinned = pinned;
+            this.createdAt = createdAt;
+        }
+
+        private boolean isExpired(long now, long ttlNanos) {
+            return !pinned && now - createdAt >= ttlNanos;
+        }
+
+        private byte[] getKeyBytes() {
+            byte[] keyBytes = new byte[keyBuffer.capacity()];
+            keyBuffer.duplicate().get(keyBytes);
+            return keyBytes;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.service.sha;
+
+import de.adorsys.psd2.core.data.AccountAccess;
+import de.adorsys.psd2.core.data.Consent;
+import de.adorsys.psd2.core.data.ais.AisConsent;
+import de.adorsys.psd2.xs2a.core.consent.ConsentType;
+import de.adorsys.psd2.xs2a.core.profile.AccountReference;
+import de.adorsys.psd2.xs2a.core.profile.AccountReferenceType;
+import de.adorsys.psd2.xs2a.core.profile.AdditionalInformationAccess;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Currency;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Calculates checksum of AIS consent from SHA-512 hashes of canonical binary encoding of the consent fields.
+ * <p>
+ * Covers the same fields as previous versions, but doesn't serialise them to JSON.
+ * The checksum has the following format: <code>005_%_consent hash[_%_type:aspsp access hash,type:aspsp access hash...]</code>,
+ * where hashes are Base64 encoded.
+ */
+@Service
+public class AisChecksumCalculatingServiceV5 implements ChecksumCalculatingService {
+    private static final String VERSION = "005";
+    private static final String ACCESS_ENTRY_SEPARATOR = ",";
+    private static final String ACCESS_TYPE_SEPARATOR = ":";
+    private static final Comparator<AccountReference> ACCOUNT_REFERENCE_COMPARATOR =
+        Comparator.comparing(AccountReference::getAspspAccountId, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(AccountReference::getResourceId, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(acc -> Optional.ofNullable(acc.getCurrency())
+                                      .map(Currency::getCurrencyCode)
+                                      .orElse(StringUtils.EMPTY))
+            .thenComparing(acc -> acc.getUsedAccountReferenceSelector().getAccountValue());
+
+    @Override
+    public String getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public byte[] calculateChecksumForConsent(Consent<?> consent) {
+        if (consent == null || ConsentType.AIS != consent.getConsentType()) {
+            return new byte[0];
+        }
+
+        AisConsent aisConsent = (AisConsent) consent;
+        StringBuilder sb = new StringBuilder(VERSION)
+                               .append(ChecksumConstant.DELIMITER)
+                               .append(encode(calculateConsentHash(aisConsent)));
+
+        AccountAccess aspspAccountAccess = aisConsent.getAspspAccountAccesses();
+        if (aspspAccountAccess.isNotEmpty(aisConsent.getConsentData())) {
+            Map<AccountReferenceType, String> accessHashes = calculateAccessHashesByReferenceType(aspspAccountAccess);
+
+            if (!accessHashes.isEmpty()) {
+                sb.append(ChecksumConstant.DELIMITER);
+                sb.append(accessHashes.entrySet().stream()
+                              .map(e -> e.getKey().getValue() + ACCESS_TYPE_SEPARATOR + e.getValue())
+                              .collect(Collectors.joining(ACCESS_ENTRY_SEPARATOR)));
+            }
+        }
+
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public boolean verifyConsentWithChecksum(Consent<?> consent, byte[] checksum) {
+        if (consent == null || checksum == null || ConsentType.AIS != consent.getConsentType()) {
+            return false;
+        }
+
+        AisConsent aisConsent = (AisConsent) consent;
+        String[] elements = new String(checksum, StandardCharsets.UTF_8).split(ChecksumConstant.DELIMITER);
+
+        if (elements.length == 1) {
+            return false;
+        }
+
+        if (!elements[ChecksumConstant.CONSENT_CHECKSUM_START_POSITION].equals(encode(calculateConsentHash(aisConsent)))) {
+            return false;
+        }
+
+        if (elements.length > 2) {
+            return areAccessHashesValid(elements[ChecksumConstant.ASPSP_ACCESS_CHECKSUM_START_POSITION], aisConsent.getAspspAccountAccesses());
+        }
+
+        return true;
+    }
+
+    private byte[] calculateConsentHash(AisConsent aisConsent) {
+        CanonicalDigest digest = CanonicalDigest.start()
+                                     .putBoolean(aisConsent.isRecurringIndicator())
+                                     .putBoolean(aisConsent.getConsentData().isCombinedServiceIndicator())
+                                     .putDate(aisConsent.getValidUntil())
+                                     .putInt(aisConsent.getFrequencyPerDay());
+
+        AccountAccess tppAccountAccesses = aisConsent.getTppAccountAccesses();
+        if (tppAccountAccesses == null) {
+            return digest.putNull().digest();
+        }
+
+        putAccountReferences(digest, tppAccountAccesses.getAccounts());
+        putAccountReferences(digest, tppAccountAccesses.getBalances());
+        putAccountReferences(digest, tppAccountAccesses.getTransactions());
+
+        AdditionalInformationAccess additionalInformationAccess = tppAccountAccesses.getAdditionalInformationAccess();
+        if (additionalInformationAccess == null) {
+            digest.putNull();
+        } else {
+            putAccountReferences(digest, additionalInformationAccess.getOwnerName());
+            putAccountReferences(digest, additionalInformationAccess.getTrustedBeneficiaries());
+        }
+
+        return digest.digest();
+    }
+
+    private Map<AccountReferenceType, String> calculateAccessHashesByReferenceType(AccountAccess aspspAccess) {
+        Set<AccountReference> references = Stream.of(aspspAccess.getAccounts(), aspspAccess.getBalances(), aspspAccess.getTransactions())
+                                               .filter(Objects::nonNull)
+                                               .flatMap(Collection::stream)
+                                               .filter(acc -> StringUtils.isNotBlank(acc.getResourceId()) || StringUtils.isNotBlank(acc.getAspspAccountId()))
+                                               .collect(Collectors.toSet());
+
+        Map<AccountReferenceType, List<AccountReference>> referencesByType = references.stream()
+                                                                                 .collect(Collectors.groupingBy(acc -> acc.getUsedAccountReferenceSelector().getAccountReferenceType(),
+                                                                                                                () -> new EnumMap<>(AccountReferenceType.class),
+                                                                                                                Collectors.toList()));
+
+        Map<AccountReferenceType, String> accessHashes = new EnumMap<>(AccountReferenceType.class);
+        referencesByType.forEach((type, typeReferences) -> {
+            typeReferences.sort(ACCOUNT_REFERENCE_COMPARATOR);
+            CanonicalDigest digest = CanonicalDigest.start();
+            putAccountReferences(digest, typeReferences);
+            accessHashes.put(type, encode(digest.digest()));
+        });
+        return accessHashes;
+    }
+
+    private boolean areAccessHashesValid(String storedAccessHashes, AccountAccess aspspAccess) {
+        Map<AccountReferenceType, String> currentAccessHashes = calculateAccessHashesByReferenceType(aspspAccess);
+
+        for (String entry : storedAccessHashes.split(ACCESS_ENTRY_SEPARATOR)) {
+            String[] typeAndHash = entry.split(ACCESS_TYPE_SEPARATOR);
+            if (typeAndHash.length != 2) {
+                return false;
+            }
+
+            Optional<AccountReferenceType> type = AccountReferenceType.getByValue(typeAndHash[0]);
+            if (type.isEmpty() || !typeAndHash[1].equals(currentAccessHashes.get(type.get()))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void putAccountReferences(CanonicalDigest digest, List<AccountReference> references) {
+        if (references == null) {
+            digest.putNull();
+            return;
+        }
+
+        digest.putSize(references.size());
+        for (AccountReference reference : references) {
+            digest.putString(reference.getAspspAccountId())
+                .putString(reference.getResourceId())
+                .putString(reference.getIban())
+                .putString(reference.getBban())
+                .putString(reference.getPan())
+                .putString(reference.getMaskedPan())
+                .putString(reference.getMsisdn())
+                .putCurrency(reference.getCurrency())
+                .putString(reference.getOtherAccountIdentification());
+        }
+    }
+
+    private String encode(byte[] hash) {
+        return Base64.getEncoder().encodeToString(hash);
+    }
+}
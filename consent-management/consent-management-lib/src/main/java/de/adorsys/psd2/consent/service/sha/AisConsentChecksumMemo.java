@@ -0,0 +1,82 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.service.sha;
+
+import de.adorsys.psd2.consent.domain.account.AccountAccess;
+import de.adorsys.psd2.consent.domain.account.AspspAccountAccess;
+import de.adorsys.psd2.consent.domain.account.TppAccountAccess;
+import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.util.List;
+
+/**
+ * Remembers that the checksum of AIS consent entity has already been verified.
+ * <p>
+ * The memo is kept in the entity instance, which lives in the persistence context of the current transaction, together
+ * with the fingerprint of the entity fields covered by the checksum. It is valid only as long as these fields and
+ * the checksum itself are not changed, so repeated verifications of the same consent within one transaction don't
+ * need to map the consent and calculate the checksum again.
+ */
+@Component
+public class AisConsentChecksumMemo {
+
+    public boolean isVerified(ConsentEntity entity) {
+        byte[] verifiedFingerprint = entity.getVerifiedChecksumFingerprint();
+        return verifiedFingerprint != null && MessageDigest.isEqual(verifiedFingerprint, calculateFingerprint(entity));
+    }
+
+    public void markVerified(ConsentEntity entity) {
+        entity.setVerifiedChecksumFingerprint(calculateFingerprint(entity));
+    }
+
+    private byte[] calculateFingerprint(ConsentEntity entity) {
+        CanonicalDigest digest = CanonicalDigest.start()
+                                     .putBytes(entity.getChecksum())
+                                     .putBytes(entity.getData())
+                                     .putBoolean(entity.isRecurringIndicator())
+                                     .putDate(entity.getValidUntil())
+                                     .putInt(entity.getFrequencyPerDay())
+                                     .putEnum(entity.getOwnerNameType())
+                                     .putEnum(entity.getTrustedBeneficiariesType());
+
+        List<TppAccountAccess> tppAccountAccesses = entity.getTppAccountAccesses();
+        digest.putSize(tppAccountAccesses == null ? -1 : tppAccountAccesses.size());
+        if (tppAccountAccesses != null) {
+            tppAccountAccesses.forEach(access -> putAccountAccess(digest, access));
+        }
+
+        List<AspspAccountAccess> aspspAccountAccesses = entity.getAspspAccountAccesses();
+        digest.putSize(aspspAccountAccesses == null ? -1 : aspspAccountAccesses.size());
+        if (aspspAccountAccesses != null) {
+            aspspAccountAccesses.forEach(access -> putAccountAccess(digest, access)
+                                                       .putString(access.getResourceId())
+                                                       .putString(access.getAspspAccountId()));
+        }
+
+        return digest.digest();
+    }
+
+    private CanonicalDigest putAccountAccess(CanonicalDigest digest, AccountAccess access) {
+        return digest.putString(access.getAccountIdentifier())
+                   .putCurrency(access.getCurrency())
+                   .putEnum(access.getTypeAccess())
+                   .putEnum(access.getAccountReferenceType());
+    }
+}
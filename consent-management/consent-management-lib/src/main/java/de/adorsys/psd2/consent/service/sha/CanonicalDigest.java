@@ -0,0 +1,158 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.service.sha;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.Currency;
+
+/**
+ * SHA-512 digest of a canonical binary encoding of values.
+ * <p>
+ * Every value is written with a type tag and variable length values are prefixed with their length, so that different
+ * sequences of values never produce the same encoding. Values are written straight into the message digest, which is
+ * reused by the current thread, so a digest has to be completed before the next one is started on the same thread.
+ */
+public final class CanonicalDigest {
+    private static final String ALGORITHM = "SHA-512";
+    private static final ThreadLocal<MessageDigest> MESSAGE_DIGEST = ThreadLocal.withInitial(CanonicalDigest::createMessageDigest);
+
+    private static final byte NULL_TAG = 0;
+    private static final byte STRING_TAG = 1;
+    private static final byte INT_TAG = 2;
+    private static final byte LONG_TAG = 3;
+    private static final byte BOOLEAN_TAG = 4;
+    private static final byte BYTES_TAG = 5;
+    private static final byte SIZE_TAG = 6;
+
+    private final MessageDigest messageDigest;
+    private final byte[] buffer = new byte[Long.BYTES];
+
+    private CanonicalDigest(MessageDigest messageDigest) {
+        this.messageDigest = messageDigest;
+    }
+
+    /**
+     * Starts new digest on the message digest of the current thread
+     *
+     * @return empty digest
+     */
+    public static CanonicalDigest start() {
+        MessageDigest messageDigest = MESSAGE_DIGEST.get();
+        messageDigest.reset();
+        return new CanonicalDigest(messageDigest);
+    }
+
+    public CanonicalDigest putString(String value) {
+        if (value == null) {
+            return putNull();
+        }
+        return putTaggedBytes(STRING_TAG, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public CanonicalDigest putEnum(Enum<?> value) {
+        return value == null ? putNull() : putString(value.name());
+    }
+
+    public CanonicalDigest putCurrency(Currency value) {
+        return value == null ? putNull() : putString(value.getCurrencyCode());
+    }
+
+    public CanonicalDigest putDate(LocalDate value) {
+        return value == null ? putNull() : putLong(value.toEpochDay());
+    }
+
+    public CanonicalDigest putBytes(byte[] value) {
+        return value == null ? putNull() : putTaggedBytes(BYTES_TAG, value);
+    }
+
+    public CanonicalDigest putBoolean(boolean value) {
+        messageDigest.update(BOOLEAN_TAG);
+        messageDigest.update(value ? (byte) 1 : (byte) 0);
+        return this;
+    }
+
+    public CanonicalDigest putInt(int value) {
+        messageDigest.update(INT_TAG);
+        writeInt(value);
+        return this;
+    }
+
+    public CanonicalDigest putLong(long value) {
+        messageDigest.update(LONG_TAG);
+        for (int i = 0; i < Long.BYTES; i++) {
+            buffer[i] = (byte) (value >>> (56 - 8 * i));
+        }
+        messageDigest.update(buffer, 0, Long.BYTES);
+        return this;
+    }
+
+    /**
+     * Writes the size of the collection, which elements will be written next, or null marker for absent collection
+     *
+     * @param size number of elements or <code>-1</code> for absent collection
+     * @return this digest
+     */
+    public CanonicalDigest putSize(int size) {
+        if (size < 0) {
+            return putNull();
+        }
+        messageDigest.update(SIZE_TAG);
+        writeInt(size);
+        return this;
+    }
+
+    public CanonicalDigest putNull() {
+        messageDigest.update(NULL_TAG);
+        return this;
+    }
+
+    /**
+     * Completes the digest
+     *
+     * @return SHA-512 hash of all written values
+     */
+    public byte[] digest() {
+        return messageDigest.digest();
+    }
+
+    private CanonicalDigest putTaggedBytes(byte tag, byte[] bytes) {
+        messageDigest.update(tag);
+        writeInt(bytes.length);
+        messageDigest.update(bytes);
+        return this;
+    }
+
+    private void writeInt(int value) {
+        for (int i = 0; i < Integer.BYTES; i++) {
+            buffer[i] = (byte) (value >>> (24 - 8 * i));
+        }
+        messageDigest.update(buffer, 0, Integer.BYTES);
+    }
+
+    private static MessageDigest createMessageDigest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-512 is required to be supported by every Java platform
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.domain.blob;
+
+import de.adorsys.xs2a.reader.JsonReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlobCodecTest {
+    private static final int BULK_PAYMENT_SIZE = 500;
+
+    private final JsonReader jsonReader = new JsonReader();
+
+    private BlobCodec blobCodec;
+
+    @BeforeEach
+    void setUp() {
+        blobCodec = buildBlobCodec(BlobCompression.DEFLATE);
+    }
+
+    @Test
+    void encode_noCompression_sameBytes() {
+        // Given
+        BlobCodec noCompressionCodec = buildBlobCodec(BlobCompression.NONE);
+        byte[] consentData = readConsentData();
+
+        // When
+        byte[] actual = noCompressionCodec.encode(consentData);
+
+        // Then
+        assertSame(consentData, actual);
+    }
+
+    @Test
+    void encode_smallBlob_notCompressed() {
+        // Given
+        byte[] data = "{\"recurringIndicator\":true}".getBytes(StandardCharsets.UTF_8);
+
+        // When
+        byte[] actual = blobCodec.encode(data);
+
+        // Then
+        assertSame(data, actual);
+    }
+
+    @Test
+    void encode_incompressibleBlob_notCompressed() {
+        // Given
+        byte[] data = new byte[4096];
+        new Random(42).nextBytes(data);
+        data[0] = '{';
+
+        // When
+        byte[] actual = blobCodec.encode(data);
+
+        // Then
+        assertSame(data, actual);
+    }
+
+    @Test
+    void encode_decode_consentData() {
+        // Given
+        byte[] consentData = readConsentData();
+
+        // When
+        byte[] encoded = blobCodec.encode(consentData);
+        byte[] decoded = blobCodec.decode(encoded);
+
+        // Then
+        assertTrue(encoded.length < consentData.length / 4);
+        assertEquals(0, encoded[0]);
+        assertArrayEquals(consentData, decoded);
+    }
+
+    @Test
+    void encode_decode_bulkPayment() {
+        // Given
+        byte[] payment = buildBulkPayment();
+
+        // When
+        byte[] encoded = blobCodec.encode(payment);
+        byte[] decoded = blobCodec.decode(encoded);
+
+        // Then
+        assertTrue(encoded.length < payment.length / 4);
+        assertArrayEquals(payment, decoded);
+    }
+
+    @Test
+    void decode_legacyBlob_sameBytes() {
+        // Given
+        byte[] legacyBlob = readConsentData();
+
+        // When
+        byte[] actual = blobCodec.decode(legacyBlob);
+
+        // Then
+        assertSame(legacyBlob, actual);
+        assertNull(blobCodec.decode(null));
+    }
+
+    @Test
+    void decode_compressionDisabled_compressedBlobReadable() {
+        // Given
+        byte[] consentData = readConsentData();
+        byte[] encoded = blobCodec.encode(consentData);
+        BlobCodec noCompressionCodec = buildBlobCodec(BlobCompression.NONE);
+
+        // When
+        byte[] actual = noCompressionCodec.decode(encoded);
+
+        // Then
+        assertArrayEquals(consentData, actual);
+    }
+
+    @Test
+    void decode_unknownCompression_exception() {
+        // Given
+        byte[] encoded = blobCodec.encode(readConsentData());
+        encoded[4] = 100;
+
+        // When
+        assertThrows(IllegalStateException.class, () -> blobCodec.decode(encoded));
+    }
+
+    @Test
+    void decode_truncatedBlob_exception() {
+        // Given
+        byte[] encoded = blobCodec.encode(readConsentData());
+        byte[] truncated = Arrays.copyOf(encoded, encoded.length / 2);
+
+        // When
+        assertThrows(IllegalStateException.class, () -> blobCodec.decode(truncated));
+    }
+
+    @Test
+    void encode_defaultCodec_sameBytes() {
+        // Given
+        BlobCodec defaultCodec = new BlobCodec();
+        byte[] payment = buildBulkPayment();
+
+        // When
+        byte[] actual = defaultCodec.encode(payment);
+
+        // Then
+        assertSame(payment, actual);
+    }
+
+    private BlobCodec buildBlobCodec(BlobCompression compression) {
+        BlobCodec codec = new BlobCodec();
+        ReflectionTestUtils.setField(codec, "compression", compression);
+        ReflectionTestUtils.setField(codec, "compressionLevel", 1);
+        ReflectionTestUtils.setField(codec, "compressionMinSize", 1024);
+        return codec;
+    }
+
+    private byte[] readConsentData() {
+        return jsonReader.getStringFromFile("json/dedicated-ais-consent-multiple-accounts.json").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private byte[] buildBulkPayment() {
+        String payments = IntStream.range(0, BULK_PAYMENT_SIZE)
+                              .mapToObj(i -> String.format("{\"endToEndIdentification\":\"RI-%09d\",\"creditorAccount\":{\"iban\":\"DE%020d\",\"currency\":\"EUR\"},"
+                                                               + "\"creditorName\":\"Creditor %d\",\"creditorAddress\":{\"streetName\":\"WBG Straße\",\"buildingNumber\":\"%d\",\"townName\":\"Nürnberg\",\"postCode\":\"90543\",\"country\":\"DE\"},"
+                                                               + "\"instructedAmount\":{\"currency\":\"EUR\",\"amount\":\"%d.%02d\"},\"remittanceInformationUnstructured\":\"Ref. Number %d\"}",
+                                                           i, 500105173911841934L + i, i, i % 200, 10 + i * 7, i % 100, i * 31))
+                              .collect(Collectors.joining(","));
+        return ("{\"batchBookingPreferred\":false,\"debtorAccount\":{\"iban\":\"DE52500105173911841934\",\"currency\":\"EUR\"},"
+                    + "\"requestedExecutionDate\":\"2020-01-01\",\"payments\":[" + payments + "]}").getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -21,6 +21,7 @@ import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
 import de.adorsys.psd2.consent.repository.AuthorisationRepository;
 import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
 import de.adorsys.psd2.consent.service.mapper.AisConsentMapper;
+import de.adorsys.psd2.consent.service.sha.AisConsentChecksumMemo;
 import de.adorsys.psd2.consent.service.sha.ChecksumCalculatingFactory;
 import de.adorsys.psd2.consent.service.sha.ChecksumCalculatingService;
 import de.adorsys.psd2.core.data.ais.AisConsent;
@@ -32,6 +33,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Collections;
@@ -64,6 +66,8 @@ class AisConsentRepositoryImplTest {
     private AuthorisationRepository authorisationRepository;
     @Mock
     private ChecksumCalculatingService checksumCalculatingService;
+    @Spy
+    private AisConsentChecksumMemo checksumMemo = new AisConsentChecksumMemo();
 
     @BeforeEach
     void setUp() {
@@ -157,6 +161,56 @@ class AisConsentRepositoryImplTest {
         verify(aisConsentRepository, times(1)).save(consentEntity);
     }
 
+    @Test
+    void verifyAndSave_alreadyVerifiedChecksum_verifiedOnce() throws WrongChecksumException {
+        // Given
+        when(calculatingFactory.getServiceByChecksum(any(), eq(ConsentType.AIS)))
+            .thenReturn(Optional.of(checksumCalculatingService));
+        when(aisConsentMapper.mapToAisConsent(eq(consentEntity), any()))
+            .thenReturn(aisConsent);
+        when(aisConsentRepository.findByExternalId(consentEntity.getExternalId()))
+            .thenReturn(Optional.of(consentEntity));
+        when(checksumCalculatingService.verifyConsentWithChecksum(aisConsent, CHECKSUM))
+            .thenReturn(true);
+        when(aisConsentRepository.save(consentEntity))
+            .thenReturn(consentEntity);
+
+        consentEntity.setChecksum(CHECKSUM);
+
+        // When
+        aisConsentVerifyingRepository.verifyAndSave(consentEntity);
+        aisConsentVerifyingRepository.verifyAndSave(consentEntity);
+
+        // Then
+        verify(checksumCalculatingService, times(1)).verifyConsentWithChecksum(aisConsent, CHECKSUM);
+        verify(aisConsentRepository, times(2)).save(consentEntity);
+    }
+
+    @Test
+    void verifyAndSave_changedAfterVerification_verifiedAgain() throws WrongChecksumException {
+        // Given
+        when(calculatingFactory.getServiceByChecksum(any(), eq(ConsentType.AIS)))
+            .thenReturn(Optional.of(checksumCalculatingService));
+        when(aisConsentMapper.mapToAisConsent(eq(consentEntity), any()))
+            .thenReturn(aisConsent);
+        when(aisConsentRepository.findByExternalId(consentEntity.getExternalId()))
+            .thenReturn(Optional.of(consentEntity));
+        when(checksumCalculatingService.verifyConsentWithChecksum(aisConsent, CHECKSUM))
+            .thenReturn(true, false);
+        when(aisConsentRepository.save(consentEntity))
+            .thenReturn(consentEntity);
+
+        consentEntity.setChecksum(CHECKSUM);
+        aisConsentVerifyingRepository.verifyAndSave(consentEntity);
+        consentEntity.setFrequencyPerDay(consentEntity.getFrequencyPerDay() + 1);
+
+        // When
+        assertThrows(WrongChecksumException.class, () -> aisConsentVerifyingRepository.verifyAndSave(consentEntity));
+
+        // Then
+        verify(checksumCalculatingService, times(2)).verifyConsentWithChecksum(aisConsent, CHECKSUM);
+    }
+
     @Test
     void verifyAndUpdate_success() throws WrongChecksumException {
         // Given
@@ -20,10 +20,13 @@ import de.adorsys.psd2.aspsp.profile.domain.AspspSettings;
 import de.adorsys.psd2.aspsp.profile.domain.ais.AisAspspProfileSetting;
 import de.adorsys.psd2.aspsp.profile.domain.ais.ConsentTypeSetting;
 import de.adorsys.psd2.aspsp.profile.service.AspspProfileService;
+import de.adorsys.psd2.consent.domain.AuthorisationEntity;
 import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
 import de.adorsys.psd2.consent.repository.AuthorisationRepository;
 import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
+import de.adorsys.psd2.xs2a.core.authorisation.AuthorisationType;
 import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
+import de.adorsys.psd2.xs2a.core.sca.ScaStatus;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -34,16 +37,21 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class AisConsentConfirmationExpirationServiceTest {
     private static final LocalDate TOMORROW = LocalDate.now().plusDays(1);
     private static final LocalDate TODAY = LocalDate.now();
+    private static final String EXTERNAL_ID = "consent external id";
+    private static final OffsetDateTime CREATED_BEFORE = OffsetDateTime.now().minusHours(1);
+    private static final Set<ConsentStatus> NOT_CONFIRMED_STATUSES = EnumSet.of(ConsentStatus.RECEIVED, ConsentStatus.PARTIALLY_AUTHORISED);
 
     @InjectMocks
     private AisConsentConfirmationExpirationServiceImpl expirationService;
@@ -127,6 +135,46 @@ class AisConsentConfirmationExpirationServiceTest {
         assertEquals(ConsentStatus.REJECTED, aisConsentListCaptor.getValue().get(0).getConsentStatus());
     }
 
+    @Test
+    void updateConsentsOnConfirmationExpiration_notConfirmedConsentsRejected() {
+        // Given
+        AuthorisationEntity authorisation = new AuthorisationEntity();
+        authorisation.setScaStatus(ScaStatus.RECEIVED);
+
+        when(consentJpaRepository.findExternalIdsByIdInAndConsentStatusInAndCreationTimestampBefore(List.of(1L, 2L), NOT_CONFIRMED_STATUSES, CREATED_BEFORE))
+            .thenReturn(Collections.singletonList(EXTERNAL_ID));
+        when(consentJpaRepository.updateConsentStatusByExternalIdInAndConsentStatusIn(eq(Collections.singletonList(EXTERNAL_ID)), eq(NOT_CONFIRMED_STATUSES),
+                                                                                    eq(ConsentStatus.REJECTED), eq(TODAY), any(OffsetDateTime.class)))
+            .thenReturn(1);
+        when(authorisationRepository.findAllByParentExternalIdInAndType(Collections.singletonList(EXTERNAL_ID), AuthorisationType.CONSENT))
+            .thenReturn(Collections.singletonList(authorisation));
+
+        // When
+        int actual = expirationService.updateConsentsOnConfirmationExpiration(List.of(1L, 2L), CREATED_BEFORE);
+
+        // Then
+        assertEquals(1, actual);
+        assertEquals(ScaStatus.FAILED, authorisation.getScaStatus());
+        verify(authorisationRepository).saveAll(Collections.singletonList(authorisation));
+        verifyNoInteractions(aspspProfileService);
+        verify(consentJpaRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void updateConsentsOnConfirmationExpiration_noExpiredConsents() {
+        // Given
+        when(consentJpaRepository.findExternalIdsByIdInAndConsentStatusInAndCreationTimestampBefore(List.of(1L), NOT_CONFIRMED_STATUSES, CREATED_BEFORE))
+            .thenReturn(Collections.emptyList());
+
+        // When
+        int actual = expirationService.updateConsentsOnConfirmationExpiration(List.of(1L), CREATED_BEFORE);
+
+        // Then
+        assertEquals(0, actual);
+        verify(consentJpaRepository, never()).updateConsentStatusByExternalIdInAndConsentStatusIn(any(), any(), any(), any(), any());
+        verifyNoInteractions(authorisationRepository);
+    }
+
     private ConsentEntity buildConsent() {
         ConsentEntity consent = new ConsentEntity();
         consent.setConsentStatus(ConsentStatus.RECEIVED);
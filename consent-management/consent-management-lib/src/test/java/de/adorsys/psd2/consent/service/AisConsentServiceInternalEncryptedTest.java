@@ -22,6 +22,7 @@ import de.adorsys.psd2.consent.api.CmsError;
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.WrongChecksumException;
 import de.adorsys.psd2.consent.api.ais.AisConsentActionRequest;
+import de.adorsys.psd2.consent.api.ais.AisConsentUsageReservation;
 import de.adorsys.psd2.consent.api.ais.CmsConsent;
 import de.adorsys.psd2.consent.api.service.AisConsentService;
 import de.adorsys.psd2.consent.service.security.SecurityDataService;
@@ -33,6 +34,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDate;
 import java.util.Collections;
 import java.util.Optional;
 
@@ -45,6 +47,7 @@ class AisConsentServiceInternalEncryptedTest {
     private static final String ENCRYPTED_CONSENT_ID = "DfLtDOgo1tTK6WQlHlb-TMPL2pkxRlhZ4feMa5F4tOWwNN45XLNAVfWwoZUKlQwb_=_bS6p6XvTWI";
     private static final String UNDECRYPTABLE_CONSENT_ID = "0000000000TK6WQlHlb-TMPL2pkxRlhZ4feMa5F4tOWwNN45XLNAVfWwoZUKlQwb_=_bS6p6XvTWI";
     private static final String DECRYPTED_CONSENT_ID = "255574b2-f115-4f3c-8d77-c1897749c060";
+    private static final LocalDate USAGE_DATE = LocalDate.of(2020, 5, 4);
 
     @InjectMocks
     private AisConsentServiceInternalEncrypted aisConsentServiceInternalEncrypted;
@@ -79,6 +82,72 @@ class AisConsentServiceInternalEncryptedTest {
         verify(aisConsentService, never()).checkConsentAndSaveActionLog(any());
     }
 
+    @Test
+    void reserveConsentUsage_success() {
+        // Given
+        AisConsentActionRequest request = buildAisActionRequest(ENCRYPTED_CONSENT_ID);
+        when(securityDataService.decryptId(ENCRYPTED_CONSENT_ID)).thenReturn(Optional.of(DECRYPTED_CONSENT_ID));
+        AisConsentActionRequest decryptedRequest = buildAisActionRequest(DECRYPTED_CONSENT_ID);
+        when(aisConsentService.reserveConsentUsage(decryptedRequest))
+            .thenReturn(CmsResponse.<AisConsentUsageReservation>builder()
+                            .payload(new AisConsentUsageReservation(true, USAGE_DATE))
+                            .build());
+
+        // When
+        CmsResponse<AisConsentUsageReservation> actual = aisConsentServiceInternalEncrypted.reserveConsentUsage(request);
+
+        // Then
+        assertTrue(actual.isSuccessful());
+        assertEquals(new AisConsentUsageReservation(true, USAGE_DATE), actual.getPayload());
+    }
+
+    @Test
+    void reserveConsentUsage_decryptionFailed() {
+        // Given
+        AisConsentActionRequest request = buildAisActionRequest(UNDECRYPTABLE_CONSENT_ID);
+
+        // When
+        CmsResponse<AisConsentUsageReservation> actual = aisConsentServiceInternalEncrypted.reserveConsentUsage(request);
+
+        // Then
+        assertTrue(actual.hasError());
+        assertEquals(CmsError.TECHNICAL_ERROR, actual.getError());
+        verify(aisConsentService, never()).reserveConsentUsage(any());
+    }
+
+    @Test
+    void releaseConsentUsage_success() {
+        // Given
+        AisConsentActionRequest request = buildAisActionRequest(ENCRYPTED_CONSENT_ID);
+        request.setUsageDate(USAGE_DATE);
+        when(securityDataService.decryptId(ENCRYPTED_CONSENT_ID)).thenReturn(Optional.of(DECRYPTED_CONSENT_ID));
+        when(aisConsentService.releaseConsentUsage(any()))
+            .thenReturn(CmsResponse.<CmsResponse.VoidResponse>builder()
+                            .payload(CmsResponse.voidResponse())
+                            .build());
+
+        // When
+        aisConsentServiceInternalEncrypted.releaseConsentUsage(request);
+
+        // Then
+        AisConsentActionRequest decryptedRequest = buildAisActionRequest(DECRYPTED_CONSENT_ID);
+        decryptedRequest.setUsageDate(USAGE_DATE);
+        verify(aisConsentService, times(1)).releaseConsentUsage(decryptedRequest);
+    }
+
+    @Test
+    void releaseConsentUsage_decryptionFailed() {
+        // Given
+        AisConsentActionRequest request = buildAisActionRequest(UNDECRYPTABLE_CONSENT_ID);
+
+        // When
+        CmsResponse<CmsResponse.VoidResponse> actual = aisConsentServiceInternalEncrypted.releaseConsentUsage(request);
+
+        // Then
+        assertTrue(actual.hasError());
+        verify(aisConsentService, never()).releaseConsentUsage(any());
+    }
+
     @Test
     void updateAccountAccess_success() throws WrongChecksumException {
         // Given
@@ -23,6 +23,7 @@ import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.WrongChecksumException;
 import de.adorsys.psd2.consent.api.ais.AdditionalAccountInformationType;
 import de.adorsys.psd2.consent.api.ais.AisConsentActionRequest;
+import de.adorsys.psd2.consent.api.ais.AisConsentUsageReservation;
 import de.adorsys.psd2.consent.api.ais.CmsConsent;
 import de.adorsys.psd2.consent.domain.account.AisConsentAction;
 import de.adorsys.psd2.consent.domain.account.AspspAccountAccess;
@@ -30,9 +31,11 @@ import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
 import de.adorsys.psd2.consent.repository.AisConsentActionRepository;
 import de.adorsys.psd2.consent.repository.AisConsentVerifyingRepository;
 import de.adorsys.psd2.consent.repository.AuthorisationRepository;
+import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
 import de.adorsys.psd2.consent.service.account.AccountAccessUpdater;
 import de.adorsys.psd2.consent.service.mapper.AccessMapper;
 import de.adorsys.psd2.consent.service.mapper.CmsConsentMapper;
+import de.adorsys.psd2.consent.service.notification.TppNotificationService;
 import de.adorsys.psd2.core.data.AccountAccess;
 import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
 import de.adorsys.xs2a.reader.JsonReader;
@@ -43,10 +46,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
@@ -55,6 +60,7 @@ class AisConsentServiceInternalTest {
     private static final String CONSENT_ID = "4b112130-6a96-4941-a220-2da8a4af2c65";
     private static final String TPP_ID = "TPP ID";
     private static final String REQUEST_URI = "/v1/accounts";
+    private static final LocalDate USAGE_DATE = LocalDate.of(2020, 5, 4);
 
     private JsonReader jsonReader = new JsonReader();
 
@@ -65,6 +71,8 @@ class AisConsentServiceInternalTest {
     @Mock
     private AuthorisationRepository authorisationRepository;
     @Mock
+    private ConsentJpaRepository consentJpaRepository;
+    @Mock
     private AisConsentConfirmationExpirationService aisConsentConfirmationExpirationService;
     @Mock
     private AisConsentUsageService aisConsentUsageService;
@@ -76,6 +84,8 @@ class AisConsentServiceInternalTest {
     private AccessMapper accessMapper;
     @Mock
     private AccountAccessUpdater accountAccessUpdater;
+    @Mock
+    private TppNotificationService tppNotificationService;
 
     @InjectMocks
     private AisConsentServiceInternal aisConsentServiceInternal;
@@ -85,6 +95,7 @@ class AisConsentServiceInternalTest {
         AisConsentActionRequest aisConsentActionRequest = new AisConsentActionRequest(TPP_ID, CONSENT_ID, ActionStatus.SUCCESS, REQUEST_URI, true, null, null);
         ConsentEntity consentEntity = jsonReader.getObjectFromFile("json/service/ais-consent-service/consent-entity.json", ConsentEntity.class);
         when(aisConsentRepository.getActualAisConsent(CONSENT_ID)).thenReturn(Optional.of(consentEntity));
+        when(aisConsentUsageService.incrementUsage(any(ConsentEntity.class), eq(aisConsentActionRequest))).thenReturn(true);
         ArgumentCaptor<AisConsentAction> aisConsentActionCaptor = ArgumentCaptor.forClass(AisConsentAction.class);
 
         CmsResponse<CmsResponse.VoidResponse> response = aisConsentServiceInternal.checkConsentAndSaveActionLog(aisConsentActionRequest);
@@ -114,6 +125,7 @@ class AisConsentServiceInternalTest {
         AisConsentActionRequest aisConsentActionRequest = new AisConsentActionRequest(TPP_ID, CONSENT_ID, ActionStatus.SUCCESS, REQUEST_URI, true, null, null);
         ConsentEntity consentEntity = jsonReader.getObjectFromFile("json/service/ais-consent-service/consent-entity-past-validUntil.json", ConsentEntity.class);
         when(aisConsentRepository.getActualAisConsent(CONSENT_ID)).thenReturn(Optional.of(consentEntity));
+        when(aisConsentUsageService.incrementUsage(any(ConsentEntity.class), eq(aisConsentActionRequest))).thenReturn(true);
         ConsentEntity expiredConsent = jsonReader.getObjectFromFile("json/service/ais-consent-service/consent-entity-past-validUntil-expired.json", ConsentEntity.class);
         when(aisConsentConfirmationExpirationService.expireConsent(consentEntity)).thenReturn(expiredConsent);
 
@@ -128,6 +140,7 @@ class AisConsentServiceInternalTest {
         AisConsentActionRequest aisConsentActionRequest = new AisConsentActionRequest(TPP_ID, CONSENT_ID, ActionStatus.SUCCESS, REQUEST_URI, true, null, null);
         ConsentEntity consentEntity = jsonReader.getObjectFromFile("json/service/ais-consent-service/consent-entity.json", ConsentEntity.class);
         when(aisConsentRepository.getActualAisConsent(CONSENT_ID)).thenReturn(Optional.of(consentEntity));
+        when(aisConsentUsageService.incrementUsage(any(ConsentEntity.class), eq(aisConsentActionRequest))).thenReturn(true);
 
         CmsResponse<CmsResponse.VoidResponse> response = aisConsentServiceInternal.checkConsentAndSaveActionLog(aisConsentActionRequest);
 
@@ -135,6 +148,166 @@ class AisConsentServiceInternalTest {
         verify(aisConsentUsageService).incrementUsage(consentEntity, aisConsentActionRequest);
     }
 
+    @Test
+    void checkConsentAndSaveActionLog_usageReserved_shouldNotIncrementUsage() throws WrongChecksumException {
+        AisConsentActionRequest aisConsentActionRequest = AisConsentActionRequest.builder()
+                                                              .tppId(TPP_ID)
+                                                              .consentId(CONSENT_ID)
+                                                              .actionStatus(ActionStatus.SUCCESS)
+                                                              .requestUri(REQUEST_URI)
+                                                              .updateUsage(true)
+                                                              .usageReserved(true)
+                                                              .build();
+        ConsentEntity consentEntity = jsonReader.getObjectFromFile("json/service/ais-consent-service/consent-entity.json", ConsentEntity.class);
+        when(aisConsentRepository.getActualAisConsent(CONSENT_ID)).thenReturn(Optional.of(consentEntity));
+
+        CmsResponse<CmsResponse.VoidResponse> response = aisConsentServiceInternal.checkConsentAndSaveActionLog(aisConsentActionRequest);
+
+        assertTrue(response.isSuccessful());
+        verify(aisConsentUsageService, never()).incrementUsage(any(), any());
+        verify(aisConsentActionRepository).save(any(AisConsentAction.class));
+    }
+
+    @Test
+    void reserveConsentUsage_success() {
+        AisConsentActionRequest aisConsentActionRequest = new AisConsentActionRequest(null, CONSENT_ID, null, REQUEST_URI, true, null, null);
+        ConsentEntity consentEntity = jsonReader.getObjectFromFile("json/service/ais-consent-service/consent-entity.json", ConsentEntity.class);
+        when(aisConsentRepository.getActualAisConsent(CONSENT_ID)).thenReturn(Optional.of(consentEntity));
+        when(aisConsentUsageService.reserveUsage(consentEntity, aisConsentActionRequest)).thenReturn(Optional.of(USAGE_DATE));
+
+        CmsResponse<AisConsentUsageReservation> response = aisConsentServiceInternal.reserveConsentUsage(aisConsentActionRequest);
+
+        assertTrue(response.isSuccessful());
+        assertTrue(response.getPayload().isReserved());
+        assertEquals(USAGE_DATE, response.getPayload().getUsageDate());
+        assertFalse(response.getPayload().isActionLogged());
+        verifyNoInteractions(aisConsentActionRepository, consentJpaRepository);
+    }
+
+    @Test
+    void reserveConsentUsage_withActionStatus_actionLogged() {
+        AisConsentActionRequest aisConsentActionRequest = new AisConsentActionRequest(TPP_ID, CONSENT_ID, ActionStatus.SUCCESS, REQUEST_URI, true, null, null);
+        ConsentEntity consentEntity = jsonReader.getObjectFromFile("json/service/ais-consent-service/consent-entity.json", ConsentEntity.class);
+        when(aisConsentRepository.getActualAisConsent(CONSENT_ID)).thenReturn(Optional.of(consentEntity));
+        when(aisConsentUsageService.reserveUsage(consentEntity, aisConsentActionRequest)).thenReturn(Optional.of(USAGE_DATE));
+
+        CmsResponse<AisConsentUsageReservation> response = aisConsentServiceInternal.reserveConsentUsage(aisConsentActionRequest);
+
+        assertTrue(response.isSuccessful());
+        assertTrue(response.getPayload().isReserved());
+        assertTrue(response.getPayload().isActionLogged());
+        verify(consentJpaRepository).updateLastActionDate(consentEntity.getId(), USAGE_DATE);
+        ArgumentCaptor<AisConsentAction> actionCaptor = ArgumentCaptor.forClass(AisConsentAction.class);
+        verify(aisConsentActionRepository).save(actionCaptor.capture());
+        assertEquals(ActionStatus.SUCCESS, actionCaptor.getValue().getActionStatus());
+        assertEquals(TPP_ID, actionCaptor.getValue().getTppId());
+    }
+
+    @Test
+    void reserveConsentUsage_oneOffConsent_actionNotLogged() {
+        AisConsentActionRequest aisConsentActionRequest = new AisConsentActionRequest(TPP_ID, CONSENT_ID, ActionStatus.SUCCESS, REQUEST_URI, true, null, null);
+        ConsentEntity consentEntity = jsonReader.getObjectFromFile("json/service/ais-consent-service/consent-entity.json", ConsentEntity.class);
+        consentEntity.setRecurringIndicator(false);
+        consentEntity.setFrequencyPerDay(1);
+        when(aisConsentRepository.getActualAisConsent(CONSENT_ID)).thenReturn(Optional.of(consentEntity));
+        when(aisConsentUsageService.reserveUsage(consentEntity, aisConsentActionRequest)).thenReturn(Optional.of(USAGE_DATE));
+
+        CmsResponse<AisConsentUsageReservation> response = aisConsentServiceInternal.reserveConsentUsage(aisConsentActionRequest);
+
+        assertTrue(response.isSuccessful());
+        assertTrue(response.getPayload().isReserved());
+        assertFalse(response.getPayload().isActionLogged());
+        verifyNoInteractions(aisConsentActionRepository, consentJpaRepository);
+    }
+
+    @Test
+    void reserveConsentUsage_frequencyPerDayExceeded() {
+        AisConsentActionRequest aisConsentActionRequest = new AisConsentActionRequest(null, CONSENT_ID, null, REQUEST_URI, true, null, null);
+        ConsentEntity consentEntity = jsonReader.getObjectFromFile("json/service/ais-consent-service/consent-entity.json", ConsentEntity.class);
+        when(aisConsentRepository.getActualAisConsent(CONSENT_ID)).thenReturn(Optional.of(consentEntity));
+        when(aisConsentUsageService.reserveUsage(consentEntity, aisConsentActionRequest)).thenReturn(Optional.empty());
+
+        CmsResponse<AisConsentUsageReservation> response = aisConsentServiceInternal.reserveConsentUsage(aisConsentActionRequest);
+
+        assertTrue(response.isSuccessful());
+        assertFalse(response.getPayload().isReserved());
+        verifyNoInteractions(aisConsentActionRepository);
+    }
+
+    @Test
+    void reserveConsentUsage_noConsent() {
+        AisConsentActionRequest aisConsentActionRequest = new AisConsentActionRequest(null, CONSENT_ID, null, REQUEST_URI, true, null, null);
+        when(aisConsentRepository.getActualAisConsent(CONSENT_ID)).thenReturn(Optional.empty());
+
+        CmsResponse<AisConsentUsageReservation> response = aisConsentServiceInternal.reserveConsentUsage(aisConsentActionRequest);
+
+        assertTrue(response.hasError());
+        assertEquals(CmsError.LOGICAL_ERROR, response.getError());
+        verify(aisConsentUsageService, never()).reserveUsage(any(), any());
+    }
+
+    @Test
+    void releaseConsentUsage_success() {
+        AisConsentActionRequest aisConsentActionRequest = AisConsentActionRequest.builder()
+                                                              .consentId(CONSENT_ID)
+                                                              .requestUri(REQUEST_URI)
+                                                              .updateUsage(true)
+                                                              .usageReserved(true)
+                                                              .usageDate(USAGE_DATE)
+                                                              .build();
+        ConsentEntity consentEntity = jsonReader.getObjectFromFile("json/service/ais-consent-service/consent-entity.json", ConsentEntity.class);
+        when(aisConsentRepository.getActualAisConsent(CONSENT_ID)).thenReturn(Optional.of(consentEntity));
+
+        CmsResponse<CmsResponse.VoidResponse> response = aisConsentServiceInternal.releaseConsentUsage(aisConsentActionRequest);
+
+        assertTrue(response.isSuccessful());
+        verify(aisConsentUsageService).decrementUsage(consentEntity, aisConsentActionRequest);
+    }
+
+    @Test
+    void releaseConsentUsage_noConsent() {
+        AisConsentActionRequest aisConsentActionRequest = AisConsentActionRequest.builder()
+                                                              .consentId(CONSENT_ID)
+                                                              .requestUri(REQUEST_URI)
+                                                              .updateUsage(true)
+                                                              .usageReserved(true)
+                                                              .usageDate(USAGE_DATE)
+                                                              .build();
+        when(aisConsentRepository.getActualAisConsent(CONSENT_ID)).thenReturn(Optional.empty());
+
+        CmsResponse<CmsResponse.VoidResponse> response = aisConsentServiceInternal.releaseConsentUsage(aisConsentActionRequest);
+
+        assertTrue(response.hasError());
+        verify(aisConsentUsageService, never()).decrementUsage(any(), any());
+    }
+
+    @Test
+    void releaseConsentUsage_noUsageDate() {
+        AisConsentActionRequest aisConsentActionRequest = new AisConsentActionRequest(null, CONSENT_ID, null, REQUEST_URI, true, null, null);
+
+        CmsResponse<CmsResponse.VoidResponse> response = aisConsentServiceInternal.releaseConsentUsage(aisConsentActionRequest);
+
+        assertTrue(response.hasError());
+        assertEquals(CmsError.LOGICAL_ERROR, response.getError());
+        verifyNoInteractions(aisConsentRepository);
+        verify(aisConsentUsageService, never()).decrementUsage(any(), any());
+    }
+
+    @Test
+    void checkConsentAndSaveActionLog_frequencyPerDayExceeded_logicalError() throws WrongChecksumException {
+        AisConsentActionRequest aisConsentActionRequest = new AisConsentActionRequest(TPP_ID, CONSENT_ID, ActionStatus.SUCCESS, REQUEST_URI, true, null, null);
+        ConsentEntity consentEntity = jsonReader.getObjectFromFile("json/service/ais-consent-service/consent-entity.json", ConsentEntity.class);
+        when(aisConsentRepository.getActualAisConsent(CONSENT_ID)).thenReturn(Optional.of(consentEntity));
+        when(aisConsentUsageService.incrementUsage(consentEntity, aisConsentActionRequest)).thenReturn(false);
+
+        CmsResponse<CmsResponse.VoidResponse> response = aisConsentServiceInternal.checkConsentAndSaveActionLog(aisConsentActionRequest);
+
+        assertTrue(response.hasError());
+        assertEquals(CmsError.LOGICAL_ERROR, response.getError());
+        verify(aisConsentActionRepository).save(any(AisConsentAction.class));
+        verify(aisConsentRepository, never()).verifyAndSave(any());
+    }
+
     @Test
     void checkConsentAndSaveActionLog_noUpdateUsageInRequest_shouldIgnoreUsage() throws WrongChecksumException {
         AisConsentActionRequest aisConsentActionRequest = new AisConsentActionRequest(TPP_ID, CONSENT_ID, ActionStatus.SUCCESS, REQUEST_URI, false, null, null);
@@ -152,6 +325,7 @@ class AisConsentServiceInternalTest {
         AisConsentActionRequest aisConsentActionRequest = new AisConsentActionRequest(TPP_ID, CONSENT_ID, ActionStatus.SUCCESS, REQUEST_URI, true, null, null);
         ConsentEntity consentEntity = jsonReader.getObjectFromFile("json/service/ais-consent-service/consent-entity-one-off.json", ConsentEntity.class);
         when(aisConsentRepository.getActualAisConsent(CONSENT_ID)).thenReturn(Optional.of(consentEntity));
+        when(aisConsentUsageService.incrementUsage(any(ConsentEntity.class), eq(aisConsentActionRequest))).thenReturn(true);
         CmsConsent cmsConsent = jsonReader.getObjectFromFile("json/service/ais-consent-service/cms-consent-one-off.json", CmsConsent.class);
         when(cmsConsentMapper.mapToCmsConsent(eq(consentEntity), anyList(), anyMap())).thenReturn(cmsConsent);
         when(oneOffConsentExpirationService.isConsentExpired(cmsConsent, 1L)).thenReturn(true);
@@ -163,6 +337,7 @@ class AisConsentServiceInternalTest {
         verify(aisConsentRepository).verifyAndSave(consentEntityCaptor.capture());
         ConsentEntity capturedConsentEntity = consentEntityCaptor.getValue();
         assertEquals(ConsentStatus.EXPIRED, capturedConsentEntity.getConsentStatus());
+        verify(tppNotificationService).notifyConsentStatusChanged(consentEntity, ConsentStatus.VALID);
     }
 
     @Test
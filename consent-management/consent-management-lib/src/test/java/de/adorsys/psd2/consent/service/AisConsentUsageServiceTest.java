@@ -19,86 +19,159 @@ package de.adorsys.psd2.consent.service;
 import de.adorsys.psd2.consent.api.ActionStatus;
 import de.adorsys.psd2.consent.api.ais.AisConsentActionRequest;
 import de.adorsys.psd2.consent.domain.account.AisConsentUsage;
+import de.adorsys.psd2.consent.domain.account.AisConsentUsageCounter;
 import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
 import de.adorsys.psd2.consent.repository.AisConsentUsageRepository;
+import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class AisConsentUsageServiceTest {
+    private static final Long CONSENT_ID = 1L;
+    private static final String REQUEST_URI = "requestUri";
+    private static final String RESOURCE_ID = "resourceId";
+    private static final String TRANSACTION_ID = "transactionId";
+    private static final int FREQUENCY_PER_DAY = 4;
+
     @InjectMocks
     private AisConsentUsageService aisConsentUsageService;
     @Mock
     private AisConsentUsageRepository aisConsentUsageRepository;
+    @Mock
+    private ConsentJpaRepository consentJpaRepository;
 
     @Test
-    void incrementUsage_getUsageFromRepository() {
+    void incrementUsage_existingUsage_incrementedByUpdate() {
         //Given
-        ConsentEntity consentEntity = new ConsentEntity();
-        int initialUsage = 5;
-        AisConsentActionRequest aisConsentActionRequest = new AisConsentActionRequest("tppId", "consentId", ActionStatus.SUCCESS, "requestUri", true, "resourceId", "transactionId");
-        ArgumentCaptor<AisConsentUsage> argumentCaptor = ArgumentCaptor.forClass(AisConsentUsage.class);
-        AisConsentUsage aisConsentUsage = new AisConsentUsage();
-        aisConsentUsage.setUsage(initialUsage);
-        when(aisConsentUsageRepository.findWriteByConsentAndUsageDateAndRequestUri(eq(consentEntity), any(LocalDate.class), eq(aisConsentActionRequest.getRequestUri()))).thenReturn(Optional.of(aisConsentUsage));
+        ConsentEntity consentEntity = buildConsentEntity();
+        when(aisConsentUsageRepository.incrementUsage(eq(consentEntity), any(LocalDate.class), eq(REQUEST_URI), eq(RESOURCE_ID), eq(TRANSACTION_ID), eq(FREQUENCY_PER_DAY)))
+            .thenReturn(1);
         //When
-        aisConsentUsageService.incrementUsage(consentEntity, aisConsentActionRequest);
+        boolean actual = aisConsentUsageService.incrementUsage(consentEntity, buildAisConsentActionRequest());
         //Then
-        verify(aisConsentUsageRepository).save(argumentCaptor.capture());
-        AisConsentUsage aisConsentUsageCaptured = argumentCaptor.getValue();
-        assertEquals(++initialUsage, aisConsentUsageCaptured.getUsage());
-        assertEquals(aisConsentActionRequest.getResourceId(), aisConsentUsageCaptured.getResourceId());
-        assertEquals(aisConsentActionRequest.getTransactionId(), aisConsentUsageCaptured.getTransactionId());
+        assertTrue(actual);
+        verify(aisConsentUsageRepository, never()).save(any());
+        verifyNoInteractions(consentJpaRepository);
     }
 
     @Test
-    void incrementUsage_noUsageInRepository() {
+    void incrementUsage_noUsage_createdUnderConsentLock() {
         //Given
-        ConsentEntity consentEntity = new ConsentEntity();
-        AisConsentActionRequest aisConsentActionRequest = new AisConsentActionRequest("tppId", "consentId", ActionStatus.SUCCESS, "requestUri", true, "resourceId", "transactionId");
+        ConsentEntity consentEntity = buildConsentEntity();
+        when(aisConsentUsageRepository.incrementUsage(eq(consentEntity), any(LocalDate.class), eq(REQUEST_URI), eq(RESOURCE_ID), eq(TRANSACTION_ID), eq(FREQUENCY_PER_DAY)))
+            .thenReturn(0);
         ArgumentCaptor<AisConsentUsage> argumentCaptor = ArgumentCaptor.forClass(AisConsentUsage.class);
-        when(aisConsentUsageRepository.findWriteByConsentAndUsageDateAndRequestUri(eq(consentEntity), any(LocalDate.class), eq(aisConsentActionRequest.getRequestUri()))).thenReturn(Optional.empty());
         //When
-        aisConsentUsageService.incrementUsage(consentEntity, aisConsentActionRequest);
+        boolean actual = aisConsentUsageService.incrementUsage(consentEntity, buildAisConsentActionRequest());
         //Then
-        verify(aisConsentUsageRepository).save(argumentCaptor.capture());
+        assertTrue(actual);
+        InOrder inOrder = inOrder(consentJpaRepository, aisConsentUsageRepository);
+        inOrder.verify(consentJpaRepository).findWriteById(CONSENT_ID);
+        inOrder.verify(aisConsentUsageRepository).save(argumentCaptor.capture());
         AisConsentUsage aisConsentUsageCaptured = argumentCaptor.getValue();
         assertEquals(1, aisConsentUsageCaptured.getUsage());
-        assertEquals(aisConsentActionRequest.getResourceId(), aisConsentUsageCaptured.getResourceId());
-        assertEquals(aisConsentActionRequest.getTransactionId(), aisConsentUsageCaptured.getTransactionId());
+        assertEquals(REQUEST_URI, aisConsentUsageCaptured.getRequestUri());
+        assertEquals(RESOURCE_ID, aisConsentUsageCaptured.getResourceId());
+        assertEquals(TRANSACTION_ID, aisConsentUsageCaptured.getTransactionId());
+        assertEquals(Collections.singletonList(aisConsentUsageCaptured), consentEntity.getUsages());
+    }
+
+    @Test
+    void incrementUsage_usageCreatedWhileWaitingForLock_incrementedByUpdate() {
+        //Given
+        ConsentEntity consentEntity = buildConsentEntity();
+        when(aisConsentUsageRepository.incrementUsage(eq(consentEntity), any(LocalDate.class), eq(REQUEST_URI), eq(RESOURCE_ID), eq(TRANSACTION_ID), eq(FREQUENCY_PER_DAY)))
+            .thenReturn(0, 1);
+        //When
+        aisConsentUsageService.incrementUsage(consentEntity, buildAisConsentActionRequest());
+        //Then
+        verify(consentJpaRepository).findWriteById(CONSENT_ID);
+        verify(aisConsentUsageRepository, times(2)).incrementUsage(eq(consentEntity), any(LocalDate.class), eq(REQUEST_URI), eq(RESOURCE_ID), eq(TRANSACTION_ID), eq(FREQUENCY_PER_DAY));
+        verify(aisConsentUsageRepository, never()).save(any());
+    }
+
+    @Test
+    void incrementUsage_frequencyPerDayReached_notCounted() {
+        //Given
+        ConsentEntity consentEntity = buildConsentEntity();
+        when(aisConsentUsageRepository.incrementUsage(eq(consentEntity), any(LocalDate.class), eq(REQUEST_URI), eq(RESOURCE_ID), eq(TRANSACTION_ID), eq(FREQUENCY_PER_DAY)))
+            .thenReturn(0);
+        when(aisConsentUsageRepository.existsByConsentAndUsageDateAndRequestUri(eq(consentEntity), any(LocalDate.class), eq(REQUEST_URI)))
+            .thenReturn(true);
+        //When
+        boolean actual = aisConsentUsageService.incrementUsage(consentEntity, buildAisConsentActionRequest());
+        //Then
+        assertFalse(actual);
+        verify(consentJpaRepository).findWriteById(CONSENT_ID);
+        verify(aisConsentUsageRepository, never()).save(any());
+    }
+
+    @Test
+    void reserveUsage_counted_usageDateReturned() {
+        //Given
+        ConsentEntity consentEntity = buildConsentEntity();
+        ArgumentCaptor<LocalDate> usageDateCaptor = ArgumentCaptor.forClass(LocalDate.class);
+        when(aisConsentUsageRepository.incrementUsage(eq(consentEntity), usageDateCaptor.capture(), eq(REQUEST_URI), eq(RESOURCE_ID), eq(TRANSACTION_ID), eq(FREQUENCY_PER_DAY)))
+            .thenReturn(1);
+        //When
+        Optional<LocalDate> actual = aisConsentUsageService.reserveUsage(consentEntity, buildAisConsentActionRequest());
+        //Then
+        assertEquals(Optional.of(usageDateCaptor.getValue()), actual);
+    }
+
+    @Test
+    void reserveUsage_frequencyPerDayReached_empty() {
+        //Given
+        ConsentEntity consentEntity = buildConsentEntity();
+        when(aisConsentUsageRepository.incrementUsage(eq(consentEntity), any(LocalDate.class), eq(REQUEST_URI), eq(RESOURCE_ID), eq(TRANSACTION_ID), eq(FREQUENCY_PER_DAY)))
+            .thenReturn(0);
+        when(aisConsentUsageRepository.existsByConsentAndUsageDateAndRequestUri(eq(consentEntity), any(LocalDate.class), eq(REQUEST_URI)))
+            .thenReturn(true);
+        //When
+        Optional<LocalDate> actual = aisConsentUsageService.reserveUsage(consentEntity, buildAisConsentActionRequest());
+        //Then
+        assertTrue(actual.isEmpty());
+    }
+
+    @Test
+    void decrementUsage_usageDateOfReservation() {
+        //Given
+        ConsentEntity consentEntity = new ConsentEntity();
+        LocalDate usageDate = LocalDate.now().minusDays(1);
+        AisConsentActionRequest request = buildAisConsentActionRequest();
+        request.setUsageDate(usageDate);
+        //When
+        aisConsentUsageService.decrementUsage(consentEntity, request);
+        //Then
+        verify(aisConsentUsageRepository).decrementUsage(consentEntity, usageDate, REQUEST_URI);
     }
 
     @Test
     void resetUsage() {
         //Given
-        @SuppressWarnings("unchecked")
-        ArgumentCaptor<List<AisConsentUsage>> argumentCaptor = ArgumentCaptor.forClass(List.class);
         ConsentEntity consentEntity = new ConsentEntity();
-        List<AisConsentUsage> aisConsentUsageList = Arrays.asList(buildAisConsentUsage(5), buildAisConsentUsage(8), buildAisConsentUsage(10));
-        when(aisConsentUsageRepository.findReadByConsentAndUsageDate(eq(consentEntity), any(LocalDate.class))).thenReturn(aisConsentUsageList);
         //When
         aisConsentUsageService.resetUsage(consentEntity);
         //Then
-        verify(aisConsentUsageRepository).saveAll(argumentCaptor.capture());
-        List<AisConsentUsage> aisConsentUsageListCaptured = argumentCaptor.getValue();
-        assertEquals(aisConsentUsageList.size(), aisConsentUsageListCaptured.size());
-        assertEquals(aisConsentUsageList.size(), aisConsentUsageListCaptured.stream().map(AisConsentUsage::getUsage).filter(usage -> usage == 0).count());
+        verify(aisConsentUsageRepository).resetUsage(eq(consentEntity), any(LocalDate.class));
     }
 
     @Test
@@ -107,24 +180,38 @@ class AisConsentUsageServiceTest {
         int frequencyPerDay = 30;
         ConsentEntity consentEntity = new ConsentEntity();
         consentEntity.setFrequencyPerDay(frequencyPerDay);
-        List<AisConsentUsage> aisConsentUsageList = Arrays.asList(buildAisConsentUsage(5, "uri_1"), buildAisConsentUsage(8, "uri_2"), buildAisConsentUsage(10, "uri_3"));
-        when(aisConsentUsageRepository.findReadByConsentAndUsageDate(eq(consentEntity), any(LocalDate.class))).thenReturn(aisConsentUsageList);
+        List<AisConsentUsageCounter> usageCounters = Arrays.asList(buildUsageCounter(5, "uri_1"), buildUsageCounter(8, "uri_2"), buildUsageCounter(40, "uri_3"));
+        when(aisConsentUsageRepository.findUsageCountersByConsentAndUsageDate(eq(consentEntity), any(LocalDate.class))).thenReturn(usageCounters);
         //When
         Map<String, Integer> usageCounterMap = aisConsentUsageService.getUsageCounterMap(consentEntity);
         //Then
-        aisConsentUsageList.forEach(aisConsentUsage -> assertEquals(frequencyPerDay - aisConsentUsage.getUsage(), usageCounterMap.get(aisConsentUsage.getRequestUri())));
+        assertEquals(25, usageCounterMap.get("uri_1"));
+        assertEquals(22, usageCounterMap.get("uri_2"));
+        assertEquals(0, usageCounterMap.get("uri_3"));
     }
 
-    private AisConsentUsage buildAisConsentUsage(int usage) {
-        AisConsentUsage aisConsentUsage = new AisConsentUsage();
-        aisConsentUsage.setUsage(usage);
-        return aisConsentUsage;
+    private ConsentEntity buildConsentEntity() {
+        ConsentEntity consentEntity = new ConsentEntity();
+        consentEntity.setId(CONSENT_ID);
+        consentEntity.setFrequencyPerDay(FREQUENCY_PER_DAY);
+        return consentEntity;
     }
 
-    private AisConsentUsage buildAisConsentUsage(int usage, String requestUri) {
-        AisConsentUsage aisConsentUsage = new AisConsentUsage();
-        aisConsentUsage.setUsage(usage);
-        aisConsentUsage.setRequestUri(requestUri);
-        return aisConsentUsage;
+    private AisConsentActionRequest buildAisConsentActionRequest() {
+        return new AisConsentActionRequest("tppId", "consentId", ActionStatus.SUCCESS, REQUEST_URI, true, RESOURCE_ID, TRANSACTION_ID);
+    }
+
+    private AisConsentUsageCounter buildUsageCounter(int usage, String requestUri) {
+        return new AisConsentUsageCounter() {
+            @Override
+            public String getRequestUri() {
+                return requestUri;
+            }
+
+            @Override
+            public int getUsage() {
+                return usage;
+            }
+        };
     }
 }
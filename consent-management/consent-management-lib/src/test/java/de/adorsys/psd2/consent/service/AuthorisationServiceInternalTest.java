@@ -40,6 +40,7 @@ import de.adorsys.psd2.xs2a.core.sca.AuthorisationScaApproachResponse;
 import de.adorsys.psd2.xs2a.core.sca.ScaStatus;
 import de.adorsys.psd2.xs2a.core.tpp.TppRedirectUri;
 import de.adorsys.xs2a.reader.JsonReader;
+import de.adorsys.psd2.consent.service.notification.TppNotificationService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InOrder;
@@ -86,6 +87,8 @@ class AuthorisationServiceInternalTest {
 
     @InjectMocks
     private AuthorisationServiceInternal authorisationServiceInternal;
+    @Mock
+    private TppNotificationService tppNotificationService;
 
     @Test
     void createAuthorisation() {
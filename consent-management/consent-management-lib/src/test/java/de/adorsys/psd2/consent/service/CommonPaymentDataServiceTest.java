@@ -22,6 +22,7 @@ import de.adorsys.psd2.consent.repository.PisCommonPaymentDataRepository;
 import de.adorsys.psd2.consent.repository.specification.PisCommonPaymentDataSpecification;
 import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
 import de.adorsys.psd2.xs2a.core.tpp.TppRedirectUri;
+import de.adorsys.psd2.consent.service.notification.TppNotificationService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -34,6 +35,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,6 +44,8 @@ class CommonPaymentDataServiceTest {
 
     @InjectMocks
     private CommonPaymentDataService commonPaymentDataService;
+    @Mock
+    private TppNotificationService tppNotificationService;
 
     @Mock
     private PisCommonPaymentDataRepository pisCommonPaymentDataRepository;
@@ -85,10 +89,12 @@ class CommonPaymentDataServiceTest {
         PisCommonPaymentData paymentData = new PisCommonPaymentData();
         assertNull(paymentData.getTransactionStatus());
 
-        when(pisCommonPaymentDataRepository.save(paymentData)).thenReturn(new PisCommonPaymentData());
+        PisCommonPaymentData savedPaymentData = new PisCommonPaymentData();
+        when(pisCommonPaymentDataRepository.save(paymentData)).thenReturn(savedPaymentData);
 
         commonPaymentDataService.updateStatusInPaymentData(paymentData, transactionStatus);
         assertEquals(transactionStatus, paymentData.getTransactionStatus());
+        verify(tppNotificationService).notifyPaymentStatusChanged(savedPaymentData, null);
     }
 
     @Test
@@ -16,13 +16,21 @@
 
 package de.adorsys.psd2.consent.service;
 
+import de.adorsys.psd2.consent.api.AspspDataService;
 import de.adorsys.psd2.consent.api.CmsError;
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.WrongChecksumException;
 import de.adorsys.psd2.consent.api.ais.CmsConsent;
+import de.adorsys.psd2.consent.api.authorisation.AisAuthorisationParentHolder;
+import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationRequest;
+import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationResponse;
 import de.adorsys.psd2.consent.api.consent.CmsCreateConsentResponse;
+import de.adorsys.psd2.consent.api.consent.CompleteConsentCreationRequest;
+import de.adorsys.psd2.consent.api.consent.CompleteConsentCreationResponse;
+import de.adorsys.psd2.consent.api.service.AuthorisationService;
 import de.adorsys.psd2.consent.api.service.ConsentService;
 import de.adorsys.psd2.consent.service.security.SecurityDataService;
+import de.adorsys.psd2.xs2a.core.consent.AspspConsentData;
 import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
 import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
 import org.junit.jupiter.api.Test;
@@ -36,6 +44,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
@@ -49,6 +58,10 @@ class ConsentServiceInternalEncryptedTest {
     private SecurityDataService securityDataService;
     @Mock
     private ConsentService consentService;
+    @Mock
+    private AspspDataService aspspDataService;
+    @Mock
+    private AuthorisationService authorisationService;
 
     @InjectMocks
     private ConsentServiceInternalEncrypted consentServiceInternalEncrypted;
@@ -264,4 +277,59 @@ class ConsentServiceInternalEncryptedTest {
         assertEquals(CmsError.TECHNICAL_ERROR, response.getError());
         verify(consentService, never()).updateMultilevelScaRequired(any(), anyBoolean());
     }
+
+    @Test
+    void completeConsentCreation() throws WrongChecksumException {
+        // Given
+        byte[] aspspConsentData = "aspsp consent data".getBytes();
+        CreateAuthorisationRequest authorisationRequest = new CreateAuthorisationRequest();
+        CreateAuthorisationResponse authorisationResponse = new CreateAuthorisationResponse("authorisation id", null, null, null);
+        when(securityDataService.decryptId(ENCRYPTED_CONSENT_ID)).thenReturn(Optional.of(CONSENT_ID));
+        when(aspspDataService.updateAspspConsentData(new AspspConsentData(aspspConsentData, ENCRYPTED_CONSENT_ID))).thenReturn(true);
+        when(consentService.updateMultilevelScaRequired(CONSENT_ID, true))
+            .thenReturn(CmsResponse.<Boolean>builder()
+                            .payload(true)
+                            .build());
+        when(authorisationService.createAuthorisation(new AisAuthorisationParentHolder(CONSENT_ID), authorisationRequest))
+            .thenReturn(CmsResponse.<CreateAuthorisationResponse>builder()
+                            .payload(authorisationResponse)
+                            .build());
+
+        // When
+        CmsResponse<CompleteConsentCreationResponse> response = consentServiceInternalEncrypted.completeConsentCreation(ENCRYPTED_CONSENT_ID, new CompleteConsentCreationRequest(aspspConsentData, true, authorisationRequest));
+
+        // Then
+        assertTrue(response.isSuccessful());
+        assertEquals(authorisationResponse, response.getPayload().getAuthorisation());
+        verify(securityDataService, times(1)).decryptId(ENCRYPTED_CONSENT_ID);
+    }
+
+    @Test
+    void completeConsentCreation_nothingToStore() throws WrongChecksumException {
+        // Given
+        when(securityDataService.decryptId(ENCRYPTED_CONSENT_ID)).thenReturn(Optional.of(CONSENT_ID));
+
+        // When
+        CmsResponse<CompleteConsentCreationResponse> response = consentServiceInternalEncrypted.completeConsentCreation(ENCRYPTED_CONSENT_ID, new CompleteConsentCreationRequest(null, false, null));
+
+        // Then
+        assertTrue(response.isSuccessful());
+        assertNull(response.getPayload().getAuthorisation());
+        verifyNoInteractions(aspspDataService, authorisationService);
+        verify(consentService, never()).updateMultilevelScaRequired(any(), anyBoolean());
+    }
+
+    @Test
+    void completeConsentCreation_malformedEncryptedId() throws WrongChecksumException {
+        // Given
+        when(securityDataService.decryptId(MALFORMED_ENCRYPTED_CONSENT_ID)).thenReturn(Optional.empty());
+
+        // When
+        CmsResponse<CompleteConsentCreationResponse> response = consentServiceInternalEncrypted.completeConsentCreation(MALFORMED_ENCRYPTED_CONSENT_ID, new CompleteConsentCreationRequest(null, true, new CreateAuthorisationRequest()));
+
+        // Then
+        assertTrue(response.hasError());
+        assertEquals(CmsError.TECHNICAL_ERROR, response.getError());
+        verifyNoInteractions(aspspDataService, authorisationService);
+    }
 }
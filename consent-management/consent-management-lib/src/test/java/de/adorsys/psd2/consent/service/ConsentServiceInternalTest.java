@@ -46,6 +46,7 @@ import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
 import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
 import de.adorsys.psd2.xs2a.core.sca.ScaStatus;
 import de.adorsys.xs2a.reader.JsonReader;
+import de.adorsys.psd2.consent.service.notification.TppNotificationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -83,6 +84,8 @@ class ConsentServiceInternalTest {
 
     @InjectMocks
     private ConsentServiceInternal consentServiceInternal;
+    @Mock
+    private TppNotificationService tppNotificationService;
 
     @Mock
     private ConsentJpaRepository consentJpaRepository;
@@ -524,6 +527,7 @@ class ConsentServiceInternalTest {
         assertTrue(result.getPayload());
         assertEquals(ConsentStatus.TERMINATED_BY_TPP, oldConsent.getConsentStatus());
         verify(consentJpaRepository).saveAll(oldConsents);
+        verify(tppNotificationService).notifyConsentStatusChanged(oldConsent, ConsentStatus.VALID);
     }
 
     @Test
@@ -564,6 +568,7 @@ class ConsentServiceInternalTest {
         assertTrue(result.getPayload());
         assertEquals(ConsentStatus.REJECTED, oldConsent.getConsentStatus());
         verify(consentJpaRepository).saveAll(oldConsents);
+        verify(tppNotificationService).notifyConsentStatusChanged(oldConsent, ConsentStatus.PARTIALLY_AUTHORISED);
     }
 
     @Test
@@ -25,24 +25,31 @@ import de.adorsys.psd2.consent.repository.specification.PiisConsentEntitySpecifi
 import de.adorsys.psd2.consent.service.mapper.CmsConsentMapper;
 import de.adorsys.psd2.consent.service.migration.PiisConsentLazyMigrationService;
 import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
+import de.adorsys.psd2.xs2a.core.consent.ConsentType;
 import de.adorsys.psd2.xs2a.core.profile.AccountReferenceSelector;
 import de.adorsys.psd2.xs2a.core.profile.AccountReferenceType;
 import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.Collections;
 import java.util.Currency;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class PiisConsentServiceInternalTest {
@@ -57,6 +64,9 @@ class PiisConsentServiceInternalTest {
     private static final OffsetDateTime CREATION_TIMESTAMP = OffsetDateTime.of(2019, 2, 4, 12, 0, 0, 0, ZoneOffset.UTC);
     private static final AccountReferenceSelector SELECTOR_IBAN = new AccountReferenceSelector(AccountReferenceType.IBAN, IBAN);
     private static final Specification<ConsentEntity> SPECIFICATION_IBAN = (root, cq, cb) -> null;
+    private static final Long CONSENT_ID = 1L;
+    private static final List<String> PIIS_CONSENT_TYPES = Collections.singletonList(ConsentType.PIIS_ASPSP.name());
+    private static final Set<ConsentStatus> USABLE_STATUSES = EnumSet.of(ConsentStatus.VALID, ConsentStatus.RECEIVED);
 
     @InjectMocks
     private PiisConsentServiceInternal piisConsentServiceInternal;
@@ -122,6 +132,52 @@ class PiisConsentServiceInternalTest {
         assertEquals(expected, piisConsents.get(0));
     }
 
+    @Test
+    void getPiisConsentListByAccountIdentifier_usableConsentFound() {
+        // Given
+        when(piisConsentEntitySpecification.getTypes()).thenReturn(Collections.singletonList(ConsentType.PIIS_ASPSP));
+        when(consentJpaRepository.findUsableIdsByAccountIdentifierAndCurrency(eq(IBAN), eq(CURRENCY), eq(PIIS_CONSENT_TYPES), eq(USABLE_STATUSES), any(LocalDate.class)))
+            .thenReturn(Collections.singletonList(CONSENT_ID));
+        ConsentEntity validConsentEntity = buildConsentEntity();
+        when(consentJpaRepository.findAllById(Collections.singletonList(CONSENT_ID)))
+            .thenReturn(Collections.singletonList(validConsentEntity));
+        when(piisConsentLazyMigrationService.migrateIfNeeded(validConsentEntity))
+            .thenReturn(validConsentEntity);
+        when(cmsConsentMapper.mapToCmsConsent(validConsentEntity, Collections.emptyList(), Collections.emptyMap()))
+            .thenReturn(buildCmsConsent());
+
+        // When
+        CmsResponse<List<CmsConsent>> piisConsentsResponse = piisConsentServiceInternal.getPiisConsentListByAccountIdentifier(CURRENCY, SELECTOR_IBAN);
+
+        // Then
+        assertTrue(piisConsentsResponse.isSuccessful());
+        assertEquals(Collections.singletonList(buildCmsConsent()), piisConsentsResponse.getPayload());
+        verify(consentJpaRepository, never()).findAll(ArgumentMatchers.<Specification<ConsentEntity>>any());
+    }
+
+    @Test
+    void getPiisConsentListByAccountIdentifier_noCurrency_usableConsentFound() {
+        // Given
+        when(piisConsentEntitySpecification.getTypes()).thenReturn(Collections.singletonList(ConsentType.PIIS_ASPSP));
+        when(consentJpaRepository.findUsableIdsByAccountIdentifier(eq(IBAN), eq(PIIS_CONSENT_TYPES), eq(USABLE_STATUSES), any(LocalDate.class)))
+            .thenReturn(Collections.singletonList(CONSENT_ID));
+        ConsentEntity validConsentEntity = buildConsentEntity();
+        when(consentJpaRepository.findAllById(Collections.singletonList(CONSENT_ID)))
+            .thenReturn(Collections.singletonList(validConsentEntity));
+        when(piisConsentLazyMigrationService.migrateIfNeeded(validConsentEntity))
+            .thenReturn(validConsentEntity);
+        when(cmsConsentMapper.mapToCmsConsent(validConsentEntity, Collections.emptyList(), Collections.emptyMap()))
+            .thenReturn(buildCmsConsent());
+
+        // When
+        CmsResponse<List<CmsConsent>> piisConsentsResponse = piisConsentServiceInternal.getPiisConsentListByAccountIdentifier(null, SELECTOR_IBAN);
+
+        // Then
+        assertEquals(Collections.singletonList(buildCmsConsent()), piisConsentsResponse.getPayload());
+        verify(consentJpaRepository, never()).findUsableIdsByAccountIdentifierAndCurrency(any(), any(), any(), any(), any());
+        verify(consentJpaRepository, never()).findAll(ArgumentMatchers.<Specification<ConsentEntity>>any());
+    }
+
     @Test
     void getPiisConsentListByAccountIdentifier_wrongIban() {
         // When
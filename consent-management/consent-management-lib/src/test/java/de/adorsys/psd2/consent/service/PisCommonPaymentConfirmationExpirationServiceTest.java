@@ -37,14 +37,19 @@ import java.time.OffsetDateTime;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class PisCommonPaymentConfirmationExpirationServiceTest {
     private static final String PAYMENT_ID = "some payment id";
+    private static final OffsetDateTime CREATED_BEFORE = OffsetDateTime.now().minusHours(1);
+    private static final Set<TransactionStatus> NOT_CONFIRMED_STATUSES = EnumSet.of(TransactionStatus.RCVD, TransactionStatus.PATC);
 
     @InjectMocks
     private PisCommonPaymentConfirmationExpirationServiceImpl service;
@@ -172,6 +177,52 @@ class PisCommonPaymentConfirmationExpirationServiceTest {
         verify(pisCommonPaymentDataRepository).saveAll(Collections.singletonList(pisCommonPaymentData));
     }
 
+    @Test
+    void updatePaymentsOnConfirmationExpiration_notConfirmedPaymentsRejected() {
+        AuthorisationEntity pisAuthorisation = new AuthorisationEntity();
+        pisAuthorisation.setScaStatus(ScaStatus.RECEIVED);
+
+        when(pisCommonPaymentDataRepository.findPaymentIdsByIdInAndTransactionStatusInAndCreationTimestampBefore(List.of(1L, 2L), NOT_CONFIRMED_STATUSES, CREATED_BEFORE))
+            .thenReturn(Collections.singletonList(PAYMENT_ID));
+        when(pisCommonPaymentDataRepository.updateTransactionStatusByPaymentIdInAndTransactionStatusIn(eq(Collections.singletonList(PAYMENT_ID)), eq(NOT_CONFIRMED_STATUSES),
+                                                                                                      eq(TransactionStatus.RJCT), any(OffsetDateTime.class)))
+            .thenReturn(1);
+        when(authorisationRepository.findAllByParentExternalIdInAndTypeIn(Collections.singletonList(PAYMENT_ID), EnumSet.of(AuthorisationType.PIS_CREATION, AuthorisationType.PIS_CANCELLATION)))
+            .thenReturn(Collections.singletonList(pisAuthorisation));
+
+        int actual = service.updatePaymentsOnConfirmationExpiration(List.of(1L, 2L), CREATED_BEFORE);
+
+        assertEquals(1, actual);
+        assertEquals(ScaStatus.FAILED, pisAuthorisation.getScaStatus());
+        verify(authorisationRepository).saveAll(Collections.singletonList(pisAuthorisation));
+        verifyNoInteractions(aspspProfileService);
+        verify(pisCommonPaymentDataRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void updatePaymentsOnConfirmationExpiration_noExpiredPayments() {
+        when(pisCommonPaymentDataRepository.findPaymentIdsByIdInAndTransactionStatusInAndCreationTimestampBefore(List.of(1L), NOT_CONFIRMED_STATUSES, CREATED_BEFORE))
+            .thenReturn(Collections.emptyList());
+
+        int actual = service.updatePaymentsOnConfirmationExpiration(List.of(1L), CREATED_BEFORE);
+
+        assertEquals(0, actual);
+        verify(pisCommonPaymentDataRepository, never()).updateTransactionStatusByPaymentIdInAndTransactionStatusIn(any(), any(), any(), any());
+        verifyNoInteractions(authorisationRepository);
+    }
+
+    @Test
+    void getConfirmationExpirationThreshold() {
+        when(aspspProfileService.getAspspSettings(PAYMENT_ID)).thenReturn(aspspSettings);
+        when(aspspSettings.getPis()).thenReturn(getPisAspspProfileSetting(60_000L));
+        OffsetDateTime before = OffsetDateTime.now().minusMinutes(1);
+
+        OffsetDateTime actual = service.getConfirmationExpirationThreshold(PAYMENT_ID);
+
+        assertFalse(actual.isBefore(before));
+        assertTrue(actual.isBefore(OffsetDateTime.now().minusSeconds(59)));
+    }
+
     @NotNull
     private PisAspspProfileSetting getPisAspspProfileSetting(long notConfirmedPaymentExpirationTimeMs) {
         return new PisAspspProfileSetting(new HashMap<>(), 0, notConfirmedPaymentExpirationTimeMs,
@@ -16,14 +16,22 @@
 
 package de.adorsys.psd2.consent.service;
 
+import de.adorsys.psd2.consent.api.AspspDataService;
 import de.adorsys.psd2.consent.api.CmsError;
 import de.adorsys.psd2.consent.api.CmsResponse;
+import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationRequest;
+import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationResponse;
+import de.adorsys.psd2.consent.api.authorisation.PisAuthorisationParentHolder;
 import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentResponse;
+import de.adorsys.psd2.consent.api.pis.InitiatePisCommonPaymentRequest;
+import de.adorsys.psd2.consent.api.pis.InitiatePisCommonPaymentResponse;
 import de.adorsys.psd2.consent.api.pis.PisCommonPaymentResponse;
 import de.adorsys.psd2.consent.api.pis.proto.PisCommonPaymentRequest;
 import de.adorsys.psd2.consent.api.pis.proto.PisPaymentInfo;
+import de.adorsys.psd2.consent.api.service.AuthorisationService;
 import de.adorsys.psd2.consent.api.service.PisCommonPaymentService;
 import de.adorsys.psd2.consent.service.security.SecurityDataService;
+import de.adorsys.psd2.xs2a.core.consent.AspspConsentData;
 import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
 import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
 import org.junit.jupiter.api.Test;
@@ -37,6 +45,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
@@ -53,6 +62,10 @@ class PisCommonPaymentServiceInternalEncryptedTest {
     private PisCommonPaymentService pisCommonPaymentService;
     @Mock
     private SecurityDataService securityDataService;
+    @Mock
+    private AspspDataService aspspDataService;
+    @Mock
+    private AuthorisationService authorisationService;
 
     @Test
     void createCommonPayment_success() {
@@ -91,6 +104,71 @@ class PisCommonPaymentServiceInternalEncryptedTest {
         assertEquals(CmsError.TECHNICAL_ERROR, actual.getError());
     }
 
+    @Test
+    void initiateCommonPayment_success() {
+        // Given
+        PisPaymentInfo paymentInfo = buildPisPaymentInfoRequest();
+        byte[] aspspConsentData = "aspsp consent data".getBytes();
+        CreateAuthorisationRequest authorisationRequest = new CreateAuthorisationRequest();
+        CreateAuthorisationResponse authorisationResponse = new CreateAuthorisationResponse("authorisation id", null, null, null);
+        when(pisCommonPaymentService.createCommonPayment(paymentInfo))
+            .thenReturn(CmsResponse.<CreatePisCommonPaymentResponse>builder()
+                            .payload(buildCreatePisCommonPaymentResponse(DECRYPTED_PAYMENT_ID))
+                            .build());
+        when(securityDataService.encryptId(DECRYPTED_PAYMENT_ID)).thenReturn(Optional.of(ENCRYPTED_PAYMENT_ID));
+        when(aspspDataService.updateAspspConsentData(new AspspConsentData(aspspConsentData, ENCRYPTED_PAYMENT_ID))).thenReturn(true);
+        when(authorisationService.createAuthorisation(new PisAuthorisationParentHolder(DECRYPTED_PAYMENT_ID), authorisationRequest))
+            .thenReturn(CmsResponse.<CreateAuthorisationResponse>builder()
+                            .payload(authorisationResponse)
+                            .build());
+
+        // When
+        CmsResponse<InitiatePisCommonPaymentResponse> actual = pisCommonPaymentServiceInternalEncrypted.initiateCommonPayment(new InitiatePisCommonPaymentRequest(paymentInfo, aspspConsentData, authorisationRequest));
+
+        // Then
+        assertTrue(actual.isSuccessful());
+        assertEquals(buildCreatePisCommonPaymentResponse(ENCRYPTED_PAYMENT_ID), actual.getPayload().getPayment());
+        assertEquals(authorisationResponse, actual.getPayload().getAuthorisation());
+    }
+
+    @Test
+    void initiateCommonPayment_withoutConsentDataAndAuthorisation() {
+        // Given
+        PisPaymentInfo paymentInfo = buildPisPaymentInfoRequest();
+        when(pisCommonPaymentService.createCommonPayment(paymentInfo))
+            .thenReturn(CmsResponse.<CreatePisCommonPaymentResponse>builder()
+                            .payload(buildCreatePisCommonPaymentResponse(DECRYPTED_PAYMENT_ID))
+                            .build());
+        when(securityDataService.encryptId(DECRYPTED_PAYMENT_ID)).thenReturn(Optional.of(ENCRYPTED_PAYMENT_ID));
+
+        // When
+        CmsResponse<InitiatePisCommonPaymentResponse> actual = pisCommonPaymentServiceInternalEncrypted.initiateCommonPayment(new InitiatePisCommonPaymentRequest(paymentInfo, null, null));
+
+        // Then
+        assertTrue(actual.isSuccessful());
+        assertEquals(buildCreatePisCommonPaymentResponse(ENCRYPTED_PAYMENT_ID), actual.getPayload().getPayment());
+        assertNull(actual.getPayload().getAuthorisation());
+        verifyNoInteractions(aspspDataService, authorisationService);
+    }
+
+    @Test
+    void initiateCommonPayment_paymentCreationError() {
+        // Given
+        PisPaymentInfo paymentInfo = buildPisPaymentInfoRequest();
+        when(pisCommonPaymentService.createCommonPayment(paymentInfo))
+            .thenReturn(CmsResponse.<CreatePisCommonPaymentResponse>builder()
+                            .error(CmsError.TECHNICAL_ERROR)
+                            .build());
+
+        // When
+        CmsResponse<InitiatePisCommonPaymentResponse> actual = pisCommonPaymentServiceInternalEncrypted.initiateCommonPayment(new InitiatePisCommonPaymentRequest(paymentInfo, new byte[]{1}, new CreateAuthorisationRequest()));
+
+        // Then
+        assertTrue(actual.hasError());
+        assertEquals(CmsError.TECHNICAL_ERROR, actual.getError());
+        verifyNoInteractions(securityDataService, aspspDataService, authorisationService);
+    }
+
     @Test
     void getPisCommonPaymentStatusById_success() {
         when(securityDataService.decryptId(ENCRYPTED_PAYMENT_ID)).thenReturn(Optional.of(DECRYPTED_PAYMENT_ID));
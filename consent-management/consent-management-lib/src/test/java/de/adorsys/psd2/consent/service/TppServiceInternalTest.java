@@ -30,8 +30,12 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Optional;
+import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
@@ -95,4 +99,22 @@ class TppServiceInternalTest {
 
         verify(tppInfoRepository, never()).save(any(TppInfoEntity.class));
     }
+
+    @Test
+    void updateTppInfos_onlyFoundTppsUpdated() {
+        //Given
+        tppInfoEntity.setTppRoles(null);
+        TppInfo unknownTppInfo = new TppInfo();
+        unknownTppInfo.setAuthorisationNumber("unknown TPP");
+        when(tppInfoRepository.findFirstByAuthorisationNumberInAndInstanceId(Set.of(tppInfo.getAuthorisationNumber(), "unknown TPP"), INSTANCE_ID))
+            .thenReturn(Collections.singletonList(tppInfoEntity));
+        //When
+        CmsResponse<Set<String>> updateTppInfos = tppServiceInternal.updateTppInfos(Arrays.asList(tppInfo, unknownTppInfo));
+        //Then
+        assertTrue(updateTppInfos.isSuccessful());
+
+        assertEquals(Collections.singleton(tppInfo.getAuthorisationNumber()), updateTppInfos.getPayload());
+        assertEquals(tppInfo.getTppRoles(), tppInfoEntity.getTppRoles());
+        verify(tppInfoRepository, never()).save(any(TppInfoEntity.class));
+    }
 }
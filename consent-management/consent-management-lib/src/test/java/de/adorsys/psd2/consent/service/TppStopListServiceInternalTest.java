@@ -17,18 +17,24 @@
 package de.adorsys.psd2.consent.service;
 
 import de.adorsys.psd2.consent.api.CmsResponse;
+import de.adorsys.psd2.consent.api.tpp.TppStopListChanges;
 import de.adorsys.psd2.consent.domain.TppStopListEntity;
 import de.adorsys.psd2.consent.repository.TppStopListRepository;
+import de.adorsys.psd2.xs2a.core.tpp.TppStatus;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Optional;
 
-import static org.junit.jupiter.api.Assertions.assertFalse;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -87,5 +93,51 @@ class TppStopListServiceInternalTest {
 
         assertTrue(isTppBlocked.getPayload());
     }
+
+    @Test
+    void getStopListChanges_noVersion_fullSnapshot() {
+        // Given
+        when(tppStopListRepository.findAllByInstanceIdAndStatus(INSTANCE_ID, TppStatus.BLOCKED))
+            .thenReturn(Collections.singletonList(buildEntity(AUTHORISATION_NUMBER, true)));
+
+        // When
+        CmsResponse<TppStopListChanges> actual = tppStopListService.getStopListChanges(INSTANCE_ID, null);
+
+        // Then
+        assertTrue(actual.isSuccessful());
+        assertTrue(actual.getPayload().isFullSnapshot());
+        assertEquals(Collections.singleton(AUTHORISATION_NUMBER), actual.getPayload().getBlocked());
+        assertTrue(actual.getPayload().getUnblocked().isEmpty());
+        assertTrue(actual.getPayload().getVersion() > 0);
+    }
+
+    @Test
+    void getStopListChanges_version_changedEntriesSplitByStatus() {
+        // Given
+        long sinceVersion = System.currentTimeMillis();
+        when(tppStopListRepository.findAllByInstanceIdAndLastChangeTimestampGreaterThanEqual(eq(INSTANCE_ID), any(OffsetDateTime.class)))
+            .thenReturn(Arrays.asList(buildEntity(AUTHORISATION_NUMBER, true), buildEntity(AUTHORISATION_NUMBER_NOT_EXISTING, false)));
+
+        // When
+        CmsResponse<TppStopListChanges> actual = tppStopListService.getStopListChanges(INSTANCE_ID, sinceVersion);
+
+        // Then
+        assertTrue(actual.isSuccessful());
+        assertFalse(actual.getPayload().isFullSnapshot());
+        assertEquals(Collections.singleton(AUTHORISATION_NUMBER), actual.getPayload().getBlocked());
+        assertEquals(Collections.singleton(AUTHORISATION_NUMBER_NOT_EXISTING), actual.getPayload().getUnblocked());
+        assertTrue(actual.getPayload().getVersion() >= sinceVersion);
+    }
+
+    private TppStopListEntity buildEntity(String tppAuthorisationNumber, boolean blocked) {
+        TppStopListEntity entity = new TppStopListEntity();
+        entity.setTppAuthorisationNumber(tppAuthorisationNumber);
+        if (blocked) {
+            entity.block(null);
+        } else {
+            entity.unblock();
+        }
+        return entity;
+    }
 }
 
@@ -26,6 +26,7 @@ import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
 import de.adorsys.psd2.consent.repository.specification.AisConsentSpecification;
 import de.adorsys.psd2.consent.service.mapper.AisConsentMapper;
 import de.adorsys.psd2.consent.service.migration.AisConsentLazyMigrationService;
+import de.adorsys.psd2.consent.service.migration.ConsentDataMigrationState;
 import de.adorsys.psd2.consent.service.psu.util.PageRequestBuilder;
 import de.adorsys.psd2.xs2a.core.authorisation.AuthorisationType;
 import de.adorsys.psd2.xs2a.core.consent.ConsentType;
@@ -50,6 +51,8 @@ import java.time.ZoneOffset;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -88,6 +91,10 @@ class CmsAspspAisExportServiceInternalTest {
     private AuthorisationRepository authorisationRepository;
     @Mock
     private AisConsentLazyMigrationService aisConsentLazyMigrationService;
+    @Mock
+    private CmsAspspExportStreamer cmsAspspExportStreamer;
+    @Mock
+    private ConsentDataMigrationState consentDataMigrationState;
     @Spy
     private PageRequestBuilder pageRequestBuilder = new PageRequestBuilder();
 
@@ -115,8 +122,8 @@ class CmsAspspAisExportServiceInternalTest {
             .thenReturn(new PageImpl<>(Collections.singletonList(consentEntity), PageRequest.of(PAGE_INDEX, ITEMS_PER_PAGE), 1));
         CmsAisAccountConsent expectedConsent = buildAisAccountConsent();
 
-        List<AuthorisationEntity> authorisations = Collections.singletonList(new AuthorisationEntity());
-        when(authorisationRepository.findAllByParentExternalIdAndType(EXTERNAL_CONSENT_ID, AuthorisationType.CONSENT))
+        List<AuthorisationEntity> authorisations = buildAuthorisations();
+        when(authorisationRepository.findAllByParentExternalIdInAndType(Collections.singleton(EXTERNAL_CONSENT_ID), AuthorisationType.CONSENT))
             .thenReturn(authorisations);
         when(aisConsentLazyMigrationService.migrateIfNeeded(consentEntity))
             .thenReturn(consentEntity);
@@ -157,8 +164,8 @@ class CmsAspspAisExportServiceInternalTest {
             .thenReturn(new PageImpl<>(Collections.singletonList(consentEntity), pageRequest, 1));
         CmsAisAccountConsent expectedConsent = buildAisAccountConsent();
 
-        List<AuthorisationEntity> authorisations = Collections.singletonList(new AuthorisationEntity());
-        when(authorisationRepository.findAllByParentExternalIdAndType(EXTERNAL_CONSENT_ID, AuthorisationType.CONSENT))
+        List<AuthorisationEntity> authorisations = buildAuthorisations();
+        when(authorisationRepository.findAllByParentExternalIdInAndType(Collections.singleton(EXTERNAL_CONSENT_ID), AuthorisationType.CONSENT))
             .thenReturn(authorisations);
         when(aisConsentLazyMigrationService.migrateIfNeeded(consentEntity))
             .thenReturn(consentEntity);
@@ -238,8 +245,8 @@ class CmsAspspAisExportServiceInternalTest {
                                                                                                   PageRequest.of(0, 20), 1));
         CmsAisAccountConsent expectedConsent = buildAisAccountConsent();
 
-        List<AuthorisationEntity> authorisations = Collections.singletonList(new AuthorisationEntity());
-        when(authorisationRepository.findAllByParentExternalIdAndType(EXTERNAL_CONSENT_ID, AuthorisationType.CONSENT))
+        List<AuthorisationEntity> authorisations = buildAuthorisations();
+        when(authorisationRepository.findAllByParentExternalIdInAndType(Collections.singleton(EXTERNAL_CONSENT_ID), AuthorisationType.CONSENT))
             .thenReturn(authorisations);
         when(aisConsentMapper.mapToCmsAisAccountConsent(consentEntity, authorisations))
             .thenReturn(buildAisAccountConsent());
@@ -277,8 +284,8 @@ class CmsAspspAisExportServiceInternalTest {
         when(consentJpaRepository.findAll(any(Specification.class), eq(pageRequest))).thenReturn(new PageImpl<>(Collections.singletonList(consentEntity), pageRequest, 1));
         CmsAisAccountConsent expectedConsent = buildAisAccountConsent();
 
-        List<AuthorisationEntity> authorisations = Collections.singletonList(new AuthorisationEntity());
-        when(authorisationRepository.findAllByParentExternalIdAndType(EXTERNAL_CONSENT_ID, AuthorisationType.CONSENT))
+        List<AuthorisationEntity> authorisations = buildAuthorisations();
+        when(authorisationRepository.findAllByParentExternalIdInAndType(Collections.singleton(EXTERNAL_CONSENT_ID), AuthorisationType.CONSENT))
             .thenReturn(authorisations);
         when(aisConsentMapper.mapToCmsAisAccountConsent(consentEntity, authorisations))
             .thenReturn(buildAisAccountConsent());
@@ -366,8 +373,8 @@ class CmsAspspAisExportServiceInternalTest {
                                                                   OffsetDateTime.of(CREATION_DATE_TO, LocalTime.MAX, currentOffset),
                                                                   DEFAULT_SERVICE_INSTANCE_ID, Pageable.unpaged(), AdditionalTppInfo.NONE))
             .thenReturn(new PageImpl<>(Collections.singletonList(consentEntity), PageRequest.of(PAGE_INDEX, ITEMS_PER_PAGE), 1));
-        List<AuthorisationEntity> authorisations = Collections.singletonList(new AuthorisationEntity());
-        when(authorisationRepository.findAllByParentExternalIdAndType(EXTERNAL_CONSENT_ID, AuthorisationType.CONSENT))
+        List<AuthorisationEntity> authorisations = buildAuthorisations();
+        when(authorisationRepository.findAllByParentExternalIdInAndType(Collections.singleton(EXTERNAL_CONSENT_ID), AuthorisationType.CONSENT))
             .thenReturn(authorisations);
         when(aisConsentLazyMigrationService.migrateIfNeeded(consentEntity))
             .thenReturn(consentEntity);
@@ -418,6 +425,82 @@ class CmsAspspAisExportServiceInternalTest {
         assertTrue(aisConsents.getData().isEmpty());
     }
 
+    @Test
+    void streamConsentsByTpp_success() {
+        // Given
+        Specification<ConsentEntity> specification = (root, query, cb) -> null;
+        when(aisConsentSpecification.byTppIdAndCreationPeriodAndPsuIdDataAndInstanceId(TPP_AUTHORISATION_NUMBER, CREATION_DATE_FROM,
+                                                                                     CREATION_DATE_TO, psuIdData,
+                                                                                     DEFAULT_SERVICE_INSTANCE_ID,
+                                                                                     AdditionalTppInfo.NONE))
+            .thenReturn(specification);
+        Consumer<CmsAisAccountConsent> consumer = c -> {};
+
+        // When
+        cmsAspspAisExportServiceInternal.streamConsentsByTpp(TPP_AUTHORISATION_NUMBER, CREATION_DATE_FROM, CREATION_DATE_TO, psuIdData,
+                                                             DEFAULT_SERVICE_INSTANCE_ID, AdditionalTppInfo.NONE, null, 10, consumer);
+
+        // Then
+        verify(cmsAspspExportStreamer).stream(eq(ConsentEntity.class), eq(specification), any(), isNull(), eq(10), eq(true), any(), eq(consumer));
+        verify(consentJpaRepository, never()).findByExternalId(any());
+    }
+
+    @Test
+    void streamConsentsByTpp_afterConsentId_resolvedToEntityId() {
+        // Given
+        Specification<ConsentEntity> specification = (root, query, cb) -> null;
+        when(aisConsentSpecification.byTppIdAndCreationPeriodAndPsuIdDataAndInstanceId(TPP_AUTHORISATION_NUMBER, CREATION_DATE_FROM,
+                                                                                     CREATION_DATE_TO, psuIdData,
+                                                                                     DEFAULT_SERVICE_INSTANCE_ID,
+                                                                                     AdditionalTppInfo.NONE))
+            .thenReturn(specification);
+        ConsentEntity consentEntity = buildConsentEntity();
+        consentEntity.setId(15L);
+        when(consentJpaRepository.findByExternalId(EXTERNAL_CONSENT_ID)).thenReturn(Optional.of(consentEntity));
+        Consumer<CmsAisAccountConsent> consumer = c -> {};
+
+        // When
+        cmsAspspAisExportServiceInternal.streamConsentsByTpp(TPP_AUTHORISATION_NUMBER, CREATION_DATE_FROM, CREATION_DATE_TO, psuIdData,
+                                                             DEFAULT_SERVICE_INSTANCE_ID, AdditionalTppInfo.NONE, EXTERNAL_CONSENT_ID, 0, consumer);
+
+        // Then
+        verify(cmsAspspExportStreamer).stream(eq(ConsentEntity.class), eq(specification), any(), eq(15L), eq(0), eq(true), any(), eq(consumer));
+    }
+
+    @Test
+    void streamConsentsByTpp_unknownAfterConsentId() {
+        // Given
+        when(aisConsentSpecification.byTppIdAndCreationPeriodAndPsuIdDataAndInstanceId(TPP_AUTHORISATION_NUMBER, CREATION_DATE_FROM,
+                                                                                     CREATION_DATE_TO, psuIdData,
+                                                                                     DEFAULT_SERVICE_INSTANCE_ID,
+                                                                                     AdditionalTppInfo.NONE))
+            .thenReturn((root, query, cb) -> null);
+        when(consentJpaRepository.findByExternalId(EXTERNAL_CONSENT_ID)).thenReturn(Optional.empty());
+
+        // When
+        cmsAspspAisExportServiceInternal.streamConsentsByTpp(TPP_AUTHORISATION_NUMBER, CREATION_DATE_FROM, CREATION_DATE_TO, psuIdData,
+                                                             DEFAULT_SERVICE_INSTANCE_ID, AdditionalTppInfo.NONE, EXTERNAL_CONSENT_ID, 0, c -> {});
+
+        // Then
+        verifyNoInteractions(cmsAspspExportStreamer);
+    }
+
+    @Test
+    void streamConsentsByTpp_noTppId() {
+        // When
+        cmsAspspAisExportServiceInternal.streamConsentsByTpp(null, CREATION_DATE_FROM, CREATION_DATE_TO, psuIdData,
+                                                             DEFAULT_SERVICE_INSTANCE_ID, AdditionalTppInfo.NONE, null, 0, c -> {});
+
+        // Then
+        verifyNoInteractions(cmsAspspExportStreamer, aisConsentSpecification);
+    }
+
+    private List<AuthorisationEntity> buildAuthorisations() {
+        AuthorisationEntity authorisationEntity = new AuthorisationEntity();
+        authorisationEntity.setParentExternalId(EXTERNAL_CONSENT_ID);
+        return Collections.singletonList(authorisationEntity);
+    }
+
     private PsuIdData buildPsuIdData(String psuId) {
         return new PsuIdData(psuId, null, null, null, null);
     }
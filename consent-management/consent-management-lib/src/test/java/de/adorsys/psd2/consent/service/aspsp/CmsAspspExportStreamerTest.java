@@ -0,0 +1,189 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.service.aspsp;
+
+import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
+import de.adorsys.psd2.consent.repository.KeysetChunkRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CmsAspspExportStreamerTest {
+    private static final int CHUNK_SIZE = 2;
+    private static final Specification<ConsentEntity> SPECIFICATION = (root, query, cb) -> null;
+
+    @InjectMocks
+    private CmsAspspExportStreamer cmsAspspExportStreamer;
+    @Mock
+    private KeysetChunkRepository keysetChunkRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private TransactionStatus transactionStatus;
+    @Mock
+    private Consumer<Long> consumer;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cmsAspspExportStreamer, "chunkSize", CHUNK_SIZE);
+    }
+
+    @Test
+    void stream_multipleChunks_continuesAfterLastId() {
+        // Given
+        when(keysetChunkRepository.findNextChunk(ConsentEntity.class, SPECIFICATION, null, CHUNK_SIZE))
+            .thenReturn(buildConsents(1L, 2L));
+        when(keysetChunkRepository.findNextChunk(ConsentEntity.class, SPECIFICATION, 2L, CHUNK_SIZE))
+            .thenReturn(buildConsents(3L));
+        List<Long> exported = new ArrayList<>();
+
+        // When
+        cmsAspspExportStreamer.stream(ConsentEntity.class, SPECIFICATION, ConsentEntity::getId, null, 0, true,
+                                      this::mapIds, exported::add);
+
+        // Then
+        assertEquals(Arrays.asList(1L, 2L, 3L), exported);
+        verify(keysetChunkRepository, times(2)).flushAndClear();
+    }
+
+    @Test
+    void stream_limit_stopsAfterLimit() {
+        // Given
+        when(keysetChunkRepository.findNextChunk(ConsentEntity.class, SPECIFICATION, 5L, CHUNK_SIZE))
+            .thenReturn(buildConsents(6L, 7L));
+        when(keysetChunkRepository.findNextChunk(ConsentEntity.class, SPECIFICATION, 7L, 1))
+            .thenReturn(buildConsents(8L));
+        List<Long> exported = new ArrayList<>();
+
+        // When
+        cmsAspspExportStreamer.stream(ConsentEntity.class, SPECIFICATION, ConsentEntity::getId, 5L, 3, true,
+                                      this::mapIds, exported::add);
+
+        // Then
+        assertEquals(Arrays.asList(6L, 7L, 8L), exported);
+        verify(keysetChunkRepository, times(2)).findNextChunk(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void stream_duplicatedRows_exportedOnce() {
+        // Given
+        when(keysetChunkRepository.findNextChunk(ConsentEntity.class, SPECIFICATION, null, CHUNK_SIZE))
+            .thenReturn(buildConsents(1L, 1L));
+        when(keysetChunkRepository.findNextChunk(ConsentEntity.class, SPECIFICATION, 1L, CHUNK_SIZE))
+            .thenReturn(Collections.emptyList());
+        List<Long> exported = new ArrayList<>();
+
+        // When
+        cmsAspspExportStreamer.stream(ConsentEntity.class, SPECIFICATION, ConsentEntity::getId, null, 0, true,
+                                      this::mapIds, exported::add);
+
+        // Then
+        assertEquals(Collections.singletonList(1L), exported);
+    }
+
+    @Test
+    void stream_nullSpecification_nothingExported() {
+        // Given
+        List<Long> exported = new ArrayList<>();
+
+        // When
+        cmsAspspExportStreamer.stream(ConsentEntity.class, null, ConsentEntity::getId, null, 0, true,
+                                      this::mapIds, exported::add);
+
+        // Then
+        assertTrue(exported.isEmpty());
+        verifyNoInteractions(keysetChunkRepository);
+    }
+
+    @Test
+    void stream_chunkReadInReadOnlyTransaction_consumerCalledAfterCommit() {
+        // Given
+        ArgumentCaptor<TransactionDefinition> definitionCaptor = ArgumentCaptor.forClass(TransactionDefinition.class);
+        when(transactionManager.getTransaction(definitionCaptor.capture())).thenReturn(transactionStatus);
+        when(keysetChunkRepository.findNextChunk(ConsentEntity.class, SPECIFICATION, null, CHUNK_SIZE))
+            .thenReturn(buildConsents(1L));
+
+        // When
+        cmsAspspExportStreamer.stream(ConsentEntity.class, SPECIFICATION, ConsentEntity::getId, null, 0, true,
+                                      this::mapIds, consumer);
+
+        // Then
+        assertTrue(definitionCaptor.getValue().isReadOnly());
+        InOrder inOrder = inOrder(keysetChunkRepository, transactionManager, consumer);
+        inOrder.verify(keysetChunkRepository).findNextChunk(ConsentEntity.class, SPECIFICATION, null, CHUNK_SIZE);
+        inOrder.verify(transactionManager).commit(transactionStatus);
+        inOrder.verify(consumer).accept(1L);
+    }
+
+    @Test
+    void stream_notReadOnly_chunkReadInWritableTransaction() {
+        // Given
+        ArgumentCaptor<TransactionDefinition> definitionCaptor = ArgumentCaptor.forClass(TransactionDefinition.class);
+        when(transactionManager.getTransaction(definitionCaptor.capture())).thenReturn(transactionStatus);
+        when(keysetChunkRepository.findNextChunk(ConsentEntity.class, SPECIFICATION, null, CHUNK_SIZE))
+            .thenReturn(Collections.emptyList());
+
+        // When
+        cmsAspspExportStreamer.stream(ConsentEntity.class, SPECIFICATION, ConsentEntity::getId, null, 0, false,
+                                      this::mapIds, consumer);
+
+        // Then
+        assertFalse(definitionCaptor.getValue().isReadOnly());
+        verifyNoInteractions(consumer);
+    }
+
+    private List<Long> mapIds(List<ConsentEntity> consents) {
+        return consents.stream()
+                   .map(ConsentEntity::getId)
+                   .collect(Collectors.toList());
+    }
+
+    private List<ConsentEntity> buildConsents(Long... ids) {
+        return Arrays.stream(ids)
+                   .map(id -> {
+                       ConsentEntity consentEntity = new ConsentEntity();
+                       consentEntity.setId(id);
+                       return consentEntity;
+                   })
+                   .collect(Collectors.toList());
+    }
+}
@@ -23,6 +23,7 @@ import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
 import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
 import de.adorsys.psd2.consent.repository.specification.PiisConsentEntitySpecification;
 import de.adorsys.psd2.consent.service.mapper.PiisConsentMapper;
+import de.adorsys.psd2.consent.service.migration.ConsentDataMigrationState;
 import de.adorsys.psd2.consent.service.migration.PiisConsentLazyMigrationService;
 import de.adorsys.psd2.consent.service.psu.util.PageRequestBuilder;
 import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
@@ -43,6 +44,7 @@ import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -81,6 +83,10 @@ class CmsAspspPiisFundsExportServiceInternalTest {
     private PiisConsentLazyMigrationService piisConsentLazyMigrationService;
     @Mock
     private PageRequestBuilder pageRequestBuilder;
+    @Mock
+    private CmsAspspExportStreamer cmsAspspExportStreamer;
+    @Mock
+    private ConsentDataMigrationState consentDataMigrationState;
 
     private PsuIdData psuIdData;
     private PsuIdData wrongPsuIdData;
@@ -442,6 +448,37 @@ class CmsAspspPiisFundsExportServiceInternalTest {
             .byAspspAccountIdAndCreationPeriodAndInstanceIdAndAdditionalTppInfo(any(), any(), any(), any(), any());
     }
 
+    @Test
+    void streamConsentsByTpp_nullInstanceId_defaultInstanceIdUsed() {
+        // Given
+        Specification<ConsentEntity> specification = (root, criteriaQuery, criteriaBuilder) -> null;
+        when(piisConsentEntitySpecification.byTppIdAndCreationPeriodAndPsuIdDataAndInstanceId(TPP_AUTHORISATION_NUMBER,
+                                                                                              CREATION_DATE_FROM,
+                                                                                              CREATION_DATE_TO,
+                                                                                              psuIdData,
+                                                                                              DEFAULT_SERVICE_INSTANCE_ID,
+                                                                                              null))
+            .thenReturn(specification);
+        Consumer<CmsPiisConsent> consumer = c -> {};
+
+        // When
+        cmsAspspPiisFundsExportServiceInternal.streamConsentsByTpp(TPP_AUTHORISATION_NUMBER, CREATION_DATE_FROM, CREATION_DATE_TO,
+                                                                   psuIdData, null, null, 0, consumer);
+
+        // Then
+        verify(cmsAspspExportStreamer).stream(eq(ConsentEntity.class), eq(specification), any(), isNull(), eq(0), eq(true), any(), eq(consumer));
+    }
+
+    @Test
+    void streamConsentsByTpp_blankTppId() {
+        // When
+        cmsAspspPiisFundsExportServiceInternal.streamConsentsByTpp("", CREATION_DATE_FROM, CREATION_DATE_TO,
+                                                                   psuIdData, SERVICE_INSTANCE_ID, null, 0, c -> {});
+
+        // Then
+        verifyNoInteractions(piisConsentEntitySpecification, cmsAspspExportStreamer);
+    }
+
     private ConsentEntity buildPiisConsentEntity() {
         ConsentEntity piisConsentEntity = new ConsentEntity();
         piisConsentEntity.setPsuDataList(Collections.singletonList(buildPsuData()));
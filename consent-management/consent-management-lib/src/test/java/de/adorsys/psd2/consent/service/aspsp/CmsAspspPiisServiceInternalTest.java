@@ -29,6 +29,7 @@ import de.adorsys.psd2.consent.repository.TppInfoRepository;
 import de.adorsys.psd2.consent.repository.specification.PiisConsentEntitySpecification;
 import de.adorsys.psd2.consent.service.mapper.PiisConsentMapper;
 import de.adorsys.psd2.consent.service.migration.PiisConsentLazyMigrationService;
+import de.adorsys.psd2.consent.service.notification.TppNotificationService;
 import de.adorsys.psd2.consent.service.psu.util.PageRequestBuilder;
 import de.adorsys.psd2.core.mapper.ConsentDataMapper;
 import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
@@ -85,6 +86,8 @@ class CmsAspspPiisServiceInternalTest {
     private PiisConsentMapper piisConsentMapper;
     @Mock
     private PiisConsentEntitySpecification piisConsentEntitySpecification;
+    @Mock
+    private TppNotificationService tppNotificationService;
     @Spy
     private PageRequestBuilder pageRequestBuilder = new PageRequestBuilder();
     @InjectMocks
@@ -197,6 +200,7 @@ class CmsAspspPiisServiceInternalTest {
         List<ConsentEntity> closedPiisConsents = argumentCaptor.getValue();
         assertEquals(1, closedPiisConsents.size());
         assertEquals(ConsentStatus.REVOKED_BY_PSU, closedPiisConsents.get(0).getConsentStatus());
+        verify(tppNotificationService).notifyConsentStatusChanged(closedPiisConsents.get(0), ConsentStatus.RECEIVED);
     }
 
     @Test
@@ -405,6 +409,7 @@ class CmsAspspPiisServiceInternalTest {
         assertTrue(actual);
         verify(piisConsentLazyMigrationService).migrateIfNeeded(argumentCaptor.capture());
         assertEquals(ConsentStatus.TERMINATED_BY_ASPSP, argumentCaptor.getValue().getConsentStatus());
+        verify(tppNotificationService).notifyConsentStatusChanged(argumentCaptor.getValue(), ConsentStatus.RECEIVED);
         verify(piisConsentEntitySpecification, times(1))
             .byConsentIdAndInstanceId(CONSENT_EXTERNAL_ID, DEFAULT_SERVICE_INSTANCE_ID);
     }
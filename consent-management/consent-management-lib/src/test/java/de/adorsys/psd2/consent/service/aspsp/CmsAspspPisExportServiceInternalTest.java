@@ -49,6 +49,8 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Currency;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -83,6 +85,8 @@ class CmsAspspPisExportServiceInternalTest {
     private PisCommonPaymentDataRepository pisCommonPaymentDataRepository;
     @Mock
     private CmsPsuPisMapper cmsPsuPisMapper;
+    @Mock
+    private CmsAspspExportStreamer cmsAspspExportStreamer;
     @Spy
     private PageRequestBuilder pageRequestBuilder = new PageRequestBuilder();
 
@@ -383,6 +387,44 @@ class CmsAspspPisExportServiceInternalTest {
             .byPsuIdDataAndCreationPeriodAndInstanceId(any(), any(), any(), any());
     }
 
+    @Test
+    void streamPaymentsByAccountId_afterPaymentId_resolvedToEntityId() {
+        // Given
+        Specification<PisCommonPaymentData> specification = (root, criteriaQuery, criteriaBuilder) -> null;
+        when(pisCommonPaymentDataSpecification.byAspspAccountIdAndCreationPeriodAndInstanceId(ASPSP_ACCOUNT_ID,
+                                                                                              CREATION_DATE_FROM,
+                                                                                              CREATION_DATE_TO,
+                                                                                              DEFAULT_SERVICE_INSTANCE_ID)).thenReturn(specification);
+        PisCommonPaymentData pisCommonPaymentData = buildPisCommonPaymentData();
+        pisCommonPaymentData.setId(7L);
+        when(pisCommonPaymentDataRepository.findByPaymentId(PAYMENT_ID)).thenReturn(Optional.of(pisCommonPaymentData));
+        Consumer<CmsBasePaymentResponse> consumer = p -> {};
+
+        // When
+        cmsAspspPisExportServiceInternal.streamPaymentsByAccountId(ASPSP_ACCOUNT_ID, CREATION_DATE_FROM, CREATION_DATE_TO,
+                                                                   DEFAULT_SERVICE_INSTANCE_ID, PAYMENT_ID, 5, consumer);
+
+        // Then
+        verify(cmsAspspExportStreamer).stream(eq(PisCommonPaymentData.class), eq(specification), any(), eq(7L), eq(5), eq(true), any(), eq(consumer));
+    }
+
+    @Test
+    void streamPaymentsByAccountId_unknownAfterPaymentId() {
+        // Given
+        when(pisCommonPaymentDataSpecification.byAspspAccountIdAndCreationPeriodAndInstanceId(ASPSP_ACCOUNT_ID,
+                                                                                              CREATION_DATE_FROM,
+                                                                                              CREATION_DATE_TO,
+                                                                                              DEFAULT_SERVICE_INSTANCE_ID)).thenReturn((root, criteriaQuery, criteriaBuilder) -> null);
+        when(pisCommonPaymentDataRepository.findByPaymentId(PAYMENT_ID)).thenReturn(Optional.empty());
+
+        // When
+        cmsAspspPisExportServiceInternal.streamPaymentsByAccountId(ASPSP_ACCOUNT_ID, CREATION_DATE_FROM, CREATION_DATE_TO,
+                                                                   DEFAULT_SERVICE_INSTANCE_ID, PAYMENT_ID, 0, p -> {});
+
+        // Then
+        verifyNoInteractions(cmsAspspExportStreamer);
+    }
+
     private PsuIdData buildPsuIdData(String psuId) {
         return new PsuIdData(psuId, null, null, null, null);
     }
@@ -19,6 +19,8 @@ package de.adorsys.psd2.consent.service.aspsp;
 import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
 import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
 import de.adorsys.psd2.consent.repository.specification.ConsentSpecification;
+import de.adorsys.psd2.consent.service.notification.TppNotificationService;
+import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
 import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
 import de.adorsys.xs2a.reader.JsonReader;
 import org.junit.jupiter.api.BeforeEach;
@@ -55,6 +57,8 @@ class CmsAspspPsuAccountServiceInternalTest {
     private ConsentSpecification consentSpecification;
     @Mock
     private ConsentJpaRepository consentJpaRepository;
+    @Mock
+    private TppNotificationService tppNotificationService;
 
     @BeforeEach
     void setUp() {
@@ -76,6 +80,8 @@ class CmsAspspPsuAccountServiceInternalTest {
         //then
         assertTrue(actualResult);
         verify(consentSpecification).byPsuIdDataAndAspspAccountIdAndInstanceId(PSU_ID_DATA, ASPSP_ACCOUNT_ID, INSTANCE_ID);
+        verify(tppNotificationService).notifyConsentStatusChanged(aisConsent, ConsentStatus.RECEIVED);
+        verify(tppNotificationService).notifyConsentStatusChanged(piisConsentEntity, ConsentStatus.VALID);
     }
 
     @Test
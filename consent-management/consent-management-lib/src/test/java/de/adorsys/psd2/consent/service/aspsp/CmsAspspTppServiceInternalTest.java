@@ -20,6 +20,7 @@ import de.adorsys.psd2.consent.domain.TppInfoEntity;
 import de.adorsys.psd2.consent.domain.TppStopListEntity;
 import de.adorsys.psd2.consent.repository.TppInfoRepository;
 import de.adorsys.psd2.consent.repository.TppStopListRepository;
+import de.adorsys.psd2.consent.service.TppStopListChangePublisher;
 import de.adorsys.psd2.consent.service.mapper.TppInfoMapper;
 import de.adorsys.psd2.consent.service.mapper.TppStopListMapper;
 import de.adorsys.psd2.xs2a.core.tpp.TppInfo;
@@ -54,6 +55,8 @@ class CmsAspspTppServiceInternalTest {
     private TppInfoRepository tppInfoRepository;
     @Mock
     private TppInfoMapper tppInfoMapper;
+    @Mock
+    private TppStopListChangePublisher tppStopListChangePublisher;
 
     @Mock
     private TppStopListEntity tppStopListEntity;
@@ -99,6 +102,7 @@ class CmsAspspTppServiceInternalTest {
         boolean isBlocked = cmsAspspTppService.blockTpp(AUTHORISATION_NUMBER, INSTANCE_ID, BLOCKING_DURATION);
 
         assertTrue(isBlocked);
+        verify(tppStopListChangePublisher).publishStopListChanged(INSTANCE_ID);
     }
 
     @Test
@@ -120,6 +124,7 @@ class CmsAspspTppServiceInternalTest {
 
         assertTrue(isUnblocked);
         verify(stopListRepository, never()).save(any(TppStopListEntity.class));
+        verify(tppStopListChangePublisher, never()).publishStopListChanged(any());
     }
 
     @Test
@@ -133,6 +138,7 @@ class CmsAspspTppServiceInternalTest {
         boolean isUnblocked = cmsAspspTppService.unblockTpp(AUTHORISATION_NUMBER, INSTANCE_ID);
 
         assertTrue(isUnblocked);
+        verify(tppStopListChangePublisher).publishStopListChanged(INSTANCE_ID);
     }
 
     @Test
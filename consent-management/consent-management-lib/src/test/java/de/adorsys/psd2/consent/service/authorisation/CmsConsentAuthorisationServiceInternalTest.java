@@ -25,6 +25,7 @@ import de.adorsys.psd2.xs2a.core.exception.RedirectUrlIsExpiredException;
 import de.adorsys.psd2.xs2a.core.sca.AuthenticationDataHolder;
 import de.adorsys.psd2.xs2a.core.sca.ScaStatus;
 import de.adorsys.xs2a.reader.JsonReader;
+import de.adorsys.psd2.consent.service.notification.TppNotificationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -49,6 +50,8 @@ class CmsConsentAuthorisationServiceInternalTest {
 
     @InjectMocks
     private CmsConsentAuthorisationServiceInternal cmsConsentAuthorisationServiceInternal;
+    @Mock
+    private TppNotificationService tppNotificationService;
 
     @Mock
     private AuthorisationRepository authorisationRepository;
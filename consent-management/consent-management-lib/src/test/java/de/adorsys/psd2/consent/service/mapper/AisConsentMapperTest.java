@@ -19,6 +19,7 @@ package de.adorsys.psd2.consent.service.mapper;
 import de.adorsys.psd2.consent.api.ais.AisAccountAccess;
 import de.adorsys.psd2.consent.api.ais.CmsAisAccountConsent;
 import de.adorsys.psd2.consent.domain.AuthorisationEntity;
+import de.adorsys.psd2.consent.domain.blob.BlobCodec;
 import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
 import de.adorsys.psd2.consent.service.AisConsentUsageService;
 import de.adorsys.psd2.core.data.AccountAccess;
@@ -108,7 +109,8 @@ class AisConsentMapperTest {
                                                 authorisationTemplateMapper,
                                                 consentDataMapper,
                                                 consentTppInformationMapper,
-                                                accessMapper);
+                                                accessMapper,
+                                                new BlobCodec());
     }
 
     @Test
@@ -18,6 +18,7 @@ package de.adorsys.psd2.consent.service.mapper;
 
 import de.adorsys.psd2.consent.api.piis.v2.CmsConfirmationOfFundsConsent;
 import de.adorsys.psd2.consent.domain.AuthorisationEntity;
+import de.adorsys.psd2.consent.domain.blob.BlobCodec;
 import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
 import de.adorsys.psd2.core.mapper.ConsentDataMapper;
 import de.adorsys.xs2a.reader.JsonReader;
@@ -35,7 +36,8 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 @ExtendWith(SpringExtension.class)
 @ContextConfiguration(classes = {
     TppInfoMapperImpl.class, AuthorisationTemplateMapperImpl.class, PsuDataMapper.class,
-    ConsentTppInformationMapperImpl.class, CmsConfirmationOfFundsMapper.class, ConsentDataMapper.class
+    ConsentTppInformationMapperImpl.class, CmsConfirmationOfFundsMapper.class, ConsentDataMapper.class,
+    BlobCodec.class
 })
 class CmsConfirmationOfFundsMapperTest {
 
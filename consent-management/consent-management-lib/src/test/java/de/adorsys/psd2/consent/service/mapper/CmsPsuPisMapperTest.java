@@ -21,6 +21,7 @@ import de.adorsys.psd2.consent.api.pis.*;
 import de.adorsys.psd2.consent.domain.AccountReferenceEntity;
 import de.adorsys.psd2.consent.domain.PsuData;
 import de.adorsys.psd2.consent.domain.TppInfoEntity;
+import de.adorsys.psd2.consent.domain.blob.BlobCodec;
 import de.adorsys.psd2.consent.domain.payment.PisAddress;
 import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentData;
 import de.adorsys.psd2.consent.domain.payment.PisPaymentData;
@@ -116,6 +117,8 @@ class CmsPsuPisMapperTest {
     @InjectMocks
     private CmsPsuPisMapper cmsPsuPisMapper;
 
+    @Spy
+    private BlobCodec blobCodec = new BlobCodec();
     @Mock
     private CmsAddressMapper cmsAddressMapper;
     @Mock
@@ -17,6 +17,7 @@
 package de.adorsys.psd2.consent.service.migration;
 
 import de.adorsys.psd2.consent.domain.account.AisConsent;
+import de.adorsys.psd2.consent.domain.blob.BlobCodec;
 import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
 import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
 import de.adorsys.psd2.consent.repository.migration.ObsoleteAisConsentJpaRepository;
@@ -45,10 +46,14 @@ class AisConsentLazyMigrationServiceTest {
     @InjectMocks
     private AisConsentLazyMigrationService aisConsentLazyMigrationService;
 
+    @Spy
+    private BlobCodec blobCodec = new BlobCodec();
     @Mock
     private ObsoleteAisConsentJpaRepository obsoleteAisConsentJpaRepository;
     @Mock
     private ConsentJpaRepository consentJpaRepository;
+    @Mock
+    private ConsentDataMigrationState consentDataMigrationState;
 
     @Spy
     private ConsentDataMapper consentDataMapper = new ConsentDataMapper();
@@ -60,6 +65,7 @@ class AisConsentLazyMigrationServiceTest {
         // Given
         ConsentEntity consentEntity = new ConsentEntity();
         consentEntity.setExternalId(EXTERNAL_ID);
+        when(consentDataMigrationState.isLazyMigrationRequired(ConsentDataMigrationType.AIS)).thenReturn(true);
 
         AisConsent obsoleteAisConsent = jsonReader.getObjectFromFile("json/service/migration/ais-consent.json", AisConsent.class);
         when(obsoleteAisConsentJpaRepository.findByExternalId(EXTERNAL_ID))
@@ -94,4 +100,19 @@ class AisConsentLazyMigrationServiceTest {
         verify(obsoleteAisConsentJpaRepository, never()).findByExternalId(any());
         verify(consentJpaRepository, never()).save(any());
     }
+
+    @Test
+    void migrateIfNeeded_migrationCompleted() {
+        // Given
+        ConsentEntity consentEntity = new ConsentEntity();
+        consentEntity.setExternalId(EXTERNAL_ID);
+        when(consentDataMigrationState.isLazyMigrationRequired(ConsentDataMigrationType.AIS)).thenReturn(false);
+
+        // When
+        aisConsentLazyMigrationService.migrateIfNeeded(consentEntity);
+
+        // Then
+        verify(obsoleteAisConsentJpaRepository, never()).findByExternalId(any());
+        verify(consentJpaRepository, never()).save(any());
+    }
 }
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.service.migration;
+
+import de.adorsys.psd2.consent.domain.ConsentDataMigrationCheckpointEntity;
+import de.adorsys.psd2.consent.domain.account.AisConsent;
+import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
+import de.adorsys.psd2.consent.domain.piis.PiisConsentEntity;
+import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
+import de.adorsys.psd2.consent.repository.migration.ConsentDataMigrationCheckpointRepository;
+import de.adorsys.psd2.consent.repository.migration.ObsoleteAisConsentJpaRepository;
+import de.adorsys.psd2.consent.repository.migration.ObsoletePiisConsentJpaRepository;
+import de.adorsys.xs2a.reader.JsonReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConsentDataMigrationServiceTest {
+    private static final String EXTERNAL_ID = "4c4e9624-9eb6-4d3f-86cd-7f70a11c3b5e";
+    private static final String ANOTHER_EXTERNAL_ID = "e1c9c1c8-2a9f-4a2b-8d37-06bc0c2bd0a5";
+    private static final byte[] CONSENT_DATA = "consent data".getBytes();
+    private static final int CHUNK_SIZE = 2;
+
+    @InjectMocks
+    private ConsentDataMigrationService consentDataMigrationService;
+
+    @Mock
+    private ConsentDataMigrationCheckpointRepository consentDataMigrationCheckpointRepository;
+    @Mock
+    private ObsoleteAisConsentJpaRepository obsoleteAisConsentJpaRepository;
+    @Mock
+    private ObsoletePiisConsentJpaRepository obsoletePiisConsentJpaRepository;
+    @Mock
+    private ConsentJpaRepository consentJpaRepository;
+    @Mock
+    private AisConsentLazyMigrationService aisConsentLazyMigrationService;
+    @Mock
+    private PiisConsentLazyMigrationService piisConsentLazyMigrationService;
+
+    private final JsonReader jsonReader = new JsonReader();
+
+    @Test
+    void migrateNextChunk_ais_fullChunk_checkpointSaved() {
+        // Given
+        when(consentDataMigrationCheckpointRepository.findById("AIS")).thenReturn(Optional.empty());
+        AisConsent firstAisConsent = buildAisConsent(3L, EXTERNAL_ID);
+        AisConsent secondAisConsent = buildAisConsent(7L, ANOTHER_EXTERNAL_ID);
+        when(obsoleteAisConsentJpaRepository.findNextChunk(0L, PageRequest.of(0, CHUNK_SIZE)))
+            .thenReturn(Arrays.asList(firstAisConsent, secondAisConsent));
+        ConsentEntity consentEntity = new ConsentEntity();
+        consentEntity.setExternalId(EXTERNAL_ID);
+        when(consentJpaRepository.findAllByExternalIdInAndDataIsNull(new HashSet<>(Arrays.asList(EXTERNAL_ID, ANOTHER_EXTERNAL_ID))))
+            .thenReturn(Collections.singletonList(consentEntity));
+        when(aisConsentLazyMigrationService.getConsentData(firstAisConsent)).thenReturn(CONSENT_DATA);
+
+        // When
+        boolean hasMore = consentDataMigrationService.migrateNextChunk(ConsentDataMigrationType.AIS, CHUNK_SIZE);
+
+        // Then
+        assertTrue(hasMore);
+        assertArrayEquals(CONSENT_DATA, consentEntity.getData());
+        verify(consentJpaRepository).saveAll(Collections.singletonList(consentEntity));
+
+        ArgumentCaptor<ConsentDataMigrationCheckpointEntity> checkpointCaptor = ArgumentCaptor.forClass(ConsentDataMigrationCheckpointEntity.class);
+        verify(consentDataMigrationCheckpointRepository).save(checkpointCaptor.capture());
+        ConsentDataMigrationCheckpointEntity checkpoint = checkpointCaptor.getValue();
+        assertEquals("AIS", checkpoint.getMigrationName());
+        assertEquals(7L, checkpoint.getLastId());
+        assertEquals(1L, checkpoint.getMigratedCount());
+        assertFalse(checkpoint.isCompleted());
+        assertNotNull(checkpoint.getUpdatedAt());
+    }
+
+    @Test
+    void migrateNextChunk_piis_lastChunk_completed() {
+        // Given
+        ConsentDataMigrationCheckpointEntity checkpoint = new ConsentDataMigrationCheckpointEntity("PIIS");
+        checkpoint.setLastId(10L);
+        checkpoint.setMigratedCount(5L);
+        when(consentDataMigrationCheckpointRepository.findById("PIIS")).thenReturn(Optional.of(checkpoint));
+        PiisConsentEntity piisConsent = jsonReader.getObjectFromFile("json/service/migration/piis-consent-entity.json", PiisConsentEntity.class);
+        piisConsent.setId(11L);
+        piisConsent.setExternalId(EXTERNAL_ID);
+        when(obsoletePiisConsentJpaRepository.findNextChunk(10L, PageRequest.of(0, CHUNK_SIZE)))
+            .thenReturn(Collections.singletonList(piisConsent));
+        ConsentEntity consentEntity = new ConsentEntity();
+        consentEntity.setExternalId(EXTERNAL_ID);
+        when(consentJpaRepository.findAllByExternalIdInAndDataIsNull(Collections.singleton(EXTERNAL_ID)))
+            .thenReturn(Collections.singletonList(consentEntity));
+        when(piisConsentLazyMigrationService.getConsentData(piisConsent)).thenReturn(CONSENT_DATA);
+
+        // When
+        boolean hasMore = consentDataMigrationService.migrateNextChunk(ConsentDataMigrationType.PIIS, CHUNK_SIZE);
+
+        // Then
+        assertFalse(hasMore);
+        assertArrayEquals(CONSENT_DATA, consentEntity.getData());
+        assertEquals(11L, checkpoint.getLastId());
+        assertEquals(6L, checkpoint.getMigratedCount());
+        assertTrue(checkpoint.isCompleted());
+        verify(consentDataMigrationCheckpointRepository).save(checkpoint);
+    }
+
+    @Test
+    void migrateNextChunk_emptyChunk_completedWithoutConsentLookup() {
+        // Given
+        when(consentDataMigrationCheckpointRepository.findById("AIS")).thenReturn(Optional.empty());
+        when(obsoleteAisConsentJpaRepository.findNextChunk(0L, PageRequest.of(0, CHUNK_SIZE)))
+            .thenReturn(Collections.emptyList());
+
+        // When
+        boolean hasMore = consentDataMigrationService.migrateNextChunk(ConsentDataMigrationType.AIS, CHUNK_SIZE);
+
+        // Then
+        assertFalse(hasMore);
+        verify(consentJpaRepository, never()).findAllByExternalIdInAndDataIsNull(any());
+        verify(consentDataMigrationCheckpointRepository).save(any(ConsentDataMigrationCheckpointEntity.class));
+    }
+
+    @Test
+    void migrateNextChunk_alreadyCompleted() {
+        // Given
+        ConsentDataMigrationCheckpointEntity checkpoint = new ConsentDataMigrationCheckpointEntity("AIS");
+        checkpoint.setCompleted(true);
+        when(consentDataMigrationCheckpointRepository.findById("AIS")).thenReturn(Optional.of(checkpoint));
+
+        // When
+        boolean hasMore = consentDataMigrationService.migrateNextChunk(ConsentDataMigrationType.AIS, CHUNK_SIZE);
+
+        // Then
+        assertFalse(hasMore);
+        verifyNoInteractions(obsoleteAisConsentJpaRepository, consentJpaRepository);
+        verify(consentDataMigrationCheckpointRepository, never()).save(any());
+    }
+
+    private AisConsent buildAisConsent(Long id, String externalId) {
+        AisConsent aisConsent = jsonReader.getObjectFromFile("json/service/migration/ais-consent.json", AisConsent.class);
+        aisConsent.setId(id);
+        aisConsent.setExternalId(externalId);
+        return aisConsent;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.service.migration;
+
+import de.adorsys.psd2.consent.domain.ConsentDataMigrationCheckpointEntity;
+import de.adorsys.psd2.consent.repository.migration.ConsentDataMigrationCheckpointRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConsentDataMigrationStateTest {
+    @InjectMocks
+    private ConsentDataMigrationState consentDataMigrationState;
+
+    @Mock
+    private ConsentDataMigrationCheckpointRepository consentDataMigrationCheckpointRepository;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(consentDataMigrationState, "lazyMigrationEnabled", true);
+        ReflectionTestUtils.setField(consentDataMigrationState, "stateRefreshMs", 60000L);
+    }
+
+    @Test
+    void isLazyMigrationRequired_migrationNotCompleted_checkpointReadOncePerInterval() {
+        // Given
+        when(consentDataMigrationCheckpointRepository.findById("AIS")).thenReturn(Optional.empty());
+
+        // When
+        boolean first = consentDataMigrationState.isLazyMigrationRequired(ConsentDataMigrationType.AIS);
+        boolean second = consentDataMigrationState.isLazyMigrationRequired(ConsentDataMigrationType.AIS);
+
+        // Then
+        assertTrue(first);
+        assertTrue(second);
+        verify(consentDataMigrationCheckpointRepository, times(1)).findById("AIS");
+    }
+
+    @Test
+    void isLazyMigrationRequired_completedCheckpoint() {
+        // Given
+        ConsentDataMigrationCheckpointEntity checkpoint = new ConsentDataMigrationCheckpointEntity("PIIS");
+        checkpoint.setCompleted(true);
+        when(consentDataMigrationCheckpointRepository.findById("PIIS")).thenReturn(Optional.of(checkpoint));
+
+        // When
+        boolean first = consentDataMigrationState.isLazyMigrationRequired(ConsentDataMigrationType.PIIS);
+        boolean second = consentDataMigrationState.isLazyMigrationRequired(ConsentDataMigrationType.PIIS);
+
+        // Then
+        assertFalse(first);
+        assertFalse(second);
+        verify(consentDataMigrationCheckpointRepository, times(1)).findById("PIIS");
+    }
+
+    @Test
+    void isLazyMigrationRequired_markedCompleted() {
+        // Given
+        consentDataMigrationState.markCompleted(ConsentDataMigrationType.AIS);
+
+        // When
+        boolean actual = consentDataMigrationState.isLazyMigrationRequired(ConsentDataMigrationType.AIS);
+
+        // Then
+        assertFalse(actual);
+        verifyNoInteractions(consentDataMigrationCheckpointRepository);
+    }
+
+    @Test
+    void isLazyMigrationRequired_lazyMigrationDisabled() {
+        // Given
+        ReflectionTestUtils.setField(consentDataMigrationState, "lazyMigrationEnabled", false);
+
+        // When
+        boolean actual = consentDataMigrationState.isLazyMigrationRequired(ConsentDataMigrationType.AIS);
+
+        // Then
+        assertFalse(actual);
+        verifyNoInteractions(consentDataMigrationCheckpointRepository);
+    }
+}
@@ -16,6 +16,7 @@
 
 package de.adorsys.psd2.consent.service.migration;
 
+import de.adorsys.psd2.consent.domain.blob.BlobCodec;
 import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
 import de.adorsys.psd2.consent.domain.piis.PiisConsentEntity;
 import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
@@ -44,10 +45,14 @@ class PiisConsentLazyMigrationServiceTest {
     @InjectMocks
     private PiisConsentLazyMigrationService piisConsentLazyMigrationService;
 
+    @Spy
+    private BlobCodec blobCodec = new BlobCodec();
     @Mock
     private ObsoletePiisConsentJpaRepository obsoletePiisConsentJpaRepository;
     @Mock
     private ConsentJpaRepository consentJpaRepository;
+    @Mock
+    private ConsentDataMigrationState consentDataMigrationState;
 
     @Spy
     private ConsentDataMapper consentDataMapper = new ConsentDataMapper();
@@ -59,6 +64,7 @@ class PiisConsentLazyMigrationServiceTest {
         // Given
         ConsentEntity consentEntity = new ConsentEntity();
         consentEntity.setExternalId(EXTERNAL_ID);
+        when(consentDataMigrationState.isLazyMigrationRequired(ConsentDataMigrationType.PIIS)).thenReturn(true);
 
         PiisConsentEntity obsoletePiisConsent = jsonReader.getObjectFromFile("json/service/migration/piis-consent-entity.json", PiisConsentEntity.class);
         when(obsoletePiisConsentJpaRepository.findByExternalId(EXTERNAL_ID))
@@ -91,4 +97,19 @@ class PiisConsentLazyMigrationServiceTest {
         verify(obsoletePiisConsentJpaRepository, never()).findByExternalId(any());
         verify(consentJpaRepository, never()).save(any());
     }
+
+    @Test
+    void migrateIfNeeded_migrationCompleted() {
+        // Given
+        ConsentEntity consentEntity = new ConsentEntity();
+        consentEntity.setExternalId(EXTERNAL_ID);
+        when(consentDataMigrationState.isLazyMigrationRequired(ConsentDataMigrationType.PIIS)).thenReturn(false);
+
+        // When
+        piisConsentLazyMigrationService.migrateIfNeeded(consentEntity);
+
+        // Then
+        verify(obsoletePiisConsentJpaRepository, never()).findByExternalId(any());
+        verify(consentJpaRepository, never()).save(any());
+    }
 }
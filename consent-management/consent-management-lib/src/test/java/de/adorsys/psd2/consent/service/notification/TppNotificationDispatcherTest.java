@@ -0,0 +1,316 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service.notification;
+
+import de.adorsys.psd2.consent.domain.notification.TppNotificationDeliveryStatus;
+import de.adorsys.psd2.consent.domain.notification.TppNotificationEntity;
+import de.adorsys.psd2.consent.domain.notification.TppNotificationResourceType;
+import de.adorsys.psd2.consent.repository.TppNotificationRepository;
+import de.adorsys.psd2.mapper.Xs2aObjectMapper;
+import de.adorsys.psd2.xs2a.core.profile.NotificationSupportedMode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TppNotificationDispatcherTest {
+    private static final int BATCH_SIZE = 10;
+    private static final long INITIAL_RETRY_DELAY_MS = 10_000;
+    private static final long MAX_RETRY_DELAY_MS = 60_000;
+    private static final long CLAIM_TIME_MS = 300_000;
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+    private static final String TPP_HOST = "tpp.example.com";
+    private static final String ANOTHER_TPP_HOST = "another-tpp.example.com";
+    private static final String NOT_ALLOWED_TPP_HOST = "127.0.0.1";
+
+    private TppNotificationDispatcher tppNotificationDispatcher;
+
+    @Mock
+    private TppNotificationRepository tppNotificationRepository;
+    @Mock
+    private TppNotificationSender tppNotificationSender;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        tppNotificationDispatcher = new TppNotificationDispatcher(tppNotificationRepository, tppNotificationSender,
+                                                                  new TppNotificationUriValidator(TPP_HOST + "," + ANOTHER_TPP_HOST),
+                                                                  new Xs2aObjectMapper(), transactionManager);
+        ReflectionTestUtils.setField(tppNotificationDispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(tppNotificationDispatcher, "initialRetryDelayMs", INITIAL_RETRY_DELAY_MS);
+        ReflectionTestUtils.setField(tppNotificationDispatcher, "maxRetryDelayMs", MAX_RETRY_DELAY_MS);
+        ReflectionTestUtils.setField(tppNotificationDispatcher, "rateLimitPerHost", 20);
+        ReflectionTestUtils.setField(tppNotificationDispatcher, "claimTimeMs", CLAIM_TIME_MS);
+    }
+
+    @Test
+    void dispatchNextBatch_batchClaimedAndCommittedBeforeSending() {
+        // Given
+        TppNotificationEntity notification = buildNotification("1", TPP_HOST, TppNotificationResourceType.PAYMENT, NotificationSupportedMode.PROCESS, "ACTC");
+        givenDueNotifications(List.of(notification));
+        OffsetDateTime before = OffsetDateTime.now();
+        when(tppNotificationSender.send(any(), any(), any())).thenAnswer(invocation -> {
+            // claiming transaction is already committed and no other transaction is open while sending
+            verify(transactionManager, times(1)).getTransaction(any());
+            verify(transactionManager, times(1)).commit(any());
+            assertFalse(notification.getNextAttemptAt().isBefore(before.plusNanos(CLAIM_TIME_MS * 1_000_000)));
+            return true;
+        });
+
+        // When
+        tppNotificationDispatcher.dispatchNextBatch(BATCH_SIZE, NO_DEADLINE);
+
+        // Then
+        verify(tppNotificationSender).send(any(), any(), any());
+        verify(transactionManager, times(2)).commit(any());
+        verify(tppNotificationRepository).delete(notification);
+    }
+
+    @Test
+    void dispatchNextBatch_deadlineReached_notificationsReleasedForNextRun() {
+        // Given
+        TppNotificationEntity notification = buildNotification("1", TPP_HOST, TppNotificationResourceType.PAYMENT, NotificationSupportedMode.PROCESS, "ACTC");
+        givenDueNotifications(List.of(notification));
+
+        // When
+        tppNotificationDispatcher.dispatchNextBatch(BATCH_SIZE, System.currentTimeMillis());
+
+        // Then
+        verifyNoInteractions(tppNotificationSender);
+        verify(tppNotificationRepository).saveAll(List.of(notification));
+        assertFalse(notification.getNextAttemptAt().isAfter(OffsetDateTime.now()));
+        assertEquals(0, notification.getAttempts());
+    }
+
+    @Test
+    void dispatchNextBatch_delivered_notificationDeleted() {
+        // Given
+        TppNotificationEntity payment = buildNotification("1", TPP_HOST, TppNotificationResourceType.PAYMENT, NotificationSupportedMode.LAST, "ACSC");
+        TppNotificationEntity sca = buildNotification("2", TPP_HOST, TppNotificationResourceType.CONSENT, NotificationSupportedMode.SCA, "finalised");
+        sca.setAuthorisationId("authorisation id");
+        givenDueNotifications(List.of(payment, sca));
+        when(tppNotificationSender.send(any(), any(), any())).thenReturn(true);
+
+        // When
+        boolean actual = tppNotificationDispatcher.dispatchNextBatch(BATCH_SIZE, NO_DEADLINE);
+
+        // Then
+        assertFalse(actual);
+        verify(tppNotificationSender).send(eq("https://" + TPP_HOST + "/1"), eq("1"),
+                                           eq("{\"transactionStatus\":\"ACSC\"}".getBytes(StandardCharsets.UTF_8)));
+        verify(tppNotificationSender).send(eq("https://" + TPP_HOST + "/2"), eq("2"),
+                                           eq("{\"authorisationId\":\"authorisation id\",\"scaStatus\":\"finalised\"}".getBytes(StandardCharsets.UTF_8)));
+        verify(tppNotificationRepository).delete(payment);
+        verify(tppNotificationRepository).delete(sca);
+    }
+
+    @Test
+    void dispatchNextBatch_fullBatch_moreNotificationsMayBeDue() {
+        // Given
+        givenDueNotifications(List.of(buildNotification("1", TPP_HOST, TppNotificationResourceType.CONSENT, NotificationSupportedMode.PROCESS, "valid")));
+        when(tppNotificationSender.send(any(), any(), any())).thenReturn(true);
+
+        // When
+        boolean actual = tppNotificationDispatcher.dispatchNextBatch(1, NO_DEADLINE);
+
+        // Then
+        assertTrue(actual);
+    }
+
+    @Test
+    void dispatchNextBatch_deliveryFailed_retryScheduledAndHostPostponed() {
+        // Given
+        TppNotificationEntity failed = buildNotification("1", TPP_HOST, TppNotificationResourceType.CONSENT, NotificationSupportedMode.PROCESS, "valid");
+        TppNotificationEntity sameHost = buildNotification("2", TPP_HOST, TppNotificationResourceType.CONSENT, NotificationSupportedMode.PROCESS, "expired");
+        TppNotificationEntity anotherHost = buildNotification("3", ANOTHER_TPP_HOST, TppNotificationResourceType.CONSENT, NotificationSupportedMode.PROCESS, "valid");
+        givenDueNotifications(List.of(failed, sameHost, anotherHost));
+        when(tppNotificationSender.send(eq("https://" + TPP_HOST + "/1"), eq("1"), any())).thenReturn(false);
+        when(tppNotificationSender.send(eq("https://" + ANOTHER_TPP_HOST + "/3"), eq("3"), any())).thenReturn(true);
+        OffsetDateTime before = OffsetDateTime.now();
+
+        // When
+        tppNotificationDispatcher.dispatchNextBatch(BATCH_SIZE, NO_DEADLINE);
+
+        // Then
+        assertEquals(1, failed.getAttempts());
+        assertEquals(TppNotificationDeliveryStatus.PENDING, failed.getDeliveryStatus());
+        assertFalse(failed.getNextAttemptAt().isBefore(before.plusNanos(INITIAL_RETRY_DELAY_MS * 1_000_000)));
+        assertEquals(failed.getNextAttemptAt(), sameHost.getNextAttemptAt());
+        assertEquals(0, sameHost.getAttempts());
+        verify(tppNotificationSender, never()).send(eq("https://" + TPP_HOST + "/2"), any(), any());
+        verify(tppNotificationRepository).delete(anotherHost);
+        verify(tppNotificationRepository, never()).delete(failed);
+        verify(tppNotificationRepository).saveAll(List.of(failed, sameHost));
+    }
+
+    @Test
+    void dispatchNextBatch_repeatedFailures_exponentialBackoffCappedByMaxDelay() {
+        // Given
+        ReflectionTestUtils.setField(tppNotificationDispatcher, "maxAttempts", 10);
+        TppNotificationEntity notification = buildNotification("1", TPP_HOST, TppNotificationResourceType.PAYMENT, NotificationSupportedMode.PROCESS, "ACTC");
+        notification.setAttempts(5);
+        givenDueNotifications(List.of(notification));
+        when(tppNotificationSender.send(any(), any(), any())).thenReturn(false);
+        OffsetDateTime before = OffsetDateTime.now();
+
+        // When
+        tppNotificationDispatcher.dispatchNextBatch(BATCH_SIZE, NO_DEADLINE);
+
+        // Then
+        assertEquals(6, notification.getAttempts());
+        assertFalse(notification.getNextAttemptAt().isBefore(before.plusNanos(MAX_RETRY_DELAY_MS * 1_000_000)));
+        assertFalse(notification.getNextAttemptAt().isAfter(OffsetDateTime.now().plusNanos(MAX_RETRY_DELAY_MS * 1_000_000)));
+    }
+
+    @Test
+    void dispatchNextBatch_maxAttemptsReached_notificationFailed() {
+        // Given
+        TppNotificationEntity notification = buildNotification("1", TPP_HOST, TppNotificationResourceType.PAYMENT, NotificationSupportedMode.PROCESS, "ACTC");
+        notification.setAttempts(2);
+        givenDueNotifications(List.of(notification));
+        when(tppNotificationSender.send(any(), any(), any())).thenReturn(false);
+
+        // When
+        tppNotificationDispatcher.dispatchNextBatch(BATCH_SIZE, NO_DEADLINE);
+
+        // Then
+        assertEquals(3, notification.getAttempts());
+        assertEquals(TppNotificationDeliveryStatus.FAILED, notification.getDeliveryStatus());
+        verify(tppNotificationRepository, never()).delete(any());
+    }
+
+    @Test
+    void dispatchNextBatch_interruptedWhileSending_batchAbortedAndResultsStored() {
+        // Given
+        TppNotificationEntity delivered = buildNotification("1", TPP_HOST, TppNotificationResourceType.PAYMENT, NotificationSupportedMode.PROCESS, "ACTC");
+        TppNotificationEntity interrupted = buildNotification("2", TPP_HOST, TppNotificationResourceType.PAYMENT, NotificationSupportedMode.PROCESS, "ACSP");
+        TppNotificationEntity notSent = buildNotification("3", ANOTHER_TPP_HOST, TppNotificationResourceType.PAYMENT, NotificationSupportedMode.PROCESS, "ACSC");
+        givenDueNotifications(List.of(delivered, interrupted, notSent));
+        when(tppNotificationSender.send(eq("https://" + TPP_HOST + "/1"), eq("1"), any())).thenReturn(true);
+        when(tppNotificationSender.send(eq("https://" + TPP_HOST + "/2"), eq("2"), any())).thenAnswer(invocation -> {
+            Thread.currentThread().interrupt();
+            return false;
+        });
+
+        // When
+        boolean actual;
+        boolean interruptFlagKept;
+        try {
+            actual = tppNotificationDispatcher.dispatchNextBatch(3, NO_DEADLINE);
+        } finally {
+            interruptFlagKept = Thread.interrupted();
+        }
+
+        // Then
+        assertFalse(actual);
+        assertTrue(interruptFlagKept);
+        verify(tppNotificationSender, times(2)).send(any(), any(), any());
+        verify(transactionManager, times(2)).commit(any());
+        verify(tppNotificationRepository).delete(delivered);
+        verify(tppNotificationRepository).saveAll(List.of(interrupted, notSent));
+        assertEquals(0, interrupted.getAttempts());
+        assertFalse(interrupted.getNextAttemptAt().isAfter(OffsetDateTime.now()));
+        assertFalse(notSent.getNextAttemptAt().isAfter(OffsetDateTime.now()));
+    }
+
+    @Test
+    void dispatchNextBatch_notificationUriNotAllowed_notificationFailedWithoutSending() {
+        // Given
+        TppNotificationEntity notAllowed = buildNotification("1", NOT_ALLOWED_TPP_HOST, TppNotificationResourceType.PAYMENT, NotificationSupportedMode.PROCESS, "ACTC");
+        TppNotificationEntity allowed = buildNotification("2", TPP_HOST, TppNotificationResourceType.PAYMENT, NotificationSupportedMode.PROCESS, "ACTC");
+        givenDueNotifications(List.of(notAllowed, allowed));
+        when(tppNotificationSender.send(any(), any(), any())).thenReturn(true);
+
+        // When
+        tppNotificationDispatcher.dispatchNextBatch(BATCH_SIZE, NO_DEADLINE);
+
+        // Then
+        verify(tppNotificationSender, never()).send(eq("https://" + NOT_ALLOWED_TPP_HOST + "/1"), any(), any());
+        assertEquals(TppNotificationDeliveryStatus.FAILED, notAllowed.getDeliveryStatus());
+        verify(tppNotificationRepository).saveAll(List.of(notAllowed));
+        verify(tppNotificationRepository).delete(allowed);
+    }
+
+    @Test
+    void dispatchNextBatch_rateLimitExceeded_notificationPostponed() {
+        // Given
+        ReflectionTestUtils.setField(tppNotificationDispatcher, "rateLimitPerHost", 1);
+        TppNotificationEntity first = buildNotification("1", TPP_HOST, TppNotificationResourceType.PAYMENT, NotificationSupportedMode.PROCESS, "ACTC");
+        TppNotificationEntity second = buildNotification("2", TPP_HOST, TppNotificationResourceType.PAYMENT, NotificationSupportedMode.PROCESS, "ACSP");
+        OffsetDateTime secondNextAttemptAt = second.getNextAttemptAt();
+        givenDueNotifications(List.of(first, second));
+        when(tppNotificationSender.send(any(), any(), any())).thenReturn(true);
+
+        // When
+        tppNotificationDispatcher.dispatchNextBatch(BATCH_SIZE, NO_DEADLINE);
+
+        // Then
+        verify(tppNotificationSender, times(1)).send(any(), any(), any());
+        verify(tppNotificationRepository).delete(first);
+        assertTrue(second.getNextAttemptAt().isAfter(secondNextAttemptAt));
+        assertEquals(0, second.getAttempts());
+        assertEquals(TppNotificationDeliveryStatus.PENDING, second.getDeliveryStatus());
+    }
+
+    @Test
+    void dispatchNextBatch_noDueNotifications() {
+        // Given
+        givenDueNotifications(Collections.emptyList());
+
+        // When
+        boolean actual = tppNotificationDispatcher.dispatchNextBatch(BATCH_SIZE, NO_DEADLINE);
+
+        // Then
+        assertFalse(actual);
+        verifyNoInteractions(tppNotificationSender);
+    }
+
+    private void givenDueNotifications(List<TppNotificationEntity> notifications) {
+        when(tppNotificationRepository.findDue(eq(TppNotificationDeliveryStatus.PENDING), any(OffsetDateTime.class), any(PageRequest.class)))
+            .thenReturn(notifications);
+    }
+
+    private TppNotificationEntity buildNotification(String externalId, String tppHost, TppNotificationResourceType resourceType,
+                                                    NotificationSupportedMode mode, String status) {
+        TppNotificationEntity notification = new TppNotificationEntity();
+        notification.setExternalId(externalId);
+        notification.setNotificationUri("https://" + tppHost + "/" + externalId);
+        notification.setTppHost(tppHost);
+        notification.setResourceType(resourceType);
+        notification.setResourceId("resource id");
+        notification.setNotificationMode(mode);
+        notification.setStatus(status);
+        notification.setNextAttemptAt(OffsetDateTime.now().minusSeconds(1));
+        return notification;
+    }
+}
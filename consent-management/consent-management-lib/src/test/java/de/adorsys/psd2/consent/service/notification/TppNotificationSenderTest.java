@@ -0,0 +1,140 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service.notification;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TppNotificationSenderTest {
+    private static final String REQUEST_ID = "2f77a125-aa7a-45c0-b414-cea25a116035";
+    private static final byte[] CONTENT = "{\"transactionStatus\":\"ACSC\"}".getBytes(StandardCharsets.UTF_8);
+
+    private static final String LOOPBACK_HOST = InetAddress.getLoopbackAddress().getHostAddress();
+
+    private final TppNotificationSender tppNotificationSender = new TppNotificationSender(new TppNotificationUriValidator(LOOPBACK_HOST), 1000, 2000);
+    private final AtomicInteger responseStatus = new AtomicInteger();
+    private final AtomicReference<String> receivedMethod = new AtomicReference<>();
+    private final AtomicReference<String> receivedContentType = new AtomicReference<>();
+    private final AtomicReference<String> receivedRequestId = new AtomicReference<>();
+    private final AtomicReference<byte[]> receivedContent = new AtomicReference<>();
+
+    private HttpServer tppServer;
+    private String notificationUri;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        tppServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        tppServer.createContext("/notifications", exchange -> {
+            receivedMethod.set(exchange.getRequestMethod());
+            receivedContentType.set(exchange.getRequestHeaders().getFirst("Content-Type"));
+            receivedRequestId.set(exchange.getRequestHeaders().getFirst("X-Request-ID"));
+            try (InputStream body = exchange.getRequestBody()) {
+                receivedContent.set(body.readAllBytes());
+            }
+            exchange.sendResponseHeaders(responseStatus.get(), -1);
+            exchange.close();
+        });
+        tppServer.start();
+        notificationUri = "http://" + LOOPBACK_HOST + ":" + tppServer.getAddress().getPort() + "/notifications/42";
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        tppServer.stop(0);
+        tppNotificationSender.destroy();
+    }
+
+    @Test
+    void send_accepted_true() {
+        // Given
+        responseStatus.set(204);
+
+        // When
+        boolean actual = tppNotificationSender.send(notificationUri, REQUEST_ID, CONTENT);
+
+        // Then
+        assertTrue(actual);
+        assertEquals("POST", receivedMethod.get());
+        assertEquals("application/json", receivedContentType.get());
+        assertEquals(REQUEST_ID, receivedRequestId.get());
+        assertArrayEquals(CONTENT, receivedContent.get());
+    }
+
+    @Test
+    void send_rejected_false() {
+        // Given
+        responseStatus.set(500);
+
+        // When
+        boolean actual = tppNotificationSender.send(notificationUri, REQUEST_ID, CONTENT);
+
+        // Then
+        assertFalse(actual);
+        assertEquals(REQUEST_ID, receivedRequestId.get());
+    }
+
+    @Test
+    void send_redirect_notFollowed() {
+        // Given
+        responseStatus.set(302);
+
+        // When
+        boolean actual = tppNotificationSender.send(notificationUri, REQUEST_ID, CONTENT);
+
+        // Then
+        assertFalse(actual);
+    }
+
+    @Test
+    void send_hostResolvedToInternalAddress_notSent() throws IOException {
+        // Given
+        responseStatus.set(204);
+        TppNotificationSender senderWithoutAllowedHosts = new TppNotificationSender(new TppNotificationUriValidator(""), 1000, 2000);
+
+        // When
+        boolean actual = senderWithoutAllowedHosts.send(notificationUri, REQUEST_ID, CONTENT);
+        senderWithoutAllowedHosts.destroy();
+
+        // Then
+        assertFalse(actual);
+        assertNull(receivedMethod.get());
+    }
+
+    @Test
+    void send_tppUnavailable_false() {
+        // Given
+        tppServer.stop(0);
+
+        // When
+        boolean actual = tppNotificationSender.send(notificationUri, REQUEST_ID, CONTENT);
+
+        // Then
+        assertFalse(actual);
+    }
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service.notification;
+
+import de.adorsys.psd2.consent.domain.AuthorisationEntity;
+import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
+import de.adorsys.psd2.consent.domain.consent.ConsentTppInformationEntity;
+import de.adorsys.psd2.consent.domain.notification.TppNotificationDeliveryStatus;
+import de.adorsys.psd2.consent.domain.notification.TppNotificationEntity;
+import de.adorsys.psd2.consent.domain.notification.TppNotificationResourceType;
+import de.adorsys.psd2.consent.domain.payment.PisCommonPaymentData;
+import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
+import de.adorsys.psd2.consent.repository.PisCommonPaymentDataRepository;
+import de.adorsys.psd2.consent.repository.TppNotificationRepository;
+import de.adorsys.psd2.xs2a.core.authorisation.AuthorisationType;
+import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
+import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
+import de.adorsys.psd2.xs2a.core.profile.NotificationSupportedMode;
+import de.adorsys.psd2.xs2a.core.sca.ScaStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TppNotificationServiceTest {
+    private static final String PAYMENT_ID = "payment id";
+    private static final String CONSENT_ID = "consent id";
+    private static final String AUTHORISATION_ID = "authorisation id";
+    private static final String INSTANCE_ID = "UNDEFINED";
+    private static final String NOTIFICATION_URI = "https://tpp.example.com:8443/notifications/42";
+    private static final String TPP_HOST = "tpp.example.com:8443";
+
+    @InjectMocks
+    private TppNotificationService tppNotificationService;
+
+    @Mock
+    private TppNotificationRepository tppNotificationRepository;
+    @Mock
+    private PisCommonPaymentDataRepository pisCommonPaymentDataRepository;
+    @Mock
+    private ConsentJpaRepository consentJpaRepository;
+    @Spy
+    private TppNotificationUriValidator tppNotificationUriValidator = new TppNotificationUriValidator("");
+
+    @Captor
+    private ArgumentCaptor<TppNotificationEntity> notificationCaptor;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tppNotificationService, "enabled", true);
+    }
+
+    @Test
+    void notifyPaymentStatusChanged_processRequested_processNotificationStored() {
+        // Given
+        PisCommonPaymentData payment = buildPayment(TransactionStatus.ACTC, List.of(NotificationSupportedMode.PROCESS));
+
+        // When
+        tppNotificationService.notifyPaymentStatusChanged(payment, TransactionStatus.RCVD);
+
+        // Then
+        verify(tppNotificationRepository).save(notificationCaptor.capture());
+        TppNotificationEntity notification = notificationCaptor.getValue();
+        assertNotNull(notification.getExternalId());
+        assertEquals(NOTIFICATION_URI, notification.getNotificationUri());
+        assertEquals(TPP_HOST, notification.getTppHost());
+        assertEquals(TppNotificationResourceType.PAYMENT, notification.getResourceType());
+        assertEquals(PAYMENT_ID, notification.getResourceId());
+        assertNull(notification.getAuthorisationId());
+        assertEquals(NotificationSupportedMode.PROCESS, notification.getNotificationMode());
+        assertEquals("ACTC", notification.getStatus());
+        assertEquals(TppNotificationDeliveryStatus.PENDING, notification.getDeliveryStatus());
+        assertEquals(0, notification.getAttempts());
+        assertNotNull(notification.getNextAttemptAt());
+        assertEquals(INSTANCE_ID, notification.getInstanceId());
+    }
+
+    @Test
+    void notifyPaymentStatusChanged_finalisedStatusAndLastRequested_lastNotificationStored() {
+        // Given
+        PisCommonPaymentData payment = buildPayment(TransactionStatus.ACSC, List.of(NotificationSupportedMode.PROCESS, NotificationSupportedMode.LAST));
+
+        // When
+        tppNotificationService.notifyPaymentStatusChanged(payment, TransactionStatus.ACTC);
+
+        // Then
+        verify(tppNotificationRepository).save(notificationCaptor.capture());
+        assertEquals(NotificationSupportedMode.LAST, notificationCaptor.getValue().getNotificationMode());
+    }
+
+    @Test
+    void notifyPaymentStatusChanged_onlyLastRequestedAndStatusNotFinalised_noNotification() {
+        // Given
+        PisCommonPaymentData payment = buildPayment(TransactionStatus.ACTC, List.of(NotificationSupportedMode.LAST));
+
+        // When
+        tppNotificationService.notifyPaymentStatusChanged(payment, TransactionStatus.RCVD);
+
+        // Then
+        verifyNoInteractions(tppNotificationRepository);
+    }
+
+    @Test
+    void notifyPaymentStatusChanged_statusNotChanged_noNotification() {
+        // Given
+        PisCommonPaymentData payment = buildPayment(TransactionStatus.ACTC, List.of(NotificationSupportedMode.PROCESS));
+
+        // When
+        tppNotificationService.notifyPaymentStatusChanged(payment, TransactionStatus.ACTC);
+
+        // Then
+        verifyNoInteractions(tppNotificationRepository);
+    }
+
+    @Test
+    void notifyPaymentStatusChanged_invalidNotificationUri_noNotification() {
+        // Given
+        PisCommonPaymentData payment = buildPayment(TransactionStatus.ACTC, List.of(NotificationSupportedMode.PROCESS));
+        payment.setTppNotificationUri("ftp://tpp.example.com/notifications");
+
+        // When
+        tppNotificationService.notifyPaymentStatusChanged(payment, TransactionStatus.RCVD);
+
+        // Then
+        verifyNoInteractions(tppNotificationRepository);
+    }
+
+    @Test
+    void notifyPaymentStatusChanged_httpNotificationUri_noNotification() {
+        // Given
+        PisCommonPaymentData payment = buildPayment(TransactionStatus.ACTC, List.of(NotificationSupportedMode.PROCESS));
+        payment.setTppNotificationUri("http://tpp.example.com/notifications");
+
+        // When
+        tppNotificationService.notifyPaymentStatusChanged(payment, TransactionStatus.RCVD);
+
+        // Then
+        verifyNoInteractions(tppNotificationRepository);
+    }
+
+    @Test
+    void notifyPaymentStatusChanged_disabled_noNotification() {
+        // Given
+        ReflectionTestUtils.setField(tppNotificationService, "enabled", false);
+        PisCommonPaymentData payment = buildPayment(TransactionStatus.ACTC, List.of(NotificationSupportedMode.PROCESS));
+
+        // When
+        tppNotificationService.notifyPaymentStatusChanged(payment, TransactionStatus.RCVD);
+
+        // Then
+        verifyNoInteractions(tppNotificationRepository);
+    }
+
+    @Test
+    void notifyConsentStatusChanged_processRequested_processNotificationStored() {
+        // Given
+        ConsentEntity consent = buildConsent(ConsentStatus.VALID, List.of(NotificationSupportedMode.PROCESS));
+
+        // When
+        tppNotificationService.notifyConsentStatusChanged(consent, ConsentStatus.RECEIVED);
+
+        // Then
+        verify(tppNotificationRepository).save(notificationCaptor.capture());
+        TppNotificationEntity notification = notificationCaptor.getValue();
+        assertEquals(TppNotificationResourceType.CONSENT, notification.getResourceType());
+        assertEquals(CONSENT_ID, notification.getResourceId());
+        assertEquals(NotificationSupportedMode.PROCESS, notification.getNotificationMode());
+        assertEquals("valid", notification.getStatus());
+    }
+
+    @Test
+    void notifyConsentStatusChanged_noModesRequested_noNotification() {
+        // Given
+        ConsentEntity consent = buildConsent(ConsentStatus.REVOKED_BY_PSU, Collections.emptyList());
+
+        // When
+        tppNotificationService.notifyConsentStatusChanged(consent, ConsentStatus.VALID);
+
+        // Then
+        verifyNoInteractions(tppNotificationRepository);
+    }
+
+    @Test
+    void notifyScaStatusChanged_paymentAuthorisation_scaNotificationStored() {
+        // Given
+        AuthorisationEntity authorisation = buildAuthorisation(AuthorisationType.PIS_CREATION, PAYMENT_ID);
+        when(pisCommonPaymentDataRepository.findByPaymentId(PAYMENT_ID))
+            .thenReturn(Optional.of(buildPayment(TransactionStatus.RCVD, List.of(NotificationSupportedMode.SCA))));
+
+        // When
+        tppNotificationService.notifyScaStatusChanged(authorisation, ScaStatus.RECEIVED);
+
+        // Then
+        verify(tppNotificationRepository).save(notificationCaptor.capture());
+        TppNotificationEntity notification = notificationCaptor.getValue();
+        assertEquals(TppNotificationResourceType.PAYMENT, notification.getResourceType());
+        assertEquals(PAYMENT_ID, notification.getResourceId());
+        assertEquals(AUTHORISATION_ID, notification.getAuthorisationId());
+        assertEquals(NotificationSupportedMode.SCA, notification.getNotificationMode());
+        assertEquals("finalised", notification.getStatus());
+        verifyNoInteractions(consentJpaRepository);
+    }
+
+    @Test
+    void notifyScaStatusChanged_consentAuthorisation_scaNotificationStored() {
+        // Given
+        AuthorisationEntity authorisation = buildAuthorisation(AuthorisationType.CONSENT, CONSENT_ID);
+        when(consentJpaRepository.findByExternalId(CONSENT_ID))
+            .thenReturn(Optional.of(buildConsent(ConsentStatus.VALID, List.of(NotificationSupportedMode.SCA))));
+
+        // When
+        tppNotificationService.notifyScaStatusChanged(authorisation, ScaStatus.RECEIVED);
+
+        // Then
+        verify(tppNotificationRepository).save(notificationCaptor.capture());
+        assertEquals(TppNotificationResourceType.CONSENT, notificationCaptor.getValue().getResourceType());
+        assertEquals(CONSENT_ID, notificationCaptor.getValue().getResourceId());
+        verifyNoInteractions(pisCommonPaymentDataRepository);
+    }
+
+    @Test
+    void notifyScaStatusChanged_scaNotRequested_noNotification() {
+        // Given
+        AuthorisationEntity authorisation = buildAuthorisation(AuthorisationType.PIS_CREATION, PAYMENT_ID);
+        when(pisCommonPaymentDataRepository.findByPaymentId(PAYMENT_ID))
+            .thenReturn(Optional.of(buildPayment(TransactionStatus.RCVD, List.of(NotificationSupportedMode.PROCESS))));
+
+        // When
+        tppNotificationService.notifyScaStatusChanged(authorisation, ScaStatus.RECEIVED);
+
+        // Then
+        verify(tppNotificationRepository, never()).save(any());
+    }
+
+    @Test
+    void notifyScaStatusChanged_statusNotChanged_noParentLookup() {
+        // Given
+        AuthorisationEntity authorisation = buildAuthorisation(AuthorisationType.PIS_CREATION, PAYMENT_ID);
+
+        // When
+        tppNotificationService.notifyScaStatusChanged(authorisation, ScaStatus.FINALISED);
+
+        // Then
+        verifyNoInteractions(pisCommonPaymentDataRepository, consentJpaRepository, tppNotificationRepository);
+    }
+
+    private PisCommonPaymentData buildPayment(TransactionStatus status, List<NotificationSupportedMode> modes) {
+        PisCommonPaymentData payment = new PisCommonPaymentData();
+        payment.setPaymentId(PAYMENT_ID);
+        payment.setTransactionStatus(status);
+        payment.setTppNotificationUri(NOTIFICATION_URI);
+        payment.setTppNotificationContentPreferred(modes);
+        payment.setInstanceId(INSTANCE_ID);
+        return payment;
+    }
+
+    private ConsentEntity buildConsent(ConsentStatus status, List<NotificationSupportedMode> modes) {
+        ConsentTppInformationEntity tppInformation = new ConsentTppInformationEntity();
+        tppInformation.setTppNotificationUri(NOTIFICATION_URI);
+        tppInformation.setTppNotificationContentPreferred(modes);
+
+        ConsentEntity consent = new ConsentEntity();
+        consent.setExternalId(CONSENT_ID);
+        consent.setConsentStatus(status);
+        consent.setTppInformation(tppInformation);
+        consent.setInstanceId(INSTANCE_ID);
+        return consent;
+    }
+
+    private AuthorisationEntity buildAuthorisation(AuthorisationType type, String parentId) {
+        AuthorisationEntity authorisation = new AuthorisationEntity();
+        authorisation.setExternalId(AUTHORISATION_ID);
+        authorisation.setType(type);
+        authorisation.setParentExternalId(parentId);
+        authorisation.setScaStatus(ScaStatus.FINALISED);
+        return authorisation;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service.notification;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TppNotificationUriValidatorTest {
+    private final TppNotificationUriValidator tppNotificationUriValidator = new TppNotificationUriValidator("");
+
+    @Test
+    void getTppHost_httpsUri() {
+        // When
+        Optional<String> actual = tppNotificationUriValidator.getTppHost("https://tpp.example.com:8443/notifications");
+
+        // Then
+        assertEquals(Optional.of("tpp.example.com:8443"), actual);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"http://tpp.example.com/notifications", "ftp://tpp.example.com/notifications", "https:///notifications", "not a uri", ""})
+    void getTppHost_notHttpsUri_empty(String notificationUri) {
+        // When
+        Optional<String> actual = tppNotificationUriValidator.getTppHost(notificationUri);
+
+        // Then
+        assertTrue(actual.isEmpty());
+    }
+
+    @Test
+    void isAllowed_httpUri_rejected() {
+        // When
+        boolean actual = tppNotificationUriValidator.isAllowed("http://93.184.216.34/notifications");
+
+        // Then
+        assertFalse(actual);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "https://127.0.0.1/",
+        "https://localhost/notifications",
+        "https://10.0.0.1/notifications",
+        "https://192.168.1.1/notifications",
+        "https://172.16.0.1/notifications",
+        "https://169.254.169.254/latest/meta-data",
+        "https://0.0.0.0/notifications",
+        "https://[::1]/notifications",
+        "https://[fd00::1]/notifications",
+        "https://[fe80::1]/notifications"
+    })
+    void isAllowed_internalAddress_rejected(String notificationUri) {
+        // When
+        boolean actual = tppNotificationUriValidator.isAllowed(notificationUri);
+
+        // Then
+        assertFalse(actual);
+    }
+
+    @Test
+    void isAllowed_publicAddress_allowed() {
+        // When
+        boolean actual = tppNotificationUriValidator.isAllowed("https://93.184.216.34/notifications");
+
+        // Then
+        assertTrue(actual);
+    }
+
+    @Test
+    void isAllowed_allowedHostsConfigured_onlyAllowedHostsAccepted() {
+        // Given
+        TppNotificationUriValidator validator = new TppNotificationUriValidator("tpp.example.com, 127.0.0.1");
+
+        // Then
+        assertTrue(validator.isAllowed("https://TPP.example.com:8443/notifications"));
+        assertTrue(validator.isAllowed("https://127.0.0.1/notifications"));
+        assertFalse(validator.isAllowed("https://another-tpp.example.com/notifications"));
+        assertFalse(validator.isAllowed("http://tpp.example.com/notifications"));
+    }
+
+    @Test
+    void resolve_internalAddress_rejected() {
+        assertThrows(UnknownHostException.class, () -> tppNotificationUriValidator.resolve("127.0.0.1"));
+    }
+
+    @Test
+    void resolve_publicAddress_resolved() throws UnknownHostException {
+        // When
+        InetAddress[] actual = tppNotificationUriValidator.resolve("93.184.216.34");
+
+        // Then
+        assertArrayEquals(new InetAddress[]{InetAddress.getByName("93.184.216.34")}, actual);
+    }
+
+    @Test
+    void resolve_allowedHostsConfigured_internalAddressResolved() throws UnknownHostException {
+        // Given
+        TppNotificationUriValidator validator = new TppNotificationUriValidator("127.0.0.1");
+
+        // When
+        InetAddress[] actual = validator.resolve("127.0.0.1");
+
+        // Then
+        assertArrayEquals(new InetAddress[]{InetAddress.getLoopbackAddress()}, actual);
+    }
+}
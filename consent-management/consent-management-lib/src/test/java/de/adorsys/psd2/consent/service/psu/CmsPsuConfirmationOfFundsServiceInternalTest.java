@@ -19,6 +19,7 @@ package de.adorsys.psd2.consent.service.psu;
 import de.adorsys.psd2.consent.api.piis.v2.CmsConfirmationOfFundsConsent;
 import de.adorsys.psd2.consent.api.piis.v2.CmsConfirmationOfFundsResponse;
 import de.adorsys.psd2.consent.domain.AuthorisationEntity;
+import de.adorsys.psd2.consent.domain.blob.BlobCodec;
 import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
 import de.adorsys.psd2.consent.psu.api.CmsPsuConfirmationOfFundsAuthorisation;
 import de.adorsys.psd2.consent.repository.ConsentJpaRepository;
@@ -34,6 +35,7 @@ import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
 import de.adorsys.psd2.xs2a.core.sca.AuthenticationDataHolder;
 import de.adorsys.psd2.xs2a.core.sca.ScaStatus;
 import de.adorsys.xs2a.reader.JsonReader;
+import de.adorsys.psd2.consent.service.notification.TppNotificationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -63,6 +65,8 @@ class CmsPsuConfirmationOfFundsServiceInternalTest {
 
     @InjectMocks
     private CmsPsuConfirmationOfFundsServiceInternal cmsPsuConfirmationOfFundsServiceInternal;
+    @Mock
+    private TppNotificationService tppNotificationService;
 
     @Mock
     private CmsConsentAuthorisationServiceInternal consentAuthorisationService;
@@ -94,10 +98,11 @@ class CmsPsuConfirmationOfFundsServiceInternalTest {
 
         confirmationOfFundsMapper = new CmsConfirmationOfFundsMapper(new PsuDataMapper(), new TppInfoMapperImpl(),
                                                                      new AuthorisationTemplateMapperImpl(),
-                                                                     new ConsentDataMapper());
+                                                                     new ConsentDataMapper(), new BlobCodec());
         cmsPsuConfirmationOfFundsServiceInternal = new CmsPsuConfirmationOfFundsServiceInternal(consentJpaRepository, consentAuthorisationService,
                                                                                                 confirmationOfFundsConsentSpecification, confirmationOfFundsMapper,
-                                                                                                cmsPsuConsentServiceInternal, cmsPsuAuthorisationMapper);
+                                                                                                cmsPsuConsentServiceInternal, cmsPsuAuthorisationMapper,
+                                                                                                tppNotificationService);
     }
 
     @Test
@@ -24,6 +24,7 @@ import de.adorsys.psd2.consent.repository.specification.PiisConsentEntitySpecifi
 import de.adorsys.psd2.consent.service.mapper.PiisConsentMapper;
 import de.adorsys.psd2.consent.service.mapper.PsuDataMapper;
 import de.adorsys.psd2.consent.service.migration.PiisConsentLazyMigrationService;
+import de.adorsys.psd2.consent.service.notification.TppNotificationService;
 import de.adorsys.psd2.consent.service.psu.util.PageRequestBuilder;
 import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
 import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
@@ -76,6 +77,8 @@ class CmsPsuPiisServiceInternalTest {
     @Mock
     private PageRequestBuilder pageRequestBuilder;
     @Mock
+    private TppNotificationService tppNotificationService;
+    @Mock
     private Specification specification;
 
     private JsonReader jsonReader = new JsonReader();
@@ -248,6 +251,8 @@ class CmsPsuPiisServiceInternalTest {
 
         assertTrue(revokeConsent);
         verify(piisConsentEntitySpecification).byConsentIdAndInstanceId(EXTERNAL_CONSENT_ID, DEFAULT_SERVICE_INSTANCE_ID);
+        assertEquals(ConsentStatus.REVOKED_BY_PSU, consentEntity.getConsentStatus());
+        verify(tppNotificationService).notifyConsentStatusChanged(consentEntity, ConsentStatus.VALID);
     }
 
     @Test
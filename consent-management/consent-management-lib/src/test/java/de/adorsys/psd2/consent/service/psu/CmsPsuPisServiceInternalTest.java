@@ -48,6 +48,7 @@ import de.adorsys.psd2.xs2a.core.profile.PaymentType;
 import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
 import de.adorsys.psd2.xs2a.core.sca.AuthenticationDataHolder;
 import de.adorsys.psd2.xs2a.core.sca.ScaStatus;
+import de.adorsys.psd2.consent.service.notification.TppNotificationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -85,6 +86,8 @@ class CmsPsuPisServiceInternalTest {
 
     @InjectMocks
     private CmsPsuPisServiceInternal cmsPsuPisServiceInternal;
+    @Mock
+    private TppNotificationService tppNotificationService;
 
     @Mock
     private PisPaymentDataRepository pisPaymentDataRepository;
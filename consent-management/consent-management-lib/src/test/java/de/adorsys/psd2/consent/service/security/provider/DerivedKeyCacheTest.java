@@ -0,0 +1,159 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.service.security.provider;
+
+import de.adorsys.psd2.consent.service.security.DecryptedData;
+import de.adorsys.psd2.consent.service.security.EncryptedData;
+import de.adorsys.psd2.consent.service.security.provider.aes.AesEcbCryptoProviderImpl;
+import org.junit.jupiter.api.Test;
+
+import java.security.GeneralSecurityException;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DerivedKeyCacheTest {
+    private static final String CRYPTO_PROVIDER_ID = "bS6p6XvTWI";
+    private static final String PASSWORD = "mvLBiZsiTbGwrfJB";
+    private static final String ANOTHER_PASSWORD = "another password";
+    private static final byte[] KEY = "derived key bytes".getBytes();
+    private static final byte[] DATA = "some data".getBytes();
+
+    @Test
+    void get_emptyCache_miss() {
+        // Given
+        DerivedKeyCache derivedKeyCache = new DerivedKeyCache(10, 0, false);
+
+        // When
+        byte[] actual = derivedKeyCache.get(CRYPTO_PROVIDER_ID, PASSWORD);
+
+        // Then
+        assertNull(actual);
+        assertEquals(1, derivedKeyCache.getMissCount());
+        assertEquals(0, derivedKeyCache.getHitCount());
+    }
+
+    @Test
+    void get_storedKey_hit() {
+        // Given
+        DerivedKeyCache derivedKeyCache = new DerivedKeyCache(10, 0, true);
+        derivedKeyCache.put(CRYPTO_PROVIDER_ID, PASSWORD, KEY);
+
+        // When
+        byte[] actual = derivedKeyCache.get(CRYPTO_PROVIDER_ID, PASSWORD);
+
+        // Then
+        assertArrayEquals(KEY, actual);
+        assertEquals(1, derivedKeyCache.getHitCount());
+        assertNull(derivedKeyCache.get("another provider", PASSWORD));
+        assertNull(derivedKeyCache.get(CRYPTO_PROVIDER_ID, ANOTHER_PASSWORD));
+    }
+
+    @Test
+    void put_maxSizeExceeded_oldestEntryEvicted() {
+        // Given
+        DerivedKeyCache derivedKeyCache = new DerivedKeyCache(1, 0, false);
+        derivedKeyCache.putPinned(CRYPTO_PROVIDER_ID, "pinned", KEY);
+        derivedKeyCache.put(CRYPTO_PROVIDER_ID, PASSWORD, KEY);
+
+        // When
+        derivedKeyCache.put(CRYPTO_PROVIDER_ID, ANOTHER_PASSWORD, KEY);
+
+        // Then
+        assertEquals(2, derivedKeyCache.size());
+        assertEquals(1, derivedKeyCache.getEvictionCount());
+        assertNull(derivedKeyCache.get(CRYPTO_PROVIDER_ID, PASSWORD));
+        assertNotNull(derivedKeyCache.get(CRYPTO_PROVIDER_ID, ANOTHER_PASSWORD));
+        assertNotNull(derivedKeyCache.get(CRYPTO_PROVIDER_ID, "pinned"));
+    }
+
+    @Test
+    void put_maxSizeExceeded_leastRecentlyUsedEntryEvicted() {
+        // Given
+        DerivedKeyCache derivedKeyCache = new DerivedKeyCache(2, 0, false);
+        derivedKeyCache.put(CRYPTO_PROVIDER_ID, PASSWORD, KEY);
+        derivedKeyCache.put(CRYPTO_PROVIDER_ID, ANOTHER_PASSWORD, KEY);
+        derivedKeyCache.get(CRYPTO_PROVIDER_ID, PASSWORD);
+
+        // When
+        derivedKeyCache.put(CRYPTO_PROVIDER_ID, "third password", KEY);
+
+        // Then
+        assertEquals(2, derivedKeyCache.size());
+        assertNotNull(derivedKeyCache.get(CRYPTO_PROVIDER_ID, PASSWORD));
+        assertNull(derivedKeyCache.get(CRYPTO_PROVIDER_ID, ANOTHER_PASSWORD));
+    }
+
+    @Test
+    void put_concurrentPuts_maxSizeNotExceeded() throws InterruptedException {
+        // Given
+        int maxSize = 10;
+        DerivedKeyCache derivedKeyCache = new DerivedKeyCache(maxSize, 0, false);
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+
+        // When
+        for (int i = 0; i < 1000; i++) {
+            String password = "password " + i;
+            executorService.execute(() -> derivedKeyCache.put(CRYPTO_PROVIDER_ID, password, KEY));
+        }
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Then
+        assertEquals(maxSize, derivedKeyCache.size());
+        assertEquals(1000 - maxSize, derivedKeyCache.getEvictionCount());
+    }
+
+    @Test
+    void get_expiredEntry_miss() throws InterruptedException {
+        // Given
+        DerivedKeyCache derivedKeyCache = new DerivedKeyCache(10, 1, false);
+        derivedKeyCache.put(CRYPTO_PROVIDER_ID, PASSWORD, KEY);
+        derivedKeyCache.putPinned(CRYPTO_PROVIDER_ID, ANOTHER_PASSWORD, KEY);
+        Thread.sleep(5);
+
+        // When
+        byte[] actual = derivedKeyCache.get(CRYPTO_PROVIDER_ID, PASSWORD);
+
+        // Then
+        assertNull(actual);
+        assertEquals(1, derivedKeyCache.getEvictionCount());
+        assertArrayEquals(KEY, derivedKeyCache.get(CRYPTO_PROVIDER_ID, ANOTHER_PASSWORD));
+    }
+
+    @Test
+    void cryptoProvider_precomputedKey_usedForEncryptionAndDecryption() throws GeneralSecurityException {
+        // Given
+        DerivedKeyCache derivedKeyCache = new DerivedKeyCache(10, 0, false);
+        AesEcbCryptoProviderImpl cryptoProvider = new AesEcbCryptoProviderImpl(CRYPTO_PROVIDER_ID, "AES/ECB/PKCS5Padding", 256, 65536, "PBKDF2WithHmacSHA256");
+        cryptoProvider.setDerivedKeyCache(derivedKeyCache);
+        cryptoProvider.precomputeSecretKey(PASSWORD);
+
+        // When
+        Optional<EncryptedData> encryptedData = cryptoProvider.encryptData(DATA, PASSWORD);
+        Optional<DecryptedData> decryptedData = encryptedData.flatMap(ed -> cryptoProvider.decryptData(ed.getData(), PASSWORD));
+
+        // Then
+        assertTrue(decryptedData.isPresent());
+        assertArrayEquals(DATA, decryptedData.get().getData());
+        assertEquals(2, derivedKeyCache.getHitCount());
+        assertEquals(0, derivedKeyCache.getMissCount());
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.service.sha;
+
+import de.adorsys.psd2.core.data.ais.AisConsent;
+import de.adorsys.xs2a.reader.JsonReader;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AisChecksumCalculatingServiceV5Test {
+    private final AisChecksumCalculatingServiceV5 aisChecksumCalculatingServiceV5 = new AisChecksumCalculatingServiceV5();
+    private final AisChecksumCalculatingServiceV4 aisChecksumCalculatingServiceV4 = new AisChecksumCalculatingServiceV4();
+
+    private final JsonReader jsonReader = new JsonReader();
+
+    @Test
+    void calculateChecksumForConsent_formatWithAspspAccesses() {
+        // Given
+        AisConsent aisConsent = buildConsentTppIbanMultiple();
+
+        // When
+        String actualResult = new String(aisChecksumCalculatingServiceV5.calculateChecksumForConsent(aisConsent), StandardCharsets.UTF_8);
+
+        // Then
+        String[] elements = actualResult.split(ChecksumConstant.DELIMITER);
+        assertEquals(3, elements.length);
+        assertEquals("005", elements[0]);
+        assertTrue(elements[2].startsWith("iban:"));
+    }
+
+    @Test
+    void verifyConsentWithChecksum_calculatedChecksum() {
+        // Given
+        AisConsent aisConsent = buildConsentTppIbanMultipleMixed();
+        byte[] checksum = aisChecksumCalculatingServiceV5.calculateChecksumForConsent(aisConsent);
+
+        // When
+        boolean actualResult = aisChecksumCalculatingServiceV5.verifyConsentWithChecksum(aisConsent, checksum);
+
+        // Then
+        assertTrue(actualResult);
+    }
+
+    @Test
+    void verifyConsentWithChecksum_reorderedAspspAccesses() {
+        // Given
+        byte[] checksum = aisChecksumCalculatingServiceV5.calculateChecksumForConsent(buildConsentTppIbanMultiple());
+
+        // When
+        boolean actualResult = aisChecksumCalculatingServiceV5.verifyConsentWithChecksum(buildConsentTppIbanMultipleMixed(), checksum);
+
+        // Then
+        assertTrue(actualResult);
+    }
+
+    @Test
+    void verifyConsentWithChecksum_changedFrequencyPerDay() {
+        // Given
+        AisConsent aisConsent = buildConsentTppIbanMultiple();
+        byte[] checksum = aisChecksumCalculatingServiceV5.calculateChecksumForConsent(aisConsent);
+        aisConsent.setFrequencyPerDay(aisConsent.getFrequencyPerDay() + 1);
+
+        // When
+        boolean actualResult = aisChecksumCalculatingServiceV5.verifyConsentWithChecksum(aisConsent, checksum);
+
+        // Then
+        assertFalse(actualResult);
+    }
+
+    @Test
+    void verifyConsentWithChecksum_changedAspspAccess() {
+        // Given
+        AisConsent aisConsent = buildConsentTppIbanMultiple();
+        byte[] checksum = aisChecksumCalculatingServiceV5.calculateChecksumForConsent(aisConsent);
+        aisConsent.getAspspAccountAccesses().getAccounts().get(0).setResourceId("changed resource ID");
+
+        // When
+        boolean actualResult = aisChecksumCalculatingServiceV5.verifyConsentWithChecksum(aisConsent, checksum);
+
+        // Then
+        assertFalse(actualResult);
+    }
+
+    @Test
+    void verifyConsentWithChecksum_malformedAspspAccessPart() {
+        // Given
+        AisConsent aisConsent = buildConsentTppIbanMultiple();
+        String checksum = new String(aisChecksumCalculatingServiceV5.calculateChecksumForConsent(aisConsent), StandardCharsets.UTF_8);
+        String[] elements = checksum.split(ChecksumConstant.DELIMITER);
+        byte[] malformedChecksum = String.join(ChecksumConstant.DELIMITER, elements[0], elements[1], "unknown:hash")
+                                       .getBytes(StandardCharsets.UTF_8);
+
+        // When
+        boolean actualResult = aisChecksumCalculatingServiceV5.verifyConsentWithChecksum(aisConsent, malformedChecksum);
+
+        // Then
+        assertFalse(actualResult);
+    }
+
+    @Test
+    void verifyConsentWithChecksum_previousVersionChecksum() {
+        // Given
+        AisConsent aisConsent = buildConsentTppIbanMultiple();
+        byte[] checksum = aisChecksumCalculatingServiceV4.calculateChecksumForConsent(aisConsent);
+
+        // When
+        boolean actualResult = aisChecksumCalculatingServiceV5.verifyConsentWithChecksum(aisConsent, checksum);
+
+        // Then
+        assertFalse(actualResult);
+    }
+
+    private AisConsent buildConsentTppIbanMultiple() {
+        return jsonReader.getObjectFromFile("json/dedicated-ais-consent-multiple-accounts.json", AisConsent.class);
+    }
+
+    private AisConsent buildConsentTppIbanMultipleMixed() {
+        return jsonReader.getObjectFromFile("json/dedicated-ais-consent-multiple-accounts-mixed.json", AisConsent.class);
+    }
+}
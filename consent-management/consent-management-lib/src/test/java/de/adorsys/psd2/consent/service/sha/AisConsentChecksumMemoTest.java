@@ -0,0 +1,114 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.service.sha;
+
+import de.adorsys.psd2.consent.api.TypeAccess;
+import de.adorsys.psd2.consent.domain.account.AspspAccountAccess;
+import de.adorsys.psd2.consent.domain.consent.ConsentEntity;
+import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
+import de.adorsys.psd2.xs2a.core.profile.AccountReferenceType;
+import de.adorsys.xs2a.reader.JsonReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AisConsentChecksumMemoTest {
+    private static final byte[] CHECKSUM = "checksum in consent".getBytes();
+    private static final String IBAN = "DE15500105172295759744";
+    private static final Currency EUR = Currency.getInstance("EUR");
+
+    private final AisConsentChecksumMemo checksumMemo = new AisConsentChecksumMemo();
+    private final JsonReader jsonReader = new JsonReader();
+
+    private ConsentEntity consentEntity;
+
+    @BeforeEach
+    void setUp() {
+        consentEntity = jsonReader.getObjectFromFile("json/consent-entity.json", ConsentEntity.class);
+        consentEntity.setChecksum(CHECKSUM);
+        List<AspspAccountAccess> aspspAccountAccesses = new ArrayList<>();
+        aspspAccountAccesses.add(new AspspAccountAccess(IBAN, TypeAccess.ACCOUNT, AccountReferenceType.IBAN, EUR, "resource id", "aspsp account id"));
+        consentEntity.setAspspAccountAccesses(aspspAccountAccesses);
+    }
+
+    @Test
+    void isVerified_notMarked() {
+        // When
+        boolean actual = checksumMemo.isVerified(consentEntity);
+
+        // Then
+        assertFalse(actual);
+    }
+
+    @Test
+    void isVerified_marked() {
+        // Given
+        checksumMemo.markVerified(consentEntity);
+
+        // When
+        boolean actual = checksumMemo.isVerified(consentEntity);
+
+        // Then
+        assertTrue(actual);
+    }
+
+    @Test
+    void isVerified_checksumChanged() {
+        // Given
+        checksumMemo.markVerified(consentEntity);
+        consentEntity.setChecksum("another checksum".getBytes());
+
+        // When
+        boolean actual = checksumMemo.isVerified(consentEntity);
+
+        // Then
+        assertFalse(actual);
+    }
+
+    @Test
+    void isVerified_aspspAccessChanged() {
+        // Given
+        checksumMemo.markVerified(consentEntity);
+        consentEntity.getAspspAccountAccesses().get(0).setResourceId("another resource id");
+
+        // When
+        boolean actual = checksumMemo.isVerified(consentEntity);
+
+        // Then
+        assertFalse(actual);
+    }
+
+    @Test
+    void isVerified_statusChanged_stillVerified() {
+        // Given
+        checksumMemo.markVerified(consentEntity);
+        consentEntity.setConsentStatus(ConsentStatus.VALID);
+
+        // When
+        boolean actual = checksumMemo.isVerified(consentEntity);
+
+        // Then
+        assertTrue(actual);
+    }
+}
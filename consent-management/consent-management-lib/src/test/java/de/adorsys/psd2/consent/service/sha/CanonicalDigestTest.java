@@ -0,0 +1,89 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.consent.service.sha;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Currency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CanonicalDigestTest {
+    private static final LocalDate DATE = LocalDate.of(2020, 1, 1);
+    private static final Currency EUR = Currency.getInstance("EUR");
+
+    @Test
+    void digest_sameValues_sameHash() {
+        // When
+        byte[] first = CanonicalDigest.start().putString("value").putDate(DATE).putCurrency(EUR).putInt(1).digest();
+        byte[] second = CanonicalDigest.start().putString("value").putDate(DATE).putCurrency(EUR).putInt(1).digest();
+
+        // Then
+        assertEquals(64, first.length);
+        assertArrayEquals(first, second);
+    }
+
+    @Test
+    void digest_concatenatedStrings_differentHash() {
+        // When
+        byte[] first = CanonicalDigest.start().putString("ab").putString("c").digest();
+        byte[] second = CanonicalDigest.start().putString("a").putString("bc").digest();
+
+        // Then
+        assertFalse(Arrays.equals(first, second));
+    }
+
+    @Test
+    void digest_nullAndEmptyValues_differentHash() {
+        // When
+        byte[] nullString = CanonicalDigest.start().putString(null).digest();
+        byte[] emptyString = CanonicalDigest.start().putString("").digest();
+        byte[] absentCollection = CanonicalDigest.start().putSize(-1).digest();
+        byte[] emptyCollection = CanonicalDigest.start().putSize(0).digest();
+
+        // Then
+        assertFalse(Arrays.equals(nullString, emptyString));
+        assertFalse(Arrays.equals(absentCollection, emptyCollection));
+    }
+
+    @Test
+    void digest_sameValueOfDifferentType_differentHash() {
+        // When
+        byte[] intValue = CanonicalDigest.start().putInt(1).digest();
+        byte[] longValue = CanonicalDigest.start().putLong(1).digest();
+        byte[] sizeValue = CanonicalDigest.start().putSize(1).digest();
+
+        // Then
+        assertFalse(Arrays.equals(intValue, longValue));
+        assertFalse(Arrays.equals(intValue, sizeValue));
+    }
+
+    @Test
+    void start_unfinishedDigest_reset() {
+        // Given
+        CanonicalDigest.start().putString("unfinished");
+
+        // When
+        byte[] actual = CanonicalDigest.start().putBoolean(true).digest();
+
+        // Then
+        assertArrayEquals(CanonicalDigest.start().putBoolean(true).digest(), actual);
+    }
+}
@@ -30,7 +30,7 @@ import static org.junit.jupiter.api.Assertions.*;
 
 @ExtendWith(SpringExtension.class)
 @ContextConfiguration(classes = {ChecksumCalculatingFactory.class, AisChecksumCalculatingServiceV3.class,
-    AisChecksumCalculatingServiceV4.class, NoProcessingChecksumService.class})
+    AisChecksumCalculatingServiceV4.class, AisChecksumCalculatingServiceV5.class, NoProcessingChecksumService.class})
 class ChecksumCalculatingFactoryTest {
     private static final byte[] WRONG_CHECKSUM = "wrong checksum in consent".getBytes();
     private static final ConsentType AIS_TYPE = ConsentType.AIS;
@@ -43,6 +43,8 @@ class ChecksumCalculatingFactoryTest {
     @Autowired
     private AisChecksumCalculatingServiceV4 aisV4;
     @Autowired
+    private AisChecksumCalculatingServiceV5 aisV5;
+    @Autowired
     private NoProcessingChecksumService noProcessingChecksumService;
 
     @Test
@@ -66,10 +68,20 @@ class ChecksumCalculatingFactoryTest {
     }
 
     @Test
-    void getServiceByChecksum_ais_nextVersion_success() {
+    void getServiceByChecksum_ais_v5_success() {
         // When
         Optional<ChecksumCalculatingService> actualResult = factory.getServiceByChecksum(getCorrectChecksum("005"), AIS_TYPE);
 
+        // Then
+        assertTrue(actualResult.isPresent());
+        assertEquals(aisV5, actualResult.get());
+    }
+
+    @Test
+    void getServiceByChecksum_ais_nextVersion_success() {
+        // When
+        Optional<ChecksumCalculatingService> actualResult = factory.getServiceByChecksum(getCorrectChecksum("006"), AIS_TYPE);
+
         // Then
         assertFalse(actualResult.isPresent());
     }
@@ -128,7 +140,7 @@ class ChecksumCalculatingFactoryTest {
 
         // Then
         assertTrue(actualResult.isPresent());
-        assertEquals(aisV4.getVersion(), actualResult.get().getVersion());
+        assertEquals(aisV5.getVersion(), actualResult.get().getVersion());
     }
 
     private static byte[] getCorrectChecksum(String version) {
@@ -31,6 +31,20 @@ public interface AisConsentApi {
     @ApiOperation(value = "Save information about uses of consent")
     ResponseEntity<Object> saveConsentActionLog(@RequestBody AisConsentActionRequest request);
 
+    @PostMapping(path = "/usage/reserve")
+    @ApiOperation(value = "Reserve usage of consent before reading data from ASPSP")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "OK, body contains the reservation with the date of the usage, not reserved if frequency per day of the consent is exceeded"),
+        @ApiResponse(code = 400, message = "Bad request")})
+    ResponseEntity<Object> reserveConsentUsage(@RequestBody AisConsentActionRequest request);
+
+    @PostMapping(path = "/usage/release")
+    @ApiOperation(value = "Release usage of consent, if data couldn't be read from ASPSP")
+    @ApiResponses(value = {
+        @ApiResponse(code = 200, message = "OK"),
+        @ApiResponse(code = 400, message = "Bad request")})
+    ResponseEntity<Object> releaseConsentUsage(@RequestBody AisConsentActionRequest request);
+
     @PutMapping(path = "/{encrypted-consent-id}/access")
     @ApiOperation(value = "Update AccountAccess in the consent identified by given consent id.")
     @ApiResponses(value = {
@@ -18,6 +18,8 @@ package de.adorsys.psd2.consent.api;
 
 import de.adorsys.psd2.consent.api.config.InternalCmsXs2aApiTagName;
 import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentResponse;
+import de.adorsys.psd2.consent.api.pis.InitiatePisCommonPaymentRequest;
+import de.adorsys.psd2.consent.api.pis.InitiatePisCommonPaymentResponse;
 import de.adorsys.psd2.consent.api.pis.PisCommonPaymentDataStatusResponse;
 import de.adorsys.psd2.consent.api.pis.PisCommonPaymentResponse;
 import de.adorsys.psd2.consent.api.pis.proto.PisPaymentInfo;
@@ -35,6 +37,13 @@ public interface PisCommonPaymentApi {
         @ApiResponse(code = 400, message = "Bad request")})
     ResponseEntity<CreatePisCommonPaymentResponse> createCommonPayment(@RequestBody PisPaymentInfo request);
 
+    @PostMapping(path = "/initiation")
+    @ApiOperation(value = "Creates common payment with its ASPSP consent data and implicit authorisation")
+    @ApiResponses(value = {
+        @ApiResponse(code = 201, message = "Created", response = InitiatePisCommonPaymentResponse.class),
+        @ApiResponse(code = 400, message = "Bad request")})
+    ResponseEntity<InitiatePisCommonPaymentResponse> initiateCommonPayment(@RequestBody InitiatePisCommonPaymentRequest request);
+
     @GetMapping(path = "/{payment-id}/status")
     @ApiOperation(value = "")
     @ApiResponses(value = {
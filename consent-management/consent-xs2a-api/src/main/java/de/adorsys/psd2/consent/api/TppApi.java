@@ -17,6 +17,7 @@
 package de.adorsys.psd2.consent.api;
 
 import de.adorsys.psd2.consent.api.config.InternalCmsXs2aApiTagName;
+import de.adorsys.psd2.consent.api.tpp.TppStopListChanges;
 import de.adorsys.psd2.xs2a.core.tpp.TppInfo;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
@@ -25,6 +26,9 @@ import io.swagger.annotations.ApiResponse;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Set;
+
 @RequestMapping(path = "api/v1/tpp")
 @Api(value = "api/v1/tpp", tags = InternalCmsXs2aApiTagName.TPP)
 public interface TppApi {
@@ -34,6 +38,11 @@ public interface TppApi {
     @ApiResponse(code = 200, message = "OK")
     ResponseEntity<Boolean> updateTppInfo(@RequestBody TppInfo tppInfo);
 
+    @PutMapping(path = "/batch")
+    @ApiOperation(value = "Updates list of TPP Info")
+    @ApiResponse(code = 200, message = "OK")
+    ResponseEntity<Set<String>> updateTppInfos(@RequestBody List<TppInfo> tppInfos);
+
     @GetMapping(path = "/stop-list")
     @ApiOperation(value = "Checks if TPP is blocked")
     @ApiResponse(code = 200, message = "OK")
@@ -42,4 +51,13 @@ public interface TppApi {
         @RequestHeader(value = "tpp-authorisation-number") String tppAuthorisationNumber,
         @ApiParam(value = "ID of the particular service instance")
         @RequestHeader(value = "instance-id", required = false, defaultValue = "") String instanceId);
+
+    @GetMapping(path = "/stop-list/changes")
+    @ApiOperation(value = "Gets changes of TPP stop list since given version")
+    @ApiResponse(code = 200, message = "OK")
+    ResponseEntity<TppStopListChanges> getStopListChanges(
+        @ApiParam(value = "ID of the particular service instance")
+        @RequestHeader(value = "instance-id", required = false, defaultValue = "") String instanceId,
+        @ApiParam(value = "Version of the stop list returned by the previous call, all blocked TPPs are returned if omitted")
+        @RequestHeader(value = "since-version", required = false) Long sinceVersion);
 }
@@ -18,9 +18,13 @@ package de.adorsys.psd2.consent.api.ais;
 
 import de.adorsys.psd2.consent.api.ActionStatus;
 import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Data;
 
+import java.time.LocalDate;
+
 @Data
+@Builder(toBuilder = true)
 @AllArgsConstructor
 public class AisConsentActionRequest {
     private String tppId;
@@ -33,4 +37,15 @@ public class AisConsentActionRequest {
     // ID and/or transaction ID in path parameters.
     private String resourceId;
     private String transactionId;
+
+    // Indicates that the usage has already been counted by reserving it before reading the data from ASPSP
+    private boolean usageReserved;
+
+    // Date of the reserved usage, that is released
+    private LocalDate usageDate;
+
+    public AisConsentActionRequest(String tppId, String consentId, ActionStatus actionStatus, String requestUri,
+                                   boolean updateUsage, String resourceId, String transactionId) {
+        this(tppId, consentId, actionStatus, requestUri, updateUsage, resourceId, transactionId, false, null);
+    }
 }
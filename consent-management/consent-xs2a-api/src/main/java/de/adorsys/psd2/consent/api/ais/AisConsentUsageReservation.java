@@ -0,0 +1,46 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.api.ais;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AisConsentUsageReservation {
+    private boolean reserved;
+
+    // Date, at which the usage was counted. It has to be passed back on release, so that the usage of the same day
+    // is released, even if the day has changed in the meantime.
+    private LocalDate usageDate;
+
+    // Indicates that the action with the consent has been logged together with the reservation, so that no action log
+    // has to be sent after the data was read from ASPSP
+    private boolean actionLogged;
+
+    public AisConsentUsageReservation(boolean reserved, LocalDate usageDate) {
+        this(reserved, usageDate, false);
+    }
+
+    public static AisConsentUsageReservation notReserved() {
+        return new AisConsentUsageReservation(false, null);
+    }
+}
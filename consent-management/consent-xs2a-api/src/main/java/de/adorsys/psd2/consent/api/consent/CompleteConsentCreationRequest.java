@@ -0,0 +1,40 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.api.consent;
+
+import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationRequest;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@ApiModel(description = "Complete consent creation request", value = "CompleteConsentCreationRequest")
+public class CompleteConsentCreationRequest {
+
+    @ApiModelProperty(value = "ASPSP consent data of the consent, nothing is stored if empty")
+    private byte[] aspspConsentData;
+
+    @ApiModelProperty(value = "Multilevel SCA required", example = "false")
+    private boolean multilevelScaRequired;
+
+    @ApiModelProperty(value = "Implicit authorisation of the consent, no authorisation is created if absent")
+    private CreateAuthorisationRequest authorisationRequest;
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.api.pis;
+
+import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationRequest;
+import de.adorsys.psd2.consent.api.pis.proto.PisPaymentInfo;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@ApiModel(description = "Initiate common payment request", value = "InitiatePisCommonPaymentRequest")
+public class InitiatePisCommonPaymentRequest {
+
+    @ApiModelProperty(value = "Payment to be created", required = true)
+    private PisPaymentInfo paymentInfo;
+
+    @ApiModelProperty(value = "ASPSP consent data of the payment, nothing is stored if empty")
+    private byte[] aspspConsentData;
+
+    @ApiModelProperty(value = "Implicit authorisation of the payment, no authorisation is created if absent")
+    private CreateAuthorisationRequest authorisationRequest;
+}
@@ -19,6 +19,7 @@ package de.adorsys.psd2.consent.api.service;
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.WrongChecksumException;
 import de.adorsys.psd2.consent.api.ais.AisConsentActionRequest;
+import de.adorsys.psd2.consent.api.ais.AisConsentUsageReservation;
 import de.adorsys.psd2.consent.api.ais.CmsConsent;
 import de.adorsys.psd2.core.data.AccountAccess;
 
@@ -33,6 +34,27 @@ public interface AisConsentServiceBase {
      */
     CmsResponse<CmsResponse.VoidResponse> checkConsentAndSaveActionLog(AisConsentActionRequest request) throws WrongChecksumException;
 
+    /**
+     * Reserves usage of the consent for the request URI at the current date before the data is read from ASPSP, so
+     * that concurrent requests can't exceed frequency per day of the consent. If the request contains an action status,
+     * the action is logged together with the reservation, unless the consent is one-off, so that no separate action log
+     * is needed after a successful read.
+     *
+     * @param request needed parameters for counting usage of AIS consent
+     * @return reservation with the date of the usage and the indicator whether the action has been logged, not reserved
+     * if frequency per day of the consent is exceeded
+     */
+    CmsResponse<AisConsentUsageReservation> reserveConsentUsage(AisConsentActionRequest request);
+
+    /**
+     * Releases usage of the consent, reserved by {@link #reserveConsentUsage(AisConsentActionRequest)}, if the data
+     * couldn't be read from ASPSP
+     *
+     * @param request needed parameters for counting usage of AIS consent with the usage date of the reservation
+     * @return VoidResponse
+     */
+    CmsResponse<CmsResponse.VoidResponse> releaseConsentUsage(AisConsentActionRequest request);
+
     /**
      * Updates AIS consent aspsp account access by id and return consent
      *
@@ -16,6 +16,11 @@
 
 package de.adorsys.psd2.consent.api.service;
 
+import de.adorsys.psd2.consent.api.CmsResponse;
+import de.adorsys.psd2.consent.api.WrongChecksumException;
+import de.adorsys.psd2.consent.api.consent.CompleteConsentCreationRequest;
+import de.adorsys.psd2.consent.api.consent.CompleteConsentCreationResponse;
+
 /**
  * ConsentService with enabled encryption and decryption
  *
@@ -23,4 +28,14 @@ package de.adorsys.psd2.consent.api.service;
  * @see ConsentService
  */
 public interface ConsentServiceEncrypted extends ConsentServiceBase {
+    /**
+     * Stores ASPSP consent data, multilevel SCA requirement and implicit authorisation of newly created consent
+     * within one transaction
+     *
+     * @param encryptedConsentId encrypted ID of the consent
+     * @param request            data to be stored for the consent
+     * @return Response containing created authorisation, if it was requested
+     * @throws WrongChecksumException in case of any attempt to change definite consent fields after its status became valid
+     */
+    CmsResponse<CompleteConsentCreationResponse> completeConsentCreation(String encryptedConsentId, CompleteConsentCreationRequest request) throws WrongChecksumException;
 }
@@ -17,6 +17,8 @@
 package de.adorsys.psd2.consent.api.service;
 
 import de.adorsys.psd2.consent.api.CmsResponse;
+import de.adorsys.psd2.consent.api.pis.InitiatePisCommonPaymentRequest;
+import de.adorsys.psd2.consent.api.pis.InitiatePisCommonPaymentResponse;
 
 /**
  * PisCommonPaymentService with enabled encryption and decryption
@@ -32,4 +34,12 @@ public interface PisCommonPaymentServiceEncrypted extends PisCommonPaymentServic
      * @return Response containing original decrypted Id
      */
     CmsResponse<String> getDecryptedId(String encryptedId);
+
+    /**
+     * Creates common payment together with its ASPSP consent data and implicit authorisation within one transaction
+     *
+     * @param request payment, ASPSP consent data and authorisation to be created
+     * @return Response containing created payment with encrypted ID and created authorisation, if it was requested
+     */
+    CmsResponse<InitiatePisCommonPaymentResponse> initiateCommonPayment(InitiatePisCommonPaymentRequest request);
 }
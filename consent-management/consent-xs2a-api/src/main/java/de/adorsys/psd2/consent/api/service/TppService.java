@@ -20,6 +20,9 @@ import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.xs2a.core.tpp.TppInfo;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.List;
+import java.util.Set;
+
 public interface TppService {
 
     /**
@@ -29,4 +32,12 @@ public interface TppService {
      * @return <code>true</code> if TPP was found and was updated. <code>false</code> otherwise.
      */
     CmsResponse<Boolean> updateTppInfo(@NotNull TppInfo tppInfo);
+
+    /**
+     * Updates several TPPs by their authorisation numbers at once
+     *
+     * @param tppInfos list of TPP Info
+     * @return authorisation numbers of TPPs, that were found and were updated
+     */
+    CmsResponse<Set<String>> updateTppInfos(@NotNull List<TppInfo> tppInfos);
 }
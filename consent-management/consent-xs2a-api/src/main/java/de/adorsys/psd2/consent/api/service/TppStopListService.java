@@ -17,6 +17,8 @@
 package de.adorsys.psd2.consent.api.service;
 
 import de.adorsys.psd2.consent.api.CmsResponse;
+import de.adorsys.psd2.consent.api.tpp.TppStopListChanges;
+import org.jetbrains.annotations.Nullable;
 
 public interface TppStopListService {
 
@@ -28,4 +30,15 @@ public interface TppStopListService {
      * @return <code>true</code> if TPP is found and has status BLOCKED, <code>false</code> if TPP is not found or its status is not BLOCKED
      */
     CmsResponse<Boolean> checkIfTppBlocked(String tppAuthorisationNumber, String instanceId);
+
+    /**
+     * Returns changes of the TPP stop list since given version.
+     * <p>
+     * Changes may overlap with the ones returned for previous versions, so they should be applied idempotently.
+     *
+     * @param instanceId   instance ID
+     * @param sinceVersion version returned by the previous call or <code>null</code> to get all currently blocked TPPs
+     * @return changes of the stop list together with the version to be used for the next call
+     */
+    CmsResponse<TppStopListChanges> getStopListChanges(String instanceId, @Nullable Long sinceVersion);
 }
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.api.tpp;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Changes of TPP stop list for particular instance, that happened since some previously returned version
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TppStopListChanges {
+    /**
+     * Version of the stop list, that should be used for requesting of the next changes
+     */
+    private long version;
+    /**
+     * <code>true</code> if {@link #blocked} contains all currently blocked TPPs and local copy of the stop list should be replaced
+     */
+    private boolean fullSnapshot;
+    private Set<String> blocked = new HashSet<>();
+    private Set<String> unblocked = new HashSet<>();
+}
@@ -33,6 +33,24 @@ public class AisConsentRemoteUrls {
         return consentServiceBaseUrl + "/ais/consent/action";
     }
 
+    /**
+     * Returns URL-string to CMS endpoint that reserves usage of AIS consent
+     *
+     * @return String
+     */
+    public String reserveConsentUsage() {
+        return consentServiceBaseUrl + "/ais/consent/usage/reserve";
+    }
+
+    /**
+     * Returns URL-string to CMS endpoint that releases reserved usage of AIS consent
+     *
+     * @return String
+     */
+    public String releaseConsentUsage() {
+        return consentServiceBaseUrl + "/ais/consent/usage/release";
+    }
+
     /**
      * Returns URL-string to CMS endpoint that updates AccountAccess
      *
@@ -51,4 +51,8 @@ public class ConsentRemoteUrls {
     public String updateMultilevelScaRequired() {
         return consentServiceBaseUrl + "/consent/{encrypted-consent-id}/multilevel-sca?multilevel-sca={multilevel-sca}";
     }
+
+    public String completeConsentCreation() {
+        return consentServiceBaseUrl + "/consent/{encrypted-consent-id}/creation-completion";
+    }
 }
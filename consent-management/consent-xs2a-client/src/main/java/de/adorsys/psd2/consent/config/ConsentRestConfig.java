@@ -16,13 +16,16 @@
 
 package de.adorsys.psd2.consent.config;
 
+import de.adorsys.psd2.logger.web.BooleanPropertyCondition;
+import de.adorsys.psd2.logger.web.ClientHttpRequestFactories;
 import de.adorsys.psd2.logger.web.LoggingContextInterceptor;
 import lombok.RequiredArgsConstructor;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.ClientHttpRequestFactory;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.http.converter.xml.MappingJackson2XmlHttpMessageConverter;
 import org.springframework.web.client.RestTemplate;
 
@@ -35,6 +38,16 @@ public class ConsentRestConfig {
     private int readTimeout;
     @Value("${xs2a.rest-consent-config.connection-timeout.ms:10000}")
     private int connectionTimeout;
+    @Value("${xs2a.rest-consent-config.http-client.pooled:true}")
+    private boolean pooledHttpClient;
+    @Value("${xs2a.rest-consent-config.http-client.max-connections-total:200}")
+    private int maxConnectionsTotal;
+    @Value("${xs2a.rest-consent-config.http-client.max-connections-per-route:100}")
+    private int maxConnectionsPerRoute;
+    @Value("${xs2a.rest-consent-config.http-client.keep-alive.ms:30000}")
+    private long keepAlive;
+    @Value("${xs2a.rest-consent-config.http-client.compression-enabled:true}")
+    private boolean compressionEnabled;
 
     @Bean
     public RestTemplate consentRestTemplate() {
@@ -45,10 +58,26 @@ public class ConsentRestConfig {
         return rest;
     }
 
+    /**
+     * Pool of connections to CMS, used by consent REST template, if pooled client is enabled.
+     * Pool statistics are available via {@link PoolingHttpClientConnectionManager#getTotalStats()}.
+     */
+    @Bean(destroyMethod = "close")
+    @Conditional(PooledHttpClientCondition.class)
+    public PoolingHttpClientConnectionManager consentConnectionManager() {
+        return ClientHttpRequestFactories.connectionManager(maxConnectionsTotal, maxConnectionsPerRoute);
+    }
+
     private ClientHttpRequestFactory clientHttpRequestFactory() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setReadTimeout(readTimeout);
-        factory.setConnectTimeout(connectionTimeout);
-        return factory;
+        if (!pooledHttpClient) {
+            return ClientHttpRequestFactories.simple(connectionTimeout, readTimeout);
+        }
+        return ClientHttpRequestFactories.pooled(consentConnectionManager(), connectionTimeout, readTimeout, keepAlive, compressionEnabled);
+    }
+
+    static class PooledHttpClientCondition extends BooleanPropertyCondition {
+        PooledHttpClientCondition() {
+            super("xs2a.rest-consent-config.http-client.pooled", true);
+        }
     }
 }
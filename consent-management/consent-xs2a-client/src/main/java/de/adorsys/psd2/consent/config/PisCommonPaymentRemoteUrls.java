@@ -33,6 +33,15 @@ public class PisCommonPaymentRemoteUrls {
         return commonPaymentServiceBaseUrl + "/pis/common-payments/";
     }
 
+    /**
+     * Returns URL-string to CMS endpoint that creates pis common payment together with its ASPSP consent data and authorisation
+     *
+     * @return String
+     */
+    public String initiatePisCommonPayment() {
+        return commonPaymentServiceBaseUrl + "/pis/common-payments/initiation";
+    }
+
     /**
      * Returns URL-string to CMS endpoint that updates pis common payment status
      *
@@ -32,4 +32,13 @@ public class TppServiceRemoteUrls {
     public String updateTppInfo() {
         return consentServiceBaseUrl + "/tpp";
     }
+
+    /**
+     * Returns URL-string to CMS endpoint that updates list of TPPs
+     *
+     * @return String representation of URL
+     */
+    public String updateTppInfos() {
+        return consentServiceBaseUrl + "/tpp/batch";
+    }
 }
@@ -32,4 +32,13 @@ public class TppStopListRemoteUrls {
     public String checkIfTppBlocked() {
         return consentServiceBaseUrl + "/tpp/stop-list";
     }
+
+    /**
+     * Returns URL-string to CMS endpoint that gets changes of TPP stop list since given version
+     *
+     * @return String
+     */
+    public String getStopListChanges() {
+        return consentServiceBaseUrl + "/tpp/stop-list/changes";
+    }
 }
@@ -18,6 +18,7 @@ package de.adorsys.psd2.consent.service;
 
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.ais.AisConsentActionRequest;
+import de.adorsys.psd2.consent.api.ais.AisConsentUsageReservation;
 import de.adorsys.psd2.consent.api.ais.CmsConsent;
 import de.adorsys.psd2.consent.api.ais.UpdateAisConsentResponse;
 import de.adorsys.psd2.consent.api.service.AisConsentServiceEncrypted;
@@ -59,6 +60,39 @@ public class AisConsentServiceRemote implements AisConsentServiceEncrypted {
                    .build();
     }
 
+    @Override
+    public CmsResponse<AisConsentUsageReservation> reserveConsentUsage(AisConsentActionRequest request) {
+        try {
+            AisConsentUsageReservation reservation = consentRestTemplate.postForEntity(remoteAisConsentUrls.reserveConsentUsage(), request, AisConsentUsageReservation.class).getBody();
+            return CmsResponse.<AisConsentUsageReservation>builder()
+                       .payload(reservation)
+                       .build();
+        } catch (CmsRestException cmsRestException) {
+            log.info("Couldn't reserve consent usage, HTTP response status: {}", cmsRestException.getHttpStatus());
+
+            return CmsResponse.<AisConsentUsageReservation>builder()
+                       .error(cmsRestException.getCmsError())
+                       .build();
+        }
+    }
+
+    @Override
+    public CmsResponse<CmsResponse.VoidResponse> releaseConsentUsage(AisConsentActionRequest request) {
+        try {
+            consentRestTemplate.postForEntity(remoteAisConsentUrls.releaseConsentUsage(), request, Void.class);
+        } catch (CmsRestException cmsRestException) {
+            log.info("Couldn't release consent usage, HTTP response status: {}", cmsRestException.getHttpStatus());
+
+            return CmsResponse.<CmsResponse.VoidResponse>builder()
+                       .error(cmsRestException.getCmsError())
+                       .build();
+        }
+
+        return CmsResponse.<CmsResponse.VoidResponse>builder()
+                   .payload(CmsResponse.voidResponse())
+                   .build();
+    }
+
     @Override
     public CmsResponse<CmsConsent> updateAspspAccountAccess(String consentId, AccountAccess request) {
         try {
@@ -20,6 +20,8 @@ import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.ais.CmsConsent;
 import de.adorsys.psd2.consent.api.ais.ConsentStatusResponse;
 import de.adorsys.psd2.consent.api.consent.CmsCreateConsentResponse;
+import de.adorsys.psd2.consent.api.consent.CompleteConsentCreationRequest;
+import de.adorsys.psd2.consent.api.consent.CompleteConsentCreationResponse;
 import de.adorsys.psd2.consent.api.service.ConsentServiceEncrypted;
 import de.adorsys.psd2.consent.config.CmsRestException;
 import de.adorsys.psd2.consent.config.ConsentRemoteUrls;
@@ -29,6 +31,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -174,4 +177,23 @@ public class ConsentServiceRemote implements ConsentServiceEncrypted {
                    .payload(false)
                    .build();
     }
+
+    @Override
+    public CmsResponse<CompleteConsentCreationResponse> completeConsentCreation(String encryptedConsentId, CompleteConsentCreationRequest request) {
+        try {
+            CompleteConsentCreationResponse completionResponse = consentRestTemplate.exchange(consentRemoteUrls.completeConsentCreation(),
+                                                                                              HttpMethod.PUT, new HttpEntity<>(request), CompleteConsentCreationResponse.class, encryptedConsentId)
+                                                                     .getBody();
+            return CmsResponse.<CompleteConsentCreationResponse>builder()
+                       .payload(completionResponse)
+                       .build();
+        } catch (CmsRestException cmsRestException) {
+            log.info("Couldn't complete creation of consent with ID {}, HTTP response status: {}",
+                     encryptedConsentId, cmsRestException.getHttpStatus());
+        }
+
+        return CmsResponse.<CompleteConsentCreationResponse>builder()
+                   .error(TECHNICAL_ERROR)
+                   .build();
+    }
 }
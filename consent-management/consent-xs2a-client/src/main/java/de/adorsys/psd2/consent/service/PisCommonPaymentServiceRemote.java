@@ -18,6 +18,8 @@ package de.adorsys.psd2.consent.service;
 
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentResponse;
+import de.adorsys.psd2.consent.api.pis.InitiatePisCommonPaymentRequest;
+import de.adorsys.psd2.consent.api.pis.InitiatePisCommonPaymentResponse;
 import de.adorsys.psd2.consent.api.pis.PisCommonPaymentResponse;
 import de.adorsys.psd2.consent.api.pis.proto.PisPaymentInfo;
 import de.adorsys.psd2.consent.api.service.PisCommonPaymentServiceEncrypted;
@@ -62,6 +64,22 @@ public class PisCommonPaymentServiceRemote implements PisCommonPaymentServiceEnc
                    .build();
     }
 
+    @Override
+    public CmsResponse<InitiatePisCommonPaymentResponse> initiateCommonPayment(InitiatePisCommonPaymentRequest request) {
+        try {
+            InitiatePisCommonPaymentResponse body = consentRestTemplate.postForEntity(remotePisCommonPaymentUrls.initiatePisCommonPayment(), request, InitiatePisCommonPaymentResponse.class).getBody();
+            return CmsResponse.<InitiatePisCommonPaymentResponse>builder()
+                       .payload(body)
+                       .build();
+        } catch (CmsRestException cmsRestException) {
+            log.warn("Remote common payment initiation failed");
+        }
+
+        return CmsResponse.<InitiatePisCommonPaymentResponse>builder()
+                   .error(TECHNICAL_ERROR)
+                   .build();
+    }
+
     @Override
     public CmsResponse<TransactionStatus> getPisCommonPaymentStatusById(String paymentId) {
         return CmsResponse.<TransactionStatus>builder()
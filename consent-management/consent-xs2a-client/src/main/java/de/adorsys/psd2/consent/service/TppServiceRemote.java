@@ -16,6 +16,7 @@
 
 package de.adorsys.psd2.consent.service;
 
+import de.adorsys.psd2.consent.api.CmsError;
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.service.TppService;
 import de.adorsys.psd2.consent.config.CmsRestException;
@@ -25,12 +26,16 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.List;
+import java.util.Set;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -55,4 +60,21 @@ public class TppServiceRemote implements TppService {
                    .payload(false)
                    .build();
     }
+
+    @Override
+    public CmsResponse<Set<String>> updateTppInfos(@NotNull List<TppInfo> tppInfos) {
+        try {
+            ResponseEntity<Set<String>> responseEntity = consentRestTemplate.exchange(tppServiceRemoteUrls.updateTppInfos(), HttpMethod.PUT, new HttpEntity<>(tppInfos),
+                                                                                      new ParameterizedTypeReference<Set<String>>() {});
+            return CmsResponse.<Set<String>>builder()
+                       .payload(responseEntity.getBody())
+                       .build();
+        } catch (CmsRestException e) {
+            log.error("Couldn't update list of {} TPPs", tppInfos.size());
+        }
+
+        return CmsResponse.<Set<String>>builder()
+                   .error(CmsError.TECHNICAL_ERROR)
+                   .build();
+    }
 }
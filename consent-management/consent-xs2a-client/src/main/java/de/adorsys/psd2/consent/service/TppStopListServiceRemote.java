@@ -18,8 +18,10 @@ package de.adorsys.psd2.consent.service;
 
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.service.TppStopListService;
+import de.adorsys.psd2.consent.api.tpp.TppStopListChanges;
 import de.adorsys.psd2.consent.config.TppStopListRemoteUrls;
 import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.Nullable;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -35,6 +37,7 @@ import org.springframework.web.client.RestTemplate;
 public class TppStopListServiceRemote implements TppStopListService {
     private static final String TPP_AUTHORISATION_NUMBER_HEADER = "tpp-authorisation-number";
     private static final String INSTANCE = "Instance-ID";
+    private static final String SINCE_VERSION_HEADER = "since-version";
 
     @Qualifier("consentRestTemplate")
     private final RestTemplate consentRestTemplate;
@@ -55,4 +58,21 @@ public class TppStopListServiceRemote implements TppStopListService {
                    .payload(body)
                    .build();
     }
+
+    @Override
+    public CmsResponse<TppStopListChanges> getStopListChanges(String instanceId, @Nullable Long sinceVersion) {
+        MultiValueMap<String, String> headers = new LinkedMultiValueMap<>();
+        headers.add(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+        headers.add(INSTANCE, instanceId);
+        if (sinceVersion != null) {
+            headers.add(SINCE_VERSION_HEADER, String.valueOf(sinceVersion));
+        }
+
+        TppStopListChanges body = consentRestTemplate.exchange(tppStopListRemoteUrls.getStopListChanges(), HttpMethod.GET, new HttpEntity<>(headers), TppStopListChanges.class)
+                                      .getBody();
+
+        return CmsResponse.<TppStopListChanges>builder()
+                   .payload(body)
+                   .build();
+    }
 }
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.consent.config;
+
+import de.adorsys.psd2.logger.web.LoggingContextInterceptor;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConsentRestConfigTest {
+    @Mock
+    private LoggingContextInterceptor loggingContextInterceptor;
+
+    private ConsentRestConfig consentRestConfig;
+
+    @BeforeEach
+    void setUp() {
+        consentRestConfig = new ConsentRestConfig(loggingContextInterceptor);
+        ReflectionTestUtils.setField(consentRestConfig, "readTimeout", 10000);
+        ReflectionTestUtils.setField(consentRestConfig, "connectionTimeout", 10000);
+        ReflectionTestUtils.setField(consentRestConfig, "maxConnectionsTotal", 50);
+        ReflectionTestUtils.setField(consentRestConfig, "maxConnectionsPerRoute", 20);
+        ReflectionTestUtils.setField(consentRestConfig, "keepAlive", 30000L);
+        ReflectionTestUtils.setField(consentRestConfig, "compressionEnabled", true);
+    }
+
+    @Test
+    void clientHttpRequestFactory_pooled() {
+        // Given
+        ReflectionTestUtils.setField(consentRestConfig, "pooledHttpClient", true);
+
+        // When
+        ClientHttpRequestFactory requestFactory = ReflectionTestUtils.invokeMethod(consentRestConfig, "clientHttpRequestFactory");
+
+        // Then
+        assertTrue(requestFactory instanceof HttpComponentsClientHttpRequestFactory);
+    }
+
+    @Test
+    void clientHttpRequestFactory_notPooled() {
+        // Given
+        ReflectionTestUtils.setField(consentRestConfig, "pooledHttpClient", false);
+
+        // When
+        ClientHttpRequestFactory requestFactory = ReflectionTestUtils.invokeMethod(consentRestConfig, "clientHttpRequestFactory");
+
+        // Then
+        assertTrue(requestFactory instanceof SimpleClientHttpRequestFactory);
+    }
+
+    @Test
+    void consentConnectionManager() {
+        // When
+        PoolingHttpClientConnectionManager connectionManager = consentRestConfig.consentConnectionManager();
+
+        // Then
+        assertEquals(50, connectionManager.getMaxTotal());
+        assertEquals(20, connectionManager.getDefaultMaxPerRoute());
+        assertEquals(0, connectionManager.getTotalStats().getLeased());
+    }
+
+    @Test
+    void applicationContext_pooled_connectionManagerBeanCreated() {
+        // When
+        try (AnnotationConfigApplicationContext context = buildApplicationContext("true")) {
+            // Then
+            assertTrue(context.containsBean("consentConnectionManager"));
+            assertNotNull(context.getBean(RestTemplate.class));
+        }
+    }
+
+    @Test
+    void applicationContext_notPooled_connectionManagerBeanNotCreated() {
+        // When
+        try (AnnotationConfigApplicationContext context = buildApplicationContext("false")) {
+            // Then
+            assertFalse(context.containsBean("consentConnectionManager"));
+            assertNotNull(context.getBean(RestTemplate.class));
+        }
+    }
+
+    private AnnotationConfigApplicationContext buildApplicationContext(String pooled) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources()
+            .addFirst(new MapPropertySource("test", Map.of("xs2a.rest-consent-config.http-client.pooled", pooled)));
+        context.registerBean(LoggingContextInterceptor.class, () -> loggingContextInterceptor);
+        context.register(ConsentRestConfig.class);
+        context.refresh();
+        return context;
+    }
+}
@@ -20,6 +20,7 @@ import de.adorsys.psd2.consent.api.ActionStatus;
 import de.adorsys.psd2.consent.api.CmsError;
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.ais.AisConsentActionRequest;
+import de.adorsys.psd2.consent.api.ais.AisConsentUsageReservation;
 import de.adorsys.psd2.consent.api.ais.CmsConsent;
 import de.adorsys.psd2.consent.api.ais.UpdateAisConsentResponse;
 import de.adorsys.psd2.consent.config.AisConsentRemoteUrls;
@@ -36,6 +37,7 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.LocalDate;
 import java.util.Collections;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -81,6 +83,42 @@ class AisConsentServiceRemoteTest {
         verify(consentRestTemplate).postForEntity(URL, aisConsentActionRequest, Void.class);
     }
 
+    @Test
+    void reserveConsentUsage() {
+        when(aisConsentRemoteUrls.reserveConsentUsage()).thenReturn(URL);
+        AisConsentActionRequest aisConsentActionRequest = new AisConsentActionRequest(null, CONSENT_ID, null, ACTION_LOG_REQUEST_URI, true, null, null);
+        AisConsentUsageReservation reservation = new AisConsentUsageReservation(true, LocalDate.of(2020, 5, 4));
+        when(consentRestTemplate.postForEntity(URL, aisConsentActionRequest, AisConsentUsageReservation.class)).thenReturn(ResponseEntity.ok(reservation));
+
+        CmsResponse<AisConsentUsageReservation> response = aisConsentServiceRemote.reserveConsentUsage(aisConsentActionRequest);
+
+        assertTrue(response.isSuccessful());
+        assertEquals(reservation, response.getPayload());
+    }
+
+    @Test
+    void reserveConsentUsage_cmsRestException() {
+        when(aisConsentRemoteUrls.reserveConsentUsage()).thenReturn(URL);
+        AisConsentActionRequest aisConsentActionRequest = new AisConsentActionRequest(null, CONSENT_ID, null, ACTION_LOG_REQUEST_URI, true, null, null);
+        doThrow(CmsRestException.class).when(consentRestTemplate).postForEntity(URL, aisConsentActionRequest, AisConsentUsageReservation.class);
+
+        CmsResponse<AisConsentUsageReservation> response = aisConsentServiceRemote.reserveConsentUsage(aisConsentActionRequest);
+
+        assertTrue(response.hasError());
+        assertEquals(CmsError.TECHNICAL_ERROR, response.getError());
+    }
+
+    @Test
+    void releaseConsentUsage() {
+        when(aisConsentRemoteUrls.releaseConsentUsage()).thenReturn(URL);
+        AisConsentActionRequest aisConsentActionRequest = new AisConsentActionRequest(null, CONSENT_ID, null, ACTION_LOG_REQUEST_URI, true, null, null);
+
+        CmsResponse<CmsResponse.VoidResponse> response = aisConsentServiceRemote.releaseConsentUsage(aisConsentActionRequest);
+
+        assertTrue(response.isSuccessful());
+        verify(consentRestTemplate).postForEntity(URL, aisConsentActionRequest, Void.class);
+    }
+
     @Test
     void updateAspspAccountAccess() {
         when(aisConsentRemoteUrls.updateAisAccountAccess()).thenReturn(URL);
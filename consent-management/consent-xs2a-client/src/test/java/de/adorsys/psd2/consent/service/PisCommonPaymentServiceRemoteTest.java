@@ -17,7 +17,12 @@
 
 package de.adorsys.psd2.consent.service;
 
+import de.adorsys.psd2.consent.api.CmsError;
 import de.adorsys.psd2.consent.api.CmsResponse;
+import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentResponse;
+import de.adorsys.psd2.consent.api.pis.InitiatePisCommonPaymentRequest;
+import de.adorsys.psd2.consent.api.pis.InitiatePisCommonPaymentResponse;
+import de.adorsys.psd2.consent.config.CmsRestException;
 import de.adorsys.psd2.consent.config.PisCommonPaymentRemoteUrls;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -28,6 +33,7 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestTemplate;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.when;
 
@@ -35,6 +41,7 @@ import static org.mockito.Mockito.when;
 class PisCommonPaymentServiceRemoteTest {
 
     private static final String UPDATE_MULTILEVEL_SCA_URL = "http://base.url/pis/common-payments/{payment-id}/multilevel-sca?multilevel-sca={multilevel-sca}";
+    private static final String INITIATE_PAYMENT_URL = "http://base.url/pis/common-payments/initiation";
     private static final String PAYMENT_ID = "paymentId";
 
     @InjectMocks
@@ -55,4 +62,29 @@ class PisCommonPaymentServiceRemoteTest {
         assertTrue(actualResponse.isSuccessful());
         assertTrue(actualResponse.getPayload());
     }
+
+    @Test
+    void initiateCommonPayment() {
+        InitiatePisCommonPaymentRequest request = new InitiatePisCommonPaymentRequest();
+        InitiatePisCommonPaymentResponse response = new InitiatePisCommonPaymentResponse(new CreatePisCommonPaymentResponse(PAYMENT_ID, null), null);
+        when(remotePisCommonPaymentUrls.initiatePisCommonPayment()).thenReturn(INITIATE_PAYMENT_URL);
+        when(consentRestTemplate.postForEntity(INITIATE_PAYMENT_URL, request, InitiatePisCommonPaymentResponse.class)).thenReturn(ResponseEntity.ok(response));
+
+        CmsResponse<InitiatePisCommonPaymentResponse> actualResponse = service.initiateCommonPayment(request);
+
+        assertTrue(actualResponse.isSuccessful());
+        assertEquals(response, actualResponse.getPayload());
+    }
+
+    @Test
+    void initiateCommonPayment_cmsRestException() {
+        InitiatePisCommonPaymentRequest request = new InitiatePisCommonPaymentRequest();
+        when(remotePisCommonPaymentUrls.initiatePisCommonPayment()).thenReturn(INITIATE_PAYMENT_URL);
+        when(consentRestTemplate.postForEntity(INITIATE_PAYMENT_URL, request, InitiatePisCommonPaymentResponse.class)).thenThrow(CmsRestException.class);
+
+        CmsResponse<InitiatePisCommonPaymentResponse> actualResponse = service.initiateCommonPayment(request);
+
+        assertTrue(actualResponse.hasError());
+        assertEquals(CmsError.TECHNICAL_ERROR, actualResponse.getError());
+    }
 }
@@ -21,6 +21,7 @@ import de.adorsys.psd2.consent.api.CmsError;
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.WrongChecksumException;
 import de.adorsys.psd2.consent.api.ais.AisConsentActionRequest;
+import de.adorsys.psd2.consent.api.ais.AisConsentUsageReservation;
 import de.adorsys.psd2.consent.api.ais.CmsConsent;
 import de.adorsys.psd2.consent.api.ais.UpdateAisConsentResponse;
 import de.adorsys.psd2.consent.api.service.AisConsentServiceEncrypted;
@@ -37,7 +38,8 @@ public class AisConsentController implements AisConsentApi {
 
     @Override
     public ResponseEntity<Object> saveConsentActionLog(AisConsentActionRequest request) {
-
+        // Exceeded frequency per day of the consent isn't reported to keep the response of this endpoint unchanged,
+        // the usage is expected to be reserved before the data is read
         try {
             aisConsentService.checkConsentAndSaveActionLog(request);
         } catch (WrongChecksumException e) {
@@ -47,6 +49,28 @@ public class AisConsentController implements AisConsentApi {
         return ResponseEntity.ok().build();
     }
 
+    @Override
+    public ResponseEntity<Object> reserveConsentUsage(AisConsentActionRequest request) {
+        CmsResponse<AisConsentUsageReservation> response = aisConsentService.reserveConsentUsage(request);
+
+        if (response.hasError()) {
+            return new ResponseEntity<>(response.getError(), HttpStatus.BAD_REQUEST);
+        }
+
+        return new ResponseEntity<>(response.getPayload(), HttpStatus.OK);
+    }
+
+    @Override
+    public ResponseEntity<Object> releaseConsentUsage(AisConsentActionRequest request) {
+        CmsResponse<CmsResponse.VoidResponse> response = aisConsentService.releaseConsentUsage(request);
+
+        if (response.hasError()) {
+            return new ResponseEntity<>(response.getError(), HttpStatus.BAD_REQUEST);
+        }
+
+        return ResponseEntity.ok().build();
+    }
+
     @Override
     public ResponseEntity<Object> updateAccountAccess(String encryptedConsentId, AccountAccess request) {
         CmsResponse<CmsConsent> response;
@@ -19,6 +19,8 @@ package de.adorsys.psd2.consent.web.xs2a.controller;
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.PisCommonPaymentApi;
 import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentResponse;
+import de.adorsys.psd2.consent.api.pis.InitiatePisCommonPaymentRequest;
+import de.adorsys.psd2.consent.api.pis.InitiatePisCommonPaymentResponse;
 import de.adorsys.psd2.consent.api.pis.PisCommonPaymentDataStatusResponse;
 import de.adorsys.psd2.consent.api.pis.PisCommonPaymentResponse;
 import de.adorsys.psd2.consent.api.pis.proto.PisPaymentInfo;
@@ -48,6 +50,17 @@ public class PisCommonPaymentController implements PisCommonPaymentApi {
         return new ResponseEntity<>(response.getPayload(), HttpStatus.CREATED);
     }
 
+    @Override
+    public ResponseEntity<InitiatePisCommonPaymentResponse> initiateCommonPayment(InitiatePisCommonPaymentRequest request) {
+        CmsResponse<InitiatePisCommonPaymentResponse> response = pisCommonPaymentServiceEncrypted.initiateCommonPayment(request);
+
+        if (response.hasError()) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        return new ResponseEntity<>(response.getPayload(), HttpStatus.CREATED);
+    }
+
     @Override
     public ResponseEntity<PisCommonPaymentDataStatusResponse> getPisCommonPaymentStatusById(String paymentId) {
         CmsResponse<TransactionStatus> response = pisCommonPaymentServiceEncrypted.getPisCommonPaymentStatusById(paymentId);
@@ -20,12 +20,17 @@ import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.TppApi;
 import de.adorsys.psd2.consent.api.service.TppService;
 import de.adorsys.psd2.consent.api.service.TppStopListService;
+import de.adorsys.psd2.consent.api.tpp.TppStopListChanges;
 import de.adorsys.psd2.xs2a.core.tpp.TppInfo;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
 @RestController
 @RequiredArgsConstructor
 public class TppController implements TppApi {
@@ -38,9 +43,26 @@ public class TppController implements TppApi {
         return new ResponseEntity<>(response.isSuccessful() && response.getPayload(), HttpStatus.OK);
     }
 
+    @Override
+    public ResponseEntity<Set<String>> updateTppInfos(List<TppInfo> tppInfos) {
+        CmsResponse<Set<String>> response = tppService.updateTppInfos(tppInfos);
+        return new ResponseEntity<>(response.isSuccessful() ? response.getPayload() : Collections.emptySet(), HttpStatus.OK);
+    }
+
     @Override
     public ResponseEntity<Boolean> checkIfTppBlocked(String tppAuthorisationNumber, String instanceId) {
         CmsResponse<Boolean> response = tppStopListService.checkIfTppBlocked(tppAuthorisationNumber, instanceId);
         return new ResponseEntity<>(response.isSuccessful() && response.getPayload(), HttpStatus.OK);
     }
+
+    @Override
+    public ResponseEntity<TppStopListChanges> getStopListChanges(String instanceId, Long sinceVersion) {
+        CmsResponse<TppStopListChanges> response = tppStopListService.getStopListChanges(instanceId, sinceVersion);
+
+        if (response.hasError()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+
+        return new ResponseEntity<>(response.getPayload(), HttpStatus.OK);
+    }
 }
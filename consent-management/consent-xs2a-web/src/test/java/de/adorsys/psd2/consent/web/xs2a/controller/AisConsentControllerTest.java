@@ -21,6 +21,7 @@ import de.adorsys.psd2.consent.api.CmsError;
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.WrongChecksumException;
 import de.adorsys.psd2.consent.api.ais.AisConsentActionRequest;
+import de.adorsys.psd2.consent.api.ais.AisConsentUsageReservation;
 import de.adorsys.psd2.consent.api.ais.CmsConsent;
 import de.adorsys.psd2.consent.api.ais.UpdateAisConsentResponse;
 import de.adorsys.psd2.consent.api.service.AisConsentServiceEncrypted;
@@ -40,6 +41,8 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.time.LocalDate;
+
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -48,6 +51,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 class AisConsentControllerTest {
     private static final String ENCRYPTED_CONSENT_ID = "encrypted consent id";
     private static final String ACTION_ENDPOINT = UriComponentsBuilder.fromPath("/api/v1/ais/consent/action").toUriString();
+    private static final String RESERVE_USAGE_ENDPOINT = UriComponentsBuilder.fromPath("/api/v1/ais/consent/usage/reserve").toUriString();
+    private static final String RELEASE_USAGE_ENDPOINT = UriComponentsBuilder.fromPath("/api/v1/ais/consent/usage/release").toUriString();
     private static final String UPDATE_ACCOUNT_ACCESS_ENDPOINT = UriComponentsBuilder.fromPath("/api/v1/ais/consent/{encrypted-consent-id}/access")
                                                                      .buildAndExpand(ENCRYPTED_CONSENT_ID)
                                                                      .toUriString();
@@ -73,7 +78,20 @@ class AisConsentControllerTest {
     void saveConsentActionLog_Success() throws Exception {
         //Given
         when(aisConsentServiceEncrypted.checkConsentAndSaveActionLog(AIS_CONSENT_ACTION_REQUEST))
-            .thenReturn(CmsResponse.<CmsResponse.VoidResponse>builder().build());
+            .thenReturn(CmsResponse.<CmsResponse.VoidResponse>builder().payload(CmsResponse.voidResponse()).build());
+        //When
+        mockMvc.perform(MockMvcRequestBuilders.post(ACTION_ENDPOINT)
+                            .contentType(MediaType.APPLICATION_JSON_VALUE)
+                            .content(JSON_READER.writeValueAsString(AIS_CONSENT_ACTION_REQUEST)))
+            //Then
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void saveConsentActionLog_frequencyPerDayExceeded_ok() throws Exception {
+        //Given
+        when(aisConsentServiceEncrypted.checkConsentAndSaveActionLog(AIS_CONSENT_ACTION_REQUEST))
+            .thenReturn(CmsResponse.<CmsResponse.VoidResponse>builder().error(CmsError.LOGICAL_ERROR).build());
         //When
         mockMvc.perform(MockMvcRequestBuilders.post(ACTION_ENDPOINT)
                             .contentType(MediaType.APPLICATION_JSON_VALUE)
@@ -97,6 +115,47 @@ class AisConsentControllerTest {
             .andExpect(content().json(JSON_READER.writeValueAsString(CmsError.CHECKSUM_ERROR)));
     }
 
+    @Test
+    void reserveConsentUsage_Success() throws Exception {
+        //Given
+        when(aisConsentServiceEncrypted.reserveConsentUsage(AIS_CONSENT_ACTION_REQUEST))
+            .thenReturn(CmsResponse.<AisConsentUsageReservation>builder().payload(new AisConsentUsageReservation(true, LocalDate.of(2020, 5, 4))).build());
+        //When
+        mockMvc.perform(MockMvcRequestBuilders.post(RESERVE_USAGE_ENDPOINT)
+                            .contentType(MediaType.APPLICATION_JSON_VALUE)
+                            .content(JSON_READER.writeValueAsString(AIS_CONSENT_ACTION_REQUEST)))
+            //Then
+            .andExpect(status().isOk())
+            .andExpect(content().json("{\"reserved\":true,\"usageDate\":\"2020-05-04\"}"));
+    }
+
+    @Test
+    void reserveConsentUsage_logicalError() throws Exception {
+        //Given
+        when(aisConsentServiceEncrypted.reserveConsentUsage(AIS_CONSENT_ACTION_REQUEST))
+            .thenReturn(CmsResponse.<AisConsentUsageReservation>builder().error(CmsError.LOGICAL_ERROR).build());
+        //When
+        mockMvc.perform(MockMvcRequestBuilders.post(RESERVE_USAGE_ENDPOINT)
+                            .contentType(MediaType.APPLICATION_JSON_VALUE)
+                            .content(JSON_READER.writeValueAsString(AIS_CONSENT_ACTION_REQUEST)))
+            //Then
+            .andExpect(status().isBadRequest())
+            .andExpect(content().json(JSON_READER.writeValueAsString(CmsError.LOGICAL_ERROR)));
+    }
+
+    @Test
+    void releaseConsentUsage_Success() throws Exception {
+        //Given
+        when(aisConsentServiceEncrypted.releaseConsentUsage(AIS_CONSENT_ACTION_REQUEST))
+            .thenReturn(CmsResponse.<CmsResponse.VoidResponse>builder().payload(CmsResponse.voidResponse()).build());
+        //When
+        mockMvc.perform(MockMvcRequestBuilders.post(RELEASE_USAGE_ENDPOINT)
+                            .contentType(MediaType.APPLICATION_JSON_VALUE)
+                            .content(JSON_READER.writeValueAsString(AIS_CONSENT_ACTION_REQUEST)))
+            //Then
+            .andExpect(status().isOk());
+    }
+
     @Test
     void updateAccountAccess_Success() throws Exception {
         //Given
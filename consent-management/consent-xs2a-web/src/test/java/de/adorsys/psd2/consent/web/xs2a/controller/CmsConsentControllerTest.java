@@ -5,6 +5,7 @@ import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.WrongChecksumException;
 import de.adorsys.psd2.consent.api.ais.CmsConsent;
 import de.adorsys.psd2.consent.api.consent.CmsCreateConsentResponse;
+import de.adorsys.psd2.consent.api.consent.CompleteConsentCreationResponse;
 import de.adorsys.psd2.consent.api.service.ConsentServiceEncrypted;
 import de.adorsys.psd2.consent.web.xs2a.config.ObjectMapperTestConfig;
 import de.adorsys.psd2.xs2a.core.consent.ConsentStatus;
@@ -254,4 +255,46 @@ class CmsConsentControllerTest {
                             .param("multilevel-sca", "true"))
             .andExpect(status().is(HttpStatus.NOT_FOUND.value()));
     }
+
+    @Test
+    void completeConsentCreation_Success() throws Exception {
+        when(consentServiceEncrypted.completeConsentCreation(any(), any()))
+            .thenReturn(CmsResponse.<CompleteConsentCreationResponse>builder()
+                            .payload(new CompleteConsentCreationResponse(null))
+                            .build());
+
+        mockMvc.perform(MockMvcRequestBuilders.put(UriComponentsBuilder.fromPath("/api/v1/consent/{encrypted-consent-id}/creation-completion")
+                                                       .buildAndExpand(EXTERNAL_ID)
+                                                       .toUriString())
+                            .contentType(MediaType.APPLICATION_JSON_VALUE)
+                            .content("{\"multilevelScaRequired\": true}"))
+            .andExpect(status().is(HttpStatus.OK.value()));
+    }
+
+    @Test
+    void completeConsentCreation_throwsChecksumError() throws Exception {
+        when(consentServiceEncrypted.completeConsentCreation(any(), any())).thenThrow(WrongChecksumException.class);
+
+        ResultActions resultActions = mockMvc.perform(MockMvcRequestBuilders.put(UriComponentsBuilder.fromPath("/api/v1/consent/{encrypted-consent-id}/creation-completion")
+                                                                                     .buildAndExpand(EXTERNAL_ID)
+                                                                                     .toUriString())
+                                                          .contentType(MediaType.APPLICATION_JSON_VALUE)
+                                                          .content("{\"multilevelScaRequired\": true}"));
+
+        resultActions
+            .andExpect(status().is(HttpStatus.BAD_REQUEST.value()))
+            .andExpect(content().string('"' + CmsError.CHECKSUM_ERROR.toString() + '"'));
+    }
+
+    @Test
+    void completeConsentCreation_returnsNotFoundResponse() throws Exception {
+        when(consentServiceEncrypted.completeConsentCreation(any(), any())).thenReturn(CmsResponse.<CompleteConsentCreationResponse>builder().error(CmsError.TECHNICAL_ERROR).build());
+
+        mockMvc.perform(MockMvcRequestBuilders.put(UriComponentsBuilder.fromPath("/api/v1/consent/{encrypted-consent-id}/creation-completion")
+                                                       .buildAndExpand(EXTERNAL_ID)
+                                                       .toUriString())
+                            .contentType(MediaType.APPLICATION_JSON_VALUE)
+                            .content("{}"))
+            .andExpect(status().is(HttpStatus.NOT_FOUND.value()));
+    }
 }
@@ -24,6 +24,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Base version of AspspEventService that contains all method declarations.
@@ -41,6 +42,22 @@ public interface AspspEventService {
      */
     List<AspspEvent> getEventsForPeriod(@NotNull OffsetDateTime start, @NotNull OffsetDateTime end, @Nullable String instanceId);
 
+    /**
+     * Passes Event objects, recorded in given time period, to the consumer one by one ordered by timestamp and ID,
+     * without loading all events into memory
+     *
+     * @param start          First date of the period
+     * @param end            Last date of the period
+     * @param instanceId     The id of particular service instance
+     * @param afterTimestamp Timestamp of the last received event, <code>null</code> to start from the beginning of the period
+     * @param afterId        ID of the last received event, <code>null</code> to start from the beginning of the period
+     * @param limit          Maximum number of events to be passed, non-positive value means no limit
+     * @param consumer       Consumer of the events
+     */
+    void streamEventsForPeriod(@NotNull OffsetDateTime start, @NotNull OffsetDateTime end, @Nullable String instanceId,
+                               @Nullable OffsetDateTime afterTimestamp, @Nullable Long afterId, int limit,
+                               @NotNull Consumer<AspspEvent> consumer);
+
     /**
      * Returns a list of Event objects, recorded in given time period and with the given consentId
      *
@@ -36,6 +36,11 @@ import java.util.UUID;
 @Builder
 @EqualsAndHashCode
 public class AspspEvent {
+    /**
+     * ID of the event, that can be used along with the timestamp to continue reading of the events.
+     */
+    private Long id;
+
     /**
      * Date and time indicating when the event has occurred.
      */
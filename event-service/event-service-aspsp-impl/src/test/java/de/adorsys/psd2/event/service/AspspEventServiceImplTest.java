@@ -19,7 +19,9 @@ package de.adorsys.psd2.event.service;
 import de.adorsys.psd2.event.core.model.EventOrigin;
 import de.adorsys.psd2.event.core.model.EventType;
 import de.adorsys.psd2.event.persist.EventReportRepository;
+import de.adorsys.psd2.event.persist.model.ReportEvent;
 import de.adorsys.psd2.event.service.mapper.AspspEventMapper;
+import de.adorsys.psd2.event.service.model.AspspEvent;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mapstruct.factory.Mappers;
@@ -29,8 +31,14 @@ import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,6 +48,7 @@ class AspspEventServiceImplTest {
     private static final String INSTANCE_ID = "3de76f19-1df7-44d8-b760-ca972d2f945c";
     private static final String CONSENT_ID = "fa6e687b-1ac9-4b1a-9c74-357c35c82ba1";
     private static final String PAYMENT_ID = "j-t4XyLJTzQkonfSTnyxIMc";
+    private static final Long ID = 42L;
 
     @InjectMocks
     private AspspEventServiceImpl aspspEventService;
@@ -58,6 +67,24 @@ class AspspEventServiceImplTest {
         verify(eventReportRepository, times(1)).getEventsForPeriod(START, END, INSTANCE_ID);
     }
 
+    @Test
+    void streamEventsForPeriod() {
+        ReportEvent reportEvent = new ReportEvent();
+        reportEvent.setId(ID);
+        doReturn(AspspEvent.builder().id(ID).build()).when(mapper).toAspspEvent(reportEvent);
+        doAnswer(invocation -> {
+            Consumer<ReportEvent> consumer = invocation.getArgument(6);
+            consumer.accept(reportEvent);
+            return null;
+        }).when(eventReportRepository).streamEventsForPeriod(eq(START), eq(END), eq(INSTANCE_ID), eq(START), eq(ID), eq(10), any());
+        List<AspspEvent> events = new ArrayList<>();
+
+        aspspEventService.streamEventsForPeriod(START, END, INSTANCE_ID, START, ID, 10, events::add);
+
+        assertEquals(1, events.size());
+        assertEquals(ID, events.get(0).getId());
+    }
+
     @Test
     void getEventsForPeriodAndConsentId() {
         when(eventReportRepository.getEventsForPeriodAndConsentId(START, END, CONSENT_ID, INSTANCE_ID)).thenReturn(Collections.emptyList());
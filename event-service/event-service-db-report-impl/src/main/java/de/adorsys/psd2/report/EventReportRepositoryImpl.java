@@ -31,6 +31,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 @Service
 @RequiredArgsConstructor
@@ -45,6 +47,15 @@ public class EventReportRepositoryImpl implements EventReportRepository {
         return eventReportDBMapper.mapToAspspReportEvents(events);
     }
 
+    @Override
+    public void streamEventsForPeriod(@NotNull OffsetDateTime start, @NotNull OffsetDateTime end, @Nullable String instanceId,
+                                      @Nullable OffsetDateTime afterTimestamp, @Nullable Long afterId, int limit,
+                                      @NotNull Consumer<ReportEvent> consumer) {
+        AdjacentRowsMerger merger = new AdjacentRowsMerger(consumer, limit);
+        eventReportJPARepository.streamEventsForPeriod(start, end, instanceId, afterTimestamp, afterId, merger);
+        merger.complete();
+    }
+
     @Override
     public List<ReportEvent> getEventsForPeriodAndConsentId(@NotNull OffsetDateTime start, @NotNull OffsetDateTime end, @NotNull String consentId, @Nullable String instanceId) {
         List<EventEntityForReport> events = eventReportJPARepository.findByTimestampBetweenAndConsentIdAndInstanceIdOrderByTimestampAsc(start, end, consentId, instanceId);
@@ -68,4 +79,45 @@ public class EventReportRepositoryImpl implements EventReportRepository {
         List<EventEntityForReport> events = eventReportJPARepository.findByTimestampBetweenAndEventOriginAndInstanceIdOrderByTimestampAsc(start, end, eventOrigin, instanceId);
         return eventReportDBMapper.mapToAspspReportEvents(events);
     }
+
+    /**
+     * Merges rows of the same event, that follow each other in the result set due to joined PSU data,
+     * and passes complete events to the consumer
+     */
+    private class AdjacentRowsMerger implements Predicate<EventEntityForReport> {
+        private final Consumer<ReportEvent> consumer;
+        private final int limit;
+        private ReportEvent currentEvent;
+        private int passedEvents;
+
+        private AdjacentRowsMerger(Consumer<ReportEvent> consumer, int limit) {
+            this.consumer = consumer;
+            this.limit = limit;
+        }
+
+        @Override
+        public boolean test(EventEntityForReport row) {
+            ReportEvent event = eventReportDBMapper.mapToReportEvent(row);
+            if (currentEvent != null && currentEvent.getId().equals(event.getId())) {
+                currentEvent.merge(event);
+                return true;
+            }
+
+            complete();
+            if (limit > 0 && passedEvents >= limit) {
+                return false;
+            }
+
+            currentEvent = event;
+            return true;
+        }
+
+        private void complete() {
+            if (currentEvent != null) {
+                consumer.accept(currentEvent);
+                passedEvents++;
+                currentEvent = null;
+            }
+        }
+    }
 }
@@ -21,21 +21,51 @@ import de.adorsys.psd2.event.core.model.EventType;
 import de.adorsys.psd2.report.entity.EventEntityForReport;
 import de.adorsys.psd2.report.jpa.builder.EventReportSqlParameterSourceBuilder;
 import de.adorsys.psd2.report.jpa.builder.SqlEventReportBuilder;
-import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.function.Predicate;
 
 @Repository
-@RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class EventReportJPARepository {
     private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
-    private final SqlEventReportBuilder sqlEventReportBuilder;
+    private final NamedParameterJdbcTemplate streamingJdbcTemplate;
+
+    private final String eventsForPeriodRequest;
+    private final String eventsForPeriodOrderedByKeyRequest;
+    private final String eventsForPeriodAfterKeyRequest;
+    private final String eventsForPeriodAndConsentIdRequest;
+    private final String eventsForPeriodAndPaymentIdRequest;
+    private final String eventsForPeriodAndEventTypeRequest;
+    private final String eventsForPeriodAndEventOriginRequest;
+
+    public EventReportJPARepository(NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                                    SqlEventReportBuilder sqlEventReportBuilder,
+                                    @Value("${xs2a.cms.event-report.fetch-size:1000}") int fetchSize) {
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+
+        eventsForPeriodRequest = sqlEventReportBuilder.baseRequest().period().instanceId().build();
+        eventsForPeriodOrderedByKeyRequest = sqlEventReportBuilder.baseRequest().period().instanceId().buildOrderedByKey();
+        eventsForPeriodAfterKeyRequest = sqlEventReportBuilder.baseRequest().period().instanceId().afterKey().buildOrderedByKey();
+        eventsForPeriodAndConsentIdRequest = sqlEventReportBuilder.baseRequest().period().instanceId().consentId().build();
+        eventsForPeriodAndPaymentIdRequest = sqlEventReportBuilder.baseRequest().period().instanceId().paymentId().build();
+        eventsForPeriodAndEventTypeRequest = sqlEventReportBuilder.baseRequest().period().instanceId().eventType().build();
+        eventsForPeriodAndEventOriginRequest = sqlEventReportBuilder.baseRequest().period().instanceId().eventOrigin().build();
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate();
+        jdbcTemplate.setDataSource(namedParameterJdbcTemplate.getJdbcTemplate().getDataSource());
+        jdbcTemplate.setFetchSize(fetchSize);
+        this.streamingJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
 
     public List<EventEntityForReport> getEventsForPeriod(OffsetDateTime periodFrom, OffsetDateTime periodTo, String instanceId) {
         EventReportSqlParameterSourceBuilder parameters = new EventReportSqlParameterSourceBuilder()
@@ -44,13 +74,43 @@ public class EventReportJPARepository {
                                                               .instanceId(instanceId)
                                                               .build();
 
-        String sqlRequest = sqlEventReportBuilder
-                                .baseRequest()
-                                .period()
-                                .instanceId()
-                                .build();
+        return namedParameterJdbcTemplate.query(eventsForPeriodRequest, parameters, new BeanPropertyRowMapper<>(EventEntityForReport.class));
+    }
 
-        return namedParameterJdbcTemplate.query(sqlRequest, parameters, new BeanPropertyRowMapper<>(EventEntityForReport.class));
+    /**
+     * Reads events for given period row by row using database cursor, rows are ordered by timestamp and event ID
+     *
+     * @param periodFrom     First date of the period
+     * @param periodTo       Last date of the period
+     * @param instanceId     The id of particular service instance
+     * @param afterTimestamp timestamp of the last already read event, <code>null</code> to read from the beginning of the period
+     * @param afterId        ID of the last already read event, <code>null</code> to read from the beginning of the period
+     * @param rowHandler     handler of the rows, returns <code>false</code> if no further rows should be read
+     */
+    public void streamEventsForPeriod(OffsetDateTime periodFrom, OffsetDateTime periodTo, String instanceId,
+                                      @Nullable OffsetDateTime afterTimestamp, @Nullable Long afterId,
+                                      Predicate<EventEntityForReport> rowHandler) {
+        EventReportSqlParameterSourceBuilder parameters = new EventReportSqlParameterSourceBuilder()
+                                                              .periodFrom(periodFrom)
+                                                              .periodTo(periodTo)
+                                                              .instanceId(instanceId);
+
+        String sqlRequest = eventsForPeriodOrderedByKeyRequest;
+        if (afterTimestamp != null && afterId != null) {
+            parameters.afterTimestamp(afterTimestamp).afterId(afterId);
+            sqlRequest = eventsForPeriodAfterKeyRequest;
+        }
+
+        streamingJdbcTemplate.query(sqlRequest, parameters.build(), (ResultSetExtractor<Void>) resultSet -> {
+            BeanPropertyRowMapper<EventEntityForReport> rowMapper = new BeanPropertyRowMapper<>(EventEntityForReport.class);
+            int rowNum = 0;
+            while (resultSet.next()) {
+                if (!rowHandler.test(rowMapper.mapRow(resultSet, rowNum++))) {
+                    break;
+                }
+            }
+            return null;
+        });
     }
 
     public List<EventEntityForReport> findByTimestampBetweenAndConsentIdAndInstanceIdOrderByTimestampAsc(OffsetDateTime periodFrom, OffsetDateTime periodTo, String consentId, String instanceId) {
@@ -61,14 +121,7 @@ public class EventReportJPARepository {
                                                               .consentId(consentId)
                                                               .build();
 
-        String sqlRequest = sqlEventReportBuilder
-                                .baseRequest()
-                                .period()
-                                .instanceId()
-                                .consentId()
-                                .build();
-
-        return namedParameterJdbcTemplate.query(sqlRequest, parameters, new BeanPropertyRowMapper<>(EventEntityForReport.class));
+        return namedParameterJdbcTemplate.query(eventsForPeriodAndConsentIdRequest, parameters, new BeanPropertyRowMapper<>(EventEntityForReport.class));
     }
 
     public List<EventEntityForReport> findByTimestampBetweenAndPaymentIdAndInstanceIdOrderByTimestampAsc(OffsetDateTime periodFrom, OffsetDateTime periodTo, String paymentId, String instanceId) {
@@ -79,14 +132,7 @@ public class EventReportJPARepository {
                                                               .paymentId(paymentId)
                                                               .build();
 
-        String sqlRequest = sqlEventReportBuilder
-                                .baseRequest()
-                                .period()
-                                .instanceId()
-                                .paymentId()
-                                .build();
-
-        return namedParameterJdbcTemplate.query(sqlRequest, parameters, new BeanPropertyRowMapper<>(EventEntityForReport.class));
+        return namedParameterJdbcTemplate.query(eventsForPeriodAndPaymentIdRequest, parameters, new BeanPropertyRowMapper<>(EventEntityForReport.class));
     }
 
     public List<EventEntityForReport> findByTimestampBetweenAndEventTypeAndInstanceIdOrderByTimestampAsc(OffsetDateTime periodFrom, OffsetDateTime periodTo, EventType eventType, String instanceId) {
@@ -97,14 +143,7 @@ public class EventReportJPARepository {
                                                               .eventType(eventType)
                                                               .build();
 
-        String sqlRequest = sqlEventReportBuilder
-                                .baseRequest()
-                                .period()
-                                .instanceId()
-                                .eventType()
-                                .build();
-
-        return namedParameterJdbcTemplate.query(sqlRequest, parameters, new BeanPropertyRowMapper<>(EventEntityForReport.class));
+        return namedParameterJdbcTemplate.query(eventsForPeriodAndEventTypeRequest, parameters, new BeanPropertyRowMapper<>(EventEntityForReport.class));
     }
 
     public List<EventEntityForReport> findByTimestampBetweenAndEventOriginAndInstanceIdOrderByTimestampAsc(OffsetDateTime periodFrom, OffsetDateTime periodTo, EventOrigin eventOrigin, String instanceId) {
@@ -115,13 +154,6 @@ public class EventReportJPARepository {
                                                               .eventOrigin(eventOrigin)
                                                               .build();
 
-        String sqlRequest = sqlEventReportBuilder
-                                .baseRequest()
-                                .period()
-                                .instanceId()
-                                .eventOrigin()
-                                .build();
-
-        return namedParameterJdbcTemplate.query(sqlRequest, parameters, new BeanPropertyRowMapper<>(EventEntityForReport.class));
+        return namedParameterJdbcTemplate.query(eventsForPeriodAndEventOriginRequest, parameters, new BeanPropertyRowMapper<>(EventEntityForReport.class));
     }
 }
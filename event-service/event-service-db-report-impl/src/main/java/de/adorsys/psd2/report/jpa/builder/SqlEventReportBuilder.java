@@ -16,86 +16,167 @@
 
 package de.adorsys.psd2.report.jpa.builder;
 
-import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.IOUtils;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
 import java.nio.charset.Charset;
-import java.util.Objects;
-
-@Slf4j
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds SQL requests for event report.
+ * <p>
+ * The builder itself holds no request specific state: every call of {@link #baseRequest()} returns new
+ * {@link RequestBuilder}, so the builder can be safely shared between threads. Base part of the request is read from
+ * the classpath and gets the schema substituted only once, complete request for each combination of filters is
+ * compiled on first use and cached afterwards.
+ */
 @Component
-public class SqlEventReportBuilder extends MapSqlParameterSource {
+public class SqlEventReportBuilder implements InitializingBean {
     private static final String PLACEHOLDER = "<schema_name>";
 
     @Value("${spring.jpa.properties.hibernate.default_schema}")
     private String schemaName;
     @Value("base_event_report_db.sql")
     private String sqlRequestFileName;
-    private StringBuilder sqlRequest;
-    private StringBuilder filterRequest;
 
-    public String getBasePartOfRequest() throws IOException {
-        return IOUtils.toString(Objects.requireNonNull(getClass().getClassLoader().getResource(sqlRequestFileName)).openStream(), Charset.defaultCharset()).replace(PLACEHOLDER, schemaName);
-    }
+    private volatile String basePartOfRequest;
+    private final Map<String, String> compiledRequests = new ConcurrentHashMap<>();
 
-    public SqlEventReportBuilder baseRequest() {
-        try {
-            sqlRequest = new StringBuilder(getBasePartOfRequest());
-        } catch (IOException e) {
-            log.error("Request query was not found!");
-        }
-        filterRequest = new StringBuilder();
-        return this;
+    @Override
+    public void afterPropertiesSet() {
+        getBasePartOfRequest();
     }
 
-    public SqlEventReportBuilder period() {
-        appendToRequest("timestamp between :periodFrom and :periodTo ");
-        return this;
+    public String getBasePartOfRequest() {
+        String basePart = basePartOfRequest;
+        if (basePart == null) {
+            synchronized (this) {
+                basePart = basePartOfRequest;
+                if (basePart == null) {
+                    basePart = readBasePartOfRequest();
+                    basePartOfRequest = basePart;
+                }
+            }
+        }
+        return basePart;
     }
 
-    public SqlEventReportBuilder instanceId() {
-        appendToRequest("ev.instance_id = :instanceId ");
-        return this;
+    public RequestBuilder baseRequest() {
+        return new RequestBuilder();
     }
 
-    public SqlEventReportBuilder consentId() {
-        appendToRequest("ev.consent_id = :consentId ");
-        return this;
-    }
+    private String readBasePartOfRequest() {
+        URL resource = getClass().getClassLoader().getResource(sqlRequestFileName);
+        if (resource == null) {
+            throw new IllegalStateException("Request query " + sqlRequestFileName + " was not found");
+        }
 
-    public SqlEventReportBuilder paymentId() {
-        appendToRequest("ev.payment_id = :paymentId ");
-        return this;
+        try (InputStream inputStream = resource.openStream()) {
+            return IOUtils.toString(inputStream, Charset.defaultCharset()).replace(PLACEHOLDER, schemaName);
+        } catch (IOException e) {
+            throw new IllegalStateException("Request query " + sqlRequestFileName + " couldn't be read", e);
+        }
     }
 
-    public SqlEventReportBuilder eventType() {
-        appendToRequest("ev.event_type = :eventType ");
-        return this;
-    }
+    private String compile(List<Filter> filters, String order) {
+        StringBuilder sqlRequest = new StringBuilder(getBasePartOfRequest());
 
-    public SqlEventReportBuilder eventOrigin() {
-        appendToRequest("ev.event_origin = :eventOrigin ");
-        return this;
-    }
+        for (int i = 0; i < filters.size(); i++) {
+            sqlRequest.append(i == 0 ? "where " : "and  ")
+                .append(filters.get(i).condition);
+        }
 
-    public String build() {
         return sqlRequest
-                   .append(filterRequest)
-                   .append("order by timestamp ")
+                   .append(order)
                    .toString();
     }
 
-    private void appendToRequest(String filter) {
-        if (filterRequest.length() == 0) {
-            filterRequest.append("where ");
-        } else {
-            filterRequest.append("and  ");
+    private enum Filter {
+        PERIOD("timestamp between :periodFrom and :periodTo "),
+        INSTANCE_ID("ev.instance_id = :instanceId "),
+        CONSENT_ID("ev.consent_id = :consentId "),
+        PAYMENT_ID("ev.payment_id = :paymentId "),
+        EVENT_TYPE("ev.event_type = :eventType "),
+        EVENT_ORIGIN("ev.event_origin = :eventOrigin "),
+        AFTER_KEY("(timestamp > :afterTimestamp or (timestamp = :afterTimestamp and ev.id > :afterId)) ");
+
+        private final String condition;
+
+        Filter(String condition) {
+            this.condition = condition;
+        }
+    }
+
+    /**
+     * Collects filters of one particular request, must not be shared between threads
+     */
+    public final class RequestBuilder {
+        private static final String ORDER_BY_TIMESTAMP = "order by timestamp ";
+        private static final String ORDER_BY_KEY = "order by timestamp, ev.id ";
+
+        private final List<Filter> filters = new ArrayList<>();
+
+        private RequestBuilder() {
         }
 
-        filterRequest.append(filter);
+        public RequestBuilder period() {
+            return filter(Filter.PERIOD);
+        }
+
+        public RequestBuilder instanceId() {
+            return filter(Filter.INSTANCE_ID);
+        }
+
+        public RequestBuilder consentId() {
+            return filter(Filter.CONSENT_ID);
+        }
+
+        public RequestBuilder paymentId() {
+            return filter(Filter.PAYMENT_ID);
+        }
+
+        public RequestBuilder eventType() {
+            return filter(Filter.EVENT_TYPE);
+        }
+
+        public RequestBuilder eventOrigin() {
+            return filter(Filter.EVENT_ORIGIN);
+        }
+
+        public RequestBuilder afterKey() {
+            return filter(Filter.AFTER_KEY);
+        }
+
+        public String build() {
+            return build(ORDER_BY_TIMESTAMP);
+        }
+
+        /**
+         * Builds request with events ordered by timestamp and ID, so that rows of the same event follow each other
+         * and (timestamp, id) can be used as a key for pagination
+         *
+         * @return SQL request
+         */
+        public String buildOrderedByKey() {
+            return build(ORDER_BY_KEY);
+        }
+
+        private RequestBuilder filter(Filter filter) {
+            filters.add(filter);
+            return this;
+        }
+
+        private String build(String order) {
+            String cacheKey = filters.toString() + order;
+            return compiledRequests.computeIfAbsent(cacheKey, k -> compile(filters, order));
+        }
     }
 }
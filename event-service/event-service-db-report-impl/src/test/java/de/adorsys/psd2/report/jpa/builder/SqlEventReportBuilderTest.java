@@ -20,7 +20,16 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.util.ReflectionTestUtils;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 class SqlEventReportBuilderTest {
     private static final String TEST_REQUEST_NAME = "json/test_event_report_db.sql";
@@ -130,4 +139,84 @@ class SqlEventReportBuilderTest {
         assertEquals(expectedSql, actualSql);
     }
 
+    @Test
+    void test_afterKey_orderedByKey() {
+        // Given
+        String expectedSql = "select * from event\n" +
+                                 "where timestamp between :periodFrom and :periodTo " +
+                                 "and  (timestamp > :afterTimestamp or (timestamp = :afterTimestamp and ev.id > :afterId)) " +
+                                 "order by timestamp, ev.id ";
+
+        // When
+        String actualSql = builder
+                               .baseRequest()
+                               .period()
+                               .afterKey()
+                               .buildOrderedByKey();
+
+        // Then
+        assertEquals(expectedSql, actualSql);
+    }
+
+    @Test
+    void build_sameFilters_sameCompiledRequest() {
+        // When
+        String firstSql = builder.baseRequest().period().instanceId().build();
+        String secondSql = builder.baseRequest().period().instanceId().build();
+
+        // Then
+        assertSame(firstSql, secondSql);
+    }
+
+    @Test
+    void baseRequest_fileNotFound_exception() {
+        // Given
+        ReflectionTestUtils.setField(builder, "sqlRequestFileName", "unknown.sql");
+
+        // Then
+        assertThrows(IllegalStateException.class, () -> builder.afterPropertiesSet());
+    }
+
+    @Test
+    void build_concurrentRequests_filtersNotInterleaved() throws InterruptedException {
+        // Given
+        String periodSql = "select * from event\n" +
+                               "where timestamp between :periodFrom and :periodTo " +
+                               "and  ev.instance_id = :instanceId " +
+                               "and  ev.consent_id = :consentId order by timestamp ";
+        String paymentSql = "select * from event\n" +
+                                "where ev.payment_id = :paymentId " +
+                                "and  ev.event_type = :eventType order by timestamp ";
+        int threads = 8;
+        int iterations = 1000;
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        AtomicInteger mismatches = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        // When
+        for (int t = 0; t < threads; t++) {
+            boolean consentRequest = t % 2 == 0;
+            futures.add(executorService.submit(() -> {
+                startLatch.await();
+                for (int i = 0; i < iterations; i++) {
+                    String actualSql = consentRequest
+                                           ? builder.baseRequest().period().instanceId().consentId().build()
+                                           : builder.baseRequest().paymentId().eventType().build();
+                    if (!actualSql.equals(consentRequest ? periodSql : paymentSql)) {
+                        mismatches.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        startLatch.countDown();
+        for (Future<?> future : futures) {
+            assertDoesNotThrow(() -> future.get(30, TimeUnit.SECONDS));
+        }
+        executorService.shutdown();
+
+        // Then
+        assertEquals(0, mismatches.get());
+    }
 }
@@ -24,6 +24,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface EventReportRepository {
 
@@ -37,6 +38,23 @@ public interface EventReportRepository {
      */
     List<ReportEvent> getEventsForPeriod(@NotNull OffsetDateTime start, @NotNull OffsetDateTime end, @Nullable String instanceId);
 
+    /**
+     * Passes Event objects, recorded in given time period, to the consumer one by one without loading the whole result
+     * into memory. Events are ordered by timestamp and ID, so that key of the last received event can be used to
+     * continue reading in the next call.
+     *
+     * @param start          First date of the period
+     * @param end            Last date of the period
+     * @param instanceId     The id of particular service instance
+     * @param afterTimestamp Timestamp of the last received event, <code>null</code> to start from the beginning of the period
+     * @param afterId        ID of the last received event, <code>null</code> to start from the beginning of the period
+     * @param limit          Maximum number of events to be passed, non-positive value means no limit
+     * @param consumer       Consumer of the events
+     */
+    void streamEventsForPeriod(@NotNull OffsetDateTime start, @NotNull OffsetDateTime end, @Nullable String instanceId,
+                               @Nullable OffsetDateTime afterTimestamp, @Nullable Long afterId, int limit,
+                               @NotNull Consumer<ReportEvent> consumer);
+
     /**
      * Returns a list of Event objects, recorded in given time period and with the given consentId
      *
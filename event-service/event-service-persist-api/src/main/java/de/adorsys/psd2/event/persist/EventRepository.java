@@ -18,6 +18,9 @@ package de.adorsys.psd2.event.persist;
 
 import de.adorsys.psd2.event.persist.model.EventPO;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 public interface EventRepository {
 
     /**
@@ -25,4 +28,14 @@ public interface EventRepository {
      * @return identifier of saved event
      */
     Long save(EventPO eventPO);
+
+    /**
+     * @param eventPOs list of {@link EventPO} objects for saving
+     * @return identifiers of saved events
+     */
+    default List<Long> saveAll(List<EventPO> eventPOs) {
+        return eventPOs.stream()
+                   .map(this::save)
+                   .collect(Collectors.toList());
+    }
 }
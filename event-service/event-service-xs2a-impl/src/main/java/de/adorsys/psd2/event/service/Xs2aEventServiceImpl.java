@@ -24,6 +24,9 @@ import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
 public class Xs2aEventServiceImpl implements Xs2aEventService {
@@ -35,4 +38,13 @@ public class Xs2aEventServiceImpl implements Xs2aEventService {
         EventPO eventPO = eventBOMapper.toEventPO(eventBO);
         return eventRepository.save(eventPO) != null;
     }
+
+    @Override
+    public boolean recordEvents(@NotNull List<EventBO> eventBOs) {
+        List<EventPO> eventPOs = eventBOs.stream()
+                                     .map(eventBOMapper::toEventPO)
+                                     .collect(Collectors.toList());
+        List<Long> ids = eventRepository.saveAll(eventPOs);
+        return ids.size() == eventPOs.size() && !ids.contains(null);
+    }
 }
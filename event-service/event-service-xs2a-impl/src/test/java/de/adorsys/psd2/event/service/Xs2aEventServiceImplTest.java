@@ -27,6 +27,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -55,4 +59,26 @@ class Xs2aEventServiceImplTest {
 
         verify(eventRepository, times(1)).save(any(EventPO.class));
     }
+
+    @Test
+    void recordEvents() {
+        EventBO eventBO = jsonReader.getObjectFromFile("json/event-po.json", EventBO.class);
+        EventPO eventPO = new EventPO();
+        when(mapper.toEventPO(eventBO)).thenReturn(eventPO);
+        when(eventRepository.saveAll(Arrays.asList(eventPO, eventPO))).thenReturn(Arrays.asList(100L, 101L));
+
+        assertTrue(xs2aEventService.recordEvents(Arrays.asList(eventBO, eventBO)));
+
+        verify(eventRepository, never()).save(any(EventPO.class));
+    }
+
+    @Test
+    void recordEvents_notAllSaved() {
+        EventBO eventBO = jsonReader.getObjectFromFile("json/event-po.json", EventBO.class);
+        EventPO eventPO = new EventPO();
+        when(mapper.toEventPO(eventBO)).thenReturn(eventPO);
+        when(eventRepository.saveAll(Collections.singletonList(eventPO))).thenReturn(Collections.emptyList());
+
+        assertFalse(xs2aEventService.recordEvents(Collections.singletonList(eventBO)));
+    }
 }
@@ -51,6 +51,17 @@ public class CertificateExtractorUtil {
     }
 
     public static TppCertificateData extract(String encodedCert) throws CertificateValidationException {
+        return extract(parseCertificate(encodedCert));
+    }
+
+    /**
+     * Parses PEM encoded certificate, which may also be URL encoded
+     *
+     * @param encodedCert encoded certificate
+     * @return parsed certificate
+     * @throws CertificateValidationException if the certificate couldn't be parsed
+     */
+    public static X509Certificate parseCertificate(String encodedCert) throws CertificateValidationException {
         X509Certificate cert = X509CertUtils.parse(encodedCert);
         if (cert == null) {
             byte[] encodedCertData = encodedCert.getBytes();
@@ -62,6 +73,10 @@ public class CertificateExtractorUtil {
             throw new CertificateValidationException(CertificateErrorMsgCode.CERTIFICATE_INVALID.toString());
         }
 
+        return cert;
+    }
+
+    public static TppCertificateData extract(X509Certificate cert) throws CertificateValidationException {
         List<String> roles = new ArrayList<>();
 
         TppCertificateData tppCertData = new TppCertificateData();
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.validator.certificate.util;
+
+import com.nimbusds.jose.util.X509CertUtils;
+import no.difi.certvalidator.api.CertificateValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.X509Certificate;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded LRU cache for parsed TPP certificates.
+ * <p>
+ * Entries are keyed by SHA-256 hash of the encoded certificate as received in the request header, so the same
+ * certificate is parsed and its PSD2 attributes are extracted only once. Every entry expires at <code>notAfter</code>
+ * date of its certificate, already expired certificates are not cached at all. The hash is also exposed as
+ * {@link TppCertificateData#getFingerprint() fingerprint} of the certificate.
+ */
+public class TppCertificateCache {
+    private static final String QWAC_KEY_PREFIX = "qwac:";
+    private static final String SIGNATURE_KEY_PREFIX = "signature:";
+
+    private final Map<String, CachedCertificate> entries;
+    private final int maxSize;
+    private final Clock clock;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    /**
+     * @param maxSize maximum number of cached certificates
+     */
+    public TppCertificateCache(int maxSize) {
+        this(maxSize, Clock.systemUTC());
+    }
+
+    TppCertificateCache(int maxSize, Clock clock) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("TPP certificate cache size must be positive");
+        }
+        this.maxSize = maxSize;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<String, CachedCertificate>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedCertificate> eldest) {
+                boolean evict = size() > TppCertificateCache.this.maxSize;
+                if (evict) {
+                    evictionCount.increment();
+                }
+                return evict;
+            }
+        };
+    }
+
+    /**
+     * Returns data extracted from TPP QWAC certificate, parsing the certificate only if it isn't in the cache yet
+     *
+     * @param encodedCert encoded QWAC certificate
+     * @return new copy of extracted certificate data, that may be modified by the caller
+     * @throws CertificateValidationException if the certificate couldn't be parsed
+     */
+    public TppCertificateData getTppCertificateData(String encodedCert) throws CertificateValidationException {
+        String fingerprint = hash(encodedCert);
+        String cacheKey = QWAC_KEY_PREFIX + fingerprint;
+        CachedCertificate cachedCertificate = get(cacheKey);
+
+        if (cachedCertificate == null) {
+            X509Certificate certificate = CertificateExtractorUtil.parseCertificate(encodedCert);
+            TppCertificateData tppCertificateData = CertificateExtractorUtil.extract(certificate);
+            tppCertificateData.setFingerprint(fingerprint);
+            cachedCertificate = new CachedCertificate(certificate, tppCertificateData);
+            put(cacheKey, cachedCertificate);
+        }
+
+        return copyOf(cachedCertificate.tppCertificateData);
+    }
+
+    /**
+     * Returns TPP signature certificate, parsing it only if it isn't in the cache yet
+     *
+     * @param encodedCert encoded signature certificate
+     * @return parsed certificate or <code>null</code> if the certificate couldn't be parsed
+     */
+    public X509Certificate getSignatureCertificate(String encodedCert) {
+        String cacheKey = SIGNATURE_KEY_PREFIX + hash(encodedCert);
+        CachedCertificate cachedCertificate = get(cacheKey);
+
+        if (cachedCertificate == null) {
+            X509Certificate certificate = X509CertUtils.parse(CertificateUtils.normalizeCertificate(encodedCert));
+            if (certificate == null) {
+                return null;
+            }
+            cachedCertificate = new CachedCertificate(certificate, null);
+            put(cacheKey, cachedCertificate);
+        }
+
+        return cachedCertificate.certificate;
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "TppCertificateCache{size=" + size() + ", maxSize=" + maxSize
+                   + ", hits=" + getHitCount() + ", misses=" + getMissCount() + ", evictions=" + getEvictionCount() + "}";
+    }
+
+    private CachedCertificate get(String cacheKey) {
+        synchronized (entries) {
+            CachedCertificate cachedCertificate = entries.get(cacheKey);
+
+            if (cachedCertificate == null) {
+                missCount.increment();
+                return null;
+            }
+
+            if (cachedCertificate.isExpired(clock.millis())) {
+                entries.remove(cacheKey);
+                evictionCount.increment();
+                missCount.increment();
+                return null;
+            }
+
+            hitCount.increment();
+            return cachedCertificate;
+        }
+    }
+
+    private void put(String cacheKey, CachedCertificate cachedCertificate) {
+        if (cachedCertificate.isExpired(clock.millis())) {
+            return;
+        }
+
+        synchronized (entries) {
+            entries.put(cacheKey, cachedCertificate);
+        }
+    }
+
+    private String hash(String encodedCert) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(encodedCert.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is required to be supported by every Java platform
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private TppCertificateData copyOf(TppCertificateData source) {
+        TppCertificateData copy = new TppCertificateData();
+        copy.setPspAuthorisationNumber(source.getPspAuthorisationNumber());
+        copy.setPspRoles(new ArrayList<>(source.getPspRoles()));
+        copy.setName(source.getName());
+        copy.setPspAuthorityName(source.getPspAuthorityName());
+        copy.setPspAuthorityId(source.getPspAuthorityId());
+        copy.setCountry(source.getCountry());
+        copy.setOrganisation(source.getOrganisation());
+        copy.setOrganisationUnit(source.getOrganisationUnit());
+        copy.setCity(source.getCity());
+        copy.setState(source.getState());
+        copy.setIssuerCN(source.getIssuerCN());
+        copy.setNotAfter(source.getNotAfter() == null ? null : new Date(source.getNotAfter().getTime()));
+        copy.setDnsList(new ArrayList<>(source.getDnsList()));
+        copy.setFingerprint(source.getFingerprint());
+        return copy;
+    }
+
+    private static class CachedCertificate {
+        private final X509Certificate certificate;
+        private final TppCertificateData tppCertificateData;
+        private final long notAfter;
+
+        private CachedCertificate(X509Certificate certificate, TppCertificateData tppCertificateData) {
+            this.certificate = certificate;
+            this.tppCertificateData = tppCertificateData;
+            this.notAfter = certificate.getNotAfter().getTime();
+        }
+
+        private boolean isExpired(long now) {
+            return now > notAfter;
+        }
+    }
+}
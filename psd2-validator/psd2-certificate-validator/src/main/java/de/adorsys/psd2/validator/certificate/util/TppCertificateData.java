@@ -37,4 +37,5 @@ public class TppCertificateData {
     private String issuerCN;
     private Date notAfter;
     private List<String> dnsList = new ArrayList<>();
+    private String fingerprint;
 }
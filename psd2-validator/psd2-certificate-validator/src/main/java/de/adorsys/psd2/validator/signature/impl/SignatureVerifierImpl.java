@@ -19,6 +19,7 @@ package de.adorsys.psd2.validator.signature.impl;
 
 import com.nimbusds.jose.util.X509CertUtils;
 import de.adorsys.psd2.validator.certificate.util.CertificateUtils;
+import de.adorsys.psd2.validator.certificate.util.TppCertificateCache;
 import de.adorsys.psd2.validator.signature.SignatureVerifier;
 import de.adorsys.psd2.validator.signature.service.CertificateConstants;
 import de.adorsys.psd2.validator.signature.service.RequestHeaders;
@@ -32,12 +33,22 @@ import java.util.Map;
 
 @Slf4j
 public class SignatureVerifierImpl implements SignatureVerifier {
+    private final TppCertificateCache tppCertificateCache;
+
+    public SignatureVerifierImpl() {
+        this(null);
+    }
+
+    /**
+     * @param tppCertificateCache cache for parsed TPP signature certificates, <code>null</code> disables caching
+     */
+    public SignatureVerifierImpl(TppCertificateCache tppCertificateCache) {
+        this.tppCertificateCache = tppCertificateCache;
+    }
 
     @Override
     public boolean verify(String signature, String tppEncodedCert, Map<String, String> headers, String method, String url) {
-        X509Certificate certificate = X509CertUtils.parse(
-            CertificateUtils.normalizeCertificate(tppEncodedCert)
-        );
+        X509Certificate certificate = parseCertificate(tppEncodedCert);
 
         if (certificate == null) {
             log.warn("TPP Certificate couldn't be parsed!");
@@ -62,6 +73,16 @@ public class SignatureVerifierImpl implements SignatureVerifier {
         }
     }
 
+    private X509Certificate parseCertificate(String tppEncodedCert) {
+        if (tppCertificateCache != null) {
+            return tppCertificateCache.getSignatureCertificate(tppEncodedCert);
+        }
+
+        return X509CertUtils.parse(
+            CertificateUtils.normalizeCertificate(tppEncodedCert)
+        );
+    }
+
     private boolean isKeyIdValid(X509Certificate certificate, String keyId) {
         return StringUtils.equals(keyId, getKeyIdFromCertificate(certificate));
     }
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.validator.certificate.util;
+
+import no.difi.certvalidator.api.CertificateValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TppCertificateCacheTest {
+    private static final String VALID_CERTIFICATE = CertificateUtils.getCertificateByName("certificateValid.crt");
+    private static final String CERTIFICATE_WITH_DNS = CertificateUtils.getCertificateByName("certificateWithDNSValid.crt");
+    private static final String INVALID_CERTIFICATE = CertificateUtils.getCertificateByName("certificateInvalid.crt");
+    private static final Clock CLOCK_BEFORE_EXPIRATION = Clock.fixed(Instant.parse("2018-06-01T00:00:00Z"), ZoneOffset.UTC);
+    private static final Clock CLOCK_AFTER_EXPIRATION = Clock.fixed(Instant.parse("2018-07-01T00:00:00Z"), ZoneOffset.UTC);
+
+    @Test
+    void getTppCertificateData_sameCertificate_parsedOnce() throws CertificateValidationException {
+        // Given
+        TppCertificateCache tppCertificateCache = new TppCertificateCache(10, CLOCK_BEFORE_EXPIRATION);
+
+        // When
+        TppCertificateData first = tppCertificateCache.getTppCertificateData(VALID_CERTIFICATE);
+        TppCertificateData second = tppCertificateCache.getTppCertificateData(VALID_CERTIFICATE);
+
+        // Then
+        TppCertificateData expected = CertificateExtractorUtil.extract(VALID_CERTIFICATE);
+        expected.setFingerprint(first.getFingerprint());
+        assertNotNull(first.getFingerprint());
+        assertEquals(expected, first);
+        assertEquals(first, second);
+        assertNotSame(first, second);
+        assertEquals(1, tppCertificateCache.getMissCount());
+        assertEquals(1, tppCertificateCache.getHitCount());
+        assertEquals(1, tppCertificateCache.size());
+    }
+
+    @Test
+    void getTppCertificateData_returnedDataModified_cachedDataNotChanged() throws CertificateValidationException {
+        // Given
+        TppCertificateCache tppCertificateCache = new TppCertificateCache(10, CLOCK_BEFORE_EXPIRATION);
+        TppCertificateData first = tppCertificateCache.getTppCertificateData(VALID_CERTIFICATE);
+
+        // When
+        first.getPspRoles().clear();
+        first.setName("modified");
+
+        // Then
+        TppCertificateData actual = tppCertificateCache.getTppCertificateData(VALID_CERTIFICATE);
+        TppCertificateData expected = CertificateExtractorUtil.extract(VALID_CERTIFICATE);
+        expected.setFingerprint(actual.getFingerprint());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void getTppCertificateData_expiredCertificate_notCached() throws CertificateValidationException {
+        // Given
+        TppCertificateCache tppCertificateCache = new TppCertificateCache(10, CLOCK_AFTER_EXPIRATION);
+
+        // When
+        tppCertificateCache.getTppCertificateData(VALID_CERTIFICATE);
+        tppCertificateCache.getTppCertificateData(VALID_CERTIFICATE);
+
+        // Then
+        assertEquals(0, tppCertificateCache.size());
+        assertEquals(2, tppCertificateCache.getMissCount());
+    }
+
+    @Test
+    void getTppCertificateData_maxSizeExceeded_leastRecentlyUsedEvicted() throws CertificateValidationException {
+        // Given
+        TppCertificateCache tppCertificateCache = new TppCertificateCache(1, CLOCK_BEFORE_EXPIRATION);
+        tppCertificateCache.getTppCertificateData(VALID_CERTIFICATE);
+
+        // When
+        tppCertificateCache.getTppCertificateData(CERTIFICATE_WITH_DNS);
+
+        // Then
+        assertEquals(1, tppCertificateCache.size());
+        assertEquals(1, tppCertificateCache.getEvictionCount());
+    }
+
+    @Test
+    void getTppCertificateData_invalidCertificate_exception() {
+        // Given
+        TppCertificateCache tppCertificateCache = new TppCertificateCache(10, CLOCK_BEFORE_EXPIRATION);
+
+        // When
+        // Then
+        assertThrows(CertificateValidationException.class, () -> tppCertificateCache.getTppCertificateData(INVALID_CERTIFICATE));
+        assertEquals(0, tppCertificateCache.size());
+    }
+
+    @Test
+    void getSignatureCertificate_invalidCertificate_null() {
+        // Given
+        TppCertificateCache tppCertificateCache = new TppCertificateCache(10, CLOCK_BEFORE_EXPIRATION);
+
+        // When
+        // Then
+        assertNull(tppCertificateCache.getSignatureCertificate("invalid certificate"));
+        assertEquals(0, tppCertificateCache.size());
+    }
+}
@@ -16,6 +16,7 @@
 
 package de.adorsys.psd2.validator.signature.impl;
 
+import de.adorsys.psd2.validator.certificate.util.TppCertificateCache;
 import de.adorsys.xs2a.reader.JsonReader;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -57,6 +58,23 @@ class SignatureVerifierImplTest {
         assertThat(actualResult).isTrue();
     }
 
+    @Test
+    void verify_withCertificateCache_certificateParsedOnce() {
+        // given
+        TppCertificateCache tppCertificateCache = new TppCertificateCache(10);
+        signatureVerifier = new SignatureVerifierImpl(tppCertificateCache);
+
+        // when
+        boolean firstResult = signatureVerifier.verify(signature(), certificate(), headerMap, POST_METHOD, URI);
+        boolean secondResult = signatureVerifier.verify(signature(), certificate(), headerMap, POST_METHOD, URI);
+
+        // then
+        assertThat(firstResult).isTrue();
+        assertThat(secondResult).isTrue();
+        assertThat(tppCertificateCache.getMissCount()).isEqualTo(1);
+        assertThat(tppCertificateCache.getHitCount()).isEqualTo(1);
+    }
+
     @Test
     void verify_success_GET() {
         // when
@@ -16,68 +16,190 @@
 
 package de.adorsys.psd2.xs2a.component;
 
-import org.apache.commons.io.IOUtils;
+import de.adorsys.psd2.xs2a.exception.RequestBodyTooLargeException;
 
 import javax.servlet.ReadListener;
 import javax.servlet.ServletInputStream;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletRequestWrapper;
-import java.io.*;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
 
 /**
- * This class decorates incoming HttpServletRequest, caches its body and is used by spring framework further
+ * This class decorates incoming HttpServletRequest, caches its body and is used by spring framework further.
+ * <p>
+ * The body is read only once into a single buffer, every stream returned by {@link #getInputStream()} reads
+ * this buffer directly without copying it.
  */
 public class MultiReadHttpServletRequest extends HttpServletRequestWrapper {
-    private ByteArrayOutputStream cachedBytes;
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+    private static final int MAX_INITIAL_BUFFER_SIZE = 65536;
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    private final long maxBodySize;
+    private ByteBuffer cachedBody;
 
     public MultiReadHttpServletRequest(HttpServletRequest request) {
+        this(request, 0);
+    }
+
+    /**
+     * @param request     request to be decorated
+     * @param maxBodySize maximum size of the body in bytes, non-positive value disables the limit
+     */
+    public MultiReadHttpServletRequest(HttpServletRequest request, long maxBodySize) {
         super(request);
+        this.maxBodySize = maxBodySize;
     }
 
     @Override
     public ServletInputStream getInputStream() throws IOException {
-        if (cachedBytes == null) {
-            cacheInputStream();
-        }
-
-        return new CachedServletInputStream();
+        return new CachedServletInputStream(getCachedBody());
     }
 
     @Override
     public BufferedReader getReader() throws IOException {
-        return new BufferedReader(new InputStreamReader(getInputStream()));
+        return new BufferedReader(new InputStreamReader(getInputStream(), getBodyCharset()));
+    }
+
+    /**
+     * Returns cached body of the request, reading it from the original request on the first call
+     *
+     * @return read-only buffer with the body
+     * @throws RequestBodyTooLargeException if the body exceeds maximum allowed size
+     * @throws IOException                  if the body couldn't be read
+     */
+    public ByteBuffer getCachedBody() throws IOException {
+        if (cachedBody == null) {
+            cachedBody = readBody();
+        }
+
+        return cachedBody.duplicate();
+    }
+
+    private ByteBuffer readBody() throws IOException {
+        long contentLength = getContentLengthLong();
+        checkBodySize(contentLength);
+
+        // Content-Length is supplied by the client, so it only sizes the initial buffer up to a limit, the buffer grows while reading
+        byte[] buffer = new byte[contentLength >= 0 ? (int) Math.min(contentLength, MAX_INITIAL_BUFFER_SIZE) : DEFAULT_BUFFER_SIZE];
+        int count = 0;
+        InputStream inputStream = super.getInputStream();
+
+        while (true) {
+            if (count == buffer.length) {
+                int next = inputStream.read();
+                if (next == -1) {
+                    break;
+                }
+                checkBodySize(count + 1L);
+                buffer = Arrays.copyOf(buffer, Math.max(DEFAULT_BUFFER_SIZE, (int) Math.min(buffer.length * 2L, MAX_ARRAY_SIZE)));
+                buffer[count++] = (byte) next;
+            }
+
+            int read = inputStream.read(buffer, count, buffer.length - count);
+            if (read == -1) {
+                break;
+            }
+            count += read;
+            checkBodySize(count);
+        }
+
+        return ByteBuffer.wrap(buffer, 0, count).slice().asReadOnlyBuffer();
+    }
+
+    private void checkBodySize(long size) throws RequestBodyTooLargeException {
+        if (maxBodySize > 0 && size > maxBodySize) {
+            throw new RequestBodyTooLargeException(maxBodySize);
+        }
     }
 
-    private void cacheInputStream() throws IOException {
-        cachedBytes = new ByteArrayOutputStream();
-        IOUtils.copy(super.getInputStream(), cachedBytes);
+    private Charset getBodyCharset() throws UnsupportedEncodingException {
+        String characterEncoding = getCharacterEncoding();
+        if (characterEncoding == null) {
+            return StandardCharsets.UTF_8;
+        }
+
+        try {
+            return Charset.forName(characterEncoding);
+        } catch (IllegalArgumentException e) {
+            throw new UnsupportedEncodingException(characterEncoding);
+        }
     }
 
-    private class CachedServletInputStream extends ServletInputStream {
-        private final ByteArrayInputStream input;
+    private static class CachedServletInputStream extends ServletInputStream {
+        private final ByteBuffer input;
 
-        public CachedServletInputStream() {
-            input = new ByteArrayInputStream(cachedBytes.toByteArray());
+        private CachedServletInputStream(ByteBuffer input) {
+            this.input = input;
         }
 
         @Override
         public int read() {
-            return input.read();
+            return input.hasRemaining()
+                       ? input.get() & 0xFF
+                       : -1;
         }
 
-		@Override
-		public boolean isFinished() {
-			return false;
-		}
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            Objects.checkFromIndexSize(offset, length, bytes.length);
+            if (length == 0) {
+                return 0;
+            }
+            if (!input.hasRemaining()) {
+                return -1;
+            }
+
+            int count = Math.min(length, input.remaining());
+            input.get(bytes, offset, count);
+            return count;
+        }
 
-		@Override
-		public boolean isReady() {
-			return false;
-		}
+        @Override
+        public long skip(long n) {
+            int count = (int) Math.max(0, Math.min(n, input.remaining()));
+            input.position(input.position() + count);
+            return count;
+        }
 
-		@Override
-		public void setReadListener(ReadListener readListener) {
-            // Auto-generated method stub
-		}
+        @Override
+        public int available() {
+            return input.remaining();
+        }
+
+        @Override
+        public boolean isFinished() {
+            return !input.hasRemaining();
+        }
+
+        @Override
+        public boolean isReady() {
+            // the whole body is already in memory, so reading never blocks
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            Objects.requireNonNull(readListener, "ReadListener must not be null");
+            try {
+                if (input.hasRemaining()) {
+                    readListener.onDataAvailable();
+                }
+                if (!input.hasRemaining()) {
+                    readListener.onAllDataRead();
+                }
+            } catch (IOException e) {
+                readListener.onError(e);
+            }
+        }
     }
 }
@@ -16,9 +16,9 @@
 
 package de.adorsys.psd2.xs2a.config;
 
-import de.adorsys.psd2.consent.api.service.TppStopListService;
 import de.adorsys.psd2.logger.context.LoggingContextService;
 import de.adorsys.psd2.mapper.Xs2aObjectMapper;
+import de.adorsys.psd2.validator.certificate.util.TppCertificateCache;
 import de.adorsys.psd2.validator.signature.DigestVerifier;
 import de.adorsys.psd2.validator.signature.SignatureVerifier;
 import de.adorsys.psd2.validator.signature.impl.DigestVerifierImpl;
@@ -26,6 +26,7 @@ import de.adorsys.psd2.validator.signature.impl.SignatureVerifierImpl;
 import de.adorsys.psd2.xs2a.component.PaymentTypeEnumConverter;
 import de.adorsys.psd2.xs2a.component.logger.request.RequestResponseLogger;
 import de.adorsys.psd2.xs2a.config.converter.MappingJackson2TextMessageConverter;
+import de.adorsys.psd2.xs2a.config.converter.ParsedBodyMappingJackson2HttpMessageConverter;
 import de.adorsys.psd2.xs2a.domain.InternalRequestIdHolder;
 import de.adorsys.psd2.xs2a.domain.RedirectIdHolder;
 import de.adorsys.psd2.xs2a.domain.ScaApproachHolder;
@@ -34,6 +35,7 @@ import de.adorsys.psd2.xs2a.service.TppService;
 import de.adorsys.psd2.xs2a.service.discovery.ServiceTypeDiscoveryService;
 import de.adorsys.psd2.xs2a.service.mapper.psd2.ErrorMapperContainer;
 import de.adorsys.psd2.xs2a.service.mapper.psd2.ServiceTypeToErrorTypeMapper;
+import de.adorsys.psd2.xs2a.service.tpp.TppStopListReplica;
 import de.adorsys.psd2.xs2a.service.validator.tpp.TppInfoHolder;
 import de.adorsys.psd2.xs2a.web.PathParameterExtractor;
 import de.adorsys.psd2.xs2a.web.advice.Xs2aRestExceptionHandler;
@@ -43,11 +45,13 @@ import de.adorsys.psd2.xs2a.web.interceptor.validator.PaymentParametersValidatio
 import de.adorsys.psd2.xs2a.web.interceptor.validator.RequestValidationInterceptor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
 import org.springframework.format.FormatterRegistry;
 import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.context.annotation.RequestScope;
 import org.springframework.web.servlet.HandlerExceptionResolver;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
@@ -69,7 +73,7 @@ public class WebConfig implements WebMvcConfigurer {
     @Qualifier("xs2aCorsConfigProperties")
     private final CorsConfigurationProperties corsConfigurationProperties;
     private final TppService tppService;
-    private final TppStopListService tppStopListService;
+    private final TppStopListReplica tppStopListReplica;
     private final ServiceTypeDiscoveryService serviceTypeDiscoveryService;
     private final ServiceTypeToErrorTypeMapper errorTypeMapper;
     private final ErrorMapperContainer errorMapperContainer;
@@ -103,7 +107,7 @@ public class WebConfig implements WebMvcConfigurer {
         registry.addInterceptor(new PaymentLoggingInterceptor(tppService, redirectIdService, loggingContextService, pathParameterExtractor)).addPathPatterns(SINGLE_PAYMENTS_PATH, BULK_PAYMENTS_PATH, PERIODIC_PAYMENTS_PATH);
         registry.addInterceptor(new SigningBasketLoggingInterceptor(tppService, redirectIdService, pathParameterExtractor)).addPathPatterns(SIGNING_BASKETS_PATH);
         registry.addInterceptor(new RequestResponseLoggingInterceptor(requestResponseLogger)).addPathPatterns(getAllXs2aEndpointPaths());
-        registry.addInterceptor(new TppStopListInterceptor(errorMapperContainer, tppService, tppStopListService, serviceTypeDiscoveryService, errorTypeMapper, xs2aObjectMapper))
+        registry.addInterceptor(new TppStopListInterceptor(errorMapperContainer, tppService, tppStopListReplica, serviceTypeDiscoveryService, errorTypeMapper, xs2aObjectMapper))
             .addPathPatterns(getAllXs2aEndpointPaths());
 
         // This interceptor cannot use some definite path from constants, as payment services have nothing common in
@@ -162,6 +166,10 @@ public class WebConfig implements WebMvcConfigurer {
 
     @Override
     public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // JSON converter is replaced only for Spring MVC, REST clients keep parsing their responses with the regular one
+        converters.replaceAll(converter -> converter.getClass() == MappingJackson2HttpMessageConverter.class
+                                               ? new ParsedBodyMappingJackson2HttpMessageConverter(xs2aObjectMapper)
+                                               : converter);
         converters.add(new MappingJackson2TextMessageConverter(xs2aObjectMapper));
     }
 
@@ -171,7 +179,12 @@ public class WebConfig implements WebMvcConfigurer {
     }
 
     @Bean
-    public SignatureVerifier signatureVerifier() {
-        return new SignatureVerifierImpl();
+    public SignatureVerifier signatureVerifier(TppCertificateCache tppCertificateCache) {
+        return new SignatureVerifierImpl(tppCertificateCache);
+    }
+
+    @Bean
+    public TppCertificateCache tppCertificateCache(@Value("${xs2a.tpp-certificate-cache.max-size:1000}") int maxSize) {
+        return new TppCertificateCache(maxSize);
     }
 }
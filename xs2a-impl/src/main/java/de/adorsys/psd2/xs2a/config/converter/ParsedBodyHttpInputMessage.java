@@ -0,0 +1,52 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.config.converter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Request body of XS2A endpoint, that has already been parsed into the JSON tree by body validators
+ */
+public class ParsedBodyHttpInputMessage implements HttpInputMessage {
+    private final HttpInputMessage inputMessage;
+    private final JsonNode parsedTree;
+
+    public ParsedBodyHttpInputMessage(@NotNull HttpInputMessage inputMessage, @NotNull JsonNode parsedTree) {
+        this.inputMessage = inputMessage;
+        this.parsedTree = parsedTree;
+    }
+
+    public JsonNode getParsedTree() {
+        return parsedTree;
+    }
+
+    @Override
+    public InputStream getBody() throws IOException {
+        return inputMessage.getBody();
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return inputMessage.getHeaders();
+    }
+}
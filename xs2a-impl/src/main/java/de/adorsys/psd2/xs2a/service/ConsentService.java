@@ -16,6 +16,10 @@
 
 package de.adorsys.psd2.xs2a.service;
 
+import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationRequest;
+import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationResponse;
+import de.adorsys.psd2.consent.api.consent.CompleteConsentCreationRequest;
+import de.adorsys.psd2.consent.api.consent.CompleteConsentCreationResponse;
 import de.adorsys.psd2.core.data.AccountAccess;
 import de.adorsys.psd2.core.data.ais.AisConsent;
 import de.adorsys.psd2.event.core.model.EventType;
@@ -38,9 +42,9 @@ import de.adorsys.psd2.xs2a.domain.consent.*;
 import de.adorsys.psd2.xs2a.service.authorization.AuthorisationMethodDecider;
 import de.adorsys.psd2.xs2a.service.authorization.Xs2aAuthorisationService;
 import de.adorsys.psd2.xs2a.service.authorization.ais.AisScaAuthorisationService;
-import de.adorsys.psd2.xs2a.service.authorization.ais.AisScaAuthorisationServiceResolver;
 import de.adorsys.psd2.xs2a.service.consent.AccountReferenceInConsentUpdater;
 import de.adorsys.psd2.xs2a.service.consent.Xs2aAisConsentService;
+import de.adorsys.psd2.xs2a.service.consent.Xs2aConsentService;
 import de.adorsys.psd2.xs2a.service.context.SpiContextDataProvider;
 import de.adorsys.psd2.xs2a.service.event.Xs2aEventService;
 import de.adorsys.psd2.xs2a.service.mapper.cms_xs2a_mappers.Xs2aAisConsentMapper;
@@ -73,7 +77,7 @@ public class ConsentService {
     private final Xs2aAisConsentMapper aisConsentMapper;
     private final SpiToXs2aAccountAccessMapper spiToXs2aAccountAccessMapper;
     private final Xs2aAisConsentService aisConsentService;
-    private final AisScaAuthorisationServiceResolver aisScaAuthorisationServiceResolver;
+    private final Xs2aConsentService xs2aConsentService;
     private final TppService tppService;
     private final SpiContextDataProvider spiContextDataProvider;
     private final AuthorisationMethodDecider authorisationMethodDecider;
@@ -136,9 +140,9 @@ public class ConsentService {
         SpiResponse<SpiInitiateAisConsentResponse> initiateAisConsentSpiResponse = aisConsentSpi.initiateAisConsent(contextData, aisConsentMapper.mapToSpiAccountConsent(aisConsent), aspspConsentDataProvider);
 
         String encryptedConsentId = createAisConsentResponse.getConsentId();
-        aspspConsentDataProvider.saveWith(encryptedConsentId);
 
         if (initiateAisConsentSpiResponse.hasError()) {
+            aspspConsentDataProvider.saveWith(encryptedConsentId);
             aisConsentService.updateConsentStatus(encryptedConsentId, ConsentStatus.REJECTED);
             ErrorHolder errorHolder = spiErrorMapper.mapToErrorHolder(initiateAisConsentSpiResponse, ServiceType.AIS);
             log.info("Consent-ID: [{}]. Create account consent  with response failed. Consent rejected. Couldn't initiate AIS consent at SPI level: {}",
@@ -152,7 +156,26 @@ public class ConsentService {
         boolean multilevelScaRequired = spiResponsePayload.isMultilevelScaRequired()
                                             && !aisScaAuthorisationService.isOneFactorAuthorisation(aisConsent);
 
-        updateMultilevelSca(encryptedConsentId, multilevelScaRequired);
+        // ASPSP consent data, multilevel SCA indicator and implicit authorisation are stored in CMS in one request
+        boolean implicitMethod = authorisationMethodDecider.isImplicitMethod(explicitPreferred, multilevelScaRequired);
+        CreateAuthorisationRequest authorisationRequest = implicitMethod
+                                                              ? xs2aConsentService.buildCreateAuthorisationRequest(ScaStatus.RECEIVED, psuData)
+                                                              : null;
+        CompleteConsentCreationRequest completeConsentCreationRequest = new CompleteConsentCreationRequest(aspspConsentDataProvider.loadAspspConsentData(), multilevelScaRequired, authorisationRequest);
+        Optional<CompleteConsentCreationResponse> completeConsentCreationResponse = aisConsentService.completeConsentCreation(encryptedConsentId, completeConsentCreationRequest);
+
+        if (completeConsentCreationResponse.isEmpty()) {
+            // Nothing of the composite request was stored, so the consent can't be used without ASPSP consent data and authorisation
+            aspspConsentDataProvider.saveWith(encryptedConsentId);
+            aisConsentService.updateConsentStatus(encryptedConsentId, ConsentStatus.REJECTED);
+            log.info("Consent-ID: [{}]. Create account consent with response failed. Consent rejected. Couldn't complete consent creation in CMS",
+                     encryptedConsentId);
+            return ResponseObject.<CreateConsentResponse>builder()
+                       .fail(ErrorType.AIS_500, of(MessageErrorCode.INTERNAL_SERVER_ERROR))
+                       .build();
+        }
+
+        aspspConsentDataProvider.linkWith(encryptedConsentId);
 
         Optional<AccountAccess> xs2aAccountAccess = spiToXs2aAccountAccessMapper.mapToAccountAccess(spiResponsePayload.getAccountAccess());
         xs2aAccountAccess.ifPresent(accountAccess ->
@@ -169,22 +192,14 @@ public class ConsentService {
 
         ResponseObject<CreateConsentResponse> createConsentResponseObject = ResponseObject.<CreateConsentResponse>builder().body(createConsentResponse).build();
 
-        if (authorisationMethodDecider.isImplicitMethod(explicitPreferred, multilevelScaRequired)) {
-            proceedImplicitCaseForCreateConsent(createConsentResponseObject.getBody(), psuData, encryptedConsentId);
-        }
+        Optional.ofNullable(completeConsentCreationResponse.get().getAuthorisation())
+            .ifPresent(authorisation -> proceedImplicitCaseForCreateConsent(createConsentResponse, authorisation));
 
         loggingContextService.storeConsentStatus(consentStatus);
 
         return createConsentResponseObject;
     }
 
-    private void updateMultilevelSca(String consentId, boolean multilevelScaRequired) {
-        // default value is false, so we do the call only for non-default (true) case
-        if (multilevelScaRequired) {
-            aisConsentService.updateMultilevelScaRequired(consentId, multilevelScaRequired);
-        }
-    }
-
     /**
      * Returns status of requested consent
      *
@@ -422,12 +437,9 @@ public class ConsentService {
         return aisConsentSpi.getConsentStatus(spiContextDataProvider.provide(), spiAccountConsent, aspspDataProvider);
     }
 
-    private void proceedImplicitCaseForCreateConsent(CreateConsentResponse response, PsuIdData psuData, String consentId) {
-        aisScaAuthorisationServiceResolver.getService().createConsentAuthorization(psuData, consentId)
-            .ifPresent(a -> {
-                response.setAuthorizationId(a.getAuthorisationId());
-                loggingContextService.storeScaStatus(a.getScaStatus());
-            });
+    private void proceedImplicitCaseForCreateConsent(CreateConsentResponse response, CreateAuthorisationResponse authorisation) {
+        response.setAuthorizationId(authorisation.getAuthorizationId());
+        loggingContextService.storeScaStatus(authorisation.getScaStatus());
     }
 
     private SpiContextData getSpiContextData() {
@@ -38,6 +38,7 @@ import de.adorsys.psd2.xs2a.service.payment.Xs2aUpdatePaymentAfterSpiService;
 import de.adorsys.psd2.xs2a.service.payment.cancel.CancelPaymentService;
 import de.adorsys.psd2.xs2a.service.payment.create.CreatePaymentService;
 import de.adorsys.psd2.xs2a.service.payment.read.ReadPaymentService;
+import de.adorsys.psd2.xs2a.service.payment.status.PaymentStatusCache;
 import de.adorsys.psd2.xs2a.service.payment.status.ReadPaymentStatusService;
 import de.adorsys.psd2.xs2a.service.validator.pis.payment.*;
 import de.adorsys.psd2.xs2a.service.validator.pis.payment.dto.CreatePaymentRequestObject;
@@ -45,6 +46,7 @@ import de.adorsys.psd2.xs2a.spi.domain.SpiContextData;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 
@@ -74,6 +76,7 @@ public class PaymentService {
     private final PaymentServiceResolver paymentServiceResolver;
     private final LoggingContextService loggingContextService;
     private final ScaApproachResolver scaApproachResolver;
+    private final PaymentStatusCache paymentStatusCache;
 
     /**
      * Initiates a payment though "payment service" corresponding service method
@@ -173,7 +176,8 @@ public class PaymentService {
     }
 
     /**
-     * Retrieves payment status from ASPSP
+     * Retrieves payment status from ASPSP. Finalised statuses are answered from CMS, not finalised statuses read from
+     * ASPSP are kept in {@link PaymentStatusCache} for a short time.
      *
      * @param paymentType        The addressed payment category Single, Periodic or Bulk
      * @param paymentProduct     payment product used for payment creation (e.g. sepa-credit-transfers, instant-sepa-credit-transfers...)
@@ -201,14 +205,19 @@ public class PaymentService {
                        .build();
         }
 
-        if (pisCommonPaymentResponse.getTransactionStatus() == TransactionStatus.RJCT) {
-            return ResponseObject.<GetPaymentStatusResponse>builder().body(new GetPaymentStatusResponse(TransactionStatus.RJCT, null, MediaType.APPLICATION_JSON, null, null)).build();
-        }
+        String acceptHeader = requestProviderService.getAcceptHeader();
+        TransactionStatus cmsTransactionStatus = pisCommonPaymentResponse.getTransactionStatus();
 
-        SpiContextData spiContextData = spiContextDataProvider.provideWithPsuIdData(getPsuIdDataFromRequest());
+        if (isFinalisedStatusReadableFromCms(cmsTransactionStatus, acceptHeader)) {
+            loggingContextService.storeTransactionStatus(cmsTransactionStatus);
+            return ResponseObject.<GetPaymentStatusResponse>builder().body(new GetPaymentStatusResponse(cmsTransactionStatus, null, MediaType.APPLICATION_JSON, null, null)).build();
+        }
 
         ReadPaymentStatusService readPaymentStatusService = paymentServiceResolver.getReadPaymentStatusService(pisCommonPaymentResponse);
-        ReadPaymentStatusResponse readPaymentStatusResponse = readPaymentStatusService.readPaymentStatus(pisCommonPaymentResponse, spiContextData, encryptedPaymentId, requestProviderService.getAcceptHeader());
+        ReadPaymentStatusResponse readPaymentStatusResponse = paymentStatusCache.getOrLoad(encryptedPaymentId, acceptHeader, () -> {
+            SpiContextData spiContextData = spiContextDataProvider.provideWithPsuIdData(getPsuIdDataFromRequest());
+            return readPaymentStatusService.readPaymentStatus(pisCommonPaymentResponse, spiContextData, encryptedPaymentId, acceptHeader);
+        });
 
         if (readPaymentStatusResponse.hasError()) {
             ErrorHolder errorHolder = readPaymentStatusResponse.getErrorHolder();
@@ -227,7 +236,8 @@ public class PaymentService {
                        .build();
         }
 
-        if (!updatePaymentAfterSpiService.updatePaymentStatus(encryptedPaymentId, transactionStatus)) {
+        if (transactionStatus != cmsTransactionStatus
+                && !updatePaymentAfterSpiService.updatePaymentStatus(encryptedPaymentId, transactionStatus)) {
             log.info("Payment ID: [{}], Transaction status: [{}]. Update of a payment status in the CMS has failed.",
                      encryptedPaymentId, transactionStatus);
         }
@@ -309,6 +319,33 @@ public class PaymentService {
         return !EnumSet.of(ScaApproach.REDIRECT, ScaApproach.EMBEDDED, ScaApproach.DECOUPLED).contains(scaApproach);
     }
 
+    /**
+     * Checks whether payment status can be answered from CMS without calling SPI. Rejected payments are always answered
+     * from CMS, other finalised statuses - only if the TPP accepts JSON, as raw status can be provided by SPI only.
+     */
+    private boolean isFinalisedStatusReadableFromCms(TransactionStatus transactionStatus, String acceptHeader) {
+        if (transactionStatus == TransactionStatus.RJCT) {
+            return true;
+        }
+
+        return transactionStatus != null
+                   && transactionStatus.isFinalisedStatus()
+                   && isJsonAccepted(acceptHeader);
+    }
+
+    private boolean isJsonAccepted(String acceptHeader) {
+        if (StringUtils.isBlank(acceptHeader)) {
+            return true;
+        }
+
+        try {
+            return MediaType.parseMediaTypes(acceptHeader).stream()
+                       .anyMatch(MediaType.APPLICATION_JSON::isCompatibleWith);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
     private String resolveContentType(String contentTypeBeforeSpi, String contentTypeAfterSpi) {
         String responseContentType = StringUtils.defaultIfBlank(contentTypeAfterSpi, contentTypeBeforeSpi);
         if (MediaType.ALL_VALUE.equals(responseContentType)) {
@@ -16,6 +16,7 @@
 
 package de.adorsys.psd2.xs2a.service.ais;
 
+import de.adorsys.psd2.consent.api.ais.AisConsentUsageReservation;
 import de.adorsys.psd2.core.data.ais.AisConsent;
 import de.adorsys.psd2.event.core.model.EventType;
 import de.adorsys.psd2.logger.context.LoggingContextService;
@@ -33,6 +34,8 @@ import java.util.List;
 import java.util.Optional;
 
 import static de.adorsys.psd2.xs2a.core.error.ErrorType.AIS_400;
+import static de.adorsys.psd2.xs2a.core.error.ErrorType.AIS_429;
+import static de.adorsys.psd2.xs2a.core.error.MessageErrorCode.ACCESS_EXCEEDED;
 import static de.adorsys.psd2.xs2a.core.error.MessageErrorCode.CONSENT_UNKNOWN_400;
 
 @Slf4j
@@ -75,15 +78,38 @@ public abstract class AbstractBalanceService {
                        .build();
         }
 
-        SpiResponse<List<SpiAccountBalance>> spiResponse = getSpiResponse(aisConsent, consentId, accountId);
+        boolean updateUsage = accountServicesHolder.needsToUpdateUsage(aisConsent);
+        Optional<AisConsentUsageReservation> usageReservationOptional = accountServicesHolder.reserveConsentUsage(accountServicesHolder.getTppId(), consentId, requestUri, updateUsage, accountId, null);
+        if (usageReservationOptional.isEmpty()) {
+            log.info("Account-ID [{}], Consent-ID [{}], RequestUri [{}]. Get balances report failed: frequency per day of the consent is exceeded",
+                     accountId, consentId, requestUri);
+            return ResponseObject.<Xs2aBalancesReport>builder()
+                       .fail(AIS_429, TppMessageInformation.of(ACCESS_EXCEEDED))
+                       .build();
+        }
+
+        AisConsentUsageReservation usageReservation = usageReservationOptional.get();
+        SpiResponse<List<SpiAccountBalance>> spiResponse;
+        try {
+            spiResponse = getSpiResponse(aisConsent, consentId, accountId);
+        } catch (RuntimeException e) {
+            accountServicesHolder.releaseConsentUsage(consentId, requestUri, usageReservation);
+            throw e;
+        }
 
         if (spiResponse.hasError()) {
+            accountServicesHolder.releaseConsentUsage(consentId, requestUri, usageReservation);
             return checkSpiResponse(consentId, accountId, spiResponse);
         }
 
         loggingContextService.storeConsentStatus(aisConsent.getConsentStatus());
 
-        return getXs2aBalancesReportResponseObject(aisConsent, accountId, consentId, requestUri, spiResponse.getPayload());
+        ResponseObject<Xs2aBalancesReport> response = getXs2aBalancesReportResponseObject(aisConsent, accountId, consentId, requestUri, spiResponse.getPayload(), usageReservation);
+        if (response.hasError()) {
+            accountServicesHolder.releaseConsentUsage(consentId, requestUri, usageReservation);
+        }
+
+        return response;
     }
 
     protected abstract EventType getEventType();
@@ -98,5 +124,6 @@ public abstract class AbstractBalanceService {
                                                                                               String accountId,
                                                                                               String consentId,
                                                                                               String requestUri,
-                                                                                              List<SpiAccountBalance> payload);
+                                                                                              List<SpiAccountBalance> payload,
+                                                                                              AisConsentUsageReservation usageReservation);
 }
@@ -17,6 +17,7 @@
 package de.adorsys.psd2.xs2a.service.ais;
 
 import de.adorsys.psd2.consent.api.TypeAccess;
+import de.adorsys.psd2.consent.api.ais.AisConsentUsageReservation;
 import de.adorsys.psd2.core.data.AccountAccess;
 import de.adorsys.psd2.core.data.ais.AisConsent;
 import de.adorsys.psd2.event.core.model.EventType;
@@ -49,6 +50,8 @@ import org.springframework.stereotype.Service;
 import java.util.Optional;
 
 import static de.adorsys.psd2.xs2a.core.error.ErrorType.AIS_400;
+import static de.adorsys.psd2.xs2a.core.error.ErrorType.AIS_429;
+import static de.adorsys.psd2.xs2a.core.error.MessageErrorCode.ACCESS_EXCEEDED;
 import static de.adorsys.psd2.xs2a.core.error.MessageErrorCode.CONSENT_UNKNOWN_400;
 
 @Slf4j
@@ -106,15 +109,33 @@ public class AccountDetailsService {
                        .build();
         }
 
-        SpiResponse<SpiAccountDetails> spiResponse = getSpiResponse(aisConsent, consentId, accountId, withBalance);
+        boolean updateUsage = accountHelperService.needsToUpdateUsage(aisConsent);
+        Optional<AisConsentUsageReservation> usageReservationOptional = aisConsentService.reserveConsentUsage(tppService.getTppId(), consentId, requestUri, updateUsage, accountId, null);
+        if (usageReservationOptional.isEmpty()) {
+            log.info("Account-ID [{}], Consent-ID [{}], RequestUri [{}]. Get account details failed: frequency per day of the consent is exceeded",
+                     accountId, consentId, requestUri);
+            return ResponseObject.<Xs2aAccountDetailsHolder>builder()
+                       .fail(AIS_429, TppMessageInformation.of(ACCESS_EXCEEDED))
+                       .build();
+        }
+
+        AisConsentUsageReservation usageReservation = usageReservationOptional.get();
+        SpiResponse<SpiAccountDetails> spiResponse;
+        try {
+            spiResponse = getSpiResponse(aisConsent, consentId, accountId, withBalance);
+        } catch (RuntimeException e) {
+            aisConsentService.releaseConsentUsage(consentId, requestUri, usageReservation);
+            throw e;
+        }
 
         if (spiResponse.hasError()) {
+            aisConsentService.releaseConsentUsage(consentId, requestUri, usageReservation);
             return checkSpiResponse(consentId, accountId, spiResponse);
         }
 
         loggingContextService.storeConsentStatus(aisConsent.getConsentStatus());
 
-        return getXs2aAccountDetailsHolderResponseObject(consentId, withBalance, requestUri, aisConsent, spiResponse.getPayload());
+        return getXs2aAccountDetailsHolderResponseObject(consentId, withBalance, requestUri, aisConsent, spiResponse.getPayload(), usageReservation);
     }
 
     private ValidationResult getValidationResultForCommonAccountRequest(String accountId, boolean withBalance, String requestUri, AisConsent aisConsent) {
@@ -151,7 +172,8 @@ public class AccountDetailsService {
                                                                                                boolean withBalance,
                                                                                                String requestUri,
                                                                                                AisConsent aisConsent,
-                                                                                               SpiAccountDetails spiAccountDetails) {
+                                                                                               SpiAccountDetails spiAccountDetails,
+                                                                                               AisConsentUsageReservation usageReservation) {
         Xs2aAccountDetails accountDetails = accountDetailsMapper.mapToXs2aAccountDetails(spiAccountDetails);
         Xs2aAccountDetailsHolder xs2aAccountDetailsHolder = new Xs2aAccountDetailsHolder(accountDetails, aisConsent);
 
@@ -161,7 +183,7 @@ public class AccountDetailsService {
 
         aisConsentService.consentActionLog(tppService.getTppId(), consentId,
                                            accountHelperService.createActionStatus(withBalance, TypeAccess.ACCOUNT, response),
-                                           requestUri, accountHelperService.needsToUpdateUsage(aisConsent),
+                                           requestUri, usageReservation,
                                            spiAccountDetails.getResourceId(), null);
 
         return response;
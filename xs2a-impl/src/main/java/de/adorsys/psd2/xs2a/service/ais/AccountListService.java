@@ -19,6 +19,7 @@ package de.adorsys.psd2.xs2a.service.ais;
 import de.adorsys.psd2.consent.api.CmsError;
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.TypeAccess;
+import de.adorsys.psd2.consent.api.ais.AisConsentUsageReservation;
 import de.adorsys.psd2.core.data.ais.AisConsent;
 import de.adorsys.psd2.event.core.model.EventType;
 import de.adorsys.psd2.logger.context.LoggingContextService;
@@ -52,7 +53,9 @@ import java.util.List;
 import java.util.Optional;
 
 import static de.adorsys.psd2.xs2a.core.error.ErrorType.AIS_400;
+import static de.adorsys.psd2.xs2a.core.error.ErrorType.AIS_429;
 import static de.adorsys.psd2.xs2a.core.error.ErrorType.AIS_500;
+import static de.adorsys.psd2.xs2a.core.error.MessageErrorCode.ACCESS_EXCEEDED;
 import static de.adorsys.psd2.xs2a.core.error.MessageErrorCode.CONSENT_UNKNOWN_400;
 import static de.adorsys.psd2.xs2a.core.error.MessageErrorCode.CONSENT_VALIDATION_FAILED;
 
@@ -109,9 +112,27 @@ public class AccountListService {
                        .build();
         }
 
-        SpiResponse<List<SpiAccountDetails>> spiResponse = getSpiResponse(aisConsent, consentId, withBalance);
+        boolean updateUsage = accountHelperService.needsToUpdateUsage(aisConsent);
+        Optional<AisConsentUsageReservation> usageReservationOptional = aisConsentService.reserveConsentUsage(tppService.getTppId(), consentId, requestUri, updateUsage, null, null);
+        if (usageReservationOptional.isEmpty()) {
+            log.info("Consent-ID [{}], RequestUri [{}]. Get account list failed: frequency per day of the consent is exceeded",
+                     consentId, requestUri);
+            return ResponseObject.<Xs2aAccountListHolder>builder()
+                       .fail(AIS_429, TppMessageInformation.of(ACCESS_EXCEEDED))
+                       .build();
+        }
+
+        AisConsentUsageReservation usageReservation = usageReservationOptional.get();
+        SpiResponse<List<SpiAccountDetails>> spiResponse;
+        try {
+            spiResponse = getSpiResponse(aisConsent, consentId, withBalance);
+        } catch (RuntimeException e) {
+            aisConsentService.releaseConsentUsage(consentId, requestUri, usageReservation);
+            throw e;
+        }
 
         if (spiResponse.hasError()) {
+            aisConsentService.releaseConsentUsage(consentId, requestUri, usageReservation);
             ErrorHolder errorHolder = spiErrorMapper.mapToErrorHolder(spiResponse, ServiceType.AIS);
             log.info("Consent-ID: [{}]. Get account list failed: couldn't get accounts. Error msg: [{}]",
                      consentId, errorHolder);
@@ -127,6 +148,7 @@ public class AccountListService {
 
         if (aisConsentUpdated.hasError()) {
             log.info("Consent-ID: [{}]. Get account list failed: couldn't update account consent access.", consentId);
+            aisConsentService.releaseConsentUsage(consentId, requestUri, usageReservation);
 
             if (CmsError.CHECKSUM_ERROR == aisConsentUpdated.getError()) {
                 return ResponseObject.<Xs2aAccountListHolder>builder()
@@ -141,7 +163,7 @@ public class AccountListService {
 
         loggingContextService.storeConsentStatus(aisConsent.getConsentStatus());
 
-        return getXs2aAccountListHolderResponseObject(consentId, withBalance, requestUri, aisConsentUpdated.getPayload(), accountDetails);
+        return getXs2aAccountListHolderResponseObject(consentId, withBalance, requestUri, usageReservation, aisConsentUpdated.getPayload(), accountDetails);
     }
 
     private ValidationResult getValidationResultForGetAccountListConsent(boolean withBalance, String requestUri, AisConsent aisConsent) {
@@ -161,6 +183,7 @@ public class AccountListService {
     private ResponseObject<Xs2aAccountListHolder> getXs2aAccountListHolderResponseObject(String consentId,
                                                                                          boolean withBalance,
                                                                                          String requestUri,
+                                                                                         AisConsentUsageReservation usageReservation,
                                                                                          AisConsent aisConsent,
                                                                                          List<Xs2aAccountDetails> accountDetails) {
         Xs2aAccountListHolder xs2aAccountListHolder = new Xs2aAccountListHolder(accountDetails, aisConsent);
@@ -171,7 +194,7 @@ public class AccountListService {
 
         aisConsentService.consentActionLog(tppService.getTppId(), consentId,
                                            accountHelperService.createActionStatus(withBalance, TypeAccess.ACCOUNT, response),
-                                           requestUri, accountHelperService.needsToUpdateUsage(aisConsent), null, null);
+                                           requestUri, usageReservation, null, null);
 
         return response;
     }
@@ -18,6 +18,7 @@ package de.adorsys.psd2.xs2a.service.ais;
 
 import de.adorsys.psd2.consent.api.ActionStatus;
 import de.adorsys.psd2.consent.api.TypeAccess;
+import de.adorsys.psd2.consent.api.ais.AisConsentUsageReservation;
 import de.adorsys.psd2.core.data.ais.AisConsent;
 import de.adorsys.psd2.xs2a.core.profile.AccountReference;
 import de.adorsys.psd2.xs2a.domain.ResponseObject;
@@ -64,9 +65,17 @@ public class AccountServicesHolder {
         return accountHelperService.needsToUpdateUsage(aisConsent);
     }
 
-    public void consentActionLog(String tppId, String consentId, ActionStatus actionStatus, String requestUri, boolean updateUsage,
-                                 String resourceId, String transactionId) {
-        aisConsentService.consentActionLog(tppId, consentId, actionStatus, requestUri, updateUsage, resourceId, transactionId);
+    public Optional<AisConsentUsageReservation> reserveConsentUsage(String tppId, String consentId, String requestUri, boolean updateUsage, String resourceId, String transactionId) {
+        return aisConsentService.reserveConsentUsage(tppId, consentId, requestUri, updateUsage, resourceId, transactionId);
+    }
+
+    public void releaseConsentUsage(String consentId, String requestUri, AisConsentUsageReservation reservation) {
+        aisConsentService.releaseConsentUsage(consentId, requestUri, reservation);
+    }
+
+    public void consentActionLog(String tppId, String consentId, ActionStatus actionStatus, String requestUri,
+                                 AisConsentUsageReservation usageReservation, String resourceId, String transactionId) {
+        aisConsentService.consentActionLog(tppId, consentId, actionStatus, requestUri, usageReservation, resourceId, transactionId);
     }
 
     public String hidePanInAccountReference(String pan) {
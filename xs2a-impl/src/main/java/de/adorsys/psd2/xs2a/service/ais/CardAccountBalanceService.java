@@ -17,6 +17,7 @@
 package de.adorsys.psd2.xs2a.service.ais;
 
 import de.adorsys.psd2.consent.api.TypeAccess;
+import de.adorsys.psd2.consent.api.ais.AisConsentUsageReservation;
 import de.adorsys.psd2.core.data.AccountAccess;
 import de.adorsys.psd2.core.data.ais.AisConsent;
 import de.adorsys.psd2.event.core.model.EventType;
@@ -108,7 +109,8 @@ public class CardAccountBalanceService extends AbstractBalanceService {
                                                                                      String accountId,
                                                                                      String consentId,
                                                                                      String requestUri,
-                                                                                     List<SpiAccountBalance> payload) {
+                                                                                     List<SpiAccountBalance> payload,
+                                                                                     AisConsentUsageReservation usageReservation) {
         AccountAccess access = aisConsent.getAspspAccountAccesses();
         List<AccountReference> balances = access.getBalances();
         if (hasNoAccessToCardSource(balances)) {
@@ -127,7 +129,7 @@ public class CardAccountBalanceService extends AbstractBalanceService {
 
         accountServicesHolder.consentActionLog(accountServicesHolder.getTppId(), consentId,
                                                accountServicesHolder.createActionStatus(false, TypeAccess.BALANCE, response),
-                                               requestUri, accountServicesHolder.needsToUpdateUsage(aisConsent), accountId, null);
+                                               requestUri, usageReservation, accountId, null);
 
         return response;
     }
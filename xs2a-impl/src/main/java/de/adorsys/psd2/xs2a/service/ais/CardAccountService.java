@@ -19,6 +19,7 @@ package de.adorsys.psd2.xs2a.service.ais;
 import de.adorsys.psd2.consent.api.CmsError;
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.TypeAccess;
+import de.adorsys.psd2.consent.api.ais.AisConsentUsageReservation;
 import de.adorsys.psd2.core.data.AccountAccess;
 import de.adorsys.psd2.core.data.ais.AisConsent;
 import de.adorsys.psd2.event.core.model.EventType;
@@ -57,7 +58,9 @@ import java.util.List;
 import java.util.Optional;
 
 import static de.adorsys.psd2.xs2a.core.error.ErrorType.AIS_400;
+import static de.adorsys.psd2.xs2a.core.error.ErrorType.AIS_429;
 import static de.adorsys.psd2.xs2a.core.error.ErrorType.AIS_500;
+import static de.adorsys.psd2.xs2a.core.error.MessageErrorCode.ACCESS_EXCEEDED;
 import static de.adorsys.psd2.xs2a.core.error.MessageErrorCode.CONSENT_UNKNOWN_400;
 import static de.adorsys.psd2.xs2a.core.error.MessageErrorCode.CONSENT_VALIDATION_FAILED;
 
@@ -113,9 +116,27 @@ public class CardAccountService {
                        .build();
         }
 
-        SpiResponse<List<SpiCardAccountDetails>> spiResponse = getAccountListSpiResponse(aisConsent, consentId);
+        boolean updateUsage = accountHelperService.needsToUpdateUsage(aisConsent);
+        Optional<AisConsentUsageReservation> usageReservationOptional = aisConsentService.reserveConsentUsage(tppService.getTppId(), consentId, requestUri, updateUsage, null, null);
+        if (usageReservationOptional.isEmpty()) {
+            log.info("Consent-ID [{}], RequestUri [{}]. Get card account list failed: frequency per day of the consent is exceeded",
+                     consentId, requestUri);
+            return ResponseObject.<Xs2aCardAccountListHolder>builder()
+                       .fail(AIS_429, TppMessageInformation.of(ACCESS_EXCEEDED))
+                       .build();
+        }
+
+        AisConsentUsageReservation usageReservation = usageReservationOptional.get();
+        SpiResponse<List<SpiCardAccountDetails>> spiResponse;
+        try {
+            spiResponse = getAccountListSpiResponse(aisConsent, consentId);
+        } catch (RuntimeException e) {
+            aisConsentService.releaseConsentUsage(consentId, requestUri, usageReservation);
+            throw e;
+        }
 
         if (spiResponse.hasError()) {
+            aisConsentService.releaseConsentUsage(consentId, requestUri, usageReservation);
             ErrorHolder errorHolder = spiErrorMapper.mapToErrorHolder(spiResponse, ServiceType.AIS);
             log.info("Consent-ID: [{}]. Get card account list failed: SPI level error msg: [{}]",
                      consentId, errorHolder);
@@ -132,6 +153,7 @@ public class CardAccountService {
         if (aisConsentUpdated.hasError()) {
             log.info("Consent-ID: [{}]. Get card account list failed: couldn't update account consent access.",
                      consentId);
+            aisConsentService.releaseConsentUsage(consentId, requestUri, usageReservation);
 
             if (CmsError.CHECKSUM_ERROR == aisConsentUpdated.getError()) {
                 return ResponseObject.<Xs2aCardAccountListHolder>builder()
@@ -146,7 +168,7 @@ public class CardAccountService {
 
         loggingContextService.storeConsentStatus(aisConsent.getConsentStatus());
 
-        return getXs2aAccountListHolderResponseObject(consentId, requestUri, aisConsentUpdated.getPayload(), accountDetails);
+        return getXs2aAccountListHolderResponseObject(consentId, requestUri, usageReservation, aisConsentUpdated.getPayload(), accountDetails);
     }
 
     /**
@@ -183,9 +205,27 @@ public class CardAccountService {
                        .build();
         }
 
-        SpiResponse<SpiCardAccountDetails> spiResponse = getAccountDetailsSpiResponse(aisConsent, consentId, accountId);
+        boolean updateUsage = accountHelperService.needsToUpdateUsage(aisConsent);
+        Optional<AisConsentUsageReservation> usageReservationOptional = aisConsentService.reserveConsentUsage(tppService.getTppId(), consentId, requestUri, updateUsage, accountId, null);
+        if (usageReservationOptional.isEmpty()) {
+            log.info("Account-ID [{}], Consent-ID [{}], RequestUri [{}]. Get card account details failed: frequency per day of the consent is exceeded",
+                     accountId, consentId, requestUri);
+            return ResponseObject.<Xs2aCardAccountDetailsHolder>builder()
+                       .fail(AIS_429, TppMessageInformation.of(ACCESS_EXCEEDED))
+                       .build();
+        }
+
+        AisConsentUsageReservation usageReservation = usageReservationOptional.get();
+        SpiResponse<SpiCardAccountDetails> spiResponse;
+        try {
+            spiResponse = getAccountDetailsSpiResponse(aisConsent, consentId, accountId);
+        } catch (RuntimeException e) {
+            aisConsentService.releaseConsentUsage(consentId, requestUri, usageReservation);
+            throw e;
+        }
 
         if (spiResponse.hasError()) {
+            aisConsentService.releaseConsentUsage(consentId, requestUri, usageReservation);
             ErrorHolder errorHolder = spiErrorMapper.mapToErrorHolder(spiResponse, ServiceType.AIS);
             log.info("Account-ID [{}], Consent-ID: [{}]. Get card account details failed: couldn't get account details. Error msg: [{}]",
                      accountId, consentId, errorHolder);
@@ -196,7 +236,7 @@ public class CardAccountService {
 
         loggingContextService.storeConsentStatus(aisConsent.getConsentStatus());
 
-        return getXs2aAccountDetailsHolderResponseObject(consentId, requestUri, aisConsent, spiResponse.getPayload());
+        return getXs2aAccountDetailsHolderResponseObject(consentId, requestUri, aisConsent, spiResponse.getPayload(), usageReservation);
     }
 
     private SpiResponse<SpiCardAccountDetails> getAccountDetailsSpiResponse(AisConsent aisConsent,
@@ -216,7 +256,8 @@ public class CardAccountService {
     private ResponseObject<Xs2aCardAccountDetailsHolder> getXs2aAccountDetailsHolderResponseObject(String consentId,
                                                                                                    String requestUri,
                                                                                                    AisConsent aisConsent,
-                                                                                                   SpiCardAccountDetails spiAccountDetails) {
+                                                                                                   SpiCardAccountDetails spiAccountDetails,
+                                                                                                   AisConsentUsageReservation usageReservation) {
         Xs2aCardAccountDetails cardAccountDetails = accountDetailsMapper.mapToXs2aCardAccountDetails(spiAccountDetails);
 
         Xs2aCardAccountDetailsHolder xs2aCardAccountDetailsHolder = new Xs2aCardAccountDetailsHolder(cardAccountDetails, aisConsent);
@@ -227,7 +268,7 @@ public class CardAccountService {
 
         aisConsentService.consentActionLog(tppService.getTppId(), consentId,
                                            accountHelperService.createActionStatus(false, TypeAccess.ACCOUNT, response),
-                                           requestUri, accountHelperService.needsToUpdateUsage(aisConsent),
+                                           requestUri, usageReservation,
                                            spiAccountDetails.getResourceId(), null);
 
         return response;
@@ -243,6 +284,7 @@ public class CardAccountService {
     @NotNull
     private ResponseObject<Xs2aCardAccountListHolder> getXs2aAccountListHolderResponseObject(String consentId,
                                                                                              String requestUri,
+                                                                                             AisConsentUsageReservation usageReservation,
                                                                                              AisConsent aisConsent,
                                                                                              List<Xs2aCardAccountDetails> accountDetails) {
         Xs2aCardAccountListHolder xs2aCardAccountListHolder = new Xs2aCardAccountListHolder(accountDetails, aisConsent);
@@ -253,7 +295,7 @@ public class CardAccountService {
 
         aisConsentService.consentActionLog(tppService.getTppId(), consentId,
                                            accountHelperService.createActionStatus(false, TypeAccess.ACCOUNT, response),
-                                           requestUri, accountHelperService.needsToUpdateUsage(aisConsent), null, null);
+                                           requestUri, usageReservation, null, null);
 
         return response;
     }
@@ -17,6 +17,7 @@
 package de.adorsys.psd2.xs2a.service.ais;
 
 import de.adorsys.psd2.consent.api.TypeAccess;
+import de.adorsys.psd2.consent.api.ais.AisConsentUsageReservation;
 import de.adorsys.psd2.core.data.AccountAccess;
 import de.adorsys.psd2.core.data.ais.AisConsent;
 import de.adorsys.psd2.event.core.model.EventType;
@@ -61,6 +62,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static de.adorsys.psd2.xs2a.core.error.ErrorType.AIS_400;
+import static de.adorsys.psd2.xs2a.core.error.ErrorType.AIS_429;
 import static de.adorsys.psd2.xs2a.core.error.MessageErrorCode.*;
 
 @Slf4j
@@ -118,9 +120,27 @@ public class CardTransactionService {
                        .build();
         }
 
-        SpiResponse<SpiCardTransactionReport> spiResponse = getSpiResponseSpiCardTransactionReport(request, aisConsent);
+        boolean updateUsage = accountHelperService.needsToUpdateUsage(aisConsent);
+        Optional<AisConsentUsageReservation> usageReservationOptional = aisConsentService.reserveConsentUsage(tppService.getTppId(), request.getConsentId(), request.getRequestUri(), updateUsage, request.getAccountId(), null);
+        if (usageReservationOptional.isEmpty()) {
+            log.info("Account-ID [{}], Consent-ID [{}], RequestUri [{}]. Get card transactions report by period failed: frequency per day of the consent is exceeded",
+                     request.getAccountId(), request.getConsentId(), request.getRequestUri());
+            return ResponseObject.<Xs2aCardTransactionsReport>builder()
+                       .fail(AIS_429, TppMessageInformation.of(ACCESS_EXCEEDED))
+                       .build();
+        }
+
+        AisConsentUsageReservation usageReservation = usageReservationOptional.get();
+        SpiResponse<SpiCardTransactionReport> spiResponse;
+        try {
+            spiResponse = getSpiResponseSpiCardTransactionReport(request, aisConsent);
+        } catch (RuntimeException e) {
+            aisConsentService.releaseConsentUsage(request.getConsentId(), request.getRequestUri(), usageReservation);
+            throw e;
+        }
 
         if (spiResponse.hasError()) {
+            aisConsentService.releaseConsentUsage(request.getConsentId(), request.getRequestUri(), usageReservation);
             return checkSpiResponseForCardTransactionsReport(request, spiResponse);
         }
 
@@ -128,7 +148,7 @@ public class CardTransactionService {
 
         xs2aAccountService.saveTransactionParameters(request.getConsentId(), request.getAccountId(), new Xs2aTransactionParameters(spiResponse.getPayload().getCardTransactions().size(), 1, request.getBookingStatus()));
 
-        return getXs2aCardTransactionsReportResponseObject(request, aisConsent, spiResponse.getPayload());
+        return getXs2aCardTransactionsReportResponseObject(request, aisConsent, spiResponse.getPayload(), usageReservation);
     }
 
     private ValidationResult getValidationResultForTransactionsReportByPeriod(Xs2aTransactionsReportByPeriodRequest request,
@@ -190,7 +210,8 @@ public class CardTransactionService {
     @NotNull
     private ResponseObject<Xs2aCardTransactionsReport> getXs2aCardTransactionsReportResponseObject(Xs2aTransactionsReportByPeriodRequest request,
                                                                                                    AisConsent aisConsent,
-                                                                                                   SpiCardTransactionReport spiTransactionReport) {
+                                                                                                   SpiCardTransactionReport spiTransactionReport,
+                                                                                                   AisConsentUsageReservation usageReservation) {
         Xs2aCardTransactionsReport transactionsReport = mapToCardTransactionsReport(request, aisConsent, spiTransactionReport);
         ResponseObject<Xs2aCardTransactionsReport> response = ResponseObject.<Xs2aCardTransactionsReport>builder()
                                                                   .body(transactionsReport)
@@ -201,7 +222,7 @@ public class CardTransactionService {
                                            request.getConsentId(),
                                            accountHelperService.createActionStatus(request.isWithBalance(), TypeAccess.TRANSACTION, response),
                                            request.getRequestUri(),
-                                           accountHelperService.needsToUpdateUsage(aisConsent),
+                                           usageReservation,
                                            accountReference == null ? null : accountReference.getResourceId(), null);
         return response;
     }
@@ -17,6 +17,7 @@
 package de.adorsys.psd2.xs2a.service.ais;
 
 import de.adorsys.psd2.consent.api.TypeAccess;
+import de.adorsys.psd2.consent.api.ais.AisConsentUsageReservation;
 import de.adorsys.psd2.core.data.AccountAccess;
 import de.adorsys.psd2.core.data.ais.AisConsent;
 import de.adorsys.psd2.event.core.model.EventType;
@@ -61,6 +62,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static de.adorsys.psd2.xs2a.core.error.ErrorType.AIS_400;
+import static de.adorsys.psd2.xs2a.core.error.ErrorType.AIS_429;
 import static de.adorsys.psd2.xs2a.core.error.MessageErrorCode.*;
 
 @Slf4j
@@ -128,9 +130,27 @@ public class TransactionService {
                        .build();
         }
 
-        SpiResponse<SpiTransactionReport> spiResponse = getSpiResponseSpiTransactionReport(request, aisConsent);
+        boolean updateUsage = accountHelperService.needsToUpdateUsage(aisConsent);
+        Optional<AisConsentUsageReservation> usageReservationOptional = aisConsentService.reserveConsentUsage(tppService.getTppId(), request.getConsentId(), request.getRequestUri(), updateUsage, request.getAccountId(), null);
+        if (usageReservationOptional.isEmpty()) {
+            log.info("Account-ID [{}], Consent-ID [{}], RequestUri [{}]. Get transactions report by period failed: frequency per day of the consent is exceeded",
+                     request.getAccountId(), request.getConsentId(), request.getRequestUri());
+            return ResponseObject.<Xs2aTransactionsReport>builder()
+                       .fail(AIS_429, TppMessageInformation.of(ACCESS_EXCEEDED))
+                       .build();
+        }
+
+        AisConsentUsageReservation usageReservation = usageReservationOptional.get();
+        SpiResponse<SpiTransactionReport> spiResponse;
+        try {
+            spiResponse = getSpiResponseSpiTransactionReport(request, aisConsent);
+        } catch (RuntimeException e) {
+            aisConsentService.releaseConsentUsage(request.getConsentId(), request.getRequestUri(), usageReservation);
+            throw e;
+        }
 
         if (spiResponse.hasError()) {
+            aisConsentService.releaseConsentUsage(request.getConsentId(), request.getRequestUri(), usageReservation);
             return checkSpiResponseForTransactionsReport(request, spiResponse);
         }
 
@@ -146,7 +166,7 @@ public class TransactionService {
                                                                                        request.getBookingStatus()));
         }
 
-        return getXs2aTransactionsReportResponseObject(request, aisConsent, spiTransactionReport);
+        return getXs2aTransactionsReportResponseObject(request, aisConsent, spiTransactionReport, usageReservation);
     }
 
     /**
@@ -182,15 +202,33 @@ public class TransactionService {
                        .build();
         }
 
-        SpiResponse<SpiTransaction> spiResponse = getSpiResponseSpiTransaction(accountConsent, consentId, accountId, transactionId);
+        boolean updateUsage = accountHelperService.needsToUpdateUsage(accountConsent);
+        Optional<AisConsentUsageReservation> usageReservationOptional = aisConsentService.reserveConsentUsage(tppService.getTppId(), consentId, requestUri, updateUsage, accountId, transactionId);
+        if (usageReservationOptional.isEmpty()) {
+            log.info("Account-ID [{}], Consent-ID [{}], RequestUri [{}]. Get transaction details failed: frequency per day of the consent is exceeded",
+                     accountId, consentId, requestUri);
+            return ResponseObject.<Transactions>builder()
+                       .fail(AIS_429, TppMessageInformation.of(ACCESS_EXCEEDED))
+                       .build();
+        }
+
+        AisConsentUsageReservation usageReservation = usageReservationOptional.get();
+        SpiResponse<SpiTransaction> spiResponse;
+        try {
+            spiResponse = getSpiResponseSpiTransaction(accountConsent, consentId, accountId, transactionId);
+        } catch (RuntimeException e) {
+            aisConsentService.releaseConsentUsage(consentId, requestUri, usageReservation);
+            throw e;
+        }
 
         if (spiResponse.hasError()) {
+            aisConsentService.releaseConsentUsage(consentId, requestUri, usageReservation);
             return checkSpiResponseForTransactions(consentId, accountId, spiResponse);
         }
 
         loggingContextService.storeConsentStatus(accountConsent.getConsentStatus());
 
-        return getTransactionsResponseObject(consentId, requestUri, accountConsent, spiResponse.getPayload(), accountId);
+        return getTransactionsResponseObject(consentId, requestUri, accountConsent, spiResponse.getPayload(), accountId, usageReservation);
     }
 
     /**
@@ -354,7 +392,8 @@ public class TransactionService {
     @NotNull
     private ResponseObject<Xs2aTransactionsReport> getXs2aTransactionsReportResponseObject(Xs2aTransactionsReportByPeriodRequest request,
                                                                                            AisConsent aisConsent,
-                                                                                           SpiTransactionReport spiTransactionReport) {
+                                                                                           SpiTransactionReport spiTransactionReport,
+                                                                                           AisConsentUsageReservation usageReservation) {
         Xs2aTransactionsReport transactionsReport = mapToTransactionsReport(request, aisConsent, spiTransactionReport);
         ResponseObject<Xs2aTransactionsReport> response = ResponseObject.<Xs2aTransactionsReport>builder()
                                                               .body(transactionsReport)
@@ -364,7 +403,7 @@ public class TransactionService {
                                            request.getConsentId(),
                                            accountHelperService.createActionStatus(request.isWithBalance(), TypeAccess.TRANSACTION, response),
                                            request.getRequestUri(),
-                                           accountHelperService.needsToUpdateUsage(aisConsent),
+                                           usageReservation,
                                            transactionsReport.getAccountReference().getResourceId(), null);
         return response;
     }
@@ -419,7 +458,7 @@ public class TransactionService {
     }
 
     @NotNull
-    private ResponseObject<Transactions> getTransactionsResponseObject(String consentId, String requestUri, AisConsent aisConsent, SpiTransaction spiTransaction, String accountId) {
+    private ResponseObject<Transactions> getTransactionsResponseObject(String consentId, String requestUri, AisConsent aisConsent, SpiTransaction spiTransaction, String accountId, AisConsentUsageReservation usageReservation) {
         Transactions transactions = spiToXs2aTransactionMapper.mapToXs2aTransaction(spiTransaction);
 
         ResponseObject<Transactions> response = ResponseObject.<Transactions>builder()
@@ -429,7 +468,7 @@ public class TransactionService {
         aisConsentService.consentActionLog(tppService.getTppId(), consentId,
                                            accountHelperService.createActionStatus(false, TypeAccess.TRANSACTION, response),
                                            requestUri,
-                                           accountHelperService.needsToUpdateUsage(aisConsent), accountId, transactions.getTransactionId());
+                                           usageReservation, accountId, transactions.getTransactionId());
         return response;
     }
 
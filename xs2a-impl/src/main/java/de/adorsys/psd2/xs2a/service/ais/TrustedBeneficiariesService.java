@@ -17,6 +17,7 @@
 package de.adorsys.psd2.xs2a.service.ais;
 
 import de.adorsys.psd2.consent.api.TypeAccess;
+import de.adorsys.psd2.consent.api.ais.AisConsentUsageReservation;
 import de.adorsys.psd2.core.data.ais.AisConsent;
 import de.adorsys.psd2.event.core.model.EventType;
 import de.adorsys.psd2.logger.context.LoggingContextService;
@@ -48,6 +49,8 @@ import java.util.List;
 import java.util.Optional;
 
 import static de.adorsys.psd2.xs2a.core.error.ErrorType.AIS_400;
+import static de.adorsys.psd2.xs2a.core.error.ErrorType.AIS_429;
+import static de.adorsys.psd2.xs2a.core.error.MessageErrorCode.ACCESS_EXCEEDED;
 import static de.adorsys.psd2.xs2a.core.error.MessageErrorCode.CONSENT_UNKNOWN_400;
 
 @Slf4j
@@ -94,13 +97,31 @@ public class TrustedBeneficiariesService {
             return getResponseWithValidationError(consentId, accountId, requestUri, validationResult);
         }
 
-        SpiResponse<List<SpiTrustedBeneficiaries>> spiResponse = getSpiResponse(aisConsent, consentId, accountId);
+        boolean updateUsage = accountHelperService.needsToUpdateUsage(aisConsent);
+        Optional<AisConsentUsageReservation> usageReservationOptional = aisConsentService.reserveConsentUsage(tppService.getTppId(), consentId, requestUri, updateUsage, accountId, null);
+        if (usageReservationOptional.isEmpty()) {
+            log.info("Account-ID [{}], Consent-ID [{}], RequestUri [{}]. Get trusted beneficiaries list failed: frequency per day of the consent is exceeded",
+                     accountId, consentId, requestUri);
+            return ResponseObject.<Xs2aTrustedBeneficiariesList>builder()
+                       .fail(AIS_429, TppMessageInformation.of(ACCESS_EXCEEDED))
+                       .build();
+        }
+
+        AisConsentUsageReservation usageReservation = usageReservationOptional.get();
+        SpiResponse<List<SpiTrustedBeneficiaries>> spiResponse;
+        try {
+            spiResponse = getSpiResponse(aisConsent, consentId, accountId);
+        } catch (RuntimeException e) {
+            aisConsentService.releaseConsentUsage(consentId, requestUri, usageReservation);
+            throw e;
+        }
 
         if (spiResponse.hasError()) {
+            aisConsentService.releaseConsentUsage(consentId, requestUri, usageReservation);
             return getResponseWithSpiError(consentId, spiResponse);
         }
 
-        return getSuccessfulResponse(consentId, accountId, requestUri, aisConsent, spiResponse);
+        return getSuccessfulResponse(consentId, accountId, requestUri, aisConsent, spiResponse, usageReservation);
     }
 
     private ResponseObject<Xs2aTrustedBeneficiariesList> getResponseWithNotFoundConsent(String consentId, String accountId) {
@@ -140,7 +161,7 @@ public class TrustedBeneficiariesService {
                    .build();
     }
 
-    private ResponseObject<Xs2aTrustedBeneficiariesList> getSuccessfulResponse(String consentId, String accountId, String requestUri, AisConsent aisConsent, SpiResponse<List<SpiTrustedBeneficiaries>> spiResponse) {
+    private ResponseObject<Xs2aTrustedBeneficiariesList> getSuccessfulResponse(String consentId, String accountId, String requestUri, AisConsent aisConsent, SpiResponse<List<SpiTrustedBeneficiaries>> spiResponse, AisConsentUsageReservation usageReservation) {
         loggingContextService.storeConsentStatus(aisConsent.getConsentStatus());
 
         List<Xs2aTrustedBeneficiaries> trustedBeneficiaries = spiToXs2aTrustedBeneficiariesMapper.mapToXs2aTrustedBeneficiariesList(spiResponse.getPayload());
@@ -152,7 +173,7 @@ public class TrustedBeneficiariesService {
 
         aisConsentService.consentActionLog(tppService.getTppId(), consentId,
                                            accountHelperService.createActionStatus(false, TypeAccess.BENEFICIARIES, response),
-                                           requestUri, accountHelperService.needsToUpdateUsage(aisConsent),
+                                           requestUri, usageReservation,
                                            accountId, null);
         return response;
     }
@@ -62,6 +62,17 @@ public class PisAuthorisationService {
     private final TppRedirectUriMapper tppRedirectUriMapper;
     private final AuthorisationChainResponsibilityService authorisationChainResponsibilityService;
 
+    /**
+     * Builds request for creation of pis authorisation with SCA approach and TPP redirect URIs of current request
+     *
+     * @param psuData PsuIdData container of authorisation data about PSU
+     * @return request to be sent to CMS
+     */
+    public CreateAuthorisationRequest buildCreateAuthorisationRequest(PsuIdData psuData) {
+        TppRedirectUri redirectURIs = tppRedirectUriMapper.mapToTppRedirectUri(requestProviderService.getTppRedirectURI(), requestProviderService.getTppNokRedirectURI());
+        return new CreateAuthorisationRequest(psuData, scaApproachResolver.resolveScaApproach(), redirectURIs);
+    }
+
     /**
      * Sends a POST request to CMS to store created pis authorisation
      *
@@ -70,9 +81,7 @@ public class PisAuthorisationService {
      * @return a response object containing authorisation id
      */
     public CreateAuthorisationResponse createPisAuthorisation(String paymentId, PsuIdData psuData) {
-        TppRedirectUri redirectURIs = tppRedirectUriMapper.mapToTppRedirectUri(requestProviderService.getTppRedirectURI(), requestProviderService.getTppNokRedirectURI());
-
-        CreateAuthorisationRequest request = new CreateAuthorisationRequest(psuData, scaApproachResolver.resolveScaApproach(), redirectURIs);
+        CreateAuthorisationRequest request = buildCreateAuthorisationRequest(psuData);
         CmsResponse<CreateAuthorisationResponse> cmsResponse = authorisationServiceEncrypted.createAuthorisation(new PisAuthorisationParentHolder(paymentId), request);
 
         if (cmsResponse.hasError()) {
@@ -150,9 +159,7 @@ public class PisAuthorisationService {
      * @return long representation of identifier of stored pis authorisation cancellation
      */
     public CreateAuthorisationResponse createPisAuthorisationCancellation(String paymentId, PsuIdData psuData) {
-        TppRedirectUri redirectURIs = tppRedirectUriMapper.mapToTppRedirectUri(requestProviderService.getTppRedirectURI(), requestProviderService.getTppNokRedirectURI());
-
-        CreateAuthorisationRequest request = new CreateAuthorisationRequest(psuData, scaApproachResolver.resolveScaApproach(), redirectURIs);
+        CreateAuthorisationRequest request = buildCreateAuthorisationRequest(psuData);
         CmsResponse<CreateAuthorisationResponse> cmsResponse = authorisationServiceEncrypted.createAuthorisation(new PisCancellationAuthorisationParentHolder(paymentId), request);
 
         if (cmsResponse.hasError()) {
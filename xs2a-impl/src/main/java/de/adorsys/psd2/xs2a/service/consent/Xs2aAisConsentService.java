@@ -21,9 +21,12 @@ import de.adorsys.psd2.consent.api.CmsError;
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.WrongChecksumException;
 import de.adorsys.psd2.consent.api.ais.AisConsentActionRequest;
+import de.adorsys.psd2.consent.api.ais.AisConsentUsageReservation;
 import de.adorsys.psd2.consent.api.ais.CmsConsent;
 import de.adorsys.psd2.consent.api.authorisation.UpdateAuthorisationRequest;
 import de.adorsys.psd2.consent.api.consent.CmsCreateConsentResponse;
+import de.adorsys.psd2.consent.api.consent.CompleteConsentCreationRequest;
+import de.adorsys.psd2.consent.api.consent.CompleteConsentCreationResponse;
 import de.adorsys.psd2.consent.api.service.AisConsentServiceEncrypted;
 import de.adorsys.psd2.consent.api.service.ConsentServiceEncrypted;
 import de.adorsys.psd2.core.data.AccountAccess;
@@ -131,20 +134,105 @@ public class Xs2aAisConsentService {
     }
 
     /**
-     * Sends a POST request to CMS to perform decrement of consent usages and report status of the operation held with certain AIS consent
+     * Sends a POST request to CMS to reserve usage of the consent before the data is read from ASPSP, so that
+     * concurrent requests can't exceed frequency per day of the consent. CMS logs the successful action together with
+     * the reservation where possible, so that no further request to CMS is needed if the data is read successfully.
      *
      * @param tppId         String representation of TPP`s identifier from TPP Certificate
      * @param consentId     String representation of identifier of stored consent
-     * @param actionStatus  Enum value representing whether the action is successful or errors occurred
      * @param requestUri    target URL of the request
-     * @param updateUsage   Update usage indicator
+     * @param updateUsage   Update usage indicator, no usage is reserved if it's <code>false</code>
      * @param resourceId    The identification that denotes the addressed account
      * @param transactionId String representation of ASPSP transaction primary identifier
+     * @return reservation, that has to be given to {@link #releaseConsentUsage(String, String, AisConsentUsageReservation)}
+     * if the data couldn't be read or to {@link #consentActionLog(String, String, ActionStatus, String, AisConsentUsageReservation, String, String)}
+     * otherwise (not reserved if the usage doesn't need to be updated), or empty value if frequency per day of the consent
+     * is exceeded or the usage couldn't be reserved
      */
-    public void consentActionLog(String tppId, String consentId, ActionStatus actionStatus, String requestUri, boolean updateUsage,
-                                 String resourceId, String transactionId) {
+    public Optional<AisConsentUsageReservation> reserveConsentUsage(String tppId, String consentId, String requestUri, boolean updateUsage,
+                                                                    String resourceId, String transactionId) {
+        if (!updateUsage) {
+            return Optional.of(AisConsentUsageReservation.notReserved());
+        }
+
+        AisConsentActionRequest request = AisConsentActionRequest.builder()
+                                              .tppId(tppId)
+                                              .consentId(consentId)
+                                              .actionStatus(ActionStatus.SUCCESS)
+                                              .requestUri(requestUri)
+                                              .updateUsage(true)
+                                              .resourceId(resourceId)
+                                              .transactionId(transactionId)
+                                              .build();
+        CmsResponse<AisConsentUsageReservation> response = aisConsentService.reserveConsentUsage(request);
+        if (response.hasError()) {
+            log.info("Consent-ID: [{}], Request URI: [{}]. Consent usage couldn't be reserved: {}", consentId, requestUri, response.getError());
+            return Optional.empty();
+        }
+        return Optional.of(response.getPayload())
+                   .filter(AisConsentUsageReservation::isReserved);
+    }
+
+    /**
+     * Sends a POST request to CMS to release usage of the consent, reserved by
+     * {@link #reserveConsentUsage(String, String, String, boolean, String, String)}, if the data couldn't be read from ASPSP.
+     * The usage is released at the date of the reservation, even if the day has changed in the meantime.
+     *
+     * @param consentId   String representation of identifier of stored consent
+     * @param requestUri  target URL of the request
+     * @param reservation reservation returned by {@link #reserveConsentUsage(String, String, String, boolean, String, String)}
+     */
+    public void releaseConsentUsage(String consentId, String requestUri, AisConsentUsageReservation reservation) {
+        if (!reservation.isReserved()) {
+            return;
+        }
+
+        AisConsentActionRequest request = AisConsentActionRequest.builder()
+                                              .consentId(consentId)
+                                              .requestUri(requestUri)
+                                              .updateUsage(true)
+                                              .usageReserved(true)
+                                              .usageDate(reservation.getUsageDate())
+                                              .build();
+        CmsResponse<CmsResponse.VoidResponse> response = aisConsentService.releaseConsentUsage(request);
+        if (response.hasError()) {
+            log.info("Consent-ID: [{}], Request URI: [{}]. Consent usage couldn't be released: {}", consentId, requestUri, response.getError());
+        }
+    }
+
+    /**
+     * Sends a POST request to CMS to report status of the operation held with certain AIS consent, unless CMS has already
+     * logged it together with the reservation of the consent usage.
+     *
+     * @param tppId            String representation of TPP`s identifier from TPP Certificate
+     * @param consentId        String representation of identifier of stored consent
+     * @param actionStatus     Enum value representing whether the action is successful or errors occurred
+     * @param requestUri       target URL of the request
+     * @param usageReservation reservation returned by {@link #reserveConsentUsage(String, String, String, boolean, String, String)}
+     * @param resourceId       The identification that denotes the addressed account
+     * @param transactionId    String representation of ASPSP transaction primary identifier
+     */
+    public void consentActionLog(String tppId, String consentId, ActionStatus actionStatus, String requestUri,
+                                 AisConsentUsageReservation usageReservation, String resourceId, String transactionId) {
+        if (usageReservation.isActionLogged()) {
+            return;
+        }
+
+        AisConsentActionRequest request = AisConsentActionRequest.builder()
+                                              .tppId(tppId)
+                                              .consentId(consentId)
+                                              .actionStatus(actionStatus)
+                                              .requestUri(requestUri)
+                                              .updateUsage(usageReservation.isReserved())
+                                              .resourceId(resourceId)
+                                              .transactionId(transactionId)
+                                              .usageReserved(usageReservation.isReserved())
+                                              .build();
         try {
-            aisConsentService.checkConsentAndSaveActionLog(new AisConsentActionRequest(tppId, consentId, actionStatus, requestUri, updateUsage, resourceId, transactionId));
+            CmsResponse<CmsResponse.VoidResponse> response = aisConsentService.checkConsentAndSaveActionLog(request);
+            if (response.hasError()) {
+                log.info("Consent-ID: [{}], Request URI: [{}]. Consent usage couldn't be counted: {}", consentId, requestUri, response.getError());
+            }
         } catch (WrongChecksumException e) {
             log.info("consentActionLog cannot be executed, checksum verification failed");
         }
@@ -212,4 +300,28 @@ public class Xs2aAisConsentService {
             log.info("updateMultilevelScaRequired cannot be executed, checksum verification failed");
         }
     }
+
+    /**
+     * Stores ASPSP consent data, multilevel SCA indicator and implicit authorisation of just created consent in one CMS request
+     *
+     * @param consentId String representation of the consent identifier
+     * @param request   data to be stored together with the consent
+     * @return created authorisation (if it was requested) or empty optional if nothing was stored
+     */
+    public Optional<CompleteConsentCreationResponse> completeConsentCreation(String consentId, CompleteConsentCreationRequest request) {
+        CmsResponse<CompleteConsentCreationResponse> response;
+        try {
+            response = consentService.completeConsentCreation(consentId, request);
+        } catch (WrongChecksumException e) {
+            log.info("completeConsentCreation cannot be executed, checksum verification failed");
+            return Optional.empty();
+        }
+
+        if (response.hasError()) {
+            log.info("Consent-ID: [{}]. Complete consent creation failed, can't save to cms DB", consentId);
+            return Optional.empty();
+        }
+
+        return Optional.ofNullable(response.getPayload());
+    }
 }
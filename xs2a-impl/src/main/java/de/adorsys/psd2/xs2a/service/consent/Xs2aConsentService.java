@@ -49,10 +49,21 @@ public class Xs2aConsentService {
      * @return CreateAuthorisationResponse object with authorisation ID and scaStatus
      */
     public Optional<CreateAuthorisationResponse> createConsentAuthorisation(String consentId, ScaStatus scaStatus, PsuIdData psuData) {
+        CreateAuthorisationRequest request = buildCreateAuthorisationRequest(scaStatus, psuData);
+        return authorisationService.createAuthorisation(request, consentId, AuthorisationType.CONSENT);
+    }
+
+    /**
+     * Builds request for creation of consent authorisation with SCA approach and TPP redirect URIs of current request
+     *
+     * @param scaStatus Enum for status of the SCA method applied
+     * @param psuData   authorisation data about PSU
+     * @return request to be sent to CMS
+     */
+    public CreateAuthorisationRequest buildCreateAuthorisationRequest(ScaStatus scaStatus, PsuIdData psuData) {
         String tppRedirectURI = requestProviderService.getTppRedirectURI();
         String tppNOKRedirectURI = requestProviderService.getTppNokRedirectURI();
-        CreateAuthorisationRequest request = xs2aConsentAuthorisationMapper.mapToAuthorisationRequest(scaStatus, psuData, scaApproachResolver.resolveScaApproach(), tppRedirectURI, tppNOKRedirectURI);
-        return authorisationService.createAuthorisation(request, consentId, AuthorisationType.CONSENT);
+        return xs2aConsentAuthorisationMapper.mapToAuthorisationRequest(scaStatus, psuData, scaApproachResolver.resolveScaApproach(), tppRedirectURI, tppNOKRedirectURI);
     }
 
     /**
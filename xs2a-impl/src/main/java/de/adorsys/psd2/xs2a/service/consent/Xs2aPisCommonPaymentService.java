@@ -18,6 +18,8 @@ package de.adorsys.psd2.xs2a.service.consent;
 
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentResponse;
+import de.adorsys.psd2.consent.api.pis.InitiatePisCommonPaymentRequest;
+import de.adorsys.psd2.consent.api.pis.InitiatePisCommonPaymentResponse;
 import de.adorsys.psd2.consent.api.pis.PisCommonPaymentResponse;
 import de.adorsys.psd2.consent.api.pis.proto.PisPaymentInfo;
 import de.adorsys.psd2.consent.api.service.PisCommonPaymentServiceEncrypted;
@@ -45,6 +47,24 @@ public class Xs2aPisCommonPaymentService {
         return response.getPayload();
     }
 
+    /**
+     * Creates common payment together with its ASPSP consent data and implicit authorisation in one CMS request
+     *
+     * @param request payment information, ASPSP consent data and optional authorisation request
+     * @return created payment and authorisation or <code>null</code> if nothing was stored
+     */
+    public InitiatePisCommonPaymentResponse initiateCommonPayment(InitiatePisCommonPaymentRequest request) {
+        CmsResponse<InitiatePisCommonPaymentResponse> response = pisCommonPaymentServiceEncrypted.initiateCommonPayment(request);
+
+        if (response.hasError()) {
+            log.info("Payment ID: [{}]. Pis common payment cannot be initiated, because can't save to cms DB",
+                     request.getPaymentInfo().getPaymentId());
+            return null;
+        }
+
+        return response.getPayload();
+    }
+
     public Optional<PisCommonPaymentResponse> getPisCommonPaymentById(String paymentId) {
         CmsResponse<PisCommonPaymentResponse> response = pisCommonPaymentServiceEncrypted.getCommonPaymentById(paymentId);
 
@@ -17,6 +17,8 @@
 package de.adorsys.psd2.xs2a.service.discovery;
 
 import de.adorsys.psd2.xs2a.core.mapper.ServiceType;
+import de.adorsys.psd2.xs2a.web.Xs2aEndpoint;
+import de.adorsys.psd2.xs2a.web.Xs2aEndpointChecker;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.UrlPathHelper;
@@ -29,11 +31,17 @@ public class ServiceTypeDiscoveryService {
     private final HttpServletRequest request;
 
     /**
-     * Gets service type from request URI by invoking ServiceTypeDiscovery
+     * Gets service type of XS2A endpoint already resolved for the request by filters,
+     * or from request URI by invoking ServiceTypeDiscovery
      *
      * @return ServiceType value
      */
     public ServiceType getServiceType() {
+        Object resolvedEndpoint = request.getAttribute(Xs2aEndpointChecker.XS2A_ENDPOINT_ATTRIBUTE);
+        if (resolvedEndpoint instanceof Xs2aEndpoint) {
+            return ((Xs2aEndpoint) resolvedEndpoint).getServiceType();
+        }
+
         return ServiceTypeDiscovery.getServiceType(new UrlPathHelper().getPathWithinApplication(request));
     }
 }
@@ -0,0 +1,475 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.service.event;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import de.adorsys.psd2.event.service.Xs2aEventServiceEncrypted;
+import de.adorsys.psd2.event.service.model.EventBO;
+import de.adorsys.psd2.mapper.Xs2aObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Records events in the CMS either synchronously or, if asynchronous mode is enabled, via bounded in-memory queue.
+ * <p>
+ * In asynchronous mode events are written to the CMS in batches by a background writer, so that recording of events
+ * doesn't add latency to the request. Behaviour on full queue is defined by {@link OverflowStrategy}, events spilled to
+ * the local file are replayed once the writer is idle. Request threads never wait for free space in the queue longer
+ * than the block timeout, so that unavailable CMS doesn't block processing of the requests. Remaining events are flushed
+ * on shutdown, events recorded after the shutdown are recorded synchronously.
+ * <p>
+ * Spilled events contain PSU data, so the spill file has to be configured explicitly in a directory writable only by its
+ * owner and is created readable only by its owner. Progress of the replay is stored next to the spill file, so that
+ * events already recorded aren't recorded again, if the replay is interrupted.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AsyncEventRecorder {
+    private static final String REPLAY_FILE_SUFFIX = ".replay";
+    private static final String REPLAY_OFFSET_FILE_SUFFIX = ".offset";
+    private static final String POSIX_FILE_ATTRIBUTE_VIEW = "posix";
+    private static final Set<PosixFilePermission> OWNER_ONLY_PERMISSIONS = PosixFilePermissions.fromString("rw-------");
+
+    private final Xs2aEventServiceEncrypted eventService;
+    private final Xs2aObjectMapper xs2aObjectMapper;
+
+    @Value("${xs2a.event.async.enabled:false}")
+    private boolean asyncEnabled;
+    @Value("${xs2a.event.async.queue-capacity:10000}")
+    private int queueCapacity;
+    @Value("${xs2a.event.async.batch-size:100}")
+    private int batchSize;
+    @Value("${xs2a.event.async.flush-interval.ms:500}")
+    private long flushIntervalMs;
+    @Value("${xs2a.event.async.overflow-strategy:BLOCK}")
+    private OverflowStrategy overflowStrategy;
+    @Value("${xs2a.event.async.block-timeout.ms:1000}")
+    private long blockTimeoutMs;
+    @Value("${xs2a.event.async.spill-file:}")
+    private String spillFile;
+    @Value("${xs2a.event.async.shutdown-timeout.ms:10000}")
+    private long shutdownTimeoutMs;
+
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder spilledCount = new LongAdder();
+    private final Object spillLock = new Object();
+    // Events are put into the queue under the read lock, shutdown stops accepting them under the write lock
+    private final ReadWriteLock lifecycleLock = new ReentrantReadWriteLock();
+
+    private Path spillPath;
+    private BlockingQueue<EventBO> queue;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() {
+        if (!asyncEnabled) {
+            return;
+        }
+
+        spillPath = StringUtils.isBlank(spillFile) ? null : Paths.get(spillFile);
+        if (overflowStrategy == OverflowStrategy.SPILL || spillPath != null) {
+            validateSpillFile();
+        }
+
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("xs2a-event-writer-");
+        threadFactory.setDaemon(true);
+        writerThread = threadFactory.newThread(this::writeEvents);
+        writerThread.start();
+    }
+
+    /**
+     * Records event in the CMS or puts it into the queue, if asynchronous mode is enabled
+     *
+     * @param event Event to be recorded
+     * @return <code>true</code> if the event was recorded or accepted for recording. <code>false</code> otherwise.
+     */
+    public boolean recordEvent(@NotNull EventBO event) {
+        lifecycleLock.readLock().lock();
+        try {
+            if (running) {
+                return enqueue(event);
+            }
+        } finally {
+            lifecycleLock.readLock().unlock();
+        }
+
+        return eventService.recordEvent(event);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lifecycleLock.writeLock().lock();
+        try {
+            if (!running) {
+                return;
+            }
+            running = false;
+        } finally {
+            lifecycleLock.writeLock().unlock();
+        }
+
+        try {
+            writerThread.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (writerThread.isAlive()) {
+            log.warn("Event writer couldn't drain the queue in {} ms, {} events weren't recorded", shutdownTimeoutMs, queue.size());
+        }
+    }
+
+    public int getQueueSize() {
+        return queue == null ? 0 : queue.size();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    public long getSpilledCount() {
+        return spilledCount.sum();
+    }
+
+    private boolean enqueue(EventBO event) {
+        if (queue.offer(event)) {
+            return true;
+        }
+
+        switch (overflowStrategy) {
+            case DROP:
+                droppedCount.increment();
+                log.warn("Event queue is full, event has been dropped: {}", event);
+                return false;
+            case SPILL:
+                return spill(event);
+            case BLOCK:
+            default:
+                return putBlocking(event);
+        }
+    }
+
+    /**
+     * Waits for free space in the queue not longer than the block timeout. If there is still no space, the event is
+     * spilled to the local file, if it's configured, and dropped otherwise.
+     */
+    private boolean putBlocking(EventBO event) {
+        try {
+            if (queue.offer(event, blockTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (spillPath != null) {
+            return spill(event);
+        }
+
+        droppedCount.increment();
+        log.warn("Event queue is full for {} ms, event has been dropped: {}", blockTimeoutMs, event);
+        return false;
+    }
+
+    private void validateSpillFile() {
+        if (spillPath == null) {
+            throw new IllegalStateException("Spill file must be configured with xs2a.event.async.spill-file property for SPILL overflow strategy");
+        }
+
+        Path directory = spillPath.toAbsolutePath().getParent();
+        if (directory == null || !Files.isDirectory(directory)) {
+            throw new IllegalStateException("Directory of the spill file " + spillPath + " doesn't exist");
+        }
+        if (!isPosixFileSystem()) {
+            return;
+        }
+
+        try {
+            Set<PosixFilePermission> permissions = Files.getPosixFilePermissions(directory);
+            if (permissions.contains(PosixFilePermission.GROUP_WRITE) || permissions.contains(PosixFilePermission.OTHERS_WRITE)) {
+                throw new IllegalStateException("Directory of the spill file " + spillPath + " must be writable only by its owner");
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Couldn't read permissions of the spill file directory " + directory, e);
+        }
+    }
+
+    private void writeEvents() {
+        List<EventBO> failedBatch = null;
+        while (running || !queue.isEmpty() || failedBatch != null) {
+            try {
+                if (failedBatch != null) {
+                    failedBatch = retry(failedBatch);
+                    continue;
+                }
+
+                EventBO event = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (event == null) {
+                    replaySpilledEvents();
+                    continue;
+                }
+
+                List<EventBO> batch = new ArrayList<>(batchSize);
+                batch.add(event);
+                queue.drainTo(batch, batchSize - 1);
+                if (!flush(batch)) {
+                    failedBatch = batch;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (failedBatch != null) {
+                    drop(failedBatch);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Records batch of events, that couldn't be recorded before, once the flush interval has passed.
+     *
+     * @return the batch, if it couldn't be recorded again and should be retried. <code>null</code> otherwise.
+     */
+    private List<EventBO> retry(List<EventBO> failedBatch) throws InterruptedException {
+        if (!running) {
+            drop(failedBatch);
+            return null;
+        }
+
+        TimeUnit.MILLISECONDS.sleep(flushIntervalMs);
+        return flush(failedBatch) ? null : failedBatch;
+    }
+
+    private void drop(List<EventBO> batch) {
+        droppedCount.add(batch.size());
+        log.warn("Couldn't record batch of {} events before shutdown, events have been dropped", batch.size());
+    }
+
+    /**
+     * Records batch of events in the CMS. If CMS couldn't be reached or didn't record the batch, events are spilled to
+     * the local file with SPILL strategy and are left to be retried by the writer otherwise.
+     *
+     * @return <code>false</code> if the batch should be retried. <code>true</code> otherwise.
+     */
+    private boolean flush(List<EventBO> batch) {
+        try {
+            if (eventService.recordEvents(batch)) {
+                return true;
+            }
+            log.warn("CMS didn't record batch of {} events", batch.size());
+        } catch (RuntimeException e) {
+            log.warn("Couldn't record batch of {} events: {}", batch.size(), e.getMessage());
+        }
+
+        if (overflowStrategy == OverflowStrategy.SPILL) {
+            batch.forEach(this::spill);
+            return true;
+        }
+        return false;
+    }
+
+    private boolean spill(EventBO event) {
+        synchronized (spillLock) {
+            try {
+                byte[] line = (xs2aObjectMapper.writeValueAsString(event) + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+                if (Files.notExists(spillPath, LinkOption.NOFOLLOW_LINKS)) {
+                    createOwnerOnlyFile(spillPath);
+                }
+                Files.write(spillPath, line, StandardOpenOption.APPEND, LinkOption.NOFOLLOW_LINKS);
+                spilledCount.increment();
+                return true;
+            } catch (IOException e) {
+                droppedCount.increment();
+                log.warn("Couldn't spill event to file [{}]: {}", spillFile, e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    private void createOwnerOnlyFile(Path path) throws IOException {
+        if (isPosixFileSystem()) {
+            Files.createFile(path, PosixFilePermissions.asFileAttribute(OWNER_ONLY_PERMISSIONS));
+        } else {
+            Files.createFile(path);
+        }
+    }
+
+    private boolean isPosixFileSystem() {
+        return spillPath.getFileSystem().supportedFileAttributeViews().contains(POSIX_FILE_ATTRIBUTE_VIEW);
+    }
+
+    /**
+     * Records events from the spill file in batches. The number of already recorded lines is stored after every batch,
+     * the replay file is deleted only after all its events have been recorded. If CMS couldn't be reached, the replay
+     * is continued from the stored position next time the writer is idle.
+     */
+    private void replaySpilledEvents() {
+        if (spillPath == null) {
+            return;
+        }
+
+        Path replayFile = Paths.get(spillFile + REPLAY_FILE_SUFFIX);
+        Path offsetFile = Paths.get(spillFile + REPLAY_FILE_SUFFIX + REPLAY_OFFSET_FILE_SUFFIX);
+        synchronized (spillLock) {
+            if (Files.notExists(replayFile) && Files.exists(spillPath)) {
+                try {
+                    Files.deleteIfExists(offsetFile);
+                    Files.move(spillPath, replayFile, StandardCopyOption.REPLACE_EXISTING);
+                } catch (IOException e) {
+                    log.warn("Couldn't move spilled events file [{}]: {}", spillFile, e.getMessage());
+                    return;
+                }
+            }
+        }
+
+        if (Files.notExists(replayFile)) {
+            return;
+        }
+
+        List<EventBO> batch = new ArrayList<>(batchSize);
+        try (BufferedReader reader = Files.newBufferedReader(replayFile, StandardCharsets.UTF_8)) {
+            long recordedLines = readReplayOffset(offsetFile);
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber <= recordedLines || line.isEmpty()) {
+                    continue;
+                }
+
+                EventBO event = readSpilledEvent(line);
+                if (event != null) {
+                    batch.add(event);
+                }
+                if (batch.size() >= batchSize) {
+                    if (!flushReplayed(batch)) {
+                        return;
+                    }
+                    writeReplayOffset(offsetFile, lineNumber);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty() && !flushReplayed(batch)) {
+                return;
+            }
+        } catch (IOException e) {
+            log.warn("Couldn't replay spilled events from file [{}]: {}", replayFile, e.getMessage());
+            return;
+        }
+
+        try {
+            Files.delete(replayFile);
+            Files.deleteIfExists(offsetFile);
+        } catch (IOException e) {
+            log.warn("Couldn't delete replayed events file [{}]: {}", replayFile, e.getMessage());
+        }
+    }
+
+    private long readReplayOffset(Path offsetFile) throws IOException {
+        if (Files.notExists(offsetFile)) {
+            return 0;
+        }
+
+        String offset = new String(Files.readAllBytes(offsetFile), StandardCharsets.UTF_8).trim();
+        try {
+            return Long.parseLong(offset);
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid replay offset: " + offset, e);
+        }
+    }
+
+    private void writeReplayOffset(Path offsetFile, long recordedLines) throws IOException {
+        Path tempFile = Paths.get(offsetFile + ".tmp");
+        Files.write(tempFile, String.valueOf(recordedLines).getBytes(StandardCharsets.UTF_8));
+        Files.move(tempFile, offsetFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private EventBO readSpilledEvent(String line) {
+        try {
+            return xs2aObjectMapper.readValue(line, EventBO.class);
+        } catch (JsonProcessingException e) {
+            droppedCount.increment();
+            log.warn("Couldn't read spilled event, event has been dropped: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private boolean flushReplayed(List<EventBO> batch) {
+        try {
+            if (eventService.recordEvents(batch)) {
+                return true;
+            }
+            log.warn("CMS didn't record batch of {} spilled events, replay will be continued later", batch.size());
+            return false;
+        } catch (RuntimeException e) {
+            log.warn("Couldn't record batch of {} spilled events, replay will be continued later: {}", batch.size(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Defines what happens with the event, if the queue is full
+     */
+    public enum OverflowStrategy {
+        /**
+         * Request thread waits for free space in the queue not longer than the block timeout, then the event is spilled
+         * to the local file, if it's configured, or dropped. Batch, that couldn't be recorded, is retried
+         */
+        BLOCK,
+        /**
+         * Event is dropped. Batch, that couldn't be recorded, is retried
+         */
+        DROP,
+        /**
+         * Event is appended to the local spill file and recorded later. Batch, that couldn't be recorded, is spilled too
+         */
+        SPILL
+    }
+}
@@ -18,7 +18,6 @@ package de.adorsys.psd2.xs2a.service.event;
 
 import de.adorsys.psd2.event.core.model.EventOrigin;
 import de.adorsys.psd2.event.core.model.EventType;
-import de.adorsys.psd2.event.service.Xs2aEventServiceEncrypted;
 import de.adorsys.psd2.event.service.model.EventBO;
 import de.adorsys.psd2.xs2a.domain.RequestData;
 import de.adorsys.psd2.xs2a.domain.event.RequestEventPayload;
@@ -38,7 +37,7 @@ import java.time.OffsetDateTime;
 @RequiredArgsConstructor
 public class Xs2aEventService {
     private final TppService tppService;
-    private final Xs2aEventServiceEncrypted eventService;
+    private final AsyncEventRecorder eventRecorder;
     private final RequestProviderService requestProviderService;
     private final EventMapper eventMapper;
 
@@ -136,7 +135,7 @@ public class Xs2aEventService {
     }
 
     private void recordEventInCms(EventBO event) {
-        boolean recorded = eventService.recordEvent(event);
+        boolean recorded = eventRecorder.recordEvent(event);
         if (!recorded) {
             log.info("TPP ID: [{}]. Couldn't record event from TPP request: {}", event.getTppAuthorisationNumber(), event);
         }
@@ -54,7 +54,8 @@ public class AccountAspectService extends BaseAspectService<AccountController> {
             if (body.getAisConsent().getAisConsentRequestType() == AisConsentRequestType.ALL_AVAILABLE_ACCOUNTS) {
                 accountDetails.forEach(acc -> acc.setLinks(null));
             } else {
-                accountDetails.forEach(acc -> acc.setLinks(new AccountDetailsLinks(getHttpUrl(), acc.getResourceId(),
+                String httpUrl = getHttpUrl();
+                accountDetails.forEach(acc -> acc.setLinks(new AccountDetailsLinks(httpUrl, acc.getResourceId(),
                                                                                    body.getAisConsent())));
             }
         }
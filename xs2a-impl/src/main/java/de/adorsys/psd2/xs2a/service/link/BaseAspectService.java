@@ -18,25 +18,81 @@ package de.adorsys.psd2.xs2a.service.link;
 
 import de.adorsys.psd2.xs2a.core.profile.ScaRedirectFlow;
 import de.adorsys.psd2.xs2a.service.profile.AspspProfileServiceWrapper;
-import lombok.AllArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.lang.reflect.ParameterizedType;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.springframework.web.servlet.mvc.method.annotation.MvcUriComponentsBuilder.fromController;
 
-@AllArgsConstructor
 public class BaseAspectService<T> {
+    /**
+     * Limits number of cached base URLs, as host of the request is controlled by the client
+     */
+    private static final int MAX_CACHED_HTTP_URLS = 64;
+
     final AspspProfileServiceWrapper aspspProfileServiceWrapper;
 
+    private final Map<String, String> httpUrls = new ConcurrentHashMap<>();
+    private volatile Class<T> controllerClass;
+
+    public BaseAspectService(AspspProfileServiceWrapper aspspProfileServiceWrapper) {
+        this.aspspProfileServiceWrapper = aspspProfileServiceWrapper;
+    }
+
     String getHttpUrl() {
         return aspspProfileServiceWrapper.isForceXs2aBaseLinksUrl()
                    ? aspspProfileServiceWrapper.getXs2aBaseLinksUrl()
-                   : fromController(this.getControllerClass()).pathSegment(StringUtils.EMPTY).toUriString();
+                   : getControllerHttpUrl();
+    }
+
+    /**
+     * Resolves base URL of the controller for the current request.
+     * <p>
+     * Resolved URL consists of the base URL of the servlet mapping, resolved by
+     * {@link ServletUriComponentsBuilder#fromCurrentServletMapping()} for every request, and the mapping of the
+     * controller. The cache is keyed by the resolved base URL itself, so that the URL cached for one request can't be
+     * served to a request with another base URL (e.g. if forwarded headers are applied to the request).
+     */
+    private String getControllerHttpUrl() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (!(requestAttributes instanceof ServletRequestAttributes)) {
+            return resolveControllerHttpUrl();
+        }
+
+        String cacheKey = ServletUriComponentsBuilder.fromCurrentServletMapping().toUriString();
+        String httpUrl = httpUrls.get(cacheKey);
+        if (httpUrl != null) {
+            return httpUrl;
+        }
+
+        httpUrl = resolveControllerHttpUrl();
+        if (httpUrls.size() < MAX_CACHED_HTTP_URLS) {
+            httpUrls.put(cacheKey, httpUrl);
+        }
+        return httpUrl;
+    }
+
+    private String resolveControllerHttpUrl() {
+        return fromController(getControllerClass()).pathSegment(StringUtils.EMPTY).toUriString();
     }
 
-    @SuppressWarnings("unchecked")
     private Class<T> getControllerClass() {
+        Class<T> resolvedClass = controllerClass;
+        if (resolvedClass == null) {
+            resolvedClass = resolveControllerClass();
+            controllerClass = resolvedClass;
+        }
+        return resolvedClass;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Class<T> resolveControllerClass() {
         try {
             String className = ((ParameterizedType) this.getClass().getGenericSuperclass())
                                    .getActualTypeArguments()[0]
@@ -22,6 +22,7 @@ import de.adorsys.psd2.logger.context.LoggingContextService;
 import de.adorsys.psd2.xs2a.core.pis.InternalPaymentStatus;
 import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
 import de.adorsys.psd2.xs2a.core.tpp.TppRedirectUri;
+import de.adorsys.psd2.xs2a.service.payment.status.PaymentStatusCache;
 import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.stereotype.Service;
@@ -31,12 +32,14 @@ import org.springframework.stereotype.Service;
 public class Xs2aUpdatePaymentAfterSpiService {
     private final UpdatePaymentAfterSpiServiceEncrypted updatePaymentStatusAfterSpiService;
     private final LoggingContextService loggingContextService;
+    private final PaymentStatusCache paymentStatusCache;
 
     public boolean updatePaymentStatus(@NotNull String paymentId, @NotNull TransactionStatus status) {
         CmsResponse<Boolean> response = updatePaymentStatusAfterSpiService.updatePaymentStatus(paymentId, status);
         boolean statusUpdated = response.isSuccessful() && response.getPayload();
 
         if (statusUpdated) {
+            paymentStatusCache.evict(paymentId);
             loggingContextService.storeTransactionStatus(status);
         }
 
@@ -16,7 +16,9 @@
 
 package de.adorsys.psd2.xs2a.service.payment.create;
 
-import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentResponse;
+import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationRequest;
+import de.adorsys.psd2.consent.api.pis.InitiatePisCommonPaymentRequest;
+import de.adorsys.psd2.consent.api.pis.InitiatePisCommonPaymentResponse;
 import de.adorsys.psd2.consent.api.pis.proto.PisPaymentInfo;
 import de.adorsys.psd2.xs2a.core.pis.InternalPaymentStatus;
 import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
@@ -29,8 +31,7 @@ import de.adorsys.psd2.xs2a.domain.pis.PaymentInitiationParameters;
 import de.adorsys.psd2.xs2a.domain.pis.PaymentInitiationResponse;
 import de.adorsys.psd2.xs2a.service.RequestProviderService;
 import de.adorsys.psd2.xs2a.service.authorization.AuthorisationMethodDecider;
-import de.adorsys.psd2.xs2a.service.authorization.pis.PisScaAuthorisationService;
-import de.adorsys.psd2.xs2a.service.authorization.pis.PisScaAuthorisationServiceResolver;
+import de.adorsys.psd2.xs2a.service.authorization.pis.PisAuthorisationService;
 import de.adorsys.psd2.xs2a.service.consent.Xs2aPisCommonPaymentService;
 import de.adorsys.psd2.xs2a.service.mapper.cms_xs2a_mappers.Xs2aPisCommonPaymentMapper;
 import de.adorsys.psd2.xs2a.service.mapper.cms_xs2a_mappers.Xs2aToCmsPisCommonPaymentRequestMapper;
@@ -49,7 +50,7 @@ import static de.adorsys.psd2.xs2a.core.error.MessageErrorCode.PAYMENT_FAILED;
 @RequiredArgsConstructor
 public abstract class AbstractCreatePaymentService<P extends CommonPayment, S extends PaymentInitiationService<P>> implements CreatePaymentService {
     protected final Xs2aPisCommonPaymentService pisCommonPaymentService;
-    private final PisScaAuthorisationServiceResolver pisScaAuthorisationServiceResolver;
+    private final PisAuthorisationService pisAuthorisationService;
     private final AuthorisationMethodDecider authorisationMethodDecider;
     private final Xs2aPisCommonPaymentMapper xs2aPisCommonPaymentMapper;
     private final Xs2aToCmsPisCommonPaymentRequestMapper xs2aToCmsPisCommonPaymentRequestMapper;
@@ -83,10 +84,24 @@ public abstract class AbstractCreatePaymentService<P extends CommonPayment, S ex
         PisPaymentInfo pisPaymentInfo = xs2aToCmsPisCommonPaymentRequestMapper.mapToPisPaymentInfo(new PisPaymentInfoCreationObject(paymentInitiationParameters, tppInfo, response, paymentRequest.getPaymentData(), internalRequestId, creationTimestamp, contentType));
         response.setInternalRequestId(internalRequestId);
         pisPaymentInfo.setInternalPaymentStatus(InternalPaymentStatus.INITIATED);
-        CreatePisCommonPaymentResponse cmsResponse = pisCommonPaymentService.createCommonPayment(pisPaymentInfo);
-        response.setTppNotificationContentPreferred(cmsResponse.getTppNotificationContentPreferred());
 
-        Xs2aPisCommonPayment pisCommonPayment = xs2aPisCommonPaymentMapper.mapToXs2aPisCommonPayment(cmsResponse, psuData);
+        // Payment, its ASPSP consent data and implicit authorisation are stored in CMS in one request
+        boolean implicitMethod = authorisationMethodDecider.isImplicitMethod(paymentInitiationParameters.isTppExplicitAuthorisationPreferred(), response.isMultilevelScaRequired());
+        CreateAuthorisationRequest authorisationRequest = implicitMethod
+                                                              ? pisAuthorisationService.buildCreateAuthorisationRequest(psuData)
+                                                              : null;
+        InitialSpiAspspConsentDataProvider aspspConsentDataProvider = response.getAspspConsentDataProvider();
+        InitiatePisCommonPaymentResponse cmsResponse = pisCommonPaymentService.initiateCommonPayment(new InitiatePisCommonPaymentRequest(pisPaymentInfo, aspspConsentDataProvider.loadAspspConsentData(), authorisationRequest));
+
+        if (cmsResponse == null) {
+            return ResponseObject.<PaymentInitiationResponse>builder()
+                       .fail(PIS_400, of(PAYMENT_FAILED))
+                       .build();
+        }
+
+        response.setTppNotificationContentPreferred(cmsResponse.getPayment().getTppNotificationContentPreferred());
+
+        Xs2aPisCommonPayment pisCommonPayment = xs2aPisCommonPaymentMapper.mapToXs2aPisCommonPayment(cmsResponse.getPayment(), psuData);
 
         String externalPaymentId = pisCommonPayment.getPaymentId();
 
@@ -96,15 +111,12 @@ public abstract class AbstractCreatePaymentService<P extends CommonPayment, S ex
                        .build();
         }
 
-        InitialSpiAspspConsentDataProvider aspspConsentDataProvider = response.getAspspConsentDataProvider();
-        aspspConsentDataProvider.saveWith(externalPaymentId);
+        aspspConsentDataProvider.linkWith(externalPaymentId);
 
         response.setPaymentId(externalPaymentId);
 
-        boolean implicitMethod = authorisationMethodDecider.isImplicitMethod(paymentInitiationParameters.isTppExplicitAuthorisationPreferred(), response.isMultilevelScaRequired());
         if (implicitMethod) {
-            PisScaAuthorisationService pisScaAuthorisationService = pisScaAuthorisationServiceResolver.getService();
-            Optional<Xs2aCreatePisAuthorisationResponse> consentAuthorisation = pisScaAuthorisationService.createCommonPaymentAuthorisation(externalPaymentId, paymentRequest.getPaymentType(), paymentInitiationParameters.getPsuData());
+            Optional<Xs2aCreatePisAuthorisationResponse> consentAuthorisation = xs2aPisCommonPaymentMapper.mapToXsa2CreatePisAuthorisationResponse(cmsResponse.getAuthorisation(), paymentRequest.getPaymentType());
             if (consentAuthorisation.isEmpty()) {
                 return ResponseObject.<PaymentInitiationResponse>builder()
                            .fail(PIS_400, of(PAYMENT_FAILED))
@@ -20,7 +20,7 @@ import de.adorsys.psd2.xs2a.domain.pis.CommonPayment;
 import de.adorsys.psd2.xs2a.domain.pis.PaymentInitiationParameters;
 import de.adorsys.psd2.xs2a.service.RequestProviderService;
 import de.adorsys.psd2.xs2a.service.authorization.AuthorisationMethodDecider;
-import de.adorsys.psd2.xs2a.service.authorization.pis.PisScaAuthorisationServiceResolver;
+import de.adorsys.psd2.xs2a.service.authorization.pis.PisAuthorisationService;
 import de.adorsys.psd2.xs2a.service.consent.Xs2aPisCommonPaymentService;
 import de.adorsys.psd2.xs2a.service.mapper.cms_xs2a_mappers.Xs2aPisCommonPaymentMapper;
 import de.adorsys.psd2.xs2a.service.mapper.cms_xs2a_mappers.Xs2aToCmsPisCommonPaymentRequestMapper;
@@ -35,13 +35,13 @@ public class CreateCommonPaymentService extends AbstractCreatePaymentService<Com
 
     @Autowired
     public CreateCommonPaymentService(Xs2aPisCommonPaymentService pisCommonPaymentService,
-                                      PisScaAuthorisationServiceResolver pisScaAuthorisationServiceResolver,
+                                      PisAuthorisationService pisAuthorisationService,
                                       AuthorisationMethodDecider authorisationMethodDecider,
                                       Xs2aPisCommonPaymentMapper xs2aPisCommonPaymentMapper,
                                       Xs2aToCmsPisCommonPaymentRequestMapper xs2aToCmsPisCommonPaymentRequestMapper,
                                       CommonPaymentInitiationService paymentInitiationService,
                                       RequestProviderService requestProviderService) {
-        super(pisCommonPaymentService, pisScaAuthorisationServiceResolver, authorisationMethodDecider,
+        super(pisCommonPaymentService, pisAuthorisationService, authorisationMethodDecider,
               xs2aPisCommonPaymentMapper, xs2aToCmsPisCommonPaymentRequestMapper, paymentInitiationService, requestProviderService);
     }
 
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.service.payment.status;
+
+import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
+import de.adorsys.psd2.xs2a.domain.pis.ReadPaymentStatusResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Short-lived cache of payment statuses read from the ASPSP, that protects SPI from TPPs polling payment status.
+ * <p>
+ * Successful responses with not finalised transaction status are kept for configured TTL per payment and accept media
+ * type. Concurrent reads of the same payment status are coalesced, so that only one of them calls SPI and others wait
+ * for its result. Error responses and finalised statuses are never cached, as finalised statuses are read from CMS.
+ */
+@Slf4j
+@Component
+public class PaymentStatusCache {
+    private final long ttlNanos;
+    private final int maxSize;
+
+    private final Map<String, CachedStatus> entries = new ConcurrentHashMap<>();
+
+    public PaymentStatusCache(@Value("${xs2a.payment-status-cache.ttl.ms:1000}") long ttlMillis,
+                              @Value("${xs2a.payment-status-cache.max-size:10000}") int maxSize) {
+        this.ttlNanos = Math.max(ttlMillis, 0) * 1_000_000;
+        this.maxSize = Math.max(maxSize, 1);
+    }
+
+    /**
+     * Returns cached status of the payment or reads it with given loader, if there is no valid cached status
+     *
+     * @param encryptedPaymentId encrypted ID of the payment
+     * @param acceptMediaType    media type requested by the TPP
+     * @param loader             function, that reads payment status from the ASPSP
+     * @return payment status response
+     */
+    public ReadPaymentStatusResponse getOrLoad(@NotNull String encryptedPaymentId, String acceptMediaType,
+                                               Supplier<ReadPaymentStatusResponse> loader) {
+        if (ttlNanos == 0) {
+            return loader.get();
+        }
+
+        long now = System.nanoTime();
+        CachedStatus newEntry = new CachedStatus(acceptMediaType);
+        CachedStatus entry = entries.compute(encryptedPaymentId, (id, existing) -> existing != null && existing.isReusable(acceptMediaType, now, ttlNanos)
+                                                                                       ? existing
+                                                                                       : newEntry);
+
+        if (entry != newEntry) {
+            return awaitOrLoad(entry, encryptedPaymentId, loader);
+        }
+
+        ReadPaymentStatusResponse response;
+        try {
+            response = loader.get();
+        } catch (RuntimeException e) {
+            entries.remove(encryptedPaymentId, newEntry);
+            newEntry.future.completeExceptionally(e);
+            throw e;
+        }
+
+        newEntry.loadedAt = System.nanoTime();
+        if (!isCacheable(response)) {
+            entries.remove(encryptedPaymentId, newEntry);
+        }
+        newEntry.future.complete(response);
+
+        evictIfNeeded();
+        return response;
+    }
+
+    /**
+     * Removes cached status of the payment, should be called whenever the status of the payment is changed
+     *
+     * @param encryptedPaymentId encrypted ID of the payment
+     */
+    public void evict(@NotNull String encryptedPaymentId) {
+        entries.remove(encryptedPaymentId);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private ReadPaymentStatusResponse awaitOrLoad(CachedStatus entry, String encryptedPaymentId,
+                                                  Supplier<ReadPaymentStatusResponse> loader) {
+        try {
+            return entry.future.join();
+        } catch (CompletionException e) {
+            log.info("Payment-ID [{}]. Coalesced read of payment status has failed, reading the status again", encryptedPaymentId);
+            return loader.get();
+        }
+    }
+
+    private boolean isCacheable(ReadPaymentStatusResponse response) {
+        if (response == null || response.hasError()) {
+            return false;
+        }
+
+        TransactionStatus status = response.getStatus();
+        return status != null && status.isNotFinalisedStatus();
+    }
+
+    private void evictIfNeeded() {
+        if (entries.size() <= maxSize) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> entry.isExpired(now, ttlNanos));
+
+        if (entries.size() > maxSize) {
+            // all entries are still valid, which means that the cache is too small for the current load
+            entries.values().removeIf(entry -> entry.future.isDone());
+        }
+    }
+
+    private static class CachedStatus {
+        private final String acceptMediaType;
+        private final CompletableFuture<ReadPaymentStatusResponse> future = new CompletableFuture<>();
+        private volatile long loadedAt;
+
+        private CachedStatus(String acceptMediaType) {
+            this.acceptMediaType = acceptMediaType;
+        }
+
+        private boolean isReusable(String requestedMediaType, long now, long ttlNanos) {
+            return Objects.equals(acceptMediaType, requestedMediaType) && !isExpired(now, ttlNanos);
+        }
+
+        private boolean isExpired(long now, long ttlNanos) {
+            return future.isDone() && now - loadedAt >= ttlNanos;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.service.profile;
+
+import de.adorsys.psd2.aspsp.profile.domain.AspspProfileChangedEvent;
+import de.adorsys.psd2.aspsp.profile.domain.AspspSettings;
+import de.adorsys.psd2.aspsp.profile.service.AspspProfileService;
+import de.adorsys.psd2.xs2a.core.profile.ScaApproach;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Keeps snapshots of ASPSP settings and SCA approaches per instance ID, so that reading of ASPSP profile on the request
+ * path doesn't require calls to the profile.
+ * <p>
+ * Snapshot is loaded synchronously only on the first access for the instance. Snapshots older than configured refresh
+ * interval are still returned, but trigger asynchronous refresh. All snapshots are also refreshed on
+ * {@link AspspProfileChangedEvent}, that is published by embedded ASPSP profile on reload or update of its settings.
+ */
+@Slf4j
+@Service
+public class AspspProfileCache {
+    private final AspspProfileService aspspProfileService;
+    private final boolean cacheEnabled;
+    private final long refreshIntervalMs;
+
+    private final Map<String, AspspProfileSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final Set<String> refreshesInProgress = ConcurrentHashMap.newKeySet();
+    private final ExecutorService refreshExecutor;
+
+    public AspspProfileCache(AspspProfileService aspspProfileService,
+                             @Value("${xs2a.aspsp-profile.cache.enabled:true}") boolean cacheEnabled,
+                             @Value("${xs2a.aspsp-profile.cache.refresh-interval.ms:60000}") long refreshIntervalMs) {
+        this.aspspProfileService = aspspProfileService;
+        this.cacheEnabled = cacheEnabled;
+        this.refreshIntervalMs = refreshIntervalMs;
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("aspsp-profile-refresh-");
+        threadFactory.setDaemon(true);
+        this.refreshExecutor = Executors.newSingleThreadExecutor(threadFactory);
+    }
+
+    /**
+     * Returns ASPSP settings for given instance from the snapshot
+     *
+     * @param instanceId ID of the instance
+     * @return ASPSP settings
+     */
+    public AspspSettings getAspspSettings(String instanceId) {
+        if (!cacheEnabled) {
+            return aspspProfileService.getAspspSettings(instanceId);
+        }
+        return getSnapshot(instanceId).aspspSettings;
+    }
+
+    /**
+     * Returns list of SCA approaches for given instance from the snapshot
+     *
+     * @param instanceId ID of the instance
+     * @return list of SCA approaches ordered by priority
+     */
+    public List<ScaApproach> getScaApproaches(String instanceId) {
+        if (!cacheEnabled) {
+            return aspspProfileService.getScaApproaches(instanceId);
+        }
+        return getSnapshot(instanceId).scaApproaches;
+    }
+
+    @EventListener
+    public void onAspspProfileChanged(AspspProfileChangedEvent event) {
+        if (!cacheEnabled) {
+            return;
+        }
+
+        snapshots.forEach((cacheKey, snapshot) -> {
+            if (event.getInstanceId() == null || cacheKey.equalsIgnoreCase(event.getInstanceId())) {
+                refreshAsync(cacheKey, snapshot.instanceId);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private AspspProfileSnapshot getSnapshot(String instanceId) {
+        String cacheKey = Objects.toString(instanceId, "");
+        AspspProfileSnapshot snapshot = snapshots.get(cacheKey);
+
+        if (snapshot == null) {
+            return snapshots.computeIfAbsent(cacheKey, k -> loadSnapshot(instanceId));
+        }
+
+        if (System.currentTimeMillis() - snapshot.loadedAt >= refreshIntervalMs) {
+            refreshAsync(cacheKey, instanceId);
+        }
+        return snapshot;
+    }
+
+    private void refreshAsync(String cacheKey, String instanceId) {
+        if (!refreshesInProgress.add(cacheKey)) {
+            return;
+        }
+
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    snapshots.put(cacheKey, loadSnapshot(instanceId));
+                } catch (RuntimeException e) {
+                    log.warn("Couldn't refresh ASPSP profile snapshot for instance [{}]", instanceId, e);
+                } finally {
+                    refreshesInProgress.remove(cacheKey);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshesInProgress.remove(cacheKey);
+        }
+    }
+
+    private AspspProfileSnapshot loadSnapshot(String instanceId) {
+        AspspSettings aspspSettings = aspspProfileService.getAspspSettings(instanceId);
+        List<ScaApproach> scaApproaches = aspspProfileService.getScaApproaches(instanceId);
+        return new AspspProfileSnapshot(instanceId, aspspSettings, scaApproaches, System.currentTimeMillis());
+    }
+
+    private static final class AspspProfileSnapshot {
+        private final String instanceId;
+        private final AspspSettings aspspSettings;
+        private final List<ScaApproach> scaApproaches;
+        private final long loadedAt;
+
+        private AspspProfileSnapshot(String instanceId, AspspSettings aspspSettings, List<ScaApproach> scaApproaches, long loadedAt) {
+            this.instanceId = instanceId;
+            this.aspspSettings = aspspSettings;
+            this.scaApproaches = scaApproaches == null ? null : Collections.unmodifiableList(scaApproaches);
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -18,7 +18,6 @@ package de.adorsys.psd2.xs2a.service.profile;
 
 import de.adorsys.psd2.aspsp.profile.domain.AspspSettings;
 import de.adorsys.psd2.aspsp.profile.domain.MulticurrencyAccountLevel;
-import de.adorsys.psd2.aspsp.profile.service.AspspProfileService;
 import de.adorsys.psd2.xs2a.core.ais.BookingStatus;
 import de.adorsys.psd2.xs2a.core.profile.*;
 import de.adorsys.psd2.xs2a.domain.account.SupportedAccountReferenceField;
@@ -34,7 +33,7 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 public class AspspProfileServiceWrapper {
-    private final AspspProfileService aspspProfileService;
+    private final AspspProfileCache aspspProfileCache;
     private final RequestProviderService requestProviderService;
 
     /**
@@ -52,7 +51,7 @@ public class AspspProfileServiceWrapper {
      * @return List of Available SCA approaches for tpp
      */
     public List<ScaApproach> getScaApproaches() {
-        return aspspProfileService.getScaApproaches(requestProviderService.getInstanceId());
+        return aspspProfileCache.getScaApproaches(requestProviderService.getInstanceId());
     }
 
     /**
@@ -347,7 +346,7 @@ public class AspspProfileServiceWrapper {
     }
 
     private AspspSettings readAspspSettings() {
-        return aspspProfileService.getAspspSettings(requestProviderService.getInstanceId());
+        return aspspProfileCache.getAspspSettings(requestProviderService.getInstanceId());
     }
 
     /**
@@ -71,6 +71,16 @@ public class InitialSpiAspspConsentDataProvider implements SpiAspspConsentDataPr
         updateAspspConsentDataOnServer();
     }
 
+    /**
+     * Links this consent data object to some consent / payment without saving it,
+     * to be used when the data has already been stored in the database together with the consent / payment
+     *
+     * @param encryptedConsentId Consent/Payment ID that will be returned to TPP
+     */
+    public void linkWith(@NotNull String encryptedConsentId) {
+        this.encryptedConsentId = encryptedConsentId;
+    }
+
     private void updateAspspConsentDataOnServer() {
         if (Arrays.equals(EMPTY_BYTE_ARRAY, aspspConsentData)) {
             aspspDataService.deleteAspspConsentData(encryptedConsentId);
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.service.tpp;
+
+import de.adorsys.psd2.consent.api.CmsResponse;
+import de.adorsys.psd2.consent.api.service.TppService;
+import de.adorsys.psd2.xs2a.core.tpp.TppInfo;
+import de.adorsys.psd2.xs2a.core.tpp.TppRole;
+import lombok.extern.slf4j.Slf4j;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps last known roles and certificate fingerprint of recently seen TPPs, so that TPP info is updated in CMS only
+ * when something has actually changed instead of on every request.
+ * <p>
+ * Changes are collected and sent to CMS asynchronously in batches. The state is considered to be known as soon as it's
+ * sent and is forgotten again if CMS couldn't be reached or TPP wasn't found in CMS, so that the update is repeated
+ * on the next request of the TPP. Known states are also forgotten after the configured time, so that TPP info changed
+ * in CMS in the meantime (e.g. by another XS2A node) is eventually updated again, and only the configured number of
+ * least recently seen TPPs is kept.
+ */
+@Slf4j
+@Service
+public class TppInfoChangeRegistry {
+    private final TppService tppService;
+    private final boolean registryEnabled;
+    private final int batchSize;
+    private final long knownStateTtlMs;
+
+    private final Map<String, KnownState> knownStates;
+    private final Map<String, TppState> pendingChanges = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushInProgress = new AtomicBoolean();
+    private final ExecutorService flushExecutor;
+
+    public TppInfoChangeRegistry(TppService tppService,
+                                 @Value("${xs2a.tpp-info-update.registry.enabled:true}") boolean registryEnabled,
+                                 @Value("${xs2a.tpp-info-update.batch-size:100}") int batchSize,
+                                 @Value("${xs2a.tpp-info-update.registry.max-size:10000}") int maxSize,
+                                 @Value("${xs2a.tpp-info-update.registry.ttl.ms:3600000}") long knownStateTtlMs) {
+        this.tppService = tppService;
+        this.registryEnabled = registryEnabled;
+        this.batchSize = Math.max(batchSize, 1);
+        this.knownStateTtlMs = knownStateTtlMs;
+        this.knownStates = Collections.synchronizedMap(new LruMap<>(Math.max(maxSize, 1)));
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("tpp-info-update-");
+        threadFactory.setDaemon(true);
+        this.flushExecutor = Executors.newSingleThreadExecutor(threadFactory);
+    }
+
+    /**
+     * Schedules update of TPP info in CMS if roles or certificate of the TPP differ from the last known ones
+     *
+     * @param tppInfo                TPP info with authorisation number and roles of the TPP
+     * @param certificateFingerprint fingerprint of the TPP certificate
+     */
+    public void updateTppInfo(TppInfo tppInfo, @Nullable String certificateFingerprint) {
+        if (!registryEnabled) {
+            tppService.updateTppInfo(tppInfo);
+            return;
+        }
+
+        String key = tppInfo.getAuthorisationNumber();
+        TppState state = new TppState(toRoleSet(tppInfo.getTppRoles()), certificateFingerprint);
+        TppState pendingState = pendingChanges.get(key);
+        TppState lastState = pendingState != null ? pendingState : getKnownState(key);
+
+        if (state.equals(lastState)) {
+            return;
+        }
+
+        pendingChanges.put(key, state);
+        scheduleFlush();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushExecutor.shutdownNow();
+    }
+
+    @Nullable
+    private TppState getKnownState(String key) {
+        KnownState knownState = knownStates.get(key);
+        if (knownState == null || System.currentTimeMillis() - knownState.knownAt >= knownStateTtlMs) {
+            return null;
+        }
+        return knownState.state;
+    }
+
+    private void scheduleFlush() {
+        if (!flushInProgress.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            flushExecutor.execute(this::flush);
+        } catch (RejectedExecutionException e) {
+            flushInProgress.set(false);
+        }
+    }
+
+    private void flush() {
+        try {
+            while (!pendingChanges.isEmpty()) {
+                sendBatch(takeBatch());
+            }
+        } finally {
+            flushInProgress.set(false);
+        }
+
+        // Changes could have been added after the loop has finished, but before the flag was reset
+        if (!pendingChanges.isEmpty()) {
+            scheduleFlush();
+        }
+    }
+
+    private Map<String, KnownState> takeBatch() {
+        Map<String, KnownState> batch = new LinkedHashMap<>();
+        Iterator<Map.Entry<String, TppState>> iterator = pendingChanges.entrySet().iterator();
+
+        while (iterator.hasNext() && batch.size() < batchSize) {
+            Map.Entry<String, TppState> entry = iterator.next();
+            KnownState knownState = new KnownState(entry.getValue(), System.currentTimeMillis());
+            // State becomes known before it leaves pending changes, so that concurrent requests always see one of them
+            knownStates.put(entry.getKey(), knownState);
+            if (pendingChanges.remove(entry.getKey(), entry.getValue())) {
+                batch.put(entry.getKey(), knownState);
+            }
+        }
+        return batch;
+    }
+
+    private void sendBatch(Map<String, KnownState> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<TppInfo> tppInfos = batch.entrySet().stream()
+                                     .map(e -> buildTppInfo(e.getKey(), e.getValue().state))
+                                     .collect(Collectors.toList());
+        Set<String> updatedTpps;
+        try {
+            CmsResponse<Set<String>> cmsResponse = tppService.updateTppInfos(tppInfos);
+            updatedTpps = cmsResponse.hasError() || cmsResponse.getPayload() == null
+                              ? Collections.emptySet()
+                              : cmsResponse.getPayload();
+        } catch (RuntimeException e) {
+            log.warn("Couldn't update info of {} TPPs in CMS", tppInfos.size(), e);
+            updatedTpps = Collections.emptySet();
+        }
+
+        for (Map.Entry<String, KnownState> entry : batch.entrySet()) {
+            if (!updatedTpps.contains(entry.getKey())) {
+                knownStates.remove(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private TppInfo buildTppInfo(String authorisationNumber, TppState state) {
+        TppInfo tppInfo = new TppInfo();
+        tppInfo.setAuthorisationNumber(authorisationNumber);
+        tppInfo.setTppRoles(new ArrayList<>(state.roles));
+        return tppInfo;
+    }
+
+    private Set<TppRole> toRoleSet(@Nullable List<TppRole> roles) {
+        return roles == null || roles.isEmpty()
+                   ? EnumSet.noneOf(TppRole.class)
+                   : EnumSet.copyOf(roles);
+    }
+
+    private static final class LruMap<K, V> extends LinkedHashMap<K, V> {
+        private final int maxSize;
+
+        private LruMap(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return size() > maxSize;
+        }
+    }
+
+    private static final class KnownState {
+        private final TppState state;
+        private final long knownAt;
+
+        private KnownState(TppState state, long knownAt) {
+            this.state = state;
+            this.knownAt = knownAt;
+        }
+    }
+
+    private static final class TppState {
+        private final Set<TppRole> roles;
+        private final String certificateFingerprint;
+
+        private TppState(Set<TppRole> roles, @Nullable String certificateFingerprint) {
+            this.roles = roles;
+            this.certificateFingerprint = certificateFingerprint;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            TppState that = (TppState) o;
+            return roles.equals(that.roles)
+                       && Objects.equals(certificateFingerprint, that.certificateFingerprint);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(roles, certificateFingerprint);
+        }
+    }
+}
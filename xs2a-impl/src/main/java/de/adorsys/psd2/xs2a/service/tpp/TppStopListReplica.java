@@ -0,0 +1,221 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.service.tpp;
+
+import de.adorsys.psd2.consent.api.CmsResponse;
+import de.adorsys.psd2.consent.api.service.TppStopListService;
+import de.adorsys.psd2.consent.api.tpp.TppStopListChangedEvent;
+import de.adorsys.psd2.consent.api.tpp.TppStopListChanges;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.BooleanUtils;
+import org.jetbrains.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Keeps local copies of TPP stop lists per instance ID, so that checking whether TPP is blocked doesn't require
+ * a call to CMS for every request.
+ * <p>
+ * Copy is loaded completely on the first access for the instance. Copies older than configured refresh interval are
+ * still used, but trigger asynchronous incremental refresh with changes since the version of the copy. Copies older
+ * than configured maximum age are not used anymore: they are refreshed synchronously before the check, so a TPP
+ * blocked in CMS is never let through for longer than the maximum age, even if there were no requests to trigger
+ * background refresh. Copies are also refreshed on {@link TppStopListChangedEvent}, that is published by embedded CMS
+ * on blocking or unblocking of TPPs. If the copy couldn't be loaded, the stop list in CMS is checked directly.
+ * <p>
+ * Instance ID is provided by the TPP, so the number of copies is limited. Stop lists of instances beyond this limit
+ * are always checked in CMS directly. As copies are loaded outside of the map, concurrent first requests for different
+ * instances may exceed this limit by the number of such requests.
+ */
+@Slf4j
+@Service
+public class TppStopListReplica {
+    private final TppStopListService tppStopListService;
+    private final boolean replicaEnabled;
+    private final long refreshIntervalMs;
+    private final long maxAgeMs;
+    private final int maxInstances;
+
+    private final Map<String, StopListSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final Set<String> refreshesInProgress = ConcurrentHashMap.newKeySet();
+    private final ExecutorService refreshExecutor;
+
+    public TppStopListReplica(TppStopListService tppStopListService,
+                              @Value("${xs2a.tpp-stop-list.replica.enabled:true}") boolean replicaEnabled,
+                              @Value("${xs2a.tpp-stop-list.replica.refresh-interval.ms:5000}") long refreshIntervalMs,
+                              @Value("${xs2a.tpp-stop-list.replica.max-age.ms:30000}") long maxAgeMs,
+                              @Value("${xs2a.tpp-stop-list.replica.max-instances:10}") int maxInstances) {
+        this.tppStopListService = tppStopListService;
+        this.replicaEnabled = replicaEnabled;
+        this.refreshIntervalMs = refreshIntervalMs;
+        this.maxAgeMs = maxAgeMs;
+        this.maxInstances = maxInstances;
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("tpp-stop-list-refresh-");
+        threadFactory.setDaemon(true);
+        this.refreshExecutor = Executors.newSingleThreadExecutor(threadFactory);
+    }
+
+    /**
+     * Checks if TPP is blocked in given instance
+     *
+     * @param tppAuthorisationNumber authorisation number of the TPP
+     * @param instanceId             ID of the instance
+     * @return <code>true</code> if TPP is in the stop list with status BLOCKED, <code>false</code> otherwise
+     */
+    public boolean isTppBlocked(String tppAuthorisationNumber, @Nullable String instanceId) {
+        if (!replicaEnabled) {
+            return checkIfTppBlockedInCms(tppAuthorisationNumber, instanceId);
+        }
+
+        StopListSnapshot snapshot;
+        try {
+            snapshot = getSnapshot(instanceId);
+        } catch (RuntimeException e) {
+            log.warn("Couldn't load TPP stop list for instance [{}], checking TPP in CMS", instanceId, e);
+            return checkIfTppBlockedInCms(tppAuthorisationNumber, instanceId);
+        }
+        if (snapshot == null) {
+            return checkIfTppBlockedInCms(tppAuthorisationNumber, instanceId);
+        }
+        return snapshot.blockedTpps.contains(tppAuthorisationNumber);
+    }
+
+    @EventListener
+    public void onTppStopListChanged(TppStopListChangedEvent event) {
+        if (!replicaEnabled) {
+            return;
+        }
+
+        // Copy for requests without instance ID is also refreshed, as CMS resolves such requests to its own instance
+        snapshots.forEach((cacheKey, snapshot) -> {
+            if (event.getInstanceId() == null || cacheKey.isEmpty() || cacheKey.equalsIgnoreCase(event.getInstanceId())) {
+                refreshAsync(cacheKey, snapshot.instanceId);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private boolean checkIfTppBlockedInCms(String tppAuthorisationNumber, @Nullable String instanceId) {
+        CmsResponse<Boolean> cmsResponse = tppStopListService.checkIfTppBlocked(tppAuthorisationNumber, instanceId);
+        return cmsResponse.isSuccessful() && BooleanUtils.isTrue(cmsResponse.getPayload());
+    }
+
+    /**
+     * @return copy of the stop list or <code>null</code> if the limit of copies is reached
+     */
+    @Nullable
+    private StopListSnapshot getSnapshot(@Nullable String instanceId) {
+        String cacheKey = Objects.toString(instanceId, "");
+        StopListSnapshot snapshot = snapshots.get(cacheKey);
+
+        if (snapshot == null) {
+            if (snapshots.size() >= maxInstances) {
+                return null;
+            }
+            // CMS is called outside of the map, so that loading doesn't block other instances
+            StopListSnapshot loadedSnapshot = loadChanges(null, instanceId);
+            StopListSnapshot existingSnapshot = snapshots.putIfAbsent(cacheKey, loadedSnapshot);
+            return existingSnapshot == null ? loadedSnapshot : existingSnapshot;
+        }
+
+        long age = System.currentTimeMillis() - snapshot.loadedAt;
+        if (age >= maxAgeMs) {
+            StopListSnapshot refreshedSnapshot = loadChanges(snapshot, instanceId);
+            snapshots.put(cacheKey, refreshedSnapshot);
+            return refreshedSnapshot;
+        }
+        if (age >= refreshIntervalMs) {
+            refreshAsync(cacheKey, instanceId);
+        }
+        return snapshot;
+    }
+
+    private void refreshAsync(String cacheKey, @Nullable String instanceId) {
+        if (!refreshesInProgress.add(cacheKey)) {
+            return;
+        }
+
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    snapshots.put(cacheKey, loadChanges(snapshots.get(cacheKey), instanceId));
+                } catch (RuntimeException e) {
+                    log.warn("Couldn't refresh TPP stop list for instance [{}]", instanceId, e);
+                } finally {
+                    refreshesInProgress.remove(cacheKey);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshesInProgress.remove(cacheKey);
+        }
+    }
+
+    private StopListSnapshot loadChanges(@Nullable StopListSnapshot previousSnapshot, @Nullable String instanceId) {
+        Long sinceVersion = previousSnapshot == null ? null : previousSnapshot.version;
+        long loadedAt = System.currentTimeMillis();
+        CmsResponse<TppStopListChanges> cmsResponse = tppStopListService.getStopListChanges(instanceId, sinceVersion);
+
+        if (cmsResponse.hasError() || cmsResponse.getPayload() == null) {
+            throw new IllegalStateException("CMS returned no TPP stop list changes");
+        }
+
+        TppStopListChanges changes = cmsResponse.getPayload();
+        Set<String> blockedTpps = previousSnapshot == null || changes.isFullSnapshot()
+                                      ? new HashSet<>()
+                                      : new HashSet<>(previousSnapshot.blockedTpps);
+        blockedTpps.removeAll(nullToEmpty(changes.getUnblocked()));
+        blockedTpps.addAll(nullToEmpty(changes.getBlocked()));
+
+        return new StopListSnapshot(instanceId, Collections.unmodifiableSet(blockedTpps), changes.getVersion(), loadedAt);
+    }
+
+    private Set<String> nullToEmpty(@Nullable Set<String> tpps) {
+        return tpps == null ? Collections.emptySet() : tpps;
+    }
+
+    private static final class StopListSnapshot {
+        private final String instanceId;
+        private final Set<String> blockedTpps;
+        private final long version;
+        private final long loadedAt;
+
+        private StopListSnapshot(String instanceId, Set<String> blockedTpps, long version, long loadedAt) {
+            this.instanceId = instanceId;
+            this.blockedTpps = blockedTpps;
+            this.version = version;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.xs2a.web;
+
+import de.adorsys.psd2.xs2a.core.mapper.ServiceType;
+
+import java.util.Optional;
+
+import static de.adorsys.psd2.xs2a.config.Xs2aEndpointPathConstant.*;
+
+/**
+ * XS2A endpoint groups, identified by their path patterns.
+ * <p>
+ * Path patterns of all endpoints are compiled once into the route table, that resolves the endpoint of request path.
+ */
+public enum Xs2aEndpoint {
+    ACCOUNTS(ACCOUNTS_PATH, ServiceType.AIS),
+    BENEFICIARIES(BENEFICIARIES_PATH, ServiceType.AIS),
+    CARD_ACCOUNTS(CARD_ACCOUNTS_PATH, ServiceType.AIS),
+    CONSENTS(CONSENTS_PATH, ServiceType.AIS),
+    FUNDS_CONFIRMATION(FUNDS_CONFIRMATION_PATH, ServiceType.PIIS),
+    SINGLE_PAYMENTS(SINGLE_PAYMENTS_PATH, ServiceType.PIS),
+    BULK_PAYMENTS(BULK_PAYMENTS_PATH, ServiceType.PIS),
+    PERIODIC_PAYMENTS(PERIODIC_PAYMENTS_PATH, ServiceType.PIS),
+    SIGNING_BASKETS(SIGNING_BASKETS_PATH, ServiceType.SB),
+    CONSENTS_V2(CONSENTS_V2_PATH, ServiceType.PIIS);
+
+    private static final Xs2aRouteTable ROUTE_TABLE = Xs2aRouteTable.compile(values());
+
+    private final String pathPattern;
+    private final ServiceType serviceType;
+
+    Xs2aEndpoint(String pathPattern, ServiceType serviceType) {
+        this.pathPattern = pathPattern;
+        this.serviceType = serviceType;
+    }
+
+    public String getPathPattern() {
+        return pathPattern;
+    }
+
+    public ServiceType getServiceType() {
+        return serviceType;
+    }
+
+    /**
+     * Resolves XS2A endpoint by request path
+     *
+     * @param requestPath request path without context path
+     * @return endpoint, which path pattern matches given path, or empty optional if the path is not an XS2A one
+     */
+    public static Optional<Xs2aEndpoint> resolve(String requestPath) {
+        return ROUTE_TABLE.match(requestPath);
+    }
+}
@@ -14,27 +14,45 @@
  * limitations under the License.
  */
 
+
 package de.adorsys.psd2.xs2a.web;
 
-import de.adorsys.psd2.xs2a.config.Xs2aEndpointPathConstant;
 import de.adorsys.psd2.xs2a.web.request.RequestPathResolver;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.util.AntPathMatcher;
 
 import javax.servlet.http.HttpServletRequest;
-import java.util.stream.Stream;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class Xs2aEndpointChecker {
-    private static final AntPathMatcher matcher = new AntPathMatcher();
+    /**
+     * Request attribute, that holds XS2A endpoint resolved for the request by the first filter
+     */
+    public static final String XS2A_ENDPOINT_ATTRIBUTE = Xs2aEndpointChecker.class.getName() + ".XS2A_ENDPOINT";
+
     private final RequestPathResolver requestPathResolver;
 
     public boolean isXs2aEndpoint(HttpServletRequest request) {
-        String requestPath = requestPathResolver.resolveRequestPath(request);
+        return resolveXs2aEndpoint(request).isPresent();
+    }
+
+    /**
+     * Resolves XS2A endpoint of the request and stores it in the request attribute, so that subsequent filters and
+     * interceptors don't need to match request path again
+     *
+     * @param request current request
+     * @return XS2A endpoint or empty optional if the request is not sent to XS2A endpoint
+     */
+    public Optional<Xs2aEndpoint> resolveXs2aEndpoint(HttpServletRequest request) {
+        Object resolvedEndpoint = request.getAttribute(XS2A_ENDPOINT_ATTRIBUTE);
+        if (resolvedEndpoint instanceof Xs2aEndpoint) {
+            return Optional.of((Xs2aEndpoint) resolvedEndpoint);
+        }
 
-        return Stream.of(Xs2aEndpointPathConstant.getAllXs2aEndpointPaths())
-                   .anyMatch(en -> matcher.match(en, requestPath));
+        Optional<Xs2aEndpoint> endpoint = Xs2aEndpoint.resolve(requestPathResolver.resolveRequestPath(request));
+        endpoint.ifPresent(e -> request.setAttribute(XS2A_ENDPOINT_ATTRIBUTE, e));
+        return endpoint;
     }
 }
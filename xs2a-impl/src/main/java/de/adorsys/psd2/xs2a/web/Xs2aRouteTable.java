@@ -0,0 +1,119 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.xs2a.web;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Segment trie of XS2A endpoint path patterns.
+ * <p>
+ * Supports patterns, that consist of literal segments, optionally followed by <code>/**</code>, and matches request
+ * paths the same way as {@link org.springframework.util.AntPathMatcher} does for such patterns: empty segments are
+ * ignored, the path must start with the separator, and a pattern without trailing <code>/**</code> doesn't match the
+ * path with trailing separator. Matching walks the path only once.
+ */
+final class Xs2aRouteTable {
+    private static final char SEPARATOR = '/';
+    private static final String PREFIX_WILDCARD = "/**";
+
+    private final Node root = new Node();
+
+    private Xs2aRouteTable() {
+    }
+
+    static Xs2aRouteTable compile(Xs2aEndpoint[] endpoints) {
+        Xs2aRouteTable routeTable = new Xs2aRouteTable();
+        for (Xs2aEndpoint endpoint : endpoints) {
+            routeTable.add(endpoint);
+        }
+        return routeTable;
+    }
+
+    Optional<Xs2aEndpoint> match(String path) {
+        if (path == null || path.isEmpty() || path.charAt(0) != SEPARATOR) {
+            return Optional.empty();
+        }
+
+        Node node = root;
+        Xs2aEndpoint prefixMatch = null;
+        int position = 0;
+        int length = path.length();
+
+        while (true) {
+            if (node.prefixEndpoint != null) {
+                prefixMatch = node.prefixEndpoint;
+            }
+
+            while (position < length && path.charAt(position) == SEPARATOR) {
+                position++;
+            }
+            if (position == length) {
+                break;
+            }
+
+            int segmentEnd = path.indexOf(SEPARATOR, position);
+            if (segmentEnd < 0) {
+                segmentEnd = length;
+            }
+            Node child = node.children.get(path.substring(position, segmentEnd));
+            if (child == null) {
+                return Optional.ofNullable(prefixMatch);
+            }
+            node = child;
+            position = segmentEnd;
+        }
+
+        if (node.exactEndpoint != null && path.charAt(length - 1) != SEPARATOR) {
+            return Optional.of(node.exactEndpoint);
+        }
+        return Optional.ofNullable(prefixMatch);
+    }
+
+    private void add(Xs2aEndpoint endpoint) {
+        String pattern = endpoint.getPathPattern();
+        boolean prefix = pattern.endsWith(PREFIX_WILDCARD);
+        String literalPart = prefix
+                                 ? pattern.substring(0, pattern.length() - PREFIX_WILDCARD.length())
+                                 : pattern;
+
+        if (literalPart.indexOf('*') >= 0 || literalPart.indexOf('?') >= 0 || literalPart.indexOf('{') >= 0) {
+            throw new IllegalArgumentException("Unsupported XS2A endpoint path pattern: " + pattern);
+        }
+
+        Node node = root;
+        for (String segment : literalPart.split(String.valueOf(SEPARATOR))) {
+            if (!segment.isEmpty()) {
+                node = node.children.computeIfAbsent(segment, s -> new Node());
+            }
+        }
+
+        if (prefix) {
+            node.prefixEndpoint = endpoint;
+        } else {
+            node.exactEndpoint = endpoint;
+        }
+    }
+
+    private static class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private Xs2aEndpoint exactEndpoint;
+        private Xs2aEndpoint prefixEndpoint;
+    }
+}
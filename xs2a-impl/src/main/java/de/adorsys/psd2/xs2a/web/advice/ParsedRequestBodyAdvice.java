@@ -0,0 +1,60 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.web.advice;
+
+import de.adorsys.psd2.xs2a.config.converter.ParsedBodyHttpInputMessage;
+import de.adorsys.psd2.xs2a.config.converter.ParsedBodyMappingJackson2HttpMessageConverter;
+import de.adorsys.psd2.xs2a.web.validator.body.raw.ParsedRequestBody;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+
+/**
+ * Passes the JSON tree of the request body, already parsed by body validators, to the message converter, so that
+ * the body of XS2A endpoint is bound without parsing it once again
+ */
+@ControllerAdvice(basePackages = "de.adorsys.psd2.xs2a.web.controller")
+public class ParsedRequestBodyAdvice extends RequestBodyAdviceAdapter {
+
+    @Override
+    public boolean supports(@NotNull MethodParameter methodParameter, @NotNull Type targetType, @NotNull Class<? extends HttpMessageConverter<?>> converterType) {
+        return ParsedBodyMappingJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @NotNull
+    @Override
+    public HttpInputMessage beforeBodyRead(@NotNull HttpInputMessage inputMessage, @NotNull MethodParameter parameter, @NotNull Type targetType, @NotNull Class<? extends HttpMessageConverter<?>> converterType) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (!(requestAttributes instanceof ServletRequestAttributes)) {
+            return inputMessage;
+        }
+
+        ParsedRequestBody parsedBody = ParsedRequestBody.get(((ServletRequestAttributes) requestAttributes).getRequest());
+        if (parsedBody == null || parsedBody.getTree() == null || parsedBody.getTree().isMissingNode()) {
+            return inputMessage;
+        }
+        return new ParsedBodyHttpInputMessage(inputMessage, parsedBody.getTree());
+    }
+}
@@ -44,6 +44,7 @@ import de.adorsys.psd2.xs2a.service.mapper.ResponseMapper;
 import de.adorsys.psd2.xs2a.service.mapper.psd2.ResponseErrorMapper;
 import de.adorsys.psd2.xs2a.web.header.PaymentCancellationHeadersBuilder;
 import de.adorsys.psd2.xs2a.web.header.PaymentInitiationHeadersBuilder;
+import de.adorsys.psd2.xs2a.web.header.PaymentStatusHeadersBuilder;
 import de.adorsys.psd2.xs2a.web.header.ResponseHeaders;
 import de.adorsys.psd2.xs2a.web.mapper.*;
 import lombok.AllArgsConstructor;
@@ -75,6 +76,7 @@ public class PaymentController implements PaymentApi {
     private final PaymentServiceForAuthorisationImpl paymentServiceForAuthorisation;
     private final PaymentCancellationServiceForAuthorisationImpl paymentCancellationServiceForAuthorisation;
     private final RequestProviderService requestProviderService;
+    private final PaymentStatusHeadersBuilder paymentStatusHeadersBuilder;
 
     @Override
     public ResponseEntity getPaymentInitiationStatus(String paymentService, String paymentProduct,
@@ -91,10 +93,12 @@ public class PaymentController implements PaymentApi {
             return responseErrorMapper.generateErrorResponse(serviceResponse.getError());
         }
 
+        ResponseHeaders responseHeaders = paymentStatusHeadersBuilder.buildPaymentStatusHeaders(serviceResponse.getBody());
+
         if (serviceResponse.getBody().isResponseContentTypeJson()) {
-            return responseMapper.ok(serviceResponse, paymentModelMapperPsd2::mapToStatusResponseJson);
+            return responseMapper.ok(serviceResponse, paymentModelMapperPsd2::mapToStatusResponseJson, responseHeaders);
         } else {
-            return responseMapper.ok(serviceResponse, paymentModelMapperPsd2::mapToStatusResponseRaw);
+            return responseMapper.ok(serviceResponse, paymentModelMapperPsd2::mapToStatusResponseRaw, responseHeaders);
         }
     }
 
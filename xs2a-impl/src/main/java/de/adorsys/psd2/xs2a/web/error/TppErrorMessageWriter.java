@@ -26,17 +26,34 @@ public class TppErrorMessageWriter {
     private final Xs2aObjectMapper xs2aObjectMapper;
 
     public void writeError(HttpServletResponse response, TppErrorMessage tppErrorMessage) throws IOException {
-        MessageErrorCode messageErrorCode = tppErrorMessage.getCode();
-        MessageError messageError = new MessageError(getErrorType(messageErrorCode.getCode()), TppMessageInformation.of(tppErrorMessage.getCategory(), messageErrorCode, tppErrorMessage.getTextParams()));
-        writeMessageError(response, messageError);
+        MessageError messageError = buildMessageError(tppErrorMessage);
+        writeMessageError(response, messageError.getErrorType().getErrorCode(), messageError);
+    }
+
+    /**
+     * Writes error body built for the code of the message with another HTTP status, for statuses (e.g. 413), that have
+     * no error type of their own
+     *
+     * @param response        response to write the error to
+     * @param httpStatus      status of the response
+     * @param tppErrorMessage error message
+     * @throws IOException if the error couldn't be written
+     */
+    public void writeError(HttpServletResponse response, HttpStatus httpStatus, TppErrorMessage tppErrorMessage) throws IOException {
+        writeMessageError(response, httpStatus.value(), buildMessageError(tppErrorMessage));
     }
 
     public void writeError(HttpServletResponse response, MessageError messageError) throws IOException {
-        writeMessageError(response, messageError);
+        writeMessageError(response, messageError.getErrorType().getErrorCode(), messageError);
+    }
+
+    private MessageError buildMessageError(TppErrorMessage tppErrorMessage) {
+        MessageErrorCode messageErrorCode = tppErrorMessage.getCode();
+        return new MessageError(getErrorType(messageErrorCode.getCode()), TppMessageInformation.of(tppErrorMessage.getCategory(), messageErrorCode, tppErrorMessage.getTextParams()));
     }
 
-    private void writeMessageError(HttpServletResponse response, MessageError messageError) throws IOException {
-        response.setStatus(messageError.getErrorType().getErrorCode());
+    private void writeMessageError(HttpServletResponse response, int status, MessageError messageError) throws IOException {
+        response.setStatus(status);
         response.setContentType(MediaType.APPLICATION_JSON_VALUE);
         xs2aObjectMapper.writeValue(response.getWriter(), errorMapperContainer.getErrorBody(messageError).getBody());
     }
@@ -18,9 +18,16 @@ package de.adorsys.psd2.xs2a.web.filter;
 
 import de.adorsys.psd2.xs2a.component.MultiReadHttpServletRequest;
 import de.adorsys.psd2.xs2a.component.MultiReadHttpServletResponse;
+import de.adorsys.psd2.xs2a.exception.RequestBodyTooLargeException;
 import de.adorsys.psd2.xs2a.web.Xs2aEndpointChecker;
 import de.adorsys.psd2.xs2a.web.error.TppErrorMessageWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
@@ -28,20 +35,72 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 
+import static de.adorsys.psd2.xs2a.core.domain.MessageCategory.ERROR;
+import static de.adorsys.psd2.xs2a.core.error.MessageErrorCode.FORMAT_ERROR;
+
+@Slf4j
 @Component
 public class ContentCachingWrappingFilter extends AbstractXs2aFilter {
+    private static final String MULTIPART_CONTENT_TYPE_PREFIX = "multipart/";
+
+    private final TppErrorMessageWriter tppErrorMessageWriter;
+
+    @Value("${xs2a.request.max-body-size:10485760}")
+    private long maxBodySize;
 
     public ContentCachingWrappingFilter(TppErrorMessageWriter tppErrorMessageWriter, Xs2aEndpointChecker xs2aEndpointChecker) {
         super(tppErrorMessageWriter, xs2aEndpointChecker);
+        this.tppErrorMessageWriter = tppErrorMessageWriter;
     }
 
     @Override
     protected void doFilterInternalCustom(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
-        MultiReadHttpServletRequest multiReadRequest = new MultiReadHttpServletRequest(request);
+        MultiReadHttpServletRequest multiReadRequest = new MultiReadHttpServletRequest(request, maxBodySize);
+        try {
+            if (isFormContent(request)) {
+                // multipart and form bodies are parsed by servlet container from the original stream, so they are not
+                // cached here. Bodies without Content-Length (chunked) are limited while being read through the wrapper
+                checkContentLength(request);
+            } else {
+                multiReadRequest.getCachedBody();
+            }
+        } catch (RequestBodyTooLargeException e) {
+            writePayloadTooLargeError(response, e);
+            return;
+        }
+
         MultiReadHttpServletResponse multiReadResponse = new MultiReadHttpServletResponse(response);
 
-        doFilter(multiReadRequest, multiReadResponse, filterChain);
+        try {
+            doFilter(multiReadRequest, multiReadResponse, filterChain);
+        } catch (IOException | ServletException e) {
+            // body without Content-Length exceeded the limit while being read further down the chain
+            int bodyTooLargeIndex = ExceptionUtils.indexOfType(e, RequestBodyTooLargeException.class);
+            if (bodyTooLargeIndex == -1 || response.isCommitted()) {
+                throw e;
+            }
+            multiReadResponse.resetBuffer();
+            writePayloadTooLargeError(response, (RequestBodyTooLargeException) ExceptionUtils.getThrowableList(e).get(bodyTooLargeIndex));
+            return;
+        }
 
         multiReadResponse.copyBodyToResponse();
     }
+
+    private void writePayloadTooLargeError(HttpServletResponse response, RequestBodyTooLargeException e) throws IOException {
+        log.info("Request body is too large: {}", e.getMessage());
+        tppErrorMessageWriter.writeError(response, HttpStatus.PAYLOAD_TOO_LARGE, new TppErrorMessage(ERROR, FORMAT_ERROR));
+    }
+
+    private boolean isFormContent(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return StringUtils.startsWithIgnoreCase(contentType, MULTIPART_CONTENT_TYPE_PREFIX)
+                   || StringUtils.startsWithIgnoreCase(contentType, MediaType.APPLICATION_FORM_URLENCODED_VALUE);
+    }
+
+    private void checkContentLength(HttpServletRequest request) throws RequestBodyTooLargeException {
+        if (maxBodySize > 0 && request.getContentLengthLong() > maxBodySize) {
+            throw new RequestBodyTooLargeException(maxBodySize);
+        }
+    }
 }
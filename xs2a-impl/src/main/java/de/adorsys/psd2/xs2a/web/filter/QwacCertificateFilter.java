@@ -16,14 +16,14 @@
 
 package de.adorsys.psd2.xs2a.web.filter;
 
-import de.adorsys.psd2.consent.api.service.TppService;
-import de.adorsys.psd2.validator.certificate.util.CertificateExtractorUtil;
+import de.adorsys.psd2.validator.certificate.util.TppCertificateCache;
 import de.adorsys.psd2.validator.certificate.util.TppCertificateData;
 import de.adorsys.psd2.xs2a.core.error.MessageErrorCode;
 import de.adorsys.psd2.xs2a.core.tpp.TppInfo;
 import de.adorsys.psd2.xs2a.core.tpp.TppRole;
 import de.adorsys.psd2.xs2a.service.RequestProviderService;
 import de.adorsys.psd2.xs2a.service.profile.AspspProfileServiceWrapper;
+import de.adorsys.psd2.xs2a.service.tpp.TppInfoChangeRegistry;
 import de.adorsys.psd2.xs2a.service.validator.tpp.TppInfoHolder;
 import de.adorsys.psd2.xs2a.service.validator.tpp.TppRoleValidationService;
 import de.adorsys.psd2.xs2a.web.Xs2aEndpointChecker;
@@ -57,22 +57,24 @@ public class QwacCertificateFilter extends AbstractXs2aFilter {
     private final TppInfoHolder tppInfoHolder;
     private final RequestProviderService requestProviderService;
     private final TppRoleValidationService tppRoleValidationService;
-    private final TppService tppService;
+    private final TppInfoChangeRegistry tppInfoChangeRegistry;
     private final AspspProfileServiceWrapper aspspProfileService;
     private final Xs2aTppInfoMapper xs2aTppInfoMapper;
     private final TppInfoRolesMapper tppInfoRolesMapper;
     private final TppErrorMessageWriter tppErrorMessageWriter;
+    private final TppCertificateCache tppCertificateCache;
 
-    public QwacCertificateFilter(TppErrorMessageWriter tppErrorMessageWriter, Xs2aEndpointChecker xs2aEndpointChecker, TppInfoHolder tppInfoHolder, RequestProviderService requestProviderService, TppRoleValidationService tppRoleValidationService, TppService tppService, AspspProfileServiceWrapper aspspProfileService, Xs2aTppInfoMapper xs2aTppInfoMapper, TppInfoRolesMapper tppInfoRolesMapper, TppErrorMessageWriter tppErrorMessageWriter1) {
+    public QwacCertificateFilter(TppErrorMessageWriter tppErrorMessageWriter, Xs2aEndpointChecker xs2aEndpointChecker, TppInfoHolder tppInfoHolder, RequestProviderService requestProviderService, TppRoleValidationService tppRoleValidationService, TppInfoChangeRegistry tppInfoChangeRegistry, AspspProfileServiceWrapper aspspProfileService, Xs2aTppInfoMapper xs2aTppInfoMapper, TppInfoRolesMapper tppInfoRolesMapper, TppErrorMessageWriter tppErrorMessageWriter1, TppCertificateCache tppCertificateCache) {
         super(tppErrorMessageWriter, xs2aEndpointChecker);
         this.tppInfoHolder = tppInfoHolder;
         this.requestProviderService = requestProviderService;
         this.tppRoleValidationService = tppRoleValidationService;
-        this.tppService = tppService;
+        this.tppInfoChangeRegistry = tppInfoChangeRegistry;
         this.aspspProfileService = aspspProfileService;
         this.xs2aTppInfoMapper = xs2aTppInfoMapper;
         this.tppInfoRolesMapper = tppInfoRolesMapper;
         this.tppErrorMessageWriter = tppErrorMessageWriter1;
+        this.tppCertificateCache = tppCertificateCache;
     }
 
     @Override
@@ -81,7 +83,7 @@ public class QwacCertificateFilter extends AbstractXs2aFilter {
 
         if (StringUtils.isNotBlank(encodedTppQwacCert)) {
             try {
-                TppCertificateData tppCertificateData = CertificateExtractorUtil.extract(encodedTppQwacCert);
+                TppCertificateData tppCertificateData = tppCertificateCache.getTppCertificateData(encodedTppQwacCert);
                 if (isCertificateExpired(tppCertificateData.getNotAfter())) {
                     buildCertificateExpiredErrorResponse(response);
                     return;
@@ -92,7 +94,7 @@ public class QwacCertificateFilter extends AbstractXs2aFilter {
                 boolean checkTppRolesFromHeader = StringUtils.isNotBlank(tppRolesAllowedHeader);
                 boolean checkTppRolesFromCertificate = aspspProfileService.isCheckTppRolesFromCertificateSupported();
                 if (checkTppRolesFromHeader) {
-                    processTppRolesFromHeader(tppInfo, tppRolesAllowedHeader);
+                    processTppRolesFromHeader(tppInfo, tppRolesAllowedHeader, tppCertificateData);
                 } else if (checkTppRolesFromCertificate) {
                     processTppRolesFromCertificate(tppInfo, tppCertificateData);
                 }
@@ -118,21 +120,21 @@ public class QwacCertificateFilter extends AbstractXs2aFilter {
                                          .map(TppRole::valueOf)
                                          .collect(Collectors.toList());
 
-        setTppRolesAndUpdateTppInfo(tppInfo, xs2aTppRoles);
+        setTppRolesAndUpdateTppInfo(tppInfo, xs2aTppRoles, tppCertificateData);
     }
 
-    private void processTppRolesFromHeader(TppInfo tppInfo, String tppRolesAllowedHeader) {
+    private void processTppRolesFromHeader(TppInfo tppInfo, String tppRolesAllowedHeader, TppCertificateData tppCertificateData) {
         Optional.of(tppRolesAllowedHeader)
             .map(roles -> roles.split(","))
             .map(Arrays::asList)
             .map(tppInfoRolesMapper::mapToTppRoles)
-            .ifPresent(roles -> setTppRolesAndUpdateTppInfo(tppInfo, roles));
+            .ifPresent(roles -> setTppRolesAndUpdateTppInfo(tppInfo, roles, tppCertificateData));
     }
 
-    private void setTppRolesAndUpdateTppInfo(TppInfo tppInfo, List<TppRole> roles) {
+    private void setTppRolesAndUpdateTppInfo(TppInfo tppInfo, List<TppRole> roles, TppCertificateData tppCertificateData) {
         if (!roles.isEmpty()) {
             tppInfo.setTppRoles(roles);
-            tppService.updateTppInfo(tppInfo);
+            tppInfoChangeRegistry.updateTppInfo(tppInfo, tppCertificateData.getFingerprint());
         }
     }
 
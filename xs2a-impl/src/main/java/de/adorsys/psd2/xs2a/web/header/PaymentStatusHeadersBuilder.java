@@ -0,0 +1,62 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.web.header;
+
+import de.adorsys.psd2.xs2a.domain.pis.GetPaymentStatusResponse;
+import org.jetbrains.annotations.NotNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Builds headers for payment status response. The response is tagged with strong ETag calculated from its content,
+ * so that Spring answers conditional requests with matching <code>If-None-Match</code> header with 304 Not Modified.
+ */
+@Component
+public class PaymentStatusHeadersBuilder {
+    private static final byte FIELD_SEPARATOR = 0;
+
+    public ResponseHeaders buildPaymentStatusHeaders(@NotNull GetPaymentStatusResponse paymentStatusResponse) {
+        return ResponseHeaders.builder()
+                   .eTag(buildETag(paymentStatusResponse))
+                   .build();
+    }
+
+    private String buildETag(GetPaymentStatusResponse paymentStatusResponse) {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        writeField(content, paymentStatusResponse.getTransactionStatus());
+        writeField(content, paymentStatusResponse.getFundsAvailable());
+        writeField(content, paymentStatusResponse.getResponseContentType());
+        writeField(content, paymentStatusResponse.getPsuMessage());
+
+        byte[] paymentStatusRaw = paymentStatusResponse.getPaymentStatusRaw();
+        if (paymentStatusRaw != null) {
+            content.write(paymentStatusRaw, 0, paymentStatusRaw.length);
+        }
+
+        return "\"" + DigestUtils.md5DigestAsHex(content.toByteArray()) + "\"";
+    }
+
+    private void writeField(ByteArrayOutputStream content, Object field) {
+        byte[] fieldBytes = Objects.toString(field, "").getBytes(StandardCharsets.UTF_8);
+        content.write(fieldBytes, 0, fieldBytes.length);
+        content.write(FIELD_SEPARATOR);
+    }
+}
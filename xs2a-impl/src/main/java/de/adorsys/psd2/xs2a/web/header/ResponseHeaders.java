@@ -52,6 +52,11 @@ public class ResponseHeaders {
             return this;
         }
 
+        public ResponseHeadersBuilder eTag(@NotNull String eTag) {
+            this.httpHeaders.setETag(eTag);
+            return this;
+        }
+
         public ResponseHeadersBuilder notificationSupport(Boolean notificationSupport) {
             if (notificationSupport != null){
                 this.httpHeaders.add(NOTIFICATION_SUPPORT, notificationSupport.toString());
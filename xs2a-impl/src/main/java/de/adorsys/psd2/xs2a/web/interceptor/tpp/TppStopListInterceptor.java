@@ -16,8 +16,6 @@
 
 package de.adorsys.psd2.xs2a.web.interceptor.tpp;
 
-import de.adorsys.psd2.consent.api.CmsResponse;
-import de.adorsys.psd2.consent.api.service.TppStopListService;
 import de.adorsys.psd2.mapper.Xs2aObjectMapper;
 import de.adorsys.psd2.xs2a.core.domain.TppMessageInformation;
 import de.adorsys.psd2.xs2a.core.error.MessageError;
@@ -26,9 +24,9 @@ import de.adorsys.psd2.xs2a.service.TppService;
 import de.adorsys.psd2.xs2a.service.discovery.ServiceTypeDiscoveryService;
 import de.adorsys.psd2.xs2a.service.mapper.psd2.ErrorMapperContainer;
 import de.adorsys.psd2.xs2a.service.mapper.psd2.ServiceTypeToErrorTypeMapper;
+import de.adorsys.psd2.xs2a.service.tpp.TppStopListReplica;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.BooleanUtils;
 import org.springframework.http.MediaType;
 import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
 
@@ -47,7 +45,7 @@ public class TppStopListInterceptor extends HandlerInterceptorAdapter {
 
     private final ErrorMapperContainer errorMapperContainer;
     private final TppService tppService;
-    private final TppStopListService tppStopListService;
+    private final TppStopListReplica tppStopListReplica;
     private final ServiceTypeDiscoveryService serviceTypeDiscoveryService;
     private final ServiceTypeToErrorTypeMapper errorTypeMapper;
     private final Xs2aObjectMapper xs2aObjectMapper;
@@ -55,10 +53,10 @@ public class TppStopListInterceptor extends HandlerInterceptorAdapter {
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
         TppInfo tppInfo = tppService.getTppInfo();
-        CmsResponse<Boolean> cmsResponse = tppStopListService.checkIfTppBlocked(tppInfo.getAuthorisationNumber(),
-                                                                                request.getHeader(INSTANCE_ID));
+        boolean tppBlocked = tppStopListReplica.isTppBlocked(tppInfo.getAuthorisationNumber(),
+                                                             request.getHeader(INSTANCE_ID));
 
-        if (cmsResponse.isSuccessful() && BooleanUtils.isTrue(cmsResponse.getPayload())) {
+        if (tppBlocked) {
             response.getWriter().write(xs2aObjectMapper.writeValueAsString(createError()));
             response.setContentType(MediaType.APPLICATION_JSON_VALUE);
             response.setStatus(CERTIFICATE_BLOCKED.getCode());
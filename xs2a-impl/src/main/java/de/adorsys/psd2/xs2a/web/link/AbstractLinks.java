@@ -20,14 +20,9 @@ import de.adorsys.psd2.xs2a.core.authorisation.AuthenticationObject;
 import de.adorsys.psd2.xs2a.core.sca.ScaStatus;
 import de.adorsys.psd2.xs2a.domain.HrefType;
 import de.adorsys.psd2.xs2a.domain.Links;
-import org.apache.commons.lang3.StringUtils;
-import org.springframework.web.util.UriComponentsBuilder;
 
 import java.util.Objects;
 
-import static org.springframework.web.util.UriComponentsBuilder.fromHttpUrl;
-import static org.springframework.web.util.UriComponentsBuilder.fromPath;
-
 class AbstractLinks extends Links {
 
     private final String httpUrl;
@@ -37,13 +32,7 @@ class AbstractLinks extends Links {
     }
 
     HrefType buildPath(String path, Object... params) {
-        UriComponentsBuilder uriComponentsBuilder = StringUtils.startsWith(httpUrl, "/")
-                                                        ? fromPath(httpUrl)
-                                                        : fromHttpUrl(httpUrl);
-        return new HrefType(uriComponentsBuilder
-                                .path(path)
-                                .buildAndExpand(params)
-                                .toUriString());
+        return new HrefType(LinkTemplate.of(httpUrl, path).expand(params));
     }
 
     protected boolean isScaStatusMethodSelected(AuthenticationObject chosenScaMethod, ScaStatus scaStatus) {
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.web.link;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.springframework.web.util.UriComponentsBuilder.fromHttpUrl;
+import static org.springframework.web.util.UriComponentsBuilder.fromPath;
+
+/**
+ * URL template, compiled from the base URL and link path (e.g. one of {@link UrlHolder} constants) into literal parts
+ * and positional variables.
+ * <p>
+ * Template is compiled with {@link UriComponentsBuilder} once, so that expanded links are the same as the ones built by
+ * <code>UriComponentsBuilder.path(path).buildAndExpand(params).toUriString()</code>, but rendering of each link is only
+ * string concatenation.
+ */
+final class LinkTemplate {
+    private static final Pattern VARIABLE_PATTERN = Pattern.compile("\\{([^/]+?)}");
+    private static final int MAX_CACHED_TEMPLATES = 1024;
+    private static final Map<String, LinkTemplate> TEMPLATES = new ConcurrentHashMap<>();
+
+    private final String[] literals;
+    private final int estimatedLength;
+
+    private LinkTemplate(String[] literals) {
+        this.literals = literals;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.estimatedLength = length + 64 * (literals.length - 1);
+    }
+
+    /**
+     * Returns compiled template for given base URL and path.
+     * <p>
+     * Templates with variables are cached, paths without variables (e.g. already built redirect links) are compiled
+     * for every call, as they are unique per link.
+     *
+     * @param httpUrl base URL, either absolute or relative (starting with "/")
+     * @param path    path to be appended to the base URL
+     * @return compiled template
+     */
+    static LinkTemplate of(String httpUrl, String path) {
+        if (StringUtils.contains(path, '{')) {
+            String cacheKey = httpUrl + ' ' + path;
+            LinkTemplate template = TEMPLATES.get(cacheKey);
+            if (template == null) {
+                template = compile(httpUrl, path);
+                if (TEMPLATES.size() < MAX_CACHED_TEMPLATES) {
+                    TEMPLATES.put(cacheKey, template);
+                }
+            }
+            return template;
+        }
+        return compile(httpUrl, path);
+    }
+
+    static LinkTemplate compile(String httpUrl, String path) {
+        UriComponentsBuilder uriComponentsBuilder = StringUtils.startsWith(httpUrl, "/")
+                                                        ? fromPath(httpUrl)
+                                                        : fromHttpUrl(httpUrl);
+        String uriTemplate = uriComponentsBuilder
+                                 .path(path)
+                                 .build()
+                                 .toUriString();
+
+        List<String> literals = new ArrayList<>();
+        Matcher matcher = VARIABLE_PATTERN.matcher(uriTemplate);
+        int literalStart = 0;
+        while (matcher.find()) {
+            literals.add(uriTemplate.substring(literalStart, matcher.start()));
+            literalStart = matcher.end();
+        }
+        literals.add(uriTemplate.substring(literalStart));
+        return new LinkTemplate(literals.toArray(new String[0]));
+    }
+
+    /**
+     * Expands variables of the template with given values in order of their appearance
+     *
+     * @param params values of the variables, <code>null</code> values are expanded to empty strings
+     * @return expanded URL
+     * @throws IllegalArgumentException if there are less values than variables in the template
+     */
+    String expand(Object... params) {
+        int variablesCount = literals.length - 1;
+        if (params.length < variablesCount) {
+            throw new IllegalArgumentException("Not enough variable values available to expand link template");
+        }
+
+        StringBuilder url = new StringBuilder(estimatedLength);
+        url.append(literals[0]);
+        for (int i = 0; i < variablesCount; i++) {
+            url.append(Objects.toString(params[i], StringUtils.EMPTY))
+                .append(literals[i + 1]);
+        }
+        return url.toString();
+    }
+}
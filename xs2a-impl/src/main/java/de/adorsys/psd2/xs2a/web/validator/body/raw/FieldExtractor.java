@@ -16,7 +16,11 @@
 
 package de.adorsys.psd2.xs2a.web.validator.body.raw;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import de.adorsys.psd2.mapper.Xs2aObjectMapper;
 import de.adorsys.psd2.xs2a.core.domain.TppMessageInformation;
 import de.adorsys.psd2.xs2a.core.error.MessageError;
@@ -26,6 +30,7 @@ import org.springframework.stereotype.Component;
 
 import javax.servlet.http.HttpServletRequest;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -41,10 +46,14 @@ public class FieldExtractor {
     private final Xs2aObjectMapper xs2aObjectMapper;
 
     public Optional<String> extractField(HttpServletRequest request, String fieldName, MessageError messageError) {
-        Optional<String> fieldOptional = Optional.empty();
+        return extractField(request, fieldName, new TypeReference<String>() {
+        }, messageError);
+    }
+
+    public <T> Optional<T> extractField(HttpServletRequest request, String fieldName, TypeReference<T> typeReference, MessageError messageError) {
+        Optional<T> fieldOptional = Optional.empty();
         try {
-            fieldOptional = xs2aObjectMapper.toJsonField(request.getInputStream(), fieldName, new TypeReference<String>() {
-            });
+            fieldOptional = xs2aObjectMapper.toJsonField(getParsedBody(request).getTree(), fieldName, typeReference);
         } catch (IOException e) {
             errorBuildingService.enrichMessageError(messageError, TppMessageInformation.of(FORMAT_ERROR_DESERIALIZATION_FAIL));
         }
@@ -54,7 +63,7 @@ public class FieldExtractor {
 
     public Optional<String> extractOptionalField(HttpServletRequest request, String fieldName) {
         try {
-            return xs2aObjectMapper.toJsonField(request.getInputStream(), fieldName, new TypeReference<String>() {
+            return xs2aObjectMapper.toJsonField(getParsedBody(request).getTree(), fieldName, new TypeReference<String>() {
             });
         } catch (IOException e) {
             return Optional.empty();
@@ -64,7 +73,7 @@ public class FieldExtractor {
     public List<String> extractList(HttpServletRequest request, String fieldName, MessageError messageError) {
         List<String> fieldList = new ArrayList<>();
         try {
-            fieldList.addAll(xs2aObjectMapper.toJsonGetValuesForField(request.getInputStream(), fieldName));
+            fieldList.addAll(xs2aObjectMapper.toJsonGetValuesForField(getParsedBody(request).getTree(), fieldName));
         } catch (IOException e) {
             errorBuildingService.enrichMessageError(messageError, TppMessageInformation.of(FORMAT_ERROR_DESERIALIZATION_FAIL));
         }
@@ -73,7 +82,7 @@ public class FieldExtractor {
 
     public List<String> extractOptionalList(HttpServletRequest request, String fieldName) {
         try {
-            return xs2aObjectMapper.toJsonGetValuesForField(request.getInputStream(), fieldName);
+            return xs2aObjectMapper.toJsonGetValuesForField(getParsedBody(request).getTree(), fieldName);
 
         } catch (IOException e) {
             return Collections.emptyList();
@@ -82,11 +91,43 @@ public class FieldExtractor {
 
     public <T> Optional<T> mapBodyToInstance(HttpServletRequest request, MessageError messageError, Class<T> clazz) {
         try {
-            return Optional.of(xs2aObjectMapper.readValue(request.getInputStream(), clazz));
+            JsonNode tree = getParsedBody(request).getTreeOrThrow();
+            return Optional.of(xs2aObjectMapper.readValue(xs2aObjectMapper.treeAsTokens(tree), clazz));
         } catch (IOException e) {
             errorBuildingService.enrichMessageError(messageError, TppMessageInformation.of(FORMAT_ERROR_DESERIALIZATION_FAIL));
         }
 
         return Optional.empty();
     }
+
+    /**
+     * Returns body of the request parsed into JSON tree. The body is read and parsed only on the first call for the
+     * request, subsequent calls (e.g. from other body validators) reuse the same tree.
+     *
+     * @param request current request
+     * @return parsed body
+     * @throws IOException if the body of the request couldn't be read
+     */
+    public ParsedRequestBody getParsedBody(HttpServletRequest request) throws IOException {
+        ParsedRequestBody parsedBody = ParsedRequestBody.get(request);
+        if (parsedBody == null) {
+            parsedBody = parseBody(request);
+            parsedBody.bindTo(request);
+        }
+        return parsedBody;
+    }
+
+    private ParsedRequestBody parseBody(HttpServletRequest request) throws IOException {
+        InputStream inputStream = request.getInputStream();
+        try {
+            // Numbers are kept as exact decimals, so that e.g. amount 100.10 is bound to String field as "100.10"
+            // and not as "100.1" or in exponential notation
+            return ParsedRequestBody.of(xs2aObjectMapper.reader()
+                                            .with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+                                            .with(JsonNodeFactory.withExactBigDecimals(true))
+                                            .readTree(inputStream));
+        } catch (JsonProcessingException e) {
+            return ParsedRequestBody.failed(e);
+        }
+    }
 }
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.xs2a.web.validator.body.raw;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.Nullable;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Request body parsed into JSON tree, that is stored as request attribute and shared by all body validators and
+ * the message converter binding the body to the controller method argument, so the body is parsed only once per request.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class ParsedRequestBody {
+    private static final String PARSED_BODY_ATTRIBUTE = ParsedRequestBody.class.getName() + ".PARSED_BODY";
+
+    @Nullable
+    private final JsonNode tree;
+    @Nullable
+    private final JsonProcessingException parseException;
+
+    static ParsedRequestBody of(@Nullable JsonNode tree) {
+        return new ParsedRequestBody(tree == null ? MissingNode.getInstance() : tree, null);
+    }
+
+    static ParsedRequestBody failed(JsonProcessingException parseException) {
+        return new ParsedRequestBody(null, parseException);
+    }
+
+    /**
+     * Returns body previously parsed for given request
+     *
+     * @param request current request
+     * @return parsed body or <code>null</code> if the body of this request wasn't parsed yet
+     */
+    @Nullable
+    public static ParsedRequestBody get(HttpServletRequest request) {
+        Object parsedBody = request.getAttribute(PARSED_BODY_ATTRIBUTE);
+        return parsedBody instanceof ParsedRequestBody
+                   ? (ParsedRequestBody) parsedBody
+                   : null;
+    }
+
+    void bindTo(HttpServletRequest request) {
+        request.setAttribute(PARSED_BODY_ATTRIBUTE, this);
+    }
+
+    /**
+     * Returns JSON tree of the body
+     *
+     * @return JSON tree or <code>null</code> if the body is not a valid JSON
+     */
+    @Nullable
+    public JsonNode getTree() {
+        return tree;
+    }
+
+    /**
+     * Returns JSON tree of the body, failing with the same exception the body could not be parsed with
+     *
+     * @return JSON tree of valid body, <code>MissingNode</code> for empty body
+     * @throws JsonProcessingException if the body is not a valid JSON
+     */
+    public JsonNode getTreeOrThrow() throws JsonProcessingException {
+        if (parseException != null) {
+            throw parseException;
+        }
+        return tree;
+    }
+}
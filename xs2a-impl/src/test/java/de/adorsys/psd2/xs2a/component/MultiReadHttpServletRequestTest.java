@@ -0,0 +1,212 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.xs2a.component;
+
+import de.adorsys.psd2.xs2a.exception.RequestBodyTooLargeException;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MultiReadHttpServletRequestTest {
+    private static final String CONTENT = "{\"name\": \"Grüße\"}";
+    private static final byte[] CONTENT_BYTES = CONTENT.getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void getInputStream_multipleReads_sameContent() throws IOException {
+        // Given
+        MultiReadHttpServletRequest request = new MultiReadHttpServletRequest(buildRequest(CONTENT_BYTES));
+
+        // When
+        byte[] firstRead = IOUtils.toByteArray(request.getInputStream());
+        byte[] secondRead = IOUtils.toByteArray(request.getInputStream());
+
+        // Then
+        assertArrayEquals(CONTENT_BYTES, firstRead);
+        assertArrayEquals(CONTENT_BYTES, secondRead);
+    }
+
+    @Test
+    void getInputStream_unknownContentLength_wholeBodyCached() throws IOException {
+        // Given
+        byte[] largeContent = new byte[20_000];
+        largeContent[largeContent.length - 1] = 1;
+        MockHttpServletRequest originalRequest = new MockHttpServletRequest() {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        originalRequest.setContent(largeContent);
+        MultiReadHttpServletRequest request = new MultiReadHttpServletRequest(originalRequest);
+
+        // When
+        byte[] actual = IOUtils.toByteArray(request.getInputStream());
+
+        // Then
+        assertArrayEquals(largeContent, actual);
+    }
+
+    @Test
+    void getInputStream_hugeContentLengthWithShortBody_bodyCached() throws IOException {
+        // Given
+        MockHttpServletRequest originalRequest = new MockHttpServletRequest() {
+            @Override
+            public long getContentLengthLong() {
+                return Integer.MAX_VALUE;
+            }
+        };
+        originalRequest.setContent(CONTENT_BYTES);
+        MultiReadHttpServletRequest request = new MultiReadHttpServletRequest(originalRequest);
+
+        // When
+        byte[] actual = IOUtils.toByteArray(request.getInputStream());
+
+        // Then
+        assertArrayEquals(CONTENT_BYTES, actual);
+    }
+
+    @Test
+    void getInputStream_bodyLargerThanInitialBuffer_wholeBodyCached() throws IOException {
+        // Given
+        byte[] largeContent = new byte[200_000];
+        largeContent[largeContent.length - 1] = 1;
+        MultiReadHttpServletRequest request = new MultiReadHttpServletRequest(buildRequest(largeContent));
+
+        // When
+        byte[] actual = IOUtils.toByteArray(request.getInputStream());
+
+        // Then
+        assertArrayEquals(largeContent, actual);
+    }
+
+    @Test
+    void getCachedBody_readOnlyBufferWithoutCopy() throws IOException {
+        // Given
+        MultiReadHttpServletRequest request = new MultiReadHttpServletRequest(buildRequest(CONTENT_BYTES));
+
+        // When
+        ByteBuffer first = request.getCachedBody();
+        first.get();
+        ByteBuffer second = request.getCachedBody();
+
+        // Then
+        assertTrue(first.isReadOnly());
+        assertEquals(CONTENT_BYTES.length, second.remaining());
+        assertEquals(0, second.position());
+    }
+
+    @Test
+    void getInputStream_isFinishedAndIsReady() throws IOException {
+        // Given
+        MultiReadHttpServletRequest request = new MultiReadHttpServletRequest(buildRequest(CONTENT_BYTES));
+        ServletInputStream inputStream = request.getInputStream();
+
+        // When
+        boolean finishedBeforeRead = inputStream.isFinished();
+        IOUtils.toByteArray(inputStream);
+
+        // Then
+        assertFalse(finishedBeforeRead);
+        assertTrue(inputStream.isFinished());
+        assertTrue(inputStream.isReady());
+        assertEquals(-1, inputStream.read());
+    }
+
+    @Test
+    void getInputStream_setReadListener_notified() throws IOException {
+        // Given
+        MultiReadHttpServletRequest request = new MultiReadHttpServletRequest(buildRequest(CONTENT_BYTES));
+        ServletInputStream inputStream = request.getInputStream();
+        ReadListener readListener = mock(ReadListener.class);
+        doAnswer(invocation -> IOUtils.toByteArray(inputStream)).when(readListener).onDataAvailable();
+
+        // When
+        inputStream.setReadListener(readListener);
+
+        // Then
+        verify(readListener).onDataAvailable();
+        verify(readListener).onAllDataRead();
+        verify(readListener, never()).onError(any());
+    }
+
+    @Test
+    void getReader_utf8UsedByDefault() throws IOException {
+        // Given
+        MultiReadHttpServletRequest request = new MultiReadHttpServletRequest(buildRequest(CONTENT_BYTES));
+
+        // When
+        String actual = IOUtils.toString(request.getReader());
+
+        // Then
+        assertEquals(CONTENT, actual);
+    }
+
+    @Test
+    void getInputStream_contentLengthExceedsMaxSize_exception() {
+        // Given
+        MultiReadHttpServletRequest request = new MultiReadHttpServletRequest(buildRequest(CONTENT_BYTES), CONTENT_BYTES.length - 1);
+
+        // When
+        // Then
+        assertThrows(RequestBodyTooLargeException.class, request::getInputStream);
+    }
+
+    @Test
+    void getInputStream_bodyExceedsMaxSizeWithoutContentLength_exception() {
+        // Given
+        MockHttpServletRequest originalRequest = new MockHttpServletRequest() {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        originalRequest.setContent(new byte[20_000]);
+        MultiReadHttpServletRequest request = new MultiReadHttpServletRequest(originalRequest, 10_000);
+
+        // When
+        // Then
+        assertThrows(RequestBodyTooLargeException.class, request::getInputStream);
+    }
+
+    @Test
+    void getInputStream_bodyWithinMaxSize_success() throws IOException {
+        // Given
+        MultiReadHttpServletRequest request = new MultiReadHttpServletRequest(buildRequest(CONTENT_BYTES), CONTENT_BYTES.length);
+
+        // When
+        byte[] actual = IOUtils.toByteArray(request.getInputStream());
+
+        // Then
+        assertArrayEquals(CONTENT_BYTES, actual);
+    }
+
+    private MockHttpServletRequest buildRequest(byte[] content) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContent(content);
+        return request;
+    }
+}
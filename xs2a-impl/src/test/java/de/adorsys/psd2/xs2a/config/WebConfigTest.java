@@ -17,8 +17,10 @@
 package de.adorsys.psd2.xs2a.config;
 
 import de.adorsys.psd2.xs2a.config.converter.MappingJackson2TextMessageConverter;
+import de.adorsys.psd2.xs2a.config.converter.ParsedBodyMappingJackson2HttpMessageConverter;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -41,4 +43,21 @@ class WebConfigTest {
         assertEquals(1, messageConverters.size());
         assertTrue(messageConverters.get(0) instanceof MappingJackson2TextMessageConverter);
     }
+
+    @Test
+    void extendMessageConverters_jsonConverterReplacedForMvc() {
+        WebConfig webConfig = new WebConfig(null, null,
+                                            null, null, null,
+                                            null, null, null,
+                                            null, null, null,
+                                            null, null, null);
+        List<HttpMessageConverter<?>> messageConverters = new ArrayList<>();
+        messageConverters.add(new MappingJackson2HttpMessageConverter());
+
+        webConfig.extendMessageConverters(messageConverters);
+
+        assertEquals(2, messageConverters.size());
+        assertTrue(messageConverters.get(0) instanceof ParsedBodyMappingJackson2HttpMessageConverter);
+        assertTrue(messageConverters.get(1) instanceof MappingJackson2TextMessageConverter);
+    }
 }
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.xs2a.config.converter;
+
+import de.adorsys.psd2.mapper.Xs2aObjectMapper;
+import de.adorsys.psd2.mapper.config.ObjectMapperConfig;
+import de.adorsys.psd2.model.Consents;
+import de.adorsys.psd2.model.PaymentInitiationJson;
+import de.adorsys.psd2.xs2a.core.error.ErrorType;
+import de.adorsys.psd2.xs2a.core.error.MessageError;
+import de.adorsys.psd2.xs2a.web.advice.ParsedRequestBodyAdvice;
+import de.adorsys.psd2.xs2a.web.validator.body.raw.FieldExtractor;
+import de.adorsys.psd2.xs2a.web.validator.header.ErrorBuildingServiceMock;
+import de.adorsys.xs2a.reader.JsonReader;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+class ParsedBodyMappingJackson2HttpMessageConverterTest {
+    private static final String CONSENTS_JSON_PATH = "json/validation/ais/consents.json";
+    private static final String ALL_PSD2_CONSENTS_JSON_PATH = "json/validation/ais/consents-allPsd2.json";
+
+    private final JsonReader jsonReader = new JsonReader();
+    private final Xs2aObjectMapper xs2aObjectMapper = new ObjectMapperConfig().xs2aObjectMapper();
+    private final ParsedBodyMappingJackson2HttpMessageConverter converter = new ParsedBodyMappingJackson2HttpMessageConverter(xs2aObjectMapper);
+
+    @Test
+    void read_parsedBodyMessage_treeReused() throws IOException {
+        // Given
+        HttpInputMessage inputMessage = Mockito.mock(HttpInputMessage.class);
+        ParsedBodyHttpInputMessage parsedBodyMessage = new ParsedBodyHttpInputMessage(inputMessage, xs2aObjectMapper.readTree(jsonReader.getBytesFromFile(CONSENTS_JSON_PATH)));
+
+        // When
+        Object actual = converter.read(Consents.class, null, parsedBodyMessage);
+
+        // Then
+        assertEquals(jsonReader.getObjectFromFile(CONSENTS_JSON_PATH, Consents.class), actual);
+        verify(inputMessage, never()).getBody();
+    }
+
+    @Test
+    void read_regularMessage_bodyRead() throws IOException {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContent(jsonReader.getBytesFromFile(CONSENTS_JSON_PATH));
+
+        // When
+        Object actual = converter.read(Consents.class, null, new ServletServerHttpRequest(request));
+
+        // Then
+        assertEquals(jsonReader.getObjectFromFile(CONSENTS_JSON_PATH, Consents.class), actual);
+    }
+
+    @Test
+    void read_otherMessageDuringParsedRequest_ownBodyRead() throws IOException {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContent(jsonReader.getBytesFromFile(CONSENTS_JSON_PATH));
+        new FieldExtractor(new ErrorBuildingServiceMock(ErrorType.AIS_400), xs2aObjectMapper)
+            .mapBodyToInstance(request, new MessageError(ErrorType.AIS_400), Consents.class);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        HttpInputMessage clientResponse = Mockito.mock(HttpInputMessage.class);
+        when(clientResponse.getHeaders()).thenReturn(new HttpHeaders());
+        when(clientResponse.getBody()).thenReturn(new ByteArrayInputStream(jsonReader.getBytesFromFile(ALL_PSD2_CONSENTS_JSON_PATH)));
+
+        try {
+            // When
+            Object actual = converter.read(Consents.class, null, clientResponse);
+
+            // Then
+            assertEquals(jsonReader.getObjectFromFile(ALL_PSD2_CONSENTS_JSON_PATH, Consents.class), actual);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    void read_numericAmountInParsedBody_exactValueBound() throws IOException {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContent(("{\"instructedAmount\": {\"currency\": \"EUR\", \"amount\": 100.10}, "
+                                + "\"creditorAccount\": {\"iban\": \"DE52500105173911841934\"}, "
+                                + "\"debtorAccount\": {\"iban\": \"DE40500105176585548926\"}, "
+                                + "\"creditorName\": \"Creditor\", \"remittanceInformationUnstructured\": 12345678901234.56}")
+                               .getBytes(StandardCharsets.UTF_8));
+        new FieldExtractor(new ErrorBuildingServiceMock(ErrorType.PIS_400), xs2aObjectMapper)
+            .mapBodyToInstance(request, new MessageError(ErrorType.PIS_400), PaymentInitiationJson.class);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        try {
+            HttpInputMessage inputMessage = new ParsedRequestBodyAdvice()
+                                                .beforeBodyRead(new ServletServerHttpRequest(request), null, PaymentInitiationJson.class, ParsedBodyMappingJackson2HttpMessageConverter.class);
+            assertTrue(inputMessage instanceof ParsedBodyHttpInputMessage);
+
+            // When
+            PaymentInitiationJson actual = (PaymentInitiationJson) converter.read(PaymentInitiationJson.class, null, inputMessage);
+
+            // Then
+            assertEquals("100.10", actual.getInstructedAmount().getAmount());
+            assertEquals("12345678901234.56", actual.getRemittanceInformationUnstructured());
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+}
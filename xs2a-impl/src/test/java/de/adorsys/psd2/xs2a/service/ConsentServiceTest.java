@@ -17,6 +17,10 @@
 
 package de.adorsys.psd2.xs2a.service;
 
+import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationRequest;
+import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationResponse;
+import de.adorsys.psd2.consent.api.consent.CompleteConsentCreationRequest;
+import de.adorsys.psd2.consent.api.consent.CompleteConsentCreationResponse;
 import de.adorsys.psd2.core.data.AccountAccess;
 import de.adorsys.psd2.core.data.ais.AisConsent;
 import de.adorsys.psd2.core.data.ais.AisConsentData;
@@ -32,6 +36,7 @@ import de.adorsys.psd2.xs2a.core.error.MessageErrorCode;
 import de.adorsys.psd2.xs2a.core.error.TppMessage;
 import de.adorsys.psd2.xs2a.core.mapper.ServiceType;
 import de.adorsys.psd2.xs2a.core.profile.AccountReference;
+import de.adorsys.psd2.xs2a.core.profile.ScaApproach;
 import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
 import de.adorsys.psd2.xs2a.core.sca.ScaStatus;
 import de.adorsys.psd2.xs2a.core.service.validator.ValidationResult;
@@ -42,10 +47,9 @@ import de.adorsys.psd2.xs2a.domain.consent.*;
 import de.adorsys.psd2.xs2a.service.authorization.AuthorisationMethodDecider;
 import de.adorsys.psd2.xs2a.service.authorization.Xs2aAuthorisationService;
 import de.adorsys.psd2.xs2a.service.authorization.ais.AisScaAuthorisationService;
-import de.adorsys.psd2.xs2a.service.authorization.ais.AisScaAuthorisationServiceResolver;
-import de.adorsys.psd2.xs2a.service.authorization.ais.RedirectAisAuthorizationService;
 import de.adorsys.psd2.xs2a.service.consent.AccountReferenceInConsentUpdater;
 import de.adorsys.psd2.xs2a.service.consent.Xs2aAisConsentService;
+import de.adorsys.psd2.xs2a.service.consent.Xs2aConsentService;
 import de.adorsys.psd2.xs2a.service.context.SpiContextDataProvider;
 import de.adorsys.psd2.xs2a.service.event.Xs2aEventService;
 import de.adorsys.psd2.xs2a.service.mapper.cms_xs2a_mappers.Xs2aAisConsentMapper;
@@ -128,12 +132,10 @@ class ConsentServiceTest {
     @Mock
     private Xs2aEventService xs2aEventService;
     @Mock
-    private AisScaAuthorisationServiceResolver aisScaAuthorisationServiceResolver;
+    private Xs2aConsentService xs2aConsentService;
     @Mock
     private SpiContextDataProvider spiContextDataProvider;
     @Mock
-    private RedirectAisAuthorizationService redirectAisAuthorizationService;
-    @Mock
     private SpiErrorMapper spiErrorMapper;
     @Mock
     private ConsentValidationService consentValidationService;
@@ -203,6 +205,7 @@ class ConsentServiceTest {
             .thenReturn(SpiResponse.<SpiInitiateAisConsentResponse>builder()
                             .payload(new SpiInitiateAisConsentResponse(getSpiAccountAccess(), false, TEST_PSU_MESSAGE))
                             .build());
+        givenConsentCreationCompleted();
         // When
         ResponseObject<CreateConsentResponse> responseObj = consentService.createAccountConsentsWithResponse(req, PSU_ID_DATA, EXPLICIT_PREFERRED);
         CreateConsentResponse response = responseObj.getBody();
@@ -243,6 +246,7 @@ class ConsentServiceTest {
             .thenReturn(SpiResponse.<SpiInitiateAisConsentResponse>builder()
                             .payload(new SpiInitiateAisConsentResponse(getSpiAccountAccess(), true, TEST_PSU_MESSAGE))
                             .build());
+        givenConsentCreationCompleted();
         // When
         ResponseObject<CreateConsentResponse> responseObj = consentService.createAccountConsentsWithResponse(req, PSU_ID_DATA, EXPLICIT_PREFERRED);
         CreateConsentResponse response = responseObj.getBody();
@@ -283,6 +287,7 @@ class ConsentServiceTest {
             .thenReturn(SpiResponse.<SpiInitiateAisConsentResponse>builder()
                             .payload(new SpiInitiateAisConsentResponse(getSpiAccountAccess(), true, TEST_PSU_MESSAGE))
                             .build());
+        givenConsentCreationCompleted();
         // When
         ResponseObject<CreateConsentResponse> responseObj = consentService.createAccountConsentsWithResponse(req, PSU_ID_DATA, EXPLICIT_PREFERRED);
         CreateConsentResponse response = responseObj.getBody();
@@ -352,6 +357,7 @@ class ConsentServiceTest {
             .thenReturn(SpiResponse.<SpiInitiateAisConsentResponse>builder()
                             .payload(new SpiInitiateAisConsentResponse(getSpiAccountAccess(), false, TEST_PSU_MESSAGE))
                             .build());
+        givenConsentCreationCompleted();
         // When
         ResponseObject<CreateConsentResponse> responseObj = consentService.createAccountConsentsWithResponse(
             req, PSU_ID_DATA, EXPLICIT_PREFERRED);
@@ -410,6 +416,7 @@ class ConsentServiceTest {
             .thenReturn(SpiResponse.<SpiInitiateAisConsentResponse>builder()
                             .payload(new SpiInitiateAisConsentResponse(getSpiAccountAccess(), false, TEST_PSU_MESSAGE))
                             .build());
+        givenConsentCreationCompleted();
         // When
         ResponseObject<CreateConsentResponse> responseObj = consentService.createAccountConsentsWithResponse(
             req, PSU_ID_DATA, EXPLICIT_PREFERRED);
@@ -442,6 +449,7 @@ class ConsentServiceTest {
             .thenReturn(SpiResponse.<SpiInitiateAisConsentResponse>builder()
                             .payload(new SpiInitiateAisConsentResponse(getSpiAccountAccess(), false, TEST_PSU_MESSAGE))
                             .build());
+        givenConsentCreationCompleted();
         // When
         ResponseObject<CreateConsentResponse> responseObj = consentService.createAccountConsentsWithResponse(
             req, PSU_ID_DATA, EXPLICIT_PREFERRED);
@@ -470,6 +478,7 @@ class ConsentServiceTest {
             .thenReturn(SPI_CONTEXT_DATA);
         when(aspspConsentDataProviderFactory.getInitialAspspConsentDataProvider())
             .thenReturn(initialSpiAspspConsentDataProvider);
+        givenConsentCreationCompleted();
 
         // When
         when(consentValidationService.validateConsentOnCreate(req, PSU_ID_DATA))
@@ -513,6 +522,7 @@ class ConsentServiceTest {
             .thenReturn(SpiResponse.<SpiInitiateAisConsentResponse>builder()
                             .payload(new SpiInitiateAisConsentResponse(getSpiAccountAccess(), false, TEST_PSU_MESSAGE))
                             .build());
+        givenConsentCreationCompleted();
 
         // When
         ResponseObject<CreateConsentResponse> responseObj = consentService.createAccountConsentsWithResponse(
@@ -549,6 +559,7 @@ class ConsentServiceTest {
             .thenReturn(SpiResponse.<SpiInitiateAisConsentResponse>builder()
                             .payload(new SpiInitiateAisConsentResponse(getSpiAccountAccess(), false, TEST_PSU_MESSAGE))
                             .build());
+        givenConsentCreationCompleted();
 
         // When
         ResponseObject<CreateConsentResponse> response = consentService.createAccountConsentsWithResponse(req, PSU_ID_DATA, EXPLICIT_PREFERRED);
@@ -558,10 +569,51 @@ class ConsentServiceTest {
 
         InOrder inOrder = inOrder(aspspConsentDataProviderFactory, initialSpiAspspConsentDataProvider, aisConsentSpi);
         inOrder.verify(aisConsentSpi).initiateAisConsent(any(), eq(SPI_ACCOUNT_CONSENT), eq(initialSpiAspspConsentDataProvider));
-        inOrder.verify(initialSpiAspspConsentDataProvider).saveWith(CONSENT_ID);
+        inOrder.verify(initialSpiAspspConsentDataProvider).loadAspspConsentData();
+        inOrder.verify(initialSpiAspspConsentDataProvider).linkWith(CONSENT_ID);
         inOrder.verifyNoMoreInteractions();
     }
 
+    @Test
+    void createAccountConsentsWithResponse_completeConsentCreationFailed_consentRejected() {
+        // Given
+        CreateConsentReq req = getCreateConsentRequest(
+            getAccess(Collections.emptyList(), Collections.emptyList(), Collections.emptyList()), true, false
+        );
+
+        when(additionalInformationSupportedService.checkIfAdditionalInformationSupported(req)).thenReturn(req);
+        when(aisConsentService.createConsent(req, PSU_ID_DATA, tppInfo))
+            .thenReturn(Optional.of(xs2aCreateAisConsentResponse));
+        when(tppService.getTppInfo())
+            .thenReturn(tppInfo);
+        when(aisConsentMapper.mapToSpiAccountConsent(any()))
+            .thenReturn(SPI_ACCOUNT_CONSENT);
+        when(spiContextDataProvider.provide(PSU_ID_DATA, tppInfo))
+            .thenReturn(SPI_CONTEXT_DATA);
+        when(aspspConsentDataProviderFactory.getInitialAspspConsentDataProvider())
+            .thenReturn(initialSpiAspspConsentDataProvider);
+        when(consentValidationService.validateConsentOnCreate(req, PSU_ID_DATA))
+            .thenReturn(createValidationResult(true, null));
+        when(aisConsentSpi.initiateAisConsent(any(SpiContextData.class), any(SpiAccountConsent.class), any(SpiAspspConsentDataProvider.class)))
+            .thenReturn(SpiResponse.<SpiInitiateAisConsentResponse>builder()
+                            .payload(new SpiInitiateAisConsentResponse(getSpiAccountAccess(), false, TEST_PSU_MESSAGE))
+                            .build());
+        when(aisConsentService.completeConsentCreation(eq(CONSENT_ID), any(CompleteConsentCreationRequest.class)))
+            .thenReturn(Optional.empty());
+
+        // When
+        ResponseObject<CreateConsentResponse> actualResponse = consentService.createAccountConsentsWithResponse(req, PSU_ID_DATA, EXPLICIT_PREFERRED);
+
+        // Then
+        assertTrue(actualResponse.hasError());
+        assertEquals(new MessageError(ErrorType.AIS_500, TppMessageInformation.of(MessageErrorCode.INTERNAL_SERVER_ERROR)), actualResponse.getError());
+        verify(initialSpiAspspConsentDataProvider).saveWith(CONSENT_ID);
+        verify(initialSpiAspspConsentDataProvider, never()).linkWith(any());
+        verify(aisConsentService).updateConsentStatus(CONSENT_ID, ConsentStatus.REJECTED);
+        verify(accountReferenceUpdater, never()).rewriteAccountAccess(any(), any(), any());
+        verify(loggingContextService, never()).storeConsentStatus(any());
+    }
+
     @Test
     void createAccountConsentsWithResponse_onImplicitApproach_shouldCreateAuthorisation() {
         // Given
@@ -590,11 +642,12 @@ class ConsentServiceTest {
         when(authorisationMethodDecider.isImplicitMethod(true, false))
             .thenReturn(true);
 
-        when(aisScaAuthorisationServiceResolver.getService()).thenReturn(redirectAisAuthorizationService);
-        CreateConsentAuthorizationResponse authorisationResponse = new CreateConsentAuthorizationResponse();
-        authorisationResponse.setAuthorisationId(AUTHORISATION_ID);
-        when(redirectAisAuthorizationService.createConsentAuthorization(PSU_ID_DATA, CONSENT_ID))
-            .thenReturn(Optional.of(authorisationResponse));
+        CreateAuthorisationRequest authorisationRequest = new CreateAuthorisationRequest(PSU_ID_DATA, ScaApproach.REDIRECT, null);
+        when(xs2aConsentService.buildCreateAuthorisationRequest(ScaStatus.RECEIVED, PSU_ID_DATA))
+            .thenReturn(authorisationRequest);
+        CreateAuthorisationResponse authorisationResponse = new CreateAuthorisationResponse(AUTHORISATION_ID, ScaStatus.RECEIVED, null, PSU_ID_DATA);
+        when(aisConsentService.completeConsentCreation(CONSENT_ID, new CompleteConsentCreationRequest(null, false, authorisationRequest)))
+            .thenReturn(Optional.of(new CompleteConsentCreationResponse(authorisationResponse)));
 
         // When
         ResponseObject<CreateConsentResponse> actualResponse = consentService.createAccountConsentsWithResponse(req, PSU_ID_DATA, EXPLICIT_PREFERRED);
@@ -632,6 +685,7 @@ class ConsentServiceTest {
             .thenReturn(SpiResponse.<SpiInitiateAisConsentResponse>builder()
                             .payload(new SpiInitiateAisConsentResponse(getSpiAccountAccess(), false, TEST_PSU_MESSAGE))
                             .build());
+        givenConsentCreationCompleted();
 
         // When
         consentService.createAccountConsentsWithResponse(req, PSU_ID_DATA, EXPLICIT_PREFERRED);
@@ -669,12 +723,12 @@ class ConsentServiceTest {
                             .build());
         when(authorisationMethodDecider.isImplicitMethod(true, false))
             .thenReturn(true);
-        when(aisScaAuthorisationServiceResolver.getService())
-            .thenReturn(redirectAisAuthorizationService);
-        CreateConsentAuthorizationResponse authorisationResponse = new CreateConsentAuthorizationResponse();
-        authorisationResponse.setScaStatus(ScaStatus.RECEIVED);
-        when(redirectAisAuthorizationService.createConsentAuthorization(PSU_ID_DATA, CONSENT_ID))
-            .thenReturn(Optional.of(authorisationResponse));
+        CreateAuthorisationRequest authorisationRequest = new CreateAuthorisationRequest(PSU_ID_DATA, ScaApproach.REDIRECT, null);
+        when(xs2aConsentService.buildCreateAuthorisationRequest(ScaStatus.RECEIVED, PSU_ID_DATA))
+            .thenReturn(authorisationRequest);
+        CreateAuthorisationResponse authorisationResponse = new CreateAuthorisationResponse(AUTHORISATION_ID, ScaStatus.RECEIVED, null, PSU_ID_DATA);
+        when(aisConsentService.completeConsentCreation(CONSENT_ID, new CompleteConsentCreationRequest(null, false, authorisationRequest)))
+            .thenReturn(Optional.of(new CompleteConsentCreationResponse(authorisationResponse)));
 
         // When
         consentService.createAccountConsentsWithResponse(req, PSU_ID_DATA, EXPLICIT_PREFERRED);
@@ -1501,6 +1555,11 @@ class ConsentServiceTest {
         assertThat(response.getError()).isEqualTo(CONSENT_INVALID_401_ERROR);
     }
 
+    private void givenConsentCreationCompleted() {
+        when(aisConsentService.completeConsentCreation(eq(CONSENT_ID), any(CompleteConsentCreationRequest.class)))
+            .thenReturn(Optional.of(new CompleteConsentCreationResponse(null)));
+    }
+
     private void assertResponseIsCorrect(CreateConsentResponse response) {
         assertThat(response.getConsentId()).isEqualTo(CONSENT_ID);
         assertThat(response.getPsuMessage()).isEqualTo(TEST_PSU_MESSAGE);
@@ -46,6 +46,7 @@ import de.adorsys.psd2.xs2a.service.payment.cancel.CancelPaymentService;
 import de.adorsys.psd2.xs2a.service.payment.create.CreatePaymentService;
 import de.adorsys.psd2.xs2a.service.payment.read.ReadPaymentService;
 import de.adorsys.psd2.xs2a.service.payment.status.AbstractReadPaymentStatusService;
+import de.adorsys.psd2.xs2a.service.payment.status.PaymentStatusCache;
 import de.adorsys.psd2.xs2a.service.spi.InitialSpiAspspConsentDataProvider;
 import de.adorsys.psd2.xs2a.service.validator.pis.payment.*;
 import de.adorsys.psd2.xs2a.service.validator.pis.payment.dto.CreatePaymentRequestObject;
@@ -59,6 +60,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 
@@ -133,6 +135,8 @@ class PaymentServiceTest {
     private LoggingContextService loggingContextService;
     @Mock
     private ScaApproachResolver scaApproachResolver;
+    @Spy
+    private PaymentStatusCache paymentStatusCache = new PaymentStatusCache(60_000, 10);
 
     private JsonReader jsonReader;
 
@@ -672,6 +676,74 @@ class PaymentServiceTest {
         assertThat(getPaymentResponse.getFundsAvailable()).isTrue();
     }
 
+    @Test
+    void getPaymentStatusById_finalisedStatusInCms_shouldNotCallSpi() {
+        // Given
+        when(getPaymentStatusByIdValidator.validate(any(GetPaymentStatusByIdPO.class)))
+            .thenReturn(ValidationResult.valid());
+        when(xs2aPisCommonPaymentService.getPisCommonPaymentById(anyString())).thenReturn(Optional.of(pisCommonPaymentResponse));
+        when(pisCommonPaymentResponse.getTransactionStatus()).thenReturn(ACSC);
+        when(requestProviderService.getAcceptHeader()).thenReturn(MediaType.ALL_VALUE);
+
+        // When
+        ResponseObject<GetPaymentStatusResponse> response = paymentService.getPaymentStatusById(PaymentType.SINGLE, PAYMENT_PRODUCT, PAYMENT_ID);
+
+        // Then
+        assertFalse(response.hasError());
+        assertThat(response.getBody().getTransactionStatus()).isEqualTo(ACSC);
+        assertThat(response.getBody().getResponseContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        verify(loggingContextService).storeTransactionStatus(ACSC);
+        verify(paymentServiceResolver, never()).getReadPaymentStatusService(any());
+        verify(updatePaymentStatusAfterSpiService, never()).updatePaymentStatus(anyString(), any());
+    }
+
+    @Test
+    void getPaymentStatusById_finalisedStatusInCms_rawStatusRequested_shouldCallSpi() {
+        // Given
+        byte[] rawPaymentStatus = "raw payment status".getBytes();
+        when(getPaymentStatusByIdValidator.validate(any(GetPaymentStatusByIdPO.class)))
+            .thenReturn(ValidationResult.valid());
+        when(xs2aPisCommonPaymentService.getPisCommonPaymentById(anyString())).thenReturn(Optional.of(pisCommonPaymentResponse));
+        when(pisCommonPaymentResponse.getTransactionStatus()).thenReturn(ACSC);
+        when(requestProviderService.getAcceptHeader()).thenReturn(MediaType.APPLICATION_XML_VALUE);
+        when(spiContextDataProvider.provideWithPsuIdData(any())).thenReturn(SPI_CONTEXT_DATA);
+        when(paymentServiceResolver.getReadPaymentStatusService(any())).thenReturn(readPaymentStatusService);
+        when(readPaymentStatusService.readPaymentStatus(any(), any(SpiContextData.class), eq(PAYMENT_ID), eq(MediaType.APPLICATION_XML_VALUE)))
+            .thenReturn(new ReadPaymentStatusResponse(ACSC, null, MediaType.APPLICATION_XML, rawPaymentStatus, null));
+
+        // When
+        ResponseObject<GetPaymentStatusResponse> response = paymentService.getPaymentStatusById(PaymentType.SINGLE, PAYMENT_PRODUCT, PAYMENT_ID);
+
+        // Then
+        assertFalse(response.hasError());
+        assertThat(response.getBody().getPaymentStatusRaw()).isEqualTo(rawPaymentStatus);
+        verify(updatePaymentStatusAfterSpiService, never()).updatePaymentStatus(anyString(), any());
+    }
+
+    @Test
+    void getPaymentStatusById_repeatedPolling_shouldCallSpiOnce() {
+        // Given
+        when(getPaymentStatusByIdValidator.validate(any(GetPaymentStatusByIdPO.class)))
+            .thenReturn(ValidationResult.valid());
+        when(xs2aPisCommonPaymentService.getPisCommonPaymentById(anyString())).thenReturn(Optional.of(pisCommonPaymentResponse));
+        when(pisCommonPaymentResponse.getTransactionStatus()).thenReturn(ACSP);
+        when(requestProviderService.getAcceptHeader()).thenReturn(JSON_MEDIA_TYPE);
+        when(spiContextDataProvider.provideWithPsuIdData(any())).thenReturn(SPI_CONTEXT_DATA);
+        when(paymentServiceResolver.getReadPaymentStatusService(any())).thenReturn(readPaymentStatusService);
+        when(readPaymentStatusService.readPaymentStatus(any(), any(SpiContextData.class), eq(PAYMENT_ID), eq(JSON_MEDIA_TYPE)))
+            .thenReturn(new ReadPaymentStatusResponse(ACSP, true, MediaType.APPLICATION_JSON, null, PSU_MESSAGE));
+
+        // When
+        paymentService.getPaymentStatusById(PaymentType.SINGLE, PAYMENT_PRODUCT, PAYMENT_ID);
+        ResponseObject<GetPaymentStatusResponse> response = paymentService.getPaymentStatusById(PaymentType.SINGLE, PAYMENT_PRODUCT, PAYMENT_ID);
+
+        // Then
+        assertThat(response.getBody().getTransactionStatus()).isEqualTo(ACSP);
+        assertThat(response.getBody().getFundsAvailable()).isTrue();
+        verify(readPaymentStatusService, times(1)).readPaymentStatus(any(), any(SpiContextData.class), eq(PAYMENT_ID), eq(JSON_MEDIA_TYPE));
+        verify(updatePaymentStatusAfterSpiService, never()).updatePaymentStatus(anyString(), any());
+    }
+
     @Test
     void cancelPayment_Success() {
         // Given
@@ -16,6 +16,7 @@
 
 package de.adorsys.psd2.xs2a.service;
 
+import de.adorsys.psd2.consent.api.ais.AisConsentUsageReservation;
 import de.adorsys.psd2.core.data.ais.AisConsent;
 import de.adorsys.psd2.core.data.ais.AisConsentData;
 import de.adorsys.psd2.event.core.model.EventType;
@@ -91,6 +92,7 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class TransactionServiceTest {
     private static final JsonReader jsonReader = new JsonReader();
+    private static final AisConsentUsageReservation USAGE_RESERVATION = new AisConsentUsageReservation(true, LocalDate.of(2020, 5, 4));
     private static final String ASPSP_ACCOUNT_ID = "3278921mxl-n2131-13nw";
     private static final boolean WITH_BALANCE = false;
     private static final String CONSENT_ID = "fa6e687b-1ac9-4b1a-9c74-357c35c82ba1";
@@ -218,6 +220,7 @@ class TransactionServiceTest {
     @Test
     void getTransactionsReportByPeriod_Failure_SpiResponseHasError() {
         // Given
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
         when(getTransactionsReportValidator.validate(any(TransactionsReportByPeriodObject.class)))
             .thenReturn(ValidationResult.valid());
         when(aisConsentService.getAccountConsentById(CONSENT_ID))
@@ -243,6 +246,52 @@ class TransactionServiceTest {
 
         // Then
         assertThatErrorIs(actualResponse, FORMAT_ERROR);
+        verify(aisConsentService).releaseConsentUsage(CONSENT_ID, REQUEST_URI, USAGE_RESERVATION);
+    }
+
+    @Test
+    void getTransactionsReportByPeriod_Failure_SpiThrowsException() {
+        // Given
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
+        when(getTransactionsReportValidator.validate(any(TransactionsReportByPeriodObject.class)))
+            .thenReturn(ValidationResult.valid());
+        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+            .thenReturn(Optional.of(aisConsent));
+        when(accountHelperService.findAccountReference(any(), any()))
+            .thenReturn(spiAccountReference);
+        when(accountHelperService.getSpiContextData())
+            .thenReturn(SPI_CONTEXT_DATA);
+        when(aspspProfileService.isTransactionsWithoutBalancesSupported())
+            .thenReturn(true);
+        when(consentMapper.mapToSpiAccountConsent(any()))
+            .thenReturn(SPI_ACCOUNT_CONSENT);
+        when(accountSpi.requestTransactionsForAccount(SPI_CONTEXT_DATA, buildSpiTransactionReportParameters(), spiAccountReference, SPI_ACCOUNT_CONSENT, spiAspspConsentDataProvider))
+            .thenThrow(new IllegalStateException("ASPSP is not available"));
+
+        // When
+        assertThrows(IllegalStateException.class, () -> transactionService.getTransactionsReportByPeriod(XS2A_TRANSACTIONS_REPORT_BY_PERIOD_REQUEST));
+
+        // Then
+        verify(aisConsentService).releaseConsentUsage(CONSENT_ID, REQUEST_URI, USAGE_RESERVATION);
+    }
+
+    @Test
+    void getTransactionsReportByPeriod_Failure_UsageLimitExceeded() {
+        // Given
+        when(getTransactionsReportValidator.validate(any(TransactionsReportByPeriodObject.class)))
+            .thenReturn(ValidationResult.valid());
+        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+            .thenReturn(Optional.of(aisConsent));
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), eq(false), any(), any()))
+            .thenReturn(Optional.empty());
+
+        // When
+        ResponseObject<Xs2aTransactionsReport> actualResponse = transactionService.getTransactionsReportByPeriod(XS2A_TRANSACTIONS_REPORT_BY_PERIOD_REQUEST);
+
+        // Then
+        assertThatErrorIs(actualResponse, ACCESS_EXCEEDED);
+        verifyNoInteractions(accountSpi);
+        verify(aisConsentService, never()).releaseConsentUsage(any(), any(), any());
     }
 
     @Test
@@ -265,6 +314,7 @@ class TransactionServiceTest {
     @Test
     void getTransactionsReportByPeriod_With406ErrorInSpiTransactionReport() {
         // Given
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
         when(getTransactionsReportValidator.validate(any(TransactionsReportByPeriodObject.class)))
             .thenReturn(ValidationResult.valid());
         when(aisConsentService.getAccountConsentById(CONSENT_ID))
@@ -290,6 +340,7 @@ class TransactionServiceTest {
     @Test
     void getTransactionsReportByPeriod_Success() {
         // Given
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
         when(getTransactionsReportValidator.validate(any(TransactionsReportByPeriodObject.class)))
             .thenReturn(ValidationResult.valid());
         when(aisConsentService.getAccountConsentById(CONSENT_ID))
@@ -334,6 +385,7 @@ class TransactionServiceTest {
     @Test
     void getTransactionsReportByPeriod_WhenConsentIsGlobal_Success() {
         // Given
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
         when(getTransactionsReportValidator.validate(any(TransactionsReportByPeriodObject.class)))
             .thenReturn(ValidationResult.valid());
         when(aisConsentService.getAccountConsentById(CONSENT_ID))
@@ -382,6 +434,7 @@ class TransactionServiceTest {
     @Test
     void getTransactionsReportByPeriod_filledTransactionsInReport() {
         // Given
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
         when(getTransactionsReportValidator.validate(any(TransactionsReportByPeriodObject.class)))
             .thenReturn(ValidationResult.valid());
         when(aisConsentService.getAccountConsentById(CONSENT_ID))
@@ -421,6 +474,7 @@ class TransactionServiceTest {
     @Test
     void getTransactionsReportByPeriod_nullTransactionListInReport() {
         // Given
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
         when(getTransactionsReportValidator.validate(any(TransactionsReportByPeriodObject.class)))
             .thenReturn(ValidationResult.valid());
         when(aisConsentService.getAccountConsentById(CONSENT_ID))
@@ -458,6 +512,7 @@ class TransactionServiceTest {
     @Test
     void getTransactionsReportByPeriod_Success_ShouldRecordEvent() {
         // Given
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
         when(getTransactionsReportValidator.validate(any(TransactionsReportByPeriodObject.class)))
             .thenReturn(ValidationResult.valid());
         when(aisConsentService.getAccountConsentById(CONSENT_ID))
@@ -509,6 +564,7 @@ class TransactionServiceTest {
     @Test
     void getTransactionsReportByPeriod_shouldRecordStatusInLoggingContext() {
         // Given
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
         when(getTransactionsReportValidator.validate(any(TransactionsReportByPeriodObject.class)))
             .thenReturn(ValidationResult.valid());
         when(aisConsentService.getAccountConsentById(CONSENT_ID))
@@ -689,6 +745,7 @@ class TransactionServiceTest {
     @Test
     void getTransactionDetails_Failure_SpiResponseHasError() {
         // Given
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
         when(getTransactionDetailsValidator.validate(any(CommonAccountTransactionsRequestObject.class)))
             .thenReturn(ValidationResult.valid());
         when(aisConsentService.getAccountConsentById(CONSENT_ID))
@@ -714,6 +771,53 @@ class TransactionServiceTest {
 
         // Then
         assertThatErrorIs(actualResponse, FORMAT_ERROR);
+        verify(aisConsentService).releaseConsentUsage(CONSENT_ID, REQUEST_URI, USAGE_RESERVATION);
+    }
+
+    @Test
+    void getTransactionDetails_Failure_SpiThrowsException() {
+        // Given
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
+        when(getTransactionDetailsValidator.validate(any(CommonAccountTransactionsRequestObject.class)))
+            .thenReturn(ValidationResult.valid());
+        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+            .thenReturn(Optional.of(aisConsent));
+        when(accountHelperService.findAccountReference(any(), any()))
+            .thenReturn(spiAccountReference);
+        when(accountHelperService.getSpiContextData())
+            .thenReturn(SPI_CONTEXT_DATA);
+
+        doNothing().when(validatorService).validateAccountIdTransactionId(ACCOUNT_ID, TRANSACTION_ID);
+
+        when(consentMapper.mapToSpiAccountConsent(any()))
+            .thenReturn(SPI_ACCOUNT_CONSENT);
+        when(accountSpi.requestTransactionForAccountByTransactionId(SPI_CONTEXT_DATA, TRANSACTION_ID, spiAccountReference, SPI_ACCOUNT_CONSENT, spiAspspConsentDataProvider))
+            .thenThrow(new IllegalStateException("ASPSP is not available"));
+
+        // When
+        assertThrows(IllegalStateException.class, () -> transactionService.getTransactionDetails(CONSENT_ID, ACCOUNT_ID, TRANSACTION_ID, REQUEST_URI));
+
+        // Then
+        verify(aisConsentService).releaseConsentUsage(CONSENT_ID, REQUEST_URI, USAGE_RESERVATION);
+    }
+
+    @Test
+    void getTransactionDetails_Failure_UsageLimitExceeded() {
+        // Given
+        when(getTransactionDetailsValidator.validate(any(CommonAccountTransactionsRequestObject.class)))
+            .thenReturn(ValidationResult.valid());
+        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+            .thenReturn(Optional.of(aisConsent));
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), eq(false), any(), any()))
+            .thenReturn(Optional.empty());
+
+        // When
+        ResponseObject<Transactions> actualResponse = transactionService.getTransactionDetails(CONSENT_ID, ACCOUNT_ID, TRANSACTION_ID, REQUEST_URI);
+
+        // Then
+        assertThatErrorIs(actualResponse, ACCESS_EXCEEDED);
+        verifyNoInteractions(accountSpi);
+        verify(aisConsentService, never()).releaseConsentUsage(any(), any(), any());
     }
 
     @Test
@@ -736,6 +840,7 @@ class TransactionServiceTest {
     @Test
     void getTransactionDetails_Success() {
         // Given
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
         when(getTransactionDetailsValidator.validate(any(CommonAccountTransactionsRequestObject.class)))
             .thenReturn(ValidationResult.valid());
         when(aisConsentService.getAccountConsentById(CONSENT_ID))
@@ -766,6 +871,7 @@ class TransactionServiceTest {
     @Test
     void getTransactionDetails_Success_ShouldRecordEvent() {
         // Given
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
         when(getTransactionDetailsValidator.validate(any(CommonAccountTransactionsRequestObject.class)))
             .thenReturn(ValidationResult.valid());
         when(aisConsentService.getAccountConsentById(CONSENT_ID))
@@ -811,6 +917,7 @@ class TransactionServiceTest {
     @Test
     void getTransactionDetails_shouldRecordStatusInLoggingContext() {
         // Given
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
         when(getTransactionDetailsValidator.validate(any(CommonAccountTransactionsRequestObject.class)))
             .thenReturn(ValidationResult.valid());
         when(aisConsentService.getAccountConsentById(CONSENT_ID))
@@ -17,6 +17,7 @@
 package de.adorsys.psd2.xs2a.service.ais;
 
 import de.adorsys.psd2.consent.api.ActionStatus;
+import de.adorsys.psd2.consent.api.ais.AisConsentUsageReservation;
 import de.adorsys.psd2.core.data.AccountAccess;
 import de.adorsys.psd2.core.data.ais.AisConsent;
 import de.adorsys.psd2.core.data.ais.AisConsentData;
@@ -63,6 +64,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDate;
 import java.util.Collections;
 import java.util.Currency;
 import java.util.Optional;
@@ -70,12 +72,14 @@ import java.util.Optional;
 import static de.adorsys.psd2.xs2a.core.domain.TppMessageInformation.of;
 import static de.adorsys.psd2.xs2a.core.error.MessageErrorCode.*;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class AccountDetailsServiceTest {
     private static final JsonReader jsonReader = new JsonReader();
+    private static final AisConsentUsageReservation USAGE_RESERVATION = new AisConsentUsageReservation(true, LocalDate.of(2020, 5, 4));
     private static final String ASPSP_ACCOUNT_ID = "3278921mxl-n2131-13nw";
     private static final boolean WITH_BALANCE = false;
     private static final String CONSENT_ID = "c966f143-f6a2-41db-9036-8abaeeef3af7";
@@ -168,6 +172,7 @@ class AccountDetailsServiceTest {
     @Test
     void getAccountDetails_Failure_SpiResponseHasError() {
         // Given
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
         when(getAccountDetailsValidator.validate(any(CommonAccountRequestObject.class)))
             .thenReturn(ValidationResult.valid());
         when(accountHelperService.findAccountReference(any(), any()))
@@ -189,6 +194,46 @@ class AccountDetailsServiceTest {
 
         // Then
         assertThatErrorIs(actualResponse, FORMAT_ERROR);
+        verify(aisConsentService).releaseConsentUsage(CONSENT_ID, REQUEST_URI, USAGE_RESERVATION);
+    }
+
+    @Test
+    void getAccountDetails_Failure_SpiThrowsException() {
+        // Given
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
+        when(getAccountDetailsValidator.validate(any(CommonAccountRequestObject.class)))
+            .thenReturn(ValidationResult.valid());
+        when(accountHelperService.findAccountReference(any(), any()))
+            .thenReturn(spiAccountReference);
+        when(accountHelperService.getSpiContextData())
+            .thenReturn(SPI_CONTEXT_DATA);
+        when(accountSpi.requestAccountDetailForAccount(SPI_CONTEXT_DATA, WITH_BALANCE, spiAccountReference, SPI_ACCOUNT_CONSENT, spiAspspConsentDataProvider))
+            .thenThrow(new IllegalStateException("ASPSP is not available"));
+        when(consentMapper.mapToSpiAccountConsent(any()))
+            .thenReturn(SPI_ACCOUNT_CONSENT);
+
+        // When
+        assertThrows(IllegalStateException.class, () -> accountDetailsService.getAccountDetails(CONSENT_ID, ACCOUNT_ID, WITH_BALANCE, REQUEST_URI));
+
+        // Then
+        verify(aisConsentService).releaseConsentUsage(CONSENT_ID, REQUEST_URI, USAGE_RESERVATION);
+    }
+
+    @Test
+    void getAccountDetails_Failure_UsageLimitExceeded() {
+        // Given
+        when(getAccountDetailsValidator.validate(any(CommonAccountRequestObject.class)))
+            .thenReturn(ValidationResult.valid());
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), eq(false), any(), any()))
+            .thenReturn(Optional.empty());
+
+        // When
+        ResponseObject<Xs2aAccountDetailsHolder> actualResponse = accountDetailsService.getAccountDetails(CONSENT_ID, ACCOUNT_ID, WITH_BALANCE, REQUEST_URI);
+
+        // Then
+        assertThatErrorIs(actualResponse, ACCESS_EXCEEDED);
+        verifyNoInteractions(accountSpi);
+        verify(aisConsentService, never()).releaseConsentUsage(any(), any(), any());
     }
 
     @Test
@@ -207,6 +252,7 @@ class AccountDetailsServiceTest {
     @Test
     void getAccountDetails_Success() {
         // Given
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
         when(getAccountDetailsValidator.validate(any(CommonAccountRequestObject.class)))
             .thenReturn(ValidationResult.valid());
         when(accountHelperService.findAccountReference(any(), any()))
@@ -236,6 +282,7 @@ class AccountDetailsServiceTest {
     @Test
     void getAccountDetailsForGlobalConsent_Success() {
         // Given
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
         //global consent
         aisConsent.setConsentData(new AisConsentData(null, AccountAccessType.ALL_ACCOUNTS, null, false));
         ArgumentCaptor<SpiAccountReference> spiAccountReferenceCaptor = ArgumentCaptor.forClass(SpiAccountReference.class);
@@ -266,6 +313,7 @@ class AccountDetailsServiceTest {
     @Test
     void getAccountDetails_Success_ShouldRecordEvent() {
         // Given
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
         when(getAccountDetailsValidator.validate(any(CommonAccountRequestObject.class)))
             .thenReturn(ValidationResult.valid());
         when(accountHelperService.findAccountReference(any(), any()))
@@ -294,6 +342,7 @@ class AccountDetailsServiceTest {
     @Test
     void getAccountDetails_shouldRecordStatusIntoLoggingContext() {
         // Given
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
         when(getAccountDetailsValidator.validate(any(CommonAccountRequestObject.class)))
             .thenReturn(ValidationResult.valid());
         when(accountHelperService.findAccountReference(any(), any()))
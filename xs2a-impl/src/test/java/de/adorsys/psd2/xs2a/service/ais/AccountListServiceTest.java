@@ -19,6 +19,7 @@ package de.adorsys.psd2.xs2a.service.ais;
 import de.adorsys.psd2.consent.api.ActionStatus;
 import de.adorsys.psd2.consent.api.CmsError;
 import de.adorsys.psd2.consent.api.CmsResponse;
+import de.adorsys.psd2.consent.api.ais.AisConsentUsageReservation;
 import de.adorsys.psd2.core.data.AccountAccess;
 import de.adorsys.psd2.core.data.ais.AisConsent;
 import de.adorsys.psd2.core.data.ais.AisConsentData;
@@ -67,6 +68,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDate;
 import java.util.Collections;
 import java.util.Currency;
 import java.util.List;
@@ -76,12 +78,14 @@ import java.util.stream.Stream;
 import static de.adorsys.psd2.xs2a.core.domain.TppMessageInformation.of;
 import static de.adorsys.psd2.xs2a.core.error.MessageErrorCode.*;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class AccountListServiceTest {
     private static final JsonReader jsonReader = new JsonReader();
+    private static final AisConsentUsageReservation USAGE_RESERVATION = new AisConsentUsageReservation(true, LocalDate.of(2020, 5, 4));
     private static final String ASPSP_ACCOUNT_ID = "0000921mxl-n2131-13nw";
     private static final boolean WITH_BALANCE = false;
     private static final String CONSENT_ID = "c966f143-f6a2-41db-9036-8abaeeef3af7";
@@ -171,6 +175,7 @@ class AccountListServiceTest {
     @Test
     void getAccountDetailsList_Failure_SpiResponseHasError() {
         // Given
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
         when(aisConsentService.getAccountConsentById(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(getAccountListValidator.validate(any(GetAccountListConsentObject.class)))
@@ -190,11 +195,54 @@ class AccountListServiceTest {
         ResponseObject<Xs2aAccountListHolder> actualResponse = accountListService.getAccountList(CONSENT_ID, WITH_BALANCE, REQUEST_URI);
 
         assertThatErrorIs(actualResponse, FORMAT_ERROR);
+        verify(aisConsentService).releaseConsentUsage(CONSENT_ID, REQUEST_URI, USAGE_RESERVATION);
+    }
+
+    @Test
+    void getAccountDetailsList_Failure_SpiThrowsException() {
+        // Given
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
+        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+            .thenReturn(Optional.of(aisConsent));
+        when(getAccountListValidator.validate(any(GetAccountListConsentObject.class)))
+            .thenReturn(ValidationResult.valid());
+        when(accountHelperService.getSpiContextData())
+            .thenReturn(SPI_CONTEXT_DATA);
+        when(consentMapper.mapToSpiAccountConsent(any()))
+            .thenReturn(SPI_ACCOUNT_CONSENT);
+        when(accountSpi.requestAccountList(SPI_CONTEXT_DATA, WITH_BALANCE, SPI_ACCOUNT_CONSENT, spiAspspConsentDataProvider))
+            .thenThrow(new IllegalStateException("ASPSP is not available"));
+
+        // When
+        assertThrows(IllegalStateException.class, () -> accountListService.getAccountList(CONSENT_ID, WITH_BALANCE, REQUEST_URI));
+
+        // Then
+        verify(aisConsentService).releaseConsentUsage(CONSENT_ID, REQUEST_URI, USAGE_RESERVATION);
+    }
+
+    @Test
+    void getAccountDetailsList_Failure_UsageLimitExceeded() {
+        // Given
+        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+            .thenReturn(Optional.of(aisConsent));
+        when(getAccountListValidator.validate(any(GetAccountListConsentObject.class)))
+            .thenReturn(ValidationResult.valid());
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), eq(false), any(), any()))
+            .thenReturn(Optional.empty());
+
+        // When
+        ResponseObject<Xs2aAccountListHolder> actualResponse = accountListService.getAccountList(CONSENT_ID, WITH_BALANCE, REQUEST_URI);
+
+        // Then
+        assertThatErrorIs(actualResponse, ACCESS_EXCEEDED);
+        verifyNoInteractions(accountSpi);
+        verify(aisConsentService, never()).releaseConsentUsage(any(), any(), any());
     }
 
     @Test
     void getAccountDetailsList_Failure_AccountConsentUpdatedIsEmpty() {
         // Given
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
         when(aisConsentService.getAccountConsentById(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(getAccountListValidator.validate(any(GetAccountListConsentObject.class)))
@@ -224,6 +272,7 @@ class AccountListServiceTest {
     @Test
     void getAccountDetailsList_Success() {
         // Given
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
         when(aisConsentService.getAccountConsentById(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(getAccountListValidator.validate(any(GetAccountListConsentObject.class)))
@@ -263,6 +312,7 @@ class AccountListServiceTest {
     @Test
     void getAccountDetailsList_shouldUpdateAccountReferences() {
         // Given
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
         when(getAccountListValidator.validate(any(GetAccountListConsentObject.class)))
             .thenReturn(ValidationResult.valid());
         when(accountHelperService.getSpiContextData())
@@ -334,6 +384,7 @@ class AccountListServiceTest {
     @Test
     void getAccountList_shouldRecordStatusIntoLoggingContext() {
         // Given
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
         when(getAccountListValidator.validate(any(GetAccountListConsentObject.class)))
             .thenReturn(ValidationResult.valid());
         when(aisConsentService.getAccountConsentById(CONSENT_ID))
@@ -373,24 +424,26 @@ class AccountListServiceTest {
     @MethodSource("params")
     void consentActionLog(boolean recurringIndicator, boolean needsToUpdateUsage, boolean updateUsage) {
         // Given
+        AisConsent accountConsent = createConsent(recurringIndicator);
         when(getAccountListValidator.validate(any(GetAccountListConsentObject.class)))
             .thenReturn(ValidationResult.valid());
         when(aisConsentService.getAccountConsentById(CONSENT_ID))
-            .thenReturn(Optional.of(aisConsent));
+            .thenReturn(Optional.of(accountConsent));
         when(accountHelperService.getSpiContextData())
             .thenReturn(SPI_CONTEXT_DATA);
         when(accountHelperService.createActionStatus(anyBoolean(), any(), any()))
             .thenReturn(ActionStatus.SUCCESS);
-        AisConsent accountConsent = createConsent(recurringIndicator);
         prepationForGetAccountListRequest(accountConsent);
         when(accountHelperService.needsToUpdateUsage(accountConsent))
             .thenReturn(needsToUpdateUsage);
+        when(aisConsentService.reserveConsentUsage(null, CONSENT_ID, REQUEST_URI, updateUsage, null, null))
+            .thenReturn(Optional.of(USAGE_RESERVATION));
 
         // When
         accountListService.getAccountList(CONSENT_ID, WITH_BALANCE, REQUEST_URI);
 
         // Then
-        verify(aisConsentService, atLeastOnce()).consentActionLog(null, CONSENT_ID, ActionStatus.SUCCESS, REQUEST_URI, updateUsage, null, null);
+        verify(aisConsentService, atLeastOnce()).consentActionLog(null, CONSENT_ID, ActionStatus.SUCCESS, REQUEST_URI, USAGE_RESERVATION, null, null);
     }
 
     private void assertResponseHasNoErrors(ResponseObject actualResponse) {
@@ -17,6 +17,7 @@
 package de.adorsys.psd2.xs2a.service.ais;
 
 import de.adorsys.psd2.consent.api.ActionStatus;
+import de.adorsys.psd2.consent.api.ais.AisConsentUsageReservation;
 import de.adorsys.psd2.core.data.AccountAccess;
 import de.adorsys.psd2.core.data.ais.AisConsent;
 import de.adorsys.psd2.core.data.ais.AisConsentData;
@@ -55,6 +56,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDate;
 import java.util.Collections;
 import java.util.Currency;
 import java.util.Optional;
@@ -62,12 +64,14 @@ import java.util.Optional;
 import static de.adorsys.psd2.xs2a.core.domain.TppMessageInformation.of;
 import static de.adorsys.psd2.xs2a.core.error.MessageErrorCode.*;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class BalanceServiceTest {
     private static final String ASPSP_ACCOUNT_ID = "3278921mxl-n2131-13nw";
+    private static final AisConsentUsageReservation USAGE_RESERVATION = new AisConsentUsageReservation(true, LocalDate.of(2020, 5, 4));
     private static final String CONSENT_ID = "c966f143-f6a2-41db-9036-8abaeeef3af7";
     private static final String ACCOUNT_ID = "Test accountId";
     private static final String IBAN = "DE52500105173911841934";
@@ -147,6 +151,7 @@ class BalanceServiceTest {
     @Test
     void getBalancesReport_Failure_SpiResponseHasError() {
         // Given
+        when(accountServicesHolder.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
         when(getBalancesReportValidator.validate(any(GetAccountBalanceRequestObject.class)))
             .thenReturn(ValidationResult.valid());
         when(accountServicesHolder.getAccountConsentById(CONSENT_ID))
@@ -170,6 +175,50 @@ class BalanceServiceTest {
 
         // Then
         assertThatErrorIs(actualResponse, FORMAT_ERROR);
+        verify(accountServicesHolder).releaseConsentUsage(CONSENT_ID, REQUEST_URI, USAGE_RESERVATION);
+    }
+
+    @Test
+    void getBalancesReport_Failure_SpiThrowsException() {
+        // Given
+        when(accountServicesHolder.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
+        when(getBalancesReportValidator.validate(any(GetAccountBalanceRequestObject.class)))
+            .thenReturn(ValidationResult.valid());
+        when(accountServicesHolder.getAccountConsentById(CONSENT_ID))
+            .thenReturn(Optional.of(aisConsent));
+        when(accountServicesHolder.findAccountReference(any(), any()))
+            .thenReturn(spiAccountReference);
+        when(accountServicesHolder.getSpiContextData())
+            .thenReturn(SPI_CONTEXT_DATA);
+        when(accountSpi.requestBalancesForAccount(SPI_CONTEXT_DATA, spiAccountReference, SPI_ACCOUNT_CONSENT, spiAspspConsentDataProvider))
+            .thenThrow(new IllegalStateException("ASPSP is not available"));
+        when(accountMappersHolder.mapToSpiAccountConsent(any()))
+            .thenReturn(SPI_ACCOUNT_CONSENT);
+
+        // When
+        assertThrows(IllegalStateException.class, () -> balanceService.getBalancesReport(CONSENT_ID, ACCOUNT_ID, REQUEST_URI));
+
+        // Then
+        verify(accountServicesHolder).releaseConsentUsage(CONSENT_ID, REQUEST_URI, USAGE_RESERVATION);
+    }
+
+    @Test
+    void getBalancesReport_Failure_UsageLimitExceeded() {
+        // Given
+        when(getBalancesReportValidator.validate(any(GetAccountBalanceRequestObject.class)))
+            .thenReturn(ValidationResult.valid());
+        when(accountServicesHolder.getAccountConsentById(CONSENT_ID))
+            .thenReturn(Optional.of(aisConsent));
+        when(accountServicesHolder.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), eq(false), any(), any()))
+            .thenReturn(Optional.empty());
+
+        // When
+        ResponseObject<Xs2aBalancesReport> actualResponse = balanceService.getBalancesReport(CONSENT_ID, ACCOUNT_ID, REQUEST_URI);
+
+        // Then
+        assertThatErrorIs(actualResponse, ACCESS_EXCEEDED);
+        verifyNoInteractions(accountSpi);
+        verify(accountServicesHolder, never()).releaseConsentUsage(any(), any(), any());
     }
 
     @Test
@@ -190,6 +239,7 @@ class BalanceServiceTest {
     @Test
     void getBalancesReport_Success() {
         // Given
+        when(accountServicesHolder.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
         when(getBalancesReportValidator.validate(any(GetAccountBalanceRequestObject.class)))
             .thenReturn(ValidationResult.valid());
         when(accountServicesHolder.getAccountConsentById(CONSENT_ID))
@@ -223,6 +273,7 @@ class BalanceServiceTest {
     @Test
     void getBalancesReport_Success_ShouldRecordEvent() {
         // Given
+        when(accountServicesHolder.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
         when(getBalancesReportValidator.validate(any(GetAccountBalanceRequestObject.class)))
             .thenReturn(ValidationResult.valid());
         when(accountServicesHolder.getAccountConsentById(CONSENT_ID))
@@ -269,6 +320,7 @@ class BalanceServiceTest {
     @Test
     void getBalancesReport_shouldRecordStatusIntoLoggingContext() {
         // Given
+        when(accountServicesHolder.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
         when(getBalancesReportValidator.validate(any(GetAccountBalanceRequestObject.class)))
             .thenReturn(ValidationResult.valid());
         when(accountServicesHolder.getAccountConsentById(CONSENT_ID))
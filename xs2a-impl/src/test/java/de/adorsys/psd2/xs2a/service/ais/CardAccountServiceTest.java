@@ -19,6 +19,7 @@ package de.adorsys.psd2.xs2a.service.ais;
 import de.adorsys.psd2.consent.api.ActionStatus;
 import de.adorsys.psd2.consent.api.CmsError;
 import de.adorsys.psd2.consent.api.CmsResponse;
+import de.adorsys.psd2.consent.api.ais.AisConsentUsageReservation;
 import de.adorsys.psd2.core.data.AccountAccess;
 import de.adorsys.psd2.core.data.ais.AisConsent;
 import de.adorsys.psd2.core.data.ais.AisConsentData;
@@ -85,6 +86,7 @@ import java.util.stream.Stream;
 import static de.adorsys.psd2.xs2a.core.domain.TppMessageInformation.of;
 import static de.adorsys.psd2.xs2a.core.error.MessageErrorCode.*;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -92,6 +94,7 @@ import static org.mockito.Mockito.*;
 class CardAccountServiceTest {
 
     private static final JsonReader jsonReader = new JsonReader();
+    private static final AisConsentUsageReservation USAGE_RESERVATION = new AisConsentUsageReservation(true, LocalDate.of(2020, 5, 4));
     private static final String CONSENT_ID = "c966f143-f6a2-41db-9036-8abaeeef3af7";
     private static final String ACCOUNT_ID = "Test accountId";
 
@@ -156,6 +159,7 @@ class CardAccountServiceTest {
     @Test
     void getAccountDetailsList_Failure_AccountConsentUpdatedHasChecksumError() {
         // Given
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
         when(aisConsentService.getAccountConsentById(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(getCardAccountListValidator.validate(any(GetCardAccountListConsentObject.class)))
@@ -218,6 +222,7 @@ class CardAccountServiceTest {
     @Test
     void getAccountDetailsList_Failure_SpiResponseHasError() {
         // Given
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
         when(aisConsentService.getAccountConsentById(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
 
@@ -241,11 +246,56 @@ class CardAccountServiceTest {
 
         // Then
         assertThatErrorIs(actualResponse, FORMAT_ERROR);
+        verify(aisConsentService).releaseConsentUsage(CONSENT_ID, REQUEST_URI, USAGE_RESERVATION);
+    }
+
+    @Test
+    void getAccountDetailsList_Failure_SpiThrowsException() {
+        // Given
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
+        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+            .thenReturn(Optional.of(aisConsent));
+
+        when(getCardAccountListValidator.validate(any(GetCardAccountListConsentObject.class)))
+            .thenReturn(ValidationResult.valid());
+        when(accountHelperService.getSpiContextData()).thenReturn(SPI_CONTEXT_DATA);
+
+        when(consentMapper.mapToSpiAccountConsent(any()))
+            .thenReturn(SPI_ACCOUNT_CONSENT);
+
+        when(cardAccountSpi.requestCardAccountList(SPI_CONTEXT_DATA, SPI_ACCOUNT_CONSENT, spiAspspConsentDataProvider))
+            .thenThrow(new IllegalStateException("ASPSP is not available"));
+
+        // When
+        assertThrows(IllegalStateException.class, () -> cardAccountService.getCardAccountList(CONSENT_ID, REQUEST_URI));
+
+        // Then
+        verify(aisConsentService).releaseConsentUsage(CONSENT_ID, REQUEST_URI, USAGE_RESERVATION);
+    }
+
+    @Test
+    void getAccountDetailsList_Failure_UsageLimitExceeded() {
+        // Given
+        when(aisConsentService.getAccountConsentById(CONSENT_ID))
+            .thenReturn(Optional.of(aisConsent));
+        when(getCardAccountListValidator.validate(any(GetCardAccountListConsentObject.class)))
+            .thenReturn(ValidationResult.valid());
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), eq(false), any(), any()))
+            .thenReturn(Optional.empty());
+
+        // When
+        ResponseObject<Xs2aCardAccountListHolder> actualResponse = cardAccountService.getCardAccountList(CONSENT_ID, REQUEST_URI);
+
+        // Then
+        assertThatErrorIs(actualResponse, ACCESS_EXCEEDED);
+        verifyNoInteractions(cardAccountSpi);
+        verify(aisConsentService, never()).releaseConsentUsage(any(), any(), any());
     }
 
     @Test
     void getAccountDetailsList_Failure_AccountConsentUpdatedIsEmpty() {
         // Given
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
         when(aisConsentService.getAccountConsentById(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(getCardAccountListValidator.validate(any(GetCardAccountListConsentObject.class)))
@@ -279,6 +329,7 @@ class CardAccountServiceTest {
     @Test
     void getAccountDetailsList_Success() {
         // Given
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
         when(aisConsentService.getAccountConsentById(CONSENT_ID))
             .thenReturn(Optional.of(aisConsent));
         when(getCardAccountListValidator.validate(any(GetCardAccountListConsentObject.class)))
@@ -325,6 +376,7 @@ class CardAccountServiceTest {
     @Test
     void getAccountDetailsList_shouldUpdateAccountReferences() {
         // Given
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
         when(getCardAccountListValidator.validate(any(GetCardAccountListConsentObject.class)))
             .thenReturn(ValidationResult.valid());
         when(accountHelperService.getSpiContextData())
@@ -387,6 +439,7 @@ class CardAccountServiceTest {
     @Test
     void getAccountList_shouldRecordStatusIntoLoggingContext() {
         // Given
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
         when(getCardAccountListValidator.validate(any(GetCardAccountListConsentObject.class)))
             .thenReturn(ValidationResult.valid());
         when(aisConsentService.getAccountConsentById(CONSENT_ID))
@@ -427,25 +480,27 @@ class CardAccountServiceTest {
     @MethodSource("params")
     void consentActionLog(boolean recurringIndicator, boolean needsToUpdateUsage, boolean updateUsage) {
         // Given
+        AisConsent accountConsent = createConsent(recurringIndicator);
         when(getCardAccountListValidator.validate(any(GetCardAccountListConsentObject.class)))
             .thenReturn(ValidationResult.valid());
         when(aisConsentService.getAccountConsentById(CONSENT_ID))
-            .thenReturn(Optional.of(aisConsent));
+            .thenReturn(Optional.of(accountConsent));
         when(accountHelperService.getSpiContextData())
             .thenReturn(SPI_CONTEXT_DATA);
         when(accountHelperService.createActionStatus(anyBoolean(), any(), any()))
             .thenReturn(ActionStatus.SUCCESS);
 
-        AisConsent accountConsent = createConsent(recurringIndicator);
         prepationForGetAccountListRequest(accountConsent);
         when(accountHelperService.needsToUpdateUsage(accountConsent))
             .thenReturn(needsToUpdateUsage);
+        when(aisConsentService.reserveConsentUsage(null, CONSENT_ID, REQUEST_URI, updateUsage, null, null))
+            .thenReturn(Optional.of(USAGE_RESERVATION));
 
         // When
         cardAccountService.getCardAccountList(CONSENT_ID, REQUEST_URI);
 
         // Then
-        verify(aisConsentService, atLeastOnce()).consentActionLog(null, CONSENT_ID, ActionStatus.SUCCESS, REQUEST_URI, updateUsage, null, null);
+        verify(aisConsentService, atLeastOnce()).consentActionLog(null, CONSENT_ID, ActionStatus.SUCCESS, REQUEST_URI, USAGE_RESERVATION, null, null);
     }
 
     @Test
@@ -474,6 +529,7 @@ class CardAccountServiceTest {
     @Test
     void getAccountDetails_Failure_SpiResponseHasError() {
         // Given
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
         when(getCardAccountDetailsValidator.validate(any(GetCardAccountDetailsRequestObject.class)))
             .thenReturn(ValidationResult.valid());
         when(accountHelperService.findAccountReference(any(), any()))
@@ -494,6 +550,46 @@ class CardAccountServiceTest {
 
         // Then
         assertThatErrorIs(actualResponse, FORMAT_ERROR);
+        verify(aisConsentService).releaseConsentUsage(CONSENT_ID, REQUEST_URI, USAGE_RESERVATION);
+    }
+
+    @Test
+    void getAccountDetails_Failure_SpiThrowsException() {
+        // Given
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
+        when(getCardAccountDetailsValidator.validate(any(GetCardAccountDetailsRequestObject.class)))
+            .thenReturn(ValidationResult.valid());
+        when(accountHelperService.findAccountReference(any(), any()))
+            .thenReturn(spiAccountReference);
+        when(accountHelperService.getSpiContextData())
+            .thenReturn(SPI_CONTEXT_DATA);
+        when(cardAccountSpi.requestCardAccountDetailsForAccount(SPI_CONTEXT_DATA, spiAccountReference, SPI_ACCOUNT_CONSENT, spiAspspConsentDataProvider))
+            .thenThrow(new IllegalStateException("ASPSP is not available"));
+        when(consentMapper.mapToSpiAccountConsent(any()))
+            .thenReturn(SPI_ACCOUNT_CONSENT);
+
+        // When
+        assertThrows(IllegalStateException.class, () -> cardAccountService.getCardAccountDetails(CONSENT_ID, ACCOUNT_ID, REQUEST_URI));
+
+        // Then
+        verify(aisConsentService).releaseConsentUsage(CONSENT_ID, REQUEST_URI, USAGE_RESERVATION);
+    }
+
+    @Test
+    void getAccountDetails_Failure_UsageLimitExceeded() {
+        // Given
+        when(getCardAccountDetailsValidator.validate(any(GetCardAccountDetailsRequestObject.class)))
+            .thenReturn(ValidationResult.valid());
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), eq(false), any(), any()))
+            .thenReturn(Optional.empty());
+
+        // When
+        ResponseObject<Xs2aCardAccountDetailsHolder> actualResponse = cardAccountService.getCardAccountDetails(CONSENT_ID, ACCOUNT_ID, REQUEST_URI);
+
+        // Then
+        assertThatErrorIs(actualResponse, ACCESS_EXCEEDED);
+        verifyNoInteractions(cardAccountSpi);
+        verify(aisConsentService, never()).releaseConsentUsage(any(), any(), any());
     }
 
     @Test
@@ -512,6 +608,7 @@ class CardAccountServiceTest {
     @Test
     void getAccountDetails_Success() {
         // Given
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
         when(getCardAccountDetailsValidator.validate(any(GetCardAccountDetailsRequestObject.class)))
             .thenReturn(ValidationResult.valid());
         when(accountHelperService.findAccountReference(any(), any()))
@@ -541,6 +638,7 @@ class CardAccountServiceTest {
     @Test
     void getAccountDetailsForGlobalConsent_Success() {
         // Given
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
         //global consent
         aisConsent.setConsentData(new AisConsentData(null, AccountAccessType.ALL_ACCOUNTS, null, false));
         ArgumentCaptor<SpiAccountReference> spiAccountReferenceCaptor = ArgumentCaptor.forClass(SpiAccountReference.class);
@@ -16,6 +16,7 @@
 
 package de.adorsys.psd2.xs2a.service.ais;
 
+import de.adorsys.psd2.consent.api.ais.AisConsentUsageReservation;
 import de.adorsys.psd2.core.data.AccountAccess;
 import de.adorsys.psd2.core.data.ais.AisConsent;
 import de.adorsys.psd2.core.data.ais.AisConsentData;
@@ -80,6 +81,7 @@ import static de.adorsys.psd2.xs2a.core.error.ErrorType.AIS_400;
 import static de.adorsys.psd2.xs2a.core.error.MessageErrorCode.*;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -89,6 +91,7 @@ import static org.mockito.Mockito.*;
 class CardTransactionServiceTest {
 
     private static final String ASPSP_ACCOUNT_ID = "3278921mxl-n2131-13nw";
+    private static final AisConsentUsageReservation USAGE_RESERVATION = new AisConsentUsageReservation(true, LocalDate.of(2020, 5, 4));
     private static final boolean WITH_BALANCE = false;
     private static final String CONSENT_ID = "Test consentId";
     private static final String ACCOUNT_ID = "Test accountId";
@@ -193,6 +196,7 @@ class CardTransactionServiceTest {
     @Test
     void getCardTransactionsReportByPeriod_Failure_SpiResponseHasError() {
         // Given
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
         when(getCardTransactionsReportValidator.validate(any(CardTransactionsReportByPeriodObject.class)))
             .thenReturn(ValidationResult.valid());
         when(accountHelperService.findAccountReference(any(), any()))
@@ -216,6 +220,48 @@ class CardTransactionServiceTest {
 
         // Then
         assertThatErrorIs(actualResponse, FORMAT_ERROR);
+        verify(aisConsentService).releaseConsentUsage(CONSENT_ID, REQUEST_URI, USAGE_RESERVATION);
+    }
+
+    @Test
+    void getCardTransactionsReportByPeriod_Failure_SpiThrowsException() {
+        // Given
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
+        when(getCardTransactionsReportValidator.validate(any(CardTransactionsReportByPeriodObject.class)))
+            .thenReturn(ValidationResult.valid());
+        when(accountHelperService.findAccountReference(any(), any()))
+            .thenReturn(spiAccountReference);
+        when(accountHelperService.getSpiContextData())
+            .thenReturn(SPI_CONTEXT_DATA);
+        when(aspspProfileService.isTransactionsWithoutBalancesSupported())
+            .thenReturn(true);
+        when(consentMapper.mapToSpiAccountConsent(any()))
+            .thenReturn(SPI_ACCOUNT_CONSENT);
+        when(cardAccountSpi.requestCardTransactionsForAccount(SPI_CONTEXT_DATA, buildSpiTransactionReportParameters(), spiAccountReference, SPI_ACCOUNT_CONSENT, spiAspspConsentDataProvider))
+            .thenThrow(new IllegalStateException("ASPSP is not available"));
+
+        // When
+        assertThrows(IllegalStateException.class, () -> cardTransactionService.getCardTransactionsReportByPeriod(XS2A_TRANSACTIONS_REPORT_BY_PERIOD_REQUEST));
+
+        // Then
+        verify(aisConsentService).releaseConsentUsage(CONSENT_ID, REQUEST_URI, USAGE_RESERVATION);
+    }
+
+    @Test
+    void getCardTransactionsReportByPeriod_Failure_UsageLimitExceeded() {
+        // Given
+        when(getCardTransactionsReportValidator.validate(any(CardTransactionsReportByPeriodObject.class)))
+            .thenReturn(ValidationResult.valid());
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), eq(false), any(), any()))
+            .thenReturn(Optional.empty());
+
+        // When
+        ResponseObject<Xs2aCardTransactionsReport> actualResponse = cardTransactionService.getCardTransactionsReportByPeriod(XS2A_TRANSACTIONS_REPORT_BY_PERIOD_REQUEST);
+
+        // Then
+        assertThatErrorIs(actualResponse, ACCESS_EXCEEDED);
+        verifyNoInteractions(cardAccountSpi);
+        verify(aisConsentService, never()).releaseConsentUsage(any(), any(), any());
     }
 
     @Test
@@ -236,6 +282,7 @@ class CardTransactionServiceTest {
     @Test
     void getCardTransactionsReportByPeriod_With406ErrorInSpiTransactionReport() {
         // Given
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
         when(getCardTransactionsReportValidator.validate(any(CardTransactionsReportByPeriodObject.class)))
             .thenReturn(ValidationResult.valid());
         when(accountHelperService.findAccountReference(any(), any()))
@@ -259,6 +306,7 @@ class CardTransactionServiceTest {
     @Test
     void getCardTransactionsReportByPeriod_Success() {
         // Given
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
         when(getCardTransactionsReportValidator.validate(any(CardTransactionsReportByPeriodObject.class)))
             .thenReturn(ValidationResult.valid());
         when(accountHelperService.findAccountReference(any(), any()))
@@ -299,6 +347,7 @@ class CardTransactionServiceTest {
     @Test
     void getCardTransactionsReportByPeriod_WhenConsentIsGlobal_Success() {
         // Given
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
         when(getCardTransactionsReportValidator.validate(any(CardTransactionsReportByPeriodObject.class)))
             .thenReturn(ValidationResult.valid());
         when(accountHelperService.findAccountReference(any(), any()))
@@ -343,6 +392,7 @@ class CardTransactionServiceTest {
     @Test
     void getCardTransactionsReportByPeriod_WhenConsentHasNoTransactions_Success() {
         // Given
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
         when(getCardTransactionsReportValidator.validate(any(CardTransactionsReportByPeriodObject.class)))
             .thenReturn(ValidationResult.valid());
         when(accountHelperService.findAccountReference(any(), any()))
@@ -387,6 +437,7 @@ class CardTransactionServiceTest {
     @Test
     void getCardTransactionsReportByPeriod_Success_ShouldRecordEvent() {
         // Given
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
         when(getCardTransactionsReportValidator.validate(any(CardTransactionsReportByPeriodObject.class)))
             .thenReturn(ValidationResult.valid());
         when(accountHelperService.findAccountReference(any(), any()))
@@ -431,6 +482,7 @@ class CardTransactionServiceTest {
     @Test
     void getCardTransactionsReportByPeriod_shouldRecordStatusInLoggingContext() {
         // Given
+        when(aisConsentService.reserveConsentUsage(any(), eq(CONSENT_ID), eq(REQUEST_URI), anyBoolean(), any(), any())).thenReturn(Optional.of(USAGE_RESERVATION));
         when(getCardTransactionsReportValidator.validate(any(CardTransactionsReportByPeriodObject.class)))
             .thenReturn(ValidationResult.valid());
         when(accountHelperService.findAccountReference(any(), any()))
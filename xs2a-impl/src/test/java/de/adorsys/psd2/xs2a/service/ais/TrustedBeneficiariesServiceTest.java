@@ -16,6 +16,7 @@
 
 package de.adorsys.psd2.xs2a.service.ais;
 
+import de.adorsys.psd2.consent.api.ais.AisConsentUsageReservation;
 import de.adorsys.psd2.core.data.ais.AisConsent;
 import de.adorsys.psd2.logger.context.LoggingContextService;
 import de.adorsys.psd2.xs2a.core.domain.ErrorHolder;
@@ -53,20 +54,26 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import static de.adorsys.psd2.xs2a.core.error.ErrorType.AIS_400;
 import static de.adorsys.psd2.xs2a.core.error.ErrorType.AIS_405;
+import static de.adorsys.psd2.xs2a.core.error.ErrorType.AIS_429;
 import static de.adorsys.psd2.xs2a.core.error.MessageErrorCode.CONSENT_UNKNOWN_400;
 import static de.adorsys.psd2.xs2a.core.error.MessageErrorCode.PSU_CREDENTIALS_INVALID;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class TrustedBeneficiariesServiceTest {
     private static final String CONSENT_ID = "consentId";
+    private static final AisConsentUsageReservation USAGE_RESERVATION = new AisConsentUsageReservation(true, LocalDate.of(2020, 5, 4));
     private static final String ACCOUNT_ID = "accountId";
     private static final String REQUEST_URI = "requestUri";
 
@@ -156,6 +163,7 @@ class TrustedBeneficiariesServiceTest {
     @Test
     void getTrustedBeneficiaries_spiError() {
         // Given
+        when(aisConsentService.reserveConsentUsage(null, CONSENT_ID, REQUEST_URI, false, ACCOUNT_ID, null)).thenReturn(Optional.of(USAGE_RESERVATION));
         setUpMocks();
         ResponseObject<Xs2aTrustedBeneficiariesList> expected = getSpiErrorResponse();
         SpiResponse<List<SpiTrustedBeneficiaries>> spiResponse = buildErrorSpiResponse(Collections.singletonList(spiTrustedBeneficiaries));
@@ -175,11 +183,48 @@ class TrustedBeneficiariesServiceTest {
         assertThat(actual).isNotNull();
         assertThat(actual.hasError()).isTrue();
         assertThat(actual.getError()).isEqualTo(expected.getError());
+        verify(aisConsentService).releaseConsentUsage(CONSENT_ID, REQUEST_URI, USAGE_RESERVATION);
+    }
+
+    @Test
+    void getTrustedBeneficiaries_spiThrowsException() {
+        // Given
+        when(aisConsentService.reserveConsentUsage(null, CONSENT_ID, REQUEST_URI, false, ACCOUNT_ID, null)).thenReturn(Optional.of(USAGE_RESERVATION));
+        setUpMocks();
+
+        when(accountSpi.requestTrustedBeneficiariesList(spiContextData, spiAccountReference, spiAccountConsent, spiAspspConsentDataProvider))
+            .thenThrow(new IllegalStateException("ASPSP is not available"));
+
+        // When
+        assertThrows(IllegalStateException.class, () -> trustedBeneficiariesService.getTrustedBeneficiaries(CONSENT_ID, ACCOUNT_ID, REQUEST_URI));
+
+        // Then
+        verify(aisConsentService).releaseConsentUsage(CONSENT_ID, REQUEST_URI, USAGE_RESERVATION);
+    }
+
+    @Test
+    void getTrustedBeneficiaries_usageLimitExceeded() {
+        // Given
+        GetTrustedBeneficiariesListConsentObject validatorObject = new GetTrustedBeneficiariesListConsentObject(aisConsent, ACCOUNT_ID, REQUEST_URI);
+        when(getTrustedBeneficiariesListValidator.validate(validatorObject)).thenReturn(ValidationResult.valid());
+        when(aisConsentService.reserveConsentUsage(null, CONSENT_ID, REQUEST_URI, false, ACCOUNT_ID, null)).thenReturn(Optional.empty());
+
+        // When
+        ResponseObject<Xs2aTrustedBeneficiariesList> actual =
+            trustedBeneficiariesService.getTrustedBeneficiaries(CONSENT_ID, ACCOUNT_ID, REQUEST_URI);
+
+        // Then
+        assertThat(actual).isNotNull();
+        assertThat(actual.hasError()).isTrue();
+        assertThat(actual.getError().getErrorType()).isEqualTo(AIS_429);
+        assertThat(actual.getError().getTppMessage().getMessageErrorCode()).isEqualTo(MessageErrorCode.ACCESS_EXCEEDED);
+        verifyNoInteractions(accountSpi);
     }
 
     @Test
     void getTrustedBeneficiaries_success() {
         // Given
+        when(aisConsentService.reserveConsentUsage(null, CONSENT_ID, REQUEST_URI, false, ACCOUNT_ID, null)).thenReturn(Optional.of(USAGE_RESERVATION));
         setUpMocks();
         List<SpiTrustedBeneficiaries> beneficiaries = Collections.singletonList(spiTrustedBeneficiaries);
         SpiResponse<List<SpiTrustedBeneficiaries>> spiResponse = buildSuccessSpiResponse(beneficiaries);
@@ -22,6 +22,7 @@ import de.adorsys.psd2.consent.api.CmsError;
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.WrongChecksumException;
 import de.adorsys.psd2.consent.api.ais.AisConsentActionRequest;
+import de.adorsys.psd2.consent.api.ais.AisConsentUsageReservation;
 import de.adorsys.psd2.consent.api.ais.CmsConsent;
 import de.adorsys.psd2.consent.api.authorisation.UpdateAuthorisationRequest;
 import de.adorsys.psd2.consent.api.consent.CmsCreateConsentResponse;
@@ -54,6 +55,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDate;
 import java.util.Collections;
 import java.util.Optional;
 
@@ -63,6 +65,7 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class Xs2aAisConsentServiceTest {
     private static final String CONSENT_ID = "f2c43cad-6811-4cb6-bfce-31050095ed5d";
+    private static final AisConsentUsageReservation USAGE_RESERVATION = new AisConsentUsageReservation(true, LocalDate.of(2020, 5, 4));
     private static final String AUTHORISATION_ID = "a01562ea-19ff-4b5a-8188-c45d85bfa20a";
     private static final String TPP_ID = "Test TppId";
     private static final String REQUEST_URI = "request/uri";
@@ -255,9 +258,11 @@ class Xs2aAisConsentServiceTest {
         // Given
         ActionStatus actionStatus = ActionStatus.SUCCESS;
         ArgumentCaptor<AisConsentActionRequest> argumentCaptor = ArgumentCaptor.forClass(AisConsentActionRequest.class);
+        when(aisConsentServiceEncrypted.checkConsentAndSaveActionLog(any(AisConsentActionRequest.class)))
+            .thenReturn(CmsResponse.<CmsResponse.VoidResponse>builder().payload(CmsResponse.voidResponse()).build());
 
         // When
-        xs2aAisConsentService.consentActionLog(TPP_ID, CONSENT_ID, actionStatus, REQUEST_URI, true, null, null);
+        xs2aAisConsentService.consentActionLog(TPP_ID, CONSENT_ID, actionStatus, REQUEST_URI, USAGE_RESERVATION, null, null);
 
         // Then
         verify(aisConsentServiceEncrypted).checkConsentAndSaveActionLog(argumentCaptor.capture());
@@ -268,6 +273,119 @@ class Xs2aAisConsentServiceTest {
         assertThat(aisConsentActionRequest.getActionStatus()).isEqualTo(actionStatus);
         assertThat(aisConsentActionRequest.getRequestUri()).isEqualTo(REQUEST_URI);
         assertThat(aisConsentActionRequest.isUpdateUsage()).isTrue();
+        assertThat(aisConsentActionRequest.isUsageReserved()).isTrue();
+    }
+
+    @Test
+    void consentActionLog_actionLoggedWithReservation_shouldNotCallCms() throws WrongChecksumException {
+        // Given
+        AisConsentUsageReservation usageReservation = new AisConsentUsageReservation(true, USAGE_RESERVATION.getUsageDate(), true);
+
+        // When
+        xs2aAisConsentService.consentActionLog(TPP_ID, CONSENT_ID, ActionStatus.SUCCESS, REQUEST_URI, usageReservation, null, null);
+
+        // Then
+        verify(aisConsentServiceEncrypted, never()).checkConsentAndSaveActionLog(any());
+    }
+
+    @Test
+    void consentActionLog_notReserved_shouldNotUpdateUsage() throws WrongChecksumException {
+        // Given
+        ArgumentCaptor<AisConsentActionRequest> argumentCaptor = ArgumentCaptor.forClass(AisConsentActionRequest.class);
+        when(aisConsentServiceEncrypted.checkConsentAndSaveActionLog(any(AisConsentActionRequest.class)))
+            .thenReturn(CmsResponse.<CmsResponse.VoidResponse>builder().payload(CmsResponse.voidResponse()).build());
+
+        // When
+        xs2aAisConsentService.consentActionLog(TPP_ID, CONSENT_ID, ActionStatus.SUCCESS, REQUEST_URI, AisConsentUsageReservation.notReserved(), null, null);
+
+        // Then
+        verify(aisConsentServiceEncrypted).checkConsentAndSaveActionLog(argumentCaptor.capture());
+        assertThat(argumentCaptor.getValue().isUpdateUsage()).isFalse();
+        assertThat(argumentCaptor.getValue().isUsageReserved()).isFalse();
+    }
+
+    @Test
+    void reserveConsentUsage() {
+        // Given
+        ArgumentCaptor<AisConsentActionRequest> argumentCaptor = ArgumentCaptor.forClass(AisConsentActionRequest.class);
+        when(aisConsentServiceEncrypted.reserveConsentUsage(any(AisConsentActionRequest.class)))
+            .thenReturn(CmsResponse.<AisConsentUsageReservation>builder().payload(USAGE_RESERVATION).build());
+
+        // When
+        Optional<AisConsentUsageReservation> actual = xs2aAisConsentService.reserveConsentUsage(TPP_ID, CONSENT_ID, REQUEST_URI, true, null, null);
+
+        // Then
+        assertThat(actual).contains(USAGE_RESERVATION);
+        verify(aisConsentServiceEncrypted).reserveConsentUsage(argumentCaptor.capture());
+
+        AisConsentActionRequest aisConsentActionRequest = argumentCaptor.getValue();
+        assertThat(aisConsentActionRequest.getTppId()).isEqualTo(TPP_ID);
+        assertThat(aisConsentActionRequest.getConsentId()).isEqualTo(CONSENT_ID);
+        assertThat(aisConsentActionRequest.getActionStatus()).isEqualTo(ActionStatus.SUCCESS);
+        assertThat(aisConsentActionRequest.getRequestUri()).isEqualTo(REQUEST_URI);
+        assertThat(aisConsentActionRequest.isUpdateUsage()).isTrue();
+    }
+
+    @Test
+    void reserveConsentUsage_frequencyPerDayExceeded() {
+        // Given
+        when(aisConsentServiceEncrypted.reserveConsentUsage(any(AisConsentActionRequest.class)))
+            .thenReturn(CmsResponse.<AisConsentUsageReservation>builder().payload(AisConsentUsageReservation.notReserved()).build());
+
+        // When
+        Optional<AisConsentUsageReservation> actual = xs2aAisConsentService.reserveConsentUsage(TPP_ID, CONSENT_ID, REQUEST_URI, true, null, null);
+
+        // Then
+        assertThat(actual).isEmpty();
+    }
+
+    @Test
+    void reserveConsentUsage_cmsError() {
+        // Given
+        when(aisConsentServiceEncrypted.reserveConsentUsage(any(AisConsentActionRequest.class)))
+            .thenReturn(CmsResponse.<AisConsentUsageReservation>builder().error(CmsError.TECHNICAL_ERROR).build());
+
+        // When
+        Optional<AisConsentUsageReservation> actual = xs2aAisConsentService.reserveConsentUsage(TPP_ID, CONSENT_ID, REQUEST_URI, true, null, null);
+
+        // Then
+        assertThat(actual).isEmpty();
+    }
+
+    @Test
+    void reserveConsentUsage_noUpdateUsage() {
+        // When
+        Optional<AisConsentUsageReservation> actual = xs2aAisConsentService.reserveConsentUsage(TPP_ID, CONSENT_ID, REQUEST_URI, false, null, null);
+
+        // Then
+        assertThat(actual).contains(AisConsentUsageReservation.notReserved());
+        verify(aisConsentServiceEncrypted, never()).reserveConsentUsage(any());
+    }
+
+    @Test
+    void releaseConsentUsage() {
+        // Given
+        ArgumentCaptor<AisConsentActionRequest> argumentCaptor = ArgumentCaptor.forClass(AisConsentActionRequest.class);
+        when(aisConsentServiceEncrypted.releaseConsentUsage(any(AisConsentActionRequest.class)))
+            .thenReturn(CmsResponse.<CmsResponse.VoidResponse>builder().payload(CmsResponse.voidResponse()).build());
+
+        // When
+        xs2aAisConsentService.releaseConsentUsage(CONSENT_ID, REQUEST_URI, USAGE_RESERVATION);
+
+        // Then
+        verify(aisConsentServiceEncrypted).releaseConsentUsage(argumentCaptor.capture());
+        assertThat(argumentCaptor.getValue().getConsentId()).isEqualTo(CONSENT_ID);
+        assertThat(argumentCaptor.getValue().getRequestUri()).isEqualTo(REQUEST_URI);
+        assertThat(argumentCaptor.getValue().getUsageDate()).isEqualTo(USAGE_RESERVATION.getUsageDate());
+    }
+
+    @Test
+    void releaseConsentUsage_notReserved() {
+        // When
+        xs2aAisConsentService.releaseConsentUsage(CONSENT_ID, REQUEST_URI, AisConsentUsageReservation.notReserved());
+
+        // Then
+        verify(aisConsentServiceEncrypted, never()).releaseConsentUsage(any());
     }
 
     @Test
@@ -279,7 +397,7 @@ class Xs2aAisConsentServiceTest {
             .thenThrow(WrongChecksumException.class);
 
         // When
-        xs2aAisConsentService.consentActionLog(TPP_ID, CONSENT_ID, actionStatus, REQUEST_URI, true, null, null);
+        xs2aAisConsentService.consentActionLog(TPP_ID, CONSENT_ID, actionStatus, REQUEST_URI, USAGE_RESERVATION, null, null);
 
         // Then
         verify(aisConsentServiceEncrypted).checkConsentAndSaveActionLog(argumentCaptor.capture());
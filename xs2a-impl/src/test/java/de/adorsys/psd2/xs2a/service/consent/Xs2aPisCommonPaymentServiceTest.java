@@ -19,6 +19,8 @@ package de.adorsys.psd2.xs2a.service.consent;
 import de.adorsys.psd2.consent.api.CmsError;
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentResponse;
+import de.adorsys.psd2.consent.api.pis.InitiatePisCommonPaymentRequest;
+import de.adorsys.psd2.consent.api.pis.InitiatePisCommonPaymentResponse;
 import de.adorsys.psd2.consent.api.pis.PisCommonPaymentResponse;
 import de.adorsys.psd2.consent.api.pis.proto.PisPaymentInfo;
 import de.adorsys.psd2.consent.api.service.PisCommonPaymentServiceEncrypted;
@@ -84,6 +86,35 @@ class Xs2aPisCommonPaymentServiceTest {
         assertThat(actualResponse).isNull();
     }
 
+    @Test
+    void initiateCommonPayment_success() {
+        //Given
+        InitiatePisCommonPaymentRequest request = new InitiatePisCommonPaymentRequest(PIS_PAYMENT_INFO, PAYMENT_DATA, null);
+        InitiatePisCommonPaymentResponse response = new InitiatePisCommonPaymentResponse(CREATE_PIS_COMMON_PAYMENT_RESPONSE, null);
+        when(pisCommonPaymentServiceEncrypted.initiateCommonPayment(request))
+            .thenReturn(CmsResponse.<InitiatePisCommonPaymentResponse>builder().payload(response).build());
+
+        //When
+        InitiatePisCommonPaymentResponse actualResponse = xs2aPisCommonPaymentService.initiateCommonPayment(request);
+
+        //Then
+        assertThat(actualResponse).isEqualTo(response);
+    }
+
+    @Test
+    void initiateCommonPayment_failed() {
+        //Given
+        InitiatePisCommonPaymentRequest request = new InitiatePisCommonPaymentRequest(PIS_PAYMENT_INFO, PAYMENT_DATA, null);
+        when(pisCommonPaymentServiceEncrypted.initiateCommonPayment(request))
+            .thenReturn(CmsResponse.<InitiatePisCommonPaymentResponse>builder().error(CmsError.TECHNICAL_ERROR).build());
+
+        //When
+        InitiatePisCommonPaymentResponse actualResponse = xs2aPisCommonPaymentService.initiateCommonPayment(request);
+
+        //Then
+        assertThat(actualResponse).isNull();
+    }
+
     @Test
     void getPisCommonPaymentById_success() {
         //Given
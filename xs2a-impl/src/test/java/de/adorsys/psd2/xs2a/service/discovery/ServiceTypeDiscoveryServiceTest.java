@@ -17,6 +17,8 @@
 package de.adorsys.psd2.xs2a.service.discovery;
 
 import de.adorsys.psd2.xs2a.core.mapper.ServiceType;
+import de.adorsys.psd2.xs2a.web.Xs2aEndpoint;
+import de.adorsys.psd2.xs2a.web.Xs2aEndpointChecker;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -41,6 +43,16 @@ class ServiceTypeDiscoveryServiceTest {
         assertEquals("AIS", result.name());
     }
 
+    @Test
+    void getServiceType_resolvedEndpoint() {
+        request = new MockHttpServletRequest("GET", "/v1/consents");
+        request.setAttribute(Xs2aEndpointChecker.XS2A_ENDPOINT_ATTRIBUTE, Xs2aEndpoint.SIGNING_BASKETS);
+        cut = new ServiceTypeDiscoveryService(request);
+        ServiceType result = cut.getServiceType();
+
+        assertEquals(ServiceType.SB, result);
+    }
+
     @Test
     void getServiceTypeWithContextPath() {
         request = new MockHttpServletRequest("GET", "/xs2a/v1/consents");
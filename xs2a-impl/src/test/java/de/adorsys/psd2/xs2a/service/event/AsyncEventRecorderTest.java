@@ -0,0 +1,419 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.service.event;
+
+import de.adorsys.psd2.event.core.model.EventOrigin;
+import de.adorsys.psd2.event.core.model.EventType;
+import de.adorsys.psd2.event.service.Xs2aEventServiceEncrypted;
+import de.adorsys.psd2.event.service.model.EventBO;
+import de.adorsys.psd2.mapper.Xs2aObjectMapper;
+import de.adorsys.psd2.mapper.config.ObjectMapperConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncEventRecorderTest {
+    private static final long VERIFY_TIMEOUT_MS = 2000;
+    private static final long BLOCK_TIMEOUT_MS = 100;
+    private static final UUID X_REQUEST_ID = UUID.fromString("0d7f200e-09b4-46f5-85bd-f4ea89fccace");
+    private static final UUID ANOTHER_X_REQUEST_ID = UUID.fromString("7c4a0bc3-2a6e-4f57-9e4a-2a1f2c0c1b7d");
+    private static final UUID THIRD_X_REQUEST_ID = UUID.fromString("b2f6b1a4-5c1e-4c55-8f0a-9d3e6f1a2b3c");
+
+    @Mock
+    private Xs2aEventServiceEncrypted eventService;
+
+    @TempDir
+    Path tempDir;
+
+    private final Xs2aObjectMapper xs2aObjectMapper = new ObjectMapperConfig().xs2aObjectMapper();
+    private AsyncEventRecorder asyncEventRecorder;
+
+    @BeforeEach
+    void setUp() {
+        asyncEventRecorder = new AsyncEventRecorder(eventService, xs2aObjectMapper);
+        ReflectionTestUtils.setField(asyncEventRecorder, "asyncEnabled", true);
+        ReflectionTestUtils.setField(asyncEventRecorder, "queueCapacity", 10);
+        ReflectionTestUtils.setField(asyncEventRecorder, "batchSize", 5);
+        ReflectionTestUtils.setField(asyncEventRecorder, "flushIntervalMs", 10L);
+        ReflectionTestUtils.setField(asyncEventRecorder, "overflowStrategy", AsyncEventRecorder.OverflowStrategy.BLOCK);
+        ReflectionTestUtils.setField(asyncEventRecorder, "blockTimeoutMs", BLOCK_TIMEOUT_MS);
+        ReflectionTestUtils.setField(asyncEventRecorder, "spillFile", tempDir.resolve("events.spill").toString());
+        ReflectionTestUtils.setField(asyncEventRecorder, "shutdownTimeoutMs", 5000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        asyncEventRecorder.shutdown();
+    }
+
+    @Test
+    void recordEvent_asyncDisabled_recordedSynchronously() {
+        // Given
+        ReflectionTestUtils.setField(asyncEventRecorder, "asyncEnabled", false);
+        asyncEventRecorder.start();
+        EventBO event = buildEvent();
+        when(eventService.recordEvent(event)).thenReturn(true);
+
+        // When
+        boolean actual = asyncEventRecorder.recordEvent(event);
+
+        // Then
+        assertTrue(actual);
+        verify(eventService).recordEvent(event);
+        verify(eventService, never()).recordEvents(anyList());
+    }
+
+    @Test
+    void recordEvent_asyncEnabled_recordedInBatches() {
+        // Given
+        asyncEventRecorder.start();
+        when(eventService.recordEvents(anyList())).thenReturn(true);
+
+        // When
+        for (int i = 0; i < 7; i++) {
+            assertTrue(asyncEventRecorder.recordEvent(buildEvent()));
+        }
+        asyncEventRecorder.shutdown();
+
+        // Then
+        ArgumentCaptor<List<EventBO>> batchCaptor = ArgumentCaptor.forClass(List.class);
+        verify(eventService, atLeastOnce()).recordEvents(batchCaptor.capture());
+        assertEquals(7, batchCaptor.getAllValues().stream().mapToInt(List::size).sum());
+        assertTrue(batchCaptor.getAllValues().stream().allMatch(batch -> batch.size() <= 5));
+        verify(eventService, never()).recordEvent(any());
+    }
+
+    @Test
+    void recordEvent_queueFull_dropStrategy() throws InterruptedException {
+        // Given
+        ReflectionTestUtils.setField(asyncEventRecorder, "queueCapacity", 1);
+        ReflectionTestUtils.setField(asyncEventRecorder, "batchSize", 1);
+        ReflectionTestUtils.setField(asyncEventRecorder, "overflowStrategy", AsyncEventRecorder.OverflowStrategy.DROP);
+        CountDownLatch writerBlocked = new CountDownLatch(1);
+        CountDownLatch releaseWriter = new CountDownLatch(1);
+        when(eventService.recordEvents(anyList())).thenAnswer(invocation -> {
+            writerBlocked.countDown();
+            releaseWriter.await(VERIFY_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            return true;
+        });
+        asyncEventRecorder.start();
+        asyncEventRecorder.recordEvent(buildEvent());
+        assertTrue(writerBlocked.await(VERIFY_TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        asyncEventRecorder.recordEvent(buildEvent());
+
+        // When
+        boolean actual = asyncEventRecorder.recordEvent(buildEvent());
+        releaseWriter.countDown();
+
+        // Then
+        assertFalse(actual);
+        assertEquals(1, asyncEventRecorder.getDroppedCount());
+    }
+
+    @Test
+    void recordEvent_queueFullAndCmsStalled_blockStrategy_droppedAfterTimeout() throws InterruptedException {
+        // Given
+        ReflectionTestUtils.setField(asyncEventRecorder, "spillFile", "");
+        CountDownLatch releaseWriter = stallWriterWithFullQueue();
+
+        // When
+        long start = System.nanoTime();
+        boolean actual = asyncEventRecorder.recordEvent(buildEvent());
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        releaseWriter.countDown();
+
+        // Then
+        assertFalse(actual);
+        assertTrue(elapsedMs >= BLOCK_TIMEOUT_MS && elapsedMs < VERIFY_TIMEOUT_MS, "Event was recorded in " + elapsedMs + " ms");
+        assertEquals(1, asyncEventRecorder.getDroppedCount());
+    }
+
+    @Test
+    void recordEvent_queueFullAndCmsStalled_blockStrategy_spilledAfterTimeout() throws InterruptedException {
+        // Given
+        CountDownLatch releaseWriter = stallWriterWithFullQueue();
+
+        // When
+        boolean actual = asyncEventRecorder.recordEvent(buildEvent());
+        releaseWriter.countDown();
+
+        // Then
+        assertTrue(actual);
+        assertEquals(1, asyncEventRecorder.getSpilledCount());
+        assertEquals(0, asyncEventRecorder.getDroppedCount());
+        assertTrue(Files.exists(tempDir.resolve("events.spill")));
+    }
+
+    @Test
+    void recordEvent_queueFull_spillStrategy_replayedLater() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(asyncEventRecorder, "queueCapacity", 1);
+        ReflectionTestUtils.setField(asyncEventRecorder, "batchSize", 1);
+        ReflectionTestUtils.setField(asyncEventRecorder, "overflowStrategy", AsyncEventRecorder.OverflowStrategy.SPILL);
+        CountDownLatch writerBlocked = new CountDownLatch(1);
+        CountDownLatch releaseWriter = new CountDownLatch(1);
+        when(eventService.recordEvents(anyList())).thenAnswer(invocation -> {
+            writerBlocked.countDown();
+            releaseWriter.await(VERIFY_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            return true;
+        });
+        asyncEventRecorder.start();
+        asyncEventRecorder.recordEvent(buildEvent());
+        assertTrue(writerBlocked.await(VERIFY_TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        asyncEventRecorder.recordEvent(buildEvent());
+
+        // When
+        boolean actual = asyncEventRecorder.recordEvent(buildEvent());
+
+        // Then
+        assertTrue(actual);
+        assertEquals(1, asyncEventRecorder.getSpilledCount());
+        assertTrue(Files.exists(tempDir.resolve("events.spill")));
+        assertEquals(PosixFilePermissions.fromString("rw-------"), Files.getPosixFilePermissions(tempDir.resolve("events.spill")));
+
+        releaseWriter.countDown();
+        ArgumentCaptor<List<EventBO>> batchCaptor = ArgumentCaptor.forClass(List.class);
+        verify(eventService, timeout(VERIFY_TIMEOUT_MS).times(3)).recordEvents(batchCaptor.capture());
+        EventBO replayedEvent = batchCaptor.getAllValues().get(2).get(0);
+        assertEquals(X_REQUEST_ID, replayedEvent.getXRequestId());
+        assertEquals(EventType.PAYMENT_INITIATION_REQUEST_RECEIVED, replayedEvent.getEventType());
+    }
+
+    @Test
+    void recordEvent_replayFailedPartway_recordedEventsNotReplayedAgain() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(asyncEventRecorder, "batchSize", 1);
+        ReflectionTestUtils.setField(asyncEventRecorder, "overflowStrategy", AsyncEventRecorder.OverflowStrategy.SPILL);
+        Path spillFile = tempDir.resolve("events.spill");
+        String spilledEvents = Arrays.asList(X_REQUEST_ID, ANOTHER_X_REQUEST_ID, THIRD_X_REQUEST_ID).stream()
+                                   .map(this::writeSpilledEvent)
+                                   .collect(Collectors.joining(System.lineSeparator()));
+        Files.write(spillFile, spilledEvents.getBytes(StandardCharsets.UTF_8));
+        when(eventService.recordEvents(anyList()))
+            .thenReturn(true)
+            .thenThrow(new RuntimeException("CMS is not available"))
+            .thenReturn(true);
+
+        // When
+        asyncEventRecorder.start();
+
+        // Then
+        ArgumentCaptor<List<EventBO>> batchCaptor = ArgumentCaptor.forClass(List.class);
+        verify(eventService, timeout(VERIFY_TIMEOUT_MS).times(4)).recordEvents(batchCaptor.capture());
+        asyncEventRecorder.shutdown();
+        List<UUID> recordedRequestIds = batchCaptor.getAllValues().stream()
+                                            .map(batch -> batch.get(0).getXRequestId())
+                                            .collect(Collectors.toList());
+        assertEquals(Arrays.asList(X_REQUEST_ID, ANOTHER_X_REQUEST_ID, ANOTHER_X_REQUEST_ID, THIRD_X_REQUEST_ID), recordedRequestIds);
+        assertFalse(Files.exists(tempDir.resolve("events.spill.replay")));
+        assertFalse(Files.exists(tempDir.resolve("events.spill.replay.offset")));
+        assertEquals(0, asyncEventRecorder.getDroppedCount());
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = AsyncEventRecorder.OverflowStrategy.class, names = {"BLOCK", "DROP"})
+    void recordEvent_recordingFailed_batchRetried(AsyncEventRecorder.OverflowStrategy overflowStrategy) {
+        // Given
+        ReflectionTestUtils.setField(asyncEventRecorder, "overflowStrategy", overflowStrategy);
+        when(eventService.recordEvents(anyList()))
+            .thenThrow(new RuntimeException("CMS is not available"))
+            .thenReturn(true);
+        asyncEventRecorder.start();
+        EventBO event = buildEvent();
+
+        // When
+        asyncEventRecorder.recordEvent(event);
+
+        // Then
+        ArgumentCaptor<List<EventBO>> batchCaptor = ArgumentCaptor.forClass(List.class);
+        verify(eventService, timeout(VERIFY_TIMEOUT_MS).times(2)).recordEvents(batchCaptor.capture());
+        assertTrue(batchCaptor.getAllValues().stream().allMatch(batch -> batch.equals(List.of(event))));
+        assertEquals(0, asyncEventRecorder.getDroppedCount());
+    }
+
+    @Test
+    void recordEvent_recordingNotConfirmed_batchRetried() {
+        // Given
+        when(eventService.recordEvents(anyList()))
+            .thenReturn(false)
+            .thenReturn(true);
+        asyncEventRecorder.start();
+        EventBO event = buildEvent();
+
+        // When
+        asyncEventRecorder.recordEvent(event);
+
+        // Then
+        ArgumentCaptor<List<EventBO>> batchCaptor = ArgumentCaptor.forClass(List.class);
+        verify(eventService, timeout(VERIFY_TIMEOUT_MS).times(2)).recordEvents(batchCaptor.capture());
+        assertTrue(batchCaptor.getAllValues().stream().allMatch(batch -> batch.equals(List.of(event))));
+        assertEquals(0, asyncEventRecorder.getDroppedCount());
+    }
+
+    @Test
+    void recordEvent_replayNotConfirmed_spilledEventsKeptAndReplayedAgain() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(asyncEventRecorder, "overflowStrategy", AsyncEventRecorder.OverflowStrategy.SPILL);
+        Files.write(tempDir.resolve("events.spill"), writeSpilledEvent(X_REQUEST_ID).getBytes(StandardCharsets.UTF_8));
+        when(eventService.recordEvents(anyList()))
+            .thenReturn(false)
+            .thenReturn(true);
+
+        // When
+        asyncEventRecorder.start();
+
+        // Then
+        ArgumentCaptor<List<EventBO>> batchCaptor = ArgumentCaptor.forClass(List.class);
+        verify(eventService, timeout(VERIFY_TIMEOUT_MS).times(2)).recordEvents(batchCaptor.capture());
+        asyncEventRecorder.shutdown();
+        assertTrue(batchCaptor.getAllValues().stream()
+                       .allMatch(batch -> batch.size() == 1 && X_REQUEST_ID.equals(batch.get(0).getXRequestId())));
+        assertFalse(Files.exists(tempDir.resolve("events.spill.replay")));
+    }
+
+    @Test
+    void recordEvent_concurrentShutdown_noEventLost() throws InterruptedException {
+        // Given
+        ReflectionTestUtils.setField(asyncEventRecorder, "queueCapacity", 10000);
+        AtomicInteger recordedCount = new AtomicInteger();
+        when(eventService.recordEvents(anyList())).thenAnswer(invocation -> {
+            recordedCount.addAndGet(invocation.<List<EventBO>>getArgument(0).size());
+            return true;
+        });
+        // Events recorded after shutdown are recorded synchronously, depending on the interleaving
+        lenient().when(eventService.recordEvent(any())).thenAnswer(invocation -> {
+            recordedCount.incrementAndGet();
+            return true;
+        });
+        asyncEventRecorder.start();
+        int threads = 4;
+        int eventsPerThread = 500;
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        CountDownLatch started = new CountDownLatch(threads);
+
+        // When
+        for (int i = 0; i < threads; i++) {
+            executorService.execute(() -> {
+                started.countDown();
+                for (int j = 0; j < eventsPerThread; j++) {
+                    asyncEventRecorder.recordEvent(buildEvent());
+                }
+            });
+        }
+        assertTrue(started.await(VERIFY_TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        asyncEventRecorder.shutdown();
+        executorService.shutdown();
+        assertTrue(executorService.awaitTermination(VERIFY_TIMEOUT_MS, TimeUnit.MILLISECONDS));
+
+        // Then
+        assertEquals(threads * eventsPerThread, recordedCount.get());
+        assertEquals(0, asyncEventRecorder.getQueueSize());
+    }
+
+    @Test
+    void start_spillStrategyWithoutSpillFile_throwsException() {
+        // Given
+        ReflectionTestUtils.setField(asyncEventRecorder, "overflowStrategy", AsyncEventRecorder.OverflowStrategy.SPILL);
+        ReflectionTestUtils.setField(asyncEventRecorder, "spillFile", "");
+
+        // When
+        assertThrows(IllegalStateException.class, () -> asyncEventRecorder.start());
+    }
+
+    @Test
+    void start_spillFileInSharedDirectory_throwsException() throws Exception {
+        // Given
+        Path sharedDirectory = Files.createDirectory(tempDir.resolve("shared"));
+        Files.setPosixFilePermissions(sharedDirectory, PosixFilePermissions.fromString("rwxrwxrwx"));
+        ReflectionTestUtils.setField(asyncEventRecorder, "overflowStrategy", AsyncEventRecorder.OverflowStrategy.SPILL);
+        ReflectionTestUtils.setField(asyncEventRecorder, "spillFile", sharedDirectory.resolve("events.spill").toString());
+
+        // When
+        assertThrows(IllegalStateException.class, () -> asyncEventRecorder.start());
+    }
+
+    /**
+     * Starts the writer, which hangs on recording of the first event, and fills the queue
+     *
+     * @return latch releasing the writer
+     */
+    private CountDownLatch stallWriterWithFullQueue() throws InterruptedException {
+        ReflectionTestUtils.setField(asyncEventRecorder, "queueCapacity", 1);
+        ReflectionTestUtils.setField(asyncEventRecorder, "batchSize", 1);
+        CountDownLatch writerBlocked = new CountDownLatch(1);
+        CountDownLatch releaseWriter = new CountDownLatch(1);
+        when(eventService.recordEvents(anyList())).thenAnswer(invocation -> {
+            writerBlocked.countDown();
+            releaseWriter.await(VERIFY_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            return true;
+        });
+        asyncEventRecorder.start();
+        asyncEventRecorder.recordEvent(buildEvent());
+        assertTrue(writerBlocked.await(VERIFY_TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        asyncEventRecorder.recordEvent(buildEvent());
+        return releaseWriter;
+    }
+
+    private String writeSpilledEvent(UUID xRequestId) {
+        try {
+            return xs2aObjectMapper.writeValueAsString(buildEvent(xRequestId));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private EventBO buildEvent() {
+        return buildEvent(X_REQUEST_ID);
+    }
+
+    private EventBO buildEvent(UUID xRequestId) {
+        return EventBO.builder()
+                   .timestamp(OffsetDateTime.now())
+                   .eventOrigin(EventOrigin.TPP)
+                   .eventType(EventType.PAYMENT_INITIATION_REQUEST_RECEIVED)
+                   .xRequestId(xRequestId)
+                   .build();
+    }
+}
@@ -18,7 +18,6 @@ package de.adorsys.psd2.xs2a.service.event;
 
 import de.adorsys.psd2.event.core.model.EventOrigin;
 import de.adorsys.psd2.event.core.model.EventType;
-import de.adorsys.psd2.event.service.Xs2aEventServiceEncrypted;
 import de.adorsys.psd2.event.service.model.EventBO;
 import de.adorsys.psd2.event.service.model.PsuIdDataBO;
 import de.adorsys.psd2.xs2a.core.psu.PsuIdData;
@@ -60,7 +59,7 @@ class Xs2aEventServiceTest {
     @Mock
     private TppService tppService;
     @Mock
-    private Xs2aEventServiceEncrypted eventService;
+    private AsyncEventRecorder eventRecorder;
     @Mock
     private RequestProviderService requestProviderService;
     @Spy
@@ -77,7 +76,7 @@ class Xs2aEventServiceTest {
     void setUp() {
         psuIdData = jsonReader.getObjectFromFile("json/service/event/psu-id-data.json", PsuIdDataBO.class);
 
-        when(eventService.recordEvent(eventCaptor.capture())).thenReturn(true);
+        when(eventRecorder.recordEvent(eventCaptor.capture())).thenReturn(true);
         when(requestProviderService.getRequestData()).thenReturn(buildRequestData());
         when(tppService.getTppInfo()).thenReturn(buildTppInfo());
     }
@@ -90,7 +89,7 @@ class Xs2aEventServiceTest {
         xs2aEventService.recordConsentTppRequest(CONSENT_ID, EVENT_TYPE, "body");
 
         // Then
-        verify(eventService, times(1)).recordEvent(any(EventBO.class));
+        verify(eventRecorder, times(1)).recordEvent(any(EventBO.class));
         EventBO capturedEvent = eventCaptor.getValue();
         assertThat(capturedEvent.getTimestamp()).isNotNull();
         assertThat(capturedEvent.getEventOrigin()).isEqualTo(EventOrigin.TPP);
@@ -111,7 +110,7 @@ class Xs2aEventServiceTest {
         xs2aEventService.recordConsentTppRequest(CONSENT_ID, EVENT_TYPE);
 
         // Then
-        verify(eventService, times(1)).recordEvent(any(EventBO.class));
+        verify(eventRecorder, times(1)).recordEvent(any(EventBO.class));
         EventBO capturedEvent = eventCaptor.getValue();
         assertThat(capturedEvent.getTimestamp()).isNotNull();
         assertThat(capturedEvent.getEventOrigin()).isEqualTo(EventOrigin.TPP);
@@ -132,7 +131,7 @@ class Xs2aEventServiceTest {
         xs2aEventService.recordPisTppRequest(PAYMENT_ID, EVENT_TYPE, BODY);
 
         // Then
-        verify(eventService, times(1)).recordEvent(any(EventBO.class));
+        verify(eventRecorder, times(1)).recordEvent(any(EventBO.class));
         EventBO capturedEvent = eventCaptor.getValue();
         assertThat(capturedEvent.getTimestamp()).isNotNull();
         assertThat(capturedEvent.getEventOrigin()).isEqualTo(EventOrigin.TPP);
@@ -153,7 +152,7 @@ class Xs2aEventServiceTest {
         xs2aEventService.recordPisTppRequest(PAYMENT_ID, EVENT_TYPE);
 
         // Then
-        verify(eventService, times(1)).recordEvent(any(EventBO.class));
+        verify(eventRecorder, times(1)).recordEvent(any(EventBO.class));
         EventBO capturedEvent = eventCaptor.getValue();
         assertThat(capturedEvent.getTimestamp()).isNotNull();
         assertThat(capturedEvent.getEventOrigin()).isEqualTo(EventOrigin.TPP);
@@ -174,7 +173,7 @@ class Xs2aEventServiceTest {
         xs2aEventService.recordTppRequest(EVENT_TYPE, BODY);
 
         // Then
-        verify(eventService, times(1)).recordEvent(any(EventBO.class));
+        verify(eventRecorder, times(1)).recordEvent(any(EventBO.class));
         EventBO capturedEvent = eventCaptor.getValue();
         assertThat(capturedEvent.getTimestamp()).isNotNull();
         assertThat(capturedEvent.getEventOrigin()).isEqualTo(EventOrigin.TPP);
@@ -195,7 +194,7 @@ class Xs2aEventServiceTest {
         xs2aEventService.recordTppRequest(EVENT_TYPE);
 
         // Then
-        verify(eventService, times(1)).recordEvent(any(EventBO.class));
+        verify(eventRecorder, times(1)).recordEvent(any(EventBO.class));
         EventBO capturedEvent = eventCaptor.getValue();
         assertThat(capturedEvent.getTimestamp()).isNotNull();
         assertThat(capturedEvent.getEventOrigin()).isEqualTo(EventOrigin.TPP);
@@ -20,6 +20,7 @@ import de.adorsys.psd2.aspsp.profile.domain.AspspSettings;
 import de.adorsys.psd2.core.data.AccountAccess;
 import de.adorsys.psd2.core.data.ais.AisConsent;
 import de.adorsys.psd2.core.data.ais.AisConsentData;
+import de.adorsys.psd2.xs2a.core.ais.AccountAccessType;
 import de.adorsys.psd2.xs2a.domain.ResponseObject;
 import de.adorsys.psd2.xs2a.domain.account.Xs2aAccountDetails;
 import de.adorsys.psd2.xs2a.domain.account.Xs2aAccountDetailsHolder;
@@ -28,12 +29,21 @@ import de.adorsys.psd2.xs2a.domain.consent.Xs2aCreatePisCancellationAuthorisatio
 import de.adorsys.psd2.xs2a.service.profile.AspspProfileServiceWrapper;
 import de.adorsys.psd2.xs2a.web.link.AccountDetailsLinks;
 import de.adorsys.xs2a.reader.JsonReader;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.filter.ForwardedHeaderFilter;
+
+import javax.servlet.http.HttpServletRequest;
 
 import java.util.Collections;
 
@@ -41,7 +51,7 @@ import static de.adorsys.psd2.xs2a.core.domain.TppMessageInformation.of;
 import static de.adorsys.psd2.xs2a.core.error.ErrorType.AIS_400;
 import static de.adorsys.psd2.xs2a.core.error.MessageErrorCode.CONSENT_UNKNOWN_400;
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class AccountAspectServiceTest {
@@ -70,6 +80,11 @@ class AccountAspectServiceTest {
         accountDetails = jsonReader.getObjectFromFile("json/aspect/account_details.json", Xs2aAccountDetails.class);
     }
 
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
     @Test
     void getAccountDetailsAspect_success() {
         // Given
@@ -126,6 +141,55 @@ class AccountAspectServiceTest {
         assertFalse(actualResponse.hasError());
     }
 
+    @Test
+    void getAccountDetailsListAspect_baseUrlNotForced_linksBuiltFromRequestHost() {
+        // Given
+        when(aspspProfileServiceWrapper.isForceXs2aBaseLinksUrl()).thenReturn(false);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setServerName("xs2a.host");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        aisConsent.setConsentData(new AisConsentData(null, AccountAccessType.ALL_ACCOUNTS, null, false));
+        Xs2aAccountDetails anotherAccountDetails = jsonReader.getObjectFromFile("json/aspect/account_details.json", Xs2aAccountDetails.class);
+
+        // When
+        service.getAccountDetailsListAspect(ResponseObject.<Xs2aAccountListHolder>builder()
+                                                .body(new Xs2aAccountListHolder(Collections.singletonList(accountDetails), aisConsent))
+                                                .build());
+        service.getAccountDetailsListAspect(ResponseObject.<Xs2aAccountListHolder>builder()
+                                                .body(new Xs2aAccountListHolder(Collections.singletonList(anotherAccountDetails), aisConsent))
+                                                .build());
+
+        // Then
+        String expectedBalancesLink = "http://xs2a.host/v1/accounts/" + accountDetails.getResourceId() + "/balances";
+        assertEquals(expectedBalancesLink, accountDetails.getLinks().getBalances().getHref());
+        assertEquals(expectedBalancesLink, anotherAccountDetails.getLinks().getBalances().getHref());
+        verify(aspspProfileServiceWrapper, never()).getXs2aBaseLinksUrl();
+    }
+
+    @Test
+    void getAccountDetailsListAspect_requestsDifferInForwardedHost_linksBuiltFromForwardedHost() throws Exception {
+        // Given
+        when(aspspProfileServiceWrapper.isForceXs2aBaseLinksUrl()).thenReturn(false);
+        aisConsent.setConsentData(new AisConsentData(null, AccountAccessType.ALL_ACCOUNTS, null, false));
+        Xs2aAccountDetails forwardedAccountDetails = jsonReader.getObjectFromFile("json/aspect/account_details.json", Xs2aAccountDetails.class);
+
+        // When
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(buildForwardedRequest("attacker.host")));
+        service.getAccountDetailsListAspect(ResponseObject.<Xs2aAccountListHolder>builder()
+                                                .body(new Xs2aAccountListHolder(Collections.singletonList(forwardedAccountDetails), aisConsent))
+                                                .build());
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(buildForwardedRequest("xs2a.host")));
+        service.getAccountDetailsListAspect(ResponseObject.<Xs2aAccountListHolder>builder()
+                                                .body(new Xs2aAccountListHolder(Collections.singletonList(accountDetails), aisConsent))
+                                                .build());
+
+        // Then
+        assertEquals("http://attacker.host/v1/accounts/" + forwardedAccountDetails.getResourceId() + "/balances",
+                     forwardedAccountDetails.getLinks().getBalances().getHref());
+        assertEquals("http://xs2a.host/v1/accounts/" + accountDetails.getResourceId() + "/balances",
+                     accountDetails.getLinks().getBalances().getHref());
+    }
+
     @Test
     void getAccountDetailsListAspect_withError_shouldAddTextErrorMessage() {
         // Given
@@ -138,4 +202,13 @@ class AccountAspectServiceTest {
         // Then
         assertTrue(actualResponse.hasError());
     }
+
+    private HttpServletRequest buildForwardedRequest(String forwardedHost) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setServerName("xs2a.host");
+        request.addHeader("X-Forwarded-Host", forwardedHost);
+        MockFilterChain filterChain = new MockFilterChain();
+        new ForwardedHeaderFilter().doFilter(request, new MockHttpServletResponse(), filterChain);
+        return (HttpServletRequest) filterChain.getRequest();
+    }
 }
@@ -22,6 +22,7 @@ import de.adorsys.psd2.consent.api.service.UpdatePaymentAfterSpiServiceEncrypted
 import de.adorsys.psd2.logger.context.LoggingContextService;
 import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
 import de.adorsys.psd2.xs2a.core.tpp.TppRedirectUri;
+import de.adorsys.psd2.xs2a.service.payment.status.PaymentStatusCache;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -43,6 +44,8 @@ class Xs2AUpdatePaymentAfterSpiServiceTest {
     private UpdatePaymentAfterSpiServiceEncrypted updatePaymentStatusAfterSpiService;
     @Mock
     private LoggingContextService loggingContextService;
+    @Mock
+    private PaymentStatusCache paymentStatusCache;
 
 
     @Test
@@ -56,6 +59,7 @@ class Xs2AUpdatePaymentAfterSpiServiceTest {
 
         //Then
         assertThat(actualResponse).isTrue();
+        verify(paymentStatusCache).evict(PAYMENT_ID);
     }
 
     @Test
@@ -69,6 +73,7 @@ class Xs2AUpdatePaymentAfterSpiServiceTest {
 
         //Then
         assertThat(actualResponse).isFalse();
+        verify(paymentStatusCache, never()).evict(PAYMENT_ID);
     }
 
     @Test
@@ -18,7 +18,11 @@
 package de.adorsys.psd2.xs2a.service.payment.create;
 
 import de.adorsys.psd2.consent.api.AspspDataService;
+import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationRequest;
+import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationResponse;
 import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentResponse;
+import de.adorsys.psd2.consent.api.pis.InitiatePisCommonPaymentRequest;
+import de.adorsys.psd2.consent.api.pis.InitiatePisCommonPaymentResponse;
 import de.adorsys.psd2.consent.api.pis.proto.PisPaymentInfo;
 import de.adorsys.psd2.xs2a.core.domain.ErrorHolder;
 import de.adorsys.psd2.xs2a.core.domain.TppMessageInformation;
@@ -38,8 +42,7 @@ import de.adorsys.psd2.xs2a.domain.pis.PaymentInitiationParameters;
 import de.adorsys.psd2.xs2a.domain.pis.PaymentInitiationResponse;
 import de.adorsys.psd2.xs2a.service.RequestProviderService;
 import de.adorsys.psd2.xs2a.service.authorization.AuthorisationMethodDecider;
-import de.adorsys.psd2.xs2a.service.authorization.pis.PisScaAuthorisationService;
-import de.adorsys.psd2.xs2a.service.authorization.pis.PisScaAuthorisationServiceResolver;
+import de.adorsys.psd2.xs2a.service.authorization.pis.PisAuthorisationService;
 import de.adorsys.psd2.xs2a.service.consent.PisAspspDataService;
 import de.adorsys.psd2.xs2a.service.consent.Xs2aPisCommonPaymentService;
 import de.adorsys.psd2.xs2a.service.mapper.cms_xs2a_mappers.Xs2aPisCommonPaymentMapper;
@@ -59,9 +62,11 @@ import org.springframework.http.MediaType;
 import java.util.Collections;
 import java.util.Optional;
 
+import static org.apache.commons.lang3.ArrayUtils.EMPTY_BYTE_ARRAY;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -77,6 +82,12 @@ class CreateCommonPaymentServiceTest {
     private static final PaymentInitiationParameters PARAM = buildPaymentInitiationParameters();
     private static final CreatePisCommonPaymentResponse PIS_COMMON_PAYMENT_RESPONSE = new CreatePisCommonPaymentResponse(PAYMENT_ID, null);
     private static final PisPaymentInfo PAYMENT_INFO = buildPisPaymentInfoRequest();
+    private static final CreateAuthorisationRequest CREATE_AUTHORISATION_REQUEST = new CreateAuthorisationRequest(PSU_DATA, null, null);
+    private static final CreateAuthorisationResponse CREATE_AUTHORISATION_RESPONSE = new CreateAuthorisationResponse("authorisation id", null, null, PSU_DATA);
+    private static final InitiatePisCommonPaymentRequest INITIATE_PAYMENT_REQUEST = new InitiatePisCommonPaymentRequest(PAYMENT_INFO, EMPTY_BYTE_ARRAY, null);
+    private static final InitiatePisCommonPaymentResponse INITIATE_PAYMENT_RESPONSE = new InitiatePisCommonPaymentResponse(PIS_COMMON_PAYMENT_RESPONSE, null);
+    private static final InitiatePisCommonPaymentRequest INITIATE_PAYMENT_IMPLICIT_REQUEST = new InitiatePisCommonPaymentRequest(PAYMENT_INFO, EMPTY_BYTE_ARRAY, CREATE_AUTHORISATION_REQUEST);
+    private static final InitiatePisCommonPaymentResponse INITIATE_PAYMENT_IMPLICIT_RESPONSE = new InitiatePisCommonPaymentResponse(PIS_COMMON_PAYMENT_RESPONSE, CREATE_AUTHORISATION_RESPONSE);
     private static final Xs2aPisCommonPayment PIS_COMMON_PAYMENT_FAIL = new Xs2aPisCommonPayment(null, PSU_DATA);
     private static final PsuIdData WRONG_PSU_DATA = new PsuIdData("wrong_psu", null, null, null, null);
     private static final TppInfo WRONG_TPP_INFO = new TppInfo();
@@ -95,9 +106,7 @@ class CreateCommonPaymentServiceTest {
     @Mock
     private AspspDataService aspspDataService;
     @Mock
-    private PisScaAuthorisationService pisScaAuthorisationService;
-    @Mock
-    private PisScaAuthorisationServiceResolver pisScaAuthorisationServiceResolver;
+    private PisAuthorisationService pisAuthorisationService;
     @Mock
     private Xs2aPisCommonPaymentMapper xs2aPisCommonPaymentMapper;
     @Mock
@@ -117,9 +126,9 @@ class CreateCommonPaymentServiceTest {
 
     @Test
     void createPayment_success() {
-        ArgumentCaptor<PisPaymentInfo> pisPaymentInfoArgumentCaptor = ArgumentCaptor.forClass(PisPaymentInfo.class);
+        ArgumentCaptor<InitiatePisCommonPaymentRequest> initiatePaymentRequestArgumentCaptor = ArgumentCaptor.forClass(InitiatePisCommonPaymentRequest.class);
         when(commonPaymentInitiationService.initiatePayment(any(CommonPayment.class), eq(PRODUCT), eq(PSU_DATA))).thenReturn(commonPaymentInitiationResponse);
-        when(pisCommonPaymentService.createCommonPayment(PAYMENT_INFO)).thenReturn(PIS_COMMON_PAYMENT_RESPONSE);
+        when(pisCommonPaymentService.initiateCommonPayment(INITIATE_PAYMENT_REQUEST)).thenReturn(INITIATE_PAYMENT_RESPONSE);
         when(xs2aPisCommonPaymentMapper.mapToXs2aPisCommonPayment(PIS_COMMON_PAYMENT_RESPONSE, PSU_DATA)).thenReturn(PIS_COMMON_PAYMENT);
         when(xs2aToCmsPisCommonPaymentRequestMapper.mapToPisPaymentInfo(any(PisPaymentInfoCreationObject.class))).thenReturn(PAYMENT_INFO);
         when(requestProviderService.getInternalRequestIdString()).thenReturn(INTERNAL_REQUEST_ID);
@@ -130,8 +139,10 @@ class CreateCommonPaymentServiceTest {
         ResponseObject<PaymentInitiationResponse> actualResponse = createCommonPaymentService.createPayment(PAYMENT_DATA_IN_BYTES, buildPaymentInitiationParameters(), TPP_INFO);
 
         //Then
-        verify(pisCommonPaymentService).createCommonPayment(pisPaymentInfoArgumentCaptor.capture());
-        PisPaymentInfo pisPaymentInfo = pisPaymentInfoArgumentCaptor.getValue();
+        verify(pisCommonPaymentService).initiateCommonPayment(initiatePaymentRequestArgumentCaptor.capture());
+        PisPaymentInfo pisPaymentInfo = initiatePaymentRequestArgumentCaptor.getValue().getPaymentInfo();
+        assertThat(initiatePaymentRequestArgumentCaptor.getValue().getAuthorisationRequest()).isNull();
+        verify(aspspDataService, never()).updateAspspConsentData(any());
         assertThat(pisPaymentInfo.getContentType()).isEqualTo(contentTypeHeader);
         assertThat(actualResponse.hasError()).isFalse();
         assertThat(actualResponse.getBody().getPaymentId()).isEqualTo(PAYMENT_ID);
@@ -162,7 +173,7 @@ class CreateCommonPaymentServiceTest {
     void createPayment_emptyPaymentId_fail() {
         // Given
         when(commonPaymentInitiationService.initiatePayment(any(CommonPayment.class), eq(PRODUCT), eq(PSU_DATA))).thenReturn(commonPaymentInitiationResponse);
-        when(pisCommonPaymentService.createCommonPayment(PAYMENT_INFO)).thenReturn(PIS_COMMON_PAYMENT_RESPONSE);
+        when(pisCommonPaymentService.initiateCommonPayment(INITIATE_PAYMENT_REQUEST)).thenReturn(INITIATE_PAYMENT_RESPONSE);
         when(xs2aPisCommonPaymentMapper.mapToXs2aPisCommonPayment(PIS_COMMON_PAYMENT_RESPONSE, PSU_DATA))
             .thenReturn(PIS_COMMON_PAYMENT_FAIL);
         when(xs2aToCmsPisCommonPaymentRequestMapper.mapToPisPaymentInfo(any(PisPaymentInfoCreationObject.class))).thenReturn(PAYMENT_INFO);
@@ -181,16 +192,16 @@ class CreateCommonPaymentServiceTest {
     void createPayment_authorisationMethodDecider_isImplicitMethod_success() {
         // Given
         when(commonPaymentInitiationService.initiatePayment(any(CommonPayment.class), eq(PRODUCT), eq(PSU_DATA))).thenReturn(commonPaymentInitiationResponse);
-        when(pisCommonPaymentService.createCommonPayment(PAYMENT_INFO)).thenReturn(PIS_COMMON_PAYMENT_RESPONSE);
+        when(pisCommonPaymentService.initiateCommonPayment(INITIATE_PAYMENT_IMPLICIT_REQUEST)).thenReturn(INITIATE_PAYMENT_IMPLICIT_RESPONSE);
         when(xs2aPisCommonPaymentMapper.mapToXs2aPisCommonPayment(PIS_COMMON_PAYMENT_RESPONSE, PSU_DATA)).thenReturn(PIS_COMMON_PAYMENT);
         when(xs2aToCmsPisCommonPaymentRequestMapper.mapToPisPaymentInfo(any(PisPaymentInfoCreationObject.class))).thenReturn(PAYMENT_INFO);
         when(requestProviderService.getInternalRequestIdString()).thenReturn(INTERNAL_REQUEST_ID);
 
         when(authorisationMethodDecider.isImplicitMethod(false, false))
             .thenReturn(true);
-        when(pisScaAuthorisationServiceResolver.getService())
-            .thenReturn(pisScaAuthorisationService);
-        when(pisScaAuthorisationService.createCommonPaymentAuthorisation(PAYMENT_ID, PaymentType.SINGLE, PARAM.getPsuData()))
+        when(pisAuthorisationService.buildCreateAuthorisationRequest(PSU_DATA))
+            .thenReturn(CREATE_AUTHORISATION_REQUEST);
+        when(xs2aPisCommonPaymentMapper.mapToXsa2CreatePisAuthorisationResponse(CREATE_AUTHORISATION_RESPONSE, PaymentType.SINGLE))
             .thenReturn(Optional.of(CREATE_PIS_AUTHORISATION_RESPONSE));
 
         //When
@@ -202,19 +213,19 @@ class CreateCommonPaymentServiceTest {
     }
 
     @Test
-    void createPayment_pisScaAuthorisationService_createCommonPaymentAuthorisation_fail() {
+    void createPayment_authorisationNotCreated_fail() {
         // Given
         when(commonPaymentInitiationService.initiatePayment(any(CommonPayment.class), eq(PRODUCT), eq(PSU_DATA))).thenReturn(commonPaymentInitiationResponse);
-        when(pisCommonPaymentService.createCommonPayment(PAYMENT_INFO)).thenReturn(PIS_COMMON_PAYMENT_RESPONSE);
+        when(pisCommonPaymentService.initiateCommonPayment(INITIATE_PAYMENT_IMPLICIT_REQUEST)).thenReturn(INITIATE_PAYMENT_IMPLICIT_RESPONSE);
         when(xs2aPisCommonPaymentMapper.mapToXs2aPisCommonPayment(PIS_COMMON_PAYMENT_RESPONSE, PSU_DATA)).thenReturn(PIS_COMMON_PAYMENT);
         when(xs2aToCmsPisCommonPaymentRequestMapper.mapToPisPaymentInfo(any(PisPaymentInfoCreationObject.class))).thenReturn(PAYMENT_INFO);
         when(requestProviderService.getInternalRequestIdString()).thenReturn(INTERNAL_REQUEST_ID);
 
         when(authorisationMethodDecider.isImplicitMethod(false, false))
             .thenReturn(true);
-        when(pisScaAuthorisationServiceResolver.getService())
-            .thenReturn(pisScaAuthorisationService);
-        when(pisScaAuthorisationService.createCommonPaymentAuthorisation(PAYMENT_ID, PaymentType.SINGLE, PARAM.getPsuData()))
+        when(pisAuthorisationService.buildCreateAuthorisationRequest(PSU_DATA))
+            .thenReturn(CREATE_AUTHORISATION_REQUEST);
+        when(xs2aPisCommonPaymentMapper.mapToXsa2CreatePisAuthorisationResponse(CREATE_AUTHORISATION_RESPONSE, PaymentType.SINGLE))
             .thenReturn(Optional.empty());
 
         //When
@@ -225,6 +236,21 @@ class CreateCommonPaymentServiceTest {
         assertThat(actualResponse.getError().getTppMessage().getMessageErrorCode()).isEqualTo(MessageErrorCode.PAYMENT_FAILED);
     }
 
+    @Test
+    void createPayment_cmsError_fail() {
+        // Given
+        when(commonPaymentInitiationService.initiatePayment(any(CommonPayment.class), eq(PRODUCT), eq(PSU_DATA))).thenReturn(commonPaymentInitiationResponse);
+        when(pisCommonPaymentService.initiateCommonPayment(INITIATE_PAYMENT_REQUEST)).thenReturn(null);
+        when(xs2aToCmsPisCommonPaymentRequestMapper.mapToPisPaymentInfo(any(PisPaymentInfoCreationObject.class))).thenReturn(PAYMENT_INFO);
+        when(requestProviderService.getInternalRequestIdString()).thenReturn(INTERNAL_REQUEST_ID);
+
+        //When
+        ResponseObject<PaymentInitiationResponse> actualResponse = createCommonPaymentService.createPayment(PAYMENT_DATA_IN_BYTES, PARAM, TPP_INFO);
+
+        //Then
+        assertThat(actualResponse.hasError()).isTrue();
+        assertThat(actualResponse.getError().getTppMessage().getMessageErrorCode()).isEqualTo(MessageErrorCode.PAYMENT_FAILED);
+    }
 
     private static CommonPayment buildCommonPayment() {
         CommonPayment request = new CommonPayment();
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.service.payment.status;
+
+import de.adorsys.psd2.xs2a.core.domain.ErrorHolder;
+import de.adorsys.psd2.xs2a.core.error.ErrorType;
+import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
+import de.adorsys.psd2.xs2a.domain.pis.ReadPaymentStatusResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaymentStatusCacheTest {
+    private static final String PAYMENT_ID = "encrypted payment id";
+    private static final String JSON_MEDIA_TYPE = MediaType.APPLICATION_JSON_VALUE;
+    private static final ReadPaymentStatusResponse PENDING_STATUS = new ReadPaymentStatusResponse(TransactionStatus.PDNG, null, MediaType.APPLICATION_JSON, null, null);
+    private static final ReadPaymentStatusResponse FINALISED_STATUS = new ReadPaymentStatusResponse(TransactionStatus.ACSC, null, MediaType.APPLICATION_JSON, null, null);
+    private static final ReadPaymentStatusResponse ERROR_RESPONSE = new ReadPaymentStatusResponse(ErrorHolder.builder(ErrorType.PIS_400).build());
+
+    private final AtomicInteger loaderCalls = new AtomicInteger();
+
+    @Test
+    void getOrLoad_notFinalisedStatus_cached() {
+        // Given
+        PaymentStatusCache paymentStatusCache = new PaymentStatusCache(60_000, 10);
+        paymentStatusCache.getOrLoad(PAYMENT_ID, JSON_MEDIA_TYPE, loader(PENDING_STATUS));
+
+        // When
+        ReadPaymentStatusResponse actual = paymentStatusCache.getOrLoad(PAYMENT_ID, JSON_MEDIA_TYPE, loader(PENDING_STATUS));
+
+        // Then
+        assertSame(PENDING_STATUS, actual);
+        assertEquals(1, loaderCalls.get());
+    }
+
+    @Test
+    void getOrLoad_anotherAcceptMediaType_loadedAgain() {
+        // Given
+        PaymentStatusCache paymentStatusCache = new PaymentStatusCache(60_000, 10);
+        paymentStatusCache.getOrLoad(PAYMENT_ID, JSON_MEDIA_TYPE, loader(PENDING_STATUS));
+
+        // When
+        paymentStatusCache.getOrLoad(PAYMENT_ID, MediaType.APPLICATION_XML_VALUE, loader(PENDING_STATUS));
+
+        // Then
+        assertEquals(2, loaderCalls.get());
+    }
+
+    @Test
+    void getOrLoad_finalisedStatusAndError_notCached() {
+        // Given
+        PaymentStatusCache paymentStatusCache = new PaymentStatusCache(60_000, 10);
+
+        // When
+        paymentStatusCache.getOrLoad(PAYMENT_ID, JSON_MEDIA_TYPE, loader(FINALISED_STATUS));
+        paymentStatusCache.getOrLoad(PAYMENT_ID, JSON_MEDIA_TYPE, loader(ERROR_RESPONSE));
+        paymentStatusCache.getOrLoad(PAYMENT_ID, JSON_MEDIA_TYPE, loader(PENDING_STATUS));
+
+        // Then
+        assertEquals(3, loaderCalls.get());
+        assertEquals(1, paymentStatusCache.size());
+    }
+
+    @Test
+    void getOrLoad_expiredOrEvicted_loadedAgain() throws InterruptedException {
+        // Given
+        PaymentStatusCache paymentStatusCache = new PaymentStatusCache(1, 10);
+        paymentStatusCache.getOrLoad(PAYMENT_ID, JSON_MEDIA_TYPE, loader(PENDING_STATUS));
+        Thread.sleep(5);
+
+        // When
+        paymentStatusCache.getOrLoad(PAYMENT_ID, JSON_MEDIA_TYPE, loader(PENDING_STATUS));
+        paymentStatusCache.evict(PAYMENT_ID);
+        paymentStatusCache.getOrLoad(PAYMENT_ID, JSON_MEDIA_TYPE, loader(PENDING_STATUS));
+
+        // Then
+        assertEquals(3, loaderCalls.get());
+    }
+
+    @Test
+    void getOrLoad_disabled_alwaysLoaded() {
+        // Given
+        PaymentStatusCache paymentStatusCache = new PaymentStatusCache(0, 10);
+
+        // When
+        paymentStatusCache.getOrLoad(PAYMENT_ID, JSON_MEDIA_TYPE, loader(PENDING_STATUS));
+        paymentStatusCache.getOrLoad(PAYMENT_ID, JSON_MEDIA_TYPE, loader(PENDING_STATUS));
+
+        // Then
+        assertEquals(2, loaderCalls.get());
+        assertEquals(0, paymentStatusCache.size());
+    }
+
+    @Test
+    void getOrLoad_maxSizeExceeded_entriesEvicted() {
+        // Given
+        PaymentStatusCache paymentStatusCache = new PaymentStatusCache(60_000, 2);
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            paymentStatusCache.getOrLoad(PAYMENT_ID + i, JSON_MEDIA_TYPE, loader(PENDING_STATUS));
+        }
+
+        // Then
+        assertTrue(paymentStatusCache.size() <= 2);
+    }
+
+    @Test
+    void getOrLoad_concurrentReads_coalesced() throws Exception {
+        // Given
+        PaymentStatusCache paymentStatusCache = new PaymentStatusCache(60_000, 10);
+        int threads = 8;
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        Supplier<ReadPaymentStatusResponse> blockingLoader = () -> {
+            loaderCalls.incrementAndGet();
+            loaderStarted.countDown();
+            await(releaseLoader);
+            return PENDING_STATUS;
+        };
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+
+        // When
+        List<Future<ReadPaymentStatusResponse>> results = new ArrayList<>();
+        results.add(executorService.submit(() -> paymentStatusCache.getOrLoad(PAYMENT_ID, JSON_MEDIA_TYPE, blockingLoader)));
+        assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i < threads; i++) {
+            results.add(executorService.submit(() -> paymentStatusCache.getOrLoad(PAYMENT_ID, JSON_MEDIA_TYPE, blockingLoader)));
+        }
+        releaseLoader.countDown();
+
+        // Then
+        for (Future<ReadPaymentStatusResponse> result : results) {
+            assertSame(PENDING_STATUS, result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loaderCalls.get());
+        executorService.shutdownNow();
+    }
+
+    private Supplier<ReadPaymentStatusResponse> loader(ReadPaymentStatusResponse response) {
+        return () -> {
+            loaderCalls.incrementAndGet();
+            return response;
+        };
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
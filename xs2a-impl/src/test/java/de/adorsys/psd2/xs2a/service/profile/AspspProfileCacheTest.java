@@ -0,0 +1,123 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.service.profile;
+
+import de.adorsys.psd2.aspsp.profile.domain.AspspProfileChangedEvent;
+import de.adorsys.psd2.aspsp.profile.domain.AspspSettings;
+import de.adorsys.psd2.aspsp.profile.service.AspspProfileService;
+import de.adorsys.psd2.xs2a.core.profile.ScaApproach;
+import de.adorsys.xs2a.reader.JsonReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AspspProfileCacheTest {
+    private static final String ASPSP_SETTINGS_JSON_PATH = "json/service/profile/AspspSettings.json";
+    private static final String INSTANCE_ID = "bank1";
+    private static final long VERIFY_TIMEOUT_MS = 1000;
+
+    @Mock
+    private AspspProfileService aspspProfileService;
+
+    private final JsonReader jsonReader = new JsonReader();
+    private AspspProfileCache aspspProfileCache;
+
+    @AfterEach
+    void tearDown() {
+        aspspProfileCache.shutdown();
+    }
+
+    @Test
+    void getAspspSettings_cacheDisabled_readsProfile() {
+        // Given
+        aspspProfileCache = new AspspProfileCache(aspspProfileService, false, 60000);
+        AspspSettings aspspSettings = jsonReader.getObjectFromFile(ASPSP_SETTINGS_JSON_PATH, AspspSettings.class);
+        when(aspspProfileService.getAspspSettings(INSTANCE_ID)).thenReturn(aspspSettings);
+
+        // When
+        aspspProfileCache.getAspspSettings(INSTANCE_ID);
+        aspspProfileCache.getAspspSettings(INSTANCE_ID);
+
+        // Then
+        verify(aspspProfileService, times(2)).getAspspSettings(INSTANCE_ID);
+    }
+
+    @Test
+    void getAspspSettings_freshSnapshot_profileReadOnce() {
+        // Given
+        aspspProfileCache = new AspspProfileCache(aspspProfileService, true, 60000);
+        AspspSettings aspspSettings = jsonReader.getObjectFromFile(ASPSP_SETTINGS_JSON_PATH, AspspSettings.class);
+        List<ScaApproach> scaApproaches = Collections.singletonList(ScaApproach.REDIRECT);
+        when(aspspProfileService.getAspspSettings(INSTANCE_ID)).thenReturn(aspspSettings);
+        when(aspspProfileService.getScaApproaches(INSTANCE_ID)).thenReturn(scaApproaches);
+
+        // When
+        AspspSettings firstActual = aspspProfileCache.getAspspSettings(INSTANCE_ID);
+        AspspSettings secondActual = aspspProfileCache.getAspspSettings(INSTANCE_ID);
+        List<ScaApproach> actualScaApproaches = aspspProfileCache.getScaApproaches(INSTANCE_ID);
+
+        // Then
+        assertSame(aspspSettings, firstActual);
+        assertSame(aspspSettings, secondActual);
+        assertEquals(scaApproaches, actualScaApproaches);
+        verify(aspspProfileService, times(1)).getAspspSettings(INSTANCE_ID);
+        verify(aspspProfileService, times(1)).getScaApproaches(INSTANCE_ID);
+    }
+
+    @Test
+    void getAspspSettings_staleSnapshot_refreshedInBackground() {
+        // Given
+        aspspProfileCache = new AspspProfileCache(aspspProfileService, true, 0);
+        AspspSettings aspspSettings = jsonReader.getObjectFromFile(ASPSP_SETTINGS_JSON_PATH, AspspSettings.class);
+        when(aspspProfileService.getAspspSettings(INSTANCE_ID)).thenReturn(aspspSettings);
+
+        // When
+        aspspProfileCache.getAspspSettings(INSTANCE_ID);
+        AspspSettings actual = aspspProfileCache.getAspspSettings(INSTANCE_ID);
+
+        // Then
+        assertSame(aspspSettings, actual);
+        verify(aspspProfileService, timeout(VERIFY_TIMEOUT_MS).times(2)).getAspspSettings(INSTANCE_ID);
+    }
+
+    @Test
+    void onAspspProfileChanged_refreshesSnapshot() {
+        // Given
+        aspspProfileCache = new AspspProfileCache(aspspProfileService, true, 60000);
+        AspspSettings oldSettings = jsonReader.getObjectFromFile(ASPSP_SETTINGS_JSON_PATH, AspspSettings.class);
+        AspspSettings newSettings = jsonReader.getObjectFromFile(ASPSP_SETTINGS_JSON_PATH, AspspSettings.class);
+        when(aspspProfileService.getAspspSettings(INSTANCE_ID)).thenReturn(oldSettings, newSettings);
+        aspspProfileCache.getAspspSettings(INSTANCE_ID);
+
+        // When
+        aspspProfileCache.onAspspProfileChanged(new AspspProfileChangedEvent(null));
+
+        // Then
+        verify(aspspProfileService, timeout(VERIFY_TIMEOUT_MS).times(2)).getAspspSettings(INSTANCE_ID);
+        verify(aspspProfileService, timeout(VERIFY_TIMEOUT_MS).times(2)).getScaApproaches(INSTANCE_ID);
+    }
+}
@@ -17,7 +17,6 @@
 package de.adorsys.psd2.xs2a.service.profile;
 
 import de.adorsys.psd2.aspsp.profile.domain.AspspSettings;
-import de.adorsys.psd2.aspsp.profile.service.AspspProfileService;
 import de.adorsys.psd2.xs2a.core.ais.BookingStatus;
 import de.adorsys.psd2.xs2a.service.RequestProviderService;
 import de.adorsys.xs2a.reader.JsonReader;
@@ -40,7 +39,7 @@ class AspspProfileServiceWrapperTest {
     private static final String INSTANCE_ID = "bank1";
 
     @Mock
-    private AspspProfileService aspspProfileService;
+    private AspspProfileCache aspspProfileCache;
     @Mock
     private RequestProviderService requestProviderService;
 
@@ -50,7 +49,7 @@ class AspspProfileServiceWrapperTest {
     @BeforeEach
     void setUp() {
         when(requestProviderService.getInstanceId()).thenReturn(INSTANCE_ID);
-        when(aspspProfileService.getAspspSettings(INSTANCE_ID))
+        when(aspspProfileCache.getAspspSettings(INSTANCE_ID))
             .thenReturn(new JsonReader().getObjectFromFile(ASPSP_SETTINGS_JSON_PATH, AspspSettings.class));
     }
 
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.service.tpp;
+
+import de.adorsys.psd2.consent.api.CmsError;
+import de.adorsys.psd2.consent.api.CmsResponse;
+import de.adorsys.psd2.consent.api.service.TppService;
+import de.adorsys.psd2.xs2a.core.tpp.TppInfo;
+import de.adorsys.psd2.xs2a.core.tpp.TppRole;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TppInfoChangeRegistryTest {
+    private static final String AUTHORISATION_NUMBER = "12345987";
+    private static final String ANOTHER_AUTHORISATION_NUMBER = "98765432";
+    private static final String FINGERPRINT = "fingerprint";
+    private static final String ANOTHER_FINGERPRINT = "another fingerprint";
+    private static final long VERIFY_TIMEOUT_MS = 1000;
+    private static final int MAX_SIZE = 100;
+    private static final long TTL_MS = 3600000;
+
+    @Mock
+    private TppService tppService;
+
+    private TppInfoChangeRegistry tppInfoChangeRegistry;
+
+    @AfterEach
+    void tearDown() {
+        tppInfoChangeRegistry.shutdown();
+    }
+
+    @Test
+    void updateTppInfo_registryDisabled_updatesCmsDirectly() {
+        // Given
+        tppInfoChangeRegistry = new TppInfoChangeRegistry(tppService, false, 100, MAX_SIZE, TTL_MS);
+        TppInfo tppInfo = buildTppInfo(TppRole.AISP);
+
+        // When
+        tppInfoChangeRegistry.updateTppInfo(tppInfo, FINGERPRINT);
+        tppInfoChangeRegistry.updateTppInfo(tppInfo, FINGERPRINT);
+
+        // Then
+        verify(tppService, times(2)).updateTppInfo(tppInfo);
+        verify(tppService, never()).updateTppInfos(any());
+    }
+
+    @Test
+    void updateTppInfo_sameState_updatedOnce() {
+        // Given
+        tppInfoChangeRegistry = new TppInfoChangeRegistry(tppService, true, 100, MAX_SIZE, TTL_MS);
+        when(tppService.updateTppInfos(any())).thenReturn(buildCmsResponse(Collections.singleton(AUTHORISATION_NUMBER)));
+        tppInfoChangeRegistry.updateTppInfo(buildTppInfo(TppRole.AISP, TppRole.PISP), FINGERPRINT);
+        verify(tppService, timeout(VERIFY_TIMEOUT_MS).times(1)).updateTppInfos(any());
+
+        // When
+        tppInfoChangeRegistry.updateTppInfo(buildTppInfo(TppRole.PISP, TppRole.AISP), FINGERPRINT);
+
+        // Then
+        verify(tppService, after(100).times(1)).updateTppInfos(any());
+        verify(tppService, never()).updateTppInfo(any());
+    }
+
+    @Test
+    void updateTppInfo_changedState_updatedAgain() {
+        // Given
+        tppInfoChangeRegistry = new TppInfoChangeRegistry(tppService, true, 100, MAX_SIZE, TTL_MS);
+        when(tppService.updateTppInfos(any())).thenReturn(buildCmsResponse(Collections.singleton(AUTHORISATION_NUMBER)));
+        tppInfoChangeRegistry.updateTppInfo(buildTppInfo(TppRole.AISP), FINGERPRINT);
+        verify(tppService, timeout(VERIFY_TIMEOUT_MS).times(1)).updateTppInfos(any());
+
+        // When
+        tppInfoChangeRegistry.updateTppInfo(buildTppInfo(TppRole.AISP), ANOTHER_FINGERPRINT);
+        verify(tppService, timeout(VERIFY_TIMEOUT_MS).times(2)).updateTppInfos(any());
+        tppInfoChangeRegistry.updateTppInfo(buildTppInfo(TppRole.PIISP), ANOTHER_FINGERPRINT);
+
+        // Then
+        ArgumentCaptor<List<TppInfo>> captor = ArgumentCaptor.forClass(List.class);
+        verify(tppService, timeout(VERIFY_TIMEOUT_MS).times(3)).updateTppInfos(captor.capture());
+        List<TppInfo> lastBatch = captor.getValue();
+        assertEquals(1, lastBatch.size());
+        assertEquals(AUTHORISATION_NUMBER, lastBatch.get(0).getAuthorisationNumber());
+        assertEquals(Collections.singletonList(TppRole.PIISP), lastBatch.get(0).getTppRoles());
+    }
+
+    @Test
+    void updateTppInfo_tppNotFoundInCms_updatedOnNextRequest() {
+        // Given
+        tppInfoChangeRegistry = new TppInfoChangeRegistry(tppService, true, 100, MAX_SIZE, TTL_MS);
+        when(tppService.updateTppInfos(any()))
+            .thenReturn(buildCmsResponse(Collections.emptySet()))
+            .thenReturn(CmsResponse.<Set<String>>builder().error(CmsError.TECHNICAL_ERROR).build());
+        tppInfoChangeRegistry.updateTppInfo(buildTppInfo(TppRole.AISP), FINGERPRINT);
+        verify(tppService, timeout(VERIFY_TIMEOUT_MS).times(1)).updateTppInfos(any());
+
+        // When
+        tppInfoChangeRegistry.updateTppInfo(buildTppInfo(TppRole.AISP), FINGERPRINT);
+        verify(tppService, timeout(VERIFY_TIMEOUT_MS).times(2)).updateTppInfos(any());
+        tppInfoChangeRegistry.updateTppInfo(buildTppInfo(TppRole.AISP), FINGERPRINT);
+
+        // Then
+        verify(tppService, timeout(VERIFY_TIMEOUT_MS).times(3)).updateTppInfos(any());
+    }
+
+    @Test
+    void updateTppInfo_knownStateExpired_updatedAgain() {
+        // Given
+        tppInfoChangeRegistry = new TppInfoChangeRegistry(tppService, true, 100, MAX_SIZE, 0);
+        when(tppService.updateTppInfos(any())).thenReturn(buildCmsResponse(Collections.singleton(AUTHORISATION_NUMBER)));
+        tppInfoChangeRegistry.updateTppInfo(buildTppInfo(TppRole.AISP), FINGERPRINT);
+        verify(tppService, timeout(VERIFY_TIMEOUT_MS).times(1)).updateTppInfos(any());
+
+        // When
+        tppInfoChangeRegistry.updateTppInfo(buildTppInfo(TppRole.AISP), FINGERPRINT);
+
+        // Then
+        verify(tppService, timeout(VERIFY_TIMEOUT_MS).times(2)).updateTppInfos(any());
+    }
+
+    @Test
+    void updateTppInfo_maxSizeReached_leastRecentlySeenTppUpdatedAgain() {
+        // Given
+        tppInfoChangeRegistry = new TppInfoChangeRegistry(tppService, true, 100, 1, TTL_MS);
+        when(tppService.updateTppInfos(any()))
+            .thenReturn(buildCmsResponse(Collections.singleton(AUTHORISATION_NUMBER)))
+            .thenReturn(buildCmsResponse(Collections.singleton(ANOTHER_AUTHORISATION_NUMBER)))
+            .thenReturn(buildCmsResponse(Collections.singleton(AUTHORISATION_NUMBER)));
+        tppInfoChangeRegistry.updateTppInfo(buildTppInfo(TppRole.AISP), FINGERPRINT);
+        verify(tppService, timeout(VERIFY_TIMEOUT_MS).times(1)).updateTppInfos(any());
+        tppInfoChangeRegistry.updateTppInfo(buildTppInfo(ANOTHER_AUTHORISATION_NUMBER, TppRole.AISP), FINGERPRINT);
+        verify(tppService, timeout(VERIFY_TIMEOUT_MS).times(2)).updateTppInfos(any());
+
+        // When
+        tppInfoChangeRegistry.updateTppInfo(buildTppInfo(TppRole.AISP), FINGERPRINT);
+
+        // Then
+        ArgumentCaptor<List<TppInfo>> captor = ArgumentCaptor.forClass(List.class);
+        verify(tppService, timeout(VERIFY_TIMEOUT_MS).times(3)).updateTppInfos(captor.capture());
+        assertEquals(AUTHORISATION_NUMBER, captor.getValue().get(0).getAuthorisationNumber());
+    }
+
+    private TppInfo buildTppInfo(TppRole... roles) {
+        return buildTppInfo(AUTHORISATION_NUMBER, roles);
+    }
+
+    private TppInfo buildTppInfo(String authorisationNumber, TppRole... roles) {
+        TppInfo tppInfo = new TppInfo();
+        tppInfo.setAuthorisationNumber(authorisationNumber);
+        tppInfo.setTppRoles(Arrays.asList(roles));
+        return tppInfo;
+    }
+
+    private <T> CmsResponse<T> buildCmsResponse(T payload) {
+        return CmsResponse.<T>builder()
+                   .payload(payload)
+                   .build();
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.service.tpp;
+
+import de.adorsys.psd2.consent.api.CmsError;
+import de.adorsys.psd2.consent.api.CmsResponse;
+import de.adorsys.psd2.consent.api.service.TppStopListService;
+import de.adorsys.psd2.consent.api.tpp.TppStopListChangedEvent;
+import de.adorsys.psd2.consent.api.tpp.TppStopListChanges;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TppStopListReplicaTest {
+    private static final String INSTANCE_ID = "bank1";
+    private static final String BLOCKED_TPP = "blocked TPP";
+    private static final String ANOTHER_TPP = "another TPP";
+    private static final long VERSION = 1000;
+    private static final long VERIFY_TIMEOUT_MS = 1000;
+    private static final int MAX_INSTANCES = 2;
+
+    @Mock
+    private TppStopListService tppStopListService;
+
+    private TppStopListReplica tppStopListReplica;
+
+    @AfterEach
+    void tearDown() {
+        tppStopListReplica.shutdown();
+    }
+
+    @Test
+    void isTppBlocked_replicaDisabled_checksCms() {
+        // Given
+        tppStopListReplica = new TppStopListReplica(tppStopListService, false, 60000, 60000, MAX_INSTANCES);
+        when(tppStopListService.checkIfTppBlocked(BLOCKED_TPP, INSTANCE_ID)).thenReturn(buildCmsResponse(true));
+
+        // When
+        boolean actual = tppStopListReplica.isTppBlocked(BLOCKED_TPP, INSTANCE_ID);
+
+        // Then
+        assertTrue(actual);
+        verify(tppStopListService, never()).getStopListChanges(any(), any());
+    }
+
+    @Test
+    void isTppBlocked_freshSnapshot_stopListLoadedOnce() {
+        // Given
+        tppStopListReplica = new TppStopListReplica(tppStopListService, true, 60000, 60000, MAX_INSTANCES);
+        when(tppStopListService.getStopListChanges(INSTANCE_ID, null))
+            .thenReturn(buildCmsResponse(new TppStopListChanges(VERSION, true, Collections.singleton(BLOCKED_TPP), Collections.emptySet())));
+
+        // When
+        boolean blocked = tppStopListReplica.isTppBlocked(BLOCKED_TPP, INSTANCE_ID);
+        boolean notBlocked = tppStopListReplica.isTppBlocked(ANOTHER_TPP, INSTANCE_ID);
+
+        // Then
+        assertTrue(blocked);
+        assertFalse(notBlocked);
+        verify(tppStopListService, times(1)).getStopListChanges(INSTANCE_ID, null);
+        verify(tppStopListService, never()).checkIfTppBlocked(any(), any());
+    }
+
+    @Test
+    void isTppBlocked_instanceLimitReached_checksCms() {
+        // Given
+        tppStopListReplica = new TppStopListReplica(tppStopListService, true, 60000, 60000, MAX_INSTANCES);
+        when(tppStopListService.getStopListChanges(any(), isNull()))
+            .thenReturn(buildCmsResponse(new TppStopListChanges(VERSION, true, Collections.<String>emptySet(), Collections.emptySet())));
+        when(tppStopListService.checkIfTppBlocked(BLOCKED_TPP, "bank3")).thenReturn(buildCmsResponse(true));
+        tppStopListReplica.isTppBlocked(BLOCKED_TPP, INSTANCE_ID);
+        tppStopListReplica.isTppBlocked(BLOCKED_TPP, "bank2");
+
+        // When
+        boolean actual = tppStopListReplica.isTppBlocked(BLOCKED_TPP, "bank3");
+
+        // Then
+        assertTrue(actual);
+        verify(tppStopListService, never()).getStopListChanges("bank3", null);
+        verify(tppStopListService).checkIfTppBlocked(BLOCKED_TPP, "bank3");
+    }
+
+    @Test
+    void isTppBlocked_loadFailed_checksCms() {
+        // Given
+        tppStopListReplica = new TppStopListReplica(tppStopListService, true, 60000, 60000, MAX_INSTANCES);
+        when(tppStopListService.getStopListChanges(INSTANCE_ID, null))
+            .thenReturn(CmsResponse.<TppStopListChanges>builder().error(CmsError.TECHNICAL_ERROR).build());
+        when(tppStopListService.checkIfTppBlocked(ANOTHER_TPP, INSTANCE_ID)).thenReturn(buildCmsResponse(false));
+
+        // When
+        boolean actual = tppStopListReplica.isTppBlocked(ANOTHER_TPP, INSTANCE_ID);
+
+        // Then
+        assertFalse(actual);
+        verify(tppStopListService).checkIfTppBlocked(ANOTHER_TPP, INSTANCE_ID);
+    }
+
+    @Test
+    void isTppBlocked_snapshotOlderThanMaxAge_refreshedBeforeCheck() {
+        // Given
+        tppStopListReplica = new TppStopListReplica(tppStopListService, true, 0, 0, MAX_INSTANCES);
+        when(tppStopListService.getStopListChanges(INSTANCE_ID, null))
+            .thenReturn(buildCmsResponse(new TppStopListChanges(VERSION, true, Collections.<String>emptySet(), Collections.emptySet())));
+        when(tppStopListService.getStopListChanges(INSTANCE_ID, VERSION))
+            .thenReturn(buildCmsResponse(new TppStopListChanges(VERSION + 1, false, Collections.singleton(BLOCKED_TPP), Collections.emptySet())));
+        tppStopListReplica.isTppBlocked(BLOCKED_TPP, INSTANCE_ID);
+
+        // When
+        boolean actual = tppStopListReplica.isTppBlocked(BLOCKED_TPP, INSTANCE_ID);
+
+        // Then
+        assertTrue(actual);
+        verify(tppStopListService).getStopListChanges(INSTANCE_ID, VERSION);
+        verify(tppStopListService, never()).checkIfTppBlocked(any(), any());
+    }
+
+    @Test
+    void isTppBlocked_snapshotOlderThanMaxAgeAndRefreshFailed_checksCms() {
+        // Given
+        tppStopListReplica = new TppStopListReplica(tppStopListService, true, 0, 0, MAX_INSTANCES);
+        when(tppStopListService.getStopListChanges(INSTANCE_ID, null))
+            .thenReturn(buildCmsResponse(new TppStopListChanges(VERSION, true, Collections.<String>emptySet(), Collections.emptySet())));
+        when(tppStopListService.getStopListChanges(INSTANCE_ID, VERSION))
+            .thenReturn(CmsResponse.<TppStopListChanges>builder().error(CmsError.TECHNICAL_ERROR).build());
+        when(tppStopListService.checkIfTppBlocked(BLOCKED_TPP, INSTANCE_ID)).thenReturn(buildCmsResponse(true));
+        tppStopListReplica.isTppBlocked(BLOCKED_TPP, INSTANCE_ID);
+
+        // When
+        boolean actual = tppStopListReplica.isTppBlocked(BLOCKED_TPP, INSTANCE_ID);
+
+        // Then
+        assertTrue(actual);
+        verify(tppStopListService).checkIfTppBlocked(BLOCKED_TPP, INSTANCE_ID);
+    }
+
+    @Test
+    void onTppStopListChanged_changesSinceVersionApplied() throws InterruptedException {
+        // Given
+        tppStopListReplica = new TppStopListReplica(tppStopListService, true, 60000, 60000, MAX_INSTANCES);
+        when(tppStopListService.getStopListChanges(INSTANCE_ID, null))
+            .thenReturn(buildCmsResponse(new TppStopListChanges(VERSION, true, Collections.singleton(BLOCKED_TPP), Collections.emptySet())));
+        when(tppStopListService.getStopListChanges(INSTANCE_ID, VERSION))
+            .thenReturn(buildCmsResponse(new TppStopListChanges(VERSION + 1, false, Collections.singleton(ANOTHER_TPP), Collections.singleton(BLOCKED_TPP))));
+        tppStopListReplica.isTppBlocked(BLOCKED_TPP, INSTANCE_ID);
+
+        // When
+        tppStopListReplica.onTppStopListChanged(new TppStopListChangedEvent(INSTANCE_ID));
+
+        // Then
+        verify(tppStopListService, timeout(VERIFY_TIMEOUT_MS).times(1)).getStopListChanges(INSTANCE_ID, VERSION);
+        awaitUnblocked(BLOCKED_TPP);
+        assertFalse(tppStopListReplica.isTppBlocked(BLOCKED_TPP, INSTANCE_ID));
+        assertTrue(tppStopListReplica.isTppBlocked(ANOTHER_TPP, INSTANCE_ID));
+    }
+
+    @Test
+    void onTppStopListChanged_anotherInstance_notRefreshed() {
+        // Given
+        tppStopListReplica = new TppStopListReplica(tppStopListService, true, 60000, 60000, MAX_INSTANCES);
+        when(tppStopListService.getStopListChanges(INSTANCE_ID, null))
+            .thenReturn(buildCmsResponse(new TppStopListChanges(VERSION, true, Collections.<String>emptySet(), Collections.emptySet())));
+        tppStopListReplica.isTppBlocked(BLOCKED_TPP, INSTANCE_ID);
+
+        // When
+        tppStopListReplica.onTppStopListChanged(new TppStopListChangedEvent("bank2"));
+
+        // Then
+        verify(tppStopListService, after(100).never()).getStopListChanges(INSTANCE_ID, VERSION);
+    }
+
+    private void awaitUnblocked(String tppAuthorisationNumber) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + VERIFY_TIMEOUT_MS;
+        while (tppStopListReplica.isTppBlocked(tppAuthorisationNumber, INSTANCE_ID) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static <T> CmsResponse<T> buildCmsResponse(T payload) {
+        return CmsResponse.<T>builder().payload(payload).build();
+    }
+}
@@ -24,9 +24,12 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockHttpServletRequest;
 
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class Xs2aEndpointCheckerTest {
@@ -52,6 +55,23 @@ class Xs2aEndpointCheckerTest {
         assertTrue(actual);
     }
 
+    @Test
+    void resolveXs2aEndpoint_storedInRequestAttribute() {
+        // Given
+        MockHttpServletRequest servletRequest = new MockHttpServletRequest();
+        when(requestPathResolver.resolveRequestPath(servletRequest)).thenReturn(XS2A_ENDPOINT);
+
+        // When
+        Optional<Xs2aEndpoint> actual = xs2aEndpointChecker.resolveXs2aEndpoint(servletRequest);
+        Optional<Xs2aEndpoint> actualSecond = xs2aEndpointChecker.resolveXs2aEndpoint(servletRequest);
+
+        // Then
+        assertEquals(Optional.of(Xs2aEndpoint.ACCOUNTS), actual);
+        assertEquals(actual, actualSecond);
+        assertEquals(Xs2aEndpoint.ACCOUNTS, servletRequest.getAttribute(Xs2aEndpointChecker.XS2A_ENDPOINT_ATTRIBUTE));
+        verify(requestPathResolver, times(1)).resolveRequestPath(servletRequest);
+    }
+
     @Test
     void isXs2aEndpoint_false() {
         // Given
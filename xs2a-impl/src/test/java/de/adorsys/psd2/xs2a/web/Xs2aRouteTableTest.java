@@ -0,0 +1,91 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package de.adorsys.psd2.xs2a.web;
+
+import de.adorsys.psd2.xs2a.config.Xs2aEndpointPathConstant;
+import de.adorsys.psd2.xs2a.core.mapper.ServiceType;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Xs2aRouteTableTest {
+    private static final AntPathMatcher ANT_PATH_MATCHER = new AntPathMatcher();
+    private static final List<String> PATHS = Arrays.asList(
+        "/v1/accounts", "/v1/accounts/", "/v1/accounts/11111-999999999/transactions", "/v1/accountsX", "//v1//accounts",
+        "/v1/trusted-beneficiaries", "/v1/trusted-beneficiaries/", "/v1/trusted-beneficiaries/123",
+        "/v1/card-accounts/123/balances", "/v1/consents/confirmation-of-funds", "/v2/consents/confirmation-of-funds/123/status",
+        "/v1/funds-confirmations", "/v1/payments/sepa-credit-transfers", "/v1/bulk-payments/sepa-credit-transfers/123/authorisations",
+        "/v1/periodic-payments/sepa-credit-transfers/123/status", "/v1/signing-baskets/123",
+        "/v1", "/v1/", "/", "", "v1/accounts", "/v1/gifts", "/v2/accounts", "/v3/consents", "/error", "/api/v1/consents/123");
+
+    @Test
+    void match_sameResultAsAntPathMatcher() {
+        Xs2aRouteTable routeTable = Xs2aRouteTable.compile(Xs2aEndpoint.values());
+
+        for (String path : PATHS) {
+            // When
+            Optional<Xs2aEndpoint> actual = routeTable.match(path);
+
+            // Then
+            Optional<Xs2aEndpoint> expected = Stream.of(Xs2aEndpoint.values())
+                                                  .filter(endpoint -> ANT_PATH_MATCHER.match(endpoint.getPathPattern(), path))
+                                                  .findFirst();
+            assertEquals(expected, actual, path);
+        }
+    }
+
+    @Test
+    void match_allEndpointPathsCovered() {
+        // When
+        String[] actual = Stream.of(Xs2aEndpoint.values())
+                              .map(Xs2aEndpoint::getPathPattern)
+                              .toArray(String[]::new);
+
+        // Then
+        assertArrayEquals(Xs2aEndpointPathConstant.getAllXs2aEndpointPaths(), actual);
+    }
+
+    @Test
+    void match_endpointWithServiceType() {
+        // When
+        Optional<Xs2aEndpoint> actual = Xs2aEndpoint.resolve("/v2/consents/confirmation-of-funds");
+
+        // Then
+        assertEquals(Optional.of(Xs2aEndpoint.CONSENTS_V2), actual);
+        assertEquals(ServiceType.PIIS, actual.get().getServiceType());
+    }
+
+    @Test
+    void compile_subsetOfEndpoints() {
+        // Given
+        Xs2aEndpoint[] endpoints = {Xs2aEndpoint.ACCOUNTS};
+
+        // When
+        Xs2aRouteTable routeTable = Xs2aRouteTable.compile(endpoints);
+
+        // Then
+        assertFalse(routeTable.match("/v1/payments").isPresent());
+        assertTrue(routeTable.match("/v1/accounts").isPresent());
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.web.advice;
+
+import de.adorsys.psd2.mapper.Xs2aObjectMapper;
+import de.adorsys.psd2.mapper.config.ObjectMapperConfig;
+import de.adorsys.psd2.model.Consents;
+import de.adorsys.psd2.xs2a.config.converter.MappingJackson2TextMessageConverter;
+import de.adorsys.psd2.xs2a.config.converter.ParsedBodyHttpInputMessage;
+import de.adorsys.psd2.xs2a.config.converter.ParsedBodyMappingJackson2HttpMessageConverter;
+import de.adorsys.psd2.xs2a.core.error.ErrorType;
+import de.adorsys.psd2.xs2a.core.error.MessageError;
+import de.adorsys.psd2.xs2a.web.validator.body.raw.FieldExtractor;
+import de.adorsys.psd2.xs2a.web.validator.header.ErrorBuildingServiceMock;
+import de.adorsys.xs2a.reader.JsonReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParsedRequestBodyAdviceTest {
+    private static final String CONSENTS_JSON_PATH = "json/validation/ais/consents.json";
+
+    private final JsonReader jsonReader = new JsonReader();
+    private final Xs2aObjectMapper xs2aObjectMapper = new ObjectMapperConfig().xs2aObjectMapper();
+    private final ParsedRequestBodyAdvice parsedRequestBodyAdvice = new ParsedRequestBodyAdvice();
+    private MockHttpServletRequest request;
+    private HttpInputMessage inputMessage;
+
+    @BeforeEach
+    void setUp() {
+        request = new MockHttpServletRequest();
+        request.setContent(jsonReader.getBytesFromFile(CONSENTS_JSON_PATH));
+        inputMessage = new ServletServerHttpRequest(request);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void supports_parsedBodyConverterOnly() {
+        assertTrue(parsedRequestBodyAdvice.supports(null, Consents.class, ParsedBodyMappingJackson2HttpMessageConverter.class));
+        assertFalse(parsedRequestBodyAdvice.supports(null, Consents.class, MappingJackson2HttpMessageConverter.class));
+        assertFalse(parsedRequestBodyAdvice.supports(null, Consents.class, MappingJackson2TextMessageConverter.class));
+    }
+
+    @Test
+    void beforeBodyRead_bodyParsedByValidator_treePassed() throws IOException {
+        // Given
+        FieldExtractor fieldExtractor = new FieldExtractor(new ErrorBuildingServiceMock(ErrorType.AIS_400), xs2aObjectMapper);
+        fieldExtractor.mapBodyToInstance(request, new MessageError(ErrorType.AIS_400), Consents.class);
+
+        // When
+        HttpInputMessage actual = parsedRequestBodyAdvice.beforeBodyRead(inputMessage, null, Consents.class, ParsedBodyMappingJackson2HttpMessageConverter.class);
+
+        // Then
+        assertTrue(actual instanceof ParsedBodyHttpInputMessage);
+        assertEquals(xs2aObjectMapper.readTree(jsonReader.getBytesFromFile(CONSENTS_JSON_PATH)), ((ParsedBodyHttpInputMessage) actual).getParsedTree());
+    }
+
+    @Test
+    void beforeBodyRead_bodyNotParsed_messageUnchanged() {
+        // When
+        HttpInputMessage actual = parsedRequestBodyAdvice.beforeBodyRead(inputMessage, null, Consents.class, ParsedBodyMappingJackson2HttpMessageConverter.class);
+
+        // Then
+        assertSame(inputMessage, actual);
+    }
+
+    @Test
+    void beforeBodyRead_noCurrentRequest_messageUnchanged() {
+        // Given
+        RequestContextHolder.resetRequestAttributes();
+
+        // When
+        HttpInputMessage actual = parsedRequestBodyAdvice.beforeBodyRead(inputMessage, null, Consents.class, ParsedBodyMappingJackson2HttpMessageConverter.class);
+
+        // Then
+        assertSame(inputMessage, actual);
+    }
+}
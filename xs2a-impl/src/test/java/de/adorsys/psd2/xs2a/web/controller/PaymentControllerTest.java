@@ -46,6 +46,7 @@ import de.adorsys.psd2.xs2a.service.mapper.ResponseMapper;
 import de.adorsys.psd2.xs2a.service.mapper.psd2.ResponseErrorMapper;
 import de.adorsys.psd2.xs2a.web.header.PaymentCancellationHeadersBuilder;
 import de.adorsys.psd2.xs2a.web.header.PaymentInitiationHeadersBuilder;
+import de.adorsys.psd2.xs2a.web.header.PaymentStatusHeadersBuilder;
 import de.adorsys.psd2.xs2a.web.header.ResponseHeaders;
 import de.adorsys.psd2.xs2a.web.mapper.*;
 import de.adorsys.xs2a.reader.JsonReader;
@@ -105,6 +106,7 @@ class PaymentControllerTest {
     private static final boolean EXPLICIT_PREFERRED_FALSE = false;
     private static final String PSU_DATA_PASSWORD_JSON_PATH = "json/web/controller/psuData-password.json";
     private static final String PSU_MESSAGE = "PSU message";
+    private static final String PAYMENT_STATUS_ETAG = "\"payment status etag\"";
 
     @InjectMocks
     private PaymentController paymentController;
@@ -145,6 +147,8 @@ class PaymentControllerTest {
     private RequestProviderService requestProviderService;
     @Mock
     private PisPaymentCancellationRequest pisPaymentCancellationRequest;
+    @Mock
+    private PaymentStatusHeadersBuilder paymentStatusHeadersBuilder;
 
     private JsonReader jsonReader = new JsonReader();
 
@@ -200,11 +204,14 @@ class PaymentControllerTest {
     @Test
     void getPaymentInitiationStatus_withJsonContentType_success() {
         // Given
-        doReturn(new ResponseEntity<>(getPaymentInitiationStatus(), HttpStatus.OK))
-            .when(responseMapper).ok(any(), any());
+        GetPaymentStatusResponse paymentStatusResponse = new GetPaymentStatusResponse(TransactionStatus.ACCP, null, MediaType.APPLICATION_JSON, null, PSU_MESSAGE);
+        ResponseHeaders responseHeaders = ResponseHeaders.builder().eTag(PAYMENT_STATUS_ETAG).build();
+        when(paymentStatusHeadersBuilder.buildPaymentStatusHeaders(paymentStatusResponse)).thenReturn(responseHeaders);
+        doReturn(new ResponseEntity<>(getPaymentInitiationStatus(), responseHeaders.getHttpHeaders(), HttpStatus.OK))
+            .when(responseMapper).ok(any(), any(), eq(responseHeaders));
         when(xs2aPaymentService.getPaymentStatusById(SINGLE, PRODUCT, CORRECT_PAYMENT_ID))
             .thenReturn(ResponseObject.<GetPaymentStatusResponse>builder()
-                            .body(new GetPaymentStatusResponse(TransactionStatus.ACCP, null, MediaType.APPLICATION_JSON, null, PSU_MESSAGE))
+                            .body(paymentStatusResponse)
                             .build());
 
         PaymentInitiationStatusResponse200Json expectedBody = getPaymentInitiationStatus();
@@ -223,6 +230,7 @@ class PaymentControllerTest {
         HttpStatus actualHttpStatus = actualResponse.getStatusCode();
         assertThat(actualHttpStatus).isEqualTo(OK);
         assertThat(actualResponse.getBody()).isEqualTo(expectedBody);
+        assertThat(actualResponse.getHeaders().getETag()).isEqualTo(PAYMENT_STATUS_ETAG);
     }
 
     @Test
@@ -230,7 +238,7 @@ class PaymentControllerTest {
         // Given
         byte[] rawPaymentStatus = "some raw value".getBytes();
         doReturn(new ResponseEntity<>(rawPaymentStatus, HttpStatus.OK))
-            .when(responseMapper).ok(any(), any());
+            .when(responseMapper).ok(any(), any(), any());
         when(xs2aPaymentService.getPaymentStatusById(SINGLE, PRODUCT, CORRECT_PAYMENT_ID))
             .thenReturn(ResponseObject.<GetPaymentStatusResponse>builder()
                             .body(new GetPaymentStatusResponse(TransactionStatus.ACCP, null, MediaType.APPLICATION_XML, rawPaymentStatus, PSU_MESSAGE))
@@ -122,4 +122,21 @@ class TppErrorMessageWriterTest {
         assertEquals(PRINT_WRITER, writerArgumentCaptor.getValue());
         assertEquals(errorBody.getBody(), errorBodyArgumentCaptor.getValue());
     }
+
+    @Test
+    void writeError_withHttpStatus_statusOverridden() throws IOException {
+        // Given
+        when(serviceTypeDiscoveryService.getServiceType()).thenReturn(SERVICE_TYPE);
+        TppErrorMessage tppErrorMessage = new TppErrorMessage(MESSAGE_CATEGORY, MESSAGE_ERROR_CODE);
+        MessageError messageError = new MessageError(ErrorType.AIS_400, TppMessageInformation.of(tppErrorMessage.getCategory(), tppErrorMessage.getCode(), tppErrorMessage.getTextParams()));
+        when(errorMapperContainer.getErrorBody(messageError)).thenReturn(ERROR_BODY);
+        when(response.getWriter()).thenReturn(PRINT_WRITER);
+
+        // When
+        tppErrorMessageWriter.writeError(response, HttpStatus.PAYLOAD_TOO_LARGE, tppErrorMessage);
+
+        // Then
+        verify(response).setStatus(HttpStatus.PAYLOAD_TOO_LARGE.value());
+        verify(xs2aObjectMapper).writeValue(PRINT_WRITER, ERROR_BODY.getBody());
+    }
 }
@@ -19,6 +19,8 @@ package de.adorsys.psd2.xs2a.web.filter;
 import de.adorsys.psd2.xs2a.component.MultiReadHttpServletRequest;
 import de.adorsys.psd2.xs2a.component.MultiReadHttpServletResponse;
 import de.adorsys.psd2.xs2a.web.Xs2aEndpointChecker;
+import de.adorsys.psd2.xs2a.web.error.TppErrorMessageWriter;
+import org.apache.commons.io.IOUtils;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -26,8 +28,10 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
@@ -35,9 +39,12 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 
+import static de.adorsys.psd2.xs2a.core.domain.MessageCategory.ERROR;
+import static de.adorsys.psd2.xs2a.core.error.MessageErrorCode.FORMAT_ERROR;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class ContentCachingWrappingFilterTest {
@@ -45,6 +52,8 @@ class ContentCachingWrappingFilterTest {
     private FilterChain filterChain;
     @Mock
     private Xs2aEndpointChecker xs2aEndpointChecker;
+    @Mock
+    private TppErrorMessageWriter tppErrorMessageWriter;
 
     @InjectMocks
     private ContentCachingWrappingFilter contentCachingWrappingFilter;
@@ -71,4 +80,87 @@ class ContentCachingWrappingFilterTest {
         assertTrue(capturedRequest.getValue() instanceof MultiReadHttpServletRequest);
         assertTrue(capturedResponse.getValue() instanceof MultiReadHttpServletResponse);
     }
+
+    @Test
+    void doFilterInternal_bodyTooLarge_shouldWriteError() throws ServletException, IOException {
+        // Given
+        MockHttpServletRequest mockRequest = new MockHttpServletRequest();
+        mockRequest.setContent("{\"some\": \"body\"}".getBytes());
+        MockHttpServletResponse mockResponse = new MockHttpServletResponse();
+        ReflectionTestUtils.setField(contentCachingWrappingFilter, "maxBodySize", 5);
+
+        when(xs2aEndpointChecker.isXs2aEndpoint(mockRequest))
+            .thenReturn(true);
+
+        // When
+        contentCachingWrappingFilter.doFilter(mockRequest, mockResponse, filterChain);
+
+        // Then
+        verify(tppErrorMessageWriter).writeError(mockResponse, HttpStatus.PAYLOAD_TOO_LARGE, new TppErrorMessage(ERROR, FORMAT_ERROR));
+        verify(filterChain, never()).doFilter(any(), any());
+    }
+
+    @Test
+    void doFilterInternal_multipartRequest_bodyNotConsumed() throws ServletException, IOException {
+        // Given
+        byte[] content = "--boundary\r\nContent-Disposition: form-data; name=\"xml_sct\"\r\n\r\n<xml/>\r\n--boundary--".getBytes();
+        MockHttpServletRequest mockRequest = new MockHttpServletRequest();
+        mockRequest.setContentType("multipart/form-data; boundary=boundary");
+        mockRequest.setContent(content);
+        MockHttpServletResponse mockResponse = new MockHttpServletResponse();
+        ReflectionTestUtils.setField(contentCachingWrappingFilter, "maxBodySize", content.length);
+
+        when(xs2aEndpointChecker.isXs2aEndpoint(mockRequest))
+            .thenReturn(true);
+
+        // When
+        contentCachingWrappingFilter.doFilter(mockRequest, mockResponse, filterChain);
+
+        // Then
+        verify(filterChain).doFilter(capturedRequest.capture(), any());
+        assertTrue(capturedRequest.getValue() instanceof MultiReadHttpServletRequest);
+        assertArrayEquals(content, IOUtils.toByteArray(mockRequest.getInputStream()));
+    }
+
+    @Test
+    void doFilterInternal_multipartContentLengthTooLarge_shouldWriteError() throws ServletException, IOException {
+        // Given
+        MockHttpServletRequest mockRequest = new MockHttpServletRequest();
+        mockRequest.setContentType("multipart/form-data; boundary=boundary");
+        mockRequest.setContent("--boundary--".getBytes());
+        MockHttpServletResponse mockResponse = new MockHttpServletResponse();
+        ReflectionTestUtils.setField(contentCachingWrappingFilter, "maxBodySize", 5);
+
+        when(xs2aEndpointChecker.isXs2aEndpoint(mockRequest))
+            .thenReturn(true);
+
+        // When
+        contentCachingWrappingFilter.doFilter(mockRequest, mockResponse, filterChain);
+
+        // Then
+        verify(tppErrorMessageWriter).writeError(mockResponse, HttpStatus.PAYLOAD_TOO_LARGE, new TppErrorMessage(ERROR, FORMAT_ERROR));
+        verify(filterChain, never()).doFilter(any(), any());
+    }
+
+    @Test
+    void doFilterInternal_chunkedMultipartBodyTooLarge_shouldWriteError() throws ServletException, IOException {
+        // Given
+        MockHttpServletRequest mockRequest = spy(new MockHttpServletRequest());
+        mockRequest.setContentType("multipart/form-data; boundary=boundary");
+        mockRequest.setContent("--boundary\r\nContent-Disposition: form-data; name=\"xml_sct\"\r\n\r\n<xml/>\r\n--boundary--".getBytes());
+        doReturn(-1L).when(mockRequest).getContentLengthLong();
+        MockHttpServletResponse mockResponse = new MockHttpServletResponse();
+        ReflectionTestUtils.setField(contentCachingWrappingFilter, "maxBodySize", 5);
+
+        when(xs2aEndpointChecker.isXs2aEndpoint(mockRequest))
+            .thenReturn(true);
+        doAnswer(invocation -> IOUtils.toByteArray(invocation.<HttpServletRequest>getArgument(0).getInputStream()))
+            .when(filterChain).doFilter(any(), any());
+
+        // When
+        contentCachingWrappingFilter.doFilter(mockRequest, mockResponse, filterChain);
+
+        // Then
+        verify(tppErrorMessageWriter).writeError(mockResponse, HttpStatus.PAYLOAD_TOO_LARGE, new TppErrorMessage(ERROR, FORMAT_ERROR));
+    }
 }
@@ -16,12 +16,13 @@
 
 package de.adorsys.psd2.xs2a.web.filter;
 
-import de.adorsys.psd2.consent.api.service.TppService;
+import de.adorsys.psd2.validator.certificate.util.TppCertificateCache;
 import de.adorsys.psd2.validator.certificate.util.TppCertificateData;
 import de.adorsys.psd2.xs2a.core.tpp.TppInfo;
 import de.adorsys.psd2.xs2a.core.tpp.TppRole;
 import de.adorsys.psd2.xs2a.service.RequestProviderService;
 import de.adorsys.psd2.xs2a.service.profile.AspspProfileServiceWrapper;
+import de.adorsys.psd2.xs2a.service.tpp.TppInfoChangeRegistry;
 import de.adorsys.psd2.xs2a.service.validator.tpp.TppInfoHolder;
 import de.adorsys.psd2.xs2a.service.validator.tpp.TppRoleValidationService;
 import de.adorsys.psd2.xs2a.web.Xs2aEndpointChecker;
@@ -33,6 +34,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
@@ -82,13 +84,15 @@ class QwacCertificateFilterTest {
     @Mock
     private TppErrorMessageWriter tppErrorMessageWriter;
     @Mock
-    private TppService tppService;
+    private TppInfoChangeRegistry tppInfoChangeRegistry;
     @Mock
     private AspspProfileServiceWrapper aspspProfileService;
     @Mock
     private Xs2aTppInfoMapper xs2aTppInfoMapper;
     @Mock
     private TppInfoRolesMapper tppInfoRolesMapper;
+    @Spy
+    private TppCertificateCache tppCertificateCache = new TppCertificateCache(10);
 
     @Test
     void doFilter_success() throws IOException, ServletException {
@@ -141,7 +145,7 @@ class QwacCertificateFilterTest {
         verify(chain).doFilter(any(), any());
         verify(tppInfoHolder).setTppInfo(tppInfoArgumentCaptor.capture());
         TppInfo tppInfo = tppInfoArgumentCaptor.getValue();
-        verify(tppService, times(1)).updateTppInfo(tppInfo);
+        verify(tppInfoChangeRegistry, times(1)).updateTppInfo(eq(tppInfo), notNull());
         assertTrue(tppInfo.getTppRoles().containsAll(EnumSet.of(TppRole.AISP, TppRole.PISP, TppRole.PIISP)));
     }
 
@@ -166,7 +170,7 @@ class QwacCertificateFilterTest {
         verify(chain).doFilter(any(), any());
         verify(tppInfoHolder).setTppInfo(tppInfoArgumentCaptor.capture());
         TppInfo tppInfo = tppInfoArgumentCaptor.getValue();
-        verify(tppService, times(1)).updateTppInfo(tppInfo);
+        verify(tppInfoChangeRegistry, times(1)).updateTppInfo(eq(tppInfo), notNull());
         assertEquals(roles, tppInfo.getTppRoles());
     }
 
@@ -206,7 +210,7 @@ class QwacCertificateFilterTest {
         verify(chain).doFilter(any(), any());
         verify(tppInfoHolder).setTppInfo(tppInfoArgumentCaptor.capture());
         TppInfo tppInfo = tppInfoArgumentCaptor.getValue();
-        verify(tppService, never()).updateTppInfo(tppInfo);
+        verify(tppInfoChangeRegistry, never()).updateTppInfo(any(), any());
         assertNull(tppInfo.getTppRoles());
     }
 
@@ -221,6 +225,6 @@ class QwacCertificateFilterTest {
 
         // Then
         verify(chain).doFilter(mockRequest, mockResponse);
-        verifyNoMoreInteractions(requestProviderService, tppService, tppInfoHolder);
+        verifyNoMoreInteractions(requestProviderService, tppInfoChangeRegistry, tppInfoHolder);
     }
 }
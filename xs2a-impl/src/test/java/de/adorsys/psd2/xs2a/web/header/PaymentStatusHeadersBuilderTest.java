@@ -0,0 +1,63 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.web.header;
+
+import de.adorsys.psd2.xs2a.core.pis.TransactionStatus;
+import de.adorsys.psd2.xs2a.domain.pis.GetPaymentStatusResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaymentStatusHeadersBuilderTest {
+    private static final String PSU_MESSAGE = "PSU message";
+
+    private final PaymentStatusHeadersBuilder paymentStatusHeadersBuilder = new PaymentStatusHeadersBuilder();
+
+    @Test
+    void buildPaymentStatusHeaders_sameStatus_sameETag() {
+        // Given
+        GetPaymentStatusResponse paymentStatusResponse = new GetPaymentStatusResponse(TransactionStatus.ACSP, true, MediaType.APPLICATION_JSON, null, PSU_MESSAGE);
+        GetPaymentStatusResponse samePaymentStatusResponse = new GetPaymentStatusResponse(TransactionStatus.ACSP, true, MediaType.APPLICATION_JSON, null, PSU_MESSAGE);
+
+        // When
+        String eTag = paymentStatusHeadersBuilder.buildPaymentStatusHeaders(paymentStatusResponse).getHttpHeaders().getETag();
+        String sameETag = paymentStatusHeadersBuilder.buildPaymentStatusHeaders(samePaymentStatusResponse).getHttpHeaders().getETag();
+
+        // Then
+        assertNotNull(eTag);
+        assertTrue(eTag.startsWith("\"") && eTag.endsWith("\""));
+        assertEquals(eTag, sameETag);
+    }
+
+    @Test
+    void buildPaymentStatusHeaders_changedStatus_differentETag() {
+        // Given
+        GetPaymentStatusResponse paymentStatusResponse = new GetPaymentStatusResponse(TransactionStatus.ACSP, true, MediaType.APPLICATION_JSON, null, PSU_MESSAGE);
+        GetPaymentStatusResponse changedStatusResponse = new GetPaymentStatusResponse(TransactionStatus.ACSC, true, MediaType.APPLICATION_JSON, null, PSU_MESSAGE);
+        GetPaymentStatusResponse changedFundsResponse = new GetPaymentStatusResponse(TransactionStatus.ACSP, false, MediaType.APPLICATION_JSON, null, PSU_MESSAGE);
+        GetPaymentStatusResponse changedRawResponse = new GetPaymentStatusResponse(TransactionStatus.ACSP, true, MediaType.APPLICATION_XML, "raw status".getBytes(), PSU_MESSAGE);
+
+        // When
+        String eTag = paymentStatusHeadersBuilder.buildPaymentStatusHeaders(paymentStatusResponse).getHttpHeaders().getETag();
+
+        // Then
+        assertNotEquals(eTag, paymentStatusHeadersBuilder.buildPaymentStatusHeaders(changedStatusResponse).getHttpHeaders().getETag());
+        assertNotEquals(eTag, paymentStatusHeadersBuilder.buildPaymentStatusHeaders(changedFundsResponse).getHttpHeaders().getETag());
+        assertNotEquals(eTag, paymentStatusHeadersBuilder.buildPaymentStatusHeaders(changedRawResponse).getHttpHeaders().getETag());
+    }
+}
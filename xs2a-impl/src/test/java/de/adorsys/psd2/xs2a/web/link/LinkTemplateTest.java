@@ -0,0 +1,93 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.xs2a.web.link;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LinkTemplateTest {
+    private static final String PAYMENT_SERVICE = "payments";
+    private static final String PAYMENT_PRODUCT = "sepa-credit-transfers";
+    private static final String PAYMENT_ID = "j5drwApSajpoFP1h5_pYxh9ftC4ogs6_6emI06HD6O_pllrbeOyAHl4YXhAXbDTnk0TyKYKH8uiQvSrzLsiMcs_aJzS3dI_tse0HueAjChY=_=_psGLvQpt9Q";
+    private static final String AUTHORISATION_ID = "463318a0-1e33-45d8-8209-e16444b18dda";
+
+    @Test
+    void expand_sameResultAsUriComponentsBuilder() {
+        String[] httpUrls = {"http://localhost:8080", "http://localhost:8080/", "https://xs2a.host:443/context/",
+                             "http://localhost/base?param=value", "/myhost.com", "/relative/"};
+
+        for (String httpUrl : httpUrls) {
+            // When
+            String actual = LinkTemplate.of(httpUrl, UrlHolder.PIS_AUTHORISATION_LINK_URL)
+                                .expand(PAYMENT_SERVICE, PAYMENT_PRODUCT, PAYMENT_ID, AUTHORISATION_ID);
+
+            // Then
+            assertEquals(buildWithUriComponentsBuilder(httpUrl, UrlHolder.PIS_AUTHORISATION_LINK_URL,
+                                                       PAYMENT_SERVICE, PAYMENT_PRODUCT, PAYMENT_ID, AUTHORISATION_ID),
+                         actual, httpUrl);
+        }
+    }
+
+    @Test
+    void expand_nullValue_expandedToEmptyString() {
+        // When
+        String actual = LinkTemplate.of("http://localhost", UrlHolder.ACCOUNT_BALANCES_URL).expand((Object) null);
+
+        // Then
+        assertEquals("http://localhost/v1/accounts//balances", actual);
+    }
+
+    @Test
+    void expand_pathWithoutVariables() {
+        // Given
+        String redirectLink = "/v1/consents/some-consent/authorisations/some-authorisation";
+
+        // When
+        String actual = LinkTemplate.of("http://localhost/", redirectLink).expand();
+
+        // Then
+        assertEquals("http://localhost" + redirectLink, actual);
+    }
+
+    @Test
+    void expand_notEnoughValues_exception() {
+        // Given
+        LinkTemplate linkTemplate = LinkTemplate.of("http://localhost", UrlHolder.PAYMENT_LINK_URL);
+
+        // Then
+        assertThrows(IllegalArgumentException.class, () -> linkTemplate.expand(PAYMENT_SERVICE));
+    }
+
+    @Test
+    void of_templateWithVariables_cached() {
+        // When
+        LinkTemplate first = LinkTemplate.of("http://localhost", UrlHolder.CONSENT_LINK_URL);
+        LinkTemplate second = LinkTemplate.of("http://localhost", UrlHolder.CONSENT_LINK_URL);
+
+        // Then
+        assertSame(first, second);
+    }
+
+    private String buildWithUriComponentsBuilder(String httpUrl, String path, Object... params) {
+        UriComponentsBuilder uriComponentsBuilder = httpUrl.startsWith("/")
+                                                        ? UriComponentsBuilder.fromPath(httpUrl)
+                                                        : UriComponentsBuilder.fromHttpUrl(httpUrl);
+        return uriComponentsBuilder.path(path).buildAndExpand(params).toUriString();
+    }
+}
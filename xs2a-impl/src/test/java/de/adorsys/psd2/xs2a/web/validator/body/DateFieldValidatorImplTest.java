@@ -17,6 +17,7 @@
 package de.adorsys.psd2.xs2a.web.validator.body;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import de.adorsys.psd2.mapper.Xs2aObjectMapper;
 import de.adorsys.psd2.xs2a.core.domain.TppMessageInformation;
 import de.adorsys.psd2.xs2a.core.error.ErrorType;
@@ -34,7 +35,6 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockHttpServletRequest;
 
-import java.io.InputStream;
 import java.util.Collections;
 import java.util.Optional;
 
@@ -71,6 +71,7 @@ class DateFieldValidatorImplTest {
     void setUp() {
         messageError = new MessageError(ErrorType.PIS_400);
         ErrorBuildingService errorService = new ErrorBuildingServiceMock(ErrorType.PIS_400);
+        when(xs2aObjectMapper.reader()).thenReturn(new Xs2aObjectMapper().reader());
         FieldExtractor fieldExtractor = new FieldExtractor(errorService, xs2aObjectMapper);
         validator = new DateFieldValidator(errorService, new LocalDateConverter(), fieldExtractor);
     }
@@ -81,7 +82,7 @@ class DateFieldValidatorImplTest {
         MockHttpServletRequest mockRequest = new MockHttpServletRequest();
 
         // noinspection unchecked
-        when(xs2aObjectMapper.toJsonField(any(InputStream.class), eq(REQUESTED_EXECUTION_DATE_FIELD_NAME), any(TypeReference.class))).thenReturn(Optional.of(WRONG_FORMAT_DATE));
+        when(xs2aObjectMapper.toJsonField(any(JsonNode.class), eq(REQUESTED_EXECUTION_DATE_FIELD_NAME), any(TypeReference.class))).thenReturn(Optional.of(WRONG_FORMAT_DATE));
 
         // When
         validator.validateDateFormat(mockRequest, Collections.singleton(Xs2aRequestBodyDateField.REQUESTED_EXECUTION_DATE), messageError);
@@ -96,7 +97,7 @@ class DateFieldValidatorImplTest {
         MockHttpServletRequest mockRequest = new MockHttpServletRequest();
 
         // noinspection unchecked
-        when(xs2aObjectMapper.toJsonField(any(InputStream.class), eq(REQUESTED_EXECUTION_DATE_FIELD_NAME), any(TypeReference.class)))
+        when(xs2aObjectMapper.toJsonField(any(JsonNode.class), eq(REQUESTED_EXECUTION_DATE_FIELD_NAME), any(TypeReference.class)))
             .thenReturn(Optional.of(CORRECT_FORMAT_DATE));
 
 
@@ -113,7 +114,7 @@ class DateFieldValidatorImplTest {
         MockHttpServletRequest mockRequest = new MockHttpServletRequest();
 
         // noinspection unchecked
-        when(xs2aObjectMapper.toJsonField(any(InputStream.class), eq(REQUESTED_EXECUTION_TIME_FIELD_NAME), any(TypeReference.class)))
+        when(xs2aObjectMapper.toJsonField(any(JsonNode.class), eq(REQUESTED_EXECUTION_TIME_FIELD_NAME), any(TypeReference.class)))
             .thenReturn(Optional.of(WRONG_FORMAT_TIME));
 
         // When
@@ -129,7 +130,7 @@ class DateFieldValidatorImplTest {
         MockHttpServletRequest mockRequest = new MockHttpServletRequest();
 
         // noinspection unchecked
-        when(xs2aObjectMapper.toJsonField(any(InputStream.class), eq(REQUESTED_EXECUTION_TIME_FIELD_NAME), any(TypeReference.class))).thenReturn(Optional.of(CORRECT_FORMAT_TIME));
+        when(xs2aObjectMapper.toJsonField(any(JsonNode.class), eq(REQUESTED_EXECUTION_TIME_FIELD_NAME), any(TypeReference.class))).thenReturn(Optional.of(CORRECT_FORMAT_TIME));
 
         // When
         validator.validateDateFormat(mockRequest, Collections.singleton(Xs2aRequestBodyDateField.REQUESTED_EXECUTION_TIME), messageError);
@@ -144,7 +145,7 @@ class DateFieldValidatorImplTest {
         MockHttpServletRequest mockRequest = new MockHttpServletRequest();
 
         // noinspection unchecked
-        when(xs2aObjectMapper.toJsonField(any(InputStream.class), eq(DAY_OF_EXECUTION_FIELD_NAME), any(TypeReference.class))).thenReturn(Optional.of(WRONG_DAY_OF_MONTH));
+        when(xs2aObjectMapper.toJsonField(any(JsonNode.class), eq(DAY_OF_EXECUTION_FIELD_NAME), any(TypeReference.class))).thenReturn(Optional.of(WRONG_DAY_OF_MONTH));
 
         // When
         validator.validateDayOfExecution(mockRequest, messageError);
@@ -159,7 +160,7 @@ class DateFieldValidatorImplTest {
         MockHttpServletRequest mockRequest = new MockHttpServletRequest();
 
         // noinspection unchecked
-        when(xs2aObjectMapper.toJsonField(any(InputStream.class), eq(DAY_OF_EXECUTION_FIELD_NAME), any(TypeReference.class))).thenReturn(Optional.of(CORRECT_DAY_OF_MONTH));
+        when(xs2aObjectMapper.toJsonField(any(JsonNode.class), eq(DAY_OF_EXECUTION_FIELD_NAME), any(TypeReference.class))).thenReturn(Optional.of(CORRECT_DAY_OF_MONTH));
 
         // When
         validator.validateDayOfExecution(mockRequest, messageError);
@@ -17,6 +17,7 @@
 package de.adorsys.psd2.xs2a.web.validator.body.consent;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import de.adorsys.psd2.mapper.Xs2aObjectMapper;
 import de.adorsys.psd2.model.Consents;
 import de.adorsys.psd2.xs2a.core.domain.TppMessageInformation;
@@ -37,7 +38,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockHttpServletRequest;
 
 import javax.servlet.http.HttpServletRequest;
-import java.io.InputStream;
 import java.util.Optional;
 
 import static de.adorsys.psd2.xs2a.core.error.MessageErrorCode.*;
@@ -76,6 +76,7 @@ class AccountAccessValidatorImplTest {
         messageError = new MessageError(ErrorType.AIS_400);
         request = new MockHttpServletRequest();
         ErrorBuildingService errorService = new ErrorBuildingServiceMock(ErrorType.AIS_400);
+        when(xs2aObjectMapper.reader()).thenReturn(new Xs2aObjectMapper().reader());
         FieldExtractor fieldExtractor = new FieldExtractor(errorService, xs2aObjectMapper);
         dateFieldValidator = new DateFieldValidator(errorService, new LocalDateConverter(), fieldExtractor);
         CurrencyValidator currencyValidator = new CurrencyValidator(errorService);
@@ -181,7 +182,7 @@ class AccountAccessValidatorImplTest {
     @Test
     void validate_validUntilDateWrongValue_wrongFormat_error() {
         // Given
-        when(xs2aObjectMapper.toJsonField(any(InputStream.class), eq(VALID_UNTIL_FIELD_NAME), any(TypeReference.class))).thenReturn(Optional.of(WRONG_FORMAT_DATE));
+        when(xs2aObjectMapper.toJsonField(any(JsonNode.class), eq(VALID_UNTIL_FIELD_NAME), any(TypeReference.class))).thenReturn(Optional.of(WRONG_FORMAT_DATE));
 
         // When
         validator.validate(request, messageError);
@@ -193,7 +194,7 @@ class AccountAccessValidatorImplTest {
     @Test
     void validate_requestedExecutionDateCorrectValue_success() {
         // Given
-        when(xs2aObjectMapper.toJsonField(any(InputStream.class), eq(VALID_UNTIL_FIELD_NAME), any(TypeReference.class))).thenReturn(Optional.of(CORRECT_FORMAT_DATE));
+        when(xs2aObjectMapper.toJsonField(any(JsonNode.class), eq(VALID_UNTIL_FIELD_NAME), any(TypeReference.class))).thenReturn(Optional.of(CORRECT_FORMAT_DATE));
 
         // When
         validator.validate(request, messageError);
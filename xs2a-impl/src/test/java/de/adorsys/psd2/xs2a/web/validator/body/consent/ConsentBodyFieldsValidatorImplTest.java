@@ -43,7 +43,6 @@ import org.springframework.mock.web.MockHttpServletRequest;
 
 import javax.servlet.http.HttpServletRequest;
 import java.io.IOException;
-import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.Map;
@@ -102,7 +101,7 @@ class ConsentBodyFieldsValidatorImplTest {
         accessMap.put("allPsd2", "allAccounts");
 
         // noinspection unchecked
-        when(xs2aObjectMapper.toJsonField(any(InputStream.class), eq(ACCESS_FIELD), any(TypeReference.class)))
+        when(fieldExtractor.extractField(any(HttpServletRequest.class), eq(ACCESS_FIELD), any(TypeReference.class), any(MessageError.class)))
             .thenReturn(Optional.of(accessMap));
 
         // When
@@ -127,7 +126,7 @@ class ConsentBodyFieldsValidatorImplTest {
         accessMap.put(access, "allAccounts");
 
         // noinspection unchecked
-        when(xs2aObjectMapper.toJsonField(any(InputStream.class), eq(ACCESS_FIELD), any(TypeReference.class)))
+        when(fieldExtractor.extractField(any(HttpServletRequest.class), eq(ACCESS_FIELD), any(TypeReference.class), any(MessageError.class)))
             .thenReturn(Optional.of(accessMap));
 
         // When
@@ -151,7 +150,7 @@ class ConsentBodyFieldsValidatorImplTest {
             .thenReturn(messageError);
 
         // noinspection unchecked
-        when(xs2aObjectMapper.toJsonField(any(InputStream.class), eq(ACCESS_FIELD), any(TypeReference.class)))
+        when(fieldExtractor.extractField(any(HttpServletRequest.class), eq(ACCESS_FIELD), any(TypeReference.class), any(MessageError.class)))
             .thenReturn(Optional.empty());
 
         consents = jsonReader.getObjectFromFile("json/validation/ais/consents.json", Consents.class);
@@ -170,7 +169,7 @@ class ConsentBodyFieldsValidatorImplTest {
             .thenReturn(messageError);
 
         // noinspection unchecked
-        when(xs2aObjectMapper.toJsonField(any(InputStream.class), eq(ACCESS_FIELD), any(TypeReference.class)))
+        when(fieldExtractor.extractField(any(HttpServletRequest.class), eq(ACCESS_FIELD), any(TypeReference.class), any(MessageError.class)))
             .thenReturn(Optional.empty());
 
         consents = jsonReader.getObjectFromFile("json/validation/ais/consents.json", Consents.class);
@@ -189,7 +188,7 @@ class ConsentBodyFieldsValidatorImplTest {
             .thenReturn(messageError);
 
         // noinspection unchecked
-        when(xs2aObjectMapper.toJsonField(any(InputStream.class), eq(ACCESS_FIELD), any(TypeReference.class)))
+        when(fieldExtractor.extractField(any(HttpServletRequest.class), eq(ACCESS_FIELD), any(TypeReference.class), any(MessageError.class)))
             .thenReturn(Optional.empty());
 
         consents = jsonReader.getObjectFromFile("json/validation/ais/consents.json", Consents.class);
@@ -208,7 +207,7 @@ class ConsentBodyFieldsValidatorImplTest {
             .thenReturn(messageError);
 
         // noinspection unchecked
-        when(xs2aObjectMapper.toJsonField(any(InputStream.class), eq(ACCESS_FIELD), any(TypeReference.class)))
+        when(fieldExtractor.extractField(any(HttpServletRequest.class), eq(ACCESS_FIELD), any(TypeReference.class), any(MessageError.class)))
             .thenReturn(Optional.empty());
 
         consents = jsonReader.getObjectFromFile("json/validation/ais/consents.json", Consents.class);
@@ -227,7 +226,7 @@ class ConsentBodyFieldsValidatorImplTest {
             .thenReturn(messageError);
 
         // noinspection unchecked
-        when(xs2aObjectMapper.toJsonField(any(InputStream.class), eq(ACCESS_FIELD), any(TypeReference.class)))
+        when(fieldExtractor.extractField(any(HttpServletRequest.class), eq(ACCESS_FIELD), any(TypeReference.class), any(MessageError.class)))
             .thenReturn(Optional.empty());
 
         consents = jsonReader.getObjectFromFile("json/validation/ais/consents.json", Consents.class);
@@ -245,7 +244,7 @@ class ConsentBodyFieldsValidatorImplTest {
             .thenReturn(messageError);
 
         // noinspection unchecked
-        when(xs2aObjectMapper.toJsonField(any(InputStream.class), eq(ACCESS_FIELD), any(TypeReference.class)))
+        when(fieldExtractor.extractField(any(HttpServletRequest.class), eq(ACCESS_FIELD), any(TypeReference.class), any(MessageError.class)))
             .thenReturn(Optional.empty());
 
         consents = jsonReader.getObjectFromFile("json/validation/ais/consents.json", Consents.class);
@@ -268,7 +267,7 @@ class ConsentBodyFieldsValidatorImplTest {
         accessMap.put(access, value);
 
         // noinspection unchecked
-        when(xs2aObjectMapper.toJsonField(any(InputStream.class), eq("access"), any(TypeReference.class)))
+        when(fieldExtractor.extractField(any(HttpServletRequest.class), eq("access"), any(TypeReference.class), any(MessageError.class)))
             .thenReturn(Optional.of(accessMap));
 
         // When
@@ -297,7 +296,7 @@ class ConsentBodyFieldsValidatorImplTest {
         accessMap.put(access, 1);
 
         // noinspection unchecked
-        when(xs2aObjectMapper.toJsonField(any(InputStream.class), eq("access"), any(TypeReference.class)))
+        when(fieldExtractor.extractField(any(HttpServletRequest.class), eq("access"), any(TypeReference.class), any(MessageError.class)))
             .thenReturn(Optional.of(accessMap));
 
         // When
@@ -319,6 +318,11 @@ class ConsentBodyFieldsValidatorImplTest {
     void validate_exceptionOnGettingInputStream_error() throws IOException {
         // Given
         HttpServletRequest malformedRequest = mock(HttpServletRequest.class);
+        ErrorBuildingService errorBuildingServiceMock = new ErrorBuildingServiceMock(ErrorType.AIS_400);
+        validator =
+            new ConsentBodyFieldsValidatorImpl(errorBuildingServiceMock, xs2aObjectMapper, tppRedirectUriBodyValidator,
+                                               dateFieldValidator, new FieldExtractor(errorBuildingServiceMock, new Xs2aObjectMapper()),
+                                               new FieldLengthValidator(errorBuildingServiceMock));
 
         when(dateFieldValidator.validateDateFormat(malformedRequest, Xs2aRequestBodyDateFields.AIS_CONSENT_DATE_FIELDS.getDateFields(), messageError))
             .thenReturn(messageError);
@@ -340,7 +344,7 @@ class ConsentBodyFieldsValidatorImplTest {
             .thenReturn(new MessageError(ErrorType.AIS_400, TppMessageInformation.of(MessageErrorCode.FORMAT_ERROR_WRONG_FORMAT_DATE_FIELD, "validUntil", "ISO_DATE", "YYYY-MM-DD")));
 
         // noinspection unchecked
-        when(xs2aObjectMapper.toJsonField(any(InputStream.class), eq(ACCESS_FIELD), any(TypeReference.class)))
+        when(fieldExtractor.extractField(any(HttpServletRequest.class), eq(ACCESS_FIELD), any(TypeReference.class), any(MessageError.class)))
             .thenReturn(Optional.empty());
 
         // When
@@ -357,7 +361,7 @@ class ConsentBodyFieldsValidatorImplTest {
             .thenReturn(messageError);
 
         // noinspection unchecked
-        when(xs2aObjectMapper.toJsonField(any(InputStream.class), eq(ACCESS_FIELD), any(TypeReference.class)))
+        when(fieldExtractor.extractField(any(HttpServletRequest.class), eq(ACCESS_FIELD), any(TypeReference.class), any(MessageError.class)))
             .thenReturn(Optional.empty());
 
         consents = jsonReader.getObjectFromFile("json/validation/ais/consents.json", Consents.class);
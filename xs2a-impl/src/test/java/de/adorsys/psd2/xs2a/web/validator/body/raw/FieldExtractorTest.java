@@ -37,7 +37,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 class FieldExtractorTest {
     private static final String FIELD_NAME = "endToEndIdentification";
@@ -122,6 +122,51 @@ class FieldExtractorTest {
         assertTrue(actualResult.isEmpty());
     }
 
+    @Test
+    void extract_multipleFields_bodyParsedOnce() throws IOException {
+        // Given
+        HttpServletRequest spiedRequest = Mockito.spy(mockRequest);
+
+        // When
+        fieldExtractor.extractField(spiedRequest, FIELD_NAME, messageError);
+        fieldExtractor.extractOptionalField(spiedRequest, FIELD_NAME);
+        fieldExtractor.extractList(spiedRequest, CURRENCY_FIELD_NAME, messageError);
+        Optional<Object> body = fieldExtractor.mapBodyToInstance(spiedRequest, messageError, Object.class);
+
+        // Then
+        verify(spiedRequest, times(1)).getInputStream();
+        assertTrue(body.isPresent());
+        assertSame(ParsedRequestBody.get(spiedRequest), fieldExtractor.getParsedBody(spiedRequest));
+        assertTrue(messageError.getTppMessages().isEmpty());
+    }
+
+    @Test
+    void mapBodyToInstance_invalidJson_error() {
+        // Given
+        mockRequest.setContent("{\"endToEndIdentification\": ".getBytes(StandardCharsets.UTF_8));
+
+        // When
+        Optional<Object> actualResult = fieldExtractor.mapBodyToInstance(mockRequest, messageError, Object.class);
+
+        // Then
+        assertFalse(actualResult.isPresent());
+        assertEquals(DESERIALIZATION_ERROR, messageError);
+        assertFalse(fieldExtractor.extractOptionalField(mockRequest, FIELD_NAME).isPresent());
+    }
+
+    @Test
+    void mapBodyToInstance_emptyBody_error() {
+        // Given
+        mockRequest.setContent(new byte[0]);
+
+        // When
+        Optional<Object> actualResult = fieldExtractor.mapBodyToInstance(mockRequest, messageError, Object.class);
+
+        // Then
+        assertFalse(actualResult.isPresent());
+        assertEquals(DESERIALIZATION_ERROR, messageError);
+    }
+
     private List<String> getCurrencyList() {
         List<String> currencyList = new ArrayList<>();
         currencyList.add("EUR");
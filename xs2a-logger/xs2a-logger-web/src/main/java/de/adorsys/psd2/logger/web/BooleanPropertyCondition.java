@@ -0,0 +1,37 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.logger.web;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+/**
+ * Matches if the boolean property is set to <code>true</code>, or is absent and enabled by default.
+ * Used for beans of REST client configurations, as XS2A libraries can't rely on Spring Boot conditions.
+ */
+@RequiredArgsConstructor
+public abstract class BooleanPropertyCondition implements Condition {
+    private final String propertyName;
+    private final boolean enabledByDefault;
+
+    @Override
+    public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        return context.getEnvironment().getProperty(propertyName, Boolean.class, enabledByDefault);
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2018-2020 adorsys GmbH & Co KG
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package de.adorsys.psd2.logger.web;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates request factories for REST templates, that XS2A uses to call CMS and ASPSP profile.
+ * <p>
+ * Pooled request factories require Apache HttpClient on the classpath.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ClientHttpRequestFactories {
+
+    /**
+     * Creates request factory, that opens new connection for every request
+     *
+     * @param connectionTimeout connection timeout in milliseconds
+     * @param readTimeout       read timeout in milliseconds
+     * @return request factory
+     */
+    public static ClientHttpRequestFactory simple(int connectionTimeout, int readTimeout) {
+        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+        factory.setReadTimeout(readTimeout);
+        factory.setConnectTimeout(connectionTimeout);
+        return factory;
+    }
+
+    /**
+     * Creates pool of connections for {@link #pooled(PoolingHttpClientConnectionManager, int, int, long, boolean)}
+     *
+     * @param maxConnectionsTotal    maximum number of connections in the pool
+     * @param maxConnectionsPerRoute maximum number of connections per route
+     * @return connection manager, that has to be closed by the caller
+     */
+    public static PoolingHttpClientConnectionManager connectionManager(int maxConnectionsTotal, int maxConnectionsPerRoute) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxConnectionsTotal);
+        connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+        return connectionManager;
+    }
+
+    /**
+     * Creates request factory, that keeps connections alive in the given pool. Expired and idle connections are evicted
+     * in background.
+     *
+     * @param connectionManager  pool of connections
+     * @param connectionTimeout  timeout in milliseconds for establishing connection and for leasing it from the pool
+     * @param readTimeout        read timeout in milliseconds
+     * @param keepAlive          maximum time in milliseconds idle connection is kept alive
+     * @param compressionEnabled whether gzip compressed responses should be requested
+     * @return request factory
+     */
+    public static ClientHttpRequestFactory pooled(PoolingHttpClientConnectionManager connectionManager, int connectionTimeout,
+                                                  int readTimeout, long keepAlive, boolean compressionEnabled) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                                          .setConnectTimeout(connectionTimeout)
+                                          .setConnectionRequestTimeout(connectionTimeout)
+                                          .setSocketTimeout(readTimeout)
+                                          .build();
+        HttpClientBuilder httpClientBuilder = HttpClients.custom()
+                                                  .setConnectionManager(connectionManager)
+                                                  .setDefaultRequestConfig(requestConfig)
+                                                  .setKeepAliveStrategy((response, context) -> {
+                                                      long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                                                      return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAlive) : keepAlive;
+                                                  })
+                                                  .evictExpiredConnections()
+                                                  .evictIdleConnections(keepAlive, TimeUnit.MILLISECONDS);
+        if (!compressionEnabled) {
+            httpClientBuilder.disableContentCompression();
+        }
+        return new HttpComponentsClientHttpRequestFactory(httpClientBuilder.build());
+    }
+}
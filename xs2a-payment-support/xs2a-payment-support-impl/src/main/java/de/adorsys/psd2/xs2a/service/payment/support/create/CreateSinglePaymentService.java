@@ -20,7 +20,7 @@ import de.adorsys.psd2.xs2a.domain.pis.PaymentInitiationParameters;
 import de.adorsys.psd2.xs2a.domain.pis.SinglePayment;
 import de.adorsys.psd2.xs2a.service.RequestProviderService;
 import de.adorsys.psd2.xs2a.service.authorization.AuthorisationMethodDecider;
-import de.adorsys.psd2.xs2a.service.authorization.pis.PisScaAuthorisationServiceResolver;
+import de.adorsys.psd2.xs2a.service.authorization.pis.PisAuthorisationService;
 import de.adorsys.psd2.xs2a.service.consent.Xs2aPisCommonPaymentService;
 import de.adorsys.psd2.xs2a.service.mapper.cms_xs2a_mappers.Xs2aPisCommonPaymentMapper;
 import de.adorsys.psd2.xs2a.service.mapper.cms_xs2a_mappers.Xs2aToCmsPisCommonPaymentRequestMapper;
@@ -36,14 +36,14 @@ public class CreateSinglePaymentService extends AbstractCreatePaymentService<Sin
 
     @Autowired
     public CreateSinglePaymentService(Xs2aPisCommonPaymentService pisCommonPaymentService,
-                                      PisScaAuthorisationServiceResolver pisScaAuthorisationServiceResolver,
+                                      PisAuthorisationService pisAuthorisationService,
                                       AuthorisationMethodDecider authorisationMethodDecider,
                                       Xs2aPisCommonPaymentMapper xs2aPisCommonPaymentMapper,
                                       Xs2aToCmsPisCommonPaymentRequestMapper xs2aToCmsPisCommonPaymentRequestMapper,
                                       SinglePaymentInitiationService paymentInitiationService,
                                       RequestProviderService requestProviderService,
                                       RawToXs2aPaymentMapper rawToXs2aPaymentMapper) {
-        super(pisCommonPaymentService, pisScaAuthorisationServiceResolver, authorisationMethodDecider,
+        super(pisCommonPaymentService, pisAuthorisationService, authorisationMethodDecider,
               xs2aPisCommonPaymentMapper, xs2aToCmsPisCommonPaymentRequestMapper, paymentInitiationService, requestProviderService);
         this.rawToXs2aPaymentMapper = rawToXs2aPaymentMapper;
     }
@@ -17,7 +17,11 @@
 
 package de.adorsys.psd2.xs2a.service.payment.support.create;
 
+import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationRequest;
+import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationResponse;
 import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentResponse;
+import de.adorsys.psd2.consent.api.pis.InitiatePisCommonPaymentRequest;
+import de.adorsys.psd2.consent.api.pis.InitiatePisCommonPaymentResponse;
 import de.adorsys.psd2.consent.api.pis.proto.PisPaymentInfo;
 import de.adorsys.psd2.xs2a.core.domain.ErrorHolder;
 import de.adorsys.psd2.xs2a.core.domain.TppMessageInformation;
@@ -36,8 +40,7 @@ import de.adorsys.psd2.xs2a.domain.consent.Xs2aPisCommonPayment;
 import de.adorsys.psd2.xs2a.domain.pis.*;
 import de.adorsys.psd2.xs2a.service.RequestProviderService;
 import de.adorsys.psd2.xs2a.service.authorization.AuthorisationMethodDecider;
-import de.adorsys.psd2.xs2a.service.authorization.pis.PisScaAuthorisationService;
-import de.adorsys.psd2.xs2a.service.authorization.pis.PisScaAuthorisationServiceResolver;
+import de.adorsys.psd2.xs2a.service.authorization.pis.PisAuthorisationService;
 import de.adorsys.psd2.xs2a.service.consent.Xs2aPisCommonPaymentService;
 import de.adorsys.psd2.xs2a.service.mapper.cms_xs2a_mappers.Xs2aPisCommonPaymentMapper;
 import de.adorsys.psd2.xs2a.service.mapper.cms_xs2a_mappers.Xs2aToCmsPisCommonPaymentRequestMapper;
@@ -73,6 +76,12 @@ class CreateBulkPaymentServiceTest {
     private static final PaymentInitiationParameters PARAM = buildPaymentInitiationParameters();
     private static final CreatePisCommonPaymentResponse PIS_COMMON_PAYMENT_RESPONSE = new CreatePisCommonPaymentResponse(PAYMENT_ID, null);
     private static final PisPaymentInfo PAYMENT_INFO = buildPisPaymentInfoRequest();
+    private static final CreateAuthorisationRequest CREATE_AUTHORISATION_REQUEST = new CreateAuthorisationRequest(null, null, null);
+    private static final CreateAuthorisationResponse CREATE_AUTHORISATION_RESPONSE = new CreateAuthorisationResponse("authorisation id", null, null, null);
+    private static final InitiatePisCommonPaymentRequest INITIATE_PAYMENT_REQUEST = new InitiatePisCommonPaymentRequest(PAYMENT_INFO, null, null);
+    private static final InitiatePisCommonPaymentResponse INITIATE_PAYMENT_RESPONSE = new InitiatePisCommonPaymentResponse(PIS_COMMON_PAYMENT_RESPONSE, null);
+    private static final InitiatePisCommonPaymentRequest INITIATE_PAYMENT_IMPLICIT_REQUEST = new InitiatePisCommonPaymentRequest(PAYMENT_INFO, null, CREATE_AUTHORISATION_REQUEST);
+    private static final InitiatePisCommonPaymentResponse INITIATE_PAYMENT_IMPLICIT_RESPONSE = new InitiatePisCommonPaymentResponse(PIS_COMMON_PAYMENT_RESPONSE, CREATE_AUTHORISATION_RESPONSE);
     private static final Xs2aCreatePisAuthorisationResponse CREATE_PIS_AUTHORISATION_RESPONSE = new Xs2aCreatePisAuthorisationResponse(null, null, null, null, null, null);
     private static final String INTERNAL_REQUEST_ID = "5c2d5564-367f-4e03-a621-6bef76fa4208";
     private static final byte[] PAYMENT_BODY = "some payment body".getBytes();
@@ -85,9 +94,7 @@ class CreateBulkPaymentServiceTest {
     @Mock
     private Xs2aPisCommonPaymentService pisCommonPaymentService;
     @Mock
-    private PisScaAuthorisationService pisScaAuthorisationService;
-    @Mock
-    private PisScaAuthorisationServiceResolver pisScaAuthorisationServiceResolver;
+    private PisAuthorisationService pisAuthorisationService;
     @Mock
     private Xs2aPisCommonPaymentMapper xs2aPisCommonPaymentMapper;
     @Mock
@@ -112,7 +119,7 @@ class CreateBulkPaymentServiceTest {
         // Given
         BulkPaymentInitiationResponse buildBulkPaymentInitiationResponse = buildBulkPaymentInitiationResponse(initialSpiAspspConsentDataProvider);
         when(bulkPaymentInitiationService.initiatePayment(any(BulkPayment.class), eq(PAYMENT_PRODUCT), eq(PSU_DATA))).thenReturn(buildBulkPaymentInitiationResponse);
-        when(pisCommonPaymentService.createCommonPayment(PAYMENT_INFO)).thenReturn(PIS_COMMON_PAYMENT_RESPONSE);
+        when(pisCommonPaymentService.initiateCommonPayment(INITIATE_PAYMENT_REQUEST)).thenReturn(INITIATE_PAYMENT_RESPONSE);
         when(xs2aPisCommonPaymentMapper.mapToXs2aPisCommonPayment(PIS_COMMON_PAYMENT_RESPONSE, PSU_DATA)).thenReturn(PIS_COMMON_PAYMENT);
         when(xs2aToCmsPisCommonPaymentRequestMapper.mapToPisPaymentInfo(any(PisPaymentInfoCreationObject.class))).thenReturn(PAYMENT_INFO);
         when(requestProviderService.getInternalRequestIdString()).thenReturn(INTERNAL_REQUEST_ID);
@@ -147,7 +154,7 @@ class CreateBulkPaymentServiceTest {
         // Given
         BulkPaymentInitiationResponse buildBulkPaymentInitiationResponse = buildBulkPaymentInitiationResponse(initialSpiAspspConsentDataProvider);
         when(bulkPaymentInitiationService.initiatePayment(any(BulkPayment.class), eq(PAYMENT_PRODUCT), eq(PSU_DATA))).thenReturn(buildBulkPaymentInitiationResponse);
-        when(pisCommonPaymentService.createCommonPayment(PAYMENT_INFO)).thenReturn(PIS_COMMON_PAYMENT_RESPONSE);
+        when(pisCommonPaymentService.initiateCommonPayment(INITIATE_PAYMENT_REQUEST)).thenReturn(INITIATE_PAYMENT_RESPONSE);
         when(xs2aPisCommonPaymentMapper.mapToXs2aPisCommonPayment(PIS_COMMON_PAYMENT_RESPONSE, PSU_DATA)).thenReturn(PIS_COMMON_PAYMENT);
         when(xs2aToCmsPisCommonPaymentRequestMapper.mapToPisPaymentInfo(any(PisPaymentInfoCreationObject.class))).thenReturn(PAYMENT_INFO);
         when(requestProviderService.getInternalRequestIdString()).thenReturn(INTERNAL_REQUEST_ID);
@@ -164,20 +171,20 @@ class CreateBulkPaymentServiceTest {
     }
 
     @Test
-    void createPayment_pisScaAuthorisationService_createCommonPaymentAuthorisation_fail() {
+    void createPayment_authorisationNotCreated_fail() {
         // Given
         BulkPaymentInitiationResponse buildBulkPaymentInitiationResponse = buildBulkPaymentInitiationResponse(initialSpiAspspConsentDataProvider);
         when(bulkPaymentInitiationService.initiatePayment(any(BulkPayment.class), eq(PAYMENT_PRODUCT), eq(PSU_DATA))).thenReturn(buildBulkPaymentInitiationResponse);
-        when(pisCommonPaymentService.createCommonPayment(PAYMENT_INFO)).thenReturn(PIS_COMMON_PAYMENT_RESPONSE);
+        when(pisCommonPaymentService.initiateCommonPayment(INITIATE_PAYMENT_IMPLICIT_REQUEST)).thenReturn(INITIATE_PAYMENT_IMPLICIT_RESPONSE);
         when(xs2aPisCommonPaymentMapper.mapToXs2aPisCommonPayment(PIS_COMMON_PAYMENT_RESPONSE, PSU_DATA)).thenReturn(PIS_COMMON_PAYMENT);
         when(xs2aToCmsPisCommonPaymentRequestMapper.mapToPisPaymentInfo(any(PisPaymentInfoCreationObject.class))).thenReturn(PAYMENT_INFO);
         when(requestProviderService.getInternalRequestIdString()).thenReturn(INTERNAL_REQUEST_ID);
 
         when(authorisationMethodDecider.isImplicitMethod(false, false))
             .thenReturn(true);
-        when(pisScaAuthorisationServiceResolver.getService())
-            .thenReturn(pisScaAuthorisationService);
-        when(pisScaAuthorisationService.createCommonPaymentAuthorisation(PAYMENT_ID, PaymentType.BULK, PARAM.getPsuData()))
+        when(pisAuthorisationService.buildCreateAuthorisationRequest(PARAM.getPsuData()))
+            .thenReturn(CREATE_AUTHORISATION_REQUEST);
+        when(xs2aPisCommonPaymentMapper.mapToXsa2CreatePisAuthorisationResponse(CREATE_AUTHORISATION_RESPONSE, PaymentType.BULK))
             .thenReturn(Optional.empty());
 
         //When
@@ -193,7 +200,7 @@ class CreateBulkPaymentServiceTest {
         // Given
         BulkPaymentInitiationResponse buildBulkPaymentInitiationResponse = buildBulkPaymentInitiationResponse(initialSpiAspspConsentDataProvider);
         when(bulkPaymentInitiationService.initiatePayment(any(BulkPayment.class), eq(PAYMENT_PRODUCT), eq(PSU_DATA))).thenReturn(buildBulkPaymentInitiationResponse);
-        when(pisCommonPaymentService.createCommonPayment(PAYMENT_INFO)).thenReturn(PIS_COMMON_PAYMENT_RESPONSE);
+        when(pisCommonPaymentService.initiateCommonPayment(INITIATE_PAYMENT_IMPLICIT_REQUEST)).thenReturn(INITIATE_PAYMENT_IMPLICIT_RESPONSE);
         when(xs2aPisCommonPaymentMapper.mapToXs2aPisCommonPayment(PIS_COMMON_PAYMENT_RESPONSE, PSU_DATA)).thenReturn(PIS_COMMON_PAYMENT);
         when(xs2aToCmsPisCommonPaymentRequestMapper.mapToPisPaymentInfo(any(PisPaymentInfoCreationObject.class))).thenReturn(PAYMENT_INFO);
         when(requestProviderService.getInternalRequestIdString()).thenReturn(INTERNAL_REQUEST_ID);
@@ -201,9 +208,9 @@ class CreateBulkPaymentServiceTest {
         BulkPaymentInitiationResponse expectedResponse = buildBulkPaymentInitiationResponse(initialSpiAspspConsentDataProvider);
         when(authorisationMethodDecider.isImplicitMethod(false, false))
             .thenReturn(true);
-        when(pisScaAuthorisationServiceResolver.getService())
-            .thenReturn(pisScaAuthorisationService);
-        when(pisScaAuthorisationService.createCommonPaymentAuthorisation(PAYMENT_ID, PaymentType.BULK, PARAM.getPsuData()))
+        when(pisAuthorisationService.buildCreateAuthorisationRequest(PARAM.getPsuData()))
+            .thenReturn(CREATE_AUTHORISATION_REQUEST);
+        when(xs2aPisCommonPaymentMapper.mapToXsa2CreatePisAuthorisationResponse(CREATE_AUTHORISATION_RESPONSE, PaymentType.BULK))
             .thenReturn(Optional.of(CREATE_PIS_AUTHORISATION_RESPONSE));
 
         //When
@@ -18,7 +18,11 @@
 package de.adorsys.psd2.xs2a.service.payment.support.create;
 
 import de.adorsys.psd2.consent.api.AspspDataService;
+import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationRequest;
+import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationResponse;
 import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentResponse;
+import de.adorsys.psd2.consent.api.pis.InitiatePisCommonPaymentRequest;
+import de.adorsys.psd2.consent.api.pis.InitiatePisCommonPaymentResponse;
 import de.adorsys.psd2.consent.api.pis.proto.PisPaymentInfo;
 import de.adorsys.psd2.xs2a.core.domain.ErrorHolder;
 import de.adorsys.psd2.xs2a.core.domain.TppMessageInformation;
@@ -40,8 +44,7 @@ import de.adorsys.psd2.xs2a.domain.pis.PeriodicPayment;
 import de.adorsys.psd2.xs2a.domain.pis.PeriodicPaymentInitiationResponse;
 import de.adorsys.psd2.xs2a.service.RequestProviderService;
 import de.adorsys.psd2.xs2a.service.authorization.AuthorisationMethodDecider;
-import de.adorsys.psd2.xs2a.service.authorization.pis.PisScaAuthorisationService;
-import de.adorsys.psd2.xs2a.service.authorization.pis.PisScaAuthorisationServiceResolver;
+import de.adorsys.psd2.xs2a.service.authorization.pis.PisAuthorisationService;
 import de.adorsys.psd2.xs2a.service.consent.Xs2aPisCommonPaymentService;
 import de.adorsys.psd2.xs2a.service.mapper.cms_xs2a_mappers.Xs2aPisCommonPaymentMapper;
 import de.adorsys.psd2.xs2a.service.mapper.cms_xs2a_mappers.Xs2aToCmsPisCommonPaymentRequestMapper;
@@ -63,6 +66,7 @@ import java.util.Currency;
 import java.util.Optional;
 
 import static de.adorsys.psd2.xs2a.core.pis.TransactionStatus.RCVD;
+import static org.apache.commons.lang3.ArrayUtils.EMPTY_BYTE_ARRAY;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -81,6 +85,12 @@ class CreatePeriodicPaymentTest {
     private static final PaymentInitiationParameters PARAM = buildPaymentInitiationParameters();
     private static final CreatePisCommonPaymentResponse PIS_COMMON_PAYMENT_RESPONSE = new CreatePisCommonPaymentResponse(PAYMENT_ID, null);
     private static final PisPaymentInfo PAYMENT_INFO = buildPisPaymentInfoRequest();
+    private static final CreateAuthorisationRequest CREATE_AUTHORISATION_REQUEST = new CreateAuthorisationRequest(null, null, null);
+    private static final CreateAuthorisationResponse CREATE_AUTHORISATION_RESPONSE = new CreateAuthorisationResponse("authorisation id", null, null, null);
+    private static final InitiatePisCommonPaymentRequest INITIATE_PAYMENT_REQUEST = new InitiatePisCommonPaymentRequest(PAYMENT_INFO, EMPTY_BYTE_ARRAY, null);
+    private static final InitiatePisCommonPaymentResponse INITIATE_PAYMENT_RESPONSE = new InitiatePisCommonPaymentResponse(PIS_COMMON_PAYMENT_RESPONSE, null);
+    private static final InitiatePisCommonPaymentRequest INITIATE_PAYMENT_IMPLICIT_REQUEST = new InitiatePisCommonPaymentRequest(PAYMENT_INFO, EMPTY_BYTE_ARRAY, CREATE_AUTHORISATION_REQUEST);
+    private static final InitiatePisCommonPaymentResponse INITIATE_PAYMENT_IMPLICIT_RESPONSE = new InitiatePisCommonPaymentResponse(PIS_COMMON_PAYMENT_RESPONSE, CREATE_AUTHORISATION_RESPONSE);
     private static final String PAYMENT_PRODUCT = "sepa-credit-transfers";
     private final Xs2aPisCommonPayment PIS_COMMON_PAYMENT_FAIL = new Xs2aPisCommonPayment(null, PSU_ID_DATA);
     private static final Xs2aCreatePisAuthorisationResponse CREATE_PIS_AUTHORISATION_RESPONSE = new Xs2aCreatePisAuthorisationResponse(null, null, null, null, null, null);
@@ -106,9 +116,7 @@ class CreatePeriodicPaymentTest {
     private PeriodicPaymentInitiationResponse periodicPaymentInitiationResponse;
 
     @Mock
-    private PisScaAuthorisationServiceResolver pisScaAuthorisationServiceResolver;
-    @Mock
-    private PisScaAuthorisationService pisScaAuthorisationService;
+    private PisAuthorisationService pisAuthorisationService;
     @Mock
     private RequestProviderService requestProviderService;
     @Mock
@@ -124,7 +132,7 @@ class CreatePeriodicPaymentTest {
     void createPayment_success() {
         // Given
         when(periodicPaymentInitiationService.initiatePayment(any(PeriodicPayment.class), eq(PAYMENT_PRODUCT), eq(PSU_ID_DATA))).thenReturn(periodicPaymentInitiationResponse);
-        when(pisCommonPaymentService.createCommonPayment(PAYMENT_INFO)).thenReturn(PIS_COMMON_PAYMENT_RESPONSE);
+        when(pisCommonPaymentService.initiateCommonPayment(INITIATE_PAYMENT_REQUEST)).thenReturn(INITIATE_PAYMENT_RESPONSE);
         when(xs2aPisCommonPaymentMapper.mapToXs2aPisCommonPayment(PIS_COMMON_PAYMENT_RESPONSE, PARAM.getPsuData())).thenReturn(PIS_COMMON_PAYMENT);
         when(xs2aToCmsPisCommonPaymentRequestMapper.mapToPisPaymentInfo(any(PisPaymentInfoCreationObject.class))).thenReturn(PAYMENT_INFO);
         when(requestProviderService.getInternalRequestIdString()).thenReturn(INTERNAL_REQUEST_ID);
@@ -158,7 +166,7 @@ class CreatePeriodicPaymentTest {
     void createPayment_emptyPaymentId_fail() {
         // Given
         when(periodicPaymentInitiationService.initiatePayment(any(PeriodicPayment.class), eq(PAYMENT_PRODUCT), eq(PSU_ID_DATA))).thenReturn(periodicPaymentInitiationResponse);
-        when(pisCommonPaymentService.createCommonPayment(PAYMENT_INFO)).thenReturn(PIS_COMMON_PAYMENT_RESPONSE);
+        when(pisCommonPaymentService.initiateCommonPayment(INITIATE_PAYMENT_REQUEST)).thenReturn(INITIATE_PAYMENT_RESPONSE);
         when(xs2aPisCommonPaymentMapper.mapToXs2aPisCommonPayment(PIS_COMMON_PAYMENT_RESPONSE, PARAM.getPsuData())).thenReturn(PIS_COMMON_PAYMENT);
         when(xs2aToCmsPisCommonPaymentRequestMapper.mapToPisPaymentInfo(any(PisPaymentInfoCreationObject.class))).thenReturn(PAYMENT_INFO);
         when(requestProviderService.getInternalRequestIdString()).thenReturn(INTERNAL_REQUEST_ID);
@@ -178,16 +186,16 @@ class CreatePeriodicPaymentTest {
     void createPayment_authorisationMethodDecider_isImplicitMethod_fail() {
         // Given
         when(periodicPaymentInitiationService.initiatePayment(any(PeriodicPayment.class), eq(PAYMENT_PRODUCT), eq(PSU_ID_DATA))).thenReturn(periodicPaymentInitiationResponse);
-        when(pisCommonPaymentService.createCommonPayment(PAYMENT_INFO)).thenReturn(PIS_COMMON_PAYMENT_RESPONSE);
+        when(pisCommonPaymentService.initiateCommonPayment(INITIATE_PAYMENT_IMPLICIT_REQUEST)).thenReturn(INITIATE_PAYMENT_IMPLICIT_RESPONSE);
         when(xs2aPisCommonPaymentMapper.mapToXs2aPisCommonPayment(PIS_COMMON_PAYMENT_RESPONSE, PARAM.getPsuData())).thenReturn(PIS_COMMON_PAYMENT);
         when(xs2aToCmsPisCommonPaymentRequestMapper.mapToPisPaymentInfo(any(PisPaymentInfoCreationObject.class))).thenReturn(PAYMENT_INFO);
         when(requestProviderService.getInternalRequestIdString()).thenReturn(INTERNAL_REQUEST_ID);
 
         when(authorisationMethodDecider.isImplicitMethod(false, false))
             .thenReturn(true);
-        when(pisScaAuthorisationServiceResolver.getService())
-            .thenReturn(pisScaAuthorisationService);
-        when(pisScaAuthorisationService.createCommonPaymentAuthorisation(PAYMENT_ID, PaymentType.PERIODIC, PARAM.getPsuData()))
+        when(pisAuthorisationService.buildCreateAuthorisationRequest(PARAM.getPsuData()))
+            .thenReturn(CREATE_AUTHORISATION_REQUEST);
+        when(xs2aPisCommonPaymentMapper.mapToXsa2CreatePisAuthorisationResponse(CREATE_AUTHORISATION_RESPONSE, PaymentType.PERIODIC))
             .thenReturn(Optional.of(CREATE_PIS_AUTHORISATION_RESPONSE));
 
         //When
@@ -200,19 +208,19 @@ class CreatePeriodicPaymentTest {
     }
 
     @Test
-    void createPayment_pisScaAuthorisationService_createCommonPaymentAuthorisation_fail() {
+    void createPayment_authorisationNotCreated_fail() {
         // Given
         when(periodicPaymentInitiationService.initiatePayment(any(PeriodicPayment.class), eq(PAYMENT_PRODUCT), eq(PSU_ID_DATA))).thenReturn(periodicPaymentInitiationResponse);
-        when(pisCommonPaymentService.createCommonPayment(PAYMENT_INFO)).thenReturn(PIS_COMMON_PAYMENT_RESPONSE);
+        when(pisCommonPaymentService.initiateCommonPayment(INITIATE_PAYMENT_IMPLICIT_REQUEST)).thenReturn(INITIATE_PAYMENT_IMPLICIT_RESPONSE);
         when(xs2aPisCommonPaymentMapper.mapToXs2aPisCommonPayment(PIS_COMMON_PAYMENT_RESPONSE, PARAM.getPsuData())).thenReturn(PIS_COMMON_PAYMENT);
         when(xs2aToCmsPisCommonPaymentRequestMapper.mapToPisPaymentInfo(any(PisPaymentInfoCreationObject.class))).thenReturn(PAYMENT_INFO);
         when(requestProviderService.getInternalRequestIdString()).thenReturn(INTERNAL_REQUEST_ID);
 
         when(authorisationMethodDecider.isImplicitMethod(false, false))
             .thenReturn(true);
-        when(pisScaAuthorisationServiceResolver.getService())
-            .thenReturn(pisScaAuthorisationService);
-        when(pisScaAuthorisationService.createCommonPaymentAuthorisation(PAYMENT_ID, PaymentType.PERIODIC, PARAM.getPsuData()))
+        when(pisAuthorisationService.buildCreateAuthorisationRequest(PARAM.getPsuData()))
+            .thenReturn(CREATE_AUTHORISATION_REQUEST);
+        when(xs2aPisCommonPaymentMapper.mapToXsa2CreatePisAuthorisationResponse(CREATE_AUTHORISATION_RESPONSE, PaymentType.PERIODIC))
             .thenReturn(Optional.empty());
 
         //When
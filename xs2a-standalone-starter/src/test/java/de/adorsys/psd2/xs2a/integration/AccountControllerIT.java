@@ -20,6 +20,9 @@ package de.adorsys.psd2.xs2a.integration;
 
 import de.adorsys.psd2.aspsp.profile.service.AspspProfileService;
 import de.adorsys.psd2.consent.api.CmsResponse;
+import de.adorsys.psd2.consent.api.WrongChecksumException;
+import de.adorsys.psd2.consent.api.ais.AisConsentActionRequest;
+import de.adorsys.psd2.consent.api.ais.AisConsentUsageReservation;
 import de.adorsys.psd2.consent.api.ais.CmsConsent;
 import de.adorsys.psd2.consent.api.service.AisConsentServiceEncrypted;
 import de.adorsys.psd2.consent.api.service.ConsentServiceEncrypted;
@@ -77,6 +80,7 @@ import org.springframework.web.client.RestTemplate;
 
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.*;
 
 import static org.mockito.BDDMockito.given;
@@ -138,7 +142,7 @@ class AccountControllerIT {
     private SpiAspspConsentDataProvider aspspConsentDataProvider;
 
     @BeforeEach
-    void init() {
+    void init() throws WrongChecksumException {
         // common actions for all tests
         given(aspspProfileService.getAspspSettings(null))
             .willReturn(AspspSettingsBuilder.buildAspspSettings());
@@ -160,6 +164,14 @@ class AccountControllerIT {
             .willReturn(CmsResponse.<Boolean>builder()
                             .payload(true)
                             .build());
+        given(aisConsentServiceEncrypted.checkConsentAndSaveActionLog(any(AisConsentActionRequest.class)))
+            .willReturn(CmsResponse.<CmsResponse.VoidResponse>builder()
+                            .payload(CmsResponse.voidResponse())
+                            .build());
+        given(aisConsentServiceEncrypted.reserveConsentUsage(any(AisConsentActionRequest.class)))
+            .willReturn(CmsResponse.<AisConsentUsageReservation>builder()
+                            .payload(new AisConsentUsageReservation(true, LocalDate.now()))
+                            .build());
 
         httpHeaders.add("Content-Type", "application/json");
         httpHeaders.add("x-request-id", X_REQUEST_ID.toString());
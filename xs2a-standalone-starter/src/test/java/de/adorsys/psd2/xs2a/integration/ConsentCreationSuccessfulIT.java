@@ -22,10 +22,10 @@ import de.adorsys.psd2.aspsp.profile.service.AspspProfileService;
 import de.adorsys.psd2.consent.api.AspspDataService;
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.ais.CmsConsent;
-import de.adorsys.psd2.consent.api.authorisation.AuthorisationParentHolder;
-import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationRequest;
 import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationResponse;
 import de.adorsys.psd2.consent.api.consent.CmsCreateConsentResponse;
+import de.adorsys.psd2.consent.api.consent.CompleteConsentCreationRequest;
+import de.adorsys.psd2.consent.api.consent.CompleteConsentCreationResponse;
 import de.adorsys.psd2.consent.api.service.*;
 import de.adorsys.psd2.core.data.AccountAccess;
 import de.adorsys.psd2.event.service.Xs2aEventServiceEncrypted;
@@ -298,10 +298,6 @@ class ConsentCreationSuccessfulIT {
     private void consentCreation_successful(HttpHeaders headers, ScaApproach scaApproach, String requestJsonPath, String responseJsonPath) throws Exception {
         // Given
         given(aspspProfileService.getScaApproaches(null)).willReturn(Collections.singletonList(scaApproach));
-        given(authorisationServiceEncrypted.createAuthorisation(any(AuthorisationParentHolder.class), any(CreateAuthorisationRequest.class)))
-            .willReturn(CmsResponse.<CreateAuthorisationResponse>builder()
-                            .payload(buildCreateAisConsentAuthorizationResponse())
-                            .build());
         CmsConsent cmsConsent = CmsConsentBuilder.buildCmsConsent(requestJsonPath, scaApproach, ENCRYPT_CONSENT_ID, xs2aObjectMapper);
         given(consentServiceEncrypted.createConsent(any(CmsConsent.class)))
             .willReturn(CmsResponse.<CmsCreateConsentResponse>builder()
@@ -311,6 +307,10 @@ class ConsentCreationSuccessfulIT {
             .willReturn(CmsResponse.<CmsConsent>builder()
                             .payload(cmsConsent)
                             .build());
+        given(consentServiceEncrypted.completeConsentCreation(eq(ENCRYPT_CONSENT_ID), any(CompleteConsentCreationRequest.class)))
+            .willReturn(CmsResponse.<CompleteConsentCreationResponse>builder()
+                            .payload(new CompleteConsentCreationResponse(buildCreateAisConsentAuthorizationResponse()))
+                            .build());
         given(consentServiceEncrypted.getConsentById(any(String.class)))
             .willReturn(CmsResponse.<CmsConsent>builder()
                             .payload(cmsConsent)
@@ -21,10 +21,10 @@ import de.adorsys.psd2.aspsp.profile.service.AspspProfileService;
 import de.adorsys.psd2.consent.api.AspspDataService;
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.ais.CmsConsent;
-import de.adorsys.psd2.consent.api.authorisation.AuthorisationParentHolder;
-import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationRequest;
 import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationResponse;
 import de.adorsys.psd2.consent.api.consent.CmsCreateConsentResponse;
+import de.adorsys.psd2.consent.api.consent.CompleteConsentCreationRequest;
+import de.adorsys.psd2.consent.api.consent.CompleteConsentCreationResponse;
 import de.adorsys.psd2.consent.api.service.*;
 import de.adorsys.psd2.core.data.AccountAccess;
 import de.adorsys.psd2.event.service.Xs2aEventServiceEncrypted;
@@ -167,14 +167,14 @@ class ContextPathIT {
         CmsConsent cmsConsent = CmsConsentBuilder.buildCmsConsent(CREATE_CONSENT_REQUEST_JSON_PATH, SCA_APPROACH, ENCRYPT_CONSENT_ID, xs2aObjectMapper);
 
         given(aspspProfileService.getScaApproaches(null)).willReturn(Collections.singletonList(SCA_APPROACH));
-        given(authorisationServiceEncrypted.createAuthorisation(any(AuthorisationParentHolder.class), any(CreateAuthorisationRequest.class)))
-            .willReturn(CmsResponse.<CreateAuthorisationResponse>builder()
-                            .payload(new CreateAuthorisationResponse(AUTHORISATION_ID, ScaStatus.RECEIVED, "", null))
-                            .build());
         given(consentServiceEncrypted.createConsent(any(CmsConsent.class)))
             .willReturn(CmsResponse.<CmsCreateConsentResponse>builder()
                             .payload(new CmsCreateConsentResponse(ENCRYPT_CONSENT_ID, cmsConsent))
                             .build());
+        given(consentServiceEncrypted.completeConsentCreation(eq(ENCRYPT_CONSENT_ID), any(CompleteConsentCreationRequest.class)))
+            .willReturn(CmsResponse.<CompleteConsentCreationResponse>builder()
+                            .payload(new CompleteConsentCreationResponse(new CreateAuthorisationResponse(AUTHORISATION_ID, ScaStatus.RECEIVED, "", null)))
+                            .build());
         given(aisConsentServiceEncrypted.updateAspspAccountAccess(eq(ENCRYPT_CONSENT_ID), any(AccountAccess.class)))
             .willReturn(CmsResponse.<CmsConsent>builder()
                             .payload(cmsConsent)
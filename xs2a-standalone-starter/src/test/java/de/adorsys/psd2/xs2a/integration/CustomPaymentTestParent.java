@@ -19,7 +19,8 @@ package de.adorsys.psd2.xs2a.integration;
 import de.adorsys.psd2.aspsp.profile.service.AspspProfileService;
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentResponse;
-import de.adorsys.psd2.consent.api.pis.proto.PisPaymentInfo;
+import de.adorsys.psd2.consent.api.pis.InitiatePisCommonPaymentRequest;
+import de.adorsys.psd2.consent.api.pis.InitiatePisCommonPaymentResponse;
 import de.adorsys.psd2.consent.api.service.AuthorisationServiceEncrypted;
 import de.adorsys.psd2.consent.api.service.PisCommonPaymentServiceEncrypted;
 import de.adorsys.psd2.consent.api.service.TppService;
@@ -144,9 +145,9 @@ public abstract class CustomPaymentTestParent {
         given(consentRestTemplate.postForEntity(anyString(), any(EventBO.class), eq(Boolean.class)))
             .willReturn(new ResponseEntity<>(true, HttpStatus.OK));
 
-        given(pisCommonPaymentServiceEncrypted.createCommonPayment(any(PisPaymentInfo.class)))
-            .willReturn(CmsResponse.<CreatePisCommonPaymentResponse>builder()
-                            .payload(new CreatePisCommonPaymentResponse(ENCRYPT_PAYMENT_ID, null))
+        given(pisCommonPaymentServiceEncrypted.initiateCommonPayment(any(InitiatePisCommonPaymentRequest.class)))
+            .willReturn(CmsResponse.<InitiatePisCommonPaymentResponse>builder()
+                            .payload(new InitiatePisCommonPaymentResponse(new CreatePisCommonPaymentResponse(ENCRYPT_PAYMENT_ID, null), null))
                             .build());
         given(tppService.updateTppInfo(any(TppInfo.class)))
             .willReturn(CmsResponse.<Boolean>builder()
@@ -21,7 +21,8 @@ package de.adorsys.psd2.xs2a.integration;
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationRequest;
 import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationResponse;
-import de.adorsys.psd2.consent.api.authorisation.PisAuthorisationParentHolder;
+import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentResponse;
+import de.adorsys.psd2.consent.api.pis.InitiatePisCommonPaymentResponse;
 import de.adorsys.psd2.starter.Xs2aStandaloneStarter;
 import de.adorsys.psd2.xs2a.config.CorsConfigurationProperties;
 import de.adorsys.psd2.xs2a.config.WebConfig;
@@ -60,6 +61,7 @@ import java.util.Collections;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.BDDMockito.given;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -199,10 +201,11 @@ class InitiateCustomPaymentIT extends CustomPaymentTestParent {
     }
 
     private void makePreparation(ScaApproach scaApproach) {
-        given(authorisationServiceEncrypted.createAuthorisation(new PisAuthorisationParentHolder(ENCRYPT_PAYMENT_ID),
-                                                                new CreateAuthorisationRequest(PsuIdDataBuilder.buildPsuIdData(), scaApproach, TPP_REDIRECT_URIs)))
-            .willReturn(CmsResponse.<CreateAuthorisationResponse>builder()
-                            .payload(new CreateAuthorisationResponse(AUTHORISATION_ID, SCA_STATUS, null, null))
+        CreateAuthorisationRequest authorisationRequest = new CreateAuthorisationRequest(PsuIdDataBuilder.buildPsuIdData(), scaApproach, TPP_REDIRECT_URIs);
+        given(pisCommonPaymentServiceEncrypted.initiateCommonPayment(argThat(request -> request != null && authorisationRequest.equals(request.getAuthorisationRequest()))))
+            .willReturn(CmsResponse.<InitiatePisCommonPaymentResponse>builder()
+                            .payload(new InitiatePisCommonPaymentResponse(new CreatePisCommonPaymentResponse(ENCRYPT_PAYMENT_ID, null),
+                                                                          new CreateAuthorisationResponse(AUTHORISATION_ID, SCA_STATUS, null, null)))
                             .build());
         given(aspspProfileService.getScaApproaches(null)).willReturn(Collections.singletonList(scaApproach));
         given(commonPaymentSpi.initiatePayment(any(SpiContextData.class), any(SpiPaymentInfo.class), any(SpiAspspConsentDataProvider.class)))
@@ -22,9 +22,9 @@ import de.adorsys.psd2.aspsp.profile.service.AspspProfileService;
 import de.adorsys.psd2.consent.api.CmsResponse;
 import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationRequest;
 import de.adorsys.psd2.consent.api.authorisation.CreateAuthorisationResponse;
-import de.adorsys.psd2.consent.api.authorisation.PisAuthorisationParentHolder;
 import de.adorsys.psd2.consent.api.pis.CreatePisCommonPaymentResponse;
-import de.adorsys.psd2.consent.api.pis.proto.PisPaymentInfo;
+import de.adorsys.psd2.consent.api.pis.InitiatePisCommonPaymentRequest;
+import de.adorsys.psd2.consent.api.pis.InitiatePisCommonPaymentResponse;
 import de.adorsys.psd2.consent.api.service.AuthorisationServiceEncrypted;
 import de.adorsys.psd2.consent.api.service.PisCommonPaymentServiceEncrypted;
 import de.adorsys.psd2.consent.api.service.TppService;
@@ -85,6 +85,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.any;
@@ -259,10 +260,8 @@ class InitiatePaymentsSuccessfulIT {
         given(consentRestTemplate.postForEntity(anyString(), any(EventBO.class), eq(Boolean.class)))
             .willReturn(new ResponseEntity<>(true, HttpStatus.OK));
 
-        given(pisCommonPaymentServiceEncrypted.createCommonPayment(any(PisPaymentInfo.class)))
-            .willReturn(CmsResponse.<CreatePisCommonPaymentResponse>builder()
-                            .payload(new CreatePisCommonPaymentResponse(ENCRYPT_PAYMENT_ID, null))
-                            .build());
+        given(pisCommonPaymentServiceEncrypted.initiateCommonPayment(any(InitiatePisCommonPaymentRequest.class)))
+            .willReturn(getInitiateCmsResponse(null));
         given(tppService.updateTppInfo(any(TppInfo.class)))
             .willReturn(CmsResponse.<Boolean>builder()
                             .payload(true)
@@ -273,57 +272,49 @@ class InitiatePaymentsSuccessfulIT {
     //
     @Test
     void initiateSinglePayment_implicit_embedded_successful() throws Exception {
-        given(authorisationServiceEncrypted.createAuthorisation(new PisAuthorisationParentHolder(ENCRYPT_PAYMENT_ID), getAuthorisationRequest(ScaApproach.EMBEDDED)))
-            .willReturn(getCmsReponse(SCA_STATUS));
+        givenPaymentInitiatedWithAuthorisation(getAuthorisationRequest(ScaApproach.EMBEDDED), SCA_STATUS);
         initiateSinglePayment_successful(httpHeadersImplicit, ScaApproach.EMBEDDED, false, false);
     }
 
     @Test
     void initiateSinglePayment_implicit_embedded_psuIdDataIsEmpty_successful() throws Exception {
-        given(authorisationServiceEncrypted.createAuthorisation(new PisAuthorisationParentHolder(ENCRYPT_PAYMENT_ID), getAuthorisationRequestWithEmptyPsuIdData(ScaApproach.EMBEDDED)))
-            .willReturn(getCmsReponse(SCA_STATUS));
+        givenPaymentInitiatedWithAuthorisation(getAuthorisationRequestWithEmptyPsuIdData(ScaApproach.EMBEDDED), SCA_STATUS);
         initiateSinglePayment_successful(httpHeadersImplicitNoPsuData, ScaApproach.EMBEDDED, false, true);
     }
 
     @Test
     void initiateSinglePayment_implicit_embedded_multilevelSca_successful() throws Exception {
-        given(authorisationServiceEncrypted.createAuthorisation(new PisAuthorisationParentHolder(ENCRYPT_PAYMENT_ID), getAuthorisationRequest(ScaApproach.EMBEDDED)))
-            .willReturn(getCmsReponse(SCA_STATUS));
+        givenPaymentInitiatedWithAuthorisation(getAuthorisationRequest(ScaApproach.EMBEDDED), SCA_STATUS);
         initiateSinglePayment_successful(httpHeadersImplicit, ScaApproach.EMBEDDED, true, false);
     }
 
     @Test
     void initiateSinglePayment_implicit_embedded_multilevelSca_psuIdDataIsEmpty_successful() throws Exception {
-        given(authorisationServiceEncrypted.createAuthorisation(new PisAuthorisationParentHolder(ENCRYPT_PAYMENT_ID), getAuthorisationRequest(ScaApproach.EMBEDDED)))
-            .willReturn(getCmsReponse(SCA_STATUS));
+        givenPaymentInitiatedWithAuthorisation(getAuthorisationRequest(ScaApproach.EMBEDDED), SCA_STATUS);
         initiateSinglePayment_successful(httpHeadersImplicitNoPsuData, ScaApproach.EMBEDDED, true, true);
     }
 
     @Test
     void initiateSinglePayment_implicit_redirect_successful() throws Exception {
-        given(authorisationServiceEncrypted.createAuthorisation(new PisAuthorisationParentHolder(ENCRYPT_PAYMENT_ID), getAuthorisationRequest(ScaApproach.REDIRECT)))
-            .willReturn(getCmsReponse(SCA_STATUS));
+        givenPaymentInitiatedWithAuthorisation(getAuthorisationRequest(ScaApproach.REDIRECT), SCA_STATUS);
         initiateSinglePayment_successful(httpHeadersImplicit, ScaApproach.REDIRECT, false, false);
     }
 
     @Test
     void initiateSinglePayment_implicit_redirect_psuIdDataIsEmpty_successful() throws Exception {
-        given(authorisationServiceEncrypted.createAuthorisation(new PisAuthorisationParentHolder(ENCRYPT_PAYMENT_ID), getAuthorisationRequestWithEmptyPsuIdData(ScaApproach.REDIRECT)))
-            .willReturn(getCmsReponse(SCA_STATUS));
+        givenPaymentInitiatedWithAuthorisation(getAuthorisationRequestWithEmptyPsuIdData(ScaApproach.REDIRECT), SCA_STATUS);
         initiateSinglePayment_successful(httpHeadersImplicitNoPsuData, ScaApproach.REDIRECT, false, true);
     }
 
     @Test
     void initiateSinglePayment_implicit_redirect_multilevelSca_successful() throws Exception {
-        given(authorisationServiceEncrypted.createAuthorisation(new PisAuthorisationParentHolder(ENCRYPT_PAYMENT_ID), getAuthorisationRequest(ScaApproach.REDIRECT)))
-            .willReturn(getCmsReponse(SCA_STATUS));
+        givenPaymentInitiatedWithAuthorisation(getAuthorisationRequest(ScaApproach.REDIRECT), SCA_STATUS);
         initiateSinglePayment_successful(httpHeadersImplicit, ScaApproach.REDIRECT, true, false);
     }
 
     @Test
     void initiateSinglePayment_implicit_redirect_multilevelSca_psuIdDataIsEmpty_successful() throws Exception {
-        given(authorisationServiceEncrypted.createAuthorisation(new PisAuthorisationParentHolder(ENCRYPT_PAYMENT_ID), getAuthorisationRequestWithEmptyPsuIdData(ScaApproach.REDIRECT)))
-            .willReturn(getCmsReponse(SCA_STATUS));
+        givenPaymentInitiatedWithAuthorisation(getAuthorisationRequestWithEmptyPsuIdData(ScaApproach.REDIRECT), SCA_STATUS);
         initiateSinglePayment_successful(httpHeadersImplicitNoPsuData, ScaApproach.REDIRECT, true, true);
     }
 
@@ -331,36 +322,31 @@ class InitiatePaymentsSuccessfulIT {
     void initiateSinglePayment_implicit_redirect_oauth_successful() throws Exception {
         given(aspspProfileService.getAspspSettings(null))
             .willReturn(AspspSettingsBuilder.buildAspspSettingsWithScaRedirectFlow(ScaRedirectFlow.OAUTH));
-        given(authorisationServiceEncrypted.createAuthorisation(new PisAuthorisationParentHolder(ENCRYPT_PAYMENT_ID), getAuthorisationRequest(ScaApproach.REDIRECT)))
-            .willReturn(getCmsReponse(ScaStatus.RECEIVED));
+        givenPaymentInitiatedWithAuthorisation(getAuthorisationRequest(ScaApproach.REDIRECT), ScaStatus.RECEIVED);
         initiateSinglePaymentOauth_successful(httpHeadersImplicit, ScaApproach.REDIRECT);
     }
 
     @Test
     void initiatePeriodicPayment_implicit_embedded_successful() throws Exception {
-        given(authorisationServiceEncrypted.createAuthorisation(new PisAuthorisationParentHolder(ENCRYPT_PAYMENT_ID), getAuthorisationRequest(ScaApproach.EMBEDDED)))
-            .willReturn(getCmsReponse(SCA_STATUS));
+        givenPaymentInitiatedWithAuthorisation(getAuthorisationRequest(ScaApproach.EMBEDDED), SCA_STATUS);
         initiatePeriodicPayment_successful(httpHeadersImplicit, ScaApproach.EMBEDDED);
     }
 
     @Test
     void initiatePeriodicPayment_implicit_redirect_successful() throws Exception {
-        given(authorisationServiceEncrypted.createAuthorisation(new PisAuthorisationParentHolder(ENCRYPT_PAYMENT_ID), getAuthorisationRequest(ScaApproach.REDIRECT)))
-            .willReturn(getCmsReponse(SCA_STATUS));
+        givenPaymentInitiatedWithAuthorisation(getAuthorisationRequest(ScaApproach.REDIRECT), SCA_STATUS);
         initiatePeriodicPayment_successful(httpHeadersImplicit, ScaApproach.REDIRECT);
     }
 
     @Test
     void initiateBulkPayment_implicit_embedded_successful() throws Exception {
-        given(authorisationServiceEncrypted.createAuthorisation(new PisAuthorisationParentHolder(ENCRYPT_PAYMENT_ID), getAuthorisationRequest(ScaApproach.EMBEDDED)))
-            .willReturn(getCmsReponse(SCA_STATUS));
+        givenPaymentInitiatedWithAuthorisation(getAuthorisationRequest(ScaApproach.EMBEDDED), SCA_STATUS);
         initiateBulkPayment_successful(httpHeadersImplicit, ScaApproach.EMBEDDED);
     }
 
     @Test
     void initiateBulkPayment_implicit_redirect_successful() throws Exception {
-        given(authorisationServiceEncrypted.createAuthorisation(new PisAuthorisationParentHolder(ENCRYPT_PAYMENT_ID), getAuthorisationRequest(ScaApproach.REDIRECT)))
-            .willReturn(getCmsReponse(SCA_STATUS));
+        givenPaymentInitiatedWithAuthorisation(getAuthorisationRequest(ScaApproach.REDIRECT), SCA_STATUS);
         initiateBulkPayment_successful(httpHeadersImplicit, ScaApproach.REDIRECT);
     }
 
@@ -369,15 +355,13 @@ class InitiatePaymentsSuccessfulIT {
 
     @Test
     void initiateSinglePayment_explicit_embedded_successful() throws Exception {
-        given(authorisationServiceEncrypted.createAuthorisation(new PisAuthorisationParentHolder(ENCRYPT_PAYMENT_ID), getAuthorisationRequest(ScaApproach.EMBEDDED)))
-            .willReturn(getCmsReponse(SCA_STATUS));
+        givenPaymentInitiatedWithAuthorisation(getAuthorisationRequest(ScaApproach.EMBEDDED), SCA_STATUS);
         initiateSinglePayment_successful(httpHeadersExplicit, ScaApproach.EMBEDDED, false, false);
     }
 
     @Test
     void initiateSinglePayment_explicit_embedded_psuIdDataIsEmpty_successful() throws Exception {
-        given(authorisationServiceEncrypted.createAuthorisation(new PisAuthorisationParentHolder(ENCRYPT_PAYMENT_ID), getAuthorisationRequestWithEmptyPsuIdData(ScaApproach.EMBEDDED)))
-            .willReturn(getCmsReponse(SCA_STATUS));
+        givenPaymentInitiatedWithAuthorisation(getAuthorisationRequestWithEmptyPsuIdData(ScaApproach.EMBEDDED), SCA_STATUS);
         initiateSinglePayment_successful(httpHeadersExplicitNoPsuData, ScaApproach.EMBEDDED, false, true);
     }
 
@@ -385,16 +369,14 @@ class InitiatePaymentsSuccessfulIT {
     void initiateSinglePayment_explicit_embedded_multilevelSca_successful() throws Exception {
         given(aspspProfileService.getAspspSettings(null))
             .willReturn(AspspSettingsBuilder.buildAspspSettingsWithSigningBasketSupported(true));
-        given(authorisationServiceEncrypted.createAuthorisation(new PisAuthorisationParentHolder(ENCRYPT_PAYMENT_ID), getAuthorisationRequest(ScaApproach.EMBEDDED)))
-            .willReturn(getCmsReponse(SCA_STATUS));
+        givenPaymentInitiatedWithAuthorisation(getAuthorisationRequest(ScaApproach.EMBEDDED), SCA_STATUS);
         initiateSinglePayment_successful(httpHeadersExplicit, ScaApproach.EMBEDDED, true, false);
     }
 
     @Test
     void initiateSinglePayment_explicit_embedded_multilevelSca_psuIdDataIsEmpty_successful() throws Exception {
 
-        given(authorisationServiceEncrypted.createAuthorisation(new PisAuthorisationParentHolder(ENCRYPT_PAYMENT_ID), getAuthorisationRequestWithEmptyPsuIdData(ScaApproach.EMBEDDED)))
-            .willReturn(getCmsReponse(SCA_STATUS));
+        givenPaymentInitiatedWithAuthorisation(getAuthorisationRequestWithEmptyPsuIdData(ScaApproach.EMBEDDED), SCA_STATUS);
         initiateSinglePayment_successful(httpHeadersExplicitNoPsuData, ScaApproach.EMBEDDED, true, true);
     }
 
@@ -402,8 +384,7 @@ class InitiatePaymentsSuccessfulIT {
     void initiateSinglePayment_explicit_embedded_multilevelSca_psuIdDataIsEmpty_signingBasketActive_successful() throws Exception {
         given(aspspProfileService.getAspspSettings(null))
             .willReturn(AspspSettingsBuilder.buildAspspSettingsWithSigningBasketSupported(true));
-        given(authorisationServiceEncrypted.createAuthorisation(new PisAuthorisationParentHolder(ENCRYPT_PAYMENT_ID), getAuthorisationRequestWithEmptyPsuIdData(ScaApproach.EMBEDDED)))
-            .willReturn(getCmsReponse(SCA_STATUS));
+        givenPaymentInitiatedWithAuthorisation(getAuthorisationRequestWithEmptyPsuIdData(ScaApproach.EMBEDDED), SCA_STATUS);
         initiateSinglePayment_successful(httpHeadersExplicitNoPsuData, ScaApproach.EMBEDDED, true, true);
     }
 
@@ -411,64 +392,55 @@ class InitiatePaymentsSuccessfulIT {
     void initiateSinglePayment_explicit_embedded_multilevelSca_signingBasketActive_successful() throws Exception {
         given(aspspProfileService.getAspspSettings(null))
             .willReturn(AspspSettingsBuilder.buildAspspSettingsWithSigningBasketSupported(true));
-        given(authorisationServiceEncrypted.createAuthorisation(new PisAuthorisationParentHolder(ENCRYPT_PAYMENT_ID), getAuthorisationRequest(ScaApproach.EMBEDDED)))
-            .willReturn(getCmsReponse(SCA_STATUS));
+        givenPaymentInitiatedWithAuthorisation(getAuthorisationRequest(ScaApproach.EMBEDDED), SCA_STATUS);
         initiateSinglePayment_successful(httpHeadersExplicit, ScaApproach.EMBEDDED, true, false);
     }
 
     @Test
     void initiateSinglePayment_explicit_redirect_successful() throws Exception {
-        given(authorisationServiceEncrypted.createAuthorisation(new PisAuthorisationParentHolder(ENCRYPT_PAYMENT_ID), getAuthorisationRequest(ScaApproach.REDIRECT)))
-            .willReturn(getCmsReponse(SCA_STATUS));
+        givenPaymentInitiatedWithAuthorisation(getAuthorisationRequest(ScaApproach.REDIRECT), SCA_STATUS);
         initiateSinglePayment_successful(httpHeadersExplicit, ScaApproach.REDIRECT, false, false);
     }
 
     @Test
     void initiateSinglePayment_explicit_redirect_psuIdDataIsEmpty_successful() throws Exception {
-        given(authorisationServiceEncrypted.createAuthorisation(new PisAuthorisationParentHolder(ENCRYPT_PAYMENT_ID), getAuthorisationRequestWithEmptyPsuIdData(ScaApproach.REDIRECT)))
-            .willReturn(getCmsReponse(SCA_STATUS));
+        givenPaymentInitiatedWithAuthorisation(getAuthorisationRequestWithEmptyPsuIdData(ScaApproach.REDIRECT), SCA_STATUS);
         initiateSinglePayment_successful(httpHeadersExplicitNoPsuData, ScaApproach.REDIRECT, false, true);
     }
 
     @Test
     void initiateSinglePayment_explicit_redirect_multilevelSca_successful() throws Exception {
-        given(authorisationServiceEncrypted.createAuthorisation(new PisAuthorisationParentHolder(ENCRYPT_PAYMENT_ID), getAuthorisationRequest(ScaApproach.REDIRECT)))
-            .willReturn(getCmsReponse(SCA_STATUS));
+        givenPaymentInitiatedWithAuthorisation(getAuthorisationRequest(ScaApproach.REDIRECT), SCA_STATUS);
         initiateSinglePayment_successful(httpHeadersExplicit, ScaApproach.REDIRECT, true, false);
     }
 
     @Test
     void initiateSinglePayment_explicit_redirect_multilevelSca_psuIdDataIsEmpty_successful() throws Exception {
-        given(authorisationServiceEncrypted.createAuthorisation(new PisAuthorisationParentHolder(ENCRYPT_PAYMENT_ID), getAuthorisationRequestWithEmptyPsuIdData(ScaApproach.REDIRECT)))
-            .willReturn(getCmsReponse(SCA_STATUS));
+        givenPaymentInitiatedWithAuthorisation(getAuthorisationRequestWithEmptyPsuIdData(ScaApproach.REDIRECT), SCA_STATUS);
         initiateSinglePayment_successful(httpHeadersExplicitNoPsuData, ScaApproach.REDIRECT, true, true);
     }
 
     @Test
     void initiatePeriodicPayment_explicit_embedded_successful() throws Exception {
-        given(authorisationServiceEncrypted.createAuthorisation(new PisAuthorisationParentHolder(ENCRYPT_PAYMENT_ID), getAuthorisationRequest(ScaApproach.EMBEDDED)))
-            .willReturn(getCmsReponse(SCA_STATUS));
+        givenPaymentInitiatedWithAuthorisation(getAuthorisationRequest(ScaApproach.EMBEDDED), SCA_STATUS);
         initiatePeriodicPayment_successful(httpHeadersExplicit, ScaApproach.EMBEDDED);
     }
 
     @Test
     void initiatePeriodicPayment_explicit_redirect_successful() throws Exception {
-        given(authorisationServiceEncrypted.createAuthorisation(new PisAuthorisationParentHolder(ENCRYPT_PAYMENT_ID), getAuthorisationRequest(ScaApproach.REDIRECT)))
-            .willReturn(getCmsReponse(SCA_STATUS));
+        givenPaymentInitiatedWithAuthorisation(getAuthorisationRequest(ScaApproach.REDIRECT), SCA_STATUS);
         initiatePeriodicPayment_successful(httpHeadersExplicit, ScaApproach.REDIRECT);
     }
 
     @Test
     void initiateBulkPayment_explicit_embedded_successful() throws Exception {
-        given(authorisationServiceEncrypted.createAuthorisation(new PisAuthorisationParentHolder(ENCRYPT_PAYMENT_ID), getAuthorisationRequest(ScaApproach.EMBEDDED)))
-            .willReturn(getCmsReponse(SCA_STATUS));
+        givenPaymentInitiatedWithAuthorisation(getAuthorisationRequest(ScaApproach.EMBEDDED), SCA_STATUS);
         initiateBulkPayment_successful(httpHeadersExplicit, ScaApproach.EMBEDDED);
     }
 
     @Test
     void initiateBulkPayment_explicit_redirect_successful() throws Exception {
-        given(authorisationServiceEncrypted.createAuthorisation(new PisAuthorisationParentHolder(ENCRYPT_PAYMENT_ID), getAuthorisationRequest(ScaApproach.REDIRECT)))
-            .willReturn(getCmsReponse(SCA_STATUS));
+        givenPaymentInitiatedWithAuthorisation(getAuthorisationRequest(ScaApproach.REDIRECT), SCA_STATUS);
         initiateBulkPayment_successful(httpHeadersExplicit, ScaApproach.REDIRECT);
     }
 
@@ -617,9 +589,14 @@ class InitiatePaymentsSuccessfulIT {
         return tppExplicitAuthorisationPreferred && aspspProfileService.getAspspSettings(null).getSb().isSigningBasketSupported();
     }
 
-    private CmsResponse<CreateAuthorisationResponse> getCmsReponse(ScaStatus scaStatus) {
-        return CmsResponse.<CreateAuthorisationResponse>builder()
-                   .payload(buildCreateAuthorisationResponse(scaStatus))
+    private void givenPaymentInitiatedWithAuthorisation(CreateAuthorisationRequest authorisationRequest, ScaStatus scaStatus) {
+        given(pisCommonPaymentServiceEncrypted.initiateCommonPayment(argThat(request -> request != null && authorisationRequest.equals(request.getAuthorisationRequest()))))
+            .willReturn(getInitiateCmsResponse(buildCreateAuthorisationResponse(scaStatus)));
+    }
+
+    private CmsResponse<InitiatePisCommonPaymentResponse> getInitiateCmsResponse(CreateAuthorisationResponse authorisationResponse) {
+        return CmsResponse.<InitiatePisCommonPaymentResponse>builder()
+                   .payload(new InitiatePisCommonPaymentResponse(new CreatePisCommonPaymentResponse(ENCRYPT_PAYMENT_ID, null), authorisationResponse))
                    .build();
     }
 
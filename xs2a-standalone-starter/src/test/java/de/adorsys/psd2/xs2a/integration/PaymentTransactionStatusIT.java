@@ -68,9 +68,10 @@ import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ActiveProfiles({"integration-test", "mock-qwac"})
@@ -198,6 +199,57 @@ class PaymentTransactionStatusIT {
             .andExpect(content().string(IOUtils.resourceToString(TRANSACTION_STATUS_SPI_XML_PATH, UTF_8)));
     }
 
+    @Test
+    void getTransactionStatus_unchangedStatus_notModified() throws Exception {
+        // Given
+        httpHeaders.add(ACCEPT_HEADER, JSON_CONTENT_TYPE);
+        when(singlePaymentSpi.getPaymentStatusById(any(), eq(JSON_CONTENT_TYPE), any(), any()))
+            .thenReturn(SpiResponse.<SpiGetPaymentStatusResponse>builder()
+                            .payload(new SpiGetPaymentStatusResponse(TransactionStatus.ACSP, null, SpiGetPaymentStatusResponse.RESPONSE_TYPE_JSON, null, PSU_MESSAGE))
+                            .build());
+        MockHttpServletRequestBuilder firstRequestBuilder = get(UrlBuilder.buildGetTransactionStatusUrl(SINGLE_PAYMENT_TYPE.getValue(), SEPA_PAYMENT_PRODUCT, ENCRYPTED_PAYMENT_ID));
+        firstRequestBuilder.headers(httpHeaders);
+        String eTag = mockMvc.perform(firstRequestBuilder)
+                          .andExpect(status().isOk())
+                          .andExpect(header().exists(HttpHeaders.ETAG))
+                          .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        MockHttpServletRequestBuilder requestBuilder = get(UrlBuilder.buildGetTransactionStatusUrl(SINGLE_PAYMENT_TYPE.getValue(), SEPA_PAYMENT_PRODUCT, ENCRYPTED_PAYMENT_ID));
+        httpHeaders.add(HttpHeaders.IF_NONE_MATCH, eTag);
+        requestBuilder.headers(httpHeaders);
+
+        // When
+        ResultActions resultActions = mockMvc.perform(requestBuilder);
+
+        // Then
+        resultActions.andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag))
+            .andExpect(content().string(""));
+    }
+
+    @Test
+    void getTransactionStatus_finalisedStatusInCms_spiNotCalled() throws Exception {
+        // Given
+        PisCommonPaymentResponse pisCommonPaymentResponse = PisCommonPaymentResponseBuilder.buildPisCommonPaymentResponseWithPayment();
+        pisCommonPaymentResponse.setTransactionStatus(TransactionStatus.ACSC);
+        when(pisCommonPaymentServiceEncrypted.getCommonPaymentById(ENCRYPTED_PAYMENT_ID))
+            .thenReturn(CmsResponse.<PisCommonPaymentResponse>builder()
+                            .payload(pisCommonPaymentResponse)
+                            .build());
+        MockHttpServletRequestBuilder requestBuilder = get(UrlBuilder.buildGetTransactionStatusUrl(SINGLE_PAYMENT_TYPE.getValue(), SEPA_PAYMENT_PRODUCT, ENCRYPTED_PAYMENT_ID));
+        httpHeaders.add(ACCEPT_HEADER, JSON_CONTENT_TYPE);
+        requestBuilder.headers(httpHeaders);
+
+        // When
+        ResultActions resultActions = mockMvc.perform(requestBuilder);
+
+        // Then
+        resultActions.andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(content().json("{\"transactionStatus\":\"ACSC\"}"));
+        verify(singlePaymentSpi, never()).getPaymentStatusById(any(), any(), any(), any());
+    }
+
     @Test
     void getTransactionStatusNoContentType() throws Exception {
         // Given